@@ -19,10 +19,18 @@
  */
 package org.sbml.jsbml;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.StringReader;
 import java.text.MessageFormat;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,8 +48,11 @@ import org.sbml.jsbml.text.parser.FormulaParser;
 import org.sbml.jsbml.text.parser.FormulaParserLL3;
 import org.sbml.jsbml.text.parser.IFormulaParser;
 import org.sbml.jsbml.text.parser.ParseException;
+import org.sbml.jsbml.text.parser.ReusableFormulaParser;
+import org.sbml.jsbml.util.ASTNodeTraversal;
 import org.sbml.jsbml.util.Maths;
 import org.sbml.jsbml.util.TreeNodeChangeEvent;
+import org.sbml.jsbml.util.TreeNodeChangeListener;
 import org.sbml.jsbml.util.compilers.ASTNodeCompiler;
 import org.sbml.jsbml.util.compilers.ASTNodeValue;
 import org.sbml.jsbml.util.compilers.FormulaCompiler;
@@ -674,11 +685,270 @@ public class ASTNode extends AbstractTreeNode {
 
   }
 
+  /**
+   * The attributes of an {@link ASTNode} that are only rarely set. They are
+   * kept in a separate object, so that all the other nodes only need one
+   * {@code null} reference instead of one field per attribute.
+   * 
+   * @since 1.7
+   */
+  private static final class RareAttributes {
+
+    /**
+     * The MathML class attribute.
+     */
+    private String className;
+
+    /**
+     * The value of the definitionURL for csymbol element. Level 3 extensions
+     * can create new csymbol element that we would not necessary be aware of,
+     * so we need to store the attribute value.
+     */
+    private String definitionURL;
+
+    /**
+     * The MathML encoding attribute.
+     */
+    private String encoding;
+
+    /**
+     * The MathML id attribute.
+     */
+    private String id;
+
+    /**
+     * {@link Map} containing the ASTNode plugin object of additional packages
+     * with the appropriate name of the package, {@code null} if there is no
+     * plugin.
+     */
+    private SortedMap<String, ASTNodePlugin> plugins;
+
+    /**
+     * XMLNode that will hold the content of the 'semantics' mathML element.
+     */
+    private List<XMLNode> semanticsAnnotationList;
+
+    /**
+     * The MathML style attribute.
+     */
+    private String style;
+
+    /**
+     * Since Level 3 SBML allows to equip numbers with unit identifiers. In
+     * this case a reference to an identifier of a {@link UnitDefinition} in
+     * the model can be stored here.
+     */
+    private String unitId;
+
+    /**
+     * The cached renderings of the node, {@code null} if caching is not
+     * enabled for the node. It is neither cloned nor serialized.
+     */
+    private RenderingCache renderingCache;
+
+    /**
+     * @return {@code true} if none of the attributes is set.
+     */
+    private boolean isEmpty() {
+      return (className == null) && (definitionURL == null) && (encoding == null)
+          && (id == null) && (plugins == null) && (semanticsAnnotationList == null)
+          && (style == null) && (unitId == null) && (renderingCache == null);
+    }
+
+  }
+
+  /**
+   * The formula and MathML strings of an {@link ASTNode} for which caching
+   * has been enabled with {@link ASTNode#setRenderingCacheEnabled(boolean)}.
+   * A {@code null} value means that the string has not been created since
+   * the last change of the node or one of its descendants.
+   * 
+   * @since 1.7
+   */
+  private static final class RenderingCache {
+
+    /**
+     * The result of {@link ASTNode#toFormula()}.
+     */
+    private String formula;
+
+    /**
+     * The result of {@link ASTNode#toMathML()}.
+     */
+    private String mathML;
+
+    /**
+     * The result of {@link ASTNode#toMathMLContent(String)} for the
+     * indentation {@link #mathMLContentIndent}.
+     */
+    private String mathMLContent;
+
+    /**
+     * The indentation of {@link #mathMLContent}.
+     */
+    private String mathMLContentIndent;
+
+    /**
+     * Forgets all cached strings.
+     */
+    private void clear() {
+      formula = null;
+      mathML = null;
+      mathMLContent = null;
+      mathMLContentIndent = null;
+    }
+
+  }
+
+  /**
+   * The list returned by {@link ASTNode#getChildren()}, which is backed by the
+   * list of children of the node. It creates the list of the node when the
+   * first child is added to it and discards the kept hash codes and the
+   * cached renderings of the node and of its ancestors when it is changed.
+   * 
+   * @since 1.7
+   */
+  private final class ChildList extends AbstractList<ASTNode> {
+
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#add(int, java.lang.Object)
+     */
+    @Override
+    public void add(int index, ASTNode element) {
+      checkNotFrozen();
+      childList().add(index, element);
+      invalidateHashCode();
+      modCount++;
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#get(int)
+     */
+    @Override
+    public ASTNode get(int index) {
+      return getChild(index);
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#remove(int)
+     */
+    @Override
+    public ASTNode remove(int index) {
+      checkNotFrozen();
+      ASTNode removed = childList().remove(index);
+      invalidateHashCode();
+      modCount++;
+      return removed;
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.AbstractList#set(int, java.lang.Object)
+     */
+    @Override
+    public ASTNode set(int index, ASTNode element) {
+      checkNotFrozen();
+      ASTNode previous = childList().set(index, element);
+      invalidateHashCode();
+      return previous;
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+      return getChildCount();
+    }
+
+  }
+
+  /**
+   * The state of the compilations running in one thread.
+   * <p>
+   * Compilers translate a node by calling {@link ASTNode#compile(ASTNodeCompiler)}
+   * for its children, so that the call stack grows with the height of the
+   * tree. Once more than {@link ASTNode#MAX_COMPILE_DEPTH} calls are nested,
+   * the remaining subtree is compiled bottom-up in the order of
+   * {@link ASTNodeTraversal#postOrder(ASTNode, Type)}, and the value of every
+   * node, or the exception thrown while compiling it, is kept in
+   * {@link #values} until the compiler asks for it. Each value is handed out
+   * once, further calls for the same node compile it again, just like the
+   * recursive compilation does.
+   * 
+   * @since 1.7
+   */
+  private static final class Compilation {
+
+    /**
+     * The compiler of the innermost bottom-up compilation.
+     */
+    private ASTNodeCompiler compiler;
+
+    /**
+     * The number of nested calls of {@link ASTNode#compile(ASTNodeCompiler)}.
+     */
+    private int depth;
+
+    /**
+     * The values of the nodes compiled bottom-up that have not been asked
+     * for yet, {@code null} if there is no bottom-up compilation.
+     */
+    private Map<ASTNode, Object> values;
+
+  }
+
+  /**
+   * The number of nested calls of {@link #compile(ASTNodeCompiler)} after
+   * which the remaining subtree is compiled bottom-up, see
+   * {@link Compilation}.
+   */
+  private static final int MAX_COMPILE_DEPTH = 256;
+
+  /**
+   * The state of the compilations running in the current thread.
+   */
+  private static final ThreadLocal<Compilation> compilations = new ThreadLocal<Compilation>() {
+
+    /* (non-Javadoc)
+     * @see java.lang.ThreadLocal#initialValue()
+     */
+    @Override
+    protected Compilation initialValue() {
+      return new Compilation();
+    }
+  };
+
   /**
    * Generated serial version identifier.
    */
   private static final long serialVersionUID = -1391327698196553142L;
 
+  /**
+   * The serialized form of {@link ASTNode}, which is kept identical to the
+   * one before the rarely used attributes were moved to
+   * {@link RareAttributes}, so that serialized documents remain compatible.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+    new ObjectStreamField("className", String.class),
+    new ObjectStreamField("definitionURL", String.class),
+    new ObjectStreamField("denominator", int.class),
+    new ObjectStreamField("encoding", String.class),
+    new ObjectStreamField("exponent", int.class),
+    new ObjectStreamField("id", String.class),
+    new ObjectStreamField("isSetNumberType", boolean.class),
+    new ObjectStreamField("listOfNodes", List.class),
+    new ObjectStreamField("mantissa", double.class),
+    new ObjectStreamField("name", String.class),
+    new ObjectStreamField("numerator", int.class),
+    new ObjectStreamField("parentSBMLObject", MathContainer.class),
+    new ObjectStreamField("plugins", SortedMap.class),
+    new ObjectStreamField("semanticsAnnotationList", List.class),
+    new ObjectStreamField("style", String.class),
+    new ObjectStreamField("type", Type.class),
+    new ObjectStreamField("unitId", String.class),
+    new ObjectStreamField("variable", CallableSBase.class)
+  };
+
   /**
    * The URI for the definition of the csymbol for avogadro.
    */
@@ -1090,6 +1360,10 @@ public class ASTNode extends AbstractTreeNode {
    * 
    * <p> If you are not satisfied with the behavior of the existing parsers, you can create
    * your own, you just need to implement the {@link IFormulaParser} interface.
+   *
+   * <p> The parser is created once per thread and reused for all formulas, see
+   * {@link ReusableFormulaParser}, which also parses {@link CharSequence}s and
+   * batches of formulas.
    * 
    * @param formula
    *            a text-string mathematical formula.
@@ -1102,17 +1376,7 @@ public class ASTNode extends AbstractTreeNode {
    * @see FormulaParser
    */
   public static ASTNode parseFormula(String formula) throws ParseException {
-    FormulaParserLL3 parser = new FormulaParserLL3(new StringReader(formula));
-    ASTNode result = null;
-
-    try {
-      result = parser.parse();
-    } catch (Throwable e) {
-      // the javacc parser can throw some TokenMgrError at least
-      throw new ParseException(e);
-    }
-
-    return result;
+    return ReusableFormulaParser.get().parse(formula);
   }
 
   /**
@@ -1354,9 +1618,19 @@ public class ASTNode extends AbstractTreeNode {
    */
   private static void setParentSBMLObject(ASTNode node, MathContainer parent,
     int depth) {
-    node.parentSBMLObject = parent;
-    for (ASTNode child : node.listOfNodes) {
-      setParentSBMLObject(child, parent, depth + 1);
+    // an explicit stack, the math can be nested arbitrarily deep
+    ArrayDeque<ASTNode> stack = new ArrayDeque<ASTNode>();
+    stack.push(node);
+    while (!stack.isEmpty()) {
+      ASTNode current = stack.pop();
+      if (current.parentSBMLObject != parent) {
+        // the rendering can depend on the level and namespaces of the parent
+        current.clearRenderingCache();
+      }
+      current.parentSBMLObject = parent;
+      for (ASTNode child : current.childNodes()) {
+        stack.push(child);
+      }
     }
   }
 
@@ -1451,11 +1725,11 @@ public class ASTNode extends AbstractTreeNode {
   }
 
   /**
-   * The value of the definitionURL for csymbol element. Level 3 extensions
-   * can create new csymbol element that we would not necessary be aware of,
-   * so we need to store the attribute value.
+   * The MathML attributes, semantics annotations, units and plugins of this
+   * node, {@code null} if none of them is set, which is the case for the vast
+   * majority of nodes.
    */
-  private String definitionURL;
+  private RareAttributes attributes;
 
   /**
    * 
@@ -1467,29 +1741,6 @@ public class ASTNode extends AbstractTreeNode {
    */
   private int exponent;
 
-  /**
-   * Possible attributes for a MathML element
-   */
-  private String id;
-  /**
-   * 
-   */
-  private String style;
-  /**
-   * 
-   */
-  private String className;
-  /**
-   * 
-   */
-  private String encoding;
-
-  /**
-   * XMLNode that will hold the content of the 'semantics' mathML element.
-   */
-  private List<XMLNode> semanticsAnnotationList;
-
-
   /**
    * Tells if the type attribute of the cn element was set and we need to
    * write it back or if it is set to the default (REAL).
@@ -1498,7 +1749,17 @@ public class ASTNode extends AbstractTreeNode {
   private boolean isSetNumberType = false;
 
   /**
-   * Child nodes.
+   * Whether a cached rendering of this node or of one of its ancestors may
+   * contain the rendering of this node, see
+   * {@link #setRenderingCacheEnabled(boolean)}. It is set for the whole
+   * subtree of a node whose rendering is cached and reset by
+   * {@link #invalidateRenderingCache()}, which can hence stop at the first
+   * node for which it is not set.
+   */
+  private transient boolean rendered;
+
+  /**
+   * Child nodes, {@code null} as long as no child has been added.
    */
   private List<ASTNode> listOfNodes;
 
@@ -1538,13 +1799,6 @@ public class ASTNode extends AbstractTreeNode {
    */
   private Type type;
 
-  /**
-   * Since Level 3 SBML allows to equip numbers with unit identifiers. In this
-   * case a reference to an identifier of a {@link UnitDefinition} in the
-   * model can be stored here.
-   */
-  private String unitId;
-
   /**
    * A direct pointer to a referenced variable. This can save a lot of
    * computation time because it will then not be necessary to query the
@@ -1552,12 +1806,6 @@ public class ASTNode extends AbstractTreeNode {
    */
   private CallableSBase variable;
 
-  /**
-   * {@link Map} containing the ASTNode plugin object of additional packages
-   * with the appropriate name of the package.
-   */
-  private SortedMap<String, ASTNodePlugin> plugins;
-
   /**
    * Creates a new {@link ASTNode} of unspecified type and without a pointer
    * to its containing {@link MathContainer}.
@@ -1576,6 +1824,17 @@ public class ASTNode extends AbstractTreeNode {
    *            the {@link ASTNode} to be copied.
    */
   public ASTNode(ASTNode astNode) {
+    this(astNode, true);
+  }
+
+  /**
+   * Copies the given node, with or without its descendants.
+   * 
+   * @param astNode
+   * @param deep
+   *        whether to copy the descendants of the node.
+   */
+  private ASTNode(ASTNode astNode, boolean deep) {
     super(astNode);
     parentSBMLObject = null;
     initDefaults();
@@ -1591,26 +1850,53 @@ public class ASTNode extends AbstractTreeNode {
     name = astNode.name == null ? null : new String(astNode.name);
     variable = null; // the clone is not linked anymore to any model so we cannot have any 'variable' set
     numerator = astNode.numerator;
-    unitId = astNode.unitId == null ? null : new String(astNode.unitId);
-    definitionURL = astNode.definitionURL;
-    id = astNode.id;
-    className = astNode.className;
-    encoding = astNode.encoding;
-    style = astNode.style;
-
-    if (astNode.getChildCount() > 0) {
-      for (ASTNode child : astNode.listOfNodes) {
-        ASTNode c = child.clone();
-        c.parent = this;
-        listOfNodes.add(c);
+    RareAttributes other = astNode.attributes;
+    if (other != null) {
+      RareAttributes copy = attributes();
+      copy.unitId = other.unitId == null ? null : new String(other.unitId);
+      copy.definitionURL = other.definitionURL;
+      copy.id = other.id;
+      copy.className = other.className;
+      copy.encoding = other.encoding;
+      copy.style = other.style;
+
+      if (other.semanticsAnnotationList != null) {
+        copy.semanticsAnnotationList = new ArrayList<XMLNode>();
+
+        for (XMLNode semanticsAnnotation : other.semanticsAnnotationList) {
+          copy.semanticsAnnotationList.add(semanticsAnnotation.clone());
+        }
       }
+      compactAttributes();
     }
 
-    if (astNode.semanticsAnnotationList != null) {
-      semanticsAnnotationList = new ArrayList<XMLNode>();
+    if (deep) {
+      copyDescendants(astNode);
+    }
+  }
 
-      for (XMLNode semanticsAnnotation : astNode.semanticsAnnotationList) {
-        semanticsAnnotationList.add(semanticsAnnotation.clone());
+  /**
+   * Copies the descendants of the given node to this node with an explicit
+   * stack, as the math can be nested arbitrarily deep.
+   * 
+   * @param astNode
+   */
+  private void copyDescendants(ASTNode astNode) {
+    ArrayDeque<ASTNode> stack = new ArrayDeque<ASTNode>();
+    stack.push(astNode);
+    stack.push(this);
+    while (!stack.isEmpty()) {
+      ASTNode copy = stack.pop();
+      ASTNode original = stack.pop();
+      if (original.getChildCount() > 0) {
+        copy.listOfNodes = new ArrayList<ASTNode>(original.getChildCount());
+        for (ASTNode child : original.listOfNodes) {
+          ASTNode c = new ASTNode(child, false);
+          c.parent = copy;
+          copy.listOfNodes.add(c);
+          stack.push(child);
+          stack.push(c);
+        }
       }
     }
   }
@@ -1834,13 +2120,34 @@ public class ASTNode extends AbstractTreeNode {
       logger.debug(" adding child: \n" + astNodeToTree(child, "", ""));
     }
      */
-    listOfNodes.add(child);
+    childList().add(child);
     setParentSBMLObject(child, parentSBMLObject, 0);
     child.setParent(this);
     child.fireNodeAddedEvent();
   }
 
 
+  /**
+   * Returns the {@link RareAttributes} of this node, creating them if
+   * necessary.
+   * 
+   * @return the {@link RareAttributes} of this node.
+   */
+  private RareAttributes attributes() {
+    if (attributes == null) {
+      attributes = new RareAttributes();
+    }
+    return attributes;
+  }
+
+  /**
+   * @return the {@link RenderingCache} of this node, {@code null} if
+   *         caching is not enabled.
+   */
+  private RenderingCache renderingCache() {
+    return attributes != null ? attributes.renderingCache : null;
+  }
+
   /**
    * Creates a new node with the type of this node, moves all children of this
    * node to this new node, sets the type of this node to the given operator,
@@ -1909,6 +2216,49 @@ public class ASTNode extends AbstractTreeNode {
     }
   }
 
+  /**
+   * Returns the list of children of this node, creating it if necessary.
+   * 
+   * @return the modifiable list of children.
+   */
+  private List<ASTNode> childList() {
+    invalidateRenderingCache();
+    if (listOfNodes == null) {
+      listOfNodes = new ArrayList<ASTNode>(2);
+    }
+    return listOfNodes;
+  }
+
+  /**
+   * Returns the children of this node for reading, without creating a list
+   * for leaves.
+   * 
+   * @return the list of children or an empty list.
+   */
+  private List<ASTNode> childNodes() {
+    return listOfNodes != null ? listOfNodes : Collections.<ASTNode>emptyList();
+  }
+
+  /**
+   * Forgets the cached renderings of this node only.
+   */
+  private void clearRenderingCache() {
+    RenderingCache cache = renderingCache();
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Releases the {@link RareAttributes} of this node if none of them is set
+   * any more.
+   */
+  private void compactAttributes() {
+    if ((attributes != null) && attributes.isEmpty()) {
+      attributes = null;
+    }
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#clone()
    */
@@ -1934,6 +2284,82 @@ public class ASTNode extends AbstractTreeNode {
    * 
    */
   public ASTNodeValue compile(ASTNodeCompiler compiler) throws SBMLException {
+    Compilation compilation = compilations.get();
+    if ((compilation.values != null) && (compilation.compiler == compiler)) {
+      Object value = compilation.values.remove(this);
+      if (value instanceof ASTNodeValue) {
+        return (ASTNodeValue) value;
+      } else if (value instanceof SBMLException) {
+        throw (SBMLException) value;
+      } else if (value instanceof RuntimeException) {
+        throw (RuntimeException) value;
+      }
+    }
+    if (compilation.depth >= MAX_COMPILE_DEPTH) {
+      return compileIteratively(compiler, compilation);
+    }
+    compilation.depth++;
+    try {
+      return compileNode(compiler);
+    } finally {
+      compilation.depth--;
+    }
+  }
+
+  /**
+   * Compiles the subtree of this node bottom-up, so that the compiler finds
+   * the values of all children when it compiles a node, see
+   * {@link Compilation}.
+   * 
+   * @param compiler
+   * @param compilation
+   *        the state of the compilations of the current thread.
+   * @return the value of this node.
+   * @throws SBMLException
+   */
+  private ASTNodeValue compileIteratively(ASTNodeCompiler compiler,
+    Compilation compilation) throws SBMLException {
+    int depth = compilation.depth;
+    ASTNodeCompiler outerCompiler = compilation.compiler;
+    Map<ASTNode, Object> outerValues = compilation.values;
+    compilation.compiler = compiler;
+    compilation.values = new IdentityHashMap<ASTNode, Object>();
+    try {
+      // compilers bind the arguments of lambda expressions before they
+      // compile the body, which therefore has to be compiled on demand
+      List<ASTNode> nodes = ASTNodeTraversal.postOrder(this, Type.LAMBDA);
+      for (int i = 0; i < nodes.size() - 1; i++) {
+        ASTNode node = nodes.get(i);
+        Object value;
+        compilation.depth = 0;
+        try {
+          value = node.compileNode(compiler);
+        } catch (SBMLException exc) {
+          value = exc;
+        } catch (RuntimeException exc) {
+          value = exc;
+        }
+        compilation.values.put(node, value);
+      }
+      compilation.depth = 0;
+      return compileNode(compiler);
+    } finally {
+      compilation.depth = depth;
+      compilation.compiler = outerCompiler;
+      compilation.values = outerValues;
+    }
+  }
+
+  /**
+   * Compiles this node by calling the method of the compiler for the type of
+   * this node.
+   * 
+   * @param compiler
+   * @return the value of this node.
+   * @throws SBMLException
+   * @see #compile(ASTNodeCompiler)
+   */
+  private ASTNodeValue compileNode(ASTNodeCompiler compiler) throws SBMLException {
     ASTNodeValue value;
     switch (getType()) {
     /*
@@ -2212,7 +2638,7 @@ public class ASTNode extends AbstractTreeNode {
     case FUNCTION_CSYMBOL: {
       if (name == null) {
         System.out.println("WARNING: csymbol function name is null");
-        name = definitionURL; // TODO - extract the last part of the url and check first that definitionURL is declared.
+        name = getDefinitionURL(); // TODO - extract the last part of the url and check first that definitionURL is declared.
       }
       if (name != null) {
 
@@ -2401,10 +2827,48 @@ public class ASTNode extends AbstractTreeNode {
    */
   @Override
   public boolean equals(Object object) {
-    boolean equal = super.equals(object);
+    if (this == object) {
+      return true;
+    }
+    if ((object == null) || (!getClass().equals(object.getClass()))) {
+      return false;
+    }
+    // pairs of nodes with an explicit stack, the math can be nested arbitrarily deep
+    ArrayDeque<ASTNode> stack = new ArrayDeque<ASTNode>();
+    stack.push(this);
+    stack.push((ASTNode) object);
+    while (!stack.isEmpty()) {
+      ASTNode ast = stack.pop();
+      ASTNode node = stack.pop();
+      if (node == ast) {
+        continue;
+      }
+      if (!node.equalsNode(ast)) {
+        return false;
+      }
+      for (int i = node.getChildCount() - 1; i >= 0; i--) {
+        stack.push(node.getChild(i));
+        stack.push(ast.getChild(i));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compares this node with the given node, without their descendants, as
+   * {@link AbstractTreeNode#equals(Object)} and {@link #equals(Object)}
+   * would do.
+   * 
+   * @param ast
+   * @return {@code true} if the nodes and the numbers of their children are
+   *         equal.
+   */
+  private boolean equalsNode(ASTNode ast) {
+    boolean equal = getClass().equals(ast.getClass())
+        && (ast.isLeaf() == isLeaf())
+        && (ast.getChildCount() == getChildCount());
 
     if (equal) {
-      ASTNode ast = (ASTNode) object;
       equal &= ast.getType() == type;
 
       if (isInteger() && ast.isInteger()) {
@@ -2457,6 +2921,34 @@ public class ASTNode extends AbstractTreeNode {
     return equal;
   }
 
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.AbstractTreeNode#fireNodeAddedEvent()
+   */
+  @Override
+  public void fireNodeAddedEvent() {
+    invalidateRenderingCache();
+    super.fireNodeAddedEvent();
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.AbstractTreeNode#fireNodeRemovedEvent()
+   */
+  @Override
+  public void fireNodeRemovedEvent() {
+    // before the parent is unset
+    invalidateRenderingCache();
+    super.fireNodeRemovedEvent();
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.AbstractTreeNode#firePropertyChange(java.lang.String, java.lang.Object, java.lang.Object)
+   */
+  @Override
+  public void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+    invalidateRenderingCache();
+    super.firePropertyChange(propertyName, oldValue, newValue);
+  }
+
   /**
    * Goes through the formula and identifies all global parameters that are
    * referenced by this rate equation.
@@ -2527,6 +3019,9 @@ public class ASTNode extends AbstractTreeNode {
    *             size()).
    */
   public ASTNode getChild(int index) {
+    if (listOfNodes == null) {
+      throw new IndexOutOfBoundsException(MessageFormat.format("Index: {0}, Size: 0", index));
+    }
     return listOfNodes.get(index);
   }
 
@@ -2552,11 +3047,17 @@ public class ASTNode extends AbstractTreeNode {
 
   /**
    * Returns the list of children of the current ASTNode.
+   * <p>
+   * The list is backed by this node, i.e., changes to the list are changes to
+   * the children of this node, but without any notification of listeners or
+   * update of the parent pointers. The hash codes and the cached renderings,
+   * see {@link #setRenderingCacheEnabled(boolean)}, of this node and of its
+   * ancestors are computed anew after such changes.
    * 
    * @return the list of children of the current ASTNode.
    */
   public List<ASTNode> getChildren() {
-    return listOfNodes;
+    return new ChildList();
   }
 
   /**
@@ -2565,7 +3066,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the class name of the mathML element represented by this ASTNode.
    */
   public String getClassName() {
-    return className;
+    return attributes != null ? attributes.className : null;
   }
 
   /**
@@ -2574,7 +3075,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the definitionURL
    */
   public String getDefinitionURL() {
-    return definitionURL;
+    return attributes != null ? attributes.definitionURL : null;
   }
 
   /**
@@ -2599,7 +3100,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the encoding of the mathML element represented by this ASTNode.
    */
   public String getEncoding() {
-    return encoding;
+    return attributes != null ? attributes.encoding : null;
   }
 
   /**
@@ -2624,7 +3125,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the id of the mathML element represented by this ASTNode.
    */
   public String getId() {
-    return id;
+    return attributes != null ? attributes.id : null;
   }
 
   /**
@@ -2658,7 +3159,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the list of children of the current ASTNode.
    */
   public List<ASTNode> getListOfNodes() {
-    return listOfNodes;
+    return getChildren();
   }
 
   /**
@@ -2672,7 +3173,7 @@ public class ASTNode extends AbstractTreeNode {
   public List<ASTNode> getListOfNodes(Filter filter) {
     ArrayList<ASTNode> filteredList = new ArrayList<ASTNode>();
 
-    for (ASTNode node : listOfNodes) {
+    for (ASTNode node : childNodes()) {
       if (filter.accepts(node)) {
         filteredList.add(node);
       }
@@ -2814,7 +3315,7 @@ public class ASTNode extends AbstractTreeNode {
           getName()));
       }
     }
-    for (ASTNode child : listOfNodes) {
+    for (ASTNode child : childNodes()) {
       l.addAll(child.getReferencedNamedSBases());
     }
     return l;
@@ -2827,7 +3328,7 @@ public class ASTNode extends AbstractTreeNode {
    *         {@code getListOfNodes().getLast()}.
    */
   public ASTNode getRightChild() {
-    int n = listOfNodes.size() - 1;
+    int n = getChildCount() - 1;
     return (n >= 0) ? listOfNodes.get(n) : null;
   }
 
@@ -2837,7 +3338,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the style of the mathML element represented by this ASTNode.
    */
   public String getStyle() {
-    return style;
+    return attributes != null ? attributes.style : null;
   }
 
   /**
@@ -2855,7 +3356,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the units attribute.
    */
   public String getUnits() {
-    return unitId;
+    return attributes != null ? attributes.unitId : null;
   }
 
   /**
@@ -2971,8 +3472,76 @@ public class ASTNode extends AbstractTreeNode {
    */
   @Override
   public int hashCode() {
+    Integer hashCode = getStoredHashCode();
+    if (hashCode != null) {
+      return hashCode.intValue();
+    }
+    // bottom-up with an explicit stack, the math can be nested arbitrarily deep
+    final List<Integer> values = new ArrayList<Integer>();
+    ASTNodeTraversal.walk(this, new ASTNodeTraversal.Visitor() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#enter(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public boolean enter(ASTNode node) {
+        Integer stored = node.getStoredHashCode();
+        if (stored != null) {
+          // unchanged subtree
+          values.add(stored);
+          return false;
+        }
+        node.startHashCode();
+        return true;
+      }
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#leave(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public void leave(ASTNode node) {
+        if (node.getStoredHashCode() != null) {
+          return;
+        }
+        int size = values.size();
+        List<Integer> children = values.subList(size - node.getChildCount(), size);
+        int value = node.hashCode(children);
+        children.clear();
+        values.add(value);
+        if (node.variable != null) {
+          // the name is the identifier of the variable, which can change
+          // without notifying this node
+          node.discardHashCode();
+        } else {
+          node.storeHashCode(value);
+        }
+      }
+    });
+    return values.get(0);
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.AbstractTreeNode#cachedHashCode()
+   */
+  @Override
+  int cachedHashCode() {
+    return hashCode();
+  }
+
+  /**
+   * Computes the hash code of this node from the hash codes of its children.
+   * 
+   * @param children
+   *        the hash codes of the children.
+   * @return the hash code of this node.
+   */
+  private int hashCode(List<Integer> children) {
     final int prime = 787;
-    int hashCode = super.hashCode();
+    // the hash code of the AbstractTreeNode
+    int hashCode = getClass().getName().hashCode();
+    for (Integer child : children) {
+      hashCode = 769 * hashCode + child;
+    }
     hashCode += prime * getType().hashCode();
     if (isInteger()) {
       hashCode += prime * getInteger();
@@ -3040,22 +3609,23 @@ public class ASTNode extends AbstractTreeNode {
 
     type = Type.UNKNOWN;
 
-    id = null;
-    style = null;
-    className = null;
-    encoding = null;
     denominator = 0;
     exponent = 0;
     name = null;
     numerator = 0;
     // parent = null; // don't remove this node from the tree
     isSetNumberType = false;
-    definitionURL = null;
-    unitId = null;
+    if (attributes != null) {
+      attributes.id = null;
+      attributes.style = null;
+      attributes.className = null;
+      attributes.encoding = null;
+      attributes.definitionURL = null;
+      attributes.unitId = null;
+      compactAttributes();
+    }
 
-    if (listOfNodes == null) {
-      listOfNodes = new ArrayList<ASTNode>();
-    } else {
+    if (listOfNodes != null) {
       for (int i = listOfNodes.size() - 1; i >= 0; i--) {
         // This also removes the pointer from the previous child to this object, i.e., its previous parent node.
         ASTNode removed = listOfNodes.remove(i);
@@ -3066,9 +3636,6 @@ public class ASTNode extends AbstractTreeNode {
     variable = null;
     mantissa = Double.NaN;
 
-    if (plugins == null) {
-      plugins = new TreeMap<String, ASTNodePlugin>();
-    }
     firePropertyChange(TreeNodeChangeEvent.initialValue, old, this);
   }
 
@@ -3083,11 +3650,49 @@ public class ASTNode extends AbstractTreeNode {
    *            {@link ASTNode} to insert as the n<sup>th</sup> child
    */
   public void insertChild(int n, ASTNode newChild) {
-    listOfNodes.add(n, newChild);
+    childList().add(n, newChild);
     setParentSBMLObject(newChild, parentSBMLObject, 0);
     newChild.setParent(this);
   }
 
+  /**
+   * Forgets the cached renderings of this node and of all its ancestors,
+   * because they contain the rendering of this node. The ancestors are only
+   * visited as long as they are part of a cached rendering, so that changes
+   * of math without cached renderings cost constant time.
+   * 
+   * @see #setRenderingCacheEnabled(boolean)
+   */
+  public void invalidateRenderingCache() {
+    ASTNode node = this;
+    while (node.rendered) {
+      node.rendered = false;
+      node.clearRenderingCache();
+      TreeNode parent = node.getParent();
+      if (!(parent instanceof ASTNode)) {
+        break;
+      }
+      node = (ASTNode) parent;
+    }
+  }
+
+  /**
+   * Marks all nodes of the subtree rooted at this node as being contained in
+   * a cached rendering, see {@link #rendered}.
+   */
+  private void markRendered() {
+    // an explicit stack, the math can be nested arbitrarily deep
+    ArrayDeque<ASTNode> stack = new ArrayDeque<ASTNode>();
+    stack.push(this);
+    while (!stack.isEmpty()) {
+      ASTNode current = stack.pop();
+      current.rendered = true;
+      for (ASTNode child : current.childNodes()) {
+        stack.push(child);
+      }
+    }
+  }
+
   /**
    * Returns {@code true} if this node has a boolean type (a logical operator, a
    * relational operator, or the constants {@code true} or {@code false}).
@@ -3185,7 +3790,7 @@ public class ASTNode extends AbstractTreeNode {
    *         otherwise.
    */
   public boolean isLog10() {
-    return type == Type.FUNCTION_LOG && listOfNodes.size() == 2
+    return type == Type.FUNCTION_LOG && getChildCount() == 2
         && getLeftChild().isInteger()
         && getLeftChild().getInteger() == 10;
   }
@@ -3333,6 +3938,16 @@ public class ASTNode extends AbstractTreeNode {
   }
 
 
+  /**
+   * Returns {@code true} if the rendering of this node is cached.
+   * 
+   * @return {@code true} if the rendering of this node is cached.
+   * @see #setRenderingCacheEnabled(boolean)
+   */
+  public boolean isRenderingCacheEnabled() {
+    return renderingCache() != null;
+  }
+
   /**
    * Return true if this node contain some semantics annotations.
    * 
@@ -3348,28 +3963,28 @@ public class ASTNode extends AbstractTreeNode {
    * @return
    */
   public boolean isSetClassName() {
-    return className != null;
+    return (attributes != null) && (attributes.className != null);
   }
 
   /**
    * @return
    */
   public boolean isSetDefinitionURL() {
-    return definitionURL != null;
+    return (attributes != null) && (attributes.definitionURL != null);
   }
 
   /**
    * @return
    */
   public boolean isSetEncoding() {
-    return encoding != null;
+    return (attributes != null) && (attributes.encoding != null);
   }
 
   /**
    * @return
    */
   public boolean isSetId() {
-    return id != null;
+    return (attributes != null) && (attributes.id != null);
   }
 
   /**
@@ -3402,7 +4017,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return
    */
   public boolean isSetStyle() {
-    return style != null;
+    return (attributes != null) && (attributes.style != null);
   }
 
   /**
@@ -3411,7 +4026,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return {@code true} if a unit is defined on this node.
    */
   public boolean isSetUnits() {
-    return unitId != null;
+    return (attributes != null) && (attributes.unitId != null);
   }
 
   /**
@@ -3426,7 +4041,7 @@ public class ASTNode extends AbstractTreeNode {
    *         otherwise.
    */
   public boolean isSqrt() {
-    return type == Type.FUNCTION_ROOT && listOfNodes.size() == 2
+    return type == Type.FUNCTION_ROOT && getChildCount() == 2
         && getLeftChild().isInteger()
         && getLeftChild().getInteger() == 2;
   }
@@ -3663,7 +4278,7 @@ public class ASTNode extends AbstractTreeNode {
    *            an {@code ASTNode}
    */
   public void prependChild(ASTNode child) {
-    listOfNodes.add(0, child);
+    childList().add(0, child);
     setParentSBMLObject(child, parentSBMLObject, 0);
     child.setParent(this);
   }
@@ -3701,7 +4316,9 @@ public class ASTNode extends AbstractTreeNode {
   public ASTNode raiseByThePowerOf(double exponent) {
     if (exponent == 0d) {
       // Clear list of nodes first because this won't notify any listeners.
-      listOfNodes.clear();
+      if (listOfNodes != null) {
+        listOfNodes.clear();
+      }
       // This will notify listeners that will receive this ASTNode with an empty list of children.
       setValue(1);
       // The units of this ASTNode must be dimensionless now.
@@ -3806,7 +4423,7 @@ public class ASTNode extends AbstractTreeNode {
       }
     }
     // recursively restructure this tree.
-    for (ASTNode child : listOfNodes) {
+    for (ASTNode child : childNodes()) {
       child.reduceToBinary();
     }
   }
@@ -3827,7 +4444,7 @@ public class ASTNode extends AbstractTreeNode {
       return true;
     }
     boolean childContains = false;
-    for (ASTNode child : listOfNodes) {
+    for (ASTNode child : childNodes()) {
       childContains |= child.refersTo(id);
     }
     return childContains;
@@ -3843,7 +4460,7 @@ public class ASTNode extends AbstractTreeNode {
    * 
    */
   public boolean removeChild(int n) {
-    if ((listOfNodes.size() > n) && (n >= 0)) {
+    if ((getChildCount() > n) && (n >= 0)) {
       ASTNode removed = listOfNodes.remove(n);
       resetParentSBMLObject(removed);
       removed.fireNodeRemovedEvent();
@@ -3866,7 +4483,7 @@ public class ASTNode extends AbstractTreeNode {
    */
   public void replaceArgument(String bvar, ASTNode arg) {
     int n = 0;
-    for (ASTNode child : listOfNodes) {
+    for (ASTNode child : childNodes()) {
       if (child.isString() && child.getName().equals(bvar)) {
         replaceChild(n, arg.clone());
       } else if (child.getChildCount() > 0) {
@@ -3887,7 +4504,7 @@ public class ASTNode extends AbstractTreeNode {
    */
   public ASTNode replaceChild(int n, ASTNode newChild) {
     // Removing the node at position n
-    ASTNode oldChild = listOfNodes.remove(n);
+    ASTNode oldChild = childList().remove(n);
     resetParentSBMLObject(oldChild);
     oldChild.fireNodeRemovedEvent();
 
@@ -3908,7 +4525,7 @@ public class ASTNode extends AbstractTreeNode {
   private void resetParentSBMLObject(ASTNode node) {
 
     node.parentSBMLObject = null;
-    for (ASTNode child : node.listOfNodes) {
+    for (ASTNode child : node.childNodes()) {
       resetParentSBMLObject(child);
     }
   }
@@ -3922,6 +4539,7 @@ public class ASTNode extends AbstractTreeNode {
    *            the character value to which the node's value should be set.
    */
   public void setCharacter(char value) {
+    checkNotFrozen();
     Type oldValue = type;
     switch (value) {
     case '+':
@@ -3953,8 +4571,12 @@ public class ASTNode extends AbstractTreeNode {
    *            the class name.
    */
   public void setClassName(String className) {
-    String oldValue = this.className;
-    this.className = className;
+    checkNotFrozen();
+    String oldValue = getClassName();
+    if ((className != null) || (attributes != null)) {
+      attributes().className = className;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.className, oldValue, className);
   }
 
@@ -3963,8 +4585,12 @@ public class ASTNode extends AbstractTreeNode {
    * @param definitionURL
    */
   public void setDefinitionURL(String definitionURL) {
-    String oldValue = this.definitionURL;
-    this.definitionURL = definitionURL;
+    checkNotFrozen();
+    String oldValue = getDefinitionURL();
+    if ((definitionURL != null) || (attributes != null)) {
+      attributes().definitionURL = definitionURL;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.definitionURL, oldValue, definitionURL);
   }
 
@@ -3975,8 +4601,12 @@ public class ASTNode extends AbstractTreeNode {
    *            the encoding
    */
   public void setEncoding(String encoding) {
-    String oldValue = this.encoding;
-    this.encoding = encoding;
+    checkNotFrozen();
+    String oldValue = getEncoding();
+    if ((encoding != null) || (attributes != null)) {
+      attributes().encoding = encoding;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.encoding, oldValue, encoding);
   }
 
@@ -3987,8 +4617,12 @@ public class ASTNode extends AbstractTreeNode {
    *            the id.
    */
   public void setId(String id) {
-    String oldValue = this.id;
-    this.id = id;
+    checkNotFrozen();
+    String oldValue = getId();
+    if ((id != null) || (attributes != null)) {
+      attributes().id = id;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.id, oldValue, id);
   }
 
@@ -3997,6 +4631,7 @@ public class ASTNode extends AbstractTreeNode {
    * @param isSetNumberType
    */
   public void setIsSetNumberType(boolean isSetNumberType) {
+    checkNotFrozen();
     Boolean oldValue = this.isSetNumberType;
     this.isSetNumberType = isSetNumberType;
     firePropertyChange(TreeNodeChangeEvent.isSetNumberType, oldValue, isSetNumberType);
@@ -4014,6 +4649,7 @@ public class ASTNode extends AbstractTreeNode {
   // TODO: javadoc not synchronized with the code, we are not using
   // isOperator() or isNumber() but may be we should.
   public void setName(String name) {
+    checkNotFrozen();
     String oldValue = this.name; // TODO: if oldValue != null ==> set variable = null or update it ??
     this.name = name;
     firePropertyChange(TreeNodeChangeEvent.name, oldValue, name);
@@ -4033,9 +4669,47 @@ public class ASTNode extends AbstractTreeNode {
    * @param parent the parent
    */
   public void setParentSBMLObject(MathContainer parent) {
+    if (parentSBMLObject != parent) {
+      clearRenderingCache();
+    }
     parentSBMLObject = parent;
   }
 
+  /**
+   * Enables or disables caching of the strings created by
+   * {@link #toFormula()}, {@link #toMathML()} and
+   * {@link #toMathMLContent(String)} for this node.
+   * <p>
+   * Rendering a formula or MathML traverses the whole tree rooted at this
+   * node. With caching enabled, the strings are kept until this node or any
+   * of its descendants changes, which is detected through the same change
+   * notifications that are sent to {@link TreeNodeChangeListener}s. The
+   * {@link org.sbml.jsbml.xml.stax.SBMLWriter} reuses the cached MathML of
+   * the math of a {@link MathContainer} if caching is enabled for it.
+   * </p>
+   * <p>
+   * Changes of the list returned by {@link #getChildren()} are detected as
+   * well, although they do not send notifications. Other changes without
+   * notifications, such as changes of referenced model elements, are not
+   * detected. Call {@link #invalidateRenderingCache()} of the changed node
+   * after such changes. The cache is neither cloned nor serialized.
+   * </p>
+   * 
+   * @param enabled
+   *        {@code true} to cache the strings of this node, {@code false}
+   *        to forget them and not cache them any more.
+   */
+  public void setRenderingCacheEnabled(boolean enabled) {
+    if (enabled) {
+      if (renderingCache() == null) {
+        attributes().renderingCache = new RenderingCache();
+      }
+    } else if (attributes != null) {
+      attributes.renderingCache = null;
+      compactAttributes();
+    }
+  }
+
   /**
    * Sets the style of the mathML element represented by this {@link ASTNode}.
    * 
@@ -4043,8 +4717,12 @@ public class ASTNode extends AbstractTreeNode {
    *            the style.
    */
   public void setStyle(String style) {
-    String oldValue = this.style;
-    this.style = style;
+    checkNotFrozen();
+    String oldValue = getStyle();
+    if ((style != null) || (attributes != null)) {
+      attributes().style = style;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.style, oldValue, style);
   }
 
@@ -4086,6 +4764,7 @@ public class ASTNode extends AbstractTreeNode {
   // values but we are modifying the name.
   // TODO: we should probably simplify the code to avoid future problems
   public void setType(Type type) {
+    checkNotFrozen();
 
     // TODO: check that the calls to initDefaults() do not delete anything
     // important when reading the XML file, see MathMLStaxParser.java
@@ -4107,23 +4786,23 @@ public class ASTNode extends AbstractTreeNode {
     // set a name before calling setType
     if (type == Type.NAME_TIME) {
       name = "time";
-      definitionURL = URI_TIME_DEFINITION;
-      encoding = "text";
+      attributes().definitionURL = URI_TIME_DEFINITION;
+      attributes.encoding = "text";
     } else if (type == Type.FUNCTION_DELAY) {
       initDefaults();
       name = "delay";
-      definitionURL = URI_DELAY_DEFINITION;
-      encoding = "text";
+      attributes().definitionURL = URI_DELAY_DEFINITION;
+      attributes.encoding = "text";
     } else if (type == Type.NAME_AVOGADRO) {
       name = "Avogadro's number";
       setValue(Maths.AVOGADRO_L3V1);
-      definitionURL = URI_AVOGADRO_DEFINITION;
-      encoding = "text";
+      attributes().definitionURL = URI_AVOGADRO_DEFINITION;
+      attributes.encoding = "text";
     } else if (type == Type.FUNCTION_RATE_OF) {
       initDefaults();
       name = "rateOf";
-      definitionURL = URI_RATE_OF_DEFINITION;
-      encoding = "text";
+      attributes().definitionURL = URI_RATE_OF_DEFINITION;
+      attributes.encoding = "text";
     }
 
     Type oldValue = this.type;
@@ -4141,6 +4820,7 @@ public class ASTNode extends AbstractTreeNode {
    *             of a unit definition.
    */
   public void setUnits(String unitId) {
+    checkNotFrozen();
 
     if (!isNumber()) {
       if (!isReadingInProgress()) {
@@ -4171,8 +4851,11 @@ public class ASTNode extends AbstractTreeNode {
         }
       }
     }
-    String oldValue = this.unitId;
-    this.unitId = unitId;
+    String oldValue = getUnits();
+    if ((unitId != null) || (attributes != null)) {
+      attributes().unitId = unitId;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.units, oldValue, unitId);
   }
 
@@ -4207,6 +4890,7 @@ public class ASTNode extends AbstractTreeNode {
    *            set
    */
   public void setValue(double value) {
+    checkNotFrozen();
     Type oldType = type;
     double oldMantissa = mantissa;
     int oldExponent = exponent;
@@ -4228,6 +4912,7 @@ public class ASTNode extends AbstractTreeNode {
    *            the exponent of this node's real-numbered value
    */
   public void setValue(double mantissa, int exponent) {
+    checkNotFrozen();
     Type oldType = type;
     double oldMantissa = this.mantissa;
     int oldExponent = this.exponent;
@@ -4246,6 +4931,7 @@ public class ASTNode extends AbstractTreeNode {
    * @param value
    */
   public void setValue(int value) {
+    checkNotFrozen();
     Type oldType = type;
     int oldNumerator = numerator;
     int oldDenominator = denominator;
@@ -4267,6 +4953,7 @@ public class ASTNode extends AbstractTreeNode {
    *            the denominator value of the rational
    */
   public void setValue(int numerator, int denominator) {
+    checkNotFrozen();
     Type oldType = type;
     int oldNumerator = this.numerator;
     int oldDenominator = this.denominator;
@@ -4289,6 +4976,7 @@ public class ASTNode extends AbstractTreeNode {
    * @param variable a pointer to a {@link CallableSBase}.
    */
   public void setVariable(CallableSBase variable) {
+    checkNotFrozen();
     CallableSBase oldValue = this.variable;
     if (variable instanceof FunctionDefinition) {
       type = Type.FUNCTION;
@@ -4347,7 +5035,7 @@ public class ASTNode extends AbstractTreeNode {
     List<ASTNode> swap = that.listOfNodes;
     that.listOfNodes = listOfNodes;
     listOfNodes = swap;
-    for (ASTNode child : that.listOfNodes) {
+    for (ASTNode child : that.childNodes()) {
       if (that.getParentSBMLObject() != getParentSBMLObject()) {
         setParentSBMLObject(child, that.getParentSBMLObject(), 0);
       }
@@ -4356,7 +5044,7 @@ public class ASTNode extends AbstractTreeNode {
       child.setParent(that);
       child.fireNodeAddedEvent();
     }
-    for (ASTNode child : listOfNodes) {
+    for (ASTNode child : childNodes()) {
       if (that.getParentSBMLObject() != getParentSBMLObject()) {
         setParentSBMLObject(child, getParentSBMLObject(), 0);
       }
@@ -4398,8 +5086,17 @@ public class ASTNode extends AbstractTreeNode {
    *             if there is a problem in the ASTNode tree.
    */
   public String toFormula() throws SBMLException {
+    RenderingCache cache = renderingCache();
+    if ((cache != null) && (cache.formula != null)) {
+      return cache.formula;
+    }
     ASTNodeValue a = compile(new FormulaCompilerLibSBML());
-    return a.toString();
+    String formula = a.toString();
+    if (cache != null) {
+      markRendered();
+      cache.formula = formula;
+    }
+    return formula;
   }
 
   /**
@@ -4440,8 +5137,17 @@ public class ASTNode extends AbstractTreeNode {
    * @return the representation of this node in MathML.
    */
   public String toMathML() {
+    RenderingCache cache = renderingCache();
+    if ((cache != null) && (cache.mathML != null)) {
+      return cache.mathML;
+    }
     try {
-      return MathMLXMLStreamCompiler.toMathML(this);
+      String mathML = MathMLXMLStreamCompiler.toMathML(this);
+      if (cache != null) {
+        markRendered();
+        cache.mathML = mathML;
+      }
+      return mathML;
     } catch (RuntimeException e) {
       // added to prevent a crash when we cannot create the mathML
       // TODO: log the exception
@@ -4450,6 +5156,31 @@ public class ASTNode extends AbstractTreeNode {
     return "";
   }
 
+  /**
+   * Converts this node recursively into the MathML elements that
+   * {@link org.sbml.jsbml.xml.stax.SBMLWriter} writes inside of the
+   * {@code math} element of a {@link MathContainer}, i.e., without the
+   * enclosing {@code math} element and without semantics annotations.
+   * 
+   * @param indent
+   *        the indentation of the top-level element.
+   * @return the MathML elements representing this node.
+   * @see #setRenderingCacheEnabled(boolean)
+   */
+  public String toMathMLContent(String indent) {
+    RenderingCache cache = renderingCache();
+    if ((cache != null) && (cache.mathMLContent != null) && cache.mathMLContentIndent.equals(indent)) {
+      return cache.mathMLContent;
+    }
+    String content = MathMLXMLStreamCompiler.toMathMLContent(this, indent);
+    if (cache != null) {
+      markRendered();
+      cache.mathMLContent = content;
+      cache.mathMLContentIndent = indent;
+    }
+    return content;
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
@@ -4519,12 +5250,12 @@ public class ASTNode extends AbstractTreeNode {
       buffer.append(", name = ").append(getName());
     }
 
-    if (definitionURL != null)
+    if (isSetDefinitionURL())
     {
       buffer.append(", definitionURL = ").append(getDefinitionURL());
     }
 
-    if (unitId != null) {
+    if (isSetUnits()) {
       buffer.append(", units = ").append(getUnits());
     }
 
@@ -4540,16 +5271,16 @@ public class ASTNode extends AbstractTreeNode {
       buffer.append(", no parent defined");
     }
 
-    if (id != null) {
+    if (isSetId()) {
       buffer.append(", id = ").append(getId());
     }
-    if (style != null) {
+    if (isSetStyle()) {
       buffer.append(", style = ").append(getStyle());
     }
-    if (encoding != null) {
+    if (isSetEncoding()) {
       buffer.append(", encoding = ").append(getEncoding());
     }
-    if (className != null) {
+    if (isSetClassName()) {
       buffer.append(", className = ").append(getClassName());
     }
     buffer.append("] ");
@@ -4562,8 +5293,12 @@ public class ASTNode extends AbstractTreeNode {
    * 
    */
   public void unsetUnits() {
-    String oldValue = unitId;
-    unitId = null;
+    checkNotFrozen();
+    String oldValue = getUnits();
+    if (attributes != null) {
+      attributes.unitId = null;
+      compactAttributes();
+    }
     firePropertyChange(TreeNodeChangeEvent.units, oldValue, null);
   }
 
@@ -4639,11 +5374,11 @@ public class ASTNode extends AbstractTreeNode {
     if (semanticsAnnotation == null) {
       return null;
     }
-    if (semanticsAnnotationList == null) {
-      semanticsAnnotationList = new ArrayList<XMLNode>();
+    if (attributes().semanticsAnnotationList == null) {
+      attributes.semanticsAnnotationList = new ArrayList<XMLNode>();
     }
 
-    semanticsAnnotationList.add(semanticsAnnotation);
+    attributes.semanticsAnnotationList.add(semanticsAnnotation);
 
     return semanticsAnnotation;
   }
@@ -4667,11 +5402,11 @@ public class ASTNode extends AbstractTreeNode {
    * @see ASTNode#addSemanticsAnnotation(XMLNode semanticsAnnotation)
    */
   public int getNumSemanticsAnnotations() {
-    if (semanticsAnnotationList == null) {
+    if ((attributes == null) || (attributes.semanticsAnnotationList == null)) {
       return 0;
     }
 
-    return semanticsAnnotationList.size();
+    return attributes.semanticsAnnotationList.size();
   }
 
   /**
@@ -4696,11 +5431,11 @@ public class ASTNode extends AbstractTreeNode {
    * @see ASTNode#addSemanticsAnnotation(XMLNode sAnnotation)
    */
   public XMLNode getSemanticsAnnotation(int n) {
-    if (semanticsAnnotationList == null || n < 0 || (n > (getNumSemanticsAnnotations() -1))) {
+    if (n < 0 || (n > (getNumSemanticsAnnotations() -1))) {
       return null;
     }
 
-    return semanticsAnnotationList.get(n);
+    return attributes.semanticsAnnotationList.get(n);
   }
 
   /**
@@ -4709,7 +5444,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return the list of semantics annotations of this node or null if no semantics annotation are present.
    */
   public List<XMLNode> getListOfSemanticsAnnotations() {
-    return semanticsAnnotationList;
+    return attributes != null ? attributes.semanticsAnnotationList : null;
   }
 
   // TODO - removeSemanticsAnnotation
@@ -4761,11 +5496,14 @@ public class ASTNode extends AbstractTreeNode {
     if (packageParser != null) {
 
       // unset the previous plugin if needed
-      if (plugins.get(packageParser.getPackageName()) != null) {
+      if (getPlugins().get(packageParser.getPackageName()) != null) {
         unsetPlugin(packageParser.getPackageName());
       }
 
-      plugins.put(packageParser.getPackageName(), sbasePlugin);
+      if (attributes().plugins == null) {
+        attributes.plugins = new TreeMap<String, ASTNodePlugin>();
+      }
+      attributes.plugins.put(packageParser.getPackageName(), sbasePlugin);
 
       // Making sure that the correct extendedSBase is set in the SBasePlugin
       // And that all the ids and metaids are registered
@@ -4849,7 +5587,7 @@ public class ASTNode extends AbstractTreeNode {
     PackageParser packageParser = ParserManager.getManager().getPackageParser(nameOrUri);
 
     if (packageParser != null) {
-      return plugins.get(packageParser.getPackageName());
+      return getPlugins().get(packageParser.getPackageName());
     }
 
     throw new IllegalArgumentException(MessageFormat.format(
@@ -4863,11 +5601,7 @@ public class ASTNode extends AbstractTreeNode {
    */
   public int getExtensionCount() {
 
-    if (plugins != null) {
-      return plugins.size();
-    }
-
-    return 0;
+    return getPlugins().size();
   }
 
   //  /**
@@ -4908,7 +5642,7 @@ public class ASTNode extends AbstractTreeNode {
     PackageParser packageParser = ParserManager.getManager().getPackageParser(nameOrUri);
 
     if (packageParser != null) {
-      ASTNodePlugin plugin = plugins.get(packageParser.getPackageName());
+      ASTNodePlugin plugin = getPlugins().get(packageParser.getPackageName());
       if (plugin != null) {
         return plugin;
       } else {
@@ -4926,7 +5660,7 @@ public class ASTNode extends AbstractTreeNode {
    * @return {@code true} if this object is extended by other packages.
    */
   public boolean isExtendedByOtherPackages() {
-    return !plugins.isEmpty();
+    return !getPlugins().isEmpty();
   }
 
   /**
@@ -4978,7 +5712,7 @@ public class ASTNode extends AbstractTreeNode {
     PackageParser packageParser = ParserManager.getManager().getPackageParser(nameOrUri);
 
     if (packageParser != null) {
-      return plugins.get(packageParser.getPackageName()) != null;
+      return getPlugins().get(packageParser.getPackageName()) != null;
     }
 
     throw new IllegalArgumentException(MessageFormat.format(
@@ -4993,13 +5727,18 @@ public class ASTNode extends AbstractTreeNode {
    *        the package name or URI
    */
   public void unsetExtension(String nameOrUri) {
+    checkNotFrozen();
 
     // use always the package name in the map
     PackageParser packageParser = ParserManager.getManager().getPackageParser(nameOrUri);
 
     if (packageParser != null) {
 
-      ASTNodePlugin sbasePlugin = plugins.remove(packageParser.getPackageName());
+      ASTNodePlugin sbasePlugin = null;
+      if ((attributes != null) && (attributes.plugins != null)) {
+        // the map is kept, as it may have been handed out by getExtensionPackages()
+        sbasePlugin = attributes.plugins.remove(packageParser.getPackageName());
+      }
       firePropertyChange(TreeNodeChangeEvent.extension, sbasePlugin, null);
       return;
     }
@@ -5023,13 +5762,100 @@ public class ASTNode extends AbstractTreeNode {
 
   /**
    * Returns the map containing all the {@link ASTNodePlugin} extension objects
-   * of this {@link ASTNode}.
+   * of this {@link ASTNode}. Changes of the map change the plugins of this
+   * node. As a node of a frozen {@link SBMLDocument} cannot get any plugins,
+   * an empty map that cannot be modified is returned for such a node without
+   * plugins.
    * 
    * @return the map containing all the {@link ASTNodePlugin} extension objects
    * of this {@link ASTNode}.
    */
   public Map<String, ASTNodePlugin> getExtensionPackages() {
-    return plugins;
+    if ((attributes == null) || (attributes.plugins == null)) {
+      if (isInFrozenDocument()) {
+        return Collections.emptyMap();
+      }
+      attributes().plugins = new TreeMap<String, ASTNodePlugin>();
+    }
+    return attributes.plugins;
+  }
+
+  /**
+   * @return the plugins of this node, an empty map if there is none.
+   */
+  private Map<String, ASTNodePlugin> getPlugins() {
+    if ((attributes != null) && (attributes.plugins != null)) {
+      return attributes.plugins;
+    }
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Reads the fields of the {@link #serialPersistentFields serialized form}.
+   * 
+   * @param in
+   * @throws IOException
+   * @throws ClassNotFoundException
+   */
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    denominator = fields.get("denominator", 0);
+    exponent = fields.get("exponent", 0);
+    isSetNumberType = fields.get("isSetNumberType", false);
+    mantissa = fields.get("mantissa", Double.NaN);
+    name = (String) fields.get("name", null);
+    numerator = fields.get("numerator", 0);
+    parentSBMLObject = (MathContainer) fields.get("parentSBMLObject", null);
+    type = (Type) fields.get("type", null);
+    variable = (CallableSBase) fields.get("variable", null);
+
+    List<ASTNode> children = (List<ASTNode>) fields.get("listOfNodes", null);
+    listOfNodes = ((children == null) || children.isEmpty()) ? null : children;
+
+    RareAttributes read = new RareAttributes();
+    read.className = (String) fields.get("className", null);
+    read.definitionURL = (String) fields.get("definitionURL", null);
+    read.encoding = (String) fields.get("encoding", null);
+    read.id = (String) fields.get("id", null);
+    read.style = (String) fields.get("style", null);
+    read.unitId = (String) fields.get("unitId", null);
+    read.semanticsAnnotationList = (List<XMLNode>) fields.get("semanticsAnnotationList", null);
+    SortedMap<String, ASTNodePlugin> plugins = (SortedMap<String, ASTNodePlugin>) fields.get("plugins", null);
+    read.plugins = ((plugins == null) || plugins.isEmpty()) ? null : plugins;
+    attributes = read.isEmpty() ? null : read;
+  }
+
+  /**
+   * Writes the fields of the {@link #serialPersistentFields serialized
+   * form}.
+   * 
+   * @param out
+   * @throws IOException
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("denominator", denominator);
+    fields.put("exponent", exponent);
+    fields.put("isSetNumberType", isSetNumberType);
+    fields.put("mantissa", mantissa);
+    fields.put("name", name);
+    fields.put("numerator", numerator);
+    fields.put("parentSBMLObject", parentSBMLObject);
+    fields.put("type", type);
+    fields.put("variable", variable);
+    fields.put("listOfNodes", listOfNodes != null ? listOfNodes : new ArrayList<ASTNode>(0));
+
+    RareAttributes written = attributes != null ? attributes : new RareAttributes();
+    fields.put("className", written.className);
+    fields.put("definitionURL", written.definitionURL);
+    fields.put("encoding", written.encoding);
+    fields.put("id", written.id);
+    fields.put("style", written.style);
+    fields.put("unitId", written.unitId);
+    fields.put("semanticsAnnotationList", written.semanticsAnnotationList);
+    fields.put("plugins", written.plugins != null ? written.plugins : new TreeMap<String, ASTNodePlugin>());
+    out.writeFields();
   }
 
 }
\ No newline at end of file
@@ -27,7 +27,7 @@ import javax.swing.tree.TreeNode;
 import org.apache.log4j.Logger;
 import org.sbml.jsbml.text.parser.ParseException;
 import org.sbml.jsbml.util.TreeNodeChangeEvent;
-import org.sbml.jsbml.util.converters.ExpandFunctionDefinitionConverter;
+import org.sbml.jsbml.util.converters.FunctionDefinitionCache;
 
 /**
  * Base class for all the SBML components which contain MathML nodes.
@@ -182,7 +182,8 @@ MathContainer {
       ASTNode expandedMath = math;
       
       if (m != null && m.getFunctionDefinitionCount() > 0) {
-        expandedMath = ExpandFunctionDefinitionConverter.expandFunctionDefinition(m, math);
+        // without modifying the math of this container
+        expandedMath = FunctionDefinitionCache.get(m).inline(math);
       }
       
       try {
@@ -320,6 +321,7 @@ MathContainer {
    */
   @Override
   public void setMath(ASTNode math) {
+    checkNotFrozen();
     ASTNode oldMath = this.math;
     this.math = math;
     if (oldMath != null) {
@@ -282,6 +282,7 @@ implements NamedSBaseWithDerivedUnit, SBaseWithUnit {
    */
   @Override
   public void setUnits(String units) {
+    checkNotFrozen();
     if ((units != null) && (units.trim().length() == 0)) {
       units = null; // If we pass the empty String or null, the value is reset.
     }
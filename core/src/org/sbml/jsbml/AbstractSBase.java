@@ -22,6 +22,7 @@ package org.sbml.jsbml;
 import static java.text.MessageFormat.format;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
@@ -38,12 +39,14 @@ import org.sbml.jsbml.CVTerm.Qualifier;
 import org.sbml.jsbml.ext.AbstractSBasePlugin;
 import org.sbml.jsbml.ext.SBasePlugin;
 import org.sbml.jsbml.util.IdManager;
+import org.sbml.jsbml.util.SBMLDocumentIndex;
 import org.sbml.jsbml.util.SBMLtools;
 import org.sbml.jsbml.util.StringTools;
 import org.sbml.jsbml.util.TreeNodeChangeEvent;
 import org.sbml.jsbml.util.TreeNodeChangeListener;
 import org.sbml.jsbml.util.ValuePair;
 import org.sbml.jsbml.util.converters.LevelVersionConverter;
+import org.sbml.jsbml.util.filters.Filter;
 import org.sbml.jsbml.util.filters.MetaIdFilter;
 import org.sbml.jsbml.util.filters.SIdFilter;
 import org.sbml.jsbml.validator.SyntaxChecker;
@@ -152,6 +155,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
     return SyntaxChecker.isValidMetaId(idCandidate, 2, 4);
   }
 
+
   /**
    * Annotations of the SBML component. Matches the annotation XML node in a
    * SBML file.
@@ -1010,6 +1014,24 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
   public abstract AbstractSBase clone();
 
 
+  /**
+   * Creates the empty list that the getter of a missing list of this element
+   * returns while this element belongs to a frozen {@link SBMLDocument}, see
+   * {@link SBMLDocument#freeze()}. The list is not added to this element and
+   * rejects changes, too.
+   *
+   * @param type
+   *        the type of the list.
+   * @return an empty list of the given type.
+   */
+  protected <T extends SBase> ListOf<T> createFrozenListOf(ListOf.Type type) {
+    ListOf<T> list = new ListOf<T>(getLevel(), getVersion());
+    list.setSBaseListType(type);
+    list.inFrozenDocument = true;
+    return list;
+  }
+
+
   /**
    * Creates a new {@link History} and associates it with the annotation of
    * this element. If no {@link Annotation} exists, a new such element is
@@ -1158,12 +1180,34 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
   }
 
 
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.AbstractTreeNode#filter(org.sbml.jsbml.util.filters.Filter, boolean, boolean)
+   */
+  @Override
+  public List<? extends TreeNode> filter(Filter filter, boolean retainInternalNodes, boolean prune) {
+    if (!retainInternalNodes) {
+      SBMLDocument doc = getSBMLDocument();
+      SBMLDocumentIndex index = (doc != null) ? SBMLDocumentIndex.get(doc) : null;
+      if (index != null) {
+        List<TreeNode> list = index.filter(this, filter, prune);
+        if (list != null) {
+          return list;
+        }
+      }
+    }
+    return super.filter(filter, retainInternalNodes, prune);
+  }
+
+
   /*
    * (non-Javadoc)
    * @see org.sbml.jsbml.SBase#filterCVTerms(org.sbml.jsbml.CVTerm.Qualifier)
    */
   @Override
   public List<CVTerm> filterCVTerms(CVTerm.Qualifier qualifier) {
+    if (!isSetAnnotation() && isInFrozenDocument()) {
+      return new ArrayList<CVTerm>();
+    }
     return getAnnotation().filterCVTerms(qualifier);
   }
 
@@ -1307,6 +1351,12 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
   @Override
   public Annotation getAnnotation() {
     if (!isSetAnnotation()) {
+      if (isInFrozenDocument()) {
+        // an empty annotation that is not added to the frozen element
+        Annotation empty = new Annotation();
+        empty.inFrozenDocument = true;
+        return empty;
+      }
       setAnnotation(new Annotation());
     }
     return annotation;
@@ -1426,6 +1476,10 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public List<CVTerm> getCVTerms() {
+    if (!isSetAnnotation() && isInFrozenDocument()) {
+      // without creating the annotation, which a frozen document rejects
+      return Collections.emptyList();
+    }
     return getAnnotation().getListOfCVTerms();
   }
 
@@ -1840,8 +1894,9 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
     if (isSetSBOTerm()) {
       hashCode += prime * getSBOTerm();
     }
-    if (elementNamespace != null) {
-      hashCode = (prime * hashCode) + elementNamespace.hashCode();
+    String namespace = getNamespace();
+    if (namespace != null) {
+      hashCode = (prime * hashCode) + namespace.hashCode();
     }
     if (declaredNamespaces != null) {
       hashCode = (prime * hashCode) + declaredNamespaces.hashCode();
@@ -2186,6 +2241,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public boolean registerChild(SBase sbase) throws LevelVersionError {
+    checkNotFrozen();
     if ((sbase != null) && (sbase.getParent() != null)) {
       if (sbase.getParent() == this) {
         logger.warn(format(
@@ -2474,9 +2530,11 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setAnnotation(Annotation annotation) {
+    checkNotFrozen();
     Annotation oldAnnotation = this.annotation;
     this.annotation = annotation;
     this.annotation.parent = this;
+    this.annotation.addAllChangeListeners(getListOfTreeNodeChangeListeners());
     if (isSetMetaId()) {
       this.annotation.setAbout('#' + getMetaId());
     }
@@ -2520,6 +2578,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setHistory(History history) {
+    checkNotFrozen();
     History oldHistory = isSetHistory() ? getHistory() : null;
     getAnnotation().setHistory(history);
     firePropertyChange(TreeNodeChangeEvent.history, oldHistory, history);
@@ -2532,6 +2591,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setLevel(int level) {
+    checkNotFrozen();
     SBase parent = getParent();
     if ((parent != null) && (parent != this) && parent.isSetLevel()) {
       if (level != parent.getLevel()) {
@@ -2633,6 +2693,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setMetaId(String metaId) throws IllegalArgumentException {
+    checkNotFrozen();
     if (metaId != null) {
       if (isSetMetaId() && getMetaId().equals(metaId)) {
         /*
@@ -2694,6 +2755,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    *        the XML namespace to which this {@link SBase} belong.
    */
   public void setNamespace(String namespace) {
+    checkNotFrozen();
     if ((elementNamespace != null) && (namespace != null)
         && (!elementNamespace.equals(namespace))) { // TODO - test if
       // elementNamespace or
@@ -2757,6 +2819,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setNotes(XMLNode notes) {
+    checkNotFrozen();
     XMLNode oldNotes = notesXMLNode;
     notesXMLNode = notes;
     if (notesXMLNode != null) {
@@ -2780,6 +2843,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setPackageVersion(int packageVersion) {
+    checkNotFrozen();
     int oldPackageVersion = this.packageVersion;
 
     SBase parent = getParent();
@@ -2817,6 +2881,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    * @param parent the parent of this element.
    */
   protected void setParentSBML(SBase parent) {
+    checkNotFrozen();
     SBase oldParent = getParent();
     this.parent = parent;
     firePropertyChange(TreeNodeChangeEvent.parentSBMLObject, oldParent, parent);
@@ -2856,6 +2921,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setSBOTerm(int term) {
+    checkNotFrozen();
     if ((getLevelAndVersion().compareTo(Integer.valueOf(2), Integer.valueOf(2)) < 0)
         && (!isReadingInProgress()))
     {
@@ -2905,6 +2971,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setVersion(int version) {
+    checkNotFrozen();
     SBase parent = getParent();
     if ((parent != null) && (parent != this) && parent.isSetVersion()) {
       if (version != parent.getVersion()) {
@@ -2980,6 +3047,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void unregisterChild(SBase sbase) {
+    checkNotFrozen();
 
     if (logger.isDebugEnabled()) {
       logger.debug(format(
@@ -3051,6 +3119,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void unsetAnnotation() {
+    checkNotFrozen();
     if (isSetAnnotation()) {
       Annotation oldAnnotation = annotation;
       annotation = null;
@@ -3074,6 +3143,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
 
   @Override
   public void unsetExtension(String nameOrUri) {
+    checkNotFrozen();
 
     // use always the package name in the map
     PackageParser packageParser =
@@ -3122,6 +3192,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    * This is an internal method of JSBML that should be used with caution.
    */
   public void unsetNamespace() {
+    checkNotFrozen();
     String old = elementNamespace;
 
     elementNamespace = null;
@@ -3135,6 +3206,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void unsetNotes() {
+    checkNotFrozen();
     if (isSetNotes()) {
       XMLNode oldNotes = notesXMLNode;
       notesXMLNode = null;
@@ -3289,6 +3361,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setId(String id) {
+    checkNotFrozen();
     String property = getLevel() == 1 ? TreeNodeChangeEvent.name : TreeNodeChangeEvent.id;
     String oldId = this.id;
 
@@ -3315,6 +3388,7 @@ public abstract class AbstractSBase extends AbstractTreeNode implements SBase {
    */
   @Override
   public void setName(String name) {
+    checkNotFrozen();
     // removed the call to the trim() function as a name with only space
     // should be considered valid.
     String oldName = this.name;
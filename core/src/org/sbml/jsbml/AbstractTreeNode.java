@@ -24,7 +24,9 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.text.MessageFormat;
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
@@ -36,6 +38,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.tree.TreeNode;
 
@@ -43,6 +46,7 @@ import org.apache.log4j.Logger;
 import org.sbml.jsbml.util.ResourceManager;
 import org.sbml.jsbml.util.TreeNodeChangeEvent;
 import org.sbml.jsbml.util.TreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeIterator;
 import org.sbml.jsbml.util.TreeNodeRemovedEvent;
 import org.sbml.jsbml.util.TreeNodeWithChangeSupport;
 import org.sbml.jsbml.util.filters.Filter;
@@ -96,6 +100,45 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
     return -1;
   }
 
+  /**
+   * The number of threads that have open transactions, see
+   * {@link SBMLDocument#beginTransaction()}. This allows
+   * {@link #findTransaction()} to avoid looking at {@link #transactionCount}
+   * in the common case.
+   */
+  private static final AtomicInteger transactionThreads = new AtomicInteger();
+
+  /**
+   * The number of open transactions of the current thread, such that
+   * {@link #findTransaction()} only looks for the document of a node that is
+   * changed by a thread with an open transaction.
+   */
+  private static final ThreadLocal<int[]> transactionCount = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[1];
+    }
+  };
+
+  /**
+   * Marks a hash code that is being computed, see {@link #hashCodeCache}.
+   */
+  private static final transient Object COMPUTING_HASH_CODE = new Object();
+
+  /**
+   * The value of {@link #hashCode()} of this node as an {@link Integer}, which
+   * is kept until this node or one of its descendants changes, {@code null} if
+   * it is outdated or {@link #COMPUTING_HASH_CODE} while it is computed.
+   */
+  transient volatile Object hashCodeCache;
+
+  /**
+   * Whether this node belongs to a frozen {@link SBMLDocument}, see
+   * {@link SBMLDocument#freeze()}, which sets this flag for each of its nodes.
+   * Copies of this node do not belong to the frozen document.
+   */
+  transient boolean inFrozenDocument;
+
   /**
    * {@link List} of listeners for this component
    */
@@ -197,12 +240,21 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
   @Override
   public boolean addAllChangeListeners(
     Collection<TreeNodeChangeListener> listeners, boolean recursive) {
+    if (listeners.isEmpty()) {
+      // nothing to add, neither here nor in the subtree
+      return false;
+    }
     boolean success = listOfListeners.addAll(listeners);
     if (recursive) {
-      Enumeration<TreeNode> children = children();
-      while (children.hasMoreElements()) {
-        TreeNode node = children.nextElement();
-        if (node instanceof TreeNodeWithChangeSupport) {
+      // an explicit stack, trees such as nested math can be very deep
+      ArrayDeque<TreeNode> stack = new ArrayDeque<TreeNode>();
+      pushChildren(stack, this);
+      while (!stack.isEmpty()) {
+        TreeNode node = stack.pop();
+        if (node instanceof AbstractTreeNode) {
+          success &= ((AbstractTreeNode) node).listOfListeners.addAll(listeners);
+          pushChildren(stack, node);
+        } else if (node instanceof TreeNodeWithChangeSupport) {
           success &= ((TreeNodeWithChangeSupport) node)
               .addAllChangeListeners(listeners, recursive);
         }
@@ -211,6 +263,22 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
     return success;
   }
 
+  /**
+   * Pushes the children of the given node on the given stack.
+   * 
+   * @param stack
+   * @param node
+   */
+  private static void pushChildren(ArrayDeque<TreeNode> stack, TreeNode node) {
+    Enumeration<?> children = node.children();
+    while (children.hasMoreElements()) {
+      Object child = children.nextElement();
+      if (child != null) {
+        stack.push((TreeNode) child);
+      }
+    }
+  }
+
   /* (non-Javadoc)
    * @see org.sbml.jsbml.util.TreeNodeWithChangeSupport#addTreeNodeChangeListener(org.sbml.jsbml.util.TreeNodeChangeListener)
    */
@@ -224,6 +292,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public void addTreeNodeChangeListener(TreeNodeChangeListener listener, boolean recursive) {
+    checkNotFrozen();
     if (!listOfListeners.contains(listener)) {
       listOfListeners.add(listener);
     }
@@ -281,6 +350,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public void clearUserObjects() {
+    checkNotFrozen();
     if (isSetUserObjects()) {
       userObjects.clear();
     }
@@ -359,44 +429,147 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public List<? extends TreeNode> filter(Filter filter, boolean retainInternalNodes, boolean prune) {
+    // an explicit stack, trees such as nested math can be very deep
     List<TreeNode> list = new ArrayList<TreeNode>();
-    boolean accepts = filter.accepts(this);
-    if (accepts) {
-      list.add(this);
-      if (prune) {
-        return list;
+    if (!retainInternalNodes) {
+      // no state per node is needed
+      TreeNodeIterator iterator = TreeNodeIterator.preOrder(this);
+      while (iterator.hasNext()) {
+        TreeNode node = iterator.next();
+        if (node instanceof AbstractTreeNode) {
+          if (filter.accepts(node)) {
+            list.add(node);
+            if (prune) {
+              return list;
+            }
+          }
+        } else {
+          iterator.skipChildren();
+          if (node instanceof TreeNodeWithChangeSupport) {
+            List<? extends TreeNode> childList = ((TreeNodeWithChangeSupport) node).filter(filter, false, prune);
+            list.addAll(childList);
+            if (prune && (childList.size() > 0)) {
+              return list;
+            }
+          }
+        }
       }
+      return list;
     }
-
-    List<? extends TreeNode> childList;
-    TreeNode child;
-    for (int i = 0; i < getChildCount(); i++) {
-      child = getChildAt(i);
-      if (child instanceof TreeNodeWithChangeSupport) {
-        childList = ((TreeNodeWithChangeSupport) child).filter(filter, retainInternalNodes, prune);
-        if (childList.size() > 0) {
-          // Somewhere in the subtree rooted at this child is an interesting node.
-          if (!accepts && retainInternalNodes) {
-            list.add(this);
-            // prevent adding the current node more often than once:
-            accepts = true;
+    ArrayDeque<FilterFrame> stack = new ArrayDeque<FilterFrame>();
+    if (enterFilter(this, filter, retainInternalNodes, prune, list, stack)) {
+      return list;
+    }
+    while (!stack.isEmpty()) {
+      FilterFrame frame = stack.peek();
+      if (frame.index < frame.node.getChildCount()) {
+        TreeNode child = frame.node.getChildAt(frame.index++);
+        if (child instanceof AbstractTreeNode) {
+          if (enterFilter((AbstractTreeNode) child, filter, retainInternalNodes, prune, list, stack)) {
+            return list;
           }
+        } else if (child instanceof TreeNodeWithChangeSupport) {
+          List<? extends TreeNode> childList = ((TreeNodeWithChangeSupport) child).filter(filter, retainInternalNodes, prune);
           list.addAll(childList);
-          if (prune) {
+          if (prune && (childList.size() > 0)) {
             // Since we found at least one hit, we are done.
             return list;
           }
         }
+      } else {
+        stack.pop();
+        if (frame.placeholder && (list.size() == frame.start + 1)) {
+          // there is no interesting node in the subtree of this node
+          list.remove(frame.start);
+        }
       }
     }
     return list;
   }
 
+  /**
+   * The state of {@link AbstractTreeNode#filter(Filter, boolean, boolean)}
+   * for one node on the path to the current node.
+   */
+  private static final class FilterFrame {
+
+    /**
+     * The node.
+     */
+    private final AbstractTreeNode node;
+    /**
+     * The index of the next child to filter.
+     */
+    private int index;
+    /**
+     * The position of the node in the list of results if it has been added
+     * there before knowing whether its subtree contains an interesting node.
+     */
+    private final int start;
+    /**
+     * Whether the node has been added only because internal nodes are to be
+     * retained.
+     */
+    private final boolean placeholder;
+
+    /**
+     * @param node
+     * @param start
+     * @param placeholder
+     */
+    private FilterFrame(AbstractTreeNode node, int start, boolean placeholder) {
+      this.node = node;
+      this.start = start;
+      this.placeholder = placeholder;
+    }
+
+  }
+
+  /**
+   * Adds the given node to the list of results if it is accepted by the
+   * filter, or in advance if internal nodes are to be retained, and pushes
+   * it on the stack unless its subtree does not need to be filtered.
+   * 
+   * @param node
+   * @param filter
+   * @param retainInternalNodes
+   * @param prune
+   * @param list
+   *        the results.
+   * @param stack
+   *        the nodes on the path to the given node.
+   * @return {@code true} if the filtering is done, because the given node is
+   *         accepted and {@code prune} is set.
+   */
+  private static boolean enterFilter(AbstractTreeNode node, Filter filter,
+    boolean retainInternalNodes, boolean prune, List<TreeNode> list,
+    ArrayDeque<FilterFrame> stack) {
+    boolean accepts = filter.accepts(node);
+    int start = list.size();
+    if (accepts || retainInternalNodes) {
+      list.add(node);
+      if (accepts && prune) {
+        return true;
+      }
+    }
+    stack.push(new FilterFrame(node, start, !accepts && retainInternalNodes));
+    return false;
+  }
+
   /* (non-Javadoc)
    * @see org.sbml.jsbml.util.TreeNodeWithChangeSupport#fireNodeAddedEvent()
    */
   @Override
   public void fireNodeAddedEvent() {
+    checkNotFrozen();
+    invalidateHashCode();
+    if (listOfListeners.size() > 0) {
+      TreeNodeChangeTransaction transaction = findTransaction();
+      if (transaction != null) {
+        transaction.nodeAdded(this, listOfListeners);
+        return;
+      }
+    }
     for (int i = listOfListeners.size() - 1; i >= 0; i--) {
       listOfListeners.get(i).nodeAdded(this);
     }
@@ -407,6 +580,9 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public void fireNodeRemovedEvent() {
+    checkNotFrozen();
+    invalidateHashCode();
+    TreeNodeChangeTransaction transaction = (getTreeNodeChangeListenerCount() > 0) ? findTransaction() : null;
     TreeNode previousParent = getParent();
     parent = null;
 
@@ -416,6 +592,11 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
       // remove all changeListeners
       removeAllTreeNodeChangeListeners();
 
+      if (transaction != null) {
+        transaction.nodeRemoved(this, previousParent, listOfTreeNodeChangeListeners);
+        return;
+      }
+
       for (TreeNodeChangeListener listener : listOfTreeNodeChangeListeners) {
         listener.nodeRemoved(new TreeNodeRemovedEvent(this, previousParent));
       }
@@ -432,6 +613,11 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
     // TODO - if the property is of type TreeNode, we should set the parent of the new value
     // and unset the parent of the oldValue ??
 
+    checkNotFrozen();
+    if (!TreeNodeChangeEvent.userObject.equals(propertyName)) {
+      invalidateHashCode();
+    }
+
     if (listOfListeners.size() > 0) {
       short changeType = -1; // no property change at all
       if ((oldValue == null) && (newValue != null)) {
@@ -469,6 +655,11 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
            * to link a new element to an existing SBML tree.
            */
           // Now we can notify all listeners about the change:
+          TreeNodeChangeTransaction transaction = findTransaction();
+          if (transaction != null) {
+            transaction.propertyChange(this, propertyName, oldValue, newValue, listOfListeners);
+            return;
+          }
           TreeNodeChangeEvent changeEvent = new TreeNodeChangeEvent(this,
             propertyName, oldValue, newValue);
           for (TreeNodeChangeListener listener : listOfListeners) {
@@ -574,12 +765,183 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
     TreeNode child;
     for (int i = 0; i < getChildCount(); i++) {
       child = getChildAt(i);
-      hashCode = prime * hashCode + (child == null ? 0 : child.hashCode());
+      hashCode = prime * hashCode + (child == null ? 0 : hashCodeOf(child));
     }
 
     return hashCode;
   }
 
+  /**
+   * Returns the hash code of the given node, which is kept until the node or
+   * one of its descendants changes if it is an {@link AbstractTreeNode}, so
+   * that the hash code of an unchanged subtree is only computed once.
+   * 
+   * @param node
+   * @return the hash code of the given node.
+   */
+  static int hashCodeOf(TreeNode node) {
+    if (!(node instanceof AbstractTreeNode)) {
+      return node.hashCode();
+    }
+    AbstractTreeNode treeNode = (AbstractTreeNode) node;
+    Object cache = treeNode.hashCodeCache;
+    if (cache instanceof Integer) {
+      return ((Integer) cache).intValue();
+    }
+    return treeNode.cachedHashCode();
+  }
+
+  /**
+   * Computes the hash code of this node and keeps it, see
+   * {@link #hashCodeOf(TreeNode)}.
+   * 
+   * @return the hash code of this node.
+   */
+  int cachedHashCode() {
+    startHashCode();
+    int hashCode = hashCode();
+    storeHashCode(hashCode);
+    return hashCode;
+  }
+
+  /**
+   * @return the hash code of this node if it is kept and still valid,
+   *         {@code null} otherwise.
+   */
+  Integer getStoredHashCode() {
+    Object cache = hashCodeCache;
+    return (cache instanceof Integer) ? (Integer) cache : null;
+  }
+
+  /**
+   * Keeps the given hash code of this node, unless this node has changed
+   * since its computation has started.
+   * 
+   * @param hashCode
+   */
+  void storeHashCode(int hashCode) {
+    if (hashCodeCache == COMPUTING_HASH_CODE) {
+      hashCodeCache = Integer.valueOf(hashCode);
+    }
+  }
+
+  /**
+   * Rejects changes of nodes that belong to a frozen {@link SBMLDocument},
+   * see {@link SBMLDocument#freeze()}. Setters call this method before they
+   * change anything.
+   * 
+   * @throws IllegalStateException
+   *         if this node belongs to a frozen {@link SBMLDocument}.
+   */
+  protected void checkNotFrozen() {
+    if (inFrozenDocument) {
+      throw new IllegalStateException(MessageFormat.format(
+        resourceBundle.getString("AbstractTreeNode.frozen"), this));
+    }
+  }
+
+  /**
+   * 
+   * @return {@code true} if this node belongs to a frozen
+   *         {@link SBMLDocument}, see {@link SBMLDocument#freeze()}.
+   */
+  protected boolean isInFrozenDocument() {
+    return inFrozenDocument;
+  }
+
+  /**
+   * 
+   * @return the open transaction of the {@link SBMLDocument} of this node,
+   *         see {@link SBMLDocument#beginTransaction()}, or {@code null}.
+   */
+  TreeNodeChangeTransaction findTransaction() {
+    if ((transactionThreads.get() > 0) && (transactionCount.get()[0] > 0)) {
+      TreeNode root = this;
+      while (root.getParent() != null) {
+        root = root.getParent();
+      }
+      if (root instanceof SBMLDocument) {
+        return ((SBMLDocument) root).getTransaction();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Counts a new transaction of the current thread, see
+   * {@link SBMLDocument#beginTransaction()}.
+   * 
+   * @return the transaction counter of the current thread, which has to be
+   *         passed to {@link #closeTransaction(int[])} when the transaction
+   *         is committed, possibly by another thread.
+   */
+  static int[] openTransaction() {
+    int[] count = transactionCount.get();
+    if (count[0]++ == 0) {
+      transactionThreads.incrementAndGet();
+    }
+    return count;
+  }
+
+  /**
+   * Counts the end of a transaction, see {@link #openTransaction()}.
+   * 
+   * @param count
+   *        the transaction counter of the thread that opened the
+   *        transaction.
+   */
+  static void closeTransaction(int[] count) {
+    if ((count[0] > 0) && (--count[0] == 0)) {
+      transactionThreads.decrementAndGet();
+    }
+  }
+
+  /**
+   * Marks the hash code of this node as being computed, see
+   * {@link #storeHashCode(int)}.
+   */
+  void startHashCode() {
+    hashCodeCache = COMPUTING_HASH_CODE;
+  }
+
+  /**
+   * Prevents that the hash codes of this node and of its ancestors, which are
+   * being computed, are kept, because the hash code of this node depends on
+   * other nodes than its descendants.
+   */
+  void discardHashCode() {
+    for (TreeNode node = this; node instanceof AbstractTreeNode; node = node.getParent()) {
+      AbstractTreeNode treeNode = (AbstractTreeNode) node;
+      if (treeNode.hashCodeCache != COMPUTING_HASH_CODE) {
+        break;
+      }
+      treeNode.hashCodeCache = null;
+    }
+  }
+
+  /**
+   * Discards the kept hash codes of this node and of all its ancestors, which
+   * include the hash code of this node. A hash code is only kept if the
+   * hash codes of all descendants on the path to it are kept, too, see
+   * {@link #hashCodeOf(TreeNode)}. Hence, the ancestors above the first
+   * ancestor without a kept hash code do not keep one either, and the walk
+   * stops there. This node itself may be created on demand, such as a
+   * {@link org.sbml.jsbml.util.TreeNodeAdapter}, and is always skipped. Hash
+   * codes that are being computed count as kept.
+   */
+  protected void invalidateHashCode() {
+    hashCodeCache = null;
+    for (TreeNode node = getParent(); node != null; node = node.getParent()) {
+      if (node instanceof AbstractTreeNode) {
+        AbstractTreeNode treeNode = (AbstractTreeNode) node;
+        if (treeNode.hashCodeCache == null) {
+          break;
+        }
+        treeNode.hashCodeCache = null;
+      }
+    }
+  }
+
   /* (non-Javadoc)
    * @see javax.swing.tree.TreeNode#isLeaf()
    */
@@ -676,6 +1038,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public void putUserObject(Object key, Object userObject) {
+    checkNotFrozen();
     if (userObjects == null) {
       userObjects = new HashMap<Object, Object>();
     }
@@ -772,6 +1135,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public void removeAllTreeNodeChangeListeners(boolean recursive) {
+    checkNotFrozen();
     removeAllTreeNodeChangeListeners();
     if (recursive) {
       Enumeration<TreeNode> children = children();
@@ -789,6 +1153,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public void removeTreeNodeChangeListener(TreeNodeChangeListener listener, boolean recursive) {
+    checkNotFrozen();
     listOfListeners.remove(listener);
     if (recursive) {
       Enumeration<TreeNode> children = children();
@@ -806,6 +1171,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    */
   @Override
   public Object removeUserObject(Object key) {
+    checkNotFrozen();
     if (userObjects != null) {
       return userObjects.remove(key);
     }
@@ -817,6 +1183,7 @@ public abstract class AbstractTreeNode implements TreeNodeWithChangeSupport {
    *            the parent to set
    */
   public void setParent(TreeNode parent) {
+    checkNotFrozen();
     TreeNode oldValue = this.parent;
     this.parent = parent;
     if (parent instanceof TreeNodeWithChangeSupport) {
@@ -199,6 +199,7 @@ public class Annotation extends AnnotationElement {
     }
 
     cvTerm.parent = this;
+    cvTerm.addAllChangeListeners(getListOfTreeNodeChangeListeners());
     boolean success = listOfCVTerms.add(cvTerm);
     firePropertyChange(TreeNodeChangeEvent.addCVTerm, null, cvTerm);
     return success;
@@ -262,8 +263,9 @@ public class Annotation extends AnnotationElement {
         annotationXMLNode.addChild(new XMLNode("\n  "));
         annotationXMLNode.addChild(annotationToAppend);
         annotationToAppend = annotationXMLNode;
-        annotationToAppend.setParent(this);
       }
+      // also needed to reach the kept hash codes of the ancestors
+      annotationToAppend.setParent(this);
 
       nonRDFannotation = annotationToAppend;
     } else {
@@ -299,6 +301,7 @@ public class Annotation extends AnnotationElement {
     history = new History();
     history.parent = this;
     history.addAllChangeListeners(getListOfTreeNodeChangeListeners());
+    invalidateHashCode();
 
     return history;
   }
@@ -559,6 +562,12 @@ public class Annotation extends AnnotationElement {
    */
   public History getHistory() {
     if (!isSetHistory()) {
+      if (isInFrozenDocument()) {
+        // an empty history that is not added to the frozen annotation
+        History empty = new History();
+        empty.inFrozenDocument = true;
+        return empty;
+      }
       createHistory();
     }
 
@@ -644,7 +653,8 @@ public class Annotation extends AnnotationElement {
     final int prime = 809;
     int hashCode = super.hashCode();
     if (isSetNonRDFannotation()) {
-      hashCode += prime * getNonRDFannotation().hashCode();
+      // kept like the hash codes of the children, see invalidateHashCode()
+      hashCode += prime * hashCodeOf(getNonRDFannotation());
     }
     if (isSetAbout()) {
       hashCode += prime * about.hashCode();
@@ -844,6 +854,7 @@ public class Annotation extends AnnotationElement {
    * @param about the about String to set.
    */
   public void setAbout(String about) {
+    checkNotFrozen();
     String oldAbout = this.about;
     this.about = about;
     firePropertyChange(TreeNodeChangeEvent.about, oldAbout, this.about);
@@ -855,6 +866,7 @@ public class Annotation extends AnnotationElement {
    * @param history the history to set.
    */
   public void setHistory(History history) {
+    checkNotFrozen();
     History oldHistory = this.history;
     this.history = history;
     this.history.parent = this;
@@ -880,6 +892,7 @@ public class Annotation extends AnnotationElement {
    * @param nonRDFAnnotation
    */
   public void setNonRDFAnnotation(XMLNode nonRDFAnnotation) {
+    checkNotFrozen();
     XMLNode oldNonRDFAnnotation = null;
 
     if (nonRDFannotation != null) {
@@ -905,6 +918,7 @@ public class Annotation extends AnnotationElement {
    * Clears the {@link List} of {@link CVTerm}s.
    */
   public void unsetCVTerms() {
+    checkNotFrozen();
     if (listOfCVTerms != null) {
       List<CVTerm> oldListOfCVTerms = listOfCVTerms;
       listOfCVTerms.clear();
@@ -918,6 +932,7 @@ public class Annotation extends AnnotationElement {
    * Sets the {@link History} instance of this object to {@code null}.
    */
   public void unsetHistory() {
+    checkNotFrozen();
     History oldHistory = null;
     if (history != null) {
       oldHistory = history;
@@ -930,6 +945,7 @@ public class Annotation extends AnnotationElement {
    * Sets the non RDF annotation String to {@code null}.
    */
   public void unsetNonRDFannotation() {
+    checkNotFrozen();
     XMLNode oldNonRDFAnnotation = null;
 
     if (isSetNonRDFannotation()) {
@@ -1000,6 +1000,7 @@ public class CVTerm extends AnnotationElement {
    * @see  #setQualifier(Qualifier)
    */
   public void setBiologicalQualifierType(Qualifier qualifier) {
+    checkNotFrozen();
     if (qualifier != null) {
       if (qualifier.toString().startsWith("BQB")) {
         if (type == Type.BIOLOGICAL_QUALIFIER) {
@@ -1039,6 +1040,7 @@ public class CVTerm extends AnnotationElement {
    * @see #setQualifier(Qualifier)
    */
   public void setModelQualifierType(Qualifier qualifier) {
+    checkNotFrozen();
     if (qualifier != null) {
       if (qualifier.toString().startsWith("BQM")) {
         if (type == Type.MODEL_QUALIFIER) {
@@ -1064,6 +1066,7 @@ public class CVTerm extends AnnotationElement {
    * @param qualifier
    */
   public void setQualifier(Qualifier qualifier) {
+    checkNotFrozen();
     Qualifier oldQualifier = this.qualifier;
     Type oldType = type;
 
@@ -1105,6 +1108,7 @@ public class CVTerm extends AnnotationElement {
    * @see  #setQualifier(Qualifier)
    */
   public void setQualifierType(Type type) {
+    checkNotFrozen();
     if ((type == Type.MODEL_QUALIFIER)
         || (type == Type.BIOLOGICAL_QUALIFIER)
         || (type == Type.UNKNOWN_QUALIFIER)) {
@@ -1192,6 +1196,7 @@ public class CVTerm extends AnnotationElement {
    * @see #unsetQualifier()
    */
   public void unsetBiologicalQualifierType() {
+    checkNotFrozen();
     if (type == Type.BIOLOGICAL_QUALIFIER) {
       firePropertyChange(TreeNodeChangeEvent.qualifier, qualifier, null);
       qualifier = null;
@@ -1204,6 +1209,7 @@ public class CVTerm extends AnnotationElement {
    * @see #unsetQualifier()
    */
   public void unsetModelQualifierType() {
+    checkNotFrozen();
     if (type == Type.MODEL_QUALIFIER) {
       firePropertyChange(TreeNodeChangeEvent.qualifier, qualifier, null);
       qualifier = null;
@@ -1215,6 +1221,7 @@ public class CVTerm extends AnnotationElement {
    * 
    */
   public void unsetQualifier() {
+    checkNotFrozen();
     firePropertyChange(TreeNodeChangeEvent.qualifier, qualifier, null);
     qualifier = null;
   }
@@ -1224,6 +1231,7 @@ public class CVTerm extends AnnotationElement {
    * 
    */
   public void unsetQualifierType() {
+    checkNotFrozen();
     if (isSetQualifierType()) {
       firePropertyChange(TreeNodeChangeEvent.qualifier, type, null);
       type = null;
@@ -750,6 +750,7 @@ public class Compartment extends Symbol {
    */
   @Deprecated
   public void setCompartmentType(String compartmentTypeID) {
+    checkNotFrozen();
 
     String oldCompartmentTypeID = this.compartmentTypeID;
     this.compartmentTypeID = compartmentTypeID;
@@ -824,6 +825,7 @@ public class Compartment extends Symbol {
    */
   @Deprecated
   public void setOutside(String outside) {
+    checkNotFrozen();
 
     String oldOutside = outsideID;
     if ((outside != null) && (outside.trim().length() == 0)) {
@@ -935,6 +937,7 @@ public class Compartment extends Symbol {
    *         in case of Level &lt; 2.
    */
   public void setSize(double size) {
+    checkNotFrozen();
 
     // We need to set the new value before doing the checks
     Double oldSize = value;
@@ -961,6 +964,7 @@ public class Compartment extends Symbol {
    *         if Level &lt; 2.
    */
   public void setSpatialDimensions(double spatialDimension) {
+    checkNotFrozen();
 
     isSetSpatialDimensions = true;
     Double oldSpatialDimensions = spatialDimensions;
@@ -1011,6 +1015,7 @@ public class Compartment extends Symbol {
    */
   @Override
   public void setUnits(String units) {
+    checkNotFrozen();
     if ((units != null) && (units.trim().length() == 0)) {
       unsetUnits();
       return;
@@ -1206,6 +1211,7 @@ public class Compartment extends Symbol {
    * Sets the spatialDimensions of this compartment to {@code null}.
    */
   public void unsetSpatialDimensions() {
+    checkNotFrozen();
     Double oldSpatialDim = spatialDimensions;
     spatialDimensions = null;
     isSetSpatialDimensions = false;
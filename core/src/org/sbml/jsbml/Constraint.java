@@ -197,6 +197,7 @@ public class Constraint extends AbstractMathContainer implements UniqueSId {
    *           the message to set
    */
   public void setMessage(XMLNode message) {
+    checkNotFrozen();
     XMLNode oldMessage = this.message;
     this.message = message;
     this.message.setParent(this);
@@ -363,6 +363,7 @@ public class Creator extends AnnotationElement {
    * @return {@link JSBML#OPERATION_SUCCESS}
    */
   public int setEmail(String email) {
+    checkNotFrozen();
     if ((email != null) && !SyntaxChecker.isValidEmailAddress(email.trim())) {
       String errorMessage = MessageFormat.format(resourceBundle.getString("Creator.setEmail"), email);
       logger.warn(errorMessage);
@@ -380,6 +381,7 @@ public class Creator extends AnnotationElement {
    * @return {@link JSBML#OPERATION_SUCCESS}
    */
   public int setFamilyName(String familyName) {
+    checkNotFrozen();
     String oldValue = this.familyName;
     this.familyName = familyName;
     firePropertyChange(TreeNodeChangeEvent.familyName, oldValue, familyName);
@@ -393,6 +395,7 @@ public class Creator extends AnnotationElement {
    * @return {@link JSBML#OPERATION_SUCCESS}
    */
   public int setGivenName(String givenName) {
+    checkNotFrozen();
     String oldValue = this.givenName;
     this.givenName = givenName;
     firePropertyChange(TreeNodeChangeEvent.givenName, oldValue, givenName);
@@ -405,6 +408,7 @@ public class Creator extends AnnotationElement {
    * @param organisation
    */
   public void setOrganisation(String organisation) {
+    checkNotFrozen();
     String oldValue = this.organisation;
     this.organisation = organisation;
     firePropertyChange(TreeNodeChangeEvent.organization, oldValue, organisation);
@@ -510,6 +514,7 @@ public class Creator extends AnnotationElement {
    * @return {@link JSBML#OPERATION_SUCCESS}
    */
   public int unsetEmail() {
+    checkNotFrozen();
     String oldValue = email;
     email = null;
     firePropertyChange(TreeNodeChangeEvent.email, oldValue, email);
@@ -522,6 +527,7 @@ public class Creator extends AnnotationElement {
    * @return {@link JSBML#OPERATION_SUCCESS}
    */
   public int unsetFamilyName() {
+    checkNotFrozen();
     String oldValue = familyName;
     familyName = null;
     firePropertyChange(TreeNodeChangeEvent.familyName, oldValue, familyName);
@@ -534,6 +540,7 @@ public class Creator extends AnnotationElement {
    * @return {@link JSBML#OPERATION_SUCCESS}
    */
   public int unsetGivenName() {
+    checkNotFrozen();
     String oldValue = givenName;
     givenName = null;
     firePropertyChange(TreeNodeChangeEvent.givenName, oldValue, givenName);
@@ -545,6 +552,7 @@ public class Creator extends AnnotationElement {
    *
    */
   public void unsetOrganization() {
+    checkNotFrozen();
     String oldValue = organisation;
     organisation = null;
     firePropertyChange(TreeNodeChangeEvent.organization, oldValue, organisation);
@@ -493,6 +493,9 @@ UniqueNamedSBase {
    */
   public ListOf<EventAssignment> getListOfEventAssignments() {
     if (listOfEventAssignments == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfEventAssignments);
+      }
       listOfEventAssignments = ListOf.newInstance(this, EventAssignment.class);
       registerChild(listOfEventAssignments);
     }
@@ -989,6 +992,7 @@ UniqueNamedSBase {
    * @throws PropertyNotAvailableException if the Level/Version combination is lower than 2.4.
    */
   public void setUseValuesFromTriggerTime(boolean useValuesFromTriggerTime) {
+    checkNotFrozen();
     if (getLevelAndVersion().compareTo(Integer.valueOf(2),
       Integer.valueOf(4)) < 0) {
       throw new PropertyNotAvailableException(
@@ -1073,6 +1077,7 @@ UniqueNamedSBase {
    * Sets the useValuesFromTriggerTime of this Event to {@code null}.
    */
   public void unsetUseValuesFromTriggerTime() {
+    checkNotFrozen();
     if (useValuesFromTriggerTime != null) {
       Boolean oldUseValuesFromTriggerTime = useValuesFromTriggerTime;
       useValuesFromTriggerTime = null;
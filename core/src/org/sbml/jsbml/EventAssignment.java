@@ -202,6 +202,7 @@ public class EventAssignment extends AbstractMathContainer implements Assignment
    */
   @Override
   public void setVariable(String variable) {
+    checkNotFrozen();
     
     if (!isReadingInProgress() && variable != null) {
       // This method will throw IllegalArgumentException if the given id does not respect the SId syntax
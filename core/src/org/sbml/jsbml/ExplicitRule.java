@@ -422,6 +422,7 @@ SBaseWithUnit {
   @Override
   @Deprecated
   public void setUnits(String unitsID) {
+    checkNotFrozen();
     if (getLevel() != 1) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.units, this);
     }
@@ -486,6 +487,7 @@ SBaseWithUnit {
    */
   @Override
   public void setVariable(String variable) {
+    checkNotFrozen();
     // checkAndSetVariable(variable); // We cannot use that as the Object might not be defined yet in L3.
 
     if (variable != null && variable.trim().length() == 0) {
@@ -508,6 +510,7 @@ SBaseWithUnit {
    */
   @Override
   public void setVariable(Variable variable) {
+    checkNotFrozen();
     if (variable != null) {
       if (variable.isConstant()) {
         throw new IllegalArgumentException(MessageFormat.format(
@@ -547,6 +550,7 @@ SBaseWithUnit {
   @Override
   @Deprecated
   public void unsetUnits() {
+    checkNotFrozen();
     String oldUnitsID = unitsID;
     unitsID = null;
     firePropertyChange(TreeNodeChangeEvent.units, oldUnitsID, unitsID);
@@ -557,6 +561,7 @@ SBaseWithUnit {
    */
   @Override
   public void unsetVariable() {
+    checkNotFrozen();
     String oldVariableID = variableID;
     variableID = null;
     firePropertyChange(TreeNodeChangeEvent.variable, oldVariableID,
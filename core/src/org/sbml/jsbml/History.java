@@ -443,6 +443,7 @@ public class History extends AnnotationElement {
    *            created.
    */
   public void setCreatedDate(Date date) {
+    checkNotFrozen();
     Date oldValue = creation;
     creation = date;
     firePropertyChange(TreeNodeChangeEvent.createdDate, oldValue, date);
@@ -456,6 +457,7 @@ public class History extends AnnotationElement {
    *            modified.
    */
   public void setModifiedDate(Date date) {
+    checkNotFrozen();
     Date oldValue = modified;
     boolean success = listOfModification.add(date);
     modified = date;
@@ -468,6 +470,7 @@ public class History extends AnnotationElement {
    * Sets the created of this {@link History} to {@code null}.
    */
   public void unsetCreatedDate() {
+    checkNotFrozen();
     if (creation != null) {
       Date oldValue = creation;
       creation = null;
@@ -479,6 +482,7 @@ public class History extends AnnotationElement {
    * Sets the created of this {@link History} to {@code null}.
    */
   public void unsetListOfModifiedDates() {
+    checkNotFrozen();
     if (modified != null) {
       modified = null;
     }
@@ -274,6 +274,7 @@ public class InitialAssignment extends AbstractMathContainer implements Assignme
    */
   @Override
   public void setVariable(String variable) {
+    checkNotFrozen();
     if (getLevelAndVersion().compareTo(Integer.valueOf(2), Integer.valueOf(2)) < 0) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.variable, this);
     }
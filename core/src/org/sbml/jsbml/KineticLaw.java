@@ -313,6 +313,9 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
    */
   public ListOf<LocalParameter> getListOfLocalParameters() {
     if (listOfLocalParameters == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfLocalParameters);
+      }
       listOfLocalParameters = ListOf.newInstance(this, LocalParameter.class);
       registerChild(listOfLocalParameters);
     }
@@ -922,6 +925,7 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
    */
   @Deprecated
   public void setSubstanceUnits(String substanceUnits) {
+    checkNotFrozen();
     if (((getLevel() == 2) && (getVersion() == 1)) || (getLevel() == 1)) {
       String oldSubstanceUnits = substanceUnitsID;
       substanceUnitsID = substanceUnits;
@@ -953,6 +957,7 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
    */
   @Deprecated
   public void setTimeUnits(String timeUnits) {
+    checkNotFrozen();
     if (((getLevel() == 2) && (getVersion() == 1)) || (getLevel() == 1)) {
       String oldTimeUnits = timeUnitsID;
       timeUnitsID = timeUnits;
@@ -1000,6 +1005,7 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
   @Override
   @Deprecated
   public void setUnits(String units) {
+    checkNotFrozen();
     String oldUnits = unitsID;
     // TODO: Use the method Units.isValidUnit here!
     if (units == null) {
@@ -1140,6 +1146,7 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
    */
   @Deprecated
   public void unsetSubstanceUnits() {
+    checkNotFrozen();
     String oldSubstanceUnitsID = substanceUnitsID;
     substanceUnitsID = null;
     firePropertyChange(TreeNodeChangeEvent.substanceUnits,
@@ -1153,6 +1160,7 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
    */
   @Deprecated
   public void unsetTimeUnits() {
+    checkNotFrozen();
     String oldTimeUnitsID = timeUnitsID;
     timeUnitsID = null;
     firePropertyChange(TreeNodeChangeEvent.timeUnits, oldTimeUnitsID,
@@ -1165,6 +1173,7 @@ public class KineticLaw extends AbstractMathContainer implements SBaseWithUnit,
   @Override
   @Deprecated
   public void unsetUnits() {
+    checkNotFrozen();
     unsetSubstanceUnits();
     unsetTimeUnits();
     if (unitsID != null) {
@@ -272,6 +272,10 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   public static <T extends SBase> ListOf<T> initListOf(SBase parent,
     ListOf<T> list, ListOf.Type type) {
+    if (parent instanceof AbstractTreeNode) {
+      // before the list is assigned to a field of its frozen parent
+      ((AbstractTreeNode) parent).checkNotFrozen();
+    }
     if (parent.isSetLevel()) {
       list.setLevel(parent.getLevel());
     }
@@ -426,6 +430,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public void add(int index, T element) {
+    checkNotFrozen();
     registerChild(element);
     listOf.add(index, element);
   }
@@ -434,6 +439,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public boolean add(T element) throws LevelVersionError {
+    checkNotFrozen();
     /*
      * In order to ensure that listeners are notified correctly, the element
      * must be added to the list before registering it as a child. However, if
@@ -463,6 +469,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public boolean addAll(Collection<? extends T> c) throws LevelVersionError {
+    checkNotFrozen();
     if (listOf.addAll(c)) {
       for (T element : c) {
         try {
@@ -485,6 +492,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public boolean addAll(int index, Collection<? extends T> collection) throws LevelVersionError {
+    checkNotFrozen();
     if (listOf.addAll(index, collection)) {
       for (T element : collection) {
         try {
@@ -525,6 +533,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public void clear() {
+    checkNotFrozen();
     for (T element : listOf) {
       ((TreeNodeWithChangeSupport) element).fireNodeRemovedEvent();
     }
@@ -808,6 +817,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public T remove(int index) {
+    checkNotFrozen();
     T t = listOf.remove(index);
     ((TreeNodeWithChangeSupport) t).fireNodeRemovedEvent();
     return t;
@@ -821,6 +831,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    * @return success or failure.
    */
   public boolean remove(SBase nsb) {
+    checkNotFrozen();
     if (!listOf.remove(nsb)) {
       if (nsb.isSetId()) {
         int pos = -1;
@@ -849,6 +860,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public boolean remove(Object o) {
+    checkNotFrozen();
     if (!(o instanceof SBase)) {
       return false;
     }
@@ -869,6 +881,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @SuppressWarnings("unchecked")
   public T remove(String removeId) {
+    checkNotFrozen();
     if (removeId != null && removeId.trim().length() > 0) {
       int pos = -1;
       SBase sbase = null;
@@ -897,6 +910,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public boolean removeAll(Collection<?> c) {
+    checkNotFrozen();
     boolean success = listOf.removeAll(c);
     if (success) { // TODO: a success does not mean that all elements from c have been removed from the listOf
       for (Iterator<?> i = c.iterator(); i.hasNext();) {
@@ -938,6 +952,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public boolean retainAll(Collection<?> c) {
+    checkNotFrozen();
     boolean modified = false;
     for (T element : listOf) {
       if (!c.contains(element)) {
@@ -954,6 +969,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    */
   @Override
   public T set(int index, T element) throws LevelVersionError {
+    checkNotFrozen();
     T prevElem = listOf.set(index, element);
 
     if (prevElem != null) {
@@ -996,6 +1012,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    * @param newPackageName the name of the package to which this {@link SBase} belong.
    */
   public void setPackageName(String newPackageName) {
+    checkNotFrozen();
 
     if ((packageName != null) && (newPackageName != null) && (!packageName.equals(newPackageName))) {
       // if we implement proper conversion some days, we need to unset the namespace before changing it.
@@ -1023,6 +1040,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    * @param listType a list {@link Type}
    */
   public void setSBaseListType(Type listType) {
+    checkNotFrozen();
     Type oldType = this.listType;
     this.listType = listType;
     firePropertyChange(TreeNodeChangeEvent.baseListType, oldType, listType);
@@ -1065,6 +1083,7 @@ public class ListOf<T extends SBase> extends AbstractSBase implements List<T>, U
    * Sets the SBaseListType of this ListOf to SBaseListType.none.
    */
   public void unsetSBaseListType() {
+    checkNotFrozen();
     Type oldType = this.listType;
     this.listType = Type.none;
     firePropertyChange(TreeNodeChangeEvent.baseListType, oldType, listType);
@@ -240,6 +240,7 @@ public class LocalParameter extends QuantityWithUnit {
    */
   @Deprecated
   public void setExplicitlyConstant(boolean isExplicitlySetConstant) {
+    checkNotFrozen();
     if (this.isExplicitlySetConstant != isExplicitlySetConstant) {
       Boolean oldValue = this.isExplicitlySetConstant;
       this.isExplicitlySetConstant = Boolean.valueOf(isExplicitlySetConstant);
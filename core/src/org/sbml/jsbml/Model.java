@@ -2534,6 +2534,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Compartment> getListOfCompartments() {
     if (listOfCompartments == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfCompartments);
+      }
       listOfCompartments = ListOf.newInstance(this, Compartment.class);
       registerChild(listOfCompartments);
     }
@@ -2550,6 +2553,9 @@ implements UniqueNamedSBase, IdManager {
   @Deprecated
   public ListOf<CompartmentType> getListOfCompartmentTypes() {
     if (listOfCompartmentTypes == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfCompartmentTypes);
+      }
       listOfCompartmentTypes = ListOf.newInstance(this, CompartmentType.class);
       registerChild(listOfCompartmentTypes);
     }
@@ -2564,6 +2570,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Constraint> getListOfConstraints() {
     if (listOfConstraints == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfConstraints);
+      }
       listOfConstraints = ListOf.newInstance(this, Constraint.class);
       registerChild(listOfConstraints);
     }
@@ -2625,6 +2634,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Event> getListOfEvents() {
     if (listOfEvents == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfEvents);
+      }
       listOfEvents = ListOf.newInstance(this, Event.class);
       registerChild(listOfEvents);
     }
@@ -2639,6 +2651,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<FunctionDefinition> getListOfFunctionDefinitions() {
     if (listOfFunctionDefinitions == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfFunctionDefinitions);
+      }
       listOfFunctionDefinitions =
           ListOf.newInstance(this, FunctionDefinition.class);
       registerChild(listOfFunctionDefinitions);
@@ -2654,6 +2669,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<InitialAssignment> getListOfInitialAssignments() {
     if (listOfInitialAssignments == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfInitialAssignments);
+      }
       listOfInitialAssignments =
           ListOf.newInstance(this, InitialAssignment.class);
       registerChild(listOfInitialAssignments);
@@ -2669,6 +2687,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Parameter> getListOfParameters() {
     if (listOfParameters == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfParameters);
+      }
       listOfParameters = ListOf.newInstance(this, Parameter.class);
       registerChild(listOfParameters);
     }
@@ -2694,6 +2715,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Reaction> getListOfReactions() {
     if (listOfReactions == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfReactions);
+      }
       listOfReactions = ListOf.newInstance(this, Reaction.class);
       registerChild(listOfReactions);
     }
@@ -2708,6 +2732,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Rule> getListOfRules() {
     if (listOfRules == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfRules);
+      }
       listOfRules = ListOf.newInstance(this, Rule.class);
       registerChild(listOfRules);
     }
@@ -2722,6 +2749,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<Species> getListOfSpecies() {
     if (listOfSpecies == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfSpecies);
+      }
       listOfSpecies = ListOf.newInstance(this, Species.class);
       registerChild(listOfSpecies);
     }
@@ -2738,6 +2768,9 @@ implements UniqueNamedSBase, IdManager {
   @Deprecated
   public ListOf<SpeciesType> getListOfSpeciesTypes() {
     if (listOfSpeciesTypes == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfSpeciesTypes);
+      }
       listOfSpeciesTypes = ListOf.newInstance(this, SpeciesType.class);
       registerChild(listOfSpeciesTypes);
     }
@@ -2752,6 +2785,9 @@ implements UniqueNamedSBase, IdManager {
    */
   public ListOf<UnitDefinition> getListOfUnitDefinitions() {
     if (listOfUnitDefinitions == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfUnitDefinitions);
+      }
       listOfUnitDefinitions = ListOf.newInstance(this, UnitDefinition.class);
       registerChild(listOfUnitDefinitions);
     }
@@ -5297,6 +5333,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setAreaUnits(String areaUnitsID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.areaUnits,
         this);
@@ -5352,6 +5389,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setConversionFactor(String conversionFactorID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(
         TreeNodeChangeEvent.conversionFactor, this);
@@ -5371,6 +5409,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setExtentUnits(String extentUnitsID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.extentUnits,
         this);
@@ -5413,6 +5452,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setLengthUnits(String lengthUnitsID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.lengthUnits,
         this);
@@ -5698,6 +5738,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setSubstanceUnits(String substanceUnitsID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(
         TreeNodeChangeEvent.substanceUnits, this);
@@ -5740,6 +5781,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setTimeUnits(String timeUnitsID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.timeUnits,
         this);
@@ -5786,6 +5828,7 @@ implements UniqueNamedSBase, IdManager {
    *         if Level &lt; 3.
    */
   public void setVolumeUnits(String volumeUnitsID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.volumeUnits,
         this);
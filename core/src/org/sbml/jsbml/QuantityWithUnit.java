@@ -179,6 +179,7 @@ implements Quantity {
    */
   @Override
   public void setValue(double value) {
+    checkNotFrozen();
     Double oldValue = this.value;
     this.value = value;
     isSetValue = true;
@@ -192,6 +193,7 @@ implements Quantity {
    */
   @Override
   public void unsetValue() {
+    checkNotFrozen();
     if (!Double.isNaN(value)) {
       Double oldValue = value;
       value = Double.NaN;
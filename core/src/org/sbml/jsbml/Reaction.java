@@ -623,6 +623,9 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    */
   public ListOf<ModifierSpeciesReference> getListOfModifiers() {
     if (listOfModifiers == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfModifiers);
+      }
       listOfModifiers = ListOf.newInstance(this, ModifierSpeciesReference.class);
       registerChild(listOfModifiers);
     }
@@ -636,6 +639,9 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    */
   public ListOf<SpeciesReference> getListOfProducts() {
     if (listOfProducts == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfProducts);
+      }
       listOfProducts = ListOf.initListOf(this,
         new ListOf<SpeciesReference>(), ListOf.Type.listOfProducts);
       registerChild(listOfProducts);
@@ -650,6 +656,9 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    */
   public ListOf<SpeciesReference> getListOfReactants() {
     if (listOfReactants == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfReactants);
+      }
       listOfReactants = ListOf.initListOf(this, new ListOf<SpeciesReference>(),
         ListOf.Type.listOfReactants);
       registerChild(listOfReactants);
@@ -1304,6 +1313,7 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    */
   @Override
   public boolean setCompartment(String compartmentID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.compartment,
         this);
@@ -1334,6 +1344,7 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    */
   @Deprecated
   public void setFast(boolean fast) {
+    checkNotFrozen();
 
     if (!isReadingInProgress() && (getLevelAndVersion().compareTo(3, 2) >= 0)) {
       throw new PropertyNotAvailableException("fast", this);
@@ -1407,6 +1418,7 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    * @param reversible
    */
   public void setReversible(boolean reversible) {
+    checkNotFrozen();
     Boolean oldReversible = this.reversible;
     this.reversible = Boolean.valueOf(reversible);
     isSetReversible = true;
@@ -1430,6 +1442,7 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    */
   @Deprecated
   public void unsetFast() {
+    checkNotFrozen();
     Boolean oldFast = fast;
     isSetFast = false;
     fast = null;
@@ -1508,6 +1521,7 @@ implements CallableSBase, CompartmentalizedSBase, UniqueNamedSBase {
    * Sets the reversible Boolean of this {@link Reaction} to {@code null}.
    */
   public void unsetReversible() {
+    checkNotFrozen();
     Boolean oldReversible = reversible;
     isSetReversible = false;
     reversible = null;
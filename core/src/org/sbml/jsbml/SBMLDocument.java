@@ -40,14 +40,20 @@ import javax.swing.tree.TreeNode;
 import javax.xml.stream.XMLStreamException;
 
 import org.apache.log4j.Logger;
+import org.sbml.jsbml.util.ModelDependencyGraph;
+import org.sbml.jsbml.util.SBMLDocumentFingerprints;
+import org.sbml.jsbml.util.SBMLDocumentVariant;
 import org.sbml.jsbml.util.StringTools;
 import org.sbml.jsbml.util.TreeNodeChangeEvent;
 import org.sbml.jsbml.util.TreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeIterator;
 import org.sbml.jsbml.util.converters.ExpandFunctionDefinitionConverter;
+import org.sbml.jsbml.util.converters.FunctionDefinitionCache;
 import org.sbml.jsbml.util.converters.ToL3V2Converter;
 import org.sbml.jsbml.validator.SBMLValidator;
 import org.sbml.jsbml.validator.SBMLValidator.CHECK_CATEGORY;
 import org.sbml.jsbml.validator.offline.LoggingValidationContext;
+import org.sbml.jsbml.xml.XMLNode;
 import org.sbml.jsbml.xml.parsers.PackageParser;
 import org.sbml.jsbml.xml.parsers.PackageUtil;
 import org.sbml.jsbml.xml.parsers.ParserManager;
@@ -161,6 +167,17 @@ public class SBMLDocument extends AbstractSBase {
    */
   private String locationURI;
 
+  /**
+   * Whether this document has been frozen, see {@link #freeze()}. Copies of
+   * this document are not frozen.
+   */
+  private transient volatile boolean frozen;
+
+  /**
+   * The open transaction of this document, see {@link #beginTransaction()}.
+   */
+  private transient TreeNodeChangeTransaction transaction;
+
   /**
    * Creates a {@link SBMLDocument} instance. By default, the parent SBML object
    * of
@@ -1022,6 +1039,275 @@ public class SBMLDocument extends AbstractSBase {
   }
 
 
+  /**
+   * Returns a content-based fingerprint of this document, see
+   * {@link #getFingerprint(TreeNode)}.
+   * 
+   * @return the fingerprint of this document as a hexadecimal string.
+   */
+  public String getFingerprint() {
+    return getFingerprint(this);
+  }
+
+
+  /**
+   * Returns a content-based fingerprint of the given node, which is equal
+   * for subtrees with the same content in this or another document. The
+   * fingerprints of the nodes of this document are kept until they change.
+   * Unless {@link SBMLDocumentFingerprints#enable(SBMLDocument, boolean, boolean, String...)}
+   * has configured notes, annotations or attributes to be ignored, the
+   * fingerprints take all of them into account.
+   * 
+   * @param node
+   *        a node of this or of another document.
+   * @return the fingerprint of the given node as a hexadecimal string.
+   * @see SBMLDocumentFingerprints
+   */
+  public String getFingerprint(TreeNode node) {
+    return SBMLDocumentFingerprints.enable(this).getFingerprint(node);
+  }
+
+
+  /**
+   * Creates a variant of this document that only keeps its own changes, see
+   * {@link SBMLDocumentVariant}. This document must not be modified while
+   * its variants are in use.
+   * 
+   * @return a new variant of this document without any changes.
+   */
+  public SBMLDocumentVariant createVariant() {
+    return new SBMLDocumentVariant(this);
+  }
+
+
+  /**
+   * Makes this document read-only, such that it can be read by many threads
+   * at the same time without any locks. All state that JSBML determines
+   * lazily while reading is determined beforehand: the variables of
+   * {@link ASTNode}s are looked up, the meta identifiers that writing
+   * would add are created, the hash codes and the
+   * {@link SBMLDocumentFingerprints fingerprints}, if enabled, are
+   * computed, the bodies of the function definitions are prepared in the
+   * {@link FunctionDefinitionCache} and an existing
+   * {@link ModelDependencyGraph} is brought up to date. Enable the
+   * fingerprints or an {@link org.sbml.jsbml.util.SBMLDocumentIndex} before
+   * freezing the document if they are needed. Without a dependency graph,
+   * each {@link org.sbml.jsbml.util.InitialValueEvaluator} of the frozen
+   * document builds its own.
+   * <p>
+   * Afterwards, each change of the document throws an
+   * {@link IllegalStateException}. Adding or removing elements and the
+   * setters of the core elements and of the extension packages are rejected
+   * before anything is changed. The getters of missing lists, annotations and histories, such
+   * as {@link Model#getListOfReactions()}, return empty instances that are
+   * not added to the document and that reject changes as well. The getters
+   * of missing lists of extension packages still throw, so readers should
+   * check, e.g., whether the list is set before calling them.
+   * <p>
+   * A thread that sees {@link #isFrozen()} returning {@code true} sees the
+   * complete frozen document. A frozen document cannot be thawed; its clones
+   * and deserialized copies are not frozen.
+   */
+  public void freeze() {
+    if (frozen) {
+      return;
+    }
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(this); iterator.hasNext();) {
+      TreeNode node = iterator.next();
+      if (node instanceof ASTNode) {
+        ASTNode math = (ASTNode) node;
+        if (math.isVariable()) {
+          math.getVariable();
+        }
+      } else if (node instanceof SBase) {
+        SBase sbase = (SBase) node;
+        if (sbase.isSetAnnotation() && sbase.getAnnotation().isSetRDFannotation()
+            && !sbase.isSetMetaId()) {
+          // creates the meta identifier that is needed when writing
+          sbase.writeXMLAttributes();
+        }
+      }
+    }
+    if (mappingFromMetaId2SBase == null) {
+      mappingFromMetaId2SBase = new HashMap<String, SBase>();
+    }
+    SBMLDocumentFingerprints fingerprints = SBMLDocumentFingerprints.get(this);
+    if (fingerprints != null) {
+      fingerprints.getFingerprint(this);
+    }
+    if (isSetModel()) {
+      if (getModel().getFunctionDefinitionCount() > 0) {
+        FunctionDefinitionCache.get(getModel()).prepareAll();
+      }
+      if (getModel().getUserObject(ModelDependencyGraph.USER_OBJECT_KEY) != null) {
+        // brings an existing graph up to date, such that it is only read
+        ModelDependencyGraph.get(getModel()).getOrder();
+      }
+    }
+    hashCode();
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(this); iterator.hasNext();) {
+      TreeNode node = iterator.next();
+      markFrozen(node);
+      if (node instanceof SBase) {
+        // notes and XML annotations are not part of the tree
+        SBase sbase = (SBase) node;
+        if (sbase.isSetNotes()) {
+          markFrozen(sbase.getNotes());
+        }
+        if (sbase.isSetAnnotation() && sbase.getAnnotation().isSetNonRDFannotation()) {
+          markFrozen(sbase.getAnnotation().getNonRDFannotation());
+        }
+      }
+    }
+    frozen = true;
+  }
+
+  /**
+   * Marks the given node as part of this frozen document, see
+   * {@link #freeze()}, or, in case of an {@link XMLNode}, its whole subtree.
+   * 
+   * @param node
+   */
+  private static void markFrozen(TreeNode node) {
+    if (node instanceof XMLNode) {
+      for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(node); iterator.hasNext();) {
+        ((AbstractTreeNode) iterator.next()).inFrozenDocument = true;
+      }
+    } else if (node instanceof AbstractTreeNode) {
+      ((AbstractTreeNode) node).inFrozenDocument = true;
+    }
+  }
+
+  /**
+   * @return {@code true} if this document has been frozen, see
+   *         {@link #freeze()}.
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Opens a transaction, which must be ended by {@link #commitTransaction()}
+   * in a {@code finally} block. Transactions may be nested, the changes are
+   * delivered when the outermost one is committed.
+   * <p>
+   * While a transaction is open, the {@link TreeNodeChangeListener}s of the
+   * elements of this document are not notified about changes, except for
+   * the {@link org.sbml.jsbml.util.SynchronousTreeNodeChangeListener}s, which
+   * keep the caches of this library current, such as the
+   * {@link org.sbml.jsbml.util.SBMLDocumentIndex}. Instead, the
+   * notifications are collected, where several changes of the same property
+   * of the same element are merged into one {@link TreeNodeChangeEvent} with
+   * the first old and the last new value, which is dropped if both are
+   * equal. When the transaction is committed, each
+   * {@link org.sbml.jsbml.util.TreeNodeChangeBatchListener} receives one
+   * {@link org.sbml.jsbml.util.TreeNodeChangeBatchEvent} with its changes.
+   * All other listeners are notified about each change in order. Note that
+   * listeners see the final state of the document when they are notified.
+   * <p>
+   * The changes themselves are applied immediately rather than in bulk when
+   * the transaction is committed: identifiers and meta identifiers are
+   * registered when they are set, because they are checked for uniqueness,
+   * and the caches are updated by their synchronous listeners, such that
+   * queries within the transaction see the current state of the document.
+   * Hence, there is nothing to roll back. If the transaction is left by an
+   * exception, closing the returned handle, e.g., by a try-with-resources
+   * statement, still notifies the listeners about the changes made so far:
+   * <pre>
+   * try (SBMLDocument.Transaction transaction = doc.beginTransaction()) {
+   *   // change the document
+   * }
+   * </pre>
+   * A transaction belongs to the thread that opened it. Only changes made by
+   * threads with open transactions look for the document of the changed
+   * element, changes made by other threads are not collected.
+   * 
+   * @return a handle that commits this level of the transaction when it is
+   *         closed, see {@link Transaction#close()}.
+   */
+  public Transaction beginTransaction() {
+    if (transaction == null) {
+      transaction = new TreeNodeChangeTransaction(this, openTransaction());
+    } else {
+      transaction.begin();
+    }
+    return new Transaction(this);
+  }
+
+  /**
+   * Ends the current transaction, see {@link #beginTransaction()}, and
+   * notifies the listeners about the changes if it is the outermost one.
+   * 
+   * @throws IllegalStateException
+   *         if there is no open transaction.
+   */
+  public void commitTransaction() {
+    if (transaction == null) {
+      throw new IllegalStateException(MessageFormat.format(
+        resourceBundle.getString("SBMLDocument.commitTransaction"), this));
+    }
+    if (transaction.end()) {
+      TreeNodeChangeTransaction committed = transaction;
+      transaction = null;
+      closeTransaction(committed.getThreadTransactions());
+      committed.deliver();
+    }
+  }
+
+  /**
+   * @return {@code true} if a transaction of this document is open, see
+   *         {@link #beginTransaction()}.
+   */
+  public boolean isInTransaction() {
+    return transaction != null;
+  }
+
+  /**
+   * @return the open transaction of this document, or {@code null}.
+   */
+  TreeNodeChangeTransaction getTransaction() {
+    return transaction;
+  }
+
+  /**
+   * A level of a transaction of an {@link SBMLDocument}, which is returned by
+   * {@link SBMLDocument#beginTransaction()}.
+   *
+   * @since 1.7
+   */
+  public static final class Transaction implements AutoCloseable {
+
+    /**
+     * The document of the transaction, or {@code null} once this level has
+     * been committed.
+     */
+    private SBMLDocument doc;
+
+    /**
+     * @param doc
+     */
+    private Transaction(SBMLDocument doc) {
+      this.doc = doc;
+    }
+
+    /**
+     * Commits this level of the transaction like
+     * {@link SBMLDocument#commitTransaction()}, unless this has been done by
+     * this method before. Hence, a level must either be committed by this
+     * method or by {@link SBMLDocument#commitTransaction()}, not by both.
+     */
+    @Override
+    public void close() {
+      if (doc != null) {
+        SBMLDocument committed = doc;
+        doc = null;
+        committed.commitTransaction();
+      }
+    }
+
+  }
+
+
   /**
    * Returns a collection of all {@link SBMLError}s reflecting
    * problems in the overall data structure of this {@link SBMLDocument}.
@@ -1784,6 +2070,7 @@ public class SBMLDocument extends AbstractSBase {
    * @param attributes
    */
   public void setSBMLDocumentAttributes(Map<String, String> attributes) {
+    checkNotFrozen();
     Map<String, String> oldAttributes = SBMLDocumentAttributes;
     SBMLDocumentAttributes = attributes;
     firePropertyChange(TreeNodeChangeEvent.SBMLDocumentAttributes,
@@ -81,7 +81,20 @@ public class SBMLReader implements Cloneable, Serializable {
   public static String UNKNOWN_XML_NODE = "jsbml.reader.unknown.xmlnode";
 
   /**
-   * Factory method for reading SBML from a given {@link File}.
+   * Predicate returning {@code true} if this reader can read files compressed
+   * with zlib, i.e., gzip files and zip archives. This is always the case in
+   * JSBML, the compression is detected from the content of the file.
+   * 
+   * @return {@code true}
+   * @see org.sbml.jsbml.util.CompressionTools
+   */
+  public static boolean hasZlib() {
+    return true;
+  }
+
+  /**
+   * Factory method for reading SBML from a given {@link File}. The file may
+   * also be compressed with gzip or zip.
    * 
    * @param file
    * @return
@@ -251,6 +264,24 @@ public class SBMLReader implements Cloneable, Serializable {
     return new org.sbml.jsbml.xml.stax.SBMLReader().readSBMLFromStream(stream);
   }
 
+  /**
+   * Reads an SBML document from a {@link File} through memory mapping. For
+   * very large files, this avoids copying the content through intermediate
+   * buffers before it reaches the XML parser.
+   * <p>
+   * This methods is not part of the libSBML SBMLReader API.
+   * <p>
+   * @param file the file to be read.
+   * <p>
+   * @return an {@link SBMLDocument} created from the SBML content.
+   * @throws XMLStreamException if any other problems prevent to create a {@link SBMLDocument}
+   * @throws IOException if the file does not exist or cannot be read.
+   * @see org.sbml.jsbml.util.MappedFileInputStream
+   */
+  public SBMLDocument readSBMLFromMappedFile(File file) throws XMLStreamException, IOException {
+    return new org.sbml.jsbml.xml.stax.SBMLReader().readSBMLFromMappedFile(file, new SimpleTreeNodeChangeListener());
+  }
+
   /**
    * Reads an SBML document from the given XML string.
    * 
@@ -52,6 +52,18 @@ public class SBMLWriter implements Cloneable, Serializable {
    */
   private static final long serialVersionUID = 7320725236081166704L;
 
+  /**
+   * Predicate returning {@code true} if this writer can write files
+   * compressed with zlib. This is always the case in JSBML: files whose name
+   * ends with {@code .gz} or {@code .zip} are compressed accordingly.
+   * 
+   * @return {@code true}
+   * @see org.sbml.jsbml.util.CompressionTools
+   */
+  public static boolean hasZlib() {
+    return true;
+  }
+
   /**
    * Writes the given SBML document to a {@link File}.
    * 
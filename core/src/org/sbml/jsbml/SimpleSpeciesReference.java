@@ -229,6 +229,7 @@ implements UniqueNamedSBase {
    * @param species
    */
   public void setSpecies(String species) {
+    checkNotFrozen();
 
     if (species != null && species.trim().length() == 0) {
       species = null;
@@ -966,6 +966,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    * @param boundaryCondition the boundary condition
    */
   public void setBoundaryCondition(boolean boundaryCondition) {
+    checkNotFrozen();
     Boolean oldBoundaryCondition = this.boundaryCondition;
     this.boundaryCondition = boundaryCondition;
     isSetBoundaryCondition = true;
@@ -985,6 +986,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    */
   @Deprecated
   public void setCharge(int charge) {
+    checkNotFrozen();
     if (3 <= getLevel()) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.charge, this);
     }
@@ -1010,6 +1012,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    */
   @Override
   public boolean setCompartment(String compartment) {
+    checkNotFrozen();
     if ((compartment != null) && (compartment.trim().length() == 0)) {
       compartment = null;
       // If we pass the empty String or null, the value is reset.
@@ -1047,6 +1050,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    * @throws PropertyNotAvailableException if Level &lt; 3.
    */
   public void setConversionFactor(String conversionFactorID) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(
         TreeNodeChangeEvent.conversionFactor, this);
@@ -1069,6 +1073,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    * @throws PropertyNotAvailableException if Level &lt; 2.
    */
   public void setHasOnlySubstanceUnits(boolean hasOnlySubstanceUnits) {
+    checkNotFrozen();
     if (!isReadingInProgress() && getLevel() < 2) {
       throw new PropertyNotAvailableException(
         TreeNodeChangeEvent.hasOnlySubstanceUnits, this);
@@ -1093,6 +1098,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    * @param initialAmount the initial amount
    */
   public void setInitialAmount(double initialAmount) {
+    checkNotFrozen();
     // store initialConcentration in user define object to allow validation of incorrect SBML files
     if (isReadingInProgress() && isSetInitialConcentration()) {
       // TODO - replace by processInvalidAttribute and change the corresponding rule(s)
@@ -1112,6 +1118,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    * @param initialConcentration the initial concentration
    */
   public void setInitialConcentration(double initialConcentration) {
+    checkNotFrozen();
     // store initialAmount in user define object to allow validation of incorrect SBML files
     if (isReadingInProgress() && isSetInitialAmount()) {
       // TODO - replace by processInvalidAttribute and change the corresponding rule(s)
@@ -1142,6 +1149,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
   @Deprecated
   public void setSpatialSizeUnits(String spatialSizeUnits)
       throws PropertyNotAvailableException, SBMLException {
+    checkNotFrozen();
     // TODO - replace all the checks by a call to the offline validator once all the species attribute checks are in place.
 
     if (!isReadingInProgress() && (getLevel() != 2) && ((1 != getVersion()) || (2 != getVersion()))) {
@@ -1218,6 +1226,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    */
   @Deprecated
   public void setSpeciesType(String speciesType) {
+    checkNotFrozen();
     if ((getLevel() != 2) || ((getLevel() == 2) && (getVersion() == 1))) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.speciesType,
         this);
@@ -1278,6 +1287,7 @@ public class Species extends Symbol implements CompartmentalizedSBase {
    */
   @Deprecated
   public void unsetCharge() {
+    checkNotFrozen();
     Integer oldCharge = charge;
     charge = null;
     isSetCharge = false;
@@ -514,6 +514,7 @@ Variable {
    */
   @Override
   public void setConstant(boolean constant) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.constant,
         this);
@@ -533,6 +534,7 @@ Variable {
    */
   @Deprecated
   public void setDenominator(int denominator) {
+    checkNotFrozen();
     if ((getLevel() == 1) && (getVersion() == 2)) {
       if (denominator < 0) {
         throw new IllegalArgumentException(MessageFormat.format(
@@ -552,6 +554,7 @@ Variable {
    * @param stoichiometry
    */
   public void setStoichiometry(double stoichiometry) {
+    checkNotFrozen();
     if ((getLevel() == 1) && (getVersion() == 2)) {
       int stoch = (int) stoichiometry;
       if ((stoch < 0) || (stoch - stoichiometry != 0d)) {
@@ -617,6 +620,7 @@ Variable {
    */
   @Override
   public void unsetConstant() {
+    checkNotFrozen();
     if (constant != null) {
       Boolean oldConstant = constant;
       constant = null;
@@ -630,6 +634,7 @@ Variable {
    * Unsets the stoichiometry property of this element.
    */
   public void unsetStoichiometry() {
+    checkNotFrozen();
     if (stoichiometry != null) {
       Double oldStoichiometry = stoichiometry;
       stoichiometry = null;
@@ -203,6 +203,7 @@ Variable {
    */
   @Override
   public void setConstant(boolean constant) {
+    checkNotFrozen();
     if (getLevel() == 1) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.constant, this);
     }
@@ -217,6 +218,7 @@ Variable {
    */
   @Override
   public void unsetConstant() {
+    checkNotFrozen();
     Boolean oldConstant = constant;
     constant = null;
     isSetConstant = false;
@@ -0,0 +1,365 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.util.SynchronousTreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeAddedEvent;
+import org.sbml.jsbml.util.TreeNodeChangeBatchEvent;
+import org.sbml.jsbml.util.TreeNodeChangeBatchListener;
+import org.sbml.jsbml.util.TreeNodeChangeEvent;
+import org.sbml.jsbml.util.TreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeRemovedEvent;
+
+/**
+ * Collects the notifications of the listeners of an {@link SBMLDocument}
+ * while a transaction is open, see {@link SBMLDocument#beginTransaction()},
+ * and delivers them when it is committed. Only
+ * {@link SynchronousTreeNodeChangeListener}s are notified immediately.
+ *
+ * @since 1.7
+ */
+final class TreeNodeChangeTransaction {
+
+  /**
+   * A pending notification together with the listeners to be notified.
+   */
+  private static final class Change {
+
+    /**
+     * The changed node.
+     */
+    private final TreeNode source;
+
+    /**
+     * The changed property, or {@code null} for added or removed nodes.
+     */
+    private final String property;
+
+    /**
+     * The value of the property before the first change, or the previous
+     * parent of a removed node.
+     */
+    private final Object oldValue;
+
+    /**
+     * The value of the property after the last change.
+     */
+    private Object newValue;
+
+    /**
+     * Whether this is a removed node rather than an added one, if
+     * {@link #property} is {@code null}.
+     */
+    private final boolean removed;
+
+    /**
+     * The listeners of the source at the time of the last change, except for
+     * the {@link SynchronousTreeNodeChangeListener}s.
+     */
+    private List<TreeNodeChangeListener> listeners;
+
+    /**
+     * @param source
+     * @param property
+     * @param oldValue
+     * @param newValue
+     * @param removed
+     * @param listeners
+     */
+    private Change(TreeNode source, String property, Object oldValue,
+      Object newValue, boolean removed, List<TreeNodeChangeListener> listeners) {
+      this.source = source;
+      this.property = property;
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+      this.removed = removed;
+      this.listeners = listeners;
+    }
+
+    /**
+     * @return the event describing this change, or {@code null} if the
+     *         property has its original value again.
+     */
+    private EventObject toEvent() {
+      if (property == null) {
+        return removed ? new TreeNodeRemovedEvent(source, (TreeNode) oldValue) : new TreeNodeAddedEvent(source);
+      }
+      if ((oldValue == null) ? (newValue == null) : oldValue.equals(newValue)) {
+        return null;
+      }
+      return new TreeNodeChangeEvent(source, property, oldValue, newValue);
+    }
+
+  }
+
+  /**
+   * Identifies a property of a node, where nodes are compared by identity.
+   */
+  private static final class Key {
+
+    /**
+     * 
+     */
+    private final TreeNode source;
+
+    /**
+     * 
+     */
+    private final String property;
+
+    /**
+     * @param source
+     * @param property
+     */
+    private Key(TreeNode source, String property) {
+      this.source = source;
+      this.property = property;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object object) {
+      if (!(object instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) object;
+      return (source == key.source) && property.equals(key.property);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(source) + property.hashCode();
+    }
+
+  }
+
+  /**
+   * The document of this transaction.
+   */
+  private final SBMLDocument doc;
+
+  /**
+   * The transaction counter of the thread that opened this transaction, see
+   * {@link AbstractTreeNode#openTransaction()}.
+   */
+  private final int[] threadTransactions;
+
+  /**
+   * The nesting depth of this transaction.
+   */
+  private int depth;
+
+  /**
+   * All pending notifications in the order of the changes.
+   */
+  private final List<Change> changes = new ArrayList<Change>();
+
+  /**
+   * The pending property changes.
+   */
+  private final Map<Key, Change> propertyChanges = new HashMap<Key, Change>();
+
+  /**
+   * @param doc
+   * @param threadTransactions
+   *        the transaction counter of the current thread
+   */
+  TreeNodeChangeTransaction(SBMLDocument doc, int[] threadTransactions) {
+    this.doc = doc;
+    this.threadTransactions = threadTransactions;
+    depth = 1;
+  }
+
+  /**
+   * Opens a nested transaction.
+   */
+  void begin() {
+    depth++;
+  }
+
+  /**
+   * Closes the current nesting level of this transaction.
+   *
+   * @return {@code true} if this was the outermost level, i.e., if the
+   *         changes have to be delivered now.
+   */
+  boolean end() {
+    return --depth == 0;
+  }
+
+  /**
+   * @return the transaction counter of the thread that opened this
+   *         transaction.
+   */
+  int[] getThreadTransactions() {
+    return threadTransactions;
+  }
+
+  /**
+   * @return the number of pending notifications.
+   */
+  int getChangeCount() {
+    return changes.size();
+  }
+
+  /**
+   * Notifies the {@link SynchronousTreeNodeChangeListener}s among the given
+   * listeners about an added node and records the notification of the
+   * others.
+   *
+   * @param node
+   *        the added node
+   * @param listeners
+   *        its listeners
+   */
+  void nodeAdded(TreeNode node, List<TreeNodeChangeListener> listeners) {
+    List<TreeNodeChangeListener> deferred = new ArrayList<TreeNodeChangeListener>(listeners.size());
+    for (int i = listeners.size() - 1; i >= 0; i--) {
+      TreeNodeChangeListener listener = listeners.get(i);
+      if (listener instanceof SynchronousTreeNodeChangeListener) {
+        listener.nodeAdded(node);
+      } else {
+        deferred.add(listener);
+      }
+    }
+    if (!deferred.isEmpty()) {
+      // in the order of the listeners
+      Collections.reverse(deferred);
+      changes.add(new Change(node, null, null, null, false, deferred));
+    }
+  }
+
+  /**
+   * Notifies the {@link SynchronousTreeNodeChangeListener}s among the given
+   * listeners about a removed node and records the notification of the
+   * others.
+   *
+   * @param node
+   *        the removed node
+   * @param previousParent
+   *        its previous parent
+   * @param listeners
+   *        its listeners before the removal
+   */
+  void nodeRemoved(TreeNode node, TreeNode previousParent, List<TreeNodeChangeListener> listeners) {
+    List<TreeNodeChangeListener> deferred = new ArrayList<TreeNodeChangeListener>(listeners.size());
+    for (TreeNodeChangeListener listener : listeners) {
+      if (listener instanceof SynchronousTreeNodeChangeListener) {
+        listener.nodeRemoved(new TreeNodeRemovedEvent(node, previousParent));
+      } else {
+        deferred.add(listener);
+      }
+    }
+    if (!deferred.isEmpty()) {
+      changes.add(new Change(node, null, previousParent, null, true, deferred));
+    }
+  }
+
+  /**
+   * Notifies the {@link SynchronousTreeNodeChangeListener}s among the given
+   * listeners about the change of a property and records the notification
+   * of the others. Further changes of the same property of the same node
+   * only update the new value of the pending notification.
+   *
+   * @param node
+   * @param property
+   * @param oldValue
+   * @param newValue
+   * @param listeners
+   *        the listeners of the node
+   */
+  void propertyChange(TreeNode node, String property, Object oldValue,
+    Object newValue, List<TreeNodeChangeListener> listeners) {
+    List<TreeNodeChangeListener> deferred = new ArrayList<TreeNodeChangeListener>(listeners.size());
+    TreeNodeChangeEvent event = null;
+    for (TreeNodeChangeListener listener : listeners) {
+      if (listener instanceof SynchronousTreeNodeChangeListener) {
+        if (event == null) {
+          event = new TreeNodeChangeEvent(node, property, oldValue, newValue);
+        }
+        listener.propertyChange(event);
+      } else {
+        deferred.add(listener);
+      }
+    }
+    Key key = new Key(node, property);
+    Change change = propertyChanges.get(key);
+    if (change != null) {
+      change.newValue = newValue;
+      change.listeners = deferred;
+    } else if (!deferred.isEmpty()) {
+      change = new Change(node, property, oldValue, newValue, false, deferred);
+      propertyChanges.put(key, change);
+      changes.add(change);
+    }
+  }
+
+  /**
+   * Delivers the pending notifications. Each
+   * {@link TreeNodeChangeBatchListener} receives one
+   * {@link TreeNodeChangeBatchEvent}, after all other listeners have been
+   * notified about each change in order.
+   */
+  void deliver() {
+    Map<TreeNodeChangeBatchListener, List<EventObject>> batches =
+        new LinkedHashMap<TreeNodeChangeBatchListener, List<EventObject>>();
+    for (Change change : changes) {
+      EventObject event = change.toEvent();
+      if (event == null) {
+        continue;
+      }
+      for (TreeNodeChangeListener listener : change.listeners) {
+        if (listener instanceof TreeNodeChangeBatchListener) {
+          List<EventObject> batch = batches.get(listener);
+          if (batch == null) {
+            batch = new ArrayList<EventObject>();
+            batches.put((TreeNodeChangeBatchListener) listener, batch);
+          }
+          batch.add(event);
+        } else if (event instanceof TreeNodeAddedEvent) {
+          listener.nodeAdded(change.source);
+        } else if (event instanceof TreeNodeRemovedEvent) {
+          listener.nodeRemoved((TreeNodeRemovedEvent) event);
+        } else {
+          listener.propertyChange((TreeNodeChangeEvent) event);
+        }
+      }
+    }
+    for (Map.Entry<TreeNodeChangeBatchListener, List<EventObject>> entry : batches.entrySet()) {
+      entry.getKey().changesCommitted(new TreeNodeChangeBatchEvent(doc, entry.getValue()));
+    }
+  }
+
+}
@@ -229,6 +229,7 @@ public class Trigger extends AbstractMathContainer implements UniqueSId {
    *             if Level &lt; 3.
    */
   public void setInitialValue(boolean initialValue) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.initialValue, this);
     }
@@ -246,6 +247,7 @@ public class Trigger extends AbstractMathContainer implements UniqueSId {
    *             if Level &lt; 3.
    */
   public void setPersistent(boolean persistent) {
+    checkNotFrozen();
     if (getLevel() < 3) {
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.persistent, this);
     }
@@ -2244,6 +2244,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * @param exponent
    */
   public void setExponent(double exponent) {
+    checkNotFrozen();
     Double oldExponent = this.exponent;
     isSetExponent = true;
     this.exponent = Double.valueOf(exponent);
@@ -2267,6 +2268,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * @param kind
    */
   public void setKind(Kind kind) {
+    checkNotFrozen();
     Kind oldKind = this.kind;
     this.kind = (kind != null) ? kind : Kind.INVALID;
     firePropertyChange(TreeNodeChangeEvent.kind, oldKind, this.kind);
@@ -2280,6 +2282,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    *             if Level &lt; 2 and the given {@code multiplier != 1}.
    */
   public void setMultiplier(double multiplier) {
+    checkNotFrozen();
     if ((getLevel() < 2) && (multiplier != 1d) && !isInvalidSBMLAllowed()) {
       // added the multiplier test != 1 to prevent error being reported when it is not necessary
       throw new PropertyNotAvailableException(TreeNodeChangeEvent.multiplier, this);
@@ -2301,6 +2304,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    */
   @Deprecated
   public void setOffset(double offset) {
+    checkNotFrozen();
     if ((getLevel() == 2) && (getVersion() == 1)) {
       Double oldOffset = this.offset;
       isSetOffset = true;
@@ -2317,6 +2321,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * @param scale
    */
   public void setScale(int scale) {
+    checkNotFrozen();
     Integer oldScale = this.scale;
     isSetScale = true;
     this.scale = scale;
@@ -2354,6 +2359,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * 
    */
   public void unsetExponent() {
+    checkNotFrozen();
     Double oldExponent = exponent;
     exponent = null;
     isSetExponent = false;
@@ -2364,6 +2370,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * 
    */
   public void unsetKind() {
+    checkNotFrozen();
     Kind oldKind = kind;
     kind = Kind.INVALID;
     firePropertyChange(TreeNodeChangeEvent.kind, oldKind, kind);
@@ -2373,6 +2380,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * 
    */
   public void unsetMultiplier() {
+    checkNotFrozen();
     Double oldMultipler = multiplier;
     multiplier = null;
     isSetMultiplier = false;
@@ -2385,6 +2393,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    */
   @Deprecated
   public void unsetOffset() {
+    checkNotFrozen();
     Double oldOffset = offset;
     offset = null;
     isSetOffset = false;
@@ -2395,6 +2404,7 @@ public class Unit extends AbstractSBase implements UniqueSId {
    * 
    */
   public void unsetScale() {
+    checkNotFrozen();
     Integer oldScale = scale;
     scale = null;
     isSetScale = false;
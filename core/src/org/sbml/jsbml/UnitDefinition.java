@@ -872,6 +872,9 @@ public class UnitDefinition extends AbstractNamedSBase {
    */
   public ListOf<Unit> getListOfUnits() {
     if (listOfUnits == null) {
+      if (isInFrozenDocument()) {
+        return createFrozenListOf(ListOf.Type.listOfUnits);
+      }
       listOfUnits = ListOf.newInstance(this, Unit.class);
       registerChild(listOfUnits);
     }
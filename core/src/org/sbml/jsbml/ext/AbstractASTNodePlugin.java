@@ -291,6 +291,7 @@ public abstract class AbstractASTNodePlugin extends AbstractTreeNode implements
    * @param namespace the XML namespace to which this {@link ASTNodePlugin} belong.
    */
   public void setNamespace(String namespace) {
+    checkNotFrozen();
 
     if ((elementNamespace != null) && (namespace != null) && (!elementNamespace.equals(namespace))) {
       // if we implement proper conversion some days, we need to unset the namespace before changing it.
@@ -313,6 +314,7 @@ public abstract class AbstractASTNodePlugin extends AbstractTreeNode implements
    * @param extendedASTNode
    */
   public void setExtendedASTNode(ASTNode extendedASTNode) {
+    checkNotFrozen();
 
     // TODO - unregister children if extendedASTNode was not null !!??
     // Or do we throw an exception asking to clone the object instead ??
@@ -341,6 +343,7 @@ public abstract class AbstractASTNodePlugin extends AbstractTreeNode implements
    */
   @Override
   public void setPackageVersion(int packageVersion) {
+    checkNotFrozen();
     int oldVersion = this.packageVersion;
     this.packageVersion = packageVersion;
     firePropertyChange("packageVersion", oldVersion, packageVersion);
@@ -264,6 +264,7 @@ public abstract class AbstractSBasePlugin extends AbstractTreeNode implements SB
    * @param namespace the XML namespace to which this {@link SBasePlugin} belong.
    */
   public void setNamespace(String namespace) {
+    checkNotFrozen();
 
     if ((elementNamespace != null) && (namespace != null) && (!elementNamespace.equals(namespace))) {
       // if we implement proper conversion some days, we need to unset the namespace before changing it.
@@ -286,6 +287,7 @@ public abstract class AbstractSBasePlugin extends AbstractTreeNode implements SB
    * @param extendedSBase
    */
   public void setExtendedSBase(SBase extendedSBase) {
+    checkNotFrozen();
 
     // TODO - unregister children if extendedSBase was not null !!??
     // Or do we throw an exception asking to clone the object instead ??
@@ -313,6 +315,7 @@ public abstract class AbstractSBasePlugin extends AbstractTreeNode implements SB
    */
   @Override
   public void setPackageVersion(int packageVersion) {
+    checkNotFrozen();
     int oldVersion = this.packageVersion;
     this.packageVersion = packageVersion;
     firePropertyChange("packageVersion", oldVersion, packageVersion);
@@ -179,6 +179,7 @@ public class ASTArithmeticOperatorNode extends ASTFunction {
    *            the character value to which the node's value should be set.
    */
   public void setCharacter(char value) {
+    checkNotFrozen();
     Type oldValue = type;
     switch (value) {
     case '+':
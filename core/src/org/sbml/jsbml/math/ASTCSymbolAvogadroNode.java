@@ -311,6 +311,7 @@ ASTCSymbolNode {
    */
   @Override
   public void setName(String name) {
+    checkNotFrozen();
     String old = this.name;
     this.name = name;
     firePropertyChange(TreeNodeChangeEvent.name, old, this.name);
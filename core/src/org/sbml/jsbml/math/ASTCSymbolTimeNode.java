@@ -279,6 +279,7 @@ implements ASTCSymbolNode {
    */
   @Override
   public void setName(String name) {
+    checkNotFrozen();
     String old = this.name;
     this.name = name;
     firePropertyChange(TreeNodeChangeEvent.name, old, this.name);
@@ -299,6 +299,7 @@ ASTCSymbolBaseNode {
    * @param definitionURL
    */
   public void setDefinitionURL(String definitionURL) {
+    checkNotFrozen();
     String old = this.definitionURL;
     this.definitionURL = definitionURL;
     firePropertyChange(TreeNodeChangeEvent.definitionURL, old, this.definitionURL);
@@ -324,6 +325,7 @@ ASTCSymbolBaseNode {
    * @param refId the refId to set
    */
   public void setRefId(String refId) {
+    checkNotFrozen();
     String old = this.refId;
     this.refId = refId;
     firePropertyChange(TreeNodeChangeEvent.refId, old, refId);
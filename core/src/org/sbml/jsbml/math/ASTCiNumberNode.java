@@ -315,6 +315,7 @@ ASTCSymbolBaseNode {
    * @param definitionURL
    */
   public void setDefinitionURL(String definitionURL) {
+    checkNotFrozen();
     String old = this.definitionURL;
     this.definitionURL = definitionURL;
     firePropertyChange(TreeNodeChangeEvent.definitionURL, old, definitionURL);
@@ -349,6 +350,7 @@ ASTCSymbolBaseNode {
    * @param refId the refId to set
    */
   public void setRefId(String refId) {
+    checkNotFrozen();
     String old = this.refId;
     this.refId = refId;
     firePropertyChange(TreeNodeChangeEvent.refId, old, refId);
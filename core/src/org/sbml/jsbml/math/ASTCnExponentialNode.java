@@ -158,6 +158,7 @@ public class ASTCnExponentialNode extends ASTCnNumberNode<ValuePair<Integer,Doub
    * @param exponent
    */
   public void setExponent(int exponent) {
+    checkNotFrozen();
     if (! isSetNumber()) {
       setNumber(new ValuePair<Integer,Double>());
     }
@@ -172,6 +173,7 @@ public class ASTCnExponentialNode extends ASTCnNumberNode<ValuePair<Integer,Doub
    * @param mantissa
    */
   public void setMantissa(double mantissa) {
+    checkNotFrozen();
     if (! isSetNumber()) {
       setNumber(new ValuePair<Integer,Double>());
     }
@@ -162,6 +162,7 @@ public class ASTCnIntegerNode extends ASTCnNumberNode<Integer> {
    * @param value
    */
   public void setInteger(int value) {
+    checkNotFrozen();
     Integer old = number;
     number = value;
     firePropertyChange(TreeNodeChangeEvent.number, old, number);
@@ -350,6 +350,7 @@ public class ASTCnNumberNode<T> extends ASTNumber {
    * @param number
    */
   public void setNumber(T number) {
+    checkNotFrozen();
     T old = this.number;
     this.number = number;
     firePropertyChange(TreeNodeChangeEvent.number, old, this.number);
@@ -361,6 +362,7 @@ public class ASTCnNumberNode<T> extends ASTNumber {
    * @param units
    */
   public void setUnits(String units) {
+    checkNotFrozen();
     // TODO - add some checks on the unit, like it was done before?
     String old = this.units;
     this.units = units;
@@ -373,6 +375,7 @@ public class ASTCnNumberNode<T> extends ASTNumber {
    * @param variable {@link String}
    */
   public void setVariable(String variable) {
+    checkNotFrozen();
     String old = this.variable;
     this.variable = variable;
     firePropertyChange(TreeNodeChangeEvent.variable, old, this.variable);
@@ -383,6 +386,7 @@ public class ASTCnNumberNode<T> extends ASTNumber {
    *
    */
   public void unsetUnits() {
+    checkNotFrozen();
     String oldValue = units;
     units = null;
     firePropertyChange(TreeNodeChangeEvent.units, oldValue, null);
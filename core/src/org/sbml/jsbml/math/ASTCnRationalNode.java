@@ -154,6 +154,7 @@ public class ASTCnRationalNode extends ASTCnNumberNode<ValuePair<Integer,Integer
    * @param denominator
    */
   public void setDenominator(int denominator) {
+    checkNotFrozen();
     if (! isSetNumber()) {
       setNumber(new ValuePair<Integer,Integer>());
     }
@@ -168,6 +169,7 @@ public class ASTCnRationalNode extends ASTCnNumberNode<ValuePair<Integer,Integer
    * @param numerator
    */
   public void setNumerator(int numerator) {
+    checkNotFrozen();
     if (! isSetNumber()) {
       setNumber(new ValuePair<Integer,Integer>());
     }
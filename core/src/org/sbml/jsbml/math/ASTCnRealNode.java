@@ -197,6 +197,7 @@ public class ASTCnRealNode extends ASTCnNumberNode<Double> {
    * @param real
    */
   public void setReal(double real) {
+    checkNotFrozen();
     Double old = number;
     number = real;
     firePropertyChange(TreeNodeChangeEvent.number, old, number);
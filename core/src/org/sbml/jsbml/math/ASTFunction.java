@@ -467,6 +467,7 @@ public class ASTFunction extends AbstractASTNode {
    * @param name
    */
   public void setName(String name) {
+    checkNotFrozen();
     String old = this.name;
     this.name = name;
     firePropertyChange(TreeNodeChangeEvent.name, old, this.name);
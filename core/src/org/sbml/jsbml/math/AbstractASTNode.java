@@ -356,6 +356,7 @@ implements ASTNode2 {
    */
   @Override
   public void setId(String id) {
+    checkNotFrozen();
     String oldValue = this.id;
     this.id = id;
     firePropertyChange(TreeNodeChangeEvent.id, oldValue, id);
@@ -366,6 +367,7 @@ implements ASTNode2 {
    */
   @Override
   public void setMathMLClass(String mathMLClass) {
+    checkNotFrozen();
     String old = this.mathMLClass;
     this.mathMLClass = mathMLClass;
     firePropertyChange(TreeNodeChangeEvent.mathMLClass, old, this.mathMLClass);
@@ -376,6 +378,7 @@ implements ASTNode2 {
    */
   @Override
   public void setParent(TreeNode parent) {
+    checkNotFrozen();
     TreeNode oldValue = this.parent;
     this.parent = parent;
     if (parent instanceof TreeNodeWithChangeSupport) {
@@ -389,6 +392,7 @@ implements ASTNode2 {
    */
   @Override
   public void setParentSBMLObject(MathContainer container) {
+    checkNotFrozen();
     MathContainer oldParentSBMLObject = parentSBMLObject;
     parentSBMLObject = container;
     firePropertyChange(TreeNodeChangeEvent.parentSBMLObject, oldParentSBMLObject, parentSBMLObject);
@@ -409,6 +413,7 @@ implements ASTNode2 {
    */
   @Override
   public void setStyle(String style) {
+    checkNotFrozen();
     String oldValue = this.style;
     this.style = style;
     firePropertyChange(TreeNodeChangeEvent.style, oldValue, style);
@@ -428,6 +433,7 @@ implements ASTNode2 {
    */
   @Override
   public void setType(Type type) {
+    checkNotFrozen();
     if (type != null && !isAllowableType(type)) {
       throw new IllegalArgumentException(MessageFormat.format("Class {0} cannot be used in conjunction with type {1}.", getClass().getSimpleName(), type));
     }
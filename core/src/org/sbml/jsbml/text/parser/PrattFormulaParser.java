@@ -0,0 +1,1258 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.text.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.text.parser.FormulaParserLL3.LOG_BEHAVIOR;
+
+/**
+ * A hand-written parser for the infix syntax of {@link FormulaParserLL3}.
+ * <p>
+ * This parser accepts exactly the same grammar, with the same operator
+ * precedence and associativity, and creates the same {@link ASTNode}s as
+ * {@link FormulaParserLL3}. Syntax errors are reported as
+ * {@link ParseException}s and unknown characters as {@link TokenMgrError}s
+ * with the same kind of messages, although the list of expected tokens can
+ * differ. Instead of the JavaCC {@link SimpleCharStream} and {@link Token}
+ * objects, it scans a plain character array and parses binary operators by
+ * precedence climbing, which makes it considerably faster, see
+ * {@code org.sbml.jsbml.test.FormulaParsingPerformanceTest}.
+ * <p>
+ * Unlike in {@link FormulaParserLL3}, the behavior regarding the 'log'
+ * operator with one argument is a property of each instance.
+ *
+ * @see FormulaParserLL3
+ * @since 1.7
+ */
+public class PrattFormulaParser implements IFormulaParser, FormulaParserLL3Constants {
+
+  /**
+   * The tokens that can start an operand.
+   */
+  private static final int[] OPERAND = {INTEGER, NUMBER, EXPNUMBER, OPEN_PAR, LEFT_BRACES, LOG, STRING};
+
+  /**
+   * The tokens that can start an operand, including unary operators.
+   */
+  private static final int[] UNARY_OPERAND = {INTEGER, NUMBER, EXPNUMBER, PLUS, MINUS, OPEN_PAR, LEFT_BRACES, NOT, LOG, STRING};
+
+  /**
+   * The binary operators.
+   */
+  private static final int[] BINARY = {PLUS, POWER, MINUS, TIMES, DIVIDE, MODULO, COMPARISON, BOOLEAN_LOGIC};
+
+  /**
+   * The size of a tabulator for the column numbers in error messages, as in
+   * {@link SimpleCharStream}.
+   */
+  private static final int TAB_SIZE = 8;
+
+  /**
+   * The size of the token look-ahead buffer, must be a power of two.
+   */
+  private static final int LOOK_AHEAD = 4;
+
+  /**
+   * The {@link ASTNode} types of the function names, see
+   * {@link FormulaParserLL3#stringToType}.
+   */
+  private static final Map<String, Type> functionTypes = new HashMap<String, Type>();
+
+  static {
+    for (String name : FormulaParserLL3.stringToType.stringPropertyNames()) {
+      functionTypes.put(name, Type.valueOf(FormulaParserLL3.stringToType.getProperty(name).toUpperCase()));
+    }
+  }
+
+  /**
+   * The characters of the formula.
+   */
+  private char[] buffer = new char[256];
+
+  /**
+   * The number of characters in the {@link #buffer}.
+   */
+  private int length;
+
+  /**
+   * The position of the next character to scan.
+   */
+  private int position;
+
+  /**
+   * The source of the next formula, {@code null} once it has been read.
+   */
+  private Reader input;
+
+  /**
+   * The kinds of the scanned tokens, see {@link FormulaParserLL3Constants}.
+   */
+  private final int[] kinds = new int[LOOK_AHEAD];
+
+  /**
+   * The start positions of the scanned tokens.
+   */
+  private final int[] starts = new int[LOOK_AHEAD];
+
+  /**
+   * The end positions (exclusive) of the scanned tokens.
+   */
+  private final int[] ends = new int[LOOK_AHEAD];
+
+  /**
+   * The index of the current token in the look-ahead buffer.
+   */
+  private int head;
+
+  /**
+   * The number of scanned tokens that have not been consumed.
+   */
+  private int count;
+
+  /**
+   * indicates if we will ignore case or not when trying to find mathml operators.
+   */
+  private boolean ignoreCase = false;
+
+  /**
+   * the SBML level for which we build the ASTNode.
+   */
+  private int sbmlLevel = -1;
+
+  /**
+   * the SBML version for which we build the ASTNode.
+   */
+  private int sbmlVersion = -1;
+
+  /**
+   * indicates how to parse the 'log' operator when it has one argument.
+   */
+  private LOG_BEHAVIOR logBehavior = LOG_BEHAVIOR.LOG_IS_LN;
+
+  /**
+   * Creates a parser without input, call one of the {@code ReInit} methods
+   * before parsing.
+   */
+  public PrattFormulaParser() {
+    super();
+  }
+
+  /**
+   * @param stream
+   */
+  public PrattFormulaParser(Reader stream) {
+    this();
+    ReInit(stream);
+  }
+
+  /**
+   * Returns the case sensitivity of the parser, for the mathml elements.
+   *
+   * @return {@code true} if the case is ignored.
+   * @see FormulaParserLL3#getCaseSensitive()
+   */
+  public boolean getCaseSensitive() {
+    return ignoreCase;
+  }
+
+  /**
+   * Sets the case sensitivity of the parser, for the mathml elements.
+   *
+   * @param caseSensitive boolean to define if the parser should be case sensitive or not.
+   * @see FormulaParserLL3#setCaseSensitive(boolean)
+   */
+  public void setCaseSensitive(boolean caseSensitive) {
+    ignoreCase = !caseSensitive;
+  }
+
+  /**
+   * Returns the parser behavior when encountering the 'log' operator with one argument.
+   *
+   * @return the parser behavior when encountering the 'log' operator with one argument.
+   */
+  public LOG_BEHAVIOR getLogBehavior() {
+    return logBehavior;
+  }
+
+  /**
+   * Sets the parser behavior when encountering the 'log' operator with one argument.
+   *
+   * @param newLogBehavior {@link LOG_BEHAVIOR} value to define what the parser should do when encountering the 'log' operator.
+   */
+  public void setLogBehavior(LOG_BEHAVIOR newLogBehavior) {
+    logBehavior = newLogBehavior;
+  }
+
+  /**
+   * Returns the SBML Level.
+   *
+   * <p>Returns -1 if it is not set.</p>
+   *
+   * @return the SBML Level.
+   */
+  public int getLevel() {
+    return sbmlLevel;
+  }
+
+  /**
+   * Sets the SBML Level, which determines how the modulo operator is
+   * represented.
+   *
+   * @param level the SBML Level.
+   */
+  public void setLevel(int level) {
+    sbmlLevel = level;
+  }
+
+  /**
+   * Returns the SBML Version.
+   *
+   * <p>Returns -1 if it is not set.</p>
+   *
+   * @return the SBML Version.
+   */
+  public int getVersion() {
+    return sbmlVersion;
+  }
+
+  /**
+   * Sets the SBML Version.
+   *
+   * @param version the SBML Version.
+   */
+  public void setVersion(int version) {
+    sbmlVersion = version;
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.text.parser.IFormulaParser#ReInit(java.io.Reader)
+   */
+  @Override
+  public void ReInit(Reader stream) {
+    input = stream;
+    length = 0;
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.text.parser.IFormulaParser#ReInit(java.io.InputStream, java.lang.String)
+   */
+  @Override
+  public void ReInit(InputStream stream, String encoding) {
+    try {
+      ReInit(encoding == null ? new InputStreamReader(stream) : new InputStreamReader(stream, encoding));
+    } catch (UnsupportedEncodingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.text.parser.IFormulaParser#ReInit(java.io.InputStream)
+   */
+  @Override
+  public void ReInit(InputStream stream) {
+    ReInit(stream, null);
+  }
+
+  /* (non-Javadoc)
+   * @see org.sbml.jsbml.text.parser.IFormulaParser#parse()
+   */
+  @Override
+  public ASTNode parse() throws ParseException {
+    if (input != null) {
+      read();
+    }
+    position = 0;
+    head = 0;
+    count = 0;
+
+    ASTNode value = binary(2);
+    int kind = kind(0);
+    if ((kind != EOF) && (kind != EOL)) {
+      throw expected(EOF, EOL);
+    }
+    consume();
+    return value;
+  }
+
+  /**
+   * Reads the whole input into the {@link #buffer}. Like
+   * {@link SimpleCharStream}, this treats an {@link IOException} as the end
+   * of the input.
+   */
+  private void read() {
+    Reader reader = input;
+    input = null;
+    length = 0;
+    try {
+      int n;
+      while ((n = reader.read(buffer, length, buffer.length - length)) >= 0) {
+        length += n;
+        if (length == buffer.length) {
+          char[] larger = new char[2 * buffer.length];
+          System.arraycopy(buffer, 0, larger, 0, length);
+          buffer = larger;
+        }
+      }
+    } catch (IOException e) {
+      // end of input
+    }
+  }
+
+  /**
+   * Parses the binary operators of the given and all higher precedence
+   * levels, which are all left-associative: 2 for boolean logic, 3 for
+   * comparisons, 4 for addition and subtraction and 5 for multiplication,
+   * division and modulo.
+   *
+   * @param minLevel
+   * @return the parsed expression.
+   * @throws ParseException
+   */
+  private ASTNode binary(int minLevel) throws ParseException {
+    ASTNode leftChild = unary();
+    while (true) {
+      int kind = kind(0);
+      int level = level(kind);
+      if (level < minLevel) {
+        return leftChild;
+      }
+      int start = starts[head];
+      int end = ends[head];
+      consume();
+      ASTNode rightChild = binary(level + 1);
+      leftChild = combine(kind, start, end, leftChild, rightChild);
+    }
+  }
+
+  /**
+   * @param kind
+   * @return the precedence level of the given binary operator or
+   *         {@code 0} if the token is not a binary operator of level 2 to 5.
+   */
+  private static int level(int kind) {
+    switch (kind) {
+    case BOOLEAN_LOGIC:
+      return 2;
+    case COMPARISON:
+      return 3;
+    case PLUS:
+    case MINUS:
+      return 4;
+    case TIMES:
+    case DIVIDE:
+    case MODULO:
+      return 5;
+    default:
+      return 0;
+    }
+  }
+
+  /**
+   * Creates the node of a binary operator.
+   *
+   * @param kind
+   * @param start
+   *        the start of the operator in the {@link #buffer}.
+   * @param end
+   *        the end of the operator in the {@link #buffer}.
+   * @param leftChild
+   * @param rightChild
+   * @return the new node.
+   */
+  private ASTNode combine(int kind, int start, int end, ASTNode leftChild, ASTNode rightChild) {
+    ASTNode node;
+    switch (kind) {
+    case BOOLEAN_LOGIC: {
+      char c = buffer[start];
+      Type type;
+      if ((c == '|') || (c == 'O')) {
+        type = Type.LOGICAL_OR;
+      } else if ((c == '&') || (c == 'A')) {
+        type = Type.LOGICAL_AND;
+      } else {
+        type = Type.LOGICAL_XOR;
+      }
+      node = new ASTNode(type);
+      break;
+    }
+    case COMPARISON: {
+      char c = buffer[start];
+      boolean orEqual = end - start == 2;
+      Type type;
+      if (c == '<') {
+        type = orEqual ? Type.RELATIONAL_LEQ : Type.RELATIONAL_LT;
+      } else if (c == '>') {
+        type = orEqual ? Type.RELATIONAL_GEQ : Type.RELATIONAL_GT;
+      } else if (c == '=') {
+        type = Type.RELATIONAL_EQ;
+      } else {
+        type = Type.RELATIONAL_NEQ;
+      }
+      node = new ASTNode(type);
+      break;
+    }
+    case PLUS:
+      node = new ASTNode('+');
+      break;
+    case MINUS:
+      node = new ASTNode('-');
+      break;
+    case TIMES:
+      node = new ASTNode('*');
+      break;
+    case DIVIDE: {
+      Integer left = getInteger(leftChild);
+      Integer right = getInteger(rightChild);
+      if ((left != null) && (right != null)) {
+        // Node transformed into a ASTNode.Type.RATIONAL number if both left and right are integer
+        node = new ASTNode();
+        node.setValue(left, right);
+        return node;
+      }
+      node = new ASTNode('/');
+      break;
+    }
+    default:
+      return createModulo(leftChild, rightChild);
+    }
+    node.addChild(leftChild);
+    node.addChild(rightChild);
+    return node;
+  }
+
+  /**
+   * Parses an operand with an optional unary minus, plus or not.
+   *
+   * @return the parsed expression.
+   * @throws ParseException
+   */
+  private ASTNode unary() throws ParseException {
+    switch (kind(0)) {
+    case MINUS: {
+      consume();
+      ASTNode uiMinus = new ASTNode('-');
+      uiMinus.addChild(power());
+      return uiMinus;
+    }
+    case PLUS:
+      consume();
+      return power();
+    case NOT: {
+      consume();
+      ASTNode not = new ASTNode(Type.LOGICAL_NOT);
+      not.addChild(power());
+      return not;
+    }
+    default:
+      return power();
+    }
+  }
+
+  /**
+   * Parses a left-associative chain of powers.
+   *
+   * @return the parsed expression.
+   * @throws ParseException
+   */
+  private ASTNode power() throws ParseException {
+    ASTNode leftChild = operand();
+    while (kind(0) == POWER) {
+      consume();
+      ASTNode rightChild = operand();
+      ASTNode node = new ASTNode(Type.POWER);
+      node.addChild(leftChild);
+      node.addChild(rightChild);
+      leftChild = node;
+    }
+    return leftChild;
+  }
+
+  /**
+   * Parses a number, function call, parenthesized expression, vector,
+   * selector, constant or name.
+   *
+   * @return the parsed expression.
+   * @throws ParseException
+   */
+  private ASTNode operand() throws ParseException {
+    int kind = kind(0);
+    switch (kind) {
+    case INTEGER:
+      return integer();
+    case NUMBER: {
+      ASTNode node = new ASTNode();
+      node.setValue(Double.parseDouble(image(0)));
+      consume();
+      return node;
+    }
+    case EXPNUMBER: {
+      String[] vals = image(0).toLowerCase().split("e");
+      int i;
+      if (vals[1].startsWith("+")) {
+        i = Integer.parseInt(vals[1].substring(1));
+      } else {
+        i = Integer.parseInt(vals[1]);
+      }
+      ASTNode node = new ASTNode();
+      node.setValue(Double.parseDouble(vals[0]), i);
+      consume();
+      return node;
+    }
+    case OPEN_PAR: {
+      consume();
+      ASTNode node = binary(2);
+      expect(CLOSE_PAR);
+      return node;
+    }
+    case LEFT_BRACES:
+      return vector();
+    case LOG:
+    case STRING:
+      if (kind(1) == OPEN_PAR) {
+        return function();
+      }
+      if ((kind == STRING) && (kind(1) == LEFT_BRACKET) && isSelector()) {
+        ASTNode selector = new ASTNode();
+        selector.setType(Type.FUNCTION_SELECTOR);
+        selector.addChild(new ASTNode(image(0)));
+        consume();
+        do {
+          consume();
+          selector.addChild(binary(2));
+          expect(RIGHT_BRACKET);
+        } while (kind(0) == LEFT_BRACKET);
+        return selector;
+      }
+      if (kind == STRING) {
+        return name();
+      }
+      throw expected(OPERAND);
+    default:
+      throw expected(UNARY_OPERAND);
+    }
+  }
+
+  /**
+   * Decides on a name followed by {@code [} as the look-ahead of four tokens
+   * of {@link FormulaParserLL3} does, so that syntax errors are reported at
+   * the same token.
+   *
+   * @return {@code true} if the third and fourth token can start the
+   *         index of a selector.
+   */
+  private boolean isSelector() {
+    int third = kind(2);
+    if (!startsOperand(third)) {
+      return false;
+    }
+    int fourth = kind(3);
+    switch (third) {
+    case INTEGER:
+    case NUMBER:
+    case EXPNUMBER:
+      return (fourth == RIGHT_BRACKET) || contains(BINARY, fourth);
+    case STRING:
+      return (fourth == RIGHT_BRACKET) || (fourth == OPEN_PAR) || (fourth == LEFT_BRACKET) || contains(BINARY, fourth);
+    case LOG:
+      return fourth == OPEN_PAR;
+    case OPEN_PAR:
+      return startsOperand(fourth);
+    case LEFT_BRACES:
+      return (fourth == RIGHT_BRACES) || startsOperand(fourth);
+    default:
+      // unary operators
+      return contains(OPERAND, fourth);
+    }
+  }
+
+  /**
+   * @param kinds
+   * @param kind
+   * @return {@code true} if the array contains the given kind.
+   */
+  private static boolean contains(int[] kinds, int kind) {
+    for (int k : kinds) {
+      if (k == kind) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param kind
+   * @return {@code true} if the token can start an expression.
+   */
+  private static boolean startsOperand(int kind) {
+    return contains(UNARY_OPERAND, kind);
+  }
+
+  /**
+   * Parses an integer, which becomes a real number if it is too big.
+   *
+   * @return the parsed number.
+   */
+  private ASTNode integer() {
+    ASTNode node = new ASTNode();
+    int start = starts[head];
+    int end = ends[head];
+    if (end - start < 10) {
+      int value = 0;
+      for (int i = start; i < end; i++) {
+        value = 10 * value + (buffer[i] - '0');
+      }
+      node.setValue(value);
+    } else {
+      String s = image(0);
+      try {
+        node.setValue(Integer.parseInt(s));
+      } catch (NumberFormatException e) {
+        // it could happen that the number is too big to be stored in an Integer
+        node.setValue(Double.parseDouble(s));
+      }
+    }
+    consume();
+    return node;
+  }
+
+  /**
+   * Parses a function call {@code f(a, b, ...)}.
+   *
+   * @return the parsed function call.
+   * @throws ParseException
+   */
+  private ASTNode function() throws ParseException {
+    String s = image(0);
+    consume();
+    consume();
+    ASTNode child = binary(2);
+    List<ASTNode> arguments = null;
+    while (kind(0) == SPLITTER) {
+      consume();
+      if (arguments == null) {
+        arguments = new ArrayList<ASTNode>();
+      }
+      arguments.add(binary(2));
+    }
+    if (kind(0) != CLOSE_PAR) {
+      throw expected(SPLITTER, CLOSE_PAR);
+    }
+    consume();
+
+    ASTNode node = new ASTNode();
+    Type type = null;
+    if (ignoreCase) {
+      s = s.toLowerCase();
+    }
+    Type functionType = functionTypes.get(s);
+    if (functionType != null) {
+      type = functionType;
+      node.setType(type);
+      node.addChild(child);
+    } else if (s.equals("modulo") || s.equals("mod")) {
+      if ((arguments == null) || (arguments.size() > 1)) {
+        throw new ParseException();
+      }
+      return createModulo(child, arguments.get(0));
+    } else if (s.equals("piecewise")) {
+      type = Type.FUNCTION_PIECEWISE;
+      node.setType(Type.FUNCTION_PIECEWISE);
+      node.addChild(child);
+    } else {
+      node.setType(Type.FUNCTION);
+      node.addChild(child);
+    }
+    if (type == null) {
+      node.setName(s);
+    }
+    if (arguments != null) {
+      for (ASTNode argument : arguments) {
+        node.addChild(argument);
+      }
+    }
+
+    // add a special case for FUNTION_LN => transform it into FUNCTION_LOG if it has 2 arguments
+    if (node.getType().equals(Type.FUNCTION_LN) && (node.getChildCount() > 1)) {
+      node.setType(Type.FUNCTION_LOG);
+    } else if (s.equals("log")) {
+      // special case for 'log' with one argument
+      if (logBehavior == LOG_BEHAVIOR.LOG_IS_LOG10) {
+        node.setType(Type.FUNCTION_LOG);
+      } else if (logBehavior == LOG_BEHAVIOR.LOG_IS_LOG2) {
+        node.setType(Type.FUNCTION_LOG);
+        node.insertChild(0, new ASTNode(2));
+      } else if (logBehavior == LOG_BEHAVIOR.LOG_IS_NOT_ALLOWED) {
+        throw new ParseException("The 'log(x)' operator is not allowed, please use 'ln(x)', 'log10(x)' or log(base, x).");
+      }
+    }
+    return node;
+  }
+
+  /**
+   * Parses a vector {@code {a, b, ...}} with optional selectors or an empty
+   * vector {@code {}}.
+   *
+   * @return the parsed vector or selector.
+   * @throws ParseException
+   */
+  private ASTNode vector() throws ParseException {
+    if (kind(1) == RIGHT_BRACES) {
+      consume();
+      consume();
+      ASTNode vector = new ASTNode();
+      vector.setType(Type.VECTOR);
+      return vector;
+    }
+    if (!startsOperand(kind(1))) {
+      consume();
+      throw expected(RIGHT_BRACES);
+    }
+    consume();
+    ASTNode node = binary(2);
+    ASTNode selector = new ASTNode();
+    ASTNode vector = new ASTNode();
+    boolean isSelector = false;
+    selector.setType(Type.FUNCTION_SELECTOR);
+    vector.setType(Type.VECTOR);
+    vector.addChild(node);
+    while (kind(0) == SPLITTER) {
+      consume();
+      vector.addChild(binary(2));
+    }
+    if (kind(0) != RIGHT_BRACES) {
+      throw expected(SPLITTER, RIGHT_BRACES);
+    }
+    consume();
+    selector.addChild(vector);
+    while (kind(0) == LEFT_BRACKET) {
+      consume();
+      isSelector = true;
+      selector.addChild(binary(2));
+      expect(RIGHT_BRACKET);
+    }
+    return isSelector ? selector : vector;
+  }
+
+  /**
+   * Parses a name, which can also denote a constant.
+   *
+   * @return the parsed name or constant.
+   */
+  private ASTNode name() {
+    String s = image(0);
+    consume();
+    if (ignoreCase) {
+      s = s.toLowerCase();
+    }
+    if (compareString(s, "true")) {
+      return new ASTNode(Type.CONSTANT_TRUE);
+    } else if (compareString(s, "false")) {
+      return new ASTNode(Type.CONSTANT_FALSE);
+    } else if (compareString(s, "pi")) {
+      return new ASTNode(Type.CONSTANT_PI);
+    } else if (compareString(s, "avogadro")) {
+      return new ASTNode(Type.NAME_AVOGADRO);
+    } else if (compareString(s, "time")) {
+      return new ASTNode(Type.NAME_TIME);
+    } else if (compareString(s, "exponentiale")) {
+      return new ASTNode(Type.CONSTANT_E);
+    } else if (compareString(s, "infinity") || compareString(s, "inf")) {
+      return new ASTNode(Double.POSITIVE_INFINITY);
+    } else if (compareString(s, "notanumber") || compareString(s, "nan")) {
+      return new ASTNode(Double.NaN);
+    }
+    return new ASTNode(s);
+  }
+
+  /**
+   * @param str1
+   * @param str2
+   * @return {@code true} if the strings are equal, respecting the case
+   *         sensitivity of this parser.
+   */
+  private boolean compareString(String str1, String str2) {
+    return ignoreCase ? str1.equalsIgnoreCase(str2) : str1.equals(str2);
+  }
+
+  /**
+   * @param node
+   * @return the value of an integer or negated integer, {@code null}
+   *         otherwise.
+   */
+  private static Integer getInteger(ASTNode node) {
+    if (node.isUMinus()) {
+      return node.getChild(0).isInteger() ? -node.getChild(0).getInteger() : null;
+    }
+    return node.isInteger() ? Integer.valueOf(node.getInteger()) : null;
+  }
+
+  /**
+   * Returns the node representing the modulo operation between the left and
+   * right child given, in the same way as {@link FormulaParserLL3}.
+   *
+   * @param leftChild
+   * @param rightChild
+   * @return the node representing the modulo operation.
+   */
+  private ASTNode createModulo(ASTNode leftChild, ASTNode rightChild) {
+    if ((getLevel() >= 3) && (getVersion() >= 2)) {
+      // In this case, use the new 'rem' math operator
+      ASTNode moduloNode = new ASTNode(Type.FUNCTION_REM);
+      moduloNode.addChild(leftChild);
+      moduloNode.addChild(rightChild);
+      return moduloNode;
+    }
+
+    // piecewise(a - b * ceil(a/b), xor((a < 0), (b < 0)), a - b * floor(a/b))
+    ASTNode piecewiseNode = new ASTNode(Type.FUNCTION_PIECEWISE);
+
+    ASTNode aDividedByB = new ASTNode(Type.DIVIDE);
+    aDividedByB.addChild(leftChild);
+    aDividedByB.addChild(rightChild);
+
+    ASTNode ceilNode = new ASTNode(Type.FUNCTION_CEILING);
+    ceilNode.addChild(aDividedByB);
+    ASTNode rightTimesCeil = new ASTNode(Type.TIMES);
+    rightTimesCeil.addChild(rightChild);
+    rightTimesCeil.addChild(ceilNode);
+
+    ASTNode minusNode1 = new ASTNode(Type.MINUS);
+    minusNode1.addChild(leftChild);
+    minusNode1.addChild(rightTimesCeil);
+    piecewiseNode.addChild(minusNode1);
+
+    ASTNode lowerThanZeroLeft = new ASTNode(Type.RELATIONAL_LT);
+    lowerThanZeroLeft.addChild(leftChild);
+    lowerThanZeroLeft.addChild(new ASTNode(0));
+
+    ASTNode lowerThanZeroRight = new ASTNode(Type.RELATIONAL_LT);
+    lowerThanZeroRight.addChild(rightChild);
+    lowerThanZeroRight.addChild(new ASTNode(0));
+
+    ASTNode xorNode = new ASTNode(Type.LOGICAL_XOR);
+    xorNode.addChild(lowerThanZeroLeft);
+    xorNode.addChild(lowerThanZeroRight);
+    piecewiseNode.addChild(xorNode);
+
+    ASTNode floorNode = new ASTNode(Type.FUNCTION_FLOOR);
+    floorNode.addChild(aDividedByB.clone());
+
+    ASTNode rightTimesFloor = new ASTNode(Type.TIMES);
+    rightTimesFloor.addChild(rightChild);
+    rightTimesFloor.addChild(floorNode);
+
+    ASTNode minusNode2 = new ASTNode(Type.MINUS);
+    minusNode2.addChild(leftChild);
+    minusNode2.addChild(rightTimesFloor);
+    piecewiseNode.addChild(minusNode2);
+
+    return piecewiseNode;
+  }
+
+  /**
+   * Consumes a token of the given kind.
+   *
+   * @param kind
+   * @throws ParseException
+   *         if the current token has another kind.
+   */
+  private void expect(int kind) throws ParseException {
+    if (kind(0) != kind) {
+      throw expected(kind);
+    }
+    consume();
+  }
+
+  /**
+   * Consumes the current token.
+   */
+  private void consume() {
+    kind(0);
+    head = (head + 1) & (LOOK_AHEAD - 1);
+    count--;
+  }
+
+  /**
+   * @param i
+   *        the number of tokens to look ahead, smaller than
+   *        {@link #LOOK_AHEAD}.
+   * @return the kind of the token at the given distance from the current
+   *         token.
+   */
+  private int kind(int i) {
+    while (count <= i) {
+      scan((head + count) & (LOOK_AHEAD - 1));
+      count++;
+    }
+    return kinds[(head + i) & (LOOK_AHEAD - 1)];
+  }
+
+  /**
+   * @param i
+   * @return the text of the token at the given distance from the current
+   *         token.
+   */
+  private String image(int i) {
+    kind(i);
+    int slot = (head + i) & (LOOK_AHEAD - 1);
+    return new String(buffer, starts[slot], ends[slot] - starts[slot]);
+  }
+
+  /**
+   * Scans the next token into the given slot of the look-ahead buffer.
+   * Spaces and tabulators are skipped, the longest matching token is chosen
+   * and keywords take precedence over names of the same length, as in
+   * {@link FormulaParserLL3TokenManager}.
+   *
+   * @param slot
+   */
+  private void scan(int slot) {
+    char[] buf = buffer;
+    int n = length;
+    int p = position;
+    while ((p < n) && ((buf[p] == ' ') || (buf[p] == '\t'))) {
+      p++;
+    }
+    int start = p;
+    int kind;
+    int end;
+    if (p >= n) {
+      kind = EOF;
+    } else {
+      char c = buf[p++];
+      switch (c) {
+      case '0': case '1': case '2': case '3': case '4':
+      case '5': case '6': case '7': case '8': case '9':
+        while ((p < n) && isDigit(buf[p])) {
+          p++;
+        }
+        kind = INTEGER;
+        if ((p + 1 < n) && (buf[p] == '.') && isDigit(buf[p + 1])) {
+          p += 2;
+          while ((p < n) && isDigit(buf[p])) {
+            p++;
+          }
+          kind = NUMBER;
+        }
+        end = exponent(p);
+        if (end > p) {
+          p = end;
+          kind = EXPNUMBER;
+        }
+        break;
+      case '.':
+        if ((p >= n) || !isDigit(buf[p])) {
+          throw lexicalError(start, p);
+        }
+        while ((p < n) && isDigit(buf[p])) {
+          p++;
+        }
+        kind = NUMBER;
+        end = exponent(p);
+        if (end > p) {
+          p = end;
+          kind = EXPNUMBER;
+        }
+        break;
+      case ',':
+        kind = SPLITTER;
+        break;
+      case '+':
+        kind = PLUS;
+        break;
+      case '^':
+        kind = POWER;
+        break;
+      case '-':
+        kind = MINUS;
+        break;
+      case '*':
+        kind = TIMES;
+        break;
+      case '/':
+        kind = DIVIDE;
+        break;
+      case '%':
+        kind = MODULO;
+        break;
+      case '(':
+        kind = OPEN_PAR;
+        break;
+      case ')':
+        kind = CLOSE_PAR;
+        break;
+      case '{':
+        kind = LEFT_BRACES;
+        break;
+      case '}':
+        kind = RIGHT_BRACES;
+        break;
+      case '[':
+        kind = LEFT_BRACKET;
+        break;
+      case ']':
+        kind = RIGHT_BRACKET;
+        break;
+      case '<':
+      case '>':
+        if ((p < n) && (buf[p] == '=')) {
+          p++;
+        }
+        kind = COMPARISON;
+        break;
+      case '!':
+        if ((p < n) && (buf[p] == '=')) {
+          p++;
+          kind = COMPARISON;
+        } else {
+          kind = NOT;
+        }
+        break;
+      case '=':
+      case '&':
+      case '|':
+        if ((p >= n) || (buf[p] != c)) {
+          throw lexicalError(start, p);
+        }
+        p++;
+        kind = c == '=' ? COMPARISON : BOOLEAN_LOGIC;
+        break;
+      case '\n':
+      case '\r':
+        kind = EOL;
+        break;
+      default:
+        if (!isLetter(c) && (c != '_')) {
+          throw lexicalError(start, start);
+        }
+        while ((p < n) && (isLetter(buf[p]) || isDigit(buf[p]) || (buf[p] == '_'))) {
+          p++;
+        }
+        kind = keyword(start, p - start);
+        break;
+      }
+    }
+    kinds[slot] = kind;
+    starts[slot] = start;
+    ends[slot] = p;
+    position = p;
+  }
+
+  /**
+   * @param p
+   *        the position after a number.
+   * @return the position after the exponent that follows the number or
+   *         {@code p} if there is none.
+   */
+  private int exponent(int p) {
+    char[] buf = buffer;
+    int n = length;
+    if ((p < n) && ((buf[p] == 'e') || (buf[p] == 'E'))) {
+      int q = p + 1;
+      if ((q < n) && ((buf[q] == '+') || (buf[q] == '-'))) {
+        q++;
+      }
+      if ((q < n) && isDigit(buf[q])) {
+        while ((q < n) && isDigit(buf[q])) {
+          q++;
+        }
+        return q;
+      }
+    }
+    return p;
+  }
+
+  /**
+   * @param start
+   * @param len
+   * @return the kind of the word at the given position.
+   */
+  private int keyword(int start, int len) {
+    switch (len) {
+    case 2:
+      return matches(start, "Or") || matches(start, "OR") ? BOOLEAN_LOGIC : STRING;
+    case 3:
+      if (matches(start, "log")) {
+        return LOG;
+      }
+      if (matches(start, "And") || matches(start, "AND") || matches(start, "Xor") || matches(start, "XOR")) {
+        return BOOLEAN_LOGIC;
+      }
+      return matches(start, "Not") || matches(start, "NOT") ? NOT : STRING;
+    default:
+      return STRING;
+    }
+  }
+
+  /**
+   * @param start
+   * @param word
+   * @return {@code true} if the {@link #buffer} contains the given word at
+   *         the given position.
+   */
+  private boolean matches(int start, String word) {
+    for (int i = 0; i < word.length(); i++) {
+      if (buffer[start + i] != word.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param c
+   * @return {@code true} for the characters 0 to 9.
+   */
+  private static boolean isDigit(char c) {
+    return (c >= '0') && (c <= '9');
+  }
+
+  /**
+   * @param c
+   * @return {@code true} for the ASCII letters.
+   */
+  private static boolean isLetter(char c) {
+    return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z'));
+  }
+
+  /**
+   * Computes the line and column of a position as {@link SimpleCharStream}
+   * does.
+   *
+   * @param offset
+   * @return the line and the column, starting at 1.
+   */
+  private int[] lineAndColumn(int offset) {
+    if (offset < 0) {
+      // empty input
+      return new int[] {0, 0};
+    }
+    int line = 1;
+    int column = 0;
+    boolean prevCharIsCR = false;
+    boolean prevCharIsLF = false;
+    for (int i = 0; (i <= offset) && (i < length); i++) {
+      char c = buffer[i];
+      column++;
+      if (prevCharIsLF) {
+        prevCharIsLF = false;
+        line += (column = 1);
+      } else if (prevCharIsCR) {
+        prevCharIsCR = false;
+        if (c == '\n') {
+          prevCharIsLF = true;
+        } else {
+          line += (column = 1);
+        }
+      }
+      switch (c) {
+      case '\r':
+        prevCharIsCR = true;
+        break;
+      case '\n':
+        prevCharIsLF = true;
+        break;
+      case '\t':
+        column--;
+        column += (TAB_SIZE - (column % TAB_SIZE));
+        break;
+      default:
+        break;
+      }
+    }
+    return new int[] {line, column};
+  }
+
+  /**
+   * Creates the error for a character that cannot start or continue a
+   * token, with the same location and message as
+   * {@link FormulaParserLL3TokenManager}.
+   *
+   * @param start
+   *        the start of the token.
+   * @param p
+   *        the position of the character that does not match, which is the
+   *        length of the input if the input ends within a token.
+   * @return the error for an unknown character.
+   */
+  private TokenMgrError lexicalError(int start, int p) {
+    int offset = Math.min(p, length - 1);
+    int[] location = lineAndColumn(offset);
+    char curChar = buffer[offset];
+    boolean eofSeen = offset + 1 >= length;
+    String errorAfter = "";
+    if ((p > start) && (p < length)) {
+      errorAfter = new String(buffer, start, eofSeen ? p + 1 - start : p - start);
+    }
+    if (eofSeen) {
+      if ((curChar == '\n') || (curChar == '\r')) {
+        location[0]++;
+        location[1] = 0;
+      } else {
+        location[1]++;
+      }
+    }
+    return new TokenMgrError(eofSeen, 0, location[0], location[1], errorAfter, curChar, TokenMgrError.LEXICAL_ERROR);
+  }
+
+  /**
+   * @param expectedKinds
+   * @return a {@link ParseException} for the current token, which reports
+   *         the given tokens and the binary operators as expected.
+   */
+  private ParseException expected(int... expectedKinds) {
+    int kind = kind(0);
+    Token current = new Token();
+    Token next = new Token(kind, kind == EOF ? "" : image(0));
+    // the end of the input is located at the last character
+    int[] begin = lineAndColumn(kind == EOF ? length - 1 : starts[head]);
+    next.beginLine = begin[0];
+    next.beginColumn = begin[1];
+    int[] end = lineAndColumn(Math.max(ends[head] - 1, 0));
+    next.endLine = end[0];
+    next.endColumn = end[1];
+    current.next = next;
+
+    boolean afterOperand = expectedKinds != OPERAND && expectedKinds != UNARY_OPERAND;
+    int[][] sequences = new int[expectedKinds.length + (afterOperand ? BINARY.length : 0)][];
+    int i = 0;
+    if (afterOperand) {
+      for (int k : BINARY) {
+        sequences[i++] = new int[] {k};
+      }
+    }
+    for (int k : expectedKinds) {
+      sequences[i++] = new int[] {k};
+    }
+    return new ParseException(current, sequences, tokenImage);
+  }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.text.parser;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.sbml.jsbml.ASTNode;
+
+/**
+ * Parses many formulas with one {@link IFormulaParser} instance.
+ * <p>
+ * Creating a JavaCC generated parser allocates its character buffer, token
+ * manager and look-ahead tables. This class creates the parser once and only
+ * calls {@link IFormulaParser#ReInit(Reader)} for each formula, with a single
+ * {@link Reader} that is reset to read directly from the given
+ * {@link CharSequence}, so that parsing a formula does not allocate anything
+ * but the resulting {@link ASTNode}s and tokens.
+ * <p>
+ * Instances are not thread-safe. Use {@link #get()} to obtain the instance of
+ * the current thread that uses a {@link FormulaParserLL3} with its default
+ * settings, which is also used by {@link ASTNode#parseFormula(String)}, or
+ * create an instance per thread around a parser with other settings.
+ *
+ * @since 1.7
+ */
+public class ReusableFormulaParser {
+
+  /**
+   * A {@link Reader} over a {@link CharSequence} that can be reset to
+   * another one.
+   */
+  private static final class CharSequenceReader extends Reader {
+
+    /**
+     * The characters to read, {@code null} when closed.
+     */
+    private CharSequence chars;
+
+    /**
+     * The position of the next character to read.
+     */
+    private int position;
+
+    /* (non-Javadoc)
+     * @see java.io.Reader#close()
+     */
+    @Override
+    public void close() {
+      chars = null;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Reader#read(char[], int, int)
+     */
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+      if ((chars == null) || (position >= chars.length())) {
+        return -1;
+      }
+      int n = Math.min(length, chars.length() - position);
+      if (chars instanceof String) {
+        ((String) chars).getChars(position, position + n, buffer, offset);
+      } else {
+        for (int i = 0; i < n; i++) {
+          buffer[offset + i] = chars.charAt(position + i);
+        }
+      }
+      position += n;
+      return n;
+    }
+
+    /**
+     * @param chars
+     *        the characters to read from now on.
+     */
+    void reset(CharSequence chars) {
+      this.chars = chars;
+      position = 0;
+    }
+
+  }
+
+  /**
+   * The parser of each thread, with the default settings.
+   */
+  private static final ThreadLocal<ReusableFormulaParser> instances = new ThreadLocal<ReusableFormulaParser>() {
+    /* (non-Javadoc)
+     * @see java.lang.ThreadLocal#initialValue()
+     */
+    @Override
+    protected ReusableFormulaParser initialValue() {
+      return new ReusableFormulaParser(new FormulaParserLL3(new StringReader("")));
+    }
+  };
+
+  /**
+   * Returns the instance of the current thread, which uses a
+   * {@link FormulaParserLL3} with its default settings.
+   *
+   * @return the instance of the current thread.
+   */
+  public static ReusableFormulaParser get() {
+    return instances.get();
+  }
+
+  /**
+   * The wrapped parser.
+   */
+  private final IFormulaParser parser;
+
+  /**
+   * The reader that is passed to the parser for every formula.
+   */
+  private final CharSequenceReader reader = new CharSequenceReader();
+
+  /**
+   * @param parser
+   *        the parser to reuse, it must not be used elsewhere while it is
+   *        wrapped by this instance.
+   */
+  public ReusableFormulaParser(IFormulaParser parser) {
+    this.parser = parser;
+  }
+
+  /**
+   * Parses the given formula.
+   *
+   * @param formula
+   * @return an {@link ASTNode} representing the formula.
+   * @throws ParseException
+   *         If the given formula is not of valid format or cannot be parsed
+   *         for other reasons.
+   */
+  public ASTNode parse(CharSequence formula) throws ParseException {
+    reader.reset(formula);
+    parser.ReInit(reader);
+    try {
+      return parser.parse();
+    } catch (Throwable e) {
+      // the javacc parser can throw some TokenMgrError at least
+      throw new ParseException(e);
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Parses all given formulas one after the other.
+   *
+   * @param formulas
+   * @return the {@link ASTNode}s representing the formulas, in the same order.
+   * @throws ParseException
+   *         for the first formula that cannot be parsed, its message contains
+   *         the position of the formula in the collection.
+   */
+  public List<ASTNode> parseAll(Collection<? extends CharSequence> formulas) throws ParseException {
+    List<ASTNode> result = new ArrayList<ASTNode>(formulas.size());
+    for (CharSequence formula : formulas) {
+      try {
+        result.add(parse(formula));
+      } catch (ParseException e) {
+        ParseException exc = new ParseException(MessageFormat.format(
+          "Could not parse formula {0} ''{1}'': {2}", result.size(), formula, e.getMessage()));
+        exc.initCause(e);
+        throw exc;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Parses all given formulas one after the other and continues after
+   * formulas that cannot be parsed.
+   *
+   * @param formulas
+   * @param errors
+   *        receives the {@link ParseException} of each formula that cannot be
+   *        parsed, at the same position; can be {@code null}.
+   * @return the {@link ASTNode}s representing the formulas, in the same order,
+   *         with {@code null} for the formulas that cannot be parsed.
+   */
+  public List<ASTNode> parseAll(Collection<? extends CharSequence> formulas, List<ParseException> errors) {
+    List<ASTNode> result = new ArrayList<ASTNode>(formulas.size());
+    for (CharSequence formula : formulas) {
+      ASTNode math = null;
+      ParseException error = null;
+      try {
+        math = parse(formula);
+      } catch (ParseException e) {
+        error = e;
+      }
+      result.add(math);
+      if (errors != null) {
+        errors.add(error);
+      }
+    }
+    return result;
+  }
+
+}
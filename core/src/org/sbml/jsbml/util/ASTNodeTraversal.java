@@ -0,0 +1,291 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.sbml.jsbml.ASTNode;
+
+/**
+ * Depth-first traversals of {@link ASTNode} trees that keep their state in an
+ * explicit stack instead of the call stack of the Java virtual machine.
+ * <p>
+ * Generated models can contain nested {@code piecewise} functions or
+ * left-associative chains of binary operators that are many thousands of
+ * levels deep. Recursive algorithms fail on such trees with a
+ * {@link StackOverflowError}, whereas the methods of this class only need
+ * memory proportional to the height of the tree on the heap. They are the
+ * basis of the iterative compilation in {@link ASTNode#compile}, of the
+ * validation of math and of the {@link ExpressionDAG}.
+ *
+ * @since 1.7
+ */
+public final class ASTNodeTraversal {
+
+  /**
+   * Receives the nodes of a tree in depth-first order, see
+   * {@link ASTNodeTraversal#walk(ASTNode, Visitor)}.
+   *
+   * @since 1.7
+   */
+  public interface Visitor {
+
+    /**
+     * Called before any child of the given node is visited (pre-order).
+     *
+     * @param node
+     * @return {@code true} if the children of the node should be visited,
+     *         {@code false} to skip the subtree of the node.
+     */
+    public boolean enter(ASTNode node);
+
+    /**
+     * Called after all children of the given node have been visited
+     * (post-order), also if its subtree has been skipped.
+     *
+     * @param node
+     */
+    public void leave(ASTNode node);
+
+  }
+
+  /**
+   * Computes a value for every node of a tree from the values of its
+   * children, see {@link ASTNodeTraversal#evaluate(ASTNode, Evaluator)}.
+   *
+   * @param <T>
+   *        the type of the values.
+   * @since 1.7
+   */
+  public static abstract class Evaluator<T> {
+
+    /**
+     * Called before any child of the given node is evaluated, e.g., to
+     * update state that depends on the ancestors of a node, such as the
+     * arguments of enclosing lambda expressions. Does nothing by default.
+     *
+     * @param node
+     */
+    public void enter(ASTNode node) {
+    }
+
+    /**
+     * Computes the value of a node from the values of its children.
+     *
+     * @param node
+     *        the node.
+     * @param children
+     *        the values computed before for the children of the node, in the
+     *        order of the children. The list is only valid during this call.
+     * @return the value of the node.
+     */
+    public abstract T evaluate(ASTNode node, List<T> children);
+
+  }
+
+  /**
+   * Utility class.
+   */
+  private ASTNodeTraversal() {
+  }
+
+  /**
+   * Computes the value of the given tree bottom-up, evaluating every node
+   * exactly once after all its children.
+   *
+   * @param root
+   * @param evaluator
+   * @return the value of the root.
+   */
+  public static <T> T evaluate(ASTNode root, final Evaluator<T> evaluator) {
+    final List<T> values = new ArrayList<T>();
+    walk(root, new Visitor() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#enter(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public boolean enter(ASTNode node) {
+        evaluator.enter(node);
+        return true;
+      }
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#leave(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public void leave(ASTNode node) {
+        int size = values.size();
+        List<T> children = values.subList(size - node.getChildCount(), size);
+        T value = evaluator.evaluate(node, children);
+        children.clear();
+        values.add(value);
+      }
+    });
+    return values.get(0);
+  }
+
+  /**
+   * Returns the height of the given tree, i.e., the number of nodes on the
+   * longest path from the root to a leaf.
+   *
+   * @param root
+   * @return the height of the tree, 1 for a single node.
+   */
+  public static int getHeight(ASTNode root) {
+    final int[] height = new int[2];
+    walk(root, new Visitor() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#enter(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public boolean enter(ASTNode node) {
+        height[0]++;
+        height[1] = Math.max(height[0], height[1]);
+        return true;
+      }
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#leave(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public void leave(ASTNode node) {
+        height[0]--;
+      }
+    });
+    return height[1];
+  }
+
+  /**
+   * Returns all nodes of the given tree in post-order, i.e., every node after
+   * all its descendants, and the root last.
+   *
+   * @param root
+   * @return the nodes of the tree in post-order.
+   */
+  public static List<ASTNode> postOrder(ASTNode root) {
+    return postOrder(root, null);
+  }
+
+  /**
+   * Returns the nodes of the given tree in post-order, without the
+   * descendants of nodes of the given type.
+   *
+   * @param root
+   * @param opaque
+   *        the type of nodes whose descendants are left out, or {@code null}
+   *        to return all nodes.
+   * @return the nodes of the tree in post-order.
+   */
+  public static List<ASTNode> postOrder(ASTNode root, final ASTNode.Type opaque) {
+    final List<ASTNode> nodes = new ArrayList<ASTNode>();
+    walk(root, new Visitor() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#enter(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public boolean enter(ASTNode node) {
+        return node.getType() != opaque;
+      }
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#leave(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public void leave(ASTNode node) {
+        nodes.add(node);
+      }
+    });
+    return nodes;
+  }
+
+  /**
+   * Returns all nodes of the given tree in pre-order, i.e., every node before
+   * its descendants, and the root first.
+   *
+   * @param root
+   * @return the nodes of the tree in pre-order.
+   */
+  public static List<ASTNode> preOrder(ASTNode root) {
+    final List<ASTNode> nodes = new ArrayList<ASTNode>();
+    walk(root, new Visitor() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#enter(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public boolean enter(ASTNode node) {
+        nodes.add(node);
+        return true;
+      }
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#leave(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public void leave(ASTNode node) {
+      }
+    });
+    return nodes;
+  }
+
+  /**
+   * Visits the given tree depth-first, from the left to the right. The stack
+   * holds one entry per level of the current path, so that the traversal
+   * works for trees of any height.
+   *
+   * @param root
+   * @param visitor
+   */
+  public static void walk(ASTNode root, Visitor visitor) {
+    if (!visitor.enter(root)) {
+      visitor.leave(root);
+      return;
+    }
+    ASTNode[] path = new ASTNode[16];
+    int[] next = new int[16];
+    int top = 0;
+    path[0] = root;
+    while (top >= 0) {
+      ASTNode node = path[top];
+      if (next[top] < node.getChildCount()) {
+        ASTNode child = node.getChild(next[top]++);
+        if (visitor.enter(child) && (child.getChildCount() > 0)) {
+          if (++top == path.length) {
+            path = Arrays.copyOf(path, 2 * top);
+            next = Arrays.copyOf(next, 2 * top);
+          }
+          path[top] = child;
+          next[top] = 0;
+        } else {
+          visitor.leave(child);
+        }
+      } else {
+        path[top--] = null;
+        visitor.leave(node);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,1393 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.LocalParameter;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.RateRule;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.Rule;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.SpeciesReference;
+import org.sbml.jsbml.StoichiometryMath;
+import org.sbml.jsbml.Variable;
+import org.sbml.jsbml.util.converters.FunctionDefinitionCache;
+
+/**
+ * The right-hand side {@code f(t, y, p)} of the ordinary differential
+ * equations of a {@link Model}, compiled once into flat programs that are
+ * executed without walking {@link ASTNode}s and without allocating memory.
+ * <p>
+ * The state {@code y} contains the variables that have a {@link RateRule}
+ * and the {@link Species} that take part in reactions and are neither
+ * constant, nor boundary species, nor defined by an {@link AssignmentRule}.
+ * The parameters {@code p} contain all other {@link Compartment}s,
+ * {@link Species}, {@link Parameter}s and {@link SpeciesReference}s with ids
+ * that are not defined by an {@link AssignmentRule}. Species are always given
+ * as amounts, in the math a species that does not have only substance units
+ * stands for its amount divided by the size of its compartment. The
+ * variables of assignment rules are computed at each call in the order of
+ * the {@link ModelDependencyGraph}, before the rates of the reactions, the
+ * {@link StoichiometryMath} and the rate rules.
+ * <p>
+ * Each expression is translated into a sequence of instructions for a stack
+ * machine, with jumps for piecewise functions, calls of function
+ * definitions inlined and {@link LocalParameter}s replaced by their values.
+ * The reaction ids may only be used in rate rules. Delays are replaced by
+ * the current value of their argument, events and algebraic rules are not
+ * taken into account.
+ * <p>
+ * An instance is not thread-safe, as it keeps the intermediate values of
+ * one evaluation. Use {@link #copy()} to get an instance for another thread
+ * that shares the compiled programs.
+ *
+ * @since 1.7
+ */
+public class CompiledRightHandSide {
+
+  /**
+   * The compiled programs and the layout of the values, which are shared by
+   * the copies of an instance.
+   */
+  private static final class Program {
+
+    /**
+     * Pairs of operation and argument.
+     */
+    private int[] code;
+
+    /**
+     * The constants of the programs.
+     */
+    private double[] constants;
+
+    /**
+     * The start and end of the program of each assignment rule, in the
+     * order of evaluation.
+     */
+    private int[] assignments;
+
+    /**
+     * The start and end of the program of each kinetic law.
+     */
+    private int[] rates;
+
+    /**
+     * The start and end of the program of each {@link StoichiometryMath}.
+     */
+    private int[] stoichiometries;
+
+    /**
+     * The start and end of the program of each rate rule, followed by the
+     * index of its variable in the state.
+     */
+    private int[] rateRules;
+
+    /**
+     * For each rate rule of a species that does not have only substance
+     * units, the index of its compartment in the state if it has a rate rule
+     * itself, -1 otherwise, and the location of the size of its compartment;
+     * -2 for all other rate rules.
+     */
+    private int[] rateRuleCompartments;
+
+    /**
+     * For each change of a species by a reaction: the index of the species
+     * in the state, the index of the reaction and the location of its
+     * coefficient.
+     */
+    private int[] terms;
+
+    /**
+     * The maximal size of the stack.
+     */
+    private int stackSize;
+
+    /**
+     * The ids of the variables in the state.
+     */
+    private String[] stateIds;
+
+    /**
+     * The ids of the parameters.
+     */
+    private String[] parameterIds;
+
+    /**
+     * The ids of the variables of assignment rules in the order of their
+     * evaluation.
+     */
+    private String[] assignedIds;
+
+    /**
+     * The ids of the reactions that have a kinetic law with math.
+     */
+    private String[] reactionIds;
+
+    /**
+     * The initial state.
+     */
+    private double[] initialState;
+
+    /**
+     * The initial values of the parameters.
+     */
+    private double[] initialParameters;
+
+  }
+
+  /**
+   * Translates expressions into instructions.
+   */
+  private final class Compiler {
+
+    /**
+     * The instructions compiled so far.
+     */
+    private final List<Integer> code = new ArrayList<Integer>();
+
+    /**
+     * The constants.
+     */
+    private final List<Double> constants = new ArrayList<Double>();
+
+    /**
+     * The size of the stack after the instructions compiled so far.
+     */
+    private int depth;
+
+    /**
+     * The maximal size of the stack.
+     */
+    private int maxDepth;
+
+    /**
+     * The local parameters of the current kinetic law, {@code null} for other
+     * math.
+     */
+    private KineticLaw kineticLaw;
+
+    /**
+     * Whether the current math may use the rates of reactions.
+     */
+    private boolean ratesAllowed;
+
+    /**
+     * @param op
+     * @param arg
+     * @param pushed
+     *        the change of the size of the stack.
+     */
+    private void emit(int op, int arg, int pushed) {
+      code.add(op);
+      code.add(arg);
+      depth += pushed;
+      maxDepth = Math.max(maxDepth, depth);
+    }
+
+    /**
+     * @param value
+     */
+    private void emitConstant(double value) {
+      constants.add(value);
+      emit(CONST, constants.size() - 1, 1);
+    }
+
+    /**
+     * Emits the instructions that load the given location.
+     * 
+     * @param location
+     */
+    private void emitLoad(int location) {
+      emit(location >>> KIND_SHIFT, location & INDEX_MASK, 1);
+    }
+
+    /**
+     * Compiles the given math, which leaves its value on the stack.
+     * 
+     * @param math
+     * @return the position after the instructions.
+     */
+    private int compile(ASTNode math) {
+      ASTNodeTraversal.walk(math, new ASTNodeTraversal.Visitor() {
+
+        /* (non-Javadoc)
+         * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#enter(org.sbml.jsbml.ASTNode)
+         */
+        @Override
+        public boolean enter(ASTNode node) {
+          if (node.getType() == Type.FUNCTION_PIECEWISE) {
+            compilePiecewise(node);
+            return false;
+          }
+          return true;
+        }
+
+        /* (non-Javadoc)
+         * @see org.sbml.jsbml.util.ASTNodeTraversal.Visitor#leave(org.sbml.jsbml.ASTNode)
+         */
+        @Override
+        public void leave(ASTNode node) {
+          if (node.getType() != Type.FUNCTION_PIECEWISE) {
+            compileNode(node);
+          }
+        }
+      });
+      return code.size();
+    }
+
+    /**
+     * Compiles a node whose children have been compiled before.
+     * 
+     * @param node
+     */
+    private void compileNode(ASTNode node) {
+      int n = node.getChildCount();
+      switch (node.getType()) {
+      case INTEGER:
+      case REAL:
+      case REAL_E:
+      case RATIONAL:
+      case CONSTANT_E:
+      case CONSTANT_PI:
+        emitConstant(node.getReal());
+        break;
+      case CONSTANT_TRUE:
+        emitConstant(1d);
+        break;
+      case CONSTANT_FALSE:
+        emitConstant(0d);
+        break;
+      case NAME_AVOGADRO:
+        emitConstant(Maths.getAvogadro(model.getLevel(), model.getVersion()));
+        break;
+      case NAME_TIME:
+        emit(TIME, 0, 1);
+        break;
+      case NAME:
+        compileName(node.getName());
+        break;
+      case PLUS:
+      case SUM:
+        if (n == 0) {
+          emitConstant(0d);
+        } else if (n > 1) {
+          emit(ADD, n, 1 - n);
+        }
+        break;
+      case MINUS:
+        if (n == 1) {
+          emit(NEG, 0, 0);
+        } else {
+          emit(SUB, n, 1 - n);
+        }
+        break;
+      case TIMES:
+      case PRODUCT:
+        if (n == 0) {
+          emitConstant(1d);
+        } else if (n > 1) {
+          emit(MUL, n, 1 - n);
+        }
+        break;
+      case DIVIDE:
+        emit(DIV, 0, -1);
+        break;
+      case POWER:
+      case FUNCTION_POWER:
+        emit(POW, 0, -1);
+        break;
+      case FUNCTION_ROOT:
+        if (n == 1) {
+          emit(FUNCTION, Type.FUNCTION_ROOT.ordinal(), 0);
+        } else {
+          emit(ROOT, 0, -1);
+        }
+        break;
+      case FUNCTION_LOG:
+        if (n == 1) {
+          emit(FUNCTION, Type.FUNCTION_LOG.ordinal(), 0);
+        } else {
+          emit(LOG, 0, -1);
+        }
+        break;
+      case FUNCTION_REM:
+        emit(REM, 0, -1);
+        break;
+      case FUNCTION_QUOTIENT:
+        emit(QUOTIENT, 0, -1);
+        break;
+      case FUNCTION_MAX:
+        emit(MAX, n, 1 - n);
+        break;
+      case FUNCTION_MIN:
+        emit(MIN, n, 1 - n);
+        break;
+      case FUNCTION_DELAY:
+        // the current value of the first argument
+        emit(POP, 0, -1);
+        break;
+      case RELATIONAL_EQ:
+      case RELATIONAL_NEQ:
+      case RELATIONAL_GEQ:
+      case RELATIONAL_GT:
+      case RELATIONAL_LEQ:
+      case RELATIONAL_LT:
+        emit(RELATION, (node.getType().ordinal() << 16) | n, 1 - n);
+        break;
+      case LOGICAL_AND:
+        emit(AND, n, 1 - n);
+        break;
+      case LOGICAL_OR:
+        emit(OR, n, 1 - n);
+        break;
+      case LOGICAL_XOR:
+        emit(XOR, n, 1 - n);
+        break;
+      case LOGICAL_NOT:
+        emit(NOT, 0, 0);
+        break;
+      case LOGICAL_IMPLIES:
+        emit(IMPLIES, 0, -1);
+        break;
+      case FUNCTION_ABS:
+      case FUNCTION_EXP:
+      case FUNCTION_LN:
+      case FUNCTION_FLOOR:
+      case FUNCTION_CEILING:
+      case FUNCTION_FACTORIAL:
+      case FUNCTION_SIN:
+      case FUNCTION_COS:
+      case FUNCTION_TAN:
+      case FUNCTION_SEC:
+      case FUNCTION_CSC:
+      case FUNCTION_COT:
+      case FUNCTION_ARCSIN:
+      case FUNCTION_ARCCOS:
+      case FUNCTION_ARCTAN:
+      case FUNCTION_ARCSEC:
+      case FUNCTION_ARCCSC:
+      case FUNCTION_ARCCOT:
+      case FUNCTION_SINH:
+      case FUNCTION_COSH:
+      case FUNCTION_TANH:
+      case FUNCTION_SECH:
+      case FUNCTION_CSCH:
+      case FUNCTION_COTH:
+      case FUNCTION_ARCSINH:
+      case FUNCTION_ARCCOSH:
+      case FUNCTION_ARCTANH:
+      case FUNCTION_ARCSECH:
+      case FUNCTION_ARCCSCH:
+      case FUNCTION_ARCCOTH:
+        emit(FUNCTION, node.getType().ordinal(), 0);
+        break;
+      default:
+        throw new IllegalArgumentException(MessageFormat.format(
+          "Cannot compile {0} of type {1}.", node.toFormula(), node.getType()));
+      }
+    }
+
+    /**
+     * Compiles a reference to a variable.
+     * 
+     * @param id
+     */
+    private void compileName(String id) {
+      if (kineticLaw != null) {
+        LocalParameter localParameter = kineticLaw.getLocalParameter(id);
+        if (localParameter != null) {
+          emitConstant(localParameter.getValue());
+          return;
+        }
+      }
+      Integer location = locations.get(id);
+      if (location == null) {
+        Integer reaction = reactionIndices.get(id);
+        if ((reaction == null) || !ratesAllowed) {
+          throw new IllegalArgumentException(MessageFormat.format(
+            "Cannot compile the reference to {0}.", id));
+        }
+        emit(RATE, reaction, 1);
+        return;
+      }
+      emitLoad(location);
+      Integer size = amounts.get(id);
+      if (size != null) {
+        // the concentration of a species given as amount
+        emitLoad(size);
+        emit(DIV, 0, -1);
+      }
+    }
+
+    /**
+     * Compiles a piecewise function with jumps, so that only the value of
+     * the first piece whose condition is true is computed.
+     * 
+     * @param node
+     */
+    private void compilePiecewise(ASTNode node) {
+      int n = node.getChildCount();
+      int base = depth;
+      List<Integer> ends = new ArrayList<Integer>();
+      for (int i = 0; i + 1 < n; i += 2) {
+        depth = base;
+        compile(node.getChild(i + 1));
+        int jump = code.size();
+        emit(JUMP_IF_FALSE, 0, -1);
+        compile(node.getChild(i));
+        ends.add(code.size());
+        emit(JUMP, 0, 0);
+        code.set(jump + 1, code.size());
+      }
+      depth = base;
+      if (n % 2 == 1) {
+        compile(node.getChild(n - 1));
+      } else {
+        emitConstant(Double.NaN);
+      }
+      for (int end : ends) {
+        code.set(end + 1, code.size());
+      }
+      depth = base + 1;
+    }
+
+    /**
+     * Compiles the given math into a program of its own.
+     * 
+     * @param math
+     * @param kineticLaw
+     *        the kinetic law whose local parameters are used, or
+     *        {@code null}.
+     * @param ratesAllowed
+     * @param programs
+     *        the list to which the start and the end of the program are
+     *        added.
+     */
+    private void compileProgram(ASTNode math, KineticLaw kineticLaw, boolean ratesAllowed, List<Integer> programs) {
+      this.kineticLaw = kineticLaw;
+      this.ratesAllowed = ratesAllowed;
+      depth = 0;
+      programs.add(code.size());
+      programs.add(compile(functions.inline(math)));
+    }
+
+  }
+
+  /**
+   * Loads a constant.
+   */
+  private static final int CONST = 0;
+
+  /**
+   * Loads a value of the state.
+   */
+  private static final int LOAD_STATE = 1;
+
+  /**
+   * Loads a parameter.
+   */
+  private static final int LOAD_PARAMETER = 2;
+
+  /**
+   * Loads the value of an assignment rule.
+   */
+  private static final int LOAD_ASSIGNED = 3;
+
+  /**
+   * Loads the value of a {@link StoichiometryMath}.
+   */
+  private static final int LOAD_STOICHIOMETRY = 4;
+
+  /**
+   * Loads the rate of a reaction.
+   */
+  private static final int RATE = 5;
+
+  /**
+   * Loads the time.
+   */
+  private static final int TIME = 6;
+
+  /**
+   * Operations with the number of operands as argument.
+   */
+  private static final int ADD = 7, SUB = 8, MUL = 9, MAX = 10, MIN = 11, AND = 12, OR = 13, XOR = 14;
+
+  /**
+   * Binary operations.
+   */
+  private static final int DIV = 15, POW = 16, ROOT = 17, LOG = 18, REM = 19, QUOTIENT = 20, IMPLIES = 21;
+
+  /**
+   * Unary operations.
+   */
+  private static final int NEG = 22, NOT = 23, POP = 24;
+
+  /**
+   * A function of one argument, with the ordinal of its {@link Type} as
+   * argument.
+   */
+  private static final int FUNCTION = 25;
+
+  /**
+   * A relation of n operands, with the ordinal of its {@link Type} shifted
+   * by 16 bits plus n as argument.
+   */
+  private static final int RELATION = 26;
+
+  /**
+   * Jumps to the position given as argument.
+   */
+  private static final int JUMP = 27;
+
+  /**
+   * Removes the top of the stack and jumps to the position given as argument
+   * if it is 0.
+   */
+  private static final int JUMP_IF_FALSE = 28;
+
+  /**
+   * The shift of the kind of a location, which is the operation that loads
+   * it.
+   */
+  private static final int KIND_SHIFT = 28;
+
+  /**
+   * The mask of the index of a location.
+   */
+  private static final int INDEX_MASK = (1 << KIND_SHIFT) - 1;
+
+  /**
+   * The types by their ordinal.
+   */
+  private static final Type[] TYPES = Type.values();
+
+  /**
+   * @param kind
+   * @param index
+   * @return the location of a value of the given kind.
+   */
+  private static int location(int kind, int index) {
+    return (kind << KIND_SHIFT) | index;
+  }
+
+  /**
+   * The inlining of function definitions during compilation.
+   */
+  private transient FunctionDefinitionCache functions;
+
+  /**
+   * The location of each variable during compilation.
+   */
+  private transient Map<String, Integer> locations;
+
+  /**
+   * The location of the size of the compartment of each species given as
+   * amount, whose value in math is its concentration, during compilation.
+   */
+  private transient Map<String, Integer> amounts;
+
+  /**
+   * The index of each reaction during compilation.
+   */
+  private transient Map<String, Integer> reactionIndices;
+
+  /**
+   * The model during compilation.
+   */
+  private transient Model model;
+
+  /**
+   * The compiled programs.
+   */
+  private final Program program;
+
+  /**
+   * The values of the assignment rules of the current evaluation.
+   */
+  private final double[] assigned;
+
+  /**
+   * The rates of the reactions of the current evaluation.
+   */
+  private final double[] rates;
+
+  /**
+   * The stack.
+   */
+  private final double[] stack;
+
+  /**
+   * The values of the {@link StoichiometryMath} of the current evaluation.
+   */
+  private final double[] stoichiometries;
+
+  /**
+   * The parameters of the current evaluation.
+   */
+  private double[] p;
+
+  /**
+   * The time of the current evaluation.
+   */
+  private double t;
+
+  /**
+   * The state of the current evaluation.
+   */
+  private double[] y;
+
+  /**
+   * Compiles the right-hand side of the given model.
+   * 
+   * @param model
+   * @throws IllegalArgumentException
+   *         if the model contains math that cannot be compiled, or
+   *         assignment rules that depend on each other.
+   */
+  public CompiledRightHandSide(Model model) {
+    this(compile(model));
+  }
+
+  /**
+   * @param program
+   */
+  private CompiledRightHandSide(Program program) {
+    this.program = program;
+    assigned = new double[program.assignedIds.length];
+    rates = new double[program.reactionIds.length];
+    stoichiometries = new double[program.stoichiometries.length / 2];
+    stack = new double[Math.max(1, program.stackSize)];
+  }
+
+  /**
+   * @param model
+   * @return the compiled programs.
+   */
+  private static Program compile(Model model) {
+    CompiledRightHandSide compiler = new CompiledRightHandSide(model, true);
+    return compiler.program;
+  }
+
+  /**
+   * Does the compilation.
+   * 
+   * @param model
+   * @param compile
+   *        only distinguishes this constructor.
+   */
+  private CompiledRightHandSide(Model model, boolean compile) {
+    this.model = model;
+    program = new Program();
+    functions = FunctionDefinitionCache.get(model);
+    ModelDependencyGraph graph = ModelDependencyGraph.get(model);
+    int n = graph.getVariableCount();
+
+    // the variables with rate rules and the species changed by reactions
+    Map<String, RateRule> rateRules = new HashMap<String, RateRule>();
+    if (model.isSetListOfRules()) {
+      for (Rule rule : model.getListOfRules()) {
+        if (rule.isRate()) {
+          rateRules.put(((RateRule) rule).getVariable(), (RateRule) rule);
+        }
+      }
+    }
+    List<String> reactants = new ArrayList<String>();
+    List<Reaction> reactions = new ArrayList<Reaction>();
+    if (model.isSetListOfReactions()) {
+      for (Reaction reaction : model.getListOfReactions()) {
+        if ((reaction.getKineticLaw() != null) && reaction.getKineticLaw().isSetMath()) {
+          reactions.add(reaction);
+          for (SpeciesReference reference : reaction.getListOfReactants()) {
+            reactants.add(reference.getSpecies());
+          }
+          for (SpeciesReference reference : reaction.getListOfProducts()) {
+            reactants.add(reference.getSpecies());
+          }
+        }
+      }
+    }
+
+    locations = new HashMap<String, Integer>();
+    amounts = new HashMap<String, Integer>();
+    List<String> stateIds = new ArrayList<String>();
+    List<String> parameterIds = new ArrayList<String>();
+    List<Integer> assignedVariables = new ArrayList<Integer>();
+    for (int index : graph.getOrder()) {
+      if (graph.getDefinition(index) instanceof AssignmentRule) {
+        locations.put(graph.getVariable(index).getId(), location(LOAD_ASSIGNED, assignedVariables.size()));
+        assignedVariables.add(index);
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      Variable variable = graph.getVariable(i);
+      String id = variable.getId();
+      if (graph.getDefinition(i) instanceof AssignmentRule) {
+        continue;
+      }
+      boolean state = rateRules.containsKey(id);
+      if (!state && (variable instanceof Species)) {
+        Species species = (Species) variable;
+        state = !species.isBoundaryCondition() && !species.isConstant() && reactants.contains(id);
+      }
+      if (state) {
+        locations.put(id, location(LOAD_STATE, stateIds.size()));
+        stateIds.add(id);
+      } else {
+        locations.put(id, location(LOAD_PARAMETER, parameterIds.size()));
+        parameterIds.add(id);
+      }
+    }
+    if (assignedVariables.size() < countAssignmentRules(graph)) {
+      throw new IllegalArgumentException("The assignment rules of the model depend on each other.");
+    }
+    for (int i = 0; i < n; i++) {
+      Variable variable = graph.getVariable(i);
+      if ((variable instanceof Species) && !(graph.getDefinition(i) instanceof AssignmentRule)
+          && !((Species) variable).hasOnlySubstanceUnits()) {
+        Integer size = locations.get(((Species) variable).getCompartment());
+        if (size != null) {
+          amounts.put(variable.getId(), size);
+        }
+      }
+    }
+    reactionIndices = new HashMap<String, Integer>();
+    for (int j = 0; j < reactions.size(); j++) {
+      reactionIndices.put(reactions.get(j).getId(), j);
+    }
+
+    Compiler compiler = new Compiler();
+    List<Integer> assignments = new ArrayList<Integer>();
+    for (int index : assignedVariables) {
+      compiler.compileProgram(graph.getMath(index), null, false, assignments);
+    }
+    List<Integer> rateLaws = new ArrayList<Integer>();
+    for (Reaction reaction : reactions) {
+      compiler.compileProgram(reaction.getKineticLaw().getMath(), reaction.getKineticLaw(), false, rateLaws);
+    }
+
+    // the changes of the species by the reactions
+    List<Integer> stoichiometryMath = new ArrayList<Integer>();
+    List<Integer> terms = new ArrayList<Integer>();
+    for (int j = 0; j < reactions.size(); j++) {
+      Reaction reaction = reactions.get(j);
+      for (int side = -1; side <= 1; side += 2) {
+        for (SpeciesReference reference : (side < 0) ? reaction.getListOfReactants() : reaction.getListOfProducts()) {
+          Integer species = locations.get(reference.getSpecies());
+          if ((species == null) || ((species >>> KIND_SHIFT) != LOAD_STATE)) {
+            continue;
+          }
+          int coefficient;
+          if (reference.isSetStoichiometryMath() && reference.getStoichiometryMath().isSetMath()) {
+            compiler.compileProgram(reference.getStoichiometryMath().getMath(), null, false, stoichiometryMath);
+            coefficient = location(LOAD_STOICHIOMETRY, stoichiometryMath.size() / 2 - 1);
+          } else if (reference.isSetId() && locations.containsKey(reference.getId())) {
+            coefficient = locations.get(reference.getId());
+          } else {
+            compiler.constants.add(reference.getStoichiometry());
+            coefficient = location(CONST, compiler.constants.size() - 1);
+          }
+          terms.add(side * ((species & INDEX_MASK) + 1));
+          terms.add(j);
+          terms.add(coefficient);
+          terms.add(conversionFactor(model.getSpecies(reference.getSpecies())));
+        }
+      }
+    }
+
+    // rate rules of compartments before those of species
+    List<Integer> rateRulePrograms = new ArrayList<Integer>();
+    List<Integer> rateRuleCompartments = new ArrayList<Integer>();
+    for (int pass = 0; pass < 2; pass++) {
+      for (RateRule rule : rateRules.values()) {
+        Integer location = locations.get(rule.getVariable());
+        if ((location == null) || ((location >>> KIND_SHIFT) != LOAD_STATE) || !rule.isSetMath()
+            || ((pass == 0) != (model.getCompartment(rule.getVariable()) != null))) {
+          continue;
+        }
+        compiler.compileProgram(rule.getMath(), null, true, rateRulePrograms);
+        rateRulePrograms.add(location & INDEX_MASK);
+        Integer size = amounts.get(rule.getVariable());
+        if (size != null) {
+          Integer compartment = locations.get(model.getSpecies(rule.getVariable()).getCompartment());
+          rateRuleCompartments.add(rateRules.containsKey(model.getSpecies(rule.getVariable()).getCompartment())
+            ? (compartment & INDEX_MASK) : -1);
+          rateRuleCompartments.add(size);
+        } else {
+          rateRuleCompartments.add(-2);
+          rateRuleCompartments.add(0);
+        }
+      }
+    }
+
+    program.code = toArray(compiler.code);
+    program.constants = new double[compiler.constants.size()];
+    for (int i = 0; i < program.constants.length; i++) {
+      program.constants[i] = compiler.constants.get(i);
+    }
+    program.assignments = toArray(assignments);
+    program.rates = toArray(rateLaws);
+    program.stoichiometries = toArray(stoichiometryMath);
+    program.rateRules = toArray(rateRulePrograms);
+    program.rateRuleCompartments = toArray(rateRuleCompartments);
+    program.terms = toArray(terms);
+    program.stackSize = compiler.maxDepth;
+    program.stateIds = stateIds.toArray(new String[stateIds.size()]);
+    program.parameterIds = parameterIds.toArray(new String[parameterIds.size()]);
+    program.assignedIds = new String[assignedVariables.size()];
+    for (int i = 0; i < program.assignedIds.length; i++) {
+      program.assignedIds[i] = graph.getVariable(assignedVariables.get(i)).getId();
+    }
+    program.reactionIds = new String[reactions.size()];
+    for (int j = 0; j < program.reactionIds.length; j++) {
+      program.reactionIds[j] = reactions.get(j).getId();
+    }
+
+    // the initial values, with species as amounts
+    double[] values = new InitialValueEvaluator(model).evaluate();
+    program.initialState = new double[program.stateIds.length];
+    for (int i = 0; i < program.initialState.length; i++) {
+      program.initialState[i] = initialValue(graph, values, program.stateIds[i]);
+    }
+    program.initialParameters = new double[program.parameterIds.length];
+    for (int i = 0; i < program.initialParameters.length; i++) {
+      program.initialParameters[i] = initialValue(graph, values, program.parameterIds[i]);
+    }
+
+    assigned = null;
+    rates = null;
+    stoichiometries = null;
+    stack = null;
+    functions = null;
+    locations = null;
+    amounts = null;
+    reactionIndices = null;
+    this.model = null;
+  }
+
+  /**
+   * @param graph
+   * @return the number of variables defined by assignment rules.
+   */
+  private static int countAssignmentRules(ModelDependencyGraph graph) {
+    int count = 0;
+    for (int i = 0; i < graph.getVariableCount(); i++) {
+      if (graph.getDefinition(i) instanceof AssignmentRule) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @param species
+   * @return the location of the conversion factor of the given species, or
+   *         -1 if it has none.
+   */
+  private int conversionFactor(Species species) {
+    String factor = null;
+    if ((species != null) && species.isSetConversionFactor()) {
+      factor = species.getConversionFactor();
+    } else if (model.isSetConversionFactor()) {
+      factor = model.getConversionFactor();
+    }
+    if ((factor == null) || !locations.containsKey(factor)) {
+      return -1;
+    }
+    return locations.get(factor);
+  }
+
+  /**
+   * @param graph
+   * @param values
+   *        the initial values of the variables.
+   * @param id
+   * @return the initial value of the given variable, the amount of species.
+   */
+  private double initialValue(ModelDependencyGraph graph, double[] values, String id) {
+    int index = graph.getIndex(id);
+    double value = values[index];
+    Integer size = amounts.get(id);
+    if (size != null) {
+      Species species = (Species) graph.getVariable(index);
+      value *= values[graph.getIndex(species.getCompartment())];
+    }
+    return value;
+  }
+
+  /**
+   * @param list
+   * @return the given list as array.
+   */
+  private static int[] toArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * Returns a new instance that shares the compiled programs with this
+   * instance, e.g., for another thread.
+   * 
+   * @return a new instance.
+   */
+  public CompiledRightHandSide copy() {
+    return new CompiledRightHandSide(program);
+  }
+
+  /**
+   * Computes the derivatives of the state. Does not allocate memory.
+   * 
+   * @param t
+   *        the time.
+   * @param y
+   *        the state, in the order of {@link #getStateIds()}.
+   * @param p
+   *        the parameters, in the order of {@link #getParameterIds()}.
+   * @param dydt
+   *        the array into which the derivatives of the state are written.
+   */
+  public void evaluate(double t, double[] y, double[] p, double[] dydt) {
+    this.t = t;
+    this.y = y;
+    this.p = p;
+    int[] programs = program.assignments;
+    for (int i = 0; i < assigned.length; i++) {
+      assigned[i] = run(programs[2 * i], programs[2 * i + 1]);
+    }
+    programs = program.rates;
+    for (int j = 0; j < rates.length; j++) {
+      rates[j] = run(programs[2 * j], programs[2 * j + 1]);
+    }
+    programs = program.stoichiometries;
+    for (int k = 0; k < stoichiometries.length; k++) {
+      stoichiometries[k] = run(programs[2 * k], programs[2 * k + 1]);
+    }
+
+    Arrays.fill(dydt, 0d);
+    programs = program.rateRules;
+    int[] compartments = program.rateRuleCompartments;
+    for (int r = 0; 3 * r < programs.length; r++) {
+      double value = run(programs[3 * r], programs[3 * r + 1]);
+      int state = programs[3 * r + 2];
+      int compartment = compartments[2 * r];
+      if (compartment > -2) {
+        // the rate rule of the concentration of a species given as amount
+        double size = load(compartments[2 * r + 1]);
+        double dsize = compartment >= 0 ? dydt[compartment] : 0d;
+        value = value * size + (y[state] / size) * dsize;
+      }
+      dydt[state] = value;
+    }
+
+    int[] terms = program.terms;
+    for (int k = 0; k < terms.length; k += 4) {
+      int species = terms[k];
+      double change = rates[terms[k + 1]] * load(terms[k + 2]);
+      if (terms[k + 3] >= 0) {
+        change *= load(terms[k + 3]);
+      }
+      if (species < 0) {
+        dydt[-species - 1] -= change;
+      } else {
+        dydt[species - 1] += change;
+      }
+    }
+  }
+
+  /**
+   * @return the ids of the variables of assignment rules in the order of
+   *         their evaluation.
+   */
+  public String[] getAssignedIds() {
+    return program.assignedIds.clone();
+  }
+
+  /**
+   * Returns the values of the assignment rules of the last evaluation.
+   * 
+   * @param values
+   *        the array into which the values are written, in the order of
+   *        {@link #getAssignedIds()}.
+   */
+  public void getAssignedValues(double[] values) {
+    System.arraycopy(assigned, 0, values, 0, assigned.length);
+  }
+
+  /**
+   * @return the initial values of the parameters.
+   */
+  public double[] getInitialParameters() {
+    return program.initialParameters.clone();
+  }
+
+  /**
+   * @return the initial state, with species as amounts.
+   */
+  public double[] getInitialState() {
+    return program.initialState.clone();
+  }
+
+  /**
+   * @return the ids of the parameters.
+   */
+  public String[] getParameterIds() {
+    return program.parameterIds.clone();
+  }
+
+  /**
+   * @return the ids of the reactions whose rates are computed.
+   */
+  public String[] getReactionIds() {
+    return program.reactionIds.clone();
+  }
+
+  /**
+   * Returns the rates of the reactions of the last evaluation.
+   * 
+   * @param values
+   *        the array into which the rates are written, in the order of
+   *        {@link #getReactionIds()}.
+   */
+  public void getRates(double[] values) {
+    System.arraycopy(rates, 0, values, 0, rates.length);
+  }
+
+  /**
+   * @return the ids of the variables of the state.
+   */
+  public String[] getStateIds() {
+    return program.stateIds.clone();
+  }
+
+  /**
+   * @param location
+   * @return the value at the given location.
+   */
+  private double load(int location) {
+    int index = location & INDEX_MASK;
+    switch (location >>> KIND_SHIFT) {
+    case CONST:
+      return program.constants[index];
+    case LOAD_STATE:
+      return y[index];
+    case LOAD_PARAMETER:
+      return p[index];
+    case LOAD_ASSIGNED:
+      return assigned[index];
+    default:
+      return stoichiometries[index];
+    }
+  }
+
+  /**
+   * Executes the instructions from {@code start} to {@code end}.
+   * 
+   * @param start
+   * @param end
+   * @return the value left on the stack.
+   */
+  private double run(int start, int end) {
+    int[] code = program.code;
+    double[] stack = this.stack;
+    int top = -1;
+    int pc = start;
+    while (pc < end) {
+      int op = code[pc];
+      int arg = code[pc + 1];
+      pc += 2;
+      switch (op) {
+      case CONST:
+        stack[++top] = program.constants[arg];
+        break;
+      case LOAD_STATE:
+        stack[++top] = y[arg];
+        break;
+      case LOAD_PARAMETER:
+        stack[++top] = p[arg];
+        break;
+      case LOAD_ASSIGNED:
+        stack[++top] = assigned[arg];
+        break;
+      case LOAD_STOICHIOMETRY:
+        stack[++top] = stoichiometries[arg];
+        break;
+      case RATE:
+        stack[++top] = rates[arg];
+        break;
+      case TIME:
+        stack[++top] = t;
+        break;
+      case ADD: {
+        double sum = stack[top];
+        for (int i = 1; i < arg; i++) {
+          sum += stack[top - i];
+        }
+        top -= arg - 1;
+        stack[top] = sum;
+        break;
+      }
+      case SUB: {
+        top -= arg - 1;
+        double difference = stack[top];
+        for (int i = 1; i < arg; i++) {
+          difference -= stack[top + i];
+        }
+        stack[top] = difference;
+        break;
+      }
+      case MUL: {
+        double product = stack[top];
+        for (int i = 1; i < arg; i++) {
+          product *= stack[top - i];
+        }
+        top -= arg - 1;
+        stack[top] = product;
+        break;
+      }
+      case MAX: {
+        double max = stack[top];
+        for (int i = 1; i < arg; i++) {
+          max = Math.max(max, stack[top - i]);
+        }
+        top -= arg - 1;
+        stack[top] = max;
+        break;
+      }
+      case MIN: {
+        double min = stack[top];
+        for (int i = 1; i < arg; i++) {
+          min = Math.min(min, stack[top - i]);
+        }
+        top -= arg - 1;
+        stack[top] = min;
+        break;
+      }
+      case AND: {
+        boolean and = true;
+        for (int i = 0; i < arg; i++) {
+          and &= stack[top - i] != 0d;
+        }
+        top -= arg - 1;
+        stack[top] = and ? 1d : 0d;
+        break;
+      }
+      case OR: {
+        boolean or = false;
+        for (int i = 0; i < arg; i++) {
+          or |= stack[top - i] != 0d;
+        }
+        top -= arg - 1;
+        stack[top] = or ? 1d : 0d;
+        break;
+      }
+      case XOR: {
+        boolean xor = false;
+        for (int i = 0; i < arg; i++) {
+          xor ^= stack[top - i] != 0d;
+        }
+        top -= arg - 1;
+        stack[top] = xor ? 1d : 0d;
+        break;
+      }
+      case DIV:
+        top--;
+        stack[top] /= stack[top + 1];
+        break;
+      case POW:
+        top--;
+        stack[top] = Math.pow(stack[top], stack[top + 1]);
+        break;
+      case ROOT:
+        top--;
+        stack[top] = Maths.root(stack[top + 1], stack[top]);
+        break;
+      case LOG:
+        top--;
+        stack[top] = Maths.log(stack[top + 1], stack[top]);
+        break;
+      case REM:
+        top--;
+        stack[top] %= stack[top + 1];
+        break;
+      case QUOTIENT: {
+        top--;
+        double quotient = stack[top] / stack[top + 1];
+        stack[top] = quotient < 0 ? Math.ceil(quotient) : Math.floor(quotient);
+        break;
+      }
+      case IMPLIES:
+        top--;
+        stack[top] = (stack[top] == 0d) || (stack[top + 1] != 0d) ? 1d : 0d;
+        break;
+      case NEG:
+        stack[top] = -stack[top];
+        break;
+      case NOT:
+        stack[top] = stack[top] == 0d ? 1d : 0d;
+        break;
+      case POP:
+        top--;
+        break;
+      case FUNCTION:
+        stack[top] = function(TYPES[arg], stack[top]);
+        break;
+      case RELATION: {
+        int n = arg & 0xFFFF;
+        top -= n - 1;
+        boolean holds = true;
+        for (int i = 1; i < n; i++) {
+          holds &= relation(TYPES[arg >>> 16], stack[top + i - 1], stack[top + i]);
+        }
+        stack[top] = holds ? 1d : 0d;
+        break;
+      }
+      case JUMP:
+        pc = arg;
+        break;
+      case JUMP_IF_FALSE:
+        if (stack[top--] == 0d) {
+          pc = arg;
+        }
+        break;
+      default:
+        throw new IllegalStateException(MessageFormat.format("Unknown operation {0}.", op));
+      }
+    }
+    return stack[top];
+  }
+
+  /**
+   * @param type
+   *        a function of one argument.
+   * @param x
+   * @return the value of the function.
+   */
+  private static double function(Type type, double x) {
+    switch (type) {
+    case FUNCTION_ROOT:
+      return Math.sqrt(x);
+    case FUNCTION_LOG:
+      return Math.log10(x);
+    case FUNCTION_ABS:
+      return Math.abs(x);
+    case FUNCTION_EXP:
+      return Math.exp(x);
+    case FUNCTION_LN:
+      return Math.log(x);
+    case FUNCTION_FLOOR:
+      return Math.floor(x);
+    case FUNCTION_CEILING:
+      return Math.ceil(x);
+    case FUNCTION_FACTORIAL:
+      return Maths.factorial((int) x);
+    case FUNCTION_SIN:
+      return Math.sin(x);
+    case FUNCTION_COS:
+      return Math.cos(x);
+    case FUNCTION_TAN:
+      return Math.tan(x);
+    case FUNCTION_SEC:
+      return Maths.sec(x);
+    case FUNCTION_CSC:
+      return Maths.csc(x);
+    case FUNCTION_COT:
+      return Maths.cot(x);
+    case FUNCTION_ARCSIN:
+      return Math.asin(x);
+    case FUNCTION_ARCCOS:
+      return Math.acos(x);
+    case FUNCTION_ARCTAN:
+      return Math.atan(x);
+    case FUNCTION_ARCSEC:
+      return Maths.arcsec(x);
+    case FUNCTION_ARCCSC:
+      return Maths.arccsc(x);
+    case FUNCTION_ARCCOT:
+      return Maths.arccot(x);
+    case FUNCTION_SINH:
+      return Math.sinh(x);
+    case FUNCTION_COSH:
+      return Math.cosh(x);
+    case FUNCTION_TANH:
+      return Math.tanh(x);
+    case FUNCTION_SECH:
+      return Maths.sech(x);
+    case FUNCTION_CSCH:
+      return Maths.csch(x);
+    case FUNCTION_COTH:
+      return Maths.coth(x);
+    case FUNCTION_ARCSINH:
+      return Maths.arcsinh(x);
+    case FUNCTION_ARCCOSH:
+      return Maths.arccosh(x);
+    case FUNCTION_ARCTANH:
+      return Maths.arctanh(x);
+    case FUNCTION_ARCSECH:
+      return Maths.arcsech(x);
+    case FUNCTION_ARCCSCH:
+      return Maths.arccsch(x);
+    default:
+      return Maths.arccoth(x);
+    }
+  }
+
+  /**
+   * @param type
+   *        a relational operator.
+   * @param x
+   * @param y
+   * @return whether {@code x} and {@code y} are in the given relation.
+   */
+  private static boolean relation(Type type, double x, double y) {
+    switch (type) {
+    case RELATIONAL_EQ:
+      return x == y;
+    case RELATIONAL_NEQ:
+      return x != y;
+    case RELATIONAL_GEQ:
+      return x >= y;
+    case RELATIONAL_GT:
+      return x > y;
+    case RELATIONAL_LEQ:
+      return x <= y;
+    default:
+      return x < y;
+    }
+  }
+
+}
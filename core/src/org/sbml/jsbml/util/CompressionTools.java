@@ -0,0 +1,388 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.MessageFormat;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.sbml.jsbml.xml.stax.SBMLIOConfiguration;
+
+/**
+ * A collection of methods to read and write SBML in compressed form. The
+ * compression of input is detected by its magic bytes, so that gzip and zip
+ * files (including COMBINE archives) can be read without knowing their format
+ * in advance. The format of output is chosen based on the file name
+ * extension, like libSBML does it.
+ *
+ * @since 1.7
+ */
+public class CompressionTools {
+
+  /**
+   * The compression formats that are recognized.
+   */
+  public enum Format {
+    /**
+     * gzip as defined in RFC 1952, file name extension {@code .gz}.
+     */
+    GZIP(".gz"),
+    /**
+     * Uncompressed data.
+     */
+    NONE(""),
+    /**
+     * A zip archive, file name extension {@code .zip}. Only one entry is read
+     * or written.
+     */
+    ZIP(".zip");
+
+    /**
+     * The file name extension of this format.
+     */
+    private final String extension;
+
+    /**
+     * @param extension
+     */
+    private Format(String extension) {
+      this.extension = extension;
+    }
+
+    /**
+     * @return the file name extension of this format, including the dot.
+     */
+    public String getExtension() {
+      return extension;
+    }
+  }
+
+  /**
+   * The size of the buffers used to read compressed data (64 KB).
+   */
+  public static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Name of the manifest of COMBINE archives, which is never taken as the
+   * SBML entry.
+   */
+  private static final String COMBINE_MANIFEST = "manifest.xml";
+
+  /**
+   * The format of SBML files in the manifest of COMBINE archives, which is
+   * also the beginning of the formats of the single levels and versions.
+   */
+  private static final String COMBINE_SBML_FORMAT = "http://identifiers.org/combine.specifications/sbml";
+
+  /**
+   * Returns a stream that provides the uncompressed content of the given
+   * stream. If the given stream is not compressed, a buffered stream
+   * delivering the same content is returned.
+   * <p>
+   * For COMBINE archives, the SBML file that the manifest marks as master is
+   * read, or the first SBML file listed in the manifest if there is no SBML
+   * master. As the stream is read only once, this requires the manifest to
+   * precede the SBML files in the archive, which is usually the case. For
+   * other zip archives, and if the manifest comes after the SBML files, the
+   * first entry whose name ends with {@code .xml} or {@code .sbml} is read.
+   * {@link #openInputStream(File)} honors the manifest wherever it is
+   * located.
+   *
+   * @param in
+   *        a stream containing either plain, gzip or zip compressed data.
+   * @return a stream with the uncompressed content.
+   * @throws IOException
+   *         if the content cannot be read or if a zip archive does not
+   *         contain any SBML file.
+   */
+  public static InputStream decompress(InputStream in) throws IOException {
+    InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in, BUFFER_SIZE);
+    switch (detectFormat(buffered)) {
+    case GZIP:
+      return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+    case ZIP:
+      ZipInputStream zip = new ZipInputStream(buffered);
+      String location = null;
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        if (entry.getName().equals(COMBINE_MANIFEST)) {
+          location = readSBMLLocation(zip);
+        } else if ((location != null) ? location.equals(entry.getName()) : isSBMLEntry(entry)) {
+          return new BufferedInputStream(zip, BUFFER_SIZE);
+        }
+      }
+      zip.close();
+      if (location != null) {
+        throw new IOException(MessageFormat.format(
+          "The COMBINE archive does not contain the file {0} listed in its manifest.", location));
+      }
+      throw new IOException("The zip archive does not contain any SBML file.");
+    default:
+      return buffered;
+    }
+  }
+
+  /**
+   * Determines the compression of the given stream by looking at its first
+   * bytes. The position of the stream is not changed.
+   *
+   * @param in
+   *        a stream that supports {@link InputStream#mark(int)}.
+   * @return the format of the content of the stream.
+   * @throws IOException
+   */
+  public static Format detectFormat(InputStream in) throws IOException {
+    if (!in.markSupported()) {
+      throw new IllegalArgumentException("The stream must support mark and reset.");
+    }
+    in.mark(4);
+    try {
+      int b0 = in.read();
+      int b1 = in.read();
+      if ((b0 == 0x1f) && (b1 == 0x8b)) {
+        return Format.GZIP;
+      }
+      // local file header of a zip archive: PK\003\004
+      if ((b0 == 'P') && (b1 == 'K') && (in.read() == 3) && (in.read() == 4)) {
+        return Format.ZIP;
+      }
+      return Format.NONE;
+    } finally {
+      in.reset();
+    }
+  }
+
+  /**
+   * Determines the compression format to be written from the extension of the
+   * given file name.
+   *
+   * @param fileName
+   * @return the format matching the extension, {@link Format#NONE} if it is
+   *         not recognized.
+   */
+  public static Format formatFromFileName(String fileName) {
+    String lowerCase = fileName.toLowerCase(Locale.ENGLISH);
+    if (lowerCase.endsWith(Format.GZIP.getExtension())) {
+      return Format.GZIP;
+    } else if (lowerCase.endsWith(Format.ZIP.getExtension())) {
+      return Format.ZIP;
+    }
+    return Format.NONE;
+  }
+
+  /**
+   * Opens the given file for reading and decompresses its content if
+   * necessary. Unlike {@link #decompress(InputStream)}, the manifest of a
+   * COMBINE archive is taken into account wherever it is located.
+   *
+   * @param file
+   * @return a stream with the uncompressed content of the file.
+   * @throws IOException
+   * @see #decompress(InputStream)
+   */
+  public static InputStream openInputStream(File file) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+    try {
+      InputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+      if (detectFormat(buffered) == Format.ZIP) {
+        // random access allows to read the manifest first
+        in.close();
+        return openZipEntry(file);
+      }
+      return decompress(buffered);
+    } catch (IOException exc) {
+      in.close();
+      throw exc;
+    }
+  }
+
+  /**
+   * Opens the SBML file of the given zip archive, which is, for COMBINE
+   * archives, the SBML file that the manifest marks as master or the first
+   * SBML file listed in the manifest, and otherwise the first entry whose
+   * name ends with {@code .xml} or {@code .sbml}.
+   *
+   * @param file
+   *        a zip archive.
+   * @return a stream with the uncompressed content of the SBML file that
+   *         closes the archive when it is closed.
+   * @throws IOException
+   *         if the archive cannot be read or does not contain any SBML file.
+   */
+  private static InputStream openZipEntry(File file) throws IOException {
+    final ZipFile zipFile = new ZipFile(file);
+    try {
+      ZipEntry entry = null;
+      ZipEntry manifest = zipFile.getEntry(COMBINE_MANIFEST);
+      if (manifest != null) {
+        InputStream in = zipFile.getInputStream(manifest);
+        try {
+          String location = readSBMLLocation(in);
+          if (location != null) {
+            entry = zipFile.getEntry(location);
+          }
+        } finally {
+          in.close();
+        }
+      }
+      for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); (entry == null) && entries.hasMoreElements();) {
+        ZipEntry candidate = entries.nextElement();
+        if (isSBMLEntry(candidate)) {
+          entry = candidate;
+        }
+      }
+      if (entry == null) {
+        throw new IOException("The zip archive does not contain any SBML file.");
+      }
+      return new BufferedInputStream(new FilterInputStream(zipFile.getInputStream(entry)) {
+        /* (non-Javadoc)
+         * @see java.io.FilterInputStream#close()
+         */
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            zipFile.close();
+          }
+        }
+      }, BUFFER_SIZE);
+    } catch (IOException exc) {
+      zipFile.close();
+      throw exc;
+    }
+  }
+
+  /**
+   * Reads the manifest of a COMBINE archive without closing the given
+   * stream.
+   *
+   * @param in
+   *        the content of the manifest.
+   * @return the location within the archive of the SBML file that is marked
+   *         as master, of the first SBML file if none is, or {@code null} if
+   *         the manifest does not list any SBML file.
+   * @throws IOException
+   *         if the manifest cannot be parsed.
+   */
+  private static String readSBMLLocation(InputStream in) throws IOException {
+    String first = null;
+    try {
+      // without DTDs and external entities, as archives may come from anywhere
+      XMLStreamReader reader = SBMLIOConfiguration.getDefault().createXMLStreamReader(in);
+      try {
+        while (reader.hasNext()) {
+          if ((reader.next() != XMLStreamConstants.START_ELEMENT) || !reader.getLocalName().equals("content")) {
+            continue;
+          }
+          String location = reader.getAttributeValue(null, "location");
+          String format = reader.getAttributeValue(null, "format");
+          if ((location == null) || (format == null) || !format.startsWith(COMBINE_SBML_FORMAT)) {
+            continue;
+          }
+          // locations are relative to the root of the archive, e.g., ./model.xml
+          location = location.startsWith("./") ? location.substring(2)
+              : location.startsWith("/") ? location.substring(1) : location;
+          if (Boolean.parseBoolean(reader.getAttributeValue(null, "master"))) {
+            return location;
+          } else if (first == null) {
+            first = location;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException exc) {
+      throw new IOException(MessageFormat.format(
+        "Cannot read the manifest of the COMBINE archive: {0}", exc.getMessage()), exc);
+    }
+    return first;
+  }
+
+  /**
+   * Opens the given file for writing and compresses everything written to it
+   * according to the extension of its name: {@code .gz} leads to parallel
+   * gzip compression, {@code .zip} to a zip archive with one entry named like
+   * the file without the extension.
+   *
+   * @param file
+   * @return a stream that writes to the given file.
+   * @throws IOException
+   */
+  public static OutputStream openOutputStream(File file) throws IOException {
+    FileOutputStream out = new FileOutputStream(file);
+    String name = file.getName();
+    Format format = formatFromFileName(name);
+    switch (format) {
+    case GZIP:
+      return new ParallelGZIPOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+    case ZIP:
+      ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+      try {
+        zip.putNextEntry(new ZipEntry(name.substring(0, name.length() - format.getExtension().length())));
+      } catch (IOException exc) {
+        zip.close();
+        throw exc;
+      }
+      return zip;
+    default:
+      return new BufferedOutputStream(out);
+    }
+  }
+
+  /**
+   * @param entry
+   * @return {@code true} if the given entry of a zip archive is a candidate
+   *         for containing SBML.
+   */
+  private static boolean isSBMLEntry(ZipEntry entry) {
+    if (entry.isDirectory()) {
+      return false;
+    }
+    String name = entry.getName();
+    String baseName = name.substring(name.lastIndexOf('/') + 1).toLowerCase(Locale.ENGLISH);
+    return !baseName.equals(COMBINE_MANIFEST) && (baseName.endsWith(".xml") || baseName.endsWith(".sbml"));
+  }
+
+  /**
+   * Constructor that should not be used; this class provides static methods
+   * only.
+   */
+  private CompressionTools() {
+  }
+
+}
@@ -0,0 +1,622 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.text.MessageFormat;
+import java.util.Set;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.FunctionDefinition;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.util.converters.ExpandFunctionDefinitionConverter;
+
+/**
+ * Computes symbolic partial derivatives of {@link ASTNode}s.
+ * <p>
+ * Calls of {@link FunctionDefinition}s are expanded before the
+ * differentiation, if a {@link Model} is given. The result is simplified
+ * while it is built: terms that are zero are dropped, factors that are one
+ * are omitted and operations on numbers are evaluated, so that, e.g., the
+ * derivative of {@code k * S} with respect to {@code S} is just {@code k}.
+ * <p>
+ * Functions that are piecewise constant, such as {@code floor}, relational
+ * and logical operators, have the derivative zero wherever it is defined.
+ * The derivative of {@code piecewise} is the {@code piecewise} of the
+ * derivatives of its pieces under the same conditions, and {@code abs},
+ * {@code max} and {@code min} are differentiated piecewise as well. Lambda
+ * expressions, {@code rateOf}, unknown csymbols and the factorial of a
+ * non-constant expression cannot be differentiated and lead to an
+ * {@link IllegalArgumentException}.
+ * <p>
+ * The given expressions are never modified, and the derivatives do not share
+ * any node with them.
+ *
+ * @since 1.7
+ */
+public class Differentiator {
+
+  /**
+   * The model whose {@link FunctionDefinition}s are expanded, can be
+   * {@code null}.
+   */
+  private final Model model;
+
+  /**
+   * Creates a differentiator that does not expand any
+   * {@link FunctionDefinition}; calls of user-defined functions cannot be
+   * differentiated.
+   */
+  public Differentiator() {
+    this(null);
+  }
+
+  /**
+   * Creates a differentiator that expands the {@link FunctionDefinition}s of
+   * the given model.
+   *
+   * @param model
+   *        can be {@code null}.
+   */
+  public Differentiator(Model model) {
+    this.model = model;
+  }
+
+  /**
+   * Returns the partial derivative of the given expression with respect to
+   * the given identifier.
+   *
+   * @param math
+   *        the expression, which is not modified.
+   * @param variable
+   *        the identifier.
+   * @return a new simplified expression.
+   * @throws IllegalArgumentException
+   *         if the expression contains elements that cannot be
+   *         differentiated.
+   */
+  public ASTNode differentiate(ASTNode math, String variable) {
+    return derive(expand(math), variable);
+  }
+
+  /**
+   * Returns a copy of the given expression in which all calls of
+   * {@link FunctionDefinition}s of the model are expanded. Use this method
+   * together with {@link #derive(ASTNode, String)} when an expression must be
+   * differentiated with respect to several variables.
+   *
+   * @param math
+   *        the expression, which is not modified.
+   * @return a new expression.
+   */
+  public ASTNode expand(ASTNode math) {
+    ASTNode copy = math.clone();
+    if ((model != null) && (model.getFunctionDefinitionCount() > 0)) {
+      copy = ExpandFunctionDefinitionConverter.expandFunctionDefinition(model, copy);
+    }
+    return copy;
+  }
+
+  /**
+   * Returns the partial derivative of the given expression with respect to
+   * the given identifier without expanding {@link FunctionDefinition}s first.
+   *
+   * @param u
+   *        the expression, which is not modified.
+   * @param x
+   *        the identifier.
+   * @return a new simplified expression.
+   * @throws IllegalArgumentException
+   *         if the expression contains elements that cannot be
+   *         differentiated.
+   */
+  public ASTNode derive(ASTNode u, String x) {
+    if (!dependsOn(u, x)) {
+      return number(0d);
+    }
+    switch (u.getType()) {
+    case NAME:
+      return number(x.equals(u.getName()) ? 1d : 0d);
+
+    case PLUS: {
+      ASTNode sum = number(0d);
+      for (ASTNode child : u.getChildren()) {
+        sum = plus(sum, derive(child, x));
+      }
+      return sum;
+    }
+    case MINUS: {
+      if (u.getChildCount() == 1) {
+        return uMinus(derive(u.getChild(0), x));
+      }
+      ASTNode difference = derive(u.getChild(0), x);
+      for (int i = 1; i < u.getChildCount(); i++) {
+        difference = minus(difference, derive(u.getChild(i), x));
+      }
+      return difference;
+    }
+    case TIMES: {
+      // product rule
+      ASTNode sum = number(0d);
+      for (int i = 0; i < u.getChildCount(); i++) {
+        ASTNode term = derive(u.getChild(i), x);
+        for (int j = 0; j < u.getChildCount(); j++) {
+          if (j != i) {
+            term = times(term, copy(u.getChild(j)));
+          }
+        }
+        sum = plus(sum, term);
+      }
+      return sum;
+    }
+    case DIVIDE: {
+      ASTNode f = u.getChild(0), g = u.getChild(1);
+      ASTNode df = derive(f, x), dg = derive(g, x);
+      if (dg.isZero()) {
+        return divide(df, copy(g));
+      }
+      // (f' g - f g') / g^2
+      return divide(minus(times(df, copy(g)), times(copy(f), dg)), pow(copy(g), number(2d)));
+    }
+    case POWER:
+    case FUNCTION_POWER:
+      return derivePower(u.getChild(0), u.getChild(1), x);
+    case FUNCTION_ROOT: {
+      if (u.getChildCount() == 1) {
+        return divide(derive(u.getChild(0), x), times(number(2d), copy(u)));
+      }
+      ASTNode exponent = divide(number(1d), copy(u.getChild(0)));
+      return derivePower(u.getChild(1), exponent, x);
+    }
+    case FUNCTION_EXP:
+      return times(copy(u), derive(u.getChild(0), x));
+    case FUNCTION_LN:
+      return divide(derive(u.getChild(0), x), copy(u.getChild(0)));
+    case FUNCTION_LOG: {
+      ASTNode base = u.getChildCount() == 2 ? copy(u.getChild(0)) : number(10d);
+      ASTNode value = u.getChild(u.getChildCount() - 1);
+      ASTNode quotient = divide(function(Type.FUNCTION_LN, copy(value)), function(Type.FUNCTION_LN, base));
+      return derive(quotient, x);
+    }
+    case FUNCTION_ABS: {
+      ASTNode arg = u.getChild(0);
+      ASTNode d = derive(arg, x);
+      return piecewise(copy(d), relational(Type.RELATIONAL_GEQ, copy(arg), number(0d)), uMinus(d));
+    }
+
+    case FUNCTION_SIN:
+      return chain(u, function(Type.FUNCTION_COS, copy(u.getChild(0))), x);
+    case FUNCTION_COS:
+      return chain(u, uMinus(function(Type.FUNCTION_SIN, copy(u.getChild(0)))), x);
+    case FUNCTION_TAN:
+      return chain(u, pow(function(Type.FUNCTION_SEC, copy(u.getChild(0))), number(2d)), x);
+    case FUNCTION_SEC:
+      return chain(u, times(copy(u), function(Type.FUNCTION_TAN, copy(u.getChild(0)))), x);
+    case FUNCTION_CSC:
+      return chain(u, uMinus(times(copy(u), function(Type.FUNCTION_COT, copy(u.getChild(0))))), x);
+    case FUNCTION_COT:
+      return chain(u, uMinus(pow(function(Type.FUNCTION_CSC, copy(u.getChild(0))), number(2d))), x);
+    case FUNCTION_ARCSIN:
+      return chain(u, divide(number(1d), sqrt(minus(number(1d), square(u.getChild(0))))), x);
+    case FUNCTION_ARCCOS:
+      return chain(u, uMinus(divide(number(1d), sqrt(minus(number(1d), square(u.getChild(0)))))), x);
+    case FUNCTION_ARCTAN:
+      return chain(u, divide(number(1d), plus(number(1d), square(u.getChild(0)))), x);
+    case FUNCTION_ARCCOT:
+      return chain(u, uMinus(divide(number(1d), plus(number(1d), square(u.getChild(0))))), x);
+    case FUNCTION_ARCSEC:
+      return chain(u, divide(number(1d), times(function(Type.FUNCTION_ABS, copy(u.getChild(0))),
+        sqrt(minus(square(u.getChild(0)), number(1d))))), x);
+    case FUNCTION_ARCCSC:
+      return chain(u, uMinus(divide(number(1d), times(function(Type.FUNCTION_ABS, copy(u.getChild(0))),
+        sqrt(minus(square(u.getChild(0)), number(1d)))))), x);
+
+    case FUNCTION_SINH:
+      return chain(u, function(Type.FUNCTION_COSH, copy(u.getChild(0))), x);
+    case FUNCTION_COSH:
+      return chain(u, function(Type.FUNCTION_SINH, copy(u.getChild(0))), x);
+    case FUNCTION_TANH:
+      return chain(u, pow(function(Type.FUNCTION_SECH, copy(u.getChild(0))), number(2d)), x);
+    case FUNCTION_SECH:
+      return chain(u, uMinus(times(copy(u), function(Type.FUNCTION_TANH, copy(u.getChild(0))))), x);
+    case FUNCTION_CSCH:
+      return chain(u, uMinus(times(copy(u), function(Type.FUNCTION_COTH, copy(u.getChild(0))))), x);
+    case FUNCTION_COTH:
+      return chain(u, uMinus(pow(function(Type.FUNCTION_CSCH, copy(u.getChild(0))), number(2d))), x);
+    case FUNCTION_ARCSINH:
+      return chain(u, divide(number(1d), sqrt(plus(square(u.getChild(0)), number(1d)))), x);
+    case FUNCTION_ARCCOSH:
+      return chain(u, divide(number(1d), sqrt(minus(square(u.getChild(0)), number(1d)))), x);
+    case FUNCTION_ARCTANH:
+    case FUNCTION_ARCCOTH:
+      return chain(u, divide(number(1d), minus(number(1d), square(u.getChild(0)))), x);
+    case FUNCTION_ARCSECH:
+      return chain(u, uMinus(divide(number(1d), times(copy(u.getChild(0)),
+        sqrt(minus(number(1d), square(u.getChild(0))))))), x);
+    case FUNCTION_ARCCSCH:
+      return chain(u, uMinus(divide(number(1d), times(function(Type.FUNCTION_ABS, copy(u.getChild(0))),
+        sqrt(plus(number(1d), square(u.getChild(0))))))), x);
+
+    case FUNCTION_PIECEWISE: {
+      ASTNode piecewise = new ASTNode(Type.FUNCTION_PIECEWISE);
+      boolean allZero = true;
+      for (int i = 0; i < u.getChildCount(); i++) {
+        ASTNode child;
+        if ((i % 2 == 0)) {
+          // a value, including the otherwise value if the number of children is odd
+          child = derive(u.getChild(i), x);
+          allZero &= child.isZero();
+        } else {
+          child = copy(u.getChild(i));
+        }
+        piecewise.addChild(child);
+      }
+      return allZero ? number(0d) : piecewise;
+    }
+    case FUNCTION_MAX:
+    case FUNCTION_MIN: {
+      // the derivative of the argument that is the maximum (minimum)
+      Type comparison = u.getType() == Type.FUNCTION_MAX ? Type.RELATIONAL_GEQ : Type.RELATIONAL_LEQ;
+      ASTNode piecewise = new ASTNode(Type.FUNCTION_PIECEWISE);
+      int n = u.getChildCount();
+      for (int i = 0; i < n - 1; i++) {
+        piecewise.addChild(derive(u.getChild(i), x));
+        ASTNode condition = new ASTNode(Type.LOGICAL_AND);
+        for (int j = i + 1; j < n; j++) {
+          condition.addChild(relational(comparison, copy(u.getChild(i)), copy(u.getChild(j))));
+        }
+        piecewise.addChild(condition.getChildCount() == 1 ? condition.getChild(0).clone() : condition);
+      }
+      piecewise.addChild(derive(u.getChild(n - 1), x));
+      return n == 1 ? piecewise.getChild(0).clone() : piecewise;
+    }
+    case FUNCTION_REM: {
+      // rem(a, b) = a - b * quotient(a, b)
+      ASTNode quotient = new ASTNode(Type.FUNCTION_QUOTIENT);
+      quotient.addChild(copy(u.getChild(0)));
+      quotient.addChild(copy(u.getChild(1)));
+      return minus(derive(u.getChild(0), x), times(derive(u.getChild(1), x), quotient));
+    }
+    case FUNCTION_DELAY: {
+      // assuming that the delay itself does not depend on the variable
+      ASTNode d = derive(u.getChild(0), x);
+      if (d.isZero()) {
+        return d;
+      }
+      ASTNode delay = new ASTNode(Type.FUNCTION_DELAY);
+      delay.addChild(d);
+      delay.addChild(copy(u.getChild(1)));
+      return delay;
+    }
+    case VECTOR: {
+      ASTNode vector = new ASTNode(Type.VECTOR);
+      for (ASTNode child : u.getChildren()) {
+        vector.addChild(derive(child, x));
+      }
+      return vector;
+    }
+
+    case FUNCTION_CEILING:
+    case FUNCTION_FLOOR:
+    case FUNCTION_QUOTIENT:
+    case LOGICAL_AND:
+    case LOGICAL_IMPLIES:
+    case LOGICAL_NOT:
+    case LOGICAL_OR:
+    case LOGICAL_XOR:
+    case RELATIONAL_EQ:
+    case RELATIONAL_GEQ:
+    case RELATIONAL_GT:
+    case RELATIONAL_LEQ:
+    case RELATIONAL_LT:
+    case RELATIONAL_NEQ:
+      // piecewise constant
+      return number(0d);
+
+    default:
+      throw new IllegalArgumentException(MessageFormat.format(
+        "Cannot differentiate {0} with respect to {1}: {2}", u.getType(), x, u));
+    }
+  }
+
+  /**
+   * Applies the chain rule for a function of one argument.
+   *
+   * @param u
+   *        the function call.
+   * @param outer
+   *        the derivative of the function at the argument.
+   * @param x
+   * @return the derivative of u.
+   */
+  private ASTNode chain(ASTNode u, ASTNode outer, String x) {
+    return times(outer, derive(u.getChild(0), x));
+  }
+
+  /**
+   * @param base
+   * @param exponent
+   * @param x
+   * @return the derivative of {@code base^exponent}.
+   */
+  private ASTNode derivePower(ASTNode base, ASTNode exponent, String x) {
+    ASTNode dBase = derive(base, x);
+    ASTNode dExponent = derive(exponent, x);
+    if (dExponent.isZero()) {
+      // n * u^(n - 1) * u'
+      return times(times(copy(exponent), pow(copy(base), minus(copy(exponent), number(1d)))), dBase);
+    }
+    ASTNode power = pow(copy(base), copy(exponent));
+    ASTNode lnBase = function(Type.FUNCTION_LN, copy(base));
+    if (dBase.isZero()) {
+      // u^v * ln(u) * v'
+      return times(times(power, lnBase), dExponent);
+    }
+    // u^v * (v' * ln(u) + v * u' / u)
+    return times(power, plus(times(dExponent, lnBase), divide(times(copy(exponent), dBase), copy(base))));
+  }
+
+  /**
+   * @param math
+   * @param x
+   * @return {@code true} if the given identifier occurs in the expression
+   *         or if the expression contains a call of a user-defined function,
+   *         which cannot be analyzed.
+   */
+  public static boolean dependsOn(ASTNode math, String x) {
+    if ((math.getType() == Type.NAME) && x.equals(math.getName())) {
+      return true;
+    }
+    if ((math.getType() == Type.FUNCTION) || (math.getType() == Type.LAMBDA)
+        || (math.getType() == Type.FUNCTION_RATE_OF) || (math.getType() == Type.FUNCTION_CSYMBOL)) {
+      // cannot be decided here
+      return true;
+    }
+    for (int i = 0; i < math.getChildCount(); i++) {
+      if (dependsOn(math.getChild(i), x)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds the identifiers used in the given expression to the set.
+   *
+   * @param math
+   * @param names
+   */
+  public static void collectNames(ASTNode math, Set<String> names) {
+    if ((math.getType() == Type.NAME) && (math.getName() != null)) {
+      names.add(math.getName());
+    }
+    for (int i = 0; i < math.getChildCount(); i++) {
+      collectNames(math.getChild(i), names);
+    }
+  }
+
+  /**
+   * @param math
+   * @return a copy of a part of the original expression.
+   */
+  private static ASTNode copy(ASTNode math) {
+    return math.clone();
+  }
+
+  /**
+   * @param a
+   * @param b
+   * @return {@code a / b}, simplified.
+   */
+  private static ASTNode divide(ASTNode a, ASTNode b) {
+    if (a.isZero() || b.isOne()) {
+      return a;
+    }
+    if (a.isNumber() && b.isNumber() && !b.isZero()) {
+      return number(a.getReal() / b.getReal());
+    }
+    ASTNode divide = new ASTNode(Type.DIVIDE);
+    divide.addChild(a);
+    divide.addChild(b);
+    return divide;
+  }
+
+  /**
+   * @param type
+   * @param argument
+   * @return a call of a function with one argument.
+   */
+  private static ASTNode function(Type type, ASTNode argument) {
+    ASTNode function = new ASTNode(type);
+    function.addChild(argument);
+    return function;
+  }
+
+  /**
+   * @param a
+   * @param b
+   * @return {@code a - b}, simplified.
+   */
+  private static ASTNode minus(ASTNode a, ASTNode b) {
+    if (b.isZero()) {
+      return a;
+    }
+    if (a.isZero()) {
+      return uMinus(b);
+    }
+    if (a.isNumber() && b.isNumber()) {
+      return number(a.getReal() - b.getReal());
+    }
+    ASTNode minus = new ASTNode(Type.MINUS);
+    minus.addChild(a);
+    minus.addChild(b);
+    return minus;
+  }
+
+  /**
+   * @param value
+   * @return an integer node if the value is integral, a real node otherwise.
+   */
+  private static ASTNode number(double value) {
+    if ((value == Math.rint(value)) && (Math.abs(value) <= Integer.MAX_VALUE)) {
+      return new ASTNode((int) value);
+    }
+    return new ASTNode(value);
+  }
+
+  /**
+   * @param value
+   * @param condition
+   * @param otherwise
+   * @return a piecewise function with one piece, simplified.
+   */
+  private static ASTNode piecewise(ASTNode value, ASTNode condition, ASTNode otherwise) {
+    if (value.isZero() && otherwise.isZero()) {
+      return value;
+    }
+    ASTNode piecewise = new ASTNode(Type.FUNCTION_PIECEWISE);
+    piecewise.addChild(value);
+    piecewise.addChild(condition);
+    piecewise.addChild(otherwise);
+    return piecewise;
+  }
+
+  /**
+   * @param a
+   * @param b
+   * @return {@code a + b}, simplified.
+   */
+  private static ASTNode plus(ASTNode a, ASTNode b) {
+    if (a.isZero()) {
+      return b;
+    }
+    if (b.isZero()) {
+      return a;
+    }
+    if (a.isNumber() && b.isNumber()) {
+      return number(a.getReal() + b.getReal());
+    }
+    if (a.getType() == Type.PLUS) {
+      // a is always a new node
+      a.addChild(b);
+      return a;
+    }
+    ASTNode plus = new ASTNode(Type.PLUS);
+    plus.addChild(a);
+    plus.addChild(b);
+    return plus;
+  }
+
+  /**
+   * @param base
+   * @param exponent
+   * @return {@code base^exponent}, simplified.
+   */
+  private static ASTNode pow(ASTNode base, ASTNode exponent) {
+    if (exponent.isZero()) {
+      return number(1d);
+    }
+    if (exponent.isOne() || base.isOne()) {
+      return base;
+    }
+    if (base.isNumber() && exponent.isNumber()) {
+      return number(Math.pow(base.getReal(), exponent.getReal()));
+    }
+    ASTNode pow = new ASTNode(Type.POWER);
+    pow.addChild(base);
+    pow.addChild(exponent);
+    return pow;
+  }
+
+  /**
+   * @param type
+   * @param left
+   * @param right
+   * @return a relational operator.
+   */
+  private static ASTNode relational(Type type, ASTNode left, ASTNode right) {
+    ASTNode relational = new ASTNode(type);
+    relational.addChild(left);
+    relational.addChild(right);
+    return relational;
+  }
+
+  /**
+   * @param u
+   * @return a copy of u squared.
+   */
+  private static ASTNode square(ASTNode u) {
+    return pow(copy(u), number(2d));
+  }
+
+  /**
+   * @param u
+   * @return the square root of u.
+   */
+  private static ASTNode sqrt(ASTNode u) {
+    return function(Type.FUNCTION_ROOT, u);
+  }
+
+  /**
+   * @param a
+   * @param b
+   * @return {@code a * b}, simplified.
+   */
+  private static ASTNode times(ASTNode a, ASTNode b) {
+    if (a.isZero() || b.isOne()) {
+      return a;
+    }
+    if (b.isZero() || a.isOne()) {
+      return b;
+    }
+    if (a.isNumber() && b.isNumber()) {
+      return number(a.getReal() * b.getReal());
+    }
+    if (a.isNumber() && (a.getReal() == -1d)) {
+      return uMinus(b);
+    }
+    if (b.isNumber() && (b.getReal() == -1d)) {
+      return uMinus(a);
+    }
+    ASTNode times = new ASTNode(Type.TIMES);
+    times.addChild(a);
+    times.addChild(b);
+    return times;
+  }
+
+  /**
+   * @param a
+   * @return {@code -a}, simplified.
+   */
+  private static ASTNode uMinus(ASTNode a) {
+    if (a.isNumber()) {
+      return number(-a.getReal());
+    }
+    if (a.isUMinus()) {
+      ASTNode child = a.getChild(0);
+      a.removeChild(0);
+      return child;
+    }
+    ASTNode minus = new ASTNode(Type.MINUS);
+    minus.addChild(a);
+    return minus;
+  }
+
+}
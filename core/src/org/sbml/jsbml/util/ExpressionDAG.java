@@ -0,0 +1,711 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.LocalParameter;
+import org.sbml.jsbml.MathContainer;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBase;
+
+/**
+ * A directed acyclic graph in which structurally identical sub-expressions of
+ * any number of {@link ASTNode}s are represented by one single, immutable
+ * {@link Node} (hash-consing).
+ * <p>
+ * {@link ASTNode}s cannot be shared between several parents because each of
+ * them points to its parent and its {@link MathContainer}. This class
+ * therefore builds a separate representation of the math, e.g., of a whole
+ * {@link Model} with {@link #create(Model)}, in which every distinct
+ * sub-expression exists exactly once, no matter how often it occurs in the
+ * model. The {@link Node}s are kept in a topological order, children before
+ * parents, so that evaluators and code generators can compute every
+ * sub-expression only once by {@link #evaluate(NodeVisitor)} or by walking
+ * {@link #getNodes()}, and detect common sub-expressions with
+ * {@link #getUseCount(Node)}.
+ * <p>
+ * Identifiers are compared by name, except for the identifiers of local
+ * parameters, which are only equal within their {@link KineticLaw}, and of
+ * the arguments of lambda expressions, which are only equal within their
+ * {@link MathContainer}; see {@link Node#getScope()}.
+ * <p>
+ * Building the graph is not thread-safe, but the {@link Node}s are immutable
+ * and can be shared freely between threads once created.
+ *
+ * @since 1.7
+ */
+public class ExpressionDAG {
+
+  /**
+   * An immutable node of an {@link ExpressionDAG}. Two nodes of the same
+   * graph are structurally equal if and only if they are identical.
+   *
+   * @since 1.7
+   */
+  public static final class Node {
+
+    /**
+     * The children.
+     */
+    private final Node[] children;
+
+    /**
+     * The definitionURL of csymbols.
+     */
+    private final String definitionURL;
+
+    /**
+     * The denominator of rational numbers.
+     */
+    private final int denominator;
+
+    /**
+     * The exponent of numbers in e-notation.
+     */
+    private final int exponent;
+
+    /**
+     * The hash code, computed once.
+     */
+    private final int hashCode;
+
+    /**
+     * The position of this node in the topological order of its graph.
+     */
+    private final int index;
+
+    /**
+     * The value of real numbers or the mantissa of numbers in e-notation.
+     */
+    private final double mantissa;
+
+    /**
+     * The name of identifiers, functions and csymbols.
+     */
+    private final String name;
+
+    /**
+     * The value of integers or the numerator of rational numbers.
+     */
+    private final int numerator;
+
+    /**
+     * The element within which the name of this node is defined, {@code null}
+     * for global identifiers.
+     */
+    private final SBase scope;
+
+    /**
+     * The type.
+     */
+    private final Type type;
+
+    /**
+     * The units of numbers.
+     */
+    private final String units;
+
+    /**
+     * Creates a node from the attributes of the given {@link ASTNode}.
+     *
+     * @param ast
+     * @param scope
+     * @param children
+     * @param index
+     */
+    private Node(ASTNode ast, SBase scope, Node[] children, int index) {
+      type = ast.getType();
+      this.scope = scope;
+      this.children = children;
+      this.index = index;
+      int numerator = 0, denominator = 0, exponent = 0;
+      double mantissa = 0d;
+      switch (type) {
+      case INTEGER:
+        numerator = ast.getInteger();
+        break;
+      case RATIONAL:
+        numerator = ast.getNumerator();
+        denominator = ast.getDenominator();
+        break;
+      case REAL:
+        mantissa = ast.getMantissa();
+        break;
+      case REAL_E:
+        mantissa = ast.getMantissa();
+        exponent = ast.getExponent();
+        break;
+      default:
+        break;
+      }
+      this.numerator = numerator;
+      this.denominator = denominator;
+      this.mantissa = mantissa;
+      this.exponent = exponent;
+      name = ast.isName() || ast.isFunction() || (type == Type.NAME_TIME) || (type == Type.NAME_AVOGADRO) ? ast.getName() : null;
+      units = ast.isSetUnits() ? ast.getUnits() : null;
+      definitionURL = ast.isSetDefinitionURL() ? ast.getDefinitionURL() : null;
+      hashCode = computeHashCode();
+    }
+
+    /**
+     * @return the hash code of this node, which only depends on the
+     *         identity of its children.
+     */
+    private int computeHashCode() {
+      final int prime = 31;
+      int result = type.hashCode();
+      result = prime * result + (name == null ? 0 : name.hashCode());
+      result = prime * result + System.identityHashCode(scope);
+      result = prime * result + numerator;
+      result = prime * result + denominator;
+      result = prime * result + exponent;
+      long bits = Double.doubleToLongBits(mantissa);
+      result = prime * result + (int) (bits ^ (bits >>> 32));
+      result = prime * result + (units == null ? 0 : units.hashCode());
+      result = prime * result + (definitionURL == null ? 0 : definitionURL.hashCode());
+      for (Node child : children) {
+        result = prime * result + System.identityHashCode(child);
+      }
+      return result;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Node)) {
+        return false;
+      }
+      Node other = (Node) obj;
+      if ((hashCode != other.hashCode) || (type != other.type) || (scope != other.scope)
+          || (numerator != other.numerator) || (denominator != other.denominator)
+          || (exponent != other.exponent)
+          || (Double.doubleToLongBits(mantissa) != Double.doubleToLongBits(other.mantissa))
+          || (children.length != other.children.length)
+          || !equal(name, other.name) || !equal(units, other.units)
+          || !equal(definitionURL, other.definitionURL)) {
+        return false;
+      }
+      // the children are already unique, therefore identity is enough
+      for (int i = 0; i < children.length; i++) {
+        if (children[i] != other.children[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @param child
+     *        the index of the child.
+     * @return the child at the given index.
+     */
+    public Node getChild(int child) {
+      return children[child];
+    }
+
+    /**
+     * @return the number of children.
+     */
+    public int getChildCount() {
+      return children.length;
+    }
+
+    /**
+     * @return the definitionURL of a csymbol, {@code null} if not set.
+     */
+    public String getDefinitionURL() {
+      return definitionURL;
+    }
+
+    /**
+     * @return the denominator of a rational number.
+     */
+    public int getDenominator() {
+      return denominator;
+    }
+
+    /**
+     * @return the exponent of a number in e-notation.
+     */
+    public int getExponent() {
+      return exponent;
+    }
+
+    /**
+     * @return the position of this node in {@link ExpressionDAG#getNodes()}.
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * @return the value of an integer.
+     */
+    public int getInteger() {
+      return numerator;
+    }
+
+    /**
+     * @return the value of a real number or the mantissa of a number in
+     *         e-notation.
+     */
+    public double getMantissa() {
+      return mantissa;
+    }
+
+    /**
+     * @return the name of an identifier, function or csymbol, {@code null}
+     *         for all other types.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the numerator of a rational number.
+     */
+    public int getNumerator() {
+      return numerator;
+    }
+
+    /**
+     * Returns the element that defines the name of this node if it is not
+     * a global identifier: the {@link KineticLaw} for its local parameters or
+     * the {@link MathContainer} for the arguments of a lambda expression.
+     *
+     * @return the scope of the name of this node, {@code null} for global
+     *         identifiers and all other nodes.
+     */
+    public SBase getScope() {
+      return scope;
+    }
+
+    /**
+     * @return the type.
+     */
+    public Type getType() {
+      return type;
+    }
+
+    /**
+     * @return the units of a number, {@code null} if not set.
+     */
+    public String getUnits() {
+      return units;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    /**
+     * Creates a new {@link ASTNode} tree for the expression rooted at this
+     * node. Shared sub-expressions are copied for every occurrence.
+     *
+     * @return a new {@link ASTNode} that is not part of any model.
+     */
+    public ASTNode toASTNode() {
+      ASTNode ast;
+      switch (type) {
+      case INTEGER:
+        ast = new ASTNode(numerator);
+        break;
+      case RATIONAL:
+        ast = new ASTNode();
+        ast.setValue(numerator, denominator);
+        break;
+      case REAL:
+        ast = new ASTNode(mantissa);
+        break;
+      case REAL_E:
+        ast = new ASTNode();
+        ast.setValue(mantissa, exponent);
+        break;
+      default:
+        ast = new ASTNode(type);
+        if (name != null) {
+          ast.setName(name);
+        }
+        break;
+      }
+      if (definitionURL != null) {
+        ast.setDefinitionURL(definitionURL);
+      }
+      if (units != null) {
+        ast.setUnits(units);
+      }
+      for (Node child : children) {
+        ast.addChild(child.toASTNode());
+      }
+      return ast;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return MessageFormat.format("Node [index={0}, type={1}, name={2}, children={3}]",
+        index, type, name, children.length);
+    }
+
+  }
+
+  /**
+   * Computes a value for every {@link Node} of an {@link ExpressionDAG}, see
+   * {@link ExpressionDAG#evaluate(NodeVisitor)}.
+   *
+   * @param <T>
+   *        the type of the values.
+   * @since 1.7
+   */
+  public interface NodeVisitor<T> {
+
+    /**
+     * Computes the value of a node from the values of its children.
+     *
+     * @param node
+     *        the node.
+     * @param children
+     *        the values computed before for the children of the node, in the
+     *        order of the children.
+     * @return the value of the node.
+     */
+    public T visit(Node node, List<T> children);
+
+  }
+
+  /**
+   * The {@link MathContainer}s of a model, without descending into their
+   * {@link ASTNode}s.
+   *
+   * @param node
+   * @param containers
+   */
+  private static void collectMathContainers(TreeNode node, List<MathContainer> containers) {
+    if (node instanceof ASTNode) {
+      return;
+    }
+    if ((node instanceof MathContainer) && ((MathContainer) node).isSetMath()) {
+      containers.add((MathContainer) node);
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      collectMathContainers(node.getChildAt(i), containers);
+    }
+  }
+
+  /**
+   * Creates the graph of all the math of the given model, i.e., of every
+   * {@link MathContainer} within the model, including those of SBML
+   * Level&nbsp;3 packages.
+   *
+   * @param model
+   * @return the graph of the math of the model.
+   */
+  public static ExpressionDAG create(Model model) {
+    List<MathContainer> containers = new ArrayList<MathContainer>();
+    collectMathContainers(model, containers);
+    ExpressionDAG dag = new ExpressionDAG();
+    for (MathContainer container : containers) {
+      dag.add(container);
+    }
+    return dag;
+  }
+
+  /**
+   * @param a
+   * @param b
+   * @return {@code true} if both are {@code null} or equal.
+   */
+  private static boolean equal(Object a, Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+  /**
+   * The unique instance of every {@link Node}.
+   */
+  private final Map<Node, Node> nodes = new HashMap<Node, Node>();
+
+  /**
+   * All nodes in topological order.
+   */
+  private final List<Node> order = new ArrayList<Node>();
+
+  /**
+   * The root of the math of every {@link MathContainer} added.
+   */
+  private final Map<MathContainer, Node> roots = new LinkedHashMap<MathContainer, Node>();
+
+  /**
+   * The number of references to each node, by index.
+   */
+  private int[] useCounts = new int[64];
+
+  /**
+   * The number of {@link ASTNode}s added in total.
+   */
+  private long treeSize;
+
+  /**
+   * Adds the math of the given {@link MathContainer}.
+   *
+   * @param container
+   * @return the root of the math, {@code null} if the math is not set.
+   */
+  public Node add(MathContainer container) {
+    if (!container.isSetMath()) {
+      return null;
+    }
+    Set<String> localParameters = Collections.emptySet();
+    if ((container instanceof KineticLaw) && ((KineticLaw) container).isSetListOfLocalParameters()) {
+      localParameters = new HashSet<String>();
+      for (LocalParameter parameter : ((KineticLaw) container).getListOfLocalParameters()) {
+        localParameters.add(parameter.getId());
+      }
+    }
+    Node root = intern(container.getMath(), container, localParameters, Collections.<String>emptySet());
+    roots.put(container, root);
+    incrementUseCount(root);
+    return root;
+  }
+
+  /**
+   * Adds the given expression without any scope, i.e., all its identifiers
+   * are considered global ones.
+   *
+   * @param math
+   * @return the root of the expression.
+   */
+  public Node add(ASTNode math) {
+    Node root = intern(math, null, Collections.<String>emptySet(), Collections.<String>emptySet());
+    incrementUseCount(root);
+    return root;
+  }
+
+  /**
+   * Computes a value for every node of this graph, visiting each node exactly
+   * once and only after all its children.
+   *
+   * @param visitor
+   * @return the values of all nodes, indexed by {@link Node#getIndex()}.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> evaluate(NodeVisitor<T> visitor) {
+    Object[] values = new Object[order.size()];
+    for (Node node : order) {
+      Object[] children = new Object[node.children.length];
+      for (int i = 0; i < children.length; i++) {
+        children[i] = values[node.children[i].index];
+      }
+      values[node.index] = visitor.visit(node, (List<T>) Arrays.asList(children));
+    }
+    return (List<T>) Arrays.asList(values);
+  }
+
+  /**
+   * @return the number of distinct nodes of this graph.
+   */
+  public int getNodeCount() {
+    return order.size();
+  }
+
+  /**
+   * @return all nodes of this graph in topological order, i.e., every node
+   *         comes after all its children.
+   */
+  public List<Node> getNodes() {
+    return Collections.unmodifiableList(order);
+  }
+
+  /**
+   * @param container
+   * @return the root of the math of the given {@link MathContainer}, or
+   *         {@code null} if it has not been added to this graph.
+   */
+  public Node getRoot(MathContainer container) {
+    return roots.get(container);
+  }
+
+  /**
+   * @return the roots of the math of all {@link MathContainer}s added, in the
+   *         order in which they were added.
+   */
+  public Map<MathContainer, Node> getRoots() {
+    return Collections.unmodifiableMap(roots);
+  }
+
+  /**
+   * @return the total number of {@link ASTNode}s that have been added; the
+   *         ratio between this number and {@link #getNodeCount()} tells how
+   *         much the math has been compressed.
+   */
+  public long getTreeSize() {
+    return treeSize;
+  }
+
+  /**
+   * Returns how many times the given node is referenced, either as the child
+   * of another distinct node or as the root of an expression added to this
+   * graph. Nodes that are referenced more than once are common
+   * sub-expressions.
+   *
+   * @param node
+   * @return the number of references to the node.
+   */
+  public int getUseCount(Node node) {
+    return useCounts[node.index];
+  }
+
+  /**
+   * @param node
+   */
+  private void incrementUseCount(Node node) {
+    useCounts[node.index]++;
+  }
+
+  /**
+   * Returns the unique node for the given expression, adding it and its
+   * sub-expressions to this graph if necessary. The expression is traversed
+   * with an {@link ASTNodeTraversal.Evaluator}, so that it can be nested
+   * arbitrarily deep.
+   *
+   * @param ast
+   * @param container
+   * @param localParameters
+   *        the identifiers of the local parameters of the container.
+   * @param arguments
+   *        the identifiers of the arguments of the enclosing lambda
+   *        expressions.
+   * @return the unique node.
+   */
+  private Node intern(ASTNode ast, final MathContainer container, final Set<String> localParameters, Set<String> arguments) {
+    // the arguments of the enclosing lambda expressions of the current node
+    final ArrayDeque<Set<String>> scopes = new ArrayDeque<Set<String>>();
+    scopes.push(arguments);
+    return ASTNodeTraversal.evaluate(ast, new ASTNodeTraversal.Evaluator<Node>() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Evaluator#enter(org.sbml.jsbml.ASTNode)
+       */
+      @Override
+      public void enter(ASTNode node) {
+        int childCount = node.getChildCount();
+        if ((node.getType() == Type.LAMBDA) && (childCount > 0)) {
+          Set<String> arguments = new HashSet<String>(scopes.peek());
+          for (int i = 0; i < childCount - 1; i++) {
+            arguments.add(node.getChild(i).getName());
+          }
+          scopes.push(arguments);
+        }
+      }
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Evaluator#evaluate(org.sbml.jsbml.ASTNode, java.util.List)
+       */
+      @Override
+      public Node evaluate(ASTNode node, List<Node> children) {
+        if ((node.getType() == Type.LAMBDA) && (node.getChildCount() > 0)) {
+          scopes.pop();
+        }
+        return intern(node, container, localParameters, scopes.peek(),
+          children.toArray(new Node[children.size()]));
+      }
+    });
+  }
+
+  /**
+   * Returns the unique node for the given expression, whose children have
+   * been added before.
+   *
+   * @param ast
+   * @param container
+   * @param localParameters
+   *        the identifiers of the local parameters of the container.
+   * @param arguments
+   *        the identifiers of the arguments of the enclosing lambda
+   *        expressions.
+   * @param children
+   *        the unique nodes of the children of the expression.
+   * @return the unique node.
+   */
+  private Node intern(ASTNode ast, MathContainer container, Set<String> localParameters, Set<String> arguments, Node[] children) {
+    treeSize++;
+
+    SBase scope = null;
+    if ((ast.getType() == Type.NAME) && (ast.getName() != null)) {
+      if (arguments.contains(ast.getName())) {
+        scope = (SBase) container;
+      } else if (localParameters.contains(ast.getName())) {
+        scope = (SBase) container;
+      }
+    }
+
+    Node node = new Node(ast, scope, children, order.size());
+    Node unique = nodes.get(node);
+    if (unique == null) {
+      unique = node;
+      nodes.put(node, node);
+      order.add(node);
+      if (useCounts.length < order.size()) {
+        useCounts = Arrays.copyOf(useCounts, 2 * useCounts.length);
+      }
+      for (Node child : children) {
+        incrementUseCount(child);
+      }
+    }
+    return unique;
+  }
+
+  /* (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return MessageFormat.format("ExpressionDAG [roots={0}, nodes={1}, treeSize={2}]",
+      roots.size(), order.size(), treeSize);
+  }
+
+}
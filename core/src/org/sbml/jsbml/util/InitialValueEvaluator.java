@@ -0,0 +1,398 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.InitialAssignment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.SpeciesReference;
+import org.sbml.jsbml.util.converters.FunctionDefinitionCache;
+
+/**
+ * Computes the initial values of all variables of a {@link Model} in one
+ * pass in the order given by its {@link ModelDependencyGraph}.
+ * <p>
+ * The value of a {@link Species} is its amount if it has only substance
+ * units, its concentration otherwise. Calls of function definitions are
+ * inlined, the time is 0 and {@code delay(x, d)} is the initial value of
+ * {@code x}. Boolean values are represented by 1 and 0. The value of a
+ * variable is {@link Double#NaN} if it is not defined, if it depends on
+ * itself, or if its math contains elements that cannot be evaluated, such
+ * as recursive function definitions or the rate of a variable.
+ *
+ * @since 1.7
+ */
+public class InitialValueEvaluator {
+
+  /**
+   * Evaluates math bottom-up, given the values of the variables.
+   */
+  private static final class Interpreter extends ASTNodeTraversal.Evaluator<Double> {
+
+    /**
+     * The dependency graph of the model.
+     */
+    private final ModelDependencyGraph graph;
+
+    /**
+     * The values of the variables computed so far.
+     */
+    private final double[] values;
+
+    /**
+     * @param graph
+     * @param values
+     */
+    private Interpreter(ModelDependencyGraph graph, double[] values) {
+      this.graph = graph;
+      this.values = values;
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.ASTNodeTraversal.Evaluator#evaluate(org.sbml.jsbml.ASTNode, java.util.List)
+     */
+    @Override
+    public Double evaluate(ASTNode node, List<Double> children) {
+      int n = children.size();
+      double x = n > 0 ? children.get(0) : Double.NaN;
+      double y = n > 1 ? children.get(1) : Double.NaN;
+      switch (node.getType()) {
+      case INTEGER:
+      case REAL:
+      case REAL_E:
+      case RATIONAL:
+      case CONSTANT_E:
+      case CONSTANT_PI:
+        return node.getReal();
+      case CONSTANT_TRUE:
+        return 1d;
+      case CONSTANT_FALSE:
+        return 0d;
+      case NAME_TIME:
+        return 0d;
+      case NAME_AVOGADRO: {
+        Model model = graph.getModel();
+        return Maths.getAvogadro(model.getLevel(), model.getVersion());
+      }
+      case NAME: {
+        int index = node.isSetName() ? graph.getIndex(node.getName()) : -1;
+        return index >= 0 ? values[index] : Double.NaN;
+      }
+      case PLUS:
+      case SUM: {
+        double sum = 0d;
+        for (Double child : children) {
+          sum += child;
+        }
+        return sum;
+      }
+      case MINUS: {
+        if (n == 1) {
+          return -x;
+        }
+        double difference = x;
+        for (int i = 1; i < n; i++) {
+          difference -= children.get(i);
+        }
+        return difference;
+      }
+      case TIMES:
+      case PRODUCT: {
+        double product = 1d;
+        for (Double child : children) {
+          product *= child;
+        }
+        return product;
+      }
+      case DIVIDE:
+        return x / y;
+      case POWER:
+      case FUNCTION_POWER:
+        return Math.pow(x, y);
+      case FUNCTION_ROOT:
+        return n == 1 ? Math.sqrt(x) : Maths.root(y, x);
+      case FUNCTION_EXP:
+        return Math.exp(x);
+      case FUNCTION_LN:
+        return Math.log(x);
+      case FUNCTION_LOG:
+        return n == 1 ? Math.log10(x) : Maths.log(y, x);
+      case FUNCTION_ABS:
+        return Math.abs(x);
+      case FUNCTION_FLOOR:
+        return Math.floor(x);
+      case FUNCTION_CEILING:
+        return Math.ceil(x);
+      case FUNCTION_FACTORIAL:
+        return (double) Maths.factorial((int) x);
+      case FUNCTION_SIN:
+        return Math.sin(x);
+      case FUNCTION_COS:
+        return Math.cos(x);
+      case FUNCTION_TAN:
+        return Math.tan(x);
+      case FUNCTION_SEC:
+        return Maths.sec(x);
+      case FUNCTION_CSC:
+        return Maths.csc(x);
+      case FUNCTION_COT:
+        return Maths.cot(x);
+      case FUNCTION_ARCSIN:
+        return Math.asin(x);
+      case FUNCTION_ARCCOS:
+        return Math.acos(x);
+      case FUNCTION_ARCTAN:
+        return Math.atan(x);
+      case FUNCTION_ARCSEC:
+        return Maths.arcsec(x);
+      case FUNCTION_ARCCSC:
+        return Maths.arccsc(x);
+      case FUNCTION_ARCCOT:
+        return Maths.arccot(x);
+      case FUNCTION_SINH:
+        return Math.sinh(x);
+      case FUNCTION_COSH:
+        return Math.cosh(x);
+      case FUNCTION_TANH:
+        return Math.tanh(x);
+      case FUNCTION_SECH:
+        return Maths.sech(x);
+      case FUNCTION_CSCH:
+        return Maths.csch(x);
+      case FUNCTION_COTH:
+        return Maths.coth(x);
+      case FUNCTION_ARCSINH:
+        return Maths.arcsinh(x);
+      case FUNCTION_ARCCOSH:
+        return Maths.arccosh(x);
+      case FUNCTION_ARCTANH:
+        return Maths.arctanh(x);
+      case FUNCTION_ARCSECH:
+        return Maths.arcsech(x);
+      case FUNCTION_ARCCSCH:
+        return Maths.arccsch(x);
+      case FUNCTION_ARCCOTH:
+        return Maths.arccoth(x);
+      case FUNCTION_MAX: {
+        double max = Double.NEGATIVE_INFINITY;
+        for (Double child : children) {
+          max = Math.max(max, child);
+        }
+        return max;
+      }
+      case FUNCTION_MIN: {
+        double min = Double.POSITIVE_INFINITY;
+        for (Double child : children) {
+          min = Math.min(min, child);
+        }
+        return min;
+      }
+      case FUNCTION_REM:
+        return x % y;
+      case FUNCTION_QUOTIENT: {
+        double quotient = x / y;
+        return quotient < 0 ? Math.ceil(quotient) : Math.floor(quotient);
+      }
+      case FUNCTION_DELAY:
+        // the value at time 0
+        return x;
+      case FUNCTION_PIECEWISE: {
+        for (int i = 1; i < n; i += 2) {
+          if (children.get(i) != 0d) {
+            return children.get(i - 1);
+          }
+        }
+        return n % 2 == 1 ? children.get(n - 1) : Double.NaN;
+      }
+      case RELATIONAL_EQ:
+      case RELATIONAL_NEQ:
+      case RELATIONAL_GEQ:
+      case RELATIONAL_GT:
+      case RELATIONAL_LEQ:
+      case RELATIONAL_LT: {
+        for (int i = 1; i < n; i++) {
+          if (!compare(node.getType(), children.get(i - 1), children.get(i))) {
+            return 0d;
+          }
+        }
+        return 1d;
+      }
+      case LOGICAL_AND: {
+        for (Double child : children) {
+          if (child == 0d) {
+            return 0d;
+          }
+        }
+        return 1d;
+      }
+      case LOGICAL_OR: {
+        for (Double child : children) {
+          if (child != 0d) {
+            return 1d;
+          }
+        }
+        return 0d;
+      }
+      case LOGICAL_XOR: {
+        boolean xor = false;
+        for (Double child : children) {
+          xor ^= child != 0d;
+        }
+        return xor ? 1d : 0d;
+      }
+      case LOGICAL_NOT:
+        return x == 0d ? 1d : 0d;
+      case LOGICAL_IMPLIES:
+        return (x == 0d) || (y != 0d) ? 1d : 0d;
+      default:
+        return Double.NaN;
+      }
+    }
+
+    /**
+     * @param type
+     *        a relational operator.
+     * @param x
+     * @param y
+     * @return whether {@code x} and {@code y} are in the given relation.
+     */
+    private static boolean compare(ASTNode.Type type, double x, double y) {
+      switch (type) {
+      case RELATIONAL_EQ:
+        return x == y;
+      case RELATIONAL_NEQ:
+        return x != y;
+      case RELATIONAL_GEQ:
+        return x >= y;
+      case RELATIONAL_GT:
+        return x > y;
+      case RELATIONAL_LEQ:
+        return x <= y;
+      default:
+        return x < y;
+      }
+    }
+
+  }
+
+  /**
+   * The dependency graph of the model.
+   */
+  private final ModelDependencyGraph graph;
+
+  /**
+   * @param model
+   */
+  public InitialValueEvaluator(Model model) {
+    graph = ModelDependencyGraph.get(model);
+  }
+
+  /**
+   * Computes the initial values of all variables.
+   * 
+   * @return the initial values, indexed like the variables of the
+   *         {@link ModelDependencyGraph} of the model.
+   */
+  public double[] evaluate() {
+    double[] values = new double[graph.getVariableCount()];
+    Arrays.fill(values, Double.NaN);
+    Interpreter interpreter = new Interpreter(graph, values);
+    FunctionDefinitionCache functions = FunctionDefinitionCache.get(graph.getModel());
+    for (int index : graph.getOrder()) {
+      SBase definition = graph.getDefinition(index);
+      if ((definition instanceof InitialAssignment) || (definition instanceof AssignmentRule)) {
+        ASTNode math = graph.getMath(index);
+        if (math != null) {
+          values[index] = ASTNodeTraversal.evaluate(functions.inline(math), interpreter);
+        }
+      } else {
+        values[index] = getValue(definition, values);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Computes the initial values of all variables.
+   * 
+   * @return the initial value of each variable by its id, in the order of
+   *         the variables of the {@link ModelDependencyGraph}.
+   */
+  public Map<String, Double> evaluateAll() {
+    double[] values = evaluate();
+    Map<String, Double> result = new LinkedHashMap<String, Double>();
+    for (int i = 0; i < values.length; i++) {
+      result.put(graph.getVariable(i).getId(), values[i]);
+    }
+    return result;
+  }
+
+  /**
+   * @return the dependency graph of the model.
+   */
+  public ModelDependencyGraph getDependencyGraph() {
+    return graph;
+  }
+
+  /**
+   * Returns the initial value given by the attributes of a variable.
+   * 
+   * @param variable
+   * @param values
+   *        the values computed so far.
+   * @return the initial value.
+   */
+  private double getValue(SBase variable, double[] values) {
+    if (variable instanceof Compartment) {
+      Compartment compartment = (Compartment) variable;
+      return compartment.isSetSize() ? compartment.getSize() : Double.NaN;
+    } else if (variable instanceof Parameter) {
+      Parameter parameter = (Parameter) variable;
+      return parameter.isSetValue() ? parameter.getValue() : Double.NaN;
+    } else if (variable instanceof SpeciesReference) {
+      return ((SpeciesReference) variable).getStoichiometry();
+    } else if (variable instanceof Species) {
+      Species species = (Species) variable;
+      boolean amount = species.isSetInitialAmount();
+      if (!amount && !species.isSetInitialConcentration()) {
+        return Double.NaN;
+      }
+      double value = amount ? species.getInitialAmount() : species.getInitialConcentration();
+      if (amount == species.hasOnlySubstanceUnits()) {
+        return value;
+      }
+      int compartment = graph.getIndex(species.getCompartment());
+      double size = compartment >= 0 ? values[compartment] : Double.NaN;
+      return amount ? value / size : value * size;
+    }
+    return Double.NaN;
+  }
+
+}
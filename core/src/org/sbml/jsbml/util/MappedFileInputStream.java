@@ -0,0 +1,271 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * An {@link InputStream} that reads a file through memory mapping.
+ * <p>
+ * The file is mapped in consecutive windows of fixed size, so that files
+ * larger than 2 GB can be read and the address space needed stays bounded.
+ * The bytes are copied directly from the mapped pages into the buffer of the
+ * caller, without going through an intermediate buffer of the stream or the
+ * operating system, and the operating system can read ahead on the mapped
+ * file. This makes the stream well suited for feeding very large files to the
+ * XML parser, which does its own buffering.
+ * <p>
+ * Note that Java does not offer a way to release a mapping explicitly; the
+ * windows are released when they are garbage collected.
+ *
+ * @since 1.7
+ */
+public class MappedFileInputStream extends InputStream {
+
+  /**
+   * The default size of the windows that are mapped at once (256 MB).
+   */
+  public static final long DEFAULT_WINDOW_SIZE = 256L * 1024L * 1024L;
+
+  /**
+   * The channel of the file.
+   */
+  private final FileChannel channel;
+
+  /**
+   * The size of the file in bytes.
+   */
+  private final long size;
+
+  /**
+   * The size of the windows that are mapped at once.
+   */
+  private final long windowSize;
+
+  /**
+   * The currently mapped window, {@code null} if no window has been mapped
+   * yet or the stream is closed.
+   */
+  private MappedByteBuffer window;
+
+  /**
+   * The position of the first byte of {@link #window} in the file.
+   */
+  private long windowStart;
+
+  /**
+   * The position in the file that has been marked.
+   */
+  private long mark;
+
+  /**
+   * Creates a new stream that uses the {@link #DEFAULT_WINDOW_SIZE}.
+   *
+   * @param file
+   *        the file to be read.
+   * @throws IOException
+   *         if the file cannot be opened.
+   */
+  public MappedFileInputStream(File file) throws IOException {
+    this(file, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Creates a new stream.
+   *
+   * @param file
+   *        the file to be read.
+   * @param windowSize
+   *        the number of bytes that are mapped at once, at most
+   *        {@link Integer#MAX_VALUE}.
+   * @throws IOException
+   *         if the file cannot be opened.
+   */
+  @SuppressWarnings("resource")
+  public MappedFileInputStream(File file, long windowSize) throws IOException {
+    if ((windowSize <= 0) || (windowSize > Integer.MAX_VALUE)) {
+      throw new IllegalArgumentException("The window size must be positive and less than 2 GB.");
+    }
+    channel = new RandomAccessFile(file, "r").getChannel();
+    size = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#available()
+   */
+  @Override
+  public int available() throws IOException {
+    ensureOpen();
+    return (int) Math.min(Integer.MAX_VALUE, size - position());
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#close()
+   */
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+  /**
+   * @return the size of the file in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#mark(int)
+   */
+  @Override
+  public synchronized void mark(int readlimit) {
+    mark = position();
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#markSupported()
+   */
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  /**
+   * @return the current position in the file.
+   */
+  public long position() {
+    return window == null ? windowStart : windowStart + window.position();
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#read()
+   */
+  @Override
+  public int read() throws IOException {
+    if (!ensureAvailable()) {
+      return -1;
+    }
+    return window.get() & 0xff;
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#read(byte[], int, int)
+   */
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if ((off < 0) || (len < 0) || (len > b.length - off)) {
+      throw new IndexOutOfBoundsException();
+    } else if (len == 0) {
+      return 0;
+    } else if (!ensureAvailable()) {
+      return -1;
+    }
+    int n = Math.min(len, window.remaining());
+    window.get(b, off, n);
+    return n;
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#reset()
+   */
+  @Override
+  public synchronized void reset() throws IOException {
+    seek(mark);
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.InputStream#skip(long)
+   */
+  @Override
+  public long skip(long n) throws IOException {
+    ensureOpen();
+    long position = position();
+    long skipped = Math.max(0L, Math.min(n, size - position));
+    seek(position + skipped);
+    return skipped;
+  }
+
+  /**
+   * Makes sure that {@link #window} has at least one byte remaining, mapping
+   * the next window if necessary.
+   *
+   * @return {@code false} if the end of the file has been reached.
+   * @throws IOException
+   */
+  private boolean ensureAvailable() throws IOException {
+    ensureOpen();
+    if ((window != null) && window.hasRemaining()) {
+      return true;
+    }
+    long position = position();
+    if (position >= size) {
+      return false;
+    }
+    map(position);
+    return true;
+  }
+
+  /**
+   * @throws IOException
+   *         if this stream has been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (!channel.isOpen()) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  /**
+   * Maps the window starting at the given position.
+   *
+   * @param position
+   * @throws IOException
+   */
+  private void map(long position) throws IOException {
+    window = channel.map(MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+    windowStart = position;
+  }
+
+  /**
+   * Moves to the given position in the file.
+   *
+   * @param position
+   * @throws IOException
+   */
+  private void seek(long position) throws IOException {
+    ensureOpen();
+    if ((window != null) && (position >= windowStart) && (position <= windowStart + window.limit())) {
+      window.position((int) (position - windowStart));
+    } else {
+      // the next read maps a window starting at this position
+      window = null;
+      windowStart = position;
+    }
+  }
+
+}
@@ -0,0 +1,590 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.beans.PropertyChangeEvent;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.InitialAssignment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.Rule;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.SpeciesReference;
+import org.sbml.jsbml.Variable;
+
+/**
+ * The dependencies between the initial values of the variables of a
+ * {@link Model}.
+ * <p>
+ * The variables are the {@link Compartment}s, {@link Species} and
+ * {@link Parameter}s of the model and the {@link SpeciesReference}s that
+ * have an id, numbered from 0 in this order. The initial value of a variable
+ * is defined by an {@link AssignmentRule}, otherwise by an
+ * {@link InitialAssignment}, otherwise by its attributes. It depends on the
+ * variables referenced in the math of the rule or initial assignment, and
+ * the initial value of a {@link Species} given as amount where a
+ * concentration is needed, or the other way round, depends on the size of
+ * its {@link Compartment}.
+ * <p>
+ * {@link #getOrder()} returns the indices of the variables in an order in
+ * which every variable comes after all variables it depends on, so that the
+ * initial values can be computed in one pass, see
+ * {@link InitialValueEvaluator}. Variables that depend on themselves, directly
+ * or indirectly, cannot be ordered, see {@link #findCycle()}.
+ * <p>
+ * The instance of a {@link Model} is kept as a user object of the model. It
+ * listens to the changes of the model: after a change of the math of a rule
+ * or initial assignment only the dependencies of its variable are determined
+ * again, after a change of the set of variables, rules or initial
+ * assignments the whole graph.
+ *
+ * @since 1.7
+ */
+public class ModelDependencyGraph implements Serializable {
+
+  /**
+   * Updates the graph after changes of the model.
+   */
+  private final class Updater implements SynchronousTreeNodeChangeListener {
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      changed(node, node.getParent(), null);
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      changed(event.getSource(), event.getPreviousParent(), null);
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      if (!TreeNodeChangeEvent.parentSBMLObject.equals(event.getPropertyName())
+          && (event.getSource() instanceof TreeNode)) {
+        TreeNode node = (TreeNode) event.getSource();
+        changed(node, node.getParent(), event.getPropertyName());
+      }
+    }
+
+  }
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = -1850413398231563807L;
+
+  /**
+   * The key of the user object of a {@link Model} under which its instance
+   * is kept.
+   */
+  public static final transient String USER_OBJECT_KEY = ModelDependencyGraph.class.getName();
+
+  /**
+   * The properties of a {@link Species} that determine whether its initial
+   * value depends on the size of its {@link Compartment}.
+   */
+  private static final transient Set<String> SPECIES_PROPERTIES = new HashSet<String>(Arrays.asList(
+    TreeNodeChangeEvent.compartment, TreeNodeChangeEvent.hasOnlySubstanceUnits,
+    TreeNodeChangeEvent.initialAmount, TreeNodeChangeEvent.value));
+
+  /**
+   * Returns the instance of the given {@link Model}, creating it if
+   * necessary. For a model of a frozen {@link SBMLDocument} without an
+   * instance, a new instance is returned each time that is not kept.
+   *
+   * @param model
+   * @return the instance of the given {@link Model}.
+   */
+  public static ModelDependencyGraph get(Model model) {
+    Object graph = model.getUserObject(USER_OBJECT_KEY);
+    if ((graph instanceof ModelDependencyGraph) && (((ModelDependencyGraph) graph).model == model)) {
+      return (ModelDependencyGraph) graph;
+    }
+    // otherwise the instance of the original of a cloned or deserialized model
+    SBMLDocument doc = model.getSBMLDocument();
+    if ((doc != null) && doc.isFrozen()) {
+      // neither kept nor listening, as the frozen model does not change
+      return new ModelDependencyGraph(model, false);
+    }
+    ModelDependencyGraph created = new ModelDependencyGraph(model, true);
+    model.putUserObject(USER_OBJECT_KEY, created);
+    return created;
+  }
+
+  /**
+   * The element that defines the initial value of each variable.
+   */
+  private transient SBase[] definitions;
+
+  /**
+   * The indices of the variables that each variable depends on.
+   */
+  private transient int[][] dependencies;
+
+  /**
+   * The ids of the variables whose dependencies have to be determined again.
+   */
+  private transient Set<String> dirty;
+
+  /**
+   * The index of each variable.
+   */
+  private transient Map<String, Integer> indices;
+
+  /**
+   * The model.
+   */
+  private transient Model model;
+
+  /**
+   * The variables in the order of their evaluation, {@code null} if it has
+   * to be determined again.
+   */
+  private transient int[] order;
+
+  /**
+   * Whether the whole graph has to be built again.
+   */
+  private transient boolean outdated;
+
+  /**
+   * The listener on {@link #model}, {@code null} if the model is frozen.
+   */
+  private transient Updater updater;
+
+  /**
+   * The variables.
+   */
+  private transient Variable[] variables;
+
+  /**
+   * @param model
+   * @param observe
+   *        whether to follow the changes of the model.
+   */
+  private ModelDependencyGraph(Model model, boolean observe) {
+    this.model = model;
+    dirty = new HashSet<String>();
+    outdated = true;
+    if (observe) {
+      updater = new Updater();
+      model.addTreeNodeChangeListener(updater, true);
+    }
+  }
+
+  /**
+   * Classifies a change of the model.
+   * 
+   * @param node
+   *        the changed node.
+   * @param parent
+   *        the (previous) parent of the node.
+   * @param property
+   *        the name of the changed property, {@code null} if the node has
+   *        been added or removed.
+   */
+  private void changed(TreeNode node, TreeNode parent, String property) {
+    if (outdated) {
+      return;
+    }
+    boolean inMath = node instanceof ASTNode;
+    TreeNode element = node;
+    while (element instanceof ASTNode) {
+      element = (element == node) ? parent : element.getParent();
+    }
+    if ((element instanceof InitialAssignment) || ((element instanceof Rule) && ((Rule) element).isAssignment())) {
+      String variable = (element instanceof InitialAssignment) ? ((InitialAssignment) element).getVariable() : ((AssignmentRule) element).getVariable();
+      if (inMath || TreeNodeChangeEvent.math.equals(property)) {
+        dirty.add(variable);
+      } else if ((property == null) || TreeNodeChangeEvent.symbol.equals(property)
+          || TreeNodeChangeEvent.variable.equals(property)) {
+        outdated = true;
+      }
+    } else if (inMath) {
+      // the math of a kinetic law, an event or the like
+      return;
+    } else if (element instanceof Variable) {
+      if ((property == null) || TreeNodeChangeEvent.id.equals(property)) {
+        outdated = true;
+      } else if ((element instanceof Species) && SPECIES_PROPERTIES.contains(property)) {
+        dirty.add(((Species) element).getId());
+      }
+    } else if (property == null) {
+      // an element that may contain variables, rules or initial assignments
+      outdated = true;
+    }
+  }
+
+  /**
+   * Adds the {@link SpeciesReference}s that have an id to the given list.
+   * 
+   * @param references
+   * @param variables
+   */
+  private static void addSpeciesReferences(List<SpeciesReference> references, List<Variable> variables) {
+    for (SpeciesReference reference : references) {
+      if (reference.isSetId()) {
+        variables.add(reference);
+      }
+    }
+  }
+
+  /**
+   * Determines the element that defines the initial value of each variable
+   * and all dependencies.
+   */
+  private void build() {
+    // the lists are not created if they are missing
+    List<Variable> list = new ArrayList<Variable>();
+    if (model.isSetListOfCompartments()) {
+      list.addAll(model.getListOfCompartments());
+    }
+    if (model.isSetListOfSpecies()) {
+      list.addAll(model.getListOfSpecies());
+    }
+    if (model.isSetListOfParameters()) {
+      list.addAll(model.getListOfParameters());
+    }
+    if (model.isSetListOfReactions()) {
+      for (Reaction reaction : model.getListOfReactions()) {
+        if (reaction.isSetListOfReactants()) {
+          addSpeciesReferences(reaction.getListOfReactants(), list);
+        }
+        if (reaction.isSetListOfProducts()) {
+          addSpeciesReferences(reaction.getListOfProducts(), list);
+        }
+      }
+    }
+    variables = list.toArray(new Variable[list.size()]);
+    indices = new HashMap<String, Integer>();
+    definitions = new SBase[variables.length];
+    for (int i = 0; i < variables.length; i++) {
+      indices.put(variables[i].getId(), i);
+      definitions[i] = variables[i];
+    }
+    if (model.isSetListOfInitialAssignments()) {
+      for (InitialAssignment initialAssignment : model.getListOfInitialAssignments()) {
+        Integer index = indices.get(initialAssignment.getVariable());
+        if (index != null) {
+          definitions[index] = initialAssignment;
+        }
+      }
+    }
+    if (model.isSetListOfRules()) {
+      for (Rule rule : model.getListOfRules()) {
+        if (rule.isAssignment()) {
+          Integer index = indices.get(((AssignmentRule) rule).getVariable());
+          if (index != null) {
+            definitions[index] = rule;
+          }
+        }
+      }
+    }
+    dependencies = new int[variables.length][];
+    for (int i = 0; i < variables.length; i++) {
+      dependencies[i] = findDependencies(i);
+    }
+    dirty.clear();
+    order = null;
+    outdated = false;
+  }
+
+  /**
+   * Determines the variables that the given variable depends on.
+   * 
+   * @param index
+   * @return the indices of the variables in the order of their first
+   *         reference.
+   */
+  private int[] findDependencies(int index) {
+    SBase definition = definitions[index];
+    Set<Integer> found = new LinkedHashSet<Integer>();
+    if (definition instanceof Species) {
+      Species species = (Species) definition;
+      boolean amount = species.isSetInitialAmount();
+      if ((amount || species.isSetInitialConcentration()) && (amount != species.hasOnlySubstanceUnits())) {
+        Integer compartment = indices.get(species.getCompartment());
+        if (compartment != null) {
+          found.add(compartment);
+        }
+      }
+    } else {
+      ASTNode math = getMath(definition);
+      if (math != null) {
+        for (ASTNode node : ASTNodeTraversal.preOrder(math)) {
+          if ((node.getType() == Type.NAME) && node.isSetName()) {
+            Integer variable = indices.get(node.getName());
+            if (variable != null) {
+              found.add(variable);
+            }
+          }
+        }
+      }
+    }
+    int[] result = new int[found.size()];
+    int i = 0;
+    for (Integer variable : found) {
+      result[i++] = variable;
+    }
+    return result;
+  }
+
+  /**
+   * Returns one cycle of variables that depend on each other.
+   * 
+   * @return the indices of the variables of a cycle, each variable depends
+   *         on the next one and the last one on the first one, or an empty
+   *         array if all variables can be ordered.
+   */
+  public int[] findCycle() {
+    int[] order = getOrder();
+    if (order.length == variables.length) {
+      return new int[0];
+    }
+    boolean[] ordered = new boolean[variables.length];
+    for (int index : order) {
+      ordered[index] = true;
+    }
+    // every variable that is not ordered depends on another one, follow them
+    int start = 0;
+    while (ordered[start]) {
+      start++;
+    }
+    int[] position = new int[variables.length];
+    Arrays.fill(position, -1);
+    List<Integer> path = new ArrayList<Integer>();
+    int current = start;
+    while (position[current] < 0) {
+      position[current] = path.size();
+      path.add(current);
+      for (int dependency : dependencies[current]) {
+        if (!ordered[dependency]) {
+          current = dependency;
+          break;
+        }
+      }
+    }
+    List<Integer> cycle = path.subList(position[current], path.size());
+    int[] result = new int[cycle.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = cycle.get(i);
+    }
+    return result;
+  }
+
+  /**
+   * @param index
+   *        the index of a variable.
+   * @return the {@link AssignmentRule}, the {@link InitialAssignment} or the
+   *         variable itself that defines the initial value of the variable.
+   */
+  public SBase getDefinition(int index) {
+    update();
+    return definitions[index];
+  }
+
+  /**
+   * @param index
+   *        the index of a variable.
+   * @return the indices of the variables that the initial value of the given
+   *         variable depends on, in the order of their first reference.
+   */
+  public int[] getDependencies(int index) {
+    update();
+    return dependencies[index].clone();
+  }
+
+  /**
+   * @param id
+   * @return the index of the variable with the given id, or -1 if there is
+   *         no such variable.
+   */
+  public int getIndex(String id) {
+    update();
+    Integer index = indices.get(id);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * @param index
+   *        the index of a variable.
+   * @return the math of the {@link AssignmentRule} or the
+   *         {@link InitialAssignment} that defines the initial value of the
+   *         variable, or {@code null} if it is defined by its attributes.
+   */
+  public ASTNode getMath(int index) {
+    update();
+    return getMath(definitions[index]);
+  }
+
+  /**
+   * @param definition
+   * @return the math of the given {@link AssignmentRule} or
+   *         {@link InitialAssignment}, {@code null} for other elements.
+   */
+  private static ASTNode getMath(SBase definition) {
+    if (definition instanceof InitialAssignment) {
+      return ((InitialAssignment) definition).getMath();
+    } else if (definition instanceof AssignmentRule) {
+      return ((AssignmentRule) definition).getMath();
+    }
+    return null;
+  }
+
+  /**
+   * @return the model.
+   */
+  public Model getModel() {
+    return model;
+  }
+
+  /**
+   * Returns the indices of the variables in an order in which every variable
+   * comes after all variables that it depends on. Variables that depend on
+   * themselves, directly or indirectly, and all variables that depend on
+   * them are left out.
+   * 
+   * @return the indices of the variables in the order of their evaluation.
+   */
+  public int[] getOrder() {
+    update();
+    if (order == null) {
+      order = sort();
+    }
+    return order.clone();
+  }
+
+  /**
+   * @param index
+   * @return the variable with the given index.
+   */
+  public Variable getVariable(int index) {
+    update();
+    return variables[index];
+  }
+
+  /**
+   * @return the number of variables.
+   */
+  public int getVariableCount() {
+    update();
+    return variables.length;
+  }
+
+  /**
+   * @return {@code true} if there are variables that depend on themselves,
+   *         directly or indirectly.
+   */
+  public boolean hasCycle() {
+    return getOrder().length < variables.length;
+  }
+
+  /**
+   * Sorts the variables topologically, by removing variables without
+   * dependencies from the graph one after the other.
+   * 
+   * @return the indices of the variables in the order of their evaluation.
+   */
+  private int[] sort() {
+    int n = variables.length;
+    int[] pending = new int[n];
+    int[] dependentCounts = new int[n];
+    for (int i = 0; i < n; i++) {
+      pending[i] = dependencies[i].length;
+      for (int dependency : dependencies[i]) {
+        dependentCounts[dependency]++;
+      }
+    }
+    // the dependents of each variable in compressed form
+    int[] pointers = new int[n + 1];
+    for (int i = 0; i < n; i++) {
+      pointers[i + 1] = pointers[i] + dependentCounts[i];
+    }
+    int[] dependents = new int[pointers[n]];
+    int[] fill = Arrays.copyOf(pointers, n);
+    for (int i = 0; i < n; i++) {
+      for (int dependency : dependencies[i]) {
+        dependents[fill[dependency]++] = i;
+      }
+    }
+    int[] result = new int[n];
+    int size = 0;
+    for (int i = 0; i < n; i++) {
+      if (pending[i] == 0) {
+        result[size++] = i;
+      }
+    }
+    for (int next = 0; next < size; next++) {
+      int variable = result[next];
+      for (int k = pointers[variable]; k < pointers[variable + 1]; k++) {
+        if (--pending[dependents[k]] == 0) {
+          result[size++] = dependents[k];
+        }
+      }
+    }
+    return size < n ? Arrays.copyOf(result, size) : result;
+  }
+
+  /**
+   * Builds the graph again if the model has changed.
+   */
+  private void update() {
+    if (outdated) {
+      build();
+    } else if (!dirty.isEmpty()) {
+      for (String id : dirty) {
+        Integer index = indices.get(id);
+        if (index != null) {
+          dependencies[index] = findDependencies(index);
+        }
+      }
+      dirty.clear();
+      order = null;
+    }
+  }
+
+}
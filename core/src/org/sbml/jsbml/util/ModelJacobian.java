@@ -0,0 +1,382 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.LocalParameter;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.Rule;
+import org.sbml.jsbml.Species;
+
+/**
+ * The sparse matrix of the partial derivatives of the reaction rates of a
+ * {@link Model}.
+ * <p>
+ * Row {@code i} belongs to the i-th {@link Reaction} that has a
+ * {@link KineticLaw} with math, column {@code j} to the j-th variable, which
+ * are by default the ids of all {@link Species} followed by the ids of all
+ * global {@link Parameter}s. The entry {@code (i, j)} is the partial
+ * derivative of the rate of reaction {@code i} with respect to variable
+ * {@code j}. Variables defined by {@link AssignmentRule}s are replaced by
+ * their definitions, and calls of function definitions are expanded, before
+ * the rates are differentiated. {@link LocalParameter}s hide global
+ * variables of the same id in the kinetic law, but not in the definitions of
+ * the substituted rules; references to local parameters in the derivatives
+ * point to them through {@link ASTNode#getVariable()}.
+ * <p>
+ * Only the entries that are not structurally zero are stored, in compressed
+ * sparse row (CSR) form: the column indices and derivatives of row {@code i}
+ * are found at the positions {@code getRowPointers()[i]} up to
+ * {@code getRowPointers()[i + 1] - 1}. Multiplied from the left with the
+ * stoichiometric matrix, this yields the Jacobian of the ordinary
+ * differential equations of the species.
+ *
+ * @since 1.7
+ */
+public class ModelJacobian {
+
+  /**
+   * The maximal depth of nested {@link AssignmentRule}s that are substituted.
+   */
+  private static final int MAX_SUBSTITUTION_DEPTH = 64;
+
+  /**
+   * Appended to the ids of {@link LocalParameter}s while the rates are
+   * differentiated, which yields names that are no valid SBML ids.
+   */
+  private static final String LOCAL_SUFFIX = "'";
+
+  /**
+   * The variable of each column.
+   */
+  private final String[] columnIds;
+
+  /**
+   * The column index of each non-zero entry.
+   */
+  private final int[] columnIndices;
+
+  /**
+   * The derivative of each non-zero entry.
+   */
+  private final ASTNode[] derivatives;
+
+  /**
+   * The reaction of each row.
+   */
+  private final String[] rowIds;
+
+  /**
+   * The position of the first non-zero entry of each row, followed by the
+   * number of non-zero entries.
+   */
+  private final int[] rowPointers;
+
+  /**
+   * Computes the derivatives with respect to all species and global
+   * parameters of the model.
+   *
+   * @param model
+   */
+  public ModelJacobian(Model model) {
+    this(model, defaultColumns(model));
+  }
+
+  /**
+   * Computes the derivatives with respect to the given variables.
+   *
+   * @param model
+   * @param variables
+   *        the ids of the variables.
+   * @throws IllegalArgumentException
+   *         if a rate cannot be differentiated.
+   */
+  public ModelJacobian(Model model, List<String> variables) {
+    columnIds = variables.toArray(new String[variables.size()]);
+    Map<String, Integer> columns = new HashMap<String, Integer>();
+    for (int j = 0; j < columnIds.length; j++) {
+      columns.put(columnIds[j], j);
+    }
+    Map<String, ASTNode> assignments = new HashMap<String, ASTNode>();
+    for (Rule rule : model.getListOfRules()) {
+      if (rule.isAssignment() && rule.isSetMath()) {
+        assignments.put(((AssignmentRule) rule).getVariable(), rule.getMath());
+      }
+    }
+
+    Differentiator differentiator = new Differentiator(model);
+    List<String> rows = new ArrayList<String>();
+    List<Integer> pointers = new ArrayList<Integer>();
+    List<Integer> indices = new ArrayList<Integer>();
+    List<ASTNode> entries = new ArrayList<ASTNode>();
+    for (Reaction reaction : model.getListOfReactions()) {
+      KineticLaw kineticLaw = reaction.getKineticLaw();
+      if ((kineticLaw == null) || !kineticLaw.isSetMath()) {
+        continue;
+      }
+      Map<String, LocalParameter> locals = new HashMap<String, LocalParameter>();
+      if (kineticLaw.isSetListOfLocalParameters()) {
+        for (LocalParameter parameter : kineticLaw.getListOfLocalParameters()) {
+          locals.put(parameter.getId(), parameter);
+        }
+      }
+      /*
+       * The local parameters only hide global variables in the kinetic law
+       * itself, not in the substituted rules, hence they are renamed first.
+       * Function calls in the substituted rules are expanded afterwards.
+       */
+      ASTNode rate = kineticLaw.getMath().clone();
+      hideLocals(rate, locals.keySet());
+      rate = substitute(rate, assignments, new HashSet<String>(), 0);
+      rate = differentiator.expand(rate);
+
+      Set<String> names = new HashSet<String>();
+      Differentiator.collectNames(rate, names);
+      boolean[] used = new boolean[columnIds.length];
+      for (String name : names) {
+        Integer j = columns.get(name);
+        if (j != null) {
+          used[j] = true;
+        }
+      }
+
+      rows.add(reaction.getId());
+      pointers.add(indices.size());
+      for (int j = 0; j < columnIds.length; j++) {
+        if (used[j]) {
+          ASTNode derivative = differentiator.derive(rate, columnIds[j]);
+          if (!derivative.isZero()) {
+            restoreLocals(derivative, locals);
+            indices.add(j);
+            entries.add(derivative);
+          }
+        }
+      }
+    }
+    pointers.add(indices.size());
+
+    rowIds = rows.toArray(new String[rows.size()]);
+    rowPointers = new int[pointers.size()];
+    for (int i = 0; i < rowPointers.length; i++) {
+      rowPointers[i] = pointers.get(i);
+    }
+    columnIndices = new int[indices.size()];
+    for (int k = 0; k < columnIndices.length; k++) {
+      columnIndices[k] = indices.get(k);
+    }
+    derivatives = entries.toArray(new ASTNode[entries.size()]);
+  }
+
+  /**
+   * @param model
+   * @return the ids of all species followed by those of all global
+   *         parameters.
+   */
+  private static List<String> defaultColumns(Model model) {
+    List<String> columns = new ArrayList<String>();
+    for (Species species : model.getListOfSpecies()) {
+      columns.add(species.getId());
+    }
+    for (Parameter parameter : model.getListOfParameters()) {
+      columns.add(parameter.getId());
+    }
+    return columns;
+  }
+
+  /**
+   * Renames all references to local parameters in the given tree, so that
+   * they differ from all global ids.
+   *
+   * @param math
+   *        a tree that is modified.
+   * @param locals
+   *        the ids of the local parameters.
+   * @see #restoreLocals(ASTNode, Map)
+   */
+  private static void hideLocals(ASTNode math, Set<String> locals) {
+    if ((math.getType() == Type.NAME) && locals.contains(math.getName())) {
+      math.setVariable(null);
+      math.setName(math.getName() + LOCAL_SUFFIX);
+    }
+    for (int i = 0; i < math.getChildCount(); i++) {
+      hideLocals(math.getChild(i), locals);
+    }
+  }
+
+  /**
+   * Reverts {@link #hideLocals(ASTNode, Set)} and links the references to
+   * their {@link LocalParameter}s.
+   *
+   * @param math
+   *        a tree that is modified.
+   * @param locals
+   *        the local parameters by id.
+   */
+  private static void restoreLocals(ASTNode math, Map<String, LocalParameter> locals) {
+    if ((math.getType() == Type.NAME) && (math.getName() != null)
+        && math.getName().endsWith(LOCAL_SUFFIX)) {
+      String name = math.getName();
+      LocalParameter parameter = locals.get(name.substring(0, name.length() - LOCAL_SUFFIX.length()));
+      if (parameter != null) {
+        math.setVariable(parameter);
+      }
+    }
+    for (int i = 0; i < math.getChildCount(); i++) {
+      restoreLocals(math.getChild(i), locals);
+    }
+  }
+
+  /**
+   * Replaces all variables defined by assignment rules in the given tree.
+   *
+   * @param math
+   *        a tree that may be modified.
+   * @param assignments
+   * @param active
+   *        the variables whose definitions are currently being substituted.
+   * @param depth
+   * @return the new root of the tree.
+   */
+  private static ASTNode substitute(ASTNode math, Map<String, ASTNode> assignments,
+    Set<String> active, int depth) {
+    if ((math.getType() == Type.NAME) && (math.getName() != null)) {
+      String name = math.getName();
+      ASTNode definition = assignments.get(name);
+      if (definition != null) {
+        if (active.contains(name) || (depth >= MAX_SUBSTITUTION_DEPTH)) {
+          throw new IllegalArgumentException(MessageFormat.format(
+            "Cyclic or too deeply nested assignment rule for {0}", name));
+        }
+        active.add(name);
+        ASTNode replacement = substitute(definition.clone(), assignments, active, depth + 1);
+        active.remove(name);
+        return replacement;
+      }
+      return math;
+    }
+    for (int i = 0; i < math.getChildCount(); i++) {
+      ASTNode child = math.getChild(i);
+      ASTNode replacement = substitute(child, assignments, active, depth);
+      if (replacement != child) {
+        math.replaceChild(i, replacement);
+      }
+    }
+    return math;
+  }
+
+  /**
+   * @return the variable of each column.
+   */
+  public List<String> getColumnIds() {
+    return Collections.unmodifiableList(Arrays.asList(columnIds));
+  }
+
+  /**
+   * @return the column index of each non-zero entry.
+   */
+  public int[] getColumnIndices() {
+    return columnIndices.clone();
+  }
+
+  /**
+   * @param row
+   * @param column
+   * @return the derivative of the rate of the reaction in the given row with
+   *         respect to the variable in the given column or {@code null} if it
+   *         is structurally zero.
+   */
+  public ASTNode getDerivative(int row, int column) {
+    for (int k = rowPointers[row]; k < rowPointers[row + 1]; k++) {
+      if (columnIndices[k] == column) {
+        return derivatives[k];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param reactionId
+   * @param variable
+   * @return the derivative of the rate of the given reaction with respect to
+   *         the given variable or {@code null} if it is structurally zero or
+   *         if the reaction or variable do not belong to this matrix.
+   */
+  public ASTNode getDerivative(String reactionId, String variable) {
+    int row = Arrays.asList(rowIds).indexOf(reactionId);
+    int column = Arrays.asList(columnIds).indexOf(variable);
+    return (row < 0) || (column < 0) ? null : getDerivative(row, column);
+  }
+
+  /**
+   * @return the derivative of each non-zero entry, in the order of
+   *         {@link #getColumnIndices()}.
+   */
+  public List<ASTNode> getDerivatives() {
+    return Collections.unmodifiableList(Arrays.asList(derivatives));
+  }
+
+  /**
+   * @return the number of entries that are not structurally zero.
+   */
+  public int getNonZeroCount() {
+    return derivatives.length;
+  }
+
+  /**
+   * @return the id of the reaction of each row.
+   */
+  public List<String> getRowIds() {
+    return Collections.unmodifiableList(Arrays.asList(rowIds));
+  }
+
+  /**
+   * @return the position of the first non-zero entry of each row in
+   *         {@link #getColumnIndices()}, followed by the number of non-zero
+   *         entries.
+   */
+  public int[] getRowPointers() {
+    return rowPointers.clone();
+  }
+
+  /* (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return MessageFormat.format("{0}[rows={1}, columns={2}, nonZeros={3}]",
+      getClass().getSimpleName(), rowIds.length, columnIds.length, derivatives.length);
+  }
+
+}
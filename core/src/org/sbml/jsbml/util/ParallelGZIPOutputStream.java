@@ -0,0 +1,370 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link OutputStream} that writes data in the gzip format and compresses
+ * blocks of the data in parallel.
+ * <p>
+ * The data is cut into blocks of fixed size, and each block is compressed as
+ * an independent gzip member on a worker thread. The members are written in
+ * their original order, so that the result is a valid multi-member gzip file
+ * as defined in RFC 1952, which can be read by {@link java.util.zip.GZIPInputStream}
+ * and any other gzip implementation. The number of blocks that are compressed
+ * at the same time is bounded, so the memory needed is independent of the
+ * amount of data written.
+ *
+ * @since 1.7
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+
+  /**
+   * The default size of the blocks that are compressed independently (128
+   * KB).
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+  /**
+   * The header of every gzip member: magic number, deflate, no flags, no
+   * modification time, no extra flags and unknown operating system.
+   */
+  private static final byte[] HEADER = {
+    (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+  };
+
+  /**
+   * A lazily created pool of daemon threads that is shared by all instances
+   * that do not get their own {@link ExecutorService}.
+   */
+  private static ExecutorService sharedExecutor;
+
+  /**
+   * One {@link Deflater} per worker thread, so that they are not created for
+   * each block.
+   */
+  private static final ThreadLocal<Deflater> deflaters = new ThreadLocal<Deflater>();
+
+  /**
+   * @return the {@link ExecutorService} shared by all instances of this class.
+   */
+  private static synchronized ExecutorService getSharedExecutor() {
+    if (sharedExecutor == null) {
+      sharedExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        /* (non-Javadoc)
+         * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+         */
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "jsbml-gzip");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return sharedExecutor;
+  }
+
+  /**
+   * The compression level, see {@link Deflater#setLevel(int)}.
+   */
+  private final int level;
+
+  /**
+   * The block that is currently being filled.
+   */
+  private byte[] block;
+
+  /**
+   * The number of bytes in {@link #block}.
+   */
+  private int count;
+
+  /**
+   * The size of the blocks.
+   */
+  private final int blockSize;
+
+  /**
+   * The executor running the compression.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * Maximal number of blocks being compressed at the same time.
+   */
+  private final int maxPending;
+
+  /**
+   * The compressed members, in the order in which they have to be written.
+   */
+  private final Deque<Future<byte[]>> pending = new ArrayDeque<Future<byte[]>>();
+
+  /**
+   * Whether {@link #close()} has been called.
+   */
+  private boolean closed;
+
+  /**
+   * Whether at least one member has been started, as a valid gzip file
+   * consists of at least one member.
+   */
+  private boolean started;
+
+  /**
+   * Creates a new stream with the {@link #DEFAULT_BLOCK_SIZE} and the default
+   * compression level that uses a shared pool of threads.
+   *
+   * @param out
+   *        the stream to write the compressed data to.
+   */
+  public ParallelGZIPOutputStream(OutputStream out) {
+    this(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION, null);
+  }
+
+  /**
+   * Creates a new stream.
+   *
+   * @param out
+   *        the stream to write the compressed data to.
+   * @param blockSize
+   *        the size of the blocks that are compressed independently.
+   * @param level
+   *        the compression level, see {@link Deflater#setLevel(int)}.
+   * @param executor
+   *        the executor running the compression, if {@code null} a shared
+   *        pool with one thread per processor is used.
+   */
+  public ParallelGZIPOutputStream(OutputStream out, int blockSize, int level, ExecutorService executor) {
+    super(out);
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("The block size must be positive.");
+    }
+    this.blockSize = blockSize;
+    this.level = level;
+    this.executor = executor != null ? executor : getSharedExecutor();
+    maxPending = 2 * Runtime.getRuntime().availableProcessors();
+    block = new byte[blockSize];
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.FilterOutputStream#close()
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      finish();
+    } finally {
+      closed = true;
+      out.close();
+    }
+  }
+
+  /**
+   * Writes all remaining data to the underlying stream without closing it.
+   * If no data has been written at all, one empty member is written, so that
+   * the result is a valid gzip file.
+   *
+   * @throws IOException
+   */
+  public void finish() throws IOException {
+    ensureOpen();
+    submitBlock();
+    drain(0);
+    if (!started) {
+      out.write(compress(block, 0, level));
+      started = true;
+    }
+  }
+
+  /**
+   * Writes all blocks compressed so far to the underlying stream. Note that
+   * the current, incomplete block is compressed as a member of its own, so
+   * that calling this method very often decreases the compression ratio.
+   *
+   * @see java.io.FilterOutputStream#flush()
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    submitBlock();
+    drain(0);
+    out.flush();
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.FilterOutputStream#write(byte[], int, int)
+   */
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    ensureOpen();
+    if ((off < 0) || (len < 0) || (off + len > b.length)) {
+      throw new IndexOutOfBoundsException();
+    }
+    while (len > 0) {
+      int n = Math.min(len, blockSize - count);
+      System.arraycopy(b, off, block, count, n);
+      count += n;
+      off += n;
+      len -= n;
+      if (count == blockSize) {
+        submitBlock();
+      }
+    }
+  }
+
+  /* (non-Javadoc)
+   * @see java.io.FilterOutputStream#write(int)
+   */
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    block[count++] = (byte) b;
+    if (count == blockSize) {
+      submitBlock();
+    }
+  }
+
+  /**
+   * Writes completed members until at most the given number of blocks is
+   * still pending.
+   *
+   * @param maxRemaining
+   * @throws IOException
+   */
+  private void drain(int maxRemaining) throws IOException {
+    while (pending.size() > maxRemaining) {
+      Future<byte[]> member = pending.removeFirst();
+      try {
+        out.write(member.get());
+      } catch (InterruptedException exc) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(exc.getMessage());
+      } catch (ExecutionException exc) {
+        throw new IOException(exc.getCause());
+      }
+    }
+  }
+
+  /**
+   * @throws IOException if this stream has already been closed.
+   */
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  /**
+   * Hands the current block over to the executor and starts a new one.
+   *
+   * @throws IOException
+   */
+  private void submitBlock() throws IOException {
+    if (count == 0) {
+      return;
+    }
+    final byte[] data = block;
+    final int length = count;
+    pending.addLast(executor.submit(new Callable<byte[]>() {
+      /* (non-Javadoc)
+       * @see java.util.concurrent.Callable#call()
+       */
+      @Override
+      public byte[] call() {
+        return compress(data, length, level);
+      }
+    }));
+    block = new byte[blockSize];
+    count = 0;
+    started = true;
+    drain(maxPending);
+  }
+
+  /**
+   * Compresses the given data into one complete gzip member.
+   *
+   * @param data
+   * @param length
+   *        the number of bytes of {@code data} to be compressed.
+   * @param level
+   *        the compression level.
+   * @return the gzip member.
+   */
+  private static byte[] compress(byte[] data, int length, int level) {
+    Deflater deflater = deflaters.get();
+    if (deflater == null) {
+      deflater = new Deflater(level, true);
+      deflaters.set(deflater);
+    } else {
+      deflater.reset();
+      deflater.setLevel(level);
+    }
+    ByteArrayOutputStream member = new ByteArrayOutputStream(length / 4 + HEADER.length + 8);
+    member.write(HEADER, 0, HEADER.length);
+
+    deflater.setInput(data, 0, length);
+    deflater.finish();
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      int n = deflater.deflate(buffer);
+      member.write(buffer, 0, n);
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(data, 0, length);
+    writeIntLE(member, (int) crc.getValue());
+    writeIntLE(member, length);
+
+    return member.toByteArray();
+  }
+
+  /**
+   * Writes an integer in little endian byte order.
+   *
+   * @param out
+   * @param value
+   */
+  private static void writeIntLE(ByteArrayOutputStream out, int value) {
+    out.write(value & 0xff);
+    out.write((value >> 8) & 0xff);
+    out.write((value >> 16) & 0xff);
+    out.write((value >> 24) & 0xff);
+  }
+
+}
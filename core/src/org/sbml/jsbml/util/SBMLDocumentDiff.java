@@ -0,0 +1,688 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import javax.swing.tree.TreeNode;
+import javax.xml.stream.XMLStreamException;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.Annotation;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLException;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.xml.XMLNode;
+
+/**
+ * The differences between two {@link SBMLDocument}s.
+ * <p>
+ * The elements of both documents are matched by their identifiers, by their
+ * metaids, by their {@link SBMLDocumentFingerprints fingerprints} and
+ * finally, among the elements of the same kind without identifier, by their
+ * positions. Subtrees with equal fingerprints are not visited, so that the
+ * comparison of two large documents only visits the paths to the changed
+ * elements. The elements that exist in only one of the documents are
+ * reported as added or removed, the changed attributes of matched elements
+ * one by one, and changed math, notes and annotations as a whole. For each
+ * changed element, the changes of its attributes are followed by its added
+ * and removed children and then by the differences of its changed children,
+ * in document order. The attributes of matched elements are compared in parallel, and the
+ * fingerprints of both documents are computed in parallel.
+ * <p>
+ * Notes, annotations and attributes are ignored as configured for the
+ * fingerprints of the old document, which are enabled with the same
+ * configuration for the new document.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentDiff {
+
+  /**
+   * The kinds of differences.
+   */
+  public enum Kind {
+    /**
+     * A node that only exists in the new document.
+     */
+    ADDED,
+    /**
+     * An attribute, math, notes or an annotation that differ.
+     */
+    CHANGED,
+    /**
+     * A node that only exists in the old document.
+     */
+    REMOVED;
+  }
+
+  /**
+   * A difference between two documents.
+   */
+  public static class Difference {
+
+    /**
+     * The kind of this difference.
+     */
+    private final Kind kind;
+
+    /**
+     * The node of the old document, or {@code null}.
+     */
+    private final TreeNode oldNode;
+
+    /**
+     * The node of the new document, or {@code null}.
+     */
+    private final TreeNode newNode;
+
+    /**
+     * The name of the changed attribute, or {@code null}.
+     */
+    private final String attribute;
+
+    /**
+     * The value in the old document, or {@code null}.
+     */
+    private final String oldValue;
+
+    /**
+     * The value in the new document, or {@code null}.
+     */
+    private final String newValue;
+
+    /**
+     * @param kind
+     * @param oldNode
+     * @param newNode
+     * @param attribute
+     * @param oldValue
+     * @param newValue
+     */
+    private Difference(Kind kind, TreeNode oldNode, TreeNode newNode,
+      String attribute, String oldValue, String newValue) {
+      this.kind = kind;
+      this.oldNode = oldNode;
+      this.newNode = newNode;
+      this.attribute = attribute;
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+    }
+
+    /**
+     * @return the name of the changed attribute, {@code math}, {@code notes}
+     *         or {@code annotation} if this difference is a change, otherwise
+     *         {@code null}.
+     */
+    public String getAttribute() {
+      return attribute;
+    }
+
+    /**
+     * @return the kind of this difference.
+     */
+    public Kind getKind() {
+      return kind;
+    }
+
+    /**
+     * @return the node of the new document, or {@code null} if this
+     *         difference is a removal.
+     */
+    public TreeNode getNewNode() {
+      return newNode;
+    }
+
+    /**
+     * @return the value in the new document, or {@code null} if it is not
+     *         set there or not available.
+     */
+    public String getNewValue() {
+      return newValue;
+    }
+
+    /**
+     * @return the node of the old document, or {@code null} if this
+     *         difference is an addition.
+     */
+    public TreeNode getOldNode() {
+      return oldNode;
+    }
+
+    /**
+     * @return the value in the old document, or {@code null} if it is not
+     *         set there or not available.
+     */
+    public String getOldValue() {
+      return oldValue;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      switch (kind) {
+      case ADDED:
+        return MessageFormat.format("added {0}", newNode);
+      case REMOVED:
+        return MessageFormat.format("removed {0}", oldNode);
+      default:
+        return MessageFormat.format("changed {0} of {1}: {2} -> {3}", attribute,
+          (oldNode instanceof SBase) ? oldNode : oldNode.getParent(), oldValue, newValue);
+      }
+    }
+
+  }
+
+  /**
+   * Two matched nodes whose fingerprints differ.
+   */
+  private static final class Pair {
+
+    /**
+     * The node of the old document.
+     */
+    private final TreeNode oldNode;
+
+    /**
+     * The node of the new document.
+     */
+    private final TreeNode newNode;
+
+    /**
+     * The changes of the attributes, math, notes or annotations of the nodes.
+     */
+    private List<Difference> changes;
+
+    /**
+     * The added and removed children of the nodes.
+     */
+    private List<Difference> children;
+
+    /**
+     * @param oldNode
+     * @param newNode
+     */
+    private Pair(TreeNode oldNode, TreeNode newNode) {
+      this.oldNode = oldNode;
+      this.newNode = newNode;
+    }
+
+  }
+
+  /**
+   * Compares the attributes of a range of pairs in parallel.
+   */
+  private static final class CompareTask extends RecursiveAction {
+
+    /**
+     * Generated serial version identifier.
+     */
+    private static final long serialVersionUID = -5524683779532853146L;
+
+    /**
+     * The diff.
+     */
+    private final SBMLDocumentDiff diff;
+
+    /**
+     * The first pair of the range.
+     */
+    private final int from;
+
+    /**
+     * The end of the range.
+     */
+    private final int to;
+
+    /**
+     * @param diff
+     * @param from
+     * @param to
+     */
+    private CompareTask(SBMLDocumentDiff diff, int from, int to) {
+      this.diff = diff;
+      this.from = from;
+      this.to = to;
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.RecursiveAction#compute()
+     */
+    @Override
+    protected void compute() {
+      if (to - from <= THRESHOLD) {
+        for (int i = from; i < to; i++) {
+          diff.compare(diff.pairs.get(i));
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new CompareTask(diff, from, middle), new CompareTask(diff, middle, to));
+      }
+    }
+
+  }
+
+  /**
+   * The number of pairs up to which their attributes are compared in one
+   * task.
+   */
+  private static final int THRESHOLD = 256;
+
+  /**
+   * Compares two documents with a shared pool of threads.
+   *
+   * @param oldDoc
+   * @param newDoc
+   * @return the differences between the given documents.
+   * @see #compare(SBMLDocument, SBMLDocument, ForkJoinPool)
+   */
+  public static SBMLDocumentDiff compare(SBMLDocument oldDoc, SBMLDocument newDoc) {
+    return compare(oldDoc, newDoc, TreeNodeSpliterator.getSharedPool());
+  }
+
+  /**
+   * Compares two documents with the given pool of threads.
+   *
+   * @param oldDoc
+   * @param newDoc
+   * @param pool
+   * @return the differences between the given documents.
+   */
+  public static SBMLDocumentDiff compare(SBMLDocument oldDoc, SBMLDocument newDoc, ForkJoinPool pool) {
+    SBMLDocumentFingerprints oldFingerprints = SBMLDocumentFingerprints.enable(oldDoc);
+    SBMLDocumentFingerprints newFingerprints = SBMLDocumentFingerprints.enable(newDoc,
+      oldFingerprints.isIgnoreNotes(), oldFingerprints.isIgnoreAnnotations(),
+      oldFingerprints.getIgnoredAttributes().toArray(new String[0]));
+    SBMLDocumentDiff diff = new SBMLDocumentDiff(oldDoc, newDoc, oldFingerprints, newFingerprints);
+    diff.compute(pool);
+    return diff;
+  }
+
+  /**
+   * @param node
+   * @return the name under which changes of the given node, which is not an
+   *         {@link SBase}, are reported.
+   */
+  private static String getName(TreeNode node) {
+    if (node instanceof ASTNode) {
+      return "math";
+    } else if (node instanceof Annotation) {
+      return "annotation";
+    } else if (node instanceof XMLNode) {
+      return ((XMLNode) node).getName();
+    }
+    return node.getClass().getSimpleName();
+  }
+
+  /**
+   * @param node
+   * @return the given node, which is not an {@link SBase}, as a string, or
+   *         {@code null}.
+   */
+  private static String getValue(TreeNode node) {
+    try {
+      if (node instanceof ASTNode) {
+        return ((ASTNode) node).toFormula();
+      } else if (node instanceof XMLNode) {
+        return ((XMLNode) node).toXMLString();
+      }
+    } catch (SBMLException exc) {
+      return node.toString();
+    } catch (XMLStreamException exc) {
+      return null;
+    }
+    return null;
+  }
+
+  /**
+   * @param sbase
+   * @return the key by which the given element is matched by its
+   *         identifier, or {@code null}.
+   */
+  private static String getIdKey(SBase sbase) {
+    return sbase.isSetId() ? sbase.getClass().getName() + ' ' + sbase.getId() : null;
+  }
+
+  /**
+   * @param node
+   * @return the key by which the given node is matched by its position among
+   *         the nodes with the same key.
+   */
+  private static String getKindKey(TreeNode node) {
+    if (node instanceof SBase) {
+      return node.getClass().getName() + ' ' + ((SBase) node).getElementName();
+    }
+    return node.getClass().getName();
+  }
+
+  /**
+   * The old document.
+   */
+  private final SBMLDocument oldDoc;
+
+  /**
+   * The new document.
+   */
+  private final SBMLDocument newDoc;
+
+  /**
+   * The fingerprints of the old document.
+   */
+  private final SBMLDocumentFingerprints oldFingerprints;
+
+  /**
+   * The fingerprints of the new document.
+   */
+  private final SBMLDocumentFingerprints newFingerprints;
+
+  /**
+   * The matched nodes whose fingerprints differ, in document order.
+   */
+  private final List<Pair> pairs = new ArrayList<Pair>();
+
+  /**
+   * The differences.
+   */
+  private List<Difference> differences;
+
+  /**
+   * @param oldDoc
+   * @param newDoc
+   * @param oldFingerprints
+   * @param newFingerprints
+   */
+  private SBMLDocumentDiff(SBMLDocument oldDoc, SBMLDocument newDoc,
+    SBMLDocumentFingerprints oldFingerprints, SBMLDocumentFingerprints newFingerprints) {
+    this.oldDoc = oldDoc;
+    this.newDoc = newDoc;
+    this.oldFingerprints = oldFingerprints;
+    this.newFingerprints = newFingerprints;
+  }
+
+  /**
+   * @return the differences in document order, an empty list if the
+   *         documents are equal.
+   */
+  public List<Difference> getDifferences() {
+    return Collections.unmodifiableList(differences);
+  }
+
+  /**
+   * @return the new document.
+   */
+  public SBMLDocument getNewDocument() {
+    return newDoc;
+  }
+
+  /**
+   * @return the old document.
+   */
+  public SBMLDocument getOldDocument() {
+    return oldDoc;
+  }
+
+  /**
+   * @return whether the documents are equal, apart from what is ignored.
+   */
+  public boolean isEmpty() {
+    return differences.isEmpty();
+  }
+
+  /**
+   * Finds the differences.
+   *
+   * @param pool
+   */
+  private void compute(ForkJoinPool pool) {
+    // also computes the side effects of writing attributes, e.g., missing metaids
+    if (oldDoc != newDoc) {
+      ForkJoinTask<byte[]> task = pool.submit(new Callable<byte[]>() {
+
+        /* (non-Javadoc)
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public byte[] call() {
+          return newFingerprints.getDigest(newDoc);
+        }
+      });
+      oldFingerprints.getDigest(oldDoc);
+      task.join();
+    }
+    match();
+    if (pairs.size() > THRESHOLD) {
+      pool.invoke(new CompareTask(this, 0, pairs.size()));
+    } else {
+      for (Pair pair : pairs) {
+        compare(pair);
+      }
+    }
+    differences = new ArrayList<Difference>();
+    for (Pair pair : pairs) {
+      differences.addAll(pair.changes);
+      if (pair.children != null) {
+        differences.addAll(pair.children);
+      }
+    }
+  }
+
+  /**
+   * Matches the nodes of both documents top-down, skipping subtrees with
+   * equal fingerprints.
+   */
+  private void match() {
+    if (Arrays.equals(oldFingerprints.getDigest(oldDoc), newFingerprints.getDigest(newDoc))) {
+      return;
+    }
+    Deque<Pair> stack = new ArrayDeque<Pair>();
+    stack.push(new Pair(oldDoc, newDoc));
+    while (!stack.isEmpty()) {
+      Pair pair = stack.pop();
+      pairs.add(pair);
+      if (!(pair.oldNode instanceof SBase) || !(pair.newNode instanceof SBase)) {
+        // compared as a whole
+        continue;
+      }
+      List<Pair> children = new ArrayList<Pair>();
+      pair.children = matchChildren(pair, children);
+      for (int i = children.size() - 1; i >= 0; i--) {
+        stack.push(children.get(i));
+      }
+    }
+  }
+
+  /**
+   * Matches the children of the given pair.
+   *
+   * @param pair
+   * @param changed
+   *        the list to which the matched children whose fingerprints differ
+   *        are added.
+   * @return the added and removed children.
+   */
+  private List<Difference> matchChildren(Pair pair, List<Pair> changed) {
+    List<TreeNode> oldChildren = oldFingerprints.getChildren(pair.oldNode);
+    List<TreeNode> newChildren = newFingerprints.getChildren(pair.newNode);
+    int[] partners = new int[oldChildren.size()];
+    Arrays.fill(partners, -1);
+    boolean[] matched = new boolean[newChildren.size()];
+
+    // by identifier and metaid
+    Map<String, Integer> byId = new HashMap<String, Integer>();
+    Map<String, Integer> byMetaId = new HashMap<String, Integer>();
+    for (int j = 0; j < newChildren.size(); j++) {
+      if (newChildren.get(j) instanceof SBase) {
+        SBase sbase = (SBase) newChildren.get(j);
+        String key = getIdKey(sbase);
+        if (key != null) {
+          byId.put(key, j);
+        }
+        if (sbase.isSetMetaId()) {
+          byMetaId.put(sbase.getMetaId(), j);
+        }
+      }
+    }
+    int unmatched = 0;
+    for (int i = 0; i < oldChildren.size(); i++) {
+      if (oldChildren.get(i) instanceof SBase) {
+        String key = getIdKey((SBase) oldChildren.get(i));
+        Integer j = (key != null) ? byId.get(key) : null;
+        if ((j != null) && !matched[j]) {
+          partners[i] = j;
+          matched[j] = true;
+          continue;
+        }
+      }
+      unmatched++;
+    }
+    if ((unmatched > 0) && !byMetaId.isEmpty()) {
+      for (int i = 0; i < oldChildren.size(); i++) {
+        if ((partners[i] < 0) && (oldChildren.get(i) instanceof SBase) && ((SBase) oldChildren.get(i)).isSetMetaId()) {
+          Integer j = byMetaId.get(((SBase) oldChildren.get(i)).getMetaId());
+          if ((j != null) && !matched[j] && getKindKey(oldChildren.get(i)).equals(getKindKey(newChildren.get(j)))) {
+            partners[i] = j;
+            matched[j] = true;
+            unmatched--;
+          }
+        }
+      }
+    }
+
+    // by fingerprint
+    if (unmatched > 0) {
+      Map<ByteBuffer, LinkedList<Integer>> byDigest = new HashMap<ByteBuffer, LinkedList<Integer>>();
+      for (int j = 0; j < newChildren.size(); j++) {
+        if (!matched[j]) {
+          ByteBuffer key = ByteBuffer.wrap(newFingerprints.getDigest(newChildren.get(j)));
+          LinkedList<Integer> list = byDigest.get(key);
+          if (list == null) {
+            list = new LinkedList<Integer>();
+            byDigest.put(key, list);
+          }
+          list.add(j);
+        }
+      }
+      for (int i = 0; i < oldChildren.size(); i++) {
+        if (partners[i] < 0) {
+          LinkedList<Integer> list = byDigest.get(ByteBuffer.wrap(oldFingerprints.getDigest(oldChildren.get(i))));
+          if ((list != null) && !list.isEmpty()) {
+            int j = list.removeFirst();
+            partners[i] = j;
+            matched[j] = true;
+            unmatched--;
+          }
+        }
+      }
+    }
+
+    // by position among the nodes of the same kind without identifier
+    if (unmatched > 0) {
+      Map<String, LinkedList<Integer>> byKind = new HashMap<String, LinkedList<Integer>>();
+      for (int j = 0; j < newChildren.size(); j++) {
+        TreeNode child = newChildren.get(j);
+        if (!matched[j] && !((child instanceof SBase) && ((SBase) child).isSetId())) {
+          String key = getKindKey(child);
+          LinkedList<Integer> list = byKind.get(key);
+          if (list == null) {
+            list = new LinkedList<Integer>();
+            byKind.put(key, list);
+          }
+          list.add(j);
+        }
+      }
+      for (int i = 0; i < oldChildren.size(); i++) {
+        TreeNode child = oldChildren.get(i);
+        if ((partners[i] < 0) && !((child instanceof SBase) && ((SBase) child).isSetId())) {
+          LinkedList<Integer> list = byKind.get(getKindKey(child));
+          if ((list != null) && !list.isEmpty()) {
+            int j = list.removeFirst();
+            partners[i] = j;
+            matched[j] = true;
+          }
+        }
+      }
+    }
+
+    List<Difference> children = new ArrayList<Difference>();
+    for (int i = 0; i < oldChildren.size(); i++) {
+      if (partners[i] < 0) {
+        children.add(new Difference(Kind.REMOVED, oldChildren.get(i), null, null, null, null));
+      } else {
+        TreeNode oldChild = oldChildren.get(i);
+        TreeNode newChild = newChildren.get(partners[i]);
+        if (!Arrays.equals(oldFingerprints.getDigest(oldChild), newFingerprints.getDigest(newChild))) {
+          changed.add(new Pair(oldChild, newChild));
+        }
+      }
+    }
+    for (int j = 0; j < newChildren.size(); j++) {
+      if (!matched[j]) {
+        children.add(new Difference(Kind.ADDED, null, newChildren.get(j), null, null, null));
+      }
+    }
+    return children;
+  }
+
+  /**
+   * Compares the attributes of the given pair of {@link SBase}s, or the
+   * given pair of other nodes as a whole.
+   *
+   * @param pair
+   */
+  private void compare(Pair pair) {
+    List<Difference> changes = new ArrayList<Difference>();
+    if ((pair.oldNode instanceof SBase) && (pair.newNode instanceof SBase)) {
+      Map<String, String> oldAttributes = ((SBase) pair.oldNode).writeXMLAttributes();
+      Map<String, String> newAttributes = ((SBase) pair.newNode).writeXMLAttributes();
+      Map<String, String> names = new TreeMap<String, String>(oldAttributes);
+      names.putAll(newAttributes);
+      for (String name : names.keySet()) {
+        String oldValue = oldAttributes.get(name);
+        String newValue = newAttributes.get(name);
+        if (!oldFingerprints.isIgnoredAttribute(name)
+            && ((oldValue == null) ? (newValue != null) : !oldValue.equals(newValue))) {
+          changes.add(new Difference(Kind.CHANGED, pair.oldNode, pair.newNode, name, oldValue, newValue));
+        }
+      }
+    } else {
+      changes.add(new Difference(Kind.CHANGED, pair.oldNode, pair.newNode,
+        getName(pair.oldNode), getValue(pair.oldNode), getValue(pair.newNode)));
+    }
+    pair.changes = changes;
+  }
+
+}
@@ -0,0 +1,560 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.beans.PropertyChangeEvent;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.AbstractTreeNode;
+import org.sbml.jsbml.Annotation;
+import org.sbml.jsbml.CVTerm;
+import org.sbml.jsbml.Creator;
+import org.sbml.jsbml.History;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.xml.XMLAttributes;
+import org.sbml.jsbml.xml.XMLNode;
+
+/**
+ * Content-based fingerprints of the subtrees of an {@link SBMLDocument}.
+ * <p>
+ * The fingerprint of a node is an MD5 digest of its class, of its attributes
+ * in a canonical order and of the fingerprints of its children, so that two
+ * subtrees have the same fingerprint if they have the same content, in the
+ * same document or in different ones, and subtrees that have changed can be
+ * found by comparing the fingerprints of their ancestors first. Attributes
+ * can be ignored by their names, e.g., {@code metaid}, as well as notes and
+ * annotations. Fingerprints are computed bottom-up and those of the nodes of
+ * the document are kept until the node or one of its descendants changes,
+ * which is tracked by a {@link TreeNodeChangeListener} on the document. A
+ * change of an identifier discards all fingerprints, because math refers to
+ * variables by their identifiers. Changes of nested {@link CVTerm}s do not
+ * notify any listener and are only taken into account with the next change
+ * of the annotation of their element.
+ * <p>
+ * An instance is not thread-safe.
+ *
+ * @since 1.7
+ * @see SBMLDocument#getFingerprint(TreeNode)
+ */
+public class SBMLDocumentFingerprints implements Serializable {
+
+  /**
+   * Keeps the fingerprints current.
+   */
+  private final class Updater implements SynchronousTreeNodeChangeListener {
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      invalidate(node.getParent());
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      removeAll(event.getSource());
+      invalidate(event.getPreviousParent());
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      String property = event.getPropertyName();
+      if (TreeNodeChangeEvent.userObject.equals(property)) {
+        return;
+      }
+      if (TreeNodeChangeEvent.id.equals(property)) {
+        digests.clear();
+        return;
+      }
+      if (event.getOldValue() instanceof TreeNode) {
+        // e.g., replaced notes
+        removeAll((TreeNode) event.getOldValue());
+      }
+      if (event.getSource() instanceof TreeNode) {
+        invalidate((TreeNode) event.getSource());
+      }
+    }
+
+  }
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = -3151944093617925482L;
+
+  /**
+   * The key of the user object of an {@link SBMLDocument} under which its
+   * instance is kept.
+   */
+  public static final transient String USER_OBJECT_KEY = SBMLDocumentFingerprints.class.getName();
+
+  /**
+   * The encoding of the strings in a fingerprint.
+   */
+  private static final transient Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Digits of the hexadecimal representation of a fingerprint.
+   */
+  private static final transient char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * Creates the fingerprints of the given document that take all attributes,
+   * notes and annotations into account, unless the document has them
+   * already.
+   *
+   * @param doc
+   * @return the fingerprints of the given document.
+   */
+  public static SBMLDocumentFingerprints enable(SBMLDocument doc) {
+    SBMLDocumentFingerprints fingerprints = get(doc);
+    if (fingerprints == null) {
+      fingerprints = enable(doc, false, false);
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Creates the fingerprints of the given document, which replace any
+   * fingerprints that ignore different parts of the document.
+   *
+   * @param doc
+   * @param ignoreNotes
+   *        whether notes are ignored.
+   * @param ignoreAnnotations
+   *        whether annotations are ignored.
+   * @param ignoredAttributes
+   *        the names of the attributes of the {@link SBase}s that are
+   *        ignored, with or without the prefix of their package, e.g.,
+   *        {@code metaid}.
+   * @return the fingerprints of the given document.
+   */
+  public static SBMLDocumentFingerprints enable(SBMLDocument doc,
+    boolean ignoreNotes, boolean ignoreAnnotations, String... ignoredAttributes) {
+    SBMLDocumentFingerprints fingerprints = get(doc);
+    Set<String> ignored = new HashSet<String>(Arrays.asList(ignoredAttributes));
+    if ((fingerprints != null) && (fingerprints.ignoreNotes == ignoreNotes)
+        && (fingerprints.ignoreAnnotations == ignoreAnnotations)
+        && fingerprints.ignoredAttributes.equals(ignored)) {
+      return fingerprints;
+    }
+    disable(doc);
+    fingerprints = new SBMLDocumentFingerprints(doc, ignoreNotes, ignoreAnnotations, ignored);
+    doc.putUserObject(USER_OBJECT_KEY, fingerprints);
+    return fingerprints;
+  }
+
+  /**
+   * Removes the fingerprints of the given document.
+   *
+   * @param doc
+   */
+  public static void disable(SBMLDocument doc) {
+    SBMLDocumentFingerprints fingerprints = get(doc);
+    if (fingerprints != null) {
+      doc.removeTreeNodeChangeListener(fingerprints.updater, true);
+      fingerprints.digests.clear();
+    }
+    doc.removeUserObject(USER_OBJECT_KEY);
+  }
+
+  /**
+   * @param doc
+   * @return the fingerprints of the given document, or {@code null} if they
+   *         have not been enabled.
+   */
+  public static SBMLDocumentFingerprints get(SBMLDocument doc) {
+    Object object = doc.getUserObject(USER_OBJECT_KEY);
+    if (!(object instanceof SBMLDocumentFingerprints) || (((SBMLDocumentFingerprints) object).doc != doc)) {
+      // the fingerprints of the original of a cloned document are not copied
+      return null;
+    }
+    SBMLDocumentFingerprints fingerprints = (SBMLDocumentFingerprints) object;
+    if (fingerprints.updater == null) {
+      // a deserialized document
+      fingerprints.init();
+    }
+    return fingerprints;
+  }
+
+  /**
+   * @param digest
+   * @return the hexadecimal representation of the given digest.
+   */
+  static String toHexString(byte[] digest) {
+    char[] chars = new char[2 * digest.length];
+    for (int i = 0; i < digest.length; i++) {
+      chars[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+      chars[2 * i + 1] = HEX_DIGITS[digest[i] & 0xf];
+    }
+    return new String(chars);
+  }
+
+  /**
+   * The document.
+   */
+  private final SBMLDocument doc;
+
+  /**
+   * Whether notes are ignored.
+   */
+  private final boolean ignoreNotes;
+
+  /**
+   * Whether annotations are ignored.
+   */
+  private final boolean ignoreAnnotations;
+
+  /**
+   * The names of the ignored attributes.
+   */
+  private final Set<String> ignoredAttributes;
+
+  /**
+   * The listener that keeps the fingerprints current.
+   */
+  private transient Updater updater;
+
+  /**
+   * The kept fingerprints by node.
+   */
+  private transient Map<TreeNode, byte[]> digests;
+
+  /**
+   * Computes the fingerprints.
+   */
+  private transient MessageDigest md5;
+
+  /**
+   * @param doc
+   * @param ignoreNotes
+   * @param ignoreAnnotations
+   * @param ignoredAttributes
+   */
+  private SBMLDocumentFingerprints(SBMLDocument doc, boolean ignoreNotes,
+    boolean ignoreAnnotations, Set<String> ignoredAttributes) {
+    this.doc = doc;
+    this.ignoreNotes = ignoreNotes;
+    this.ignoreAnnotations = ignoreAnnotations;
+    this.ignoredAttributes = ignoredAttributes;
+    init();
+  }
+
+  /**
+   * Starts to listen to the changes of the document.
+   */
+  private void init() {
+    digests = new IdentityHashMap<TreeNode, byte[]>();
+    try {
+      md5 = MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException exc) {
+      // every Java platform supports MD5
+      throw new IllegalStateException(exc);
+    }
+    updater = new Updater();
+    doc.addTreeNodeChangeListener(updater, true);
+  }
+
+  /**
+   * @return the document.
+   */
+  public SBMLDocument getDocument() {
+    return doc;
+  }
+
+  /**
+   * @return the names of the ignored attributes.
+   */
+  public Set<String> getIgnoredAttributes() {
+    return Collections.unmodifiableSet(ignoredAttributes);
+  }
+
+  /**
+   * @return whether annotations are ignored.
+   */
+  public boolean isIgnoreAnnotations() {
+    return ignoreAnnotations;
+  }
+
+  /**
+   * @return whether notes are ignored.
+   */
+  public boolean isIgnoreNotes() {
+    return ignoreNotes;
+  }
+
+  /**
+   * Returns the fingerprint of the given node, which can also belong to
+   * another document or to none, in which case it is not kept.
+   *
+   * @param node
+   * @return the fingerprint of the given node as a hexadecimal string.
+   */
+  public String getFingerprint(TreeNode node) {
+    return toHexString(getDigest(node));
+  }
+
+  /**
+   * @param node
+   * @return the fingerprint of the given node, which must not be modified.
+   */
+  byte[] getDigest(TreeNode node) {
+    byte[] digest = digests.get(node);
+    if (digest != null) {
+      return digest;
+    }
+    TreeNode root = node;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    return compute(node, root == doc);
+  }
+
+  /**
+   * Discards the fingerprints of all nodes in the tree below the given node.
+   *
+   * @param node
+   */
+  private void removeAll(TreeNode node) {
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(node); iterator.hasNext();) {
+      digests.remove(iterator.next());
+    }
+  }
+
+  /**
+   * Discards the fingerprints of the given node and of its ancestors.
+   *
+   * @param node
+   */
+  private void invalidate(TreeNode node) {
+    for (; node != null; node = node.getParent()) {
+      digests.remove(node);
+    }
+  }
+
+  /**
+   * Computes the fingerprint of the given node bottom-up with an explicit
+   * stack, reusing the kept fingerprints of unchanged subtrees. The digest
+   * is shared by all threads that read a frozen document.
+   *
+   * @param root
+   * @param keep
+   *        whether the computed fingerprints are kept.
+   * @return the fingerprint of the given node.
+   */
+  private synchronized byte[] compute(TreeNode root, boolean keep) {
+    Deque<TreeNode> nodes = new ArrayDeque<TreeNode>();
+    Deque<List<TreeNode>> children = new ArrayDeque<List<TreeNode>>();
+    List<Integer> positions = new ArrayList<Integer>();
+    List<byte[]> values = new ArrayList<byte[]>();
+    nodes.push(root);
+    children.push(getChildren(root));
+    positions.add(0);
+    while (!nodes.isEmpty()) {
+      List<TreeNode> list = children.peek();
+      int last = positions.size() - 1;
+      int position = positions.get(last);
+      if (position < list.size()) {
+        positions.set(last, position + 1);
+        TreeNode child = list.get(position);
+        byte[] digest = keep ? digests.get(child) : null;
+        if (digest != null) {
+          values.add(digest);
+        } else {
+          nodes.push(child);
+          children.push(getChildren(child));
+          positions.add(0);
+        }
+        continue;
+      }
+      TreeNode node = nodes.pop();
+      children.pop();
+      positions.remove(last);
+      List<byte[]> childValues = values.subList(values.size() - list.size(), values.size());
+      md5.reset();
+      update(node);
+      for (byte[] value : childValues) {
+        md5.update(value);
+      }
+      byte[] digest = md5.digest();
+      childValues.clear();
+      values.add(digest);
+      if (keep && (node instanceof AbstractTreeNode) && !(node instanceof TreeNodeAdapter)) {
+        // adapters are created anew by their parents
+        digests.put(node, digest);
+      }
+    }
+    return values.get(0);
+  }
+
+  /**
+   * @param node
+   * @return the children of the given node that are part of its
+   *         fingerprint.
+   */
+  List<TreeNode> getChildren(TreeNode node) {
+    List<TreeNode> list = new ArrayList<TreeNode>(node.getChildCount() + 1);
+    for (int i = 0; i < node.getChildCount(); i++) {
+      TreeNode child = node.getChildAt(i);
+      if ((node instanceof SBase) && ((ignoreNotes && (child == ((SBase) node).getNotes()))
+          || (ignoreAnnotations && (child == ((SBase) node).getAnnotation())))) {
+        continue;
+      }
+      list.add(child);
+    }
+    if ((node instanceof Annotation) && ((Annotation) node).isSetNonRDFannotation()) {
+      list.add(((Annotation) node).getNonRDFannotation());
+    }
+    return list;
+  }
+
+  /**
+   * @param name
+   *        the name of an attribute of an {@link SBase}, with or without the
+   *        prefix of its package.
+   * @return whether the attribute is ignored.
+   */
+  boolean isIgnoredAttribute(String name) {
+    return ignoredAttributes.contains(name)
+        || ignoredAttributes.contains(name.substring(name.indexOf(':') + 1));
+  }
+
+  /**
+   * Adds the class and the attributes of the given node to the fingerprint.
+   *
+   * @param node
+   */
+  private void update(TreeNode node) {
+    update(node.getClass().getName());
+    if (node instanceof SBase) {
+      // the attributes in alphabetical order
+      for (Map.Entry<String, String> attribute : new TreeMap<String, String>(((SBase) node).writeXMLAttributes()).entrySet()) {
+        String name = attribute.getKey();
+        if (!isIgnoredAttribute(name)) {
+          update(name);
+          update(attribute.getValue());
+        }
+      }
+    } else if (node instanceof ASTNode) {
+      ASTNode ast = (ASTNode) node;
+      update(ast.getType().name());
+      if (ast.isInteger()) {
+        update(Integer.toString(ast.getInteger()));
+      } else if (ast.isRational()) {
+        update(ast.getNumerator() + "/" + ast.getDenominator());
+      } else if (ast.isReal()) {
+        update(Long.toString(Double.doubleToLongBits(ast.getReal())));
+      } else if (!ast.isOperator() && !ast.isNumber()) {
+        update(ast.getName());
+      }
+      update(ast.isSetDefinitionURL() ? ast.getDefinitionURL() : null);
+      update(ast.isSetUnits() ? ast.getUnits() : null);
+      update(ast.isSetId() ? ast.getId() : null);
+      update(ast.isSetStyle() ? ast.getStyle() : null);
+      update(ast.isSetClassName() ? ast.getClassName() : null);
+    } else if (node instanceof XMLNode) {
+      XMLNode xmlNode = (XMLNode) node;
+      if (xmlNode.isText()) {
+        update(xmlNode.getCharacters());
+      } else {
+        update(xmlNode.getURI());
+        update(xmlNode.getName());
+        XMLAttributes attributes = xmlNode.getAttributes();
+        Map<String, String> sorted = new TreeMap<String, String>();
+        for (int i = 0; (attributes != null) && (i < attributes.getLength()); i++) {
+          sorted.put(attributes.getURI(i) + ' ' + attributes.getName(i), attributes.getValue(i));
+        }
+        for (Map.Entry<String, String> attribute : sorted.entrySet()) {
+          update(attribute.getKey());
+          update(attribute.getValue());
+        }
+      }
+    } else if (node instanceof CVTerm) {
+      CVTerm term = (CVTerm) node;
+      update(term.getQualifierType().name());
+      update((term.getQualifier() != null) ? term.getQualifier().name() : null);
+      update(term.getUnknownQualifierName());
+    } else if (node instanceof History) {
+      History history = (History) node;
+      update(history.isSetCreatedDate() ? Long.toString(history.getCreatedDate().getTime()) : null);
+    } else if (node instanceof Creator) {
+      Creator creator = (Creator) node;
+      update(creator.getFamilyName());
+      update(creator.getGivenName());
+      update(creator.getEmail());
+      update(creator.getOrganisation());
+    } else if (node instanceof TreeNodeAdapter) {
+      Object userObject = ((TreeNodeAdapter) node).getUserObject();
+      if (userObject instanceof Date) {
+        update(Long.toString(((Date) userObject).getTime()));
+      } else if ((userObject instanceof String) || (userObject instanceof Number)
+          || (userObject instanceof Boolean) || (userObject instanceof Enum<?>)) {
+        update(userObject.toString());
+      }
+    }
+  }
+
+  /**
+   * Adds the given string, or a marker for {@code null}, to the fingerprint.
+   *
+   * @param value
+   */
+  private void update(String value) {
+    if (value == null) {
+      md5.update((byte) 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(UTF8);
+    // the length separates consecutive values
+    md5.update((byte) 1);
+    md5.update((byte) (bytes.length >>> 24));
+    md5.update((byte) (bytes.length >>> 16));
+    md5.update((byte) (bytes.length >>> 8));
+    md5.update((byte) bytes.length);
+    md5.update(bytes);
+  }
+
+}
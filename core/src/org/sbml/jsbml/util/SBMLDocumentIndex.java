@@ -0,0 +1,622 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.beans.PropertyChangeEvent;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.Annotation;
+import org.sbml.jsbml.CVTerm;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBO;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.util.filters.CVTermFilter;
+import org.sbml.jsbml.util.filters.Filter;
+import org.sbml.jsbml.util.filters.SBOFilter;
+
+/**
+ * Optional secondary indexes of the elements of an {@link SBMLDocument} by
+ * SBO term, by the resource URIs of their {@link CVTerm}s and by class.
+ * <p>
+ * The indexes are created by {@link #enable(SBMLDocument)} and kept current
+ * by a {@link TreeNodeChangeListener} on the document. While they exist,
+ * {@link SBase#filter(Filter, boolean, boolean)} answers queries with an
+ * {@link SBOFilter} or a {@link CVTermFilter} from the indexes: only the
+ * elements in the indexes and the paths to them are visited, and the result
+ * is the same as the one of a full traversal. Queries for SBO terms include
+ * the descendants of the terms in the ontology, the relations between the
+ * terms that occur in the document are cached. Changes of nested
+ * {@link CVTerm}s do not notify any listener and are only taken into account
+ * with the next change of the annotation of their element.
+ * <p>
+ * An instance is not thread-safe.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentIndex implements Serializable {
+
+  /**
+   * Keeps the indexes current.
+   */
+  private final class Updater implements SynchronousTreeNodeChangeListener {
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      SBase element = getElement(node);
+      if ((element == null) || (element.getSBMLDocument() != doc)) {
+        // a change of a detached subtree
+        return;
+      }
+      addAll(node);
+      if (!(node instanceof SBase)) {
+        // e.g., a resource of a CVTerm
+        update(getElement(node.getParent()));
+      }
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      removeAll(event.getSource());
+      if (!(event.getSource() instanceof SBase)) {
+        update(getElement(event.getPreviousParent()));
+      }
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      Object source = event.getSource();
+      if ((source instanceof SBase) && (TreeNodeChangeEvent.sboTerm.equals(event.getPropertyName())
+          || TreeNodeChangeEvent.setAnnotation.equals(event.getPropertyName()))) {
+        update((SBase) source);
+      } else if ((source instanceof Annotation) || (source instanceof CVTerm)) {
+        update(getElement((TreeNode) source));
+      }
+    }
+
+  }
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = 4457870613402745587L;
+
+  /**
+   * The key of the user object of an {@link SBMLDocument} under which its
+   * instance is kept.
+   */
+  public static final transient String USER_OBJECT_KEY = SBMLDocumentIndex.class.getName();
+
+  /**
+   * Creates the indexes of the given document, unless they exist already.
+   *
+   * @param doc
+   * @return the indexes of the given document.
+   */
+  public static SBMLDocumentIndex enable(SBMLDocument doc) {
+    SBMLDocumentIndex index = get(doc);
+    if (index == null) {
+      index = new SBMLDocumentIndex(doc);
+      doc.putUserObject(USER_OBJECT_KEY, index);
+    }
+    return index;
+  }
+
+  /**
+   * Removes the indexes of the given document.
+   *
+   * @param doc
+   */
+  public static void disable(SBMLDocument doc) {
+    SBMLDocumentIndex index = get(doc);
+    if (index != null) {
+      doc.removeTreeNodeChangeListener(index.updater, true);
+      index.clear();
+    }
+    doc.removeUserObject(USER_OBJECT_KEY);
+  }
+
+  /**
+   * @param doc
+   * @return the indexes of the given document, or {@code null} if they have
+   *         not been enabled.
+   */
+  public static SBMLDocumentIndex get(SBMLDocument doc) {
+    Object index = doc.getUserObject(USER_OBJECT_KEY);
+    if (!(index instanceof SBMLDocumentIndex) || (((SBMLDocumentIndex) index).doc != doc)) {
+      // the indexes of the original of a cloned document are not copied
+      return null;
+    }
+    SBMLDocumentIndex documentIndex = (SBMLDocumentIndex) index;
+    if (documentIndex.updater == null) {
+      // a deserialized document
+      documentIndex.build();
+    }
+    return documentIndex;
+  }
+
+  /**
+   * @return a new {@link Set} that compares its elements by identity.
+   */
+  private static <T> Set<T> newIdentitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+  }
+
+  /**
+   * @param node
+   * @return the given node if it is an {@link SBase}, otherwise its closest
+   *         ancestor that is one, or {@code null}.
+   */
+  private static SBase getElement(TreeNode node) {
+    while ((node != null) && !(node instanceof SBase)) {
+      node = node.getParent();
+    }
+    return (SBase) node;
+  }
+
+  /**
+   * @param sbase
+   * @return the resource URIs of the {@link CVTerm}s of the given element,
+   *         including the nested ones.
+   */
+  private static Set<String> getResources(SBase sbase) {
+    Set<String> resources = new LinkedHashSet<String>();
+    if (sbase.isSetAnnotation() && sbase.getAnnotation().isSetListOfCVTerms()) {
+      List<CVTerm> terms = new ArrayList<CVTerm>(sbase.getAnnotation().getListOfCVTerms());
+      for (int i = 0; i < terms.size(); i++) {
+        CVTerm term = terms.get(i);
+        resources.addAll(term.getResources());
+        if (term.isSetListOfNestedCVTerms()) {
+          terms.addAll(term.getListOfNestedCVTerms());
+        }
+      }
+    }
+    return resources;
+  }
+
+  /**
+   * The document.
+   */
+  private final SBMLDocument doc;
+
+  /**
+   * The listener that keeps the indexes current.
+   */
+  private transient Updater updater;
+
+  /**
+   * The elements by SBO term.
+   */
+  private transient Map<Integer, Set<SBase>> bySBOTerm;
+
+  /**
+   * The elements by the resource URIs of their {@link CVTerm}s.
+   */
+  private transient Map<String, Set<SBase>> byResource;
+
+  /**
+   * The elements by class.
+   */
+  private transient Map<Class<?>, Set<SBase>> byClass;
+
+  /**
+   * The elements with at least one {@link CVTerm}.
+   */
+  private transient Set<SBase> annotated;
+
+  /**
+   * The SBO term under which each element is indexed.
+   */
+  private transient Map<SBase, Integer> sboTerms;
+
+  /**
+   * The resource URIs under which each element is indexed.
+   */
+  private transient Map<SBase, Set<String>> resources;
+
+  /**
+   * Whether an SBO term is a descendant of another one, by the pair of
+   * terms, which may be queried by many threads if the document is frozen.
+   */
+  private transient Map<Long, Boolean> isA;
+
+  /**
+   * @param doc
+   */
+  private SBMLDocumentIndex(SBMLDocument doc) {
+    this.doc = doc;
+    build();
+  }
+
+  /**
+   * Indexes all elements of the document and starts to listen to its
+   * changes.
+   */
+  private void build() {
+    bySBOTerm = new HashMap<Integer, Set<SBase>>();
+    byResource = new HashMap<String, Set<SBase>>();
+    byClass = new HashMap<Class<?>, Set<SBase>>();
+    annotated = newIdentitySet();
+    sboTerms = new IdentityHashMap<SBase, Integer>();
+    resources = new IdentityHashMap<SBase, Set<String>>();
+    isA = new ConcurrentHashMap<Long, Boolean>();
+    updater = new Updater();
+    doc.addTreeNodeChangeListener(updater, true);
+    addAll(doc);
+  }
+
+  /**
+   * Releases the indexes.
+   */
+  private void clear() {
+    bySBOTerm.clear();
+    byResource.clear();
+    byClass.clear();
+    annotated.clear();
+    sboTerms.clear();
+    resources.clear();
+  }
+
+  /**
+   * @param map
+   * @param key
+   * @param sbase
+   */
+  private static <K> void add(Map<K, Set<SBase>> map, K key, SBase sbase) {
+    Set<SBase> set = map.get(key);
+    if (set == null) {
+      set = newIdentitySet();
+      map.put(key, set);
+    }
+    set.add(sbase);
+  }
+
+  /**
+   * @param map
+   * @param key
+   * @param sbase
+   */
+  private static <K> void remove(Map<K, Set<SBase>> map, K key, SBase sbase) {
+    Set<SBase> set = map.get(key);
+    if (set != null) {
+      set.remove(sbase);
+      if (set.isEmpty()) {
+        map.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Indexes all elements in the tree below the given node.
+   *
+   * @param node
+   */
+  private void addAll(TreeNode node) {
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(node); iterator.hasNext();) {
+      TreeNode child = iterator.next();
+      if (child instanceof SBase) {
+        SBase sbase = (SBase) child;
+        add(byClass, sbase.getClass(), sbase);
+        update(sbase);
+      }
+    }
+  }
+
+  /**
+   * Removes all elements in the tree below the given node from the indexes.
+   *
+   * @param node
+   */
+  private void removeAll(TreeNode node) {
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(node); iterator.hasNext();) {
+      TreeNode child = iterator.next();
+      if (child instanceof SBase) {
+        SBase sbase = (SBase) child;
+        remove(byClass, sbase.getClass(), sbase);
+        Integer term = sboTerms.remove(sbase);
+        if (term != null) {
+          remove(bySBOTerm, term, sbase);
+        }
+        Set<String> uris = resources.remove(sbase);
+        if (uris != null) {
+          for (String uri : uris) {
+            remove(byResource, uri, sbase);
+          }
+        }
+        annotated.remove(sbase);
+      }
+    }
+  }
+
+  /**
+   * Updates the SBO term and the resources of the given element in the
+   * indexes.
+   *
+   * @param sbase
+   */
+  private void update(SBase sbase) {
+    if ((sbase == null) || (sbase.getSBMLDocument() != doc)) {
+      return;
+    }
+    Integer term = sbase.isSetSBOTerm() ? Integer.valueOf(sbase.getSBOTerm()) : null;
+    Integer oldTerm = sboTerms.get(sbase);
+    if ((oldTerm == null) ? (term != null) : !oldTerm.equals(term)) {
+      if (oldTerm != null) {
+        remove(bySBOTerm, oldTerm, sbase);
+        sboTerms.remove(sbase);
+      }
+      if (term != null) {
+        add(bySBOTerm, term, sbase);
+        sboTerms.put(sbase, term);
+      }
+    }
+
+    Set<String> oldURIs = resources.remove(sbase);
+    if (oldURIs != null) {
+      for (String uri : oldURIs) {
+        remove(byResource, uri, sbase);
+      }
+    }
+    annotated.remove(sbase);
+    if (sbase.isSetAnnotation() && (sbase.getCVTermCount() > 0)) {
+      annotated.add(sbase);
+      Set<String> uris = getResources(sbase);
+      if (!uris.isEmpty()) {
+        resources.put(sbase, uris);
+        for (String uri : uris) {
+          add(byResource, uri, sbase);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param term
+   * @param parent
+   * @return whether {@code term} is {@code parent} or one of its descendants
+   *         in the ontology.
+   */
+  private boolean isA(int term, int parent) {
+    Long key = Long.valueOf(((long) term << 32) | (parent & 0xFFFFFFFFL));
+    Boolean result = isA.get(key);
+    if (result == null) {
+      result = Boolean.valueOf(SBO.isChildOf(term, parent));
+      isA.put(key, result);
+    }
+    return result.booleanValue();
+  }
+
+  /**
+   * @param terms
+   * @return the elements whose SBO term is one of the given terms or one of
+   *         their descendants.
+   */
+  private Set<SBase> getCandidates(int... terms) {
+    Set<SBase> candidates = newIdentitySet();
+    if (terms != null) {
+      for (Map.Entry<Integer, Set<SBase>> entry : bySBOTerm.entrySet()) {
+        for (int term : terms) {
+          if (isA(entry.getKey(), term)) {
+            candidates.addAll(entry.getValue());
+            break;
+          }
+        }
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * @param pattern
+   *        a regular expression that is searched for in the resource URIs,
+   *        or {@code null} for all elements with {@link CVTerm}s.
+   * @return the elements that have a {@link CVTerm} whose resource URI
+   *         contains the given pattern.
+   */
+  private Set<SBase> getCandidates(String pattern) {
+    if (pattern == null) {
+      return annotated;
+    }
+    Set<SBase> candidates = newIdentitySet();
+    Pattern compiled = Pattern.compile(pattern);
+    for (Map.Entry<String, Set<SBase>> entry : byResource.entrySet()) {
+      if (compiled.matcher(entry.getKey()).find()) {
+        candidates.addAll(entry.getValue());
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Filters the tree below the given node with the help of the indexes, as
+   * {@link SBase#filter(Filter, boolean, boolean)} without retained internal
+   * nodes.
+   *
+   * @param root
+   *        a node of the document.
+   * @param filter
+   * @param prune
+   * @return the accepted nodes in pre-order, or {@code null} if the indexes
+   *         cannot be used for the given filter.
+   */
+  public List<TreeNode> filter(TreeNode root, Filter filter, boolean prune) {
+    if (filter.getClass() == SBOFilter.class) {
+      return collect(root, getCandidates(((SBOFilter) filter).getTerms()), false, filter, prune);
+    } else if (filter.getClass() == CVTermFilter.class) {
+      CVTermFilter cvTermFilter = (CVTermFilter) filter;
+      if ((cvTermFilter.getQualifier() == null) && (cvTermFilter.getPattern() == null)) {
+        return new ArrayList<TreeNode>();
+      }
+      return collect(root, getCandidates(cvTermFilter.getPattern()), true, filter, prune);
+    }
+    return null;
+  }
+
+  /**
+   * Visits the given candidates in the tree below the given root in
+   * pre-order, together with the paths to them.
+   *
+   * @param root
+   * @param candidates
+   * @param expand
+   *        whether the nodes below the candidates that are no {@link SBase}s,
+   *        such as their {@link CVTerm}s, are visited, too.
+   * @param filter
+   *        accepts the nodes to return.
+   * @param prune
+   *        whether only the first accepted node is returned.
+   * @return the accepted nodes in pre-order.
+   */
+  private List<TreeNode> collect(TreeNode root, Collection<SBase> candidates, boolean expand, Filter filter,
+    boolean prune) {
+    List<TreeNode> list = new ArrayList<TreeNode>();
+    if (candidates.isEmpty()) {
+      return list;
+    }
+    Set<TreeNode> ancestors = newIdentitySet();
+    ancestors.add(root);
+    List<TreeNode> path = new ArrayList<TreeNode>();
+    for (SBase candidate : candidates) {
+      path.clear();
+      TreeNode node = candidate;
+      while ((node != null) && !ancestors.contains(node)) {
+        path.add(node);
+        node = node.getParent();
+      }
+      if (node != null) {
+        // the candidate is in the tree of the root
+        ancestors.addAll(path);
+      }
+    }
+
+    boolean[] expanded = new boolean[16];
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(root); iterator.hasNext();) {
+      TreeNode node = iterator.next();
+      int depth = iterator.getDepth();
+      if (depth == expanded.length) {
+        expanded = Arrays.copyOf(expanded, 2 * depth);
+      }
+      if (node instanceof SBase) {
+        expanded[depth] = expand && candidates.contains(node);
+      } else {
+        expanded[depth] = (depth > 0) && expanded[depth - 1];
+      }
+      if (filter.accepts(node)) {
+        list.add(node);
+        if (prune) {
+          return list;
+        }
+      }
+      if (!expanded[depth] && !ancestors.contains(node)) {
+        iterator.skipChildren();
+      }
+    }
+    return list;
+  }
+
+  /**
+   * @param type
+   * @return the elements of the document that are instances of the given
+   *         type in pre-order.
+   */
+  public <T> List<T> getElements(Class<T> type) {
+    Set<SBase> candidates = newIdentitySet();
+    for (Map.Entry<Class<?>, Set<SBase>> entry : byClass.entrySet()) {
+      if (type.isAssignableFrom(entry.getKey())) {
+        candidates.addAll(entry.getValue());
+      }
+    }
+    List<T> list = new ArrayList<T>();
+    for (SBase sbase : toList(candidates)) {
+      list.add(type.cast(sbase));
+    }
+    return list;
+  }
+
+  /**
+   * @param uri
+   * @return the elements of the document with a {@link CVTerm}, possibly a
+   *         nested one, that has the given resource URI in pre-order.
+   */
+  public List<SBase> getElementsWithResource(String uri) {
+    Set<SBase> set = byResource.get(uri);
+    return toList(set != null ? set : Collections.<SBase>emptySet());
+  }
+
+  /**
+   * @param terms
+   * @return the elements of the document whose SBO term is one of the given
+   *         terms or one of their descendants in pre-order, as found by an
+   *         {@link SBOFilter}.
+   */
+  public List<SBase> getElementsWithSBOTerm(int... terms) {
+    return toList(getCandidates(terms));
+  }
+
+  /**
+   * @param candidates
+   * @return the given elements of the document in pre-order.
+   */
+  private List<SBase> toList(final Set<SBase> candidates) {
+    List<SBase> list = new ArrayList<SBase>();
+    for (TreeNode node : collect(doc, candidates, false, new Filter() {
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.filters.Filter#accepts(java.lang.Object)
+       */
+      @Override
+      public boolean accepts(Object o) {
+        return candidates.contains(o);
+      }
+    }, false)) {
+      list.add((SBase) node);
+    }
+    return list;
+  }
+
+  /**
+   * @return the document.
+   */
+  public SBMLDocument getDocument() {
+    return doc;
+  }
+
+}
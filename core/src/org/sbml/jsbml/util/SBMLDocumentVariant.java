@@ -0,0 +1,428 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ListOf;
+import org.sbml.jsbml.MathContainer;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.ext.SBasePlugin;
+
+/**
+ * A variant of an {@link SBMLDocument} that only keeps its changes to the
+ * document it is based on, such that many slightly modified variants of one
+ * model, e.g., for parameter scans or knockouts, share all unchanged parts
+ * of the model. The memory needed for a variant hence depends on the size of
+ * its changes, not on the size of the model.
+ * <p>
+ * This only holds as long as no {@link SBMLDocument} is created from a
+ * variant: <strong>every call of {@link #toDocument()} copies the
+ * whole base document</strong>, so that its time and memory are proportional
+ * to the size of the model, not to the size of the changes. Hence, query the
+ * values of a variant directly where possible, and create a document only
+ * when it is really needed, e.g., to write or simulate it, and release it
+ * afterwards.
+ * <p>
+ * The changes are given for the elements of the base document, which is
+ * not modified and must not be modified while its variants are in use.
+ * Attributes are given as in SBML files, e.g., {@code initialAmount}, or
+ * with the prefix of their package, e.g., {@code fbc:charge}. The values of
+ * a variant can be queried without copying anything, and a variant can be
+ * {@link #derive() derived} from another one. A complete
+ * {@link SBMLDocument} is only created by {@link #toDocument()}, which
+ * copies the base document using {@link SBMLDocument#clone()} and applies
+ * all changes to the copy.
+ * <p>
+ * Since each element of JSBML belongs to exactly one tree and is registered
+ * in the {@link IdManager}s of that tree, the documents created from
+ * variants cannot share any elements with the base document.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentVariant {
+
+  /**
+   * The changes of one element of the base document.
+   */
+  private static class Change {
+
+    /**
+     * The changed attributes in the order in which they have been set, or
+     * {@code null}.
+     */
+    private Map<String, String> attributes;
+
+    /**
+     * The new math, or {@code null}.
+     */
+    private ASTNode math;
+
+    /**
+     * The elements that are added to a {@link ListOf}, or {@code null}.
+     */
+    private List<SBase> additions;
+
+    /**
+     * Whether the element is removed.
+     */
+    private boolean removed;
+
+    /**
+     * Adds the given changes to this one.
+     * 
+     * @param change
+     *        later changes of the same element.
+     */
+    private void merge(Change change) {
+      if (change.attributes != null) {
+        if (attributes == null) {
+          attributes = new LinkedHashMap<String, String>();
+        }
+        attributes.putAll(change.attributes);
+      }
+      if (change.math != null) {
+        math = change.math;
+      }
+      if (change.additions != null) {
+        if (additions == null) {
+          additions = new ArrayList<SBase>();
+        }
+        additions.addAll(change.additions);
+      }
+      removed |= change.removed;
+    }
+  }
+
+  /**
+   * The document that this variant is based on.
+   */
+  private final SBMLDocument base;
+
+  /**
+   * The variant this one is derived from, or {@code null}.
+   */
+  private final SBMLDocumentVariant parent;
+
+  /**
+   * The changes of this variant for the elements of the base document.
+   */
+  private final Map<SBase, Change> changes;
+
+  /**
+   * Creates a variant of the given document without any changes.
+   * 
+   * @param base
+   *        the document that this variant is based on.
+   */
+  public SBMLDocumentVariant(SBMLDocument base) {
+    this(base, null);
+  }
+
+  /**
+   * @param base
+   * @param parent
+   */
+  private SBMLDocumentVariant(SBMLDocument base, SBMLDocumentVariant parent) {
+    this.base = base;
+    this.parent = parent;
+    changes = new IdentityHashMap<SBase, Change>();
+  }
+
+  /**
+   * Creates a variant that has all changes of this variant, and further
+   * changes of its own that do not affect this variant.
+   * 
+   * @return a new variant based on this one.
+   */
+  public SBMLDocumentVariant derive() {
+    return new SBMLDocumentVariant(base, this);
+  }
+
+  /**
+   * @return the document that this variant is based on.
+   */
+  public SBMLDocument getBase() {
+    return base;
+  }
+
+  /**
+   * @return the variant that this one has been {@link #derive() derived}
+   *         from, or {@code null}.
+   */
+  public SBMLDocumentVariant getParent() {
+    return parent;
+  }
+
+  /**
+   * @return the number of elements that are changed by this variant itself,
+   *         not counting the changes of the variants it is derived from.
+   */
+  public int getChangedElementCount() {
+    return changes.size();
+  }
+
+  /**
+   * @param element
+   *        an element of the base document.
+   * @return the changes of this variant for the given element.
+   */
+  private Change change(SBase element) {
+    if ((element == null) || (element.getSBMLDocument() != base)) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "The element {0} is not part of the base document of this variant.", element));
+    }
+    Change change = changes.get(element);
+    if (change == null) {
+      change = new Change();
+      changes.put(element, change);
+    }
+    return change;
+  }
+
+  /**
+   * Sets an attribute of the given element in this variant.
+   * 
+   * @param element
+   *        an element of the base document.
+   * @param attributeName
+   *        the name of the attribute as in SBML files, with the prefix of
+   *        its package if it is defined by a package.
+   * @param value
+   *        the new value of the attribute, whose {@link String}
+   *        representation is parsed as in SBML files.
+   * @return this variant.
+   */
+  public SBMLDocumentVariant setAttribute(SBase element, String attributeName, Object value) {
+    Change change = change(element);
+    if (change.attributes == null) {
+      change.attributes = new LinkedHashMap<String, String>();
+    }
+    change.attributes.put(attributeName, value.toString());
+    return this;
+  }
+
+  /**
+   * Sets the math of the given element in this variant.
+   * 
+   * @param element
+   *        an element of the base document.
+   * @param math
+   *        the new math, of which this variant keeps a copy.
+   * @return this variant.
+   */
+  public SBMLDocumentVariant setMath(MathContainer element, ASTNode math) {
+    change(element).math = math.clone();
+    return this;
+  }
+
+  /**
+   * Adds an element to the given list of the base document in this
+   * variant.
+   * 
+   * @param list
+   *        a list of the base document.
+   * @param element
+   *        a new element that is not part of any document, of which this
+   *        variant keeps a copy.
+   * @return this variant.
+   */
+  public SBMLDocumentVariant add(ListOf<? extends SBase> list, SBase element) {
+    Change change = change(list);
+    if (change.additions == null) {
+      change.additions = new ArrayList<SBase>();
+    }
+    change.additions.add(element.clone());
+    return this;
+  }
+
+  /**
+   * Removes the given element of the base document in this variant.
+   * 
+   * @param element
+   *        an element of the base document.
+   * @return this variant.
+   */
+  public SBMLDocumentVariant remove(SBase element) {
+    change(element).removed = true;
+    return this;
+  }
+
+  /**
+   * @param element
+   *        an element of the base document.
+   * @param attributeName
+   *        the name of an attribute as in SBML files, with the prefix of its
+   *        package if it is defined by a package.
+   * @return the value of the given attribute of the given element in this
+   *         variant, or {@code null} if it is not set.
+   */
+  public String getAttribute(SBase element, String attributeName) {
+    for (SBMLDocumentVariant variant = this; variant != null; variant = variant.parent) {
+      Change change = variant.changes.get(element);
+      if ((change != null) && (change.attributes != null) && change.attributes.containsKey(attributeName)) {
+        return change.attributes.get(attributeName);
+      }
+    }
+    return element.writeXMLAttributes().get(attributeName);
+  }
+
+  /**
+   * @param element
+   *        an element of the base document.
+   * @return the math of the given element in this variant, which must not
+   *         be changed.
+   */
+  public ASTNode getMath(MathContainer element) {
+    for (SBMLDocumentVariant variant = this; variant != null; variant = variant.parent) {
+      Change change = variant.changes.get(element);
+      if ((change != null) && (change.math != null)) {
+        return change.math;
+      }
+    }
+    return element.getMath();
+  }
+
+  /**
+   * @param element
+   *        an element of the base document.
+   * @return {@code true} if the given element or one of its ancestors is
+   *         removed in this variant.
+   */
+  public boolean isRemoved(SBase element) {
+    for (TreeNode node = element; node != null; node = node.getParent()) {
+      for (SBMLDocumentVariant variant = this; variant != null; variant = variant.parent) {
+        Change change = variant.changes.get(node);
+        if ((change != null) && change.removed) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates a new document with all changes of this variant. This copies the
+   * whole base document, see the description of this class.
+   * 
+   * @return a new document that is independent of the base document and of
+   *         this variant.
+   * @throws IllegalArgumentException
+   *         if an attribute of this variant is unknown to its element.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public SBMLDocument toDocument() {
+    Deque<SBMLDocumentVariant> variants = new ArrayDeque<SBMLDocumentVariant>();
+    for (SBMLDocumentVariant variant = this; variant != null; variant = variant.parent) {
+      variants.push(variant);
+    }
+    Map<SBase, Change> merged = new IdentityHashMap<SBase, Change>();
+    for (SBMLDocumentVariant variant : variants) {
+      for (Map.Entry<SBase, Change> entry : variant.changes.entrySet()) {
+        Change change = merged.get(entry.getKey());
+        if (change == null) {
+          change = new Change();
+          merged.put(entry.getKey(), change);
+        }
+        change.merge(entry.getValue());
+      }
+    }
+
+    SBMLDocument doc = base.clone();
+    // the copies of the changed elements, in document order
+    List<SBase> copies = new ArrayList<SBase>(merged.size());
+    List<Change> copyChanges = new ArrayList<Change>(merged.size());
+    TreeNodeIterator originals = TreeNodeIterator.preOrder(base);
+    TreeNodeIterator nodes = TreeNodeIterator.preOrder(doc);
+    while (originals.hasNext() && (copies.size() < merged.size())) {
+      TreeNode original = originals.next();
+      TreeNode node = nodes.next();
+      Change change = merged.get(original);
+      if (change != null) {
+        copies.add((SBase) node);
+        copyChanges.add(change);
+      }
+    }
+
+    for (int i = 0; i < copies.size(); i++) {
+      SBase node = copies.get(i);
+      Change change = copyChanges.get(i);
+      if (change.attributes != null) {
+        for (Map.Entry<String, String> attribute : change.attributes.entrySet()) {
+          setAttribute(node, attribute.getKey(), attribute.getValue());
+        }
+      }
+      if (change.math != null) {
+        ((MathContainer) node).setMath(change.math.clone());
+      }
+      if (change.additions != null) {
+        for (SBase element : change.additions) {
+          ((ListOf) node).add(element.clone());
+        }
+      }
+    }
+    for (int i = copies.size() - 1; i >= 0; i--) {
+      if (copyChanges.get(i).removed) {
+        copies.get(i).removeFromParent();
+      }
+    }
+    return doc;
+  }
+
+  /**
+   * Sets an attribute of the given element as if it was read from an SBML
+   * file.
+   * 
+   * @param element
+   * @param attributeName
+   *        the name of the attribute with the prefix of its package if it is
+   *        defined by a package.
+   * @param value
+   */
+  private static void setAttribute(SBase element, String attributeName, String value) {
+    int colon = attributeName.indexOf(':');
+    boolean read;
+    if (colon < 0) {
+      read = element.readAttribute(attributeName, "", value);
+    } else {
+      String prefix = attributeName.substring(0, colon);
+      String name = attributeName.substring(colon + 1);
+      SBasePlugin plugin = element.getExtension(prefix);
+      read = (plugin != null) ? plugin.readAttribute(name, prefix, value)
+        : element.readAttribute(name, prefix, value);
+    }
+    if (!read) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "The attribute ''{0}'' of {1} is unknown.", attributeName, element));
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import org.sbml.jsbml.SBMLDocument;
+
+/**
+ * A {@link TreeNodeChangeListener} that is notified about each change
+ * immediately, even while a transaction of its {@link SBMLDocument} is open,
+ * see {@link SBMLDocument#beginTransaction()}. This is needed by listeners
+ * that keep caches of the document current, such as the ones of
+ * {@link SBMLDocumentIndex} or {@link SBMLDocumentFingerprints}, because the
+ * cached information may be queried within the transaction.
+ *
+ * @since 1.7
+ */
+public interface SynchronousTreeNodeChangeListener extends TreeNodeChangeListener {
+
+}
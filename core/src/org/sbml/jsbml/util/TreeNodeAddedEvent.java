@@ -0,0 +1,56 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.util.EventObject;
+
+import javax.swing.tree.TreeNode;
+
+/**
+ * Describes a {@link TreeNode} that has been added to a containing element
+ * within a {@link TreeNodeChangeBatchEvent}, where it corresponds to a call of
+ * {@link TreeNodeChangeListener#nodeAdded(TreeNode)}.
+ *
+ * @since 1.7
+ */
+public class TreeNodeAddedEvent extends EventObject {
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = -2318470695348306218L;
+
+  /**
+   * @param source
+   *        the node that has been added.
+   */
+  public TreeNodeAddedEvent(TreeNode source) {
+    super(source);
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.EventObject#getSource()
+   */
+  @Override
+  public TreeNode getSource() {
+    return (TreeNode) super.getSource();
+  }
+
+}
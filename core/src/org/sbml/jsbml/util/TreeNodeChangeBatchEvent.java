@@ -0,0 +1,87 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.List;
+
+import org.sbml.jsbml.SBMLDocument;
+
+/**
+ * The compound notification about the changes of an {@link SBMLDocument}
+ * within a transaction, see {@link SBMLDocument#beginTransaction()}. The
+ * changes are given in the order in which they have been made, where each
+ * change is a {@link TreeNodeAddedEvent}, a {@link TreeNodeRemovedEvent} or a
+ * {@link TreeNodeChangeEvent}. Several changes of the same property of an
+ * element are given as one {@link TreeNodeChangeEvent} at the position of the
+ * first one with the first old and the last new value.
+ *
+ * @since 1.7
+ */
+public class TreeNodeChangeBatchEvent extends EventObject {
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = 7301589612436215790L;
+
+  /**
+   * The changes within the transaction.
+   */
+  private final List<EventObject> changes;
+
+  /**
+   * @param source
+   *        the document whose transaction has been committed.
+   * @param changes
+   *        the changes within the transaction that concern the notified
+   *        listener.
+   */
+  public TreeNodeChangeBatchEvent(SBMLDocument source, List<EventObject> changes) {
+    super(source);
+    this.changes = Collections.unmodifiableList(changes);
+  }
+
+  /**
+   * @return the changes within the transaction in the order in which they
+   *         have been made.
+   */
+  public List<EventObject> getChanges() {
+    return changes;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.EventObject#getSource()
+   */
+  @Override
+  public SBMLDocument getSource() {
+    return (SBMLDocument) super.getSource();
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.EventObject#toString()
+   */
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + " [source=" + source + ", changes=" + changes.size() + "]";
+  }
+
+}
@@ -0,0 +1,542 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.beans.PropertyChangeEvent;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.EventObject;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.swing.tree.TreeNode;
+
+import org.apache.log4j.Logger;
+import org.sbml.jsbml.SBMLDocument;
+
+/**
+ * Notifies {@link TreeNodeChangeListener}s about the changes of an
+ * {@link SBMLDocument} asynchronously, such that slow listeners do not stall
+ * the thread that changes the document.
+ * <p>
+ * The dispatcher of a document is created by
+ * {@link #enable(SBMLDocument, int, Executor)}, and listeners that are
+ * added by {@link #addTreeNodeChangeListener(TreeNodeChangeListener)} are
+ * registered at all elements of the document. Their notifications are
+ * queued in a bounded ring buffer and delivered one after the other, either
+ * on a dedicated daemon thread or by the given {@link Executor}, in the
+ * order in which the changes have been made. If the buffer is full, the
+ * changing thread waits until there is space again.
+ * <p>
+ * This is not possible for changes that a listener makes during its
+ * notification, to this or any other document with a dispatcher: the
+ * delivering thread would wait for itself, or, if several dispatchers share
+ * an {@link Executor} with a single thread, for a delivery that cannot start
+ * before its own has ended. Therefore, whenever the buffer is full and the
+ * changing thread is delivering notifications of any dispatcher, the new
+ * notification is delivered directly on that thread. Such a notification
+ * <strong>overtakes all notifications that are still queued</strong>, i.e.,
+ * the listener may learn about a change before it learns about earlier
+ * changes, and may be called while the thread of the dispatcher of the
+ * changed document delivers other notifications to it. Listeners that
+ * change documents should hence not rely on the order of their
+ * notifications, or the capacity should be large enough for all changes
+ * that listeners make.
+ * <p>
+ * The notifications of a transaction, see
+ * {@link SBMLDocument#beginTransaction()}, are queued as one
+ * {@link TreeNodeChangeBatchEvent}. {@link #flush()} waits until all queued
+ * notifications have been delivered.
+ * <p>
+ * As the document is not thread-safe, listeners should only rely on the
+ * contents of the events, or on a document that is not changed anymore, see
+ * {@link SBMLDocument#freeze()}. Exceptions of listeners are logged.
+ * Copies of the document do not have the dispatcher of their original.
+ *
+ * @since 1.7
+ */
+public class TreeNodeChangeDispatcher implements Serializable {
+
+  /**
+   * Queues the notifications of a listener.
+   */
+  private final class Forwarder implements TreeNodeChangeBatchListener {
+
+    /**
+     * The listener to be notified asynchronously.
+     */
+    private final TreeNodeChangeListener listener;
+
+    /**
+     * @param listener
+     */
+    private Forwarder(TreeNodeChangeListener listener) {
+      this.listener = listener;
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeBatchListener#changesCommitted(org.sbml.jsbml.util.TreeNodeChangeBatchEvent)
+     */
+    @Override
+    public void changesCommitted(TreeNodeChangeBatchEvent event) {
+      enqueue(listener, event);
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      enqueue(listener, new TreeNodeAddedEvent(node));
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      enqueue(listener, event);
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      enqueue(listener, event);
+    }
+
+  }
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = -6019416093582651398L;
+
+  /**
+   * A {@link Logger} for this class.
+   */
+  private static final transient Logger logger = Logger.getLogger(TreeNodeChangeDispatcher.class);
+
+  /**
+   * The number of deliveries of any dispatcher that are currently running on
+   * the current thread, see {@link #enqueue(TreeNodeChangeListener, EventObject)}.
+   */
+  private static final ThreadLocal<int[]> deliveringCount = new ThreadLocal<int[]>() {
+    /* (non-Javadoc)
+     * @see java.lang.ThreadLocal#initialValue()
+     */
+    @Override
+    protected int[] initialValue() {
+      return new int[1];
+    }
+  };
+
+  /**
+   * The key of the user object of an {@link SBMLDocument} under which its
+   * instance is kept.
+   */
+  public static final transient String USER_OBJECT_KEY = TreeNodeChangeDispatcher.class.getName();
+
+  /**
+   * Creates the dispatcher of the given document, unless it exists already,
+   * which delivers the notifications on a dedicated daemon thread.
+   *
+   * @param doc
+   * @param capacity
+   *        the maximal number of queued notifications.
+   * @return the dispatcher of the given document.
+   */
+  public static TreeNodeChangeDispatcher enable(SBMLDocument doc, int capacity) {
+    return enable(doc, capacity, null);
+  }
+
+  /**
+   * Creates the dispatcher of the given document, unless it exists already.
+   *
+   * @param doc
+   * @param capacity
+   *        the maximal number of queued notifications.
+   * @param executor
+   *        runs the deliveries of the notifications, one at a time. If
+   *        {@code null}, they are run on a dedicated daemon thread.
+   * @return the dispatcher of the given document.
+   */
+  public static TreeNodeChangeDispatcher enable(SBMLDocument doc, int capacity, Executor executor) {
+    TreeNodeChangeDispatcher dispatcher = get(doc);
+    if (dispatcher == null) {
+      dispatcher = new TreeNodeChangeDispatcher(doc, capacity, executor);
+      doc.putUserObject(USER_OBJECT_KEY, dispatcher);
+    }
+    return dispatcher;
+  }
+
+  /**
+   * Removes the dispatcher of the given document and its listeners. The
+   * notifications that have already been queued are still delivered, see
+   * {@link #flush()}.
+   *
+   * @param doc
+   */
+  public static void disable(SBMLDocument doc) {
+    TreeNodeChangeDispatcher dispatcher = get(doc);
+    if (dispatcher != null) {
+      for (Forwarder forwarder : dispatcher.forwarders.values()) {
+        doc.removeTreeNodeChangeListener(forwarder, true);
+      }
+      dispatcher.forwarders.clear();
+      if (dispatcher.ownExecutor) {
+        ((ExecutorService) dispatcher.executor).shutdown();
+      }
+    }
+    doc.removeUserObject(USER_OBJECT_KEY);
+  }
+
+  /**
+   * @param doc
+   * @return the dispatcher of the given document, or {@code null} if it has
+   *         not been enabled.
+   */
+  public static TreeNodeChangeDispatcher get(SBMLDocument doc) {
+    Object dispatcher = doc.getUserObject(USER_OBJECT_KEY);
+    if (!(dispatcher instanceof TreeNodeChangeDispatcher) || (((TreeNodeChangeDispatcher) dispatcher).doc != doc)) {
+      // the dispatcher of the original of a cloned or deserialized document
+      return null;
+    }
+    return (TreeNodeChangeDispatcher) dispatcher;
+  }
+
+  /**
+   * Notifies the given listener about the given change.
+   *
+   * @param listener
+   * @param event
+   */
+  private static void deliver(TreeNodeChangeListener listener, EventObject event) {
+    if (event instanceof TreeNodeChangeBatchEvent) {
+      if (listener instanceof TreeNodeChangeBatchListener) {
+        ((TreeNodeChangeBatchListener) listener).changesCommitted((TreeNodeChangeBatchEvent) event);
+      } else {
+        for (EventObject change : ((TreeNodeChangeBatchEvent) event).getChanges()) {
+          deliver(listener, change);
+        }
+      }
+    } else if (event instanceof TreeNodeAddedEvent) {
+      listener.nodeAdded(((TreeNodeAddedEvent) event).getSource());
+    } else if (event instanceof TreeNodeRemovedEvent) {
+      listener.nodeRemoved((TreeNodeRemovedEvent) event);
+    } else {
+      listener.propertyChange((PropertyChangeEvent) event);
+    }
+  }
+
+  /**
+   * The document of this dispatcher.
+   */
+  private final transient SBMLDocument doc;
+
+  /**
+   * Runs {@link #drain}.
+   */
+  private final transient Executor executor;
+
+  /**
+   * Whether {@link #executor} has been created by this dispatcher.
+   */
+  private final transient boolean ownExecutor;
+
+  /**
+   * The registered listeners and their {@link Forwarder}s.
+   */
+  private final transient Map<TreeNodeChangeListener, Forwarder> forwarders;
+
+  /**
+   * Guards the ring buffer and the counters.
+   */
+  private final transient ReentrantLock lock;
+
+  /**
+   * Signaled when a notification has been taken from the ring buffer.
+   */
+  private final transient Condition notFull;
+
+  /**
+   * Signaled when a notification has been delivered.
+   */
+  private final transient Condition delivered;
+
+  /**
+   * The listeners of the queued notifications, a ring buffer.
+   */
+  private final transient TreeNodeChangeListener[] listeners;
+
+  /**
+   * The queued notifications, a ring buffer.
+   */
+  private final transient EventObject[] events;
+
+  /**
+   * The position of the oldest queued notification in the ring buffer.
+   */
+  private transient int head;
+
+  /**
+   * The number of queued notifications.
+   */
+  private transient int size;
+
+  /**
+   * The number of notifications that have been queued so far.
+   */
+  private transient long enqueuedCount;
+
+  /**
+   * The number of notifications that have been delivered so far.
+   */
+  private transient long deliveredCount;
+
+  /**
+   * Whether {@link #drain} has been passed to the {@link #executor} and has
+   * not finished yet.
+   */
+  private transient boolean scheduled;
+
+  /**
+   * Delivers the queued notifications until there are none left.
+   */
+  private final transient Runnable drain = new Runnable() {
+    @Override
+    public void run() {
+      int[] delivering = deliveringCount.get();
+      delivering[0]++;
+      try {
+        boolean done = false;
+        while (true) {
+          TreeNodeChangeListener listener;
+          EventObject event;
+          lock.lock();
+          try {
+            if (done) {
+              deliveredCount++;
+              delivered.signalAll();
+            }
+            if (size == 0) {
+              scheduled = false;
+              return;
+            }
+            listener = listeners[head];
+            event = events[head];
+            listeners[head] = null;
+            events[head] = null;
+            head = (head + 1) % events.length;
+            size--;
+            notFull.signal();
+          } finally {
+            lock.unlock();
+          }
+          try {
+            deliver(listener, event);
+          } catch (RuntimeException exc) {
+            logger.error(MessageFormat.format("Could not notify {0} about {1}.", listener, event), exc);
+          }
+          done = true;
+        }
+      } finally {
+        delivering[0]--;
+      }
+    }
+  };
+
+  /**
+   * @param doc
+   * @param capacity
+   * @param executor
+   */
+  private TreeNodeChangeDispatcher(SBMLDocument doc, int capacity, Executor executor) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "The capacity {0,number,integer} of the dispatcher must be positive.", capacity));
+    }
+    this.doc = doc;
+    ownExecutor = executor == null;
+    if (ownExecutor) {
+      executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, TreeNodeChangeDispatcher.class.getSimpleName());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    this.executor = executor;
+    forwarders = new IdentityHashMap<TreeNodeChangeListener, Forwarder>();
+    lock = new ReentrantLock();
+    notFull = lock.newCondition();
+    delivered = lock.newCondition();
+    listeners = new TreeNodeChangeListener[capacity];
+    events = new EventObject[capacity];
+  }
+
+  /**
+   * Registers the given listener at all elements of the document of this
+   * dispatcher, see
+   * {@link SBMLDocument#addTreeNodeChangeListener(TreeNodeChangeListener, boolean)},
+   * such that it is notified asynchronously.
+   *
+   * @param listener
+   */
+  public void addTreeNodeChangeListener(TreeNodeChangeListener listener) {
+    if (!forwarders.containsKey(listener)) {
+      Forwarder forwarder = new Forwarder(listener);
+      forwarders.put(listener, forwarder);
+      doc.addTreeNodeChangeListener(forwarder, true);
+    }
+  }
+
+  /**
+   * Removes the given listener from all elements of the document of this
+   * dispatcher. Its notifications that have already been queued are still
+   * delivered.
+   *
+   * @param listener
+   */
+  public void removeTreeNodeChangeListener(TreeNodeChangeListener listener) {
+    Forwarder forwarder = forwarders.remove(listener);
+    if (forwarder != null) {
+      doc.removeTreeNodeChangeListener(forwarder, true);
+    }
+  }
+
+  /**
+   * Waits until all notifications that have been queued before have been
+   * delivered. Must not be called by the listeners of this dispatcher.
+   *
+   * @throws InterruptedException
+   */
+  public void flush() throws InterruptedException {
+    lock.lock();
+    try {
+      long target = enqueuedCount;
+      while (deliveredCount < target) {
+        delivered.await();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits at most the given time until all notifications that have been
+   * queued before have been delivered.
+   *
+   * @param timeout
+   * @param unit
+   * @return {@code false} if the time has elapsed before.
+   * @throws InterruptedException
+   * @see #flush()
+   */
+  public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lock();
+    try {
+      long target = enqueuedCount;
+      while (deliveredCount < target) {
+        if (nanos <= 0L) {
+          return false;
+        }
+        nanos = delivered.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the maximal number of queued notifications.
+   */
+  public int getCapacity() {
+    return events.length;
+  }
+
+  /**
+   * @return the number of notifications that are currently queued.
+   */
+  public int getQueuedCount() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues a notification and makes sure that it will be delivered. If the
+   * ring buffer is full and the current thread delivers notifications of any
+   * dispatcher, the notification is delivered directly instead of waiting,
+   * ahead of all queued notifications, see the description of this class.
+   *
+   * @param listener
+   * @param event
+   */
+  private void enqueue(TreeNodeChangeListener listener, EventObject event) {
+    boolean schedule = false;
+    lock.lock();
+    try {
+      if ((size == events.length) && (deliveringCount.get()[0] > 0)) {
+        // a listener changes a document, it might wait for itself
+        lock.unlock();
+        try {
+          deliver(listener, event);
+        } finally {
+          lock.lock();
+        }
+        return;
+      }
+      while (size == events.length) {
+        notFull.awaitUninterruptibly();
+      }
+      int tail = (head + size) % events.length;
+      listeners[tail] = listener;
+      events[tail] = event;
+      size++;
+      enqueuedCount++;
+      if (!scheduled) {
+        scheduled = true;
+        schedule = true;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (schedule) {
+      executor.execute(drain);
+    }
+  }
+
+}
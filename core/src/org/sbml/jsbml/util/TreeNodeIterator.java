@@ -0,0 +1,253 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.swing.tree.TreeNode;
+
+/**
+ * Iterates over all nodes of the tree below a {@link TreeNode} in depth-first
+ * pre-order or post-order.
+ * <p>
+ * The path from the root to the current node is kept in two arrays that grow
+ * with the height of the tree, so that, unlike
+ * {@link TreeNodeWithChangeSupport#filter(org.sbml.jsbml.util.filters.Filter)}
+ * or an iteration over {@link TreeNode#children()}, no collection or other
+ * object is created per node and arbitrarily deep trees can be traversed.
+ * The number of children of a node is only computed once, when it is entered.
+ * <p>
+ * The tree must not be modified during the iteration.
+ *
+ * @since 1.7
+ */
+public class TreeNodeIterator implements Iterator<TreeNode> {
+
+  /**
+   * The nodes on the path from the root to the current node.
+   */
+  private TreeNode[] nodes;
+
+  /**
+   * For each node on the path, the index of the next child to visit.
+   */
+  private int[] indices;
+
+  /**
+   * For each node on the path, the number of its children.
+   */
+  private int[] counts;
+
+  /**
+   * The index of the current node in {@link #nodes}, -1 if the iteration is
+   * finished.
+   */
+  private int top;
+
+  /**
+   * Whether the nodes are returned in post-order.
+   */
+  private final boolean postOrder;
+
+  /**
+   * The next node in pre-order that has been found by {@link #hasNext()},
+   * or the root before the first call of {@link #next()}.
+   */
+  private TreeNode next;
+
+  /**
+   * @param root
+   * @param postOrder
+   */
+  private TreeNodeIterator(TreeNode root, boolean postOrder) {
+    this.postOrder = postOrder;
+    nodes = new TreeNode[16];
+    indices = new int[16];
+    counts = new int[16];
+    top = -1;
+    if (postOrder) {
+      push(root);
+      descend();
+    } else {
+      next = root;
+    }
+  }
+
+  /**
+   * @param root
+   * @return an iterator that returns each node before its children, starting
+   *         with the given root.
+   */
+  public static TreeNodeIterator preOrder(TreeNode root) {
+    return new TreeNodeIterator(root, false);
+  }
+
+  /**
+   * @param root
+   * @return an iterator that returns each node after its children, ending
+   *         with the given root.
+   */
+  public static TreeNodeIterator postOrder(TreeNode root) {
+    return new TreeNodeIterator(root, true);
+  }
+
+  /**
+   * Counts the nodes of the tree below the given root, including the root.
+   *
+   * @param root
+   * @return the number of nodes.
+   */
+  public static long size(TreeNode root) {
+    long size = 0;
+    for (TreeNodeIterator iterator = preOrder(root); iterator.hasNext(); iterator.next()) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Follows the first children from the top of the path down to a leaf,
+   * which is the next node in post-order.
+   */
+  private void descend() {
+    while (indices[top] < counts[top]) {
+      push(nodes[top].getChildAt(indices[top]++));
+    }
+  }
+
+  /**
+   * @param node
+   */
+  private void push(TreeNode node) {
+    if (++top == nodes.length) {
+      int length = 2 * nodes.length;
+      nodes = Arrays.copyOf(nodes, length);
+      indices = Arrays.copyOf(indices, length);
+      counts = Arrays.copyOf(counts, length);
+    }
+    nodes[top] = node;
+    indices[top] = 0;
+    counts[top] = node.getChildCount();
+  }
+
+  /**
+   * @return the number of ancestors of the node that has been returned last
+   *         by {@link #next()} within the traversed tree, 0 for the root.
+   */
+  public int getDepth() {
+    return postOrder ? top + 1 : top;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.Iterator#hasNext()
+   */
+  @Override
+  public boolean hasNext() {
+    if (postOrder) {
+      return top >= 0;
+    }
+    if (next != null) {
+      return true;
+    }
+    while (top >= 0) {
+      if (indices[top] < counts[top]) {
+        next = nodes[top].getChildAt(indices[top]++);
+        return true;
+      }
+      nodes[top--] = null;
+    }
+    return false;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.Iterator#next()
+   */
+  @Override
+  public TreeNode next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (postOrder) {
+      TreeNode node = nodes[top];
+      nodes[top--] = null;
+      if (top >= 0) {
+        descend();
+      }
+      return node;
+    }
+    TreeNode node = next;
+    next = null;
+    push(node);
+    return node;
+  }
+
+  /**
+   * Skips the descendants of the node that has been returned last by
+   * {@link #next()}. Only possible in pre-order and before the next call of
+   * {@link #hasNext()}.
+   *
+   * @throws UnsupportedOperationException
+   *         if the nodes are returned in post-order.
+   * @throws IllegalStateException
+   *         if {@link #hasNext()} has been called after {@link #next()}.
+   */
+  public void skipChildren() {
+    if (postOrder) {
+      throw new UnsupportedOperationException();
+    }
+    if ((next != null) || (top < 0)) {
+      throw new IllegalStateException();
+    }
+    indices[top] = counts[top];
+  }
+
+  /**
+   * Removes the remaining children of the node closest to the root that has
+   * any from this pre-order traversal. Their subtrees would have been
+   * returned after all other remaining nodes.
+   *
+   * @param spliterator
+   *        receives the removed children as its range.
+   * @return {@code false} if there are no such children.
+   */
+  boolean splitOff(TreeNodeSpliterator spliterator) {
+    if (!postOrder) {
+      for (int k = 0; k <= top; k++) {
+        if (indices[k] < counts[k]) {
+          spliterator.setRange(nodes[k], indices[k], counts[k]);
+          counts[k] = indices[k];
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.Iterator#remove()
+   */
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+}
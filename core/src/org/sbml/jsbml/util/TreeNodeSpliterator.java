@@ -0,0 +1,320 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.swing.tree.TreeNode;
+
+import org.sbml.jsbml.ListOf;
+import org.sbml.jsbml.util.filters.Filter;
+
+/**
+ * Iterates over the nodes of a tree in depth-first pre-order and can be split
+ * into parts that are traversed by different threads.
+ * <p>
+ * A part consists of the remaining nodes of the subtree whose traversal has
+ * been started and of a range of children of one node, whose subtrees are
+ * traversed completely. {@link #trySplit()} hands over the first half of the
+ * range to a new part, descends into a single remaining child or takes over
+ * the last children of the started traversal, so that the elements of a large
+ * {@link ListOf} are distributed evenly. The parts
+ * returned by successive splits precede the remaining nodes of this
+ * instance in pre-order.
+ * <p>
+ * The methods follow the contract of {@code java.util.Spliterator}, which is
+ * not available on all platforms that JSBML supports.
+ * {@link #filter(TreeNode, Filter, ForkJoinPool)} uses this class to filter
+ * a tree in parallel. The tree must not be modified during the traversal.
+ *
+ * @since 1.7
+ */
+public class TreeNodeSpliterator implements Iterator<TreeNode> {
+
+  /**
+   * Filters the nodes of the parts of a tree that are split off, keeping the
+   * results in pre-order.
+   */
+  @SuppressWarnings("serial")
+  private static final class FilterTask extends RecursiveTask<List<TreeNode>> {
+
+    /**
+     * The nodes to filter.
+     */
+    private final TreeNodeSpliterator spliterator;
+
+    /**
+     * The filter.
+     */
+    private final Filter filter;
+
+    /**
+     * @param spliterator
+     * @param filter
+     */
+    private FilterTask(TreeNodeSpliterator spliterator, Filter filter) {
+      this.spliterator = spliterator;
+      this.filter = filter;
+    }
+
+    /* (non-Javadoc)
+     * @see java.util.concurrent.RecursiveTask#compute()
+     */
+    @Override
+    protected List<TreeNode> compute() {
+      List<FilterTask> parts = new ArrayList<FilterTask>();
+      TreeNodeSpliterator part;
+      while ((getSurplusQueuedTaskCount() <= SURPLUS) && ((part = spliterator.trySplit()) != null)) {
+        FilterTask task = new FilterTask(part, filter);
+        task.fork();
+        parts.add(task);
+      }
+      List<TreeNode> list = new ArrayList<TreeNode>();
+      while (spliterator.hasNext()) {
+        TreeNode node = spliterator.next();
+        if (filter.accepts(node)) {
+          list.add(node);
+        }
+      }
+      if (parts.isEmpty()) {
+        return list;
+      }
+      List<TreeNode> result = new ArrayList<TreeNode>();
+      for (FilterTask task : parts) {
+        result.addAll(task.join());
+      }
+      result.addAll(list);
+      return result;
+    }
+
+  }
+
+  /**
+   * The number of queued tasks of a worker thread up to which the parts of a
+   * tree are split further.
+   */
+  private static final int SURPLUS = 3;
+
+  /**
+   * A lazily created pool that is used if no other pool is given.
+   */
+  private static ForkJoinPool sharedPool;
+
+  /**
+   * @return the pool shared by all parallel traversals that do not get their
+   *         own pool.
+   */
+  static synchronized ForkJoinPool getSharedPool() {
+    if (sharedPool == null) {
+      sharedPool = new ForkJoinPool();
+    }
+    return sharedPool;
+  }
+
+  /**
+   * Filters the nodes of the given tree in parallel with a shared pool of
+   * threads.
+   *
+   * @param root
+   * @param filter
+   *        must be thread-safe.
+   * @return the nodes that are accepted by the filter in pre-order.
+   * @see #filter(TreeNode, Filter, ForkJoinPool)
+   */
+  public static List<TreeNode> filter(TreeNode root, Filter filter) {
+    return filter(root, filter, getSharedPool());
+  }
+
+  /**
+   * Filters the nodes of the given tree in parallel. The result is the same
+   * as the one of
+   * {@link TreeNodeWithChangeSupport#filter(Filter, boolean, boolean)}
+   * without retained internal nodes and without pruning.
+   *
+   * @param root
+   * @param filter
+   *        must be thread-safe.
+   * @param pool
+   * @return the nodes that are accepted by the filter in pre-order.
+   */
+  public static List<TreeNode> filter(TreeNode root, Filter filter, ForkJoinPool pool) {
+    return pool.invoke(new FilterTask(new TreeNodeSpliterator(root), filter));
+  }
+
+  /**
+   * A node that is returned before the remaining nodes, without its
+   * subtree, or {@code null}.
+   */
+  private TreeNode pending;
+
+  /**
+   * The traversal of the subtree that has been started, or {@code null}.
+   */
+  private TreeNodeIterator current;
+
+  /**
+   * The node whose children from {@link #from} to {@link #to} belong to this
+   * part.
+   */
+  private TreeNode parent;
+
+  /**
+   * The index of the first child whose subtree has not been started.
+   */
+  private int from;
+
+  /**
+   * The index after the last child that belongs to this part.
+   */
+  private int to;
+
+  /**
+   * Creates an instance for the tree below the given root, including the
+   * root.
+   *
+   * @param root
+   */
+  public TreeNodeSpliterator(TreeNode root) {
+    this(root, null, root, 0, root.getChildCount());
+  }
+
+  /**
+   * @param pending
+   * @param current
+   * @param parent
+   * @param from
+   * @param to
+   */
+  private TreeNodeSpliterator(TreeNode pending, TreeNodeIterator current, TreeNode parent, int from, int to) {
+    this.pending = pending;
+    this.current = current;
+    this.parent = parent;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * @param parent
+   * @param from
+   * @param to
+   */
+  void setRange(TreeNode parent, int from, int to) {
+    this.parent = parent;
+    this.from = from;
+    this.to = to;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.Iterator#hasNext()
+   */
+  @Override
+  public boolean hasNext() {
+    if (pending != null) {
+      return true;
+    }
+    while ((current == null) || !current.hasNext()) {
+      if (from >= to) {
+        current = null;
+        return false;
+      }
+      current = TreeNodeIterator.preOrder(parent.getChildAt(from++));
+    }
+    return true;
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.Iterator#next()
+   */
+  @Override
+  public TreeNode next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (pending != null) {
+      TreeNode node = pending;
+      pending = null;
+      return node;
+    }
+    return current.next();
+  }
+
+  /* (non-Javadoc)
+   * @see java.util.Iterator#remove()
+   */
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Splits off the first part of the remaining nodes.
+   *
+   * @return a new instance for a part of the remaining nodes, which precedes
+   *         the nodes that remain in this instance, or {@code null} if the
+   *         remaining nodes cannot be split.
+   */
+  public TreeNodeSpliterator trySplit() {
+    while (true) {
+      int n = to - from;
+      boolean started = (pending != null) || ((current != null) && current.hasNext());
+      if (started) {
+        if (n == 0) {
+          // the remaining subtrees of the started traversal that come last
+          TreeNodeSpliterator part = new TreeNodeSpliterator(pending, current, null, 0, 0);
+          if ((current == null) || !current.splitOff(this)) {
+            return null;
+          }
+          pending = null;
+          current = null;
+          return part;
+        }
+        // the started part and the first half of the range
+        int middle = from + n / 2;
+        TreeNodeSpliterator part = new TreeNodeSpliterator(pending, current, parent, from, middle);
+        pending = null;
+        current = null;
+        from = middle;
+        return part;
+      }
+      current = null;
+      if (n >= 2) {
+        int middle = from + n / 2;
+        TreeNodeSpliterator part = new TreeNodeSpliterator(null, null, parent, from, middle);
+        from = middle;
+        return part;
+      } else if (n == 1) {
+        // descend into the only subtree
+        TreeNode child = parent.getChildAt(from);
+        pending = child;
+        parent = child;
+        from = 0;
+        to = child.getChildCount();
+      } else {
+        return null;
+      }
+    }
+  }
+
+}
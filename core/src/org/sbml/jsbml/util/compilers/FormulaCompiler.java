@@ -1022,7 +1022,7 @@ public class FormulaCompiler extends StringTools implements ASTNodeCompiler {
     }
 
     if (nodes.get(0).isSum()) {
-      plus.append(nodes.get(0));
+      plus.append(nodes.get(0).compile(this));
     } else {
       plus.append(checkBrackets(nodes.get(0)));
     }
@@ -1032,7 +1032,7 @@ public class FormulaCompiler extends StringTools implements ASTNodeCompiler {
       plus.append('+');
 
       if (nodes.get(i).isSum()) {
-        plus.append(nodes.get(i));
+        plus.append(nodes.get(i).compile(this));
       } else {
         plus.append(checkBrackets(nodes.get(i)));
       }
@@ -23,6 +23,9 @@ import java.io.StringWriter;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -54,10 +57,21 @@ import com.ctc.wstx.stax.WstxOutputFactory;
  */
 public class MathMLXMLStreamCompiler {
 
+  /**
+   * The task of {@link #pending} that ends the current element.
+   */
+  private static final Object END_ELEMENT = new Object();
+
   /**
    * 
    */
   private String indent;
+  /**
+   * The tasks still to be done by {@link #compile(ASTNode)}, the next one on
+   * top: {@link ASTNode}s to compile, names of elements to start or
+   * {@link #END_ELEMENT}.
+   */
+  private final ArrayDeque<Object> pending = new ArrayDeque<Object>();
   /**
    * 
    */
@@ -196,6 +210,42 @@ public class MathMLXMLStreamCompiler {
     return mathML;
   }
 
+  /**
+   * Writes the mathML elements of an {@link ASTNode} as they appear inside
+   * of the {@code math} element of an SBML document, without the enclosing
+   * {@code math} element and without the semantics annotations.
+   * 
+   * @param astNode the {@link ASTNode} to serialize as mathML
+   * @param indent the indentation of the top-level element
+   * @return a String representing this ASTNode as mathML elements.
+   */
+  public static String toMathMLContent(ASTNode astNode, String indent) {
+    StringWriter stream = new StringWriter();
+    WstxOutputFactory outputFactory = new WstxOutputFactory();
+    SMOutputFactory smFactory = new SMOutputFactory(outputFactory);
+    int start = 0;
+
+    try {
+      XMLStreamWriter writer = smFactory.createStax2Writer(stream);
+      MathMLXMLStreamCompiler compiler = new MathMLXMLStreamCompiler(writer, indent);
+
+      // the enclosing element only declares the namespace of the content
+      writer.writeStartElement("math");
+      writer.writeNamespace(null, ASTNode.URI_MATHML_DEFINITION);
+      writer.setPrefix("math", ASTNode.URI_MATHML_DEFINITION);
+      writer.writeCharacters("");
+      writer.flush();
+      start = stream.getBuffer().length();
+
+      compiler.compile(astNode);
+      writer.flush();
+    } catch (XMLStreamException e) {
+      logger.warn(MessageFormat.format("Could not write the MathML of {0}: {1}", astNode, e.getMessage()));
+    }
+
+    return stream.getBuffer().substring(start);
+  }
+
 
   /**
    * @param astNode
@@ -224,12 +274,39 @@ public class MathMLXMLStreamCompiler {
 
   /**
    * Compiles this {@link ASTNode} and produce an XMLStreamWriter representing this node in mathML.
+   * <p>
+   * The children of the nodes are not compiled recursively, but scheduled
+   * on a stack of pending tasks together with the elements that surround
+   * them, so that math of any depth can be written.
+   * 
    * @param astNode
    * 
    *
    * @throws SBMLException if any problems occur while checking the ASTNode tree.
    */
   public void compile(ASTNode astNode) {
+    int bottom = pending.size();
+    pending.push(astNode);
+
+    while (pending.size() > bottom) {
+      Object task = pending.pop();
+
+      if (task == END_ELEMENT) {
+        writeEndElement();
+      } else if (task instanceof String) {
+        writeStartElement((String) task);
+      } else {
+        compileNode((ASTNode) task);
+      }
+    }
+  }
+
+  /**
+   * Writes the given {@link ASTNode} and schedules its children.
+   * 
+   * @param astNode
+   */
+  private void compileNode(ASTNode astNode) {
 
     logger.debug("compile: node type = " + astNode.getType()) ;
 
@@ -513,12 +590,10 @@ public class MathMLXMLStreamCompiler {
           || astNode.getType() == Type.FUNCTION_CSYMBOL) 
       {
 
-        for (ASTNode arg : astNode.getListOfNodes()) {
-          compile(arg);
-        }
-
-        // end apply element
-        writeEndElement();
+        // end apply element after the children
+        List<Object> tasks = new ArrayList<Object>(astNode.getListOfNodes());
+        tasks.add(END_ELEMENT);
+        schedule(tasks);
       }
 
     } catch (XMLStreamException e) {
@@ -737,21 +812,8 @@ public class MathMLXMLStreamCompiler {
         writer.writeEmptyElement(ASTNode.URI_MATHML_DEFINITION, "root");
         writer.writeCharacters("\n");
 
-        // write the degree element
-        writer.writeCharacters(indent);
-        writer.writeStartElement(ASTNode.URI_MATHML_DEFINITION, "degree");
-        writer.writeCharacters("\n");
-        indent += "  ";
-
-        compile(astNode.getChild(0));
-
-        // end degree element
-        writeEndElement();
-
-        compile(astNode.getChild(1));
-
-        // end apply element
-        writeEndElement();
+        // the degree element, the radicand and the end of the apply element
+        schedule("degree", astNode.getChild(0), END_ELEMENT, astNode.getChild(1), END_ELEMENT);
 
       } catch (XMLStreamException e) {
         e.printStackTrace();
@@ -782,9 +844,7 @@ public class MathMLXMLStreamCompiler {
         }
       }
 
-      compile(astNode.getRightChild());
-
-      writeEndElement();
+      schedule(astNode.getRightChild(), END_ELEMENT);
 
     } catch (XMLStreamException e) {
       e.printStackTrace();
@@ -835,34 +895,25 @@ public class MathMLXMLStreamCompiler {
       writer.writeCharacters("\n");
       indent += "  ";
 
-      for (int i = 0; i < nbChildren - 1; i = i + 2) {
-
-        writer.writeCharacters(indent);
-        writer.writeStartElement(ASTNode.URI_MATHML_DEFINITION, "piece");
-        writer.writeCharacters("\n");
-        indent += "  ";
-
-        compile(astNode.getChild(i));
-        compile(astNode.getChild(i + 1));
+      List<Object> tasks = new ArrayList<Object>();
 
+      for (int i = 0; i < nbChildren - 1; i = i + 2) {
+        tasks.add("piece");
+        tasks.add(astNode.getChild(i));
+        tasks.add(astNode.getChild(i + 1));
         // end piece element
-        writeEndElement();
+        tasks.add(END_ELEMENT);
       }
 
       if (writeOtherwise) {
-
-        writer.writeCharacters(indent);
-        writer.writeStartElement(ASTNode.URI_MATHML_DEFINITION, "otherwise");
-        writer.writeCharacters("\n");
-        indent += "  ";
-
-        compile(astNode.getRightChild());
-
-        writeEndElement();
+        tasks.add("otherwise");
+        tasks.add(astNode.getRightChild());
+        tasks.add(END_ELEMENT);
       }
 
       // end piecewise element
-      writeEndElement();
+      tasks.add(END_ELEMENT);
+      schedule(tasks);
 
     } catch (XMLStreamException e) {
       e.printStackTrace();
@@ -888,21 +939,8 @@ public class MathMLXMLStreamCompiler {
         writer.writeEmptyElement(ASTNode.URI_MATHML_DEFINITION, "log");
         writer.writeCharacters("\n");
 
-        // write the logbase element
-        writer.writeCharacters(indent);
-        writer.writeStartElement(ASTNode.URI_MATHML_DEFINITION, "logbase");
-        writer.writeCharacters("\n");
-        indent += "  ";
-
-        compile(astNode.getChild(0));
-
-        // end logbase element
-        writeEndElement();
-
-        compile(astNode.getChild(1));
-
-        // end apply element
-        writeEndElement();
+        // the logbase element, the argument and the end of the apply element
+        schedule("logbase", astNode.getChild(0), END_ELEMENT, astNode.getChild(1), END_ELEMENT);
 
       } catch (XMLStreamException e) {
         e.printStackTrace();
@@ -977,11 +1015,9 @@ public class MathMLXMLStreamCompiler {
       writer.writeCharacters("\n");
       indent += "  ";
 
-      for (ASTNode arg : args) {
-        compile(arg);
-      }
-
-      writeEndElement();
+      List<Object> tasks = new ArrayList<Object>(args);
+      tasks.add(END_ELEMENT);
+      schedule(tasks);
 
     } catch (XMLStreamException e) {
       e.printStackTrace();
@@ -1013,11 +1049,9 @@ public class MathMLXMLStreamCompiler {
       writer.writeEmptyElement(ASTNode.URI_MATHML_DEFINITION, functionName);
       writer.writeCharacters("\n");
 
-      for (ASTNode arg : args) {
-        compile(arg);
-      }
-
-      writeEndElement();
+      List<Object> tasks = new ArrayList<Object>(Arrays.asList(args));
+      tasks.add(END_ELEMENT);
+      schedule(tasks);
 
     } catch (XMLStreamException e) {
       e.printStackTrace();
@@ -1037,11 +1071,9 @@ public class MathMLXMLStreamCompiler {
 
       compileCi(astNode);
 
-      for (ASTNode arg : astNode.getChildren()) {
-        compile(arg);
-      }
-
-      writeEndElement();
+      List<Object> tasks = new ArrayList<Object>(astNode.getChildren());
+      tasks.add(END_ELEMENT);
+      schedule(tasks);
 
     } catch (XMLStreamException e) {
       e.printStackTrace();
@@ -1049,6 +1081,51 @@ public class MathMLXMLStreamCompiler {
 
   }
 
+  /**
+   * Schedules the given tasks, which are executed in the given order before
+   * any task scheduled earlier.
+   * 
+   * @param tasks
+   *        {@link ASTNode}s to compile, names of elements to start or
+   *        {@link #END_ELEMENT}.
+   */
+  private void schedule(Object... tasks) {
+    schedule(Arrays.asList(tasks));
+  }
+
+  /**
+   * Schedules the given tasks, which are executed in the given order before
+   * any task scheduled earlier.
+   * 
+   * @param tasks
+   *        {@link ASTNode}s to compile, names of elements to start or
+   *        {@link #END_ELEMENT}.
+   */
+  private void schedule(List<?> tasks) {
+    for (int i = tasks.size() - 1; i >= 0; i--) {
+      pending.push(tasks.get(i));
+    }
+  }
+
+  /**
+   * Writes the start of an element on its own line and increases the
+   * indentation.
+   * 
+   * @param localName
+   */
+  private void writeStartElement(String localName) {
+    try {
+
+      writer.writeCharacters(indent);
+      writer.writeStartElement(ASTNode.URI_MATHML_DEFINITION, localName);
+      writer.writeCharacters("\n");
+      indent += "  ";
+
+    } catch (XMLStreamException e) {
+      e.printStackTrace();
+    }
+  }
+
   /**
    * 
    */
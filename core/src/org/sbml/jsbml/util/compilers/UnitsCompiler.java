@@ -1098,7 +1098,9 @@ public class UnitsCompiler implements ASTNodeCompiler {
       }
     }
 
-    return values.get(i - 1).compile(this);
+    // compiled above already, compiling it again is exponential in the
+    // depth of nested piecewise functions
+    return compiledvalues[i - 1];
 
   }
 
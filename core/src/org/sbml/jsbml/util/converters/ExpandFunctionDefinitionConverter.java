@@ -20,10 +20,6 @@
 package org.sbml.jsbml.util.converters;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.swing.tree.TreeNode;
 import javax.xml.stream.XMLStreamException;
 
 import org.sbml.jsbml.ASTNode;
@@ -129,7 +125,12 @@ public class ExpandFunctionDefinitionConverter implements SBMLConverter {
    * ASTNode as it can be different from the given one if the top level ASTNode is of type
    * {@link org.sbml.jsbml.ASTNode.Type#FUNCTION}.</p>
    *
+   * <p>The bodies of the {@link FunctionDefinition}s are prepared once per model
+   * by the {@link FunctionDefinitionCache} of the model.</p>
+   *
+   * @param m the model that contains the {@link FunctionDefinition}s.
    * @param math the ASTNode to expands.
+   * @return the expanded ASTNode.
    */
   public static ASTNode expandFunctionDefinition(final Model m, final ASTNode math) {
 
@@ -138,122 +139,7 @@ public class ExpandFunctionDefinitionConverter implements SBMLConverter {
       return math;
     }
 
-    // Starting the actual conversion
-    boolean foundFunctionDefinition = false;
-    // container for the math to be able to modify it inside the Filter if the top level AST is a functionDefinition
-    final List<ASTNode> container = new ArrayList<ASTNode>();
-    container.add(math);
-
-    do {
-
-      List<? extends TreeNode> foundFunctionDefinitions = container.get(0).filter((new Filter() {
-
-        @Override
-        public boolean accepts(Object o) {
-          if (o instanceof ASTNode) {
-            ASTNode current = (ASTNode) o;
-
-            if (current.getType() == ASTNode.Type.FUNCTION) {
-              String sid = current.getName();
-              FunctionDefinition fd = m.getFunctionDefinition(sid);
-
-              if (fd != null) {
-                // We found a FunctionDefinition referenced in a 'ci' mathML element
-                // we need to expand it
-
-                // TODO - test for infinite loop
-                // System.out.println("expandFunctionDefinition - fdNode nb child = " + current.getChildCount());
-
-                if (current.getChildCount() != fd.getArgumentCount()) {
-                  System.out.println("expandFunctionDefinition - number of arguments differ, aborting for " + sid);
-                  // return the ASTNode as it is so that the validation work for this FunctionDefinition.
-                  return false;
-                }
-
-                ASTNode newMath = fd.getBody().clone();
-
-                for (int i = 0; i < current.getChildCount(); i++) {
-                  ASTNode bvar = fd.getArgument(i);
-                  ASTNode expandedBVar = current.getChild(i);
-
-                  // test if newMath is directly equals to one of the arguments
-                  if (newMath.equals(bvar)) {
-                    // in this case we return directly expandedBVar
-                    newMath = expandedBVar;
-                    break;
-                  } else {
-                    replaceAll(newMath, bvar, expandedBVar);
-                  }
-                }
-
-                TreeNode parent = current.getParent();
-
-                if ((parent == null) || (parent instanceof MathContainer)) {
-                  container.add(0, newMath);
-                } else {
-                  int index = parent.getIndex(current);
-
-                  if (index != -1) {
-                    ((ASTNode) parent).replaceChild(index, newMath);
-                  }
-                }
-
-                return true;
-              }
-            }
-          }
-
-          return false;
-        }
-
-      }), false, true);
-
-      if ((foundFunctionDefinitions != null) && (foundFunctionDefinitions.size() > 0)) {
-        // System.out.println("found size = " + foundFunctionDefinitions.size());
-        foundFunctionDefinition = true;
-      } else {
-        foundFunctionDefinition = false;
-      }
-
-    } while (foundFunctionDefinition);
-
-    return container.get(0);
-  }
-
-  /**
-   * Replaces all instances of {@code bvar} by {@code expandedBvar} inside the given {@link ASTNode}.
-   *
-   * @param newMath the ASTNode to modify
-   * @param bvar the node to be replaced
-   * @param expandedBVar the node to insert in place of {@code bvar}
-   */
-  private static void replaceAll(ASTNode newMath, final ASTNode bvar, final ASTNode expandedBVar) {
-
-    newMath.filter(new Filter() {
-
-      @Override
-      public boolean accepts(Object o) {
-        if (o instanceof ASTNode) {
-          ASTNode current = (ASTNode) o;
-
-          if (current.equals(bvar)) {
-            TreeNode parentNode = current.getParent();
-
-            // Only attempt replacement if the parent is a non-null ASTNode
-            if (parentNode instanceof ASTNode) {
-              ASTNode parent = (ASTNode) parentNode;
-              int index = parent.getIndex(current);
-
-              if (index != -1) {
-                parent.replaceChild(index, expandedBVar);
-              }
-            }
-          }
-        }
-        return false;
-      }
-    });
-
+    return FunctionDefinitionCache.get(m).expand(math);
   }
 
   /**
@@ -0,0 +1,454 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util.converters;
+
+import java.beans.PropertyChangeEvent;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.tree.TreeNode;
+
+import org.apache.log4j.Logger;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.FunctionDefinition;
+import org.sbml.jsbml.ListOf;
+import org.sbml.jsbml.MathContainer;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.util.SynchronousTreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeRemovedEvent;
+
+/**
+ * Inlines the {@link FunctionDefinition}s of a {@link Model} into
+ * mathematical expressions, using the bodies of the function definitions
+ * that have been prepared once per model.
+ * <p>
+ * The prepared body of a {@link FunctionDefinition} is a copy of its body in
+ * which all calls of other function definitions are already inlined,
+ * together with the positions of all references to its arguments. Inlining a
+ * call therefore only copies the prepared body and puts the arguments of the
+ * call at these positions, instead of searching and replacing every argument
+ * in the body. All arguments are replaced at once, so that an argument of the
+ * call that has the name of another argument of the function definition is
+ * not replaced again. Recursive calls of function definitions are not
+ * inlined.
+ * <p>
+ * The instance of a {@link Model} is kept as a user object of the model. It
+ * listens to the changes of the {@link FunctionDefinition}s of the model and
+ * prepares their bodies again after each change.
+ *
+ * @since 1.7
+ * @see ExpandFunctionDefinitionConverter
+ */
+public class FunctionDefinitionCache implements Serializable {
+
+  /**
+   * The body of a {@link FunctionDefinition} prepared for inlining.
+   */
+  private static final class PreparedBody {
+
+    /**
+     * The body with all calls of other function definitions inlined.
+     */
+    private final ASTNode body;
+
+    /**
+     * The number of arguments of the function definition.
+     */
+    private final int argumentCount;
+
+    /**
+     * The index of the argument for each path in {@link #paths}.
+     */
+    private final int[] arguments;
+
+    /**
+     * The indices of the children from the root of {@link #body} to each
+     * reference to an argument, in depth-first order.
+     */
+    private final int[][] paths;
+
+    /**
+     * @param body
+     * @param argumentCount
+     * @param paths
+     * @param arguments
+     */
+    private PreparedBody(ASTNode body, int argumentCount, List<int[]> paths, List<Integer> arguments) {
+      this.body = body;
+      this.argumentCount = argumentCount;
+      this.paths = paths.toArray(new int[paths.size()][]);
+      this.arguments = new int[arguments.size()];
+      for (int i = 0; i < this.arguments.length; i++) {
+        this.arguments[i] = arguments.get(i);
+      }
+    }
+
+    /**
+     * @param args
+     *        the inlined arguments of a call, each of them is used for the
+     *        first reference and copied for all further references.
+     * @return a copy of the body with the given arguments.
+     */
+    private ASTNode instantiate(List<ASTNode> args) {
+      boolean[] used = new boolean[args.size()];
+      if ((paths.length == 1) && (paths[0].length == 0)) {
+        // the body is just an argument
+        return args.get(arguments[0]);
+      }
+      ASTNode result = body.clone();
+      for (int p = 0; p < paths.length; p++) {
+        int[] path = paths[p];
+        ASTNode parent = result;
+        for (int i = 0; i < path.length - 1; i++) {
+          parent = parent.getChild(path[i]);
+        }
+        int argument = arguments[p];
+        ASTNode arg = args.get(argument);
+        parent.replaceChild(path[path.length - 1], used[argument] ? arg.clone() : arg);
+        used[argument] = true;
+      }
+      return result;
+    }
+
+  }
+
+  /**
+   * Invalidates the prepared bodies after any change of the function
+   * definitions.
+   */
+  private final class Invalidator implements SynchronousTreeNodeChangeListener {
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      invalidate();
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      invalidate();
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      invalidate();
+    }
+
+  }
+
+  /**
+   * Generated serial version identifier.
+   */
+  private static final long serialVersionUID = 2617307489125541093L;
+
+  /**
+   * A {@link Logger} for this class.
+   */
+  private static final transient Logger logger = Logger.getLogger(FunctionDefinitionCache.class);
+
+  /**
+   * The key of the user object of a {@link Model} under which its instance
+   * is kept.
+   */
+  public static final transient String USER_OBJECT_KEY = FunctionDefinitionCache.class.getName();
+
+  /**
+   * Returns the instance of the given {@link Model}, creating it if
+   * necessary. For a model of a frozen {@link SBMLDocument} without an
+   * instance, a new instance is returned each time that is not kept.
+   *
+   * @param model
+   * @return the instance of the given {@link Model}.
+   */
+  public static FunctionDefinitionCache get(Model model) {
+    Object cache = model.getUserObject(USER_OBJECT_KEY);
+    ListOf<FunctionDefinition> functionDefinitions = model.isSetListOfFunctionDefinitions() ? model.getListOfFunctionDefinitions() : null;
+    if (cache instanceof FunctionDefinitionCache) {
+      FunctionDefinitionCache existing = (FunctionDefinitionCache) cache;
+      if (existing.model == model) {
+        if (existing.functionDefinitions == functionDefinitions) {
+          return existing;
+        }
+        // the list of function definitions has been replaced
+        existing.dispose();
+      }
+      // otherwise the instance of the original of a cloned or deserialized model
+    }
+    SBMLDocument doc = model.getSBMLDocument();
+    if ((doc != null) && doc.isFrozen()) {
+      // neither kept nor listening, as the frozen model does not change
+      return new FunctionDefinitionCache(model, null);
+    }
+    FunctionDefinitionCache created = new FunctionDefinitionCache(model, functionDefinitions);
+    model.putUserObject(USER_OBJECT_KEY, created);
+    return created;
+  }
+
+  /**
+   * The bodies prepared so far.
+   */
+  private transient Map<String, PreparedBody> bodies;
+
+  /**
+   * The observed function definitions of {@link #model}, {@code null} if
+   * the model did not have any or if this instance is not kept.
+   */
+  private transient ListOf<FunctionDefinition> functionDefinitions;
+
+  /**
+   * The listener on {@link #functionDefinitions}.
+   */
+  private transient Invalidator invalidator;
+
+  /**
+   * The model whose function definitions are inlined.
+   */
+  private transient Model model;
+
+  /**
+   * The function definitions whose bodies are being prepared.
+   */
+  private transient Set<String> preparing;
+
+  /**
+   * @param model
+   * @param functionDefinitions
+   */
+  private FunctionDefinitionCache(Model model, ListOf<FunctionDefinition> functionDefinitions) {
+    this.model = model;
+    this.functionDefinitions = functionDefinitions;
+    bodies = new HashMap<String, PreparedBody>();
+    preparing = new HashSet<String>();
+    if (functionDefinitions != null) {
+      invalidator = new Invalidator();
+      functionDefinitions.addTreeNodeChangeListener(invalidator, true);
+    }
+  }
+
+  /**
+   * Stops listening to the function definitions.
+   */
+  private void dispose() {
+    if (functionDefinitions != null) {
+      functionDefinitions.removeTreeNodeChangeListener(invalidator, true);
+    }
+    invalidate();
+  }
+
+  /**
+   * Inlines all calls of {@link FunctionDefinition}s of the model in the
+   * given {@link ASTNode}.
+   * <p>
+   * The given {@link ASTNode} is modified. Make sure to use the returned
+   * {@link ASTNode} as it is different from the given one if the given one
+   * is a call of a {@link FunctionDefinition}.
+   *
+   * @param math
+   * @return the {@link ASTNode} with all calls inlined.
+   */
+  public ASTNode expand(ASTNode math) {
+    ASTNode expanded = expandNode(math);
+    if (expanded != math) {
+      setParentSBMLObject(expanded, math.getParentSBMLObject());
+    }
+    return expanded;
+  }
+
+  /**
+   * Inlines all calls in the given {@link ASTNode} and its descendants.
+   *
+   * @param math
+   * @return the given {@link ASTNode} or the inlined body if it is a call.
+   */
+  private ASTNode expandNode(ASTNode math) {
+    for (int i = 0; i < math.getChildCount(); i++) {
+      ASTNode child = math.getChild(i);
+      ASTNode expanded = expandNode(child);
+      if (expanded != child) {
+        math.replaceChild(i, expanded);
+      }
+    }
+    if (math.getType() == ASTNode.Type.FUNCTION) {
+      PreparedBody body = prepare(math.getName());
+      if (body != null) {
+        if (math.getChildCount() == body.argumentCount) {
+          return body.instantiate(new ArrayList<ASTNode>(math.getChildren()));
+        }
+        logger.warn(MessageFormat.format(
+          "Number of arguments of the call of {0} differs from its definition, not inlining it.", math.getName()));
+      }
+    }
+    return math;
+  }
+
+  /**
+   * Returns the given {@link ASTNode} with all calls of
+   * {@link FunctionDefinition}s of the model inlined, without modifying it.
+   *
+   * @param math
+   * @return the given {@link ASTNode} if it does not call any
+   *         {@link FunctionDefinition}, an expanded copy otherwise.
+   */
+  public ASTNode inline(ASTNode math) {
+    if (!callsFunctionDefinition(math)) {
+      return math;
+    }
+    ASTNode copy = math.clone();
+    setParentSBMLObject(copy, math.getParentSBMLObject());
+    return expand(copy);
+  }
+
+  /**
+   * Prepares the bodies of all function definitions of the model, such that
+   * inlining only reads the prepared bodies afterwards until the function
+   * definitions change, which allows concurrent inlining in a frozen
+   * {@link SBMLDocument}, see {@link SBMLDocument#freeze()}.
+   */
+  public void prepareAll() {
+    if (model.isSetListOfFunctionDefinitions()) {
+      for (FunctionDefinition fd : model.getListOfFunctionDefinitions()) {
+        if (fd.isSetId()) {
+          prepare(fd.getId());
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets all prepared bodies.
+   */
+  public void invalidate() {
+    bodies.clear();
+  }
+
+  /**
+   * @param math
+   * @return {@code true} if the given {@link ASTNode} or one of its
+   *         descendants calls a {@link FunctionDefinition} of the model.
+   */
+  private boolean callsFunctionDefinition(ASTNode math) {
+    if ((math.getType() == ASTNode.Type.FUNCTION) && (model.getFunctionDefinition(math.getName()) != null)) {
+      return true;
+    }
+    for (int i = 0; i < math.getChildCount(); i++) {
+      if (callsFunctionDefinition(math.getChild(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collects the paths to all references to arguments.
+   *
+   * @param node
+   * @param argumentNames
+   * @param path
+   *        the path to the given node.
+   * @param paths
+   * @param arguments
+   */
+  private void collectArguments(ASTNode node, List<String> argumentNames, List<Integer> path,
+    List<int[]> paths, List<Integer> arguments) {
+    if ((node.getType() == ASTNode.Type.NAME) && node.isLeaf()) {
+      int argument = argumentNames.indexOf(node.getName());
+      if (argument >= 0) {
+        int[] p = new int[path.size()];
+        for (int i = 0; i < p.length; i++) {
+          p[i] = path.get(i);
+        }
+        paths.add(p);
+        arguments.add(argument);
+      }
+      return;
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      path.add(i);
+      collectArguments(node.getChild(i), argumentNames, path, paths, arguments);
+      path.remove(path.size() - 1);
+    }
+  }
+
+  /**
+   * @param id
+   * @return the prepared body of the function definition with the given id,
+   *         {@code null} if there is no such function definition, if it has
+   *         no body or if it is being prepared, i.e., called recursively.
+   */
+  private PreparedBody prepare(String id) {
+    if (bodies.containsKey(id)) {
+      return bodies.get(id);
+    }
+    FunctionDefinition fd = model.getFunctionDefinition(id);
+    if ((fd == null) || (fd.getBody() == null)) {
+      return null;
+    }
+    if (!preparing.add(id)) {
+      logger.warn(MessageFormat.format("Function definition {0} calls itself, not inlining it.", id));
+      return null;
+    }
+    PreparedBody prepared;
+    try {
+      ASTNode body = expandNode(fd.getBody().clone());
+      List<String> argumentNames = new ArrayList<String>(fd.getArgumentCount());
+      for (int i = 0; i < fd.getArgumentCount(); i++) {
+        argumentNames.add(fd.getArgument(i).getName());
+      }
+      List<int[]> paths = new ArrayList<int[]>();
+      List<Integer> arguments = new ArrayList<Integer>();
+      collectArguments(body, argumentNames, new ArrayList<Integer>(), paths, arguments);
+      prepared = new PreparedBody(body, argumentNames.size(), paths, arguments);
+    } finally {
+      preparing.remove(id);
+    }
+    bodies.put(id, prepared);
+    return prepared;
+  }
+
+  /**
+   * Sets the parent SBML object of the given node and all its descendants,
+   * which clones do not keep, but which deriving units requires.
+   *
+   * @param node
+   * @param parent
+   */
+  private static void setParentSBMLObject(ASTNode node, MathContainer parent) {
+    node.setParentSBMLObject(parent);
+    for (int i = 0; i < node.getChildCount(); i++) {
+      setParentSBMLObject(node.getChild(i), parent);
+    }
+  }
+
+}
@@ -20,7 +20,10 @@
 
 package org.sbml.jsbml.validator.offline.constraints;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Set;
 
 import javax.swing.tree.TreeNode;
@@ -82,6 +85,10 @@ implements CoreSpecialErrorCodes {
             return true;
           }
 
+          if (t instanceof ASTNode) {
+            return validateMath(ctx, (ASTNode) t);
+          }
+
           boolean success = true;
           Enumeration<?> children = t.children();
           // ConstraintFactory factory = ConstraintFactory.getInstance();
@@ -131,37 +138,83 @@ implements CoreSpecialErrorCodes {
               }
             }
           }
-          // going through the ASTNodePlugins
-          if (t instanceof ASTNode) {
-            ASTNode astnode = (ASTNode) t;
+          ctx.setRootConstraint(root, type);
 
-            if (astnode.getNumPlugins() > 0) {
-              for (ASTNodePlugin astnodePlugin : astnode.getExtensionPackages().values()) {
+          return success;
+        }
+      };
+    }
 
-                if (isDebugEnabled) {
-                  logger.debug("Child '" + astnodePlugin.getClass().getSimpleName() + "'");
-                  logger.debug("Child = '" + astnodePlugin + "'");
-                }
+    return func;
+  }
 
-                if (astnodePlugin != null) {
-                  ctx.loadConstraints(astnodePlugin.getClass());
 
-                  // We should not validate the children of ASTNodePlugin as there are already included in the main children enumeration
-                  ctx.setValidateRecursively(false);
-                  success = ctx.validate(astnodePlugin, false) && success;
-                  ctx.setValidateRecursively(true);
-                }
-              }
-            }
-          }
+  /**
+   * Validates the descendants and the {@link ASTNodePlugin}s of the given
+   * math in the same order as the recursive validation of other trees, but
+   * with an explicit stack, as the math can be nested arbitrarily deep.
+   * 
+   * @param ctx
+   * @param math
+   * @return {@code true} if all descendants and plugins are valid.
+   */
+  private static boolean validateMath(ValidationContext ctx, ASTNode math) {
+    AnyConstraint<Object> root = ctx.getRootConstraint();
+    Class<?> type = ctx.getConstraintType();
+    boolean success = true;
+
+    // ASTNodes to validate and push their children, plugins to validate only
+    ArrayDeque<Object> stack = new ArrayDeque<Object>();
+    pushChildren(stack, math);
+    ctx.setValidateRecursively(false);
+    try {
+      while (!stack.isEmpty()) {
+        Object child = stack.pop();
+
+        if (isDebugEnabled) {
+          logger.debug("Child '" + child.getClass().getSimpleName() + "'");
+          logger.debug("Child = '" + child + "'");
+        }
 
-          ctx.setRootConstraint(root, type);
+        ctx.loadConstraints(child.getClass());
+        success = ctx.validate(child, false) && success;
 
-          return success;
+        if (child instanceof ASTNode) {
+          pushChildren(stack, (ASTNode) child);
         }
-      };
+      }
+    } finally {
+      ctx.setValidateRecursively(true);
     }
 
-    return func;
+    ctx.setRootConstraint(root, type);
+
+    return success;
+  }
+
+
+  /**
+   * Pushes the {@link ASTNodePlugin}s and then the children of the given
+   * node on the stack, so that the children and their subtrees are
+   * validated first, from the left to the right, followed by the plugins.
+   * 
+   * @param stack
+   * @param node
+   */
+  private static void pushChildren(ArrayDeque<Object> stack, ASTNode node) {
+    if (node.getNumPlugins() > 0) {
+      List<ASTNodePlugin> plugins = new ArrayList<ASTNodePlugin>(node.getExtensionPackages().values());
+      for (int i = plugins.size() - 1; i >= 0; i--) {
+        if (plugins.get(i) != null) {
+          stack.push(plugins.get(i));
+        }
+      }
+    }
+    for (int i = node.getChildCount() - 1; i >= 0; i--) {
+      ASTNode child = node.getChild(i);
+      if (child != null) {
+        stack.push(child);
+      }
+    }
   }
 }
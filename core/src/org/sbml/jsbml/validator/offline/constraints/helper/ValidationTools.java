@@ -20,8 +20,14 @@
 
 package org.sbml.jsbml.validator.offline.constraints.helper;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
@@ -195,10 +201,83 @@ public final class ValidationTools {
    * <p>It can be {@link #DT_NUMBER}, {@link #DT_BOOLEAN}, {@link #DT_STRING},
    * {@link #DT_VECTOR} or {@link #DT_UNKNOWN}.</p>
    * 
+   * <p>The data type of every node that it depends on, i.e., of the pieces of
+   * nested piecewise functions and of the bodies of the called function
+   * definitions, is determined once, with an explicit stack. Recursive
+   * function definitions are of unknown type.</p>
+   * 
    * @param node an {@link ASTNode}
    * @return the data type of a ASTNode.
    */
   public static byte getDataType(ASTNode node) {
+    Map<ASTNode, Byte> dataTypes = new IdentityHashMap<ASTNode, Byte>();
+    Set<ASTNode> visited = Collections.newSetFromMap(new IdentityHashMap<ASTNode, Boolean>());
+    ArrayDeque<ASTNode> stack = new ArrayDeque<ASTNode>();
+    stack.push(node);
+
+    while (!stack.isEmpty()) {
+      ASTNode current = stack.peek();
+
+      if (visited.add(current)) {
+        for (ASTNode operand : getDataTypeOperands(current)) {
+          if (!visited.contains(operand)) {
+            stack.push(operand);
+          }
+        }
+      } else {
+        stack.pop();
+        dataTypes.put(current, getDataType(current, dataTypes));
+      }
+    }
+
+    return dataTypes.get(node);
+  }
+
+
+  /**
+   * Returns the nodes whose data types determine the data type of the given
+   * node.
+   * 
+   * @param node
+   * @return the nodes, possibly an empty list.
+   */
+  private static List<ASTNode> getDataTypeOperands(ASTNode node) {
+    if (node.isBoolean() || node.isNumber() || node.isOperator() || node.isConstant()
+        || node.isName() || node.isVector()) {
+      return Collections.emptyList();
+    }
+
+    if (node.getType() == Type.FUNCTION_PIECEWISE) {
+      List<ASTNode> pieces = new ArrayList<ASTNode>();
+
+      for (int i = 0; i < node.getNumChildren(); i += 2) {
+        pieces.add(node.getChild(i));
+      }
+
+      return pieces;
+    }
+
+    if (node.getType() == Type.FUNCTION) {
+      FunctionDefinition fd = getFunctionDefinition(node);
+
+      if ((fd != null) && (fd.getBody() != null)) {
+        return Collections.singletonList(fd.getBody());
+      }
+    }
+
+    return Collections.emptyList();
+  }
+
+
+  /**
+   * Returns the data type of an {@link ASTNode}, given the data types of the
+   * nodes returned by {@link #getDataTypeOperands(ASTNode)}.
+   * 
+   * @param node an {@link ASTNode}
+   * @param dataTypes the data types determined so far.
+   * @return the data type of a ASTNode.
+   */
+  private static byte getDataType(ASTNode node, Map<ASTNode, Byte> dataTypes) {
 
     if (node.isBoolean()) {
       return DT_BOOLEAN;
@@ -219,10 +298,10 @@ public final class ValidationTools {
 
     if (node.getType() == Type.FUNCTION_PIECEWISE) {
       if (node.getNumChildren() > 0) {
-        byte dt = getDataType(node.getChild(0));
+        byte dt = getDataType(dataTypes, node.getChild(0));
 
         for (int i = 0; i < node.getNumChildren(); i += 2) {
-          if (getDataType(node.getChild(i)) != dt) {
+          if (getDataType(dataTypes, node.getChild(i)) != dt) {
             return DT_UNKNOWN;
           }
         }
@@ -234,19 +313,11 @@ public final class ValidationTools {
     }
 
     if (node.getType() == Type.FUNCTION) {
-      SBase parent = node.getParentSBMLObject();
-
-      if (parent != null) {
-        Model m = parent.getModel();
+      FunctionDefinition fd = getFunctionDefinition(node);
 
-        if (m != null) {
-          FunctionDefinition fd = m.getFunctionDefinition(node.getName());
+      if (fd != null) {
 
-          if (fd != null) {
-
-            return ValidationTools.getDataType(fd.getBody());
-          }
-        }
+        return getDataType(dataTypes, fd.getBody());
       }
 
       return DT_UNKNOWN;
@@ -260,6 +331,39 @@ public final class ValidationTools {
   }
 
 
+  /**
+   * @param dataTypes
+   * @param node
+   * @return the data type determined before for the node, {@link #DT_UNKNOWN}
+   *         if there is none because the node depends on itself.
+   */
+  private static byte getDataType(Map<ASTNode, Byte> dataTypes, ASTNode node) {
+    Byte dt = dataTypes.get(node);
+
+    return dt != null ? dt : DT_UNKNOWN;
+  }
+
+
+  /**
+   * @param node a node of type {@link Type#FUNCTION}
+   * @return the {@link FunctionDefinition} called by the node, or {@code null}
+   *         if it cannot be found.
+   */
+  private static FunctionDefinition getFunctionDefinition(ASTNode node) {
+    SBase parent = node.getParentSBMLObject();
+
+    if (parent != null) {
+      Model m = parent.getModel();
+
+      if (m != null) {
+        return m.getFunctionDefinition(node.getName());
+      }
+    }
+
+    return null;
+  }
+
+
   public static boolean isLocalParameter(ASTNode node, String name) {
     MathContainer parent = node.getParentSBMLObject();
 
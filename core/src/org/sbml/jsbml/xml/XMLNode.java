@@ -422,8 +422,8 @@ public class XMLNode extends XMLToken {
     }
 
     childElements.add(node);
-    node.fireNodeAddedEvent();
     node.parent = this;
+    node.fireNodeAddedEvent();
 
     return OPERATION_SUCCESS;
   }
@@ -501,9 +501,9 @@ public class XMLNode extends XMLToken {
         childElements = new ArrayList<XMLNode>();
       }
       childElements.add(n, node);
+      node.parent = this;
       node.fireNodeAddedEvent();
     }
-    node.parent = this;
 
     return node;
   }
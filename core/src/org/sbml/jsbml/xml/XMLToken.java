@@ -1175,7 +1175,7 @@ public abstract class XMLToken extends AbstractTreeNode {
     result = prime * result
         + ((attributes == null) ? 0 : attributes.hashCode());
     result = prime * result
-        + ((characters == null) ? 0 : characters.hashCode());
+        + ((characters == null) ? 0 : getCharacters().hashCode());
     result = prime * result + (int) (column ^ (column >>> 32));
     result = prime * result + (isEOF ? 1231 : 1237);
     result = prime * result + (isEndElement ? 1231 : 1237);
@@ -1515,6 +1515,7 @@ public abstract class XMLToken extends AbstractTreeNode {
    * @jsbml.note This function replaces the existing {@link XMLAttributes} with the new one.
    */
   public int setAttributes(XMLAttributes attributes) {
+    checkNotFrozen();
 
     if (!isStartElement) {
       return JSBML.OPERATION_FAILED;
@@ -1546,6 +1547,7 @@ public abstract class XMLToken extends AbstractTreeNode {
    * @param chars the characters to set
    */
   public void setCharacters(String chars) {
+    checkNotFrozen();
     String oldValue = getCharacters();
     characters = new StringBuilder(chars);
     firePropertyChange(TreeNodeChangeEvent.text, oldValue, chars);
@@ -1581,6 +1583,7 @@ public abstract class XMLToken extends AbstractTreeNode {
    * </ul>
    */
   public int setEOF() {
+    checkNotFrozen();
     boolean oldValue = isEOF;
     isEOF = true;
     firePropertyChange(TreeNodeChangeEvent.isEOF, oldValue, isEOF);
@@ -1606,6 +1609,7 @@ public abstract class XMLToken extends AbstractTreeNode {
    * @jsbml.note This function replaces the existing {@link XMLNamespaces} with the new one.
    */
   public int setNamespaces(XMLNamespaces namespaces) {
+    checkNotFrozen();
 
     if (!isStartElement) {
       return JSBML.OPERATION_FAILED;
@@ -1644,6 +1648,7 @@ public abstract class XMLToken extends AbstractTreeNode {
    * </ul>
    */
   public int setTriple(XMLTriple triple) {
+    checkNotFrozen();
 
     if (isText) {
       return JSBML.OPERATION_FAILED;
@@ -93,11 +93,12 @@ public class ParserManager {
   }
 
   /**
-   * Returns the {@link ParserManager}.
+   * Returns the {@link ParserManager}, creating it on the first call in a
+   * thread-safe way.
    * 
    * @return the {@link ParserManager}.
    */
-  public static ParserManager getManager() {
+  public static synchronized ParserManager getManager() {
     if (manager == null) {
       manager = new ParserManager();
     }
@@ -0,0 +1,642 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.stax;
+
+import java.io.File;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.util.CompressionTools;
+import org.sbml.jsbml.util.ProgressListener;
+
+/**
+ * Reads large collections of SBML files, such as whole model repositories,
+ * in parallel.
+ * <p>
+ * Each file is read, optionally validated with
+ * {@link SBMLDocument#checkConsistencyOffline()}, and passed to a
+ * {@link DocumentHandler} on one of the threads of a worker pool. The
+ * document is not referenced any more once the handler returns, so that the
+ * number of documents in memory at the same time is bounded.
+ * <p>
+ * Because the size of a document in memory is much larger than the size of
+ * its file, the number of threads alone is not enough to bound the memory
+ * that is needed: a few very large models read at the same time can exhaust
+ * the heap. Therefore the memory needed by each file is estimated from its
+ * size, and a file is only submitted to the pool if its estimate fits into
+ * the remaining heap budget; otherwise the submitting thread waits until
+ * enough documents have been handled. A file whose estimate is larger than
+ * the whole budget is read when no other file is in progress.
+ * <p>
+ * A failure while reading, validating or handling a file is recorded in the
+ * {@link FileStatistics} of that file and does not affect the other files.
+ * <p>
+ * Instances of this class can be reused, but {@link #read(Collection,
+ * DocumentHandler)} should not be called by several threads at the same
+ * time.
+ *
+ * @since 1.7
+ */
+public class SBMLCorpusReader {
+
+  /**
+   * Receives the documents read by a {@link SBMLCorpusReader}. The handler is
+   * called concurrently from several threads and must therefore be
+   * thread-safe.
+   *
+   * @since 1.7
+   */
+  public interface DocumentHandler {
+
+    /**
+     * Processes a document. The document should not be kept after this method
+     * returns, otherwise the memory needed is not bounded any more.
+     *
+     * @param file
+     *        the file the document was read from.
+     * @param doc
+     *        the document read.
+     * @param statistics
+     *        the statistics of this file so far, which contain the results of
+     *        the validation, if enabled.
+     * @throws Exception
+     *         any exception thrown is recorded in the statistics of the file.
+     */
+    public void handle(File file, SBMLDocument doc, FileStatistics statistics) throws Exception;
+
+  }
+
+  /**
+   * The outcome and the timing of reading one file.
+   *
+   * @since 1.7
+   */
+  public static class FileStatistics {
+
+    /**
+     * The file.
+     */
+    private final File file;
+
+    /**
+     * The size of the file in bytes.
+     */
+    private final long size;
+
+    /**
+     * The failure, {@code null} if the file was processed successfully.
+     */
+    private Throwable error;
+
+    /**
+     * The time needed to read the file in nanoseconds.
+     */
+    private long readTime;
+
+    /**
+     * The time needed to validate the document in nanoseconds.
+     */
+    private long validationTime;
+
+    /**
+     * The time needed by the {@link DocumentHandler} in nanoseconds.
+     */
+    private long handlingTime;
+
+    /**
+     * The number of problems found by the validation, -1 if the document has
+     * not been validated.
+     */
+    private int numValidationErrors = -1;
+
+    /**
+     * The name of the thread that processed the file.
+     */
+    private String threadName;
+
+    /**
+     * @param file
+     */
+    FileStatistics(File file) {
+      this.file = file;
+      size = file.length();
+    }
+
+    /**
+     * @return the failure that occurred while processing the file or
+     *         {@code null} if there was none.
+     */
+    public Throwable getError() {
+      return error;
+    }
+
+    /**
+     * @return the file.
+     */
+    public File getFile() {
+      return file;
+    }
+
+    /**
+     * @return the time needed by the {@link DocumentHandler} in nanoseconds.
+     */
+    public long getHandlingTime() {
+      return handlingTime;
+    }
+
+    /**
+     * @return the number of problems found by the validation, or -1 if the
+     *         document has not been validated.
+     */
+    public int getNumValidationErrors() {
+      return numValidationErrors;
+    }
+
+    /**
+     * @return the time needed to read the file in nanoseconds.
+     */
+    public long getReadTime() {
+      return readTime;
+    }
+
+    /**
+     * @return the size of the file in bytes.
+     */
+    public long getSize() {
+      return size;
+    }
+
+    /**
+     * @return the name of the thread that processed the file, {@code null} if
+     *         the file has not been processed.
+     */
+    public String getThreadName() {
+      return threadName;
+    }
+
+    /**
+     * @return the time needed to validate the document in nanoseconds.
+     */
+    public long getValidationTime() {
+      return validationTime;
+    }
+
+    /**
+     * @return {@code true} if the file has been read and handled without
+     *         failure.
+     */
+    public boolean isSuccessful() {
+      return (error == null) && (threadName != null);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return MessageFormat.format(
+        "{0} [size={1} bytes, read={2} ms, validation={3} ms, handling={4} ms, validationErrors={5}, error={6}]",
+        file, size, readTime / 1000000L, validationTime / 1000000L,
+        handlingTime / 1000000L, numValidationErrors, error);
+    }
+
+  }
+
+  /**
+   * The default ratio between the memory needed by a document and the size of
+   * its uncompressed file.
+   */
+  public static final int DEFAULT_MEMORY_FACTOR = 20;
+
+  /**
+   * The ratio assumed between the size of an uncompressed SBML file and the
+   * size of its compressed version.
+   */
+  private static final int COMPRESSION_RATIO = 8;
+
+  /**
+   * The file name extensions that {@link #findFiles(File)} accepts.
+   */
+  private static final List<String> EXTENSIONS = Arrays.asList(".xml", ".sbml");
+
+  /**
+   * A {@link Logger} for this class.
+   */
+  private static final transient Logger logger = Logger.getLogger(SBMLCorpusReader.class);
+
+  /**
+   * Lists all the SBML files below the given directory, i.e., all files whose
+   * name ends with {@code .xml} or {@code .sbml}, possibly followed by the
+   * extension of a supported compression format, in a stable order.
+   *
+   * @param directory
+   * @return the files found.
+   */
+  public static List<File> findFiles(File directory) {
+    List<File> files = new ArrayList<File>();
+    collectFiles(directory, files);
+    return files;
+  }
+
+  /**
+   * @param directory
+   * @param files
+   */
+  private static void collectFiles(File directory, List<File> files) {
+    File[] children = directory.listFiles();
+    if (children == null) {
+      return;
+    }
+    Arrays.sort(children);
+    for (File child : children) {
+      if (child.isDirectory()) {
+        collectFiles(child, files);
+      } else {
+        String name = child.getName().toLowerCase(Locale.ENGLISH);
+        String extension = CompressionTools.formatFromFileName(name).getExtension();
+        name = name.substring(0, name.length() - extension.length());
+        for (String sbmlExtension : EXTENSIONS) {
+          if (name.endsWith(sbmlExtension)) {
+            files.add(child);
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The configuration used to read the files.
+   */
+  private final SBMLIOConfiguration configuration;
+
+  /**
+   * The pool to use, {@code null} if a new one is created for every call of
+   * {@link #read(Collection, DocumentHandler)}.
+   */
+  private final ExecutorService executor;
+
+  /**
+   * The number of threads of the pools created by this reader.
+   */
+  private final int numThreads;
+
+  /**
+   * The heap budget in kilobytes.
+   */
+  private final int heapBudget;
+
+  /**
+   * The ratio between the memory needed by a document and the size of its
+   * uncompressed file.
+   */
+  private int memoryFactor = DEFAULT_MEMORY_FACTOR;
+
+  /**
+   * Whether the documents should be validated.
+   */
+  private boolean validate;
+
+  /**
+   * Receives the number of files processed, can be {@code null}.
+   */
+  private ProgressListener progressListener;
+
+  /**
+   * Creates a reader that uses one thread per available processor and half
+   * of the maximal heap size as budget.
+   */
+  public SBMLCorpusReader() {
+    this(SBMLIOConfiguration.getDefault(), Runtime.getRuntime().availableProcessors(),
+      Runtime.getRuntime().maxMemory() / 2);
+  }
+
+  /**
+   * Creates a reader that creates a pool with the given number of threads for
+   * every call of {@link #read(Collection, DocumentHandler)}.
+   *
+   * @param configuration
+   *        the configuration used to read the files.
+   * @param numThreads
+   *        the number of threads.
+   * @param heapBudget
+   *        the number of bytes that the documents in progress may use.
+   */
+  public SBMLCorpusReader(SBMLIOConfiguration configuration, int numThreads, long heapBudget) {
+    this(configuration, null, numThreads, heapBudget);
+    if (numThreads < 1) {
+      throw new IllegalArgumentException("The number of threads must be positive.");
+    }
+  }
+
+  /**
+   * Creates a reader that runs the files on the given pool, which is not shut
+   * down by this reader. Any {@link ExecutorService} can be used, e.g., one
+   * that starts a virtual thread per task on runtimes that support it.
+   *
+   * @param configuration
+   *        the configuration used to read the files.
+   * @param executor
+   *        the pool to use.
+   * @param heapBudget
+   *        the number of bytes that the documents in progress may use.
+   */
+  public SBMLCorpusReader(SBMLIOConfiguration configuration, ExecutorService executor, long heapBudget) {
+    this(configuration, executor, 0, heapBudget);
+    if (executor == null) {
+      throw new IllegalArgumentException("The executor must not be null.");
+    }
+  }
+
+  /**
+   * @param configuration
+   * @param executor
+   * @param numThreads
+   * @param heapBudget
+   */
+  private SBMLCorpusReader(SBMLIOConfiguration configuration, ExecutorService executor, int numThreads, long heapBudget) {
+    if (heapBudget < 1024L) {
+      throw new IllegalArgumentException("The heap budget must be at least 1 KB.");
+    }
+    this.configuration = configuration != null ? configuration : SBMLIOConfiguration.getDefault();
+    this.executor = executor;
+    this.numThreads = numThreads;
+    this.heapBudget = (int) Math.min(Integer.MAX_VALUE, heapBudget / 1024L);
+  }
+
+  /**
+   * Returns the number of kilobytes that the document of the given file is
+   * expected to need, at most the whole budget.
+   *
+   * @param file
+   * @return the estimate in kilobytes.
+   */
+  private int estimate(File file) {
+    long size = file.length();
+    if (CompressionTools.formatFromFileName(file.getName()) != CompressionTools.Format.NONE) {
+      size *= COMPRESSION_RATIO;
+    }
+    return (int) Math.max(1L, Math.min(heapBudget, size * memoryFactor / 1024L));
+  }
+
+  /**
+   * @return the heap budget in bytes.
+   */
+  public long getHeapBudget() {
+    return heapBudget * 1024L;
+  }
+
+  /**
+   * @return the ratio between the memory needed by a document and the size
+   *         of its uncompressed file.
+   */
+  public int getMemoryFactor() {
+    return memoryFactor;
+  }
+
+  /**
+   * @return the listener that is notified about the number of files
+   *         processed, can be {@code null}.
+   */
+  public ProgressListener getProgressListener() {
+    return progressListener;
+  }
+
+  /**
+   * @return {@code true} if the documents are validated before they are
+   *         passed to the {@link DocumentHandler}.
+   */
+  public boolean isValidate() {
+    return validate;
+  }
+
+  /**
+   * Processes one file on a worker thread.
+   *
+   * @param statistics
+   * @param handler
+   */
+  private void process(FileStatistics statistics, DocumentHandler handler) {
+    statistics.threadName = Thread.currentThread().getName();
+    long start = System.nanoTime();
+    try {
+      SBMLDocument doc = configuration.readSBML(statistics.file);
+      long time = System.nanoTime();
+      statistics.readTime = time - start;
+      start = time;
+      if (validate) {
+        statistics.numValidationErrors = doc.checkConsistencyOffline();
+        time = System.nanoTime();
+        statistics.validationTime = time - start;
+        start = time;
+      }
+      if (handler != null) {
+        handler.handle(statistics.file, doc, statistics);
+        statistics.handlingTime = System.nanoTime() - start;
+      }
+    } catch (Throwable exc) {
+      statistics.error = exc;
+      logger.debug(MessageFormat.format("Could not process {0}: {1}", statistics.file, exc), exc);
+    }
+  }
+
+  /**
+   * Reads all the given files and passes each document to the handler. This
+   * method returns when all files have been processed.
+   *
+   * @param files
+   *        the files to read.
+   * @param handler
+   *        receives the documents, can be {@code null} if only the
+   *        statistics are of interest.
+   * @return the statistics of all files, in the order of the given files.
+   * @throws InterruptedException
+   *         if the current thread is interrupted while waiting for the heap
+   *         budget or the workers; files that have not been submitted yet
+   *         are not read.
+   */
+  public List<FileStatistics> read(Collection<File> files, final DocumentHandler handler) throws InterruptedException {
+    ExecutorService pool = executor != null ? executor : createPool();
+    final Semaphore budget = new Semaphore(heapBudget);
+    final AtomicInteger done = new AtomicInteger();
+    final ProgressListener listener = progressListener;
+    List<FileStatistics> results = new ArrayList<FileStatistics>(files.size());
+    List<Future<?>> futures = new ArrayList<Future<?>>(files.size());
+    long start = System.nanoTime();
+    if (listener != null) {
+      listener.progressStart(files.size());
+    }
+
+    try {
+      for (File file : files) {
+        final FileStatistics statistics = new FileStatistics(file);
+        final int permits = estimate(file);
+        results.add(statistics);
+        budget.acquire(permits);
+        try {
+          futures.add(pool.submit(new Runnable() {
+            /* (non-Javadoc)
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run() {
+              try {
+                process(statistics, handler);
+              } finally {
+                budget.release(permits);
+                if (listener != null) {
+                  // the progress reported must be increasing
+                  synchronized (listener) {
+                    listener.progressUpdate(done.incrementAndGet(), statistics.file.getName());
+                  }
+                }
+              }
+            }
+          }));
+        } catch (RejectedExecutionException exc) {
+          budget.release(permits);
+          statistics.error = exc;
+        }
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException exc) {
+          // cannot happen as process catches everything
+          logger.warn(exc.getCause().getMessage(), exc.getCause());
+        }
+      }
+    } finally {
+      if (executor == null) {
+        pool.shutdownNow();
+      }
+      if (listener != null) {
+        listener.progressFinish();
+      }
+    }
+
+    if (logger.isInfoEnabled()) {
+      logSummary(results, System.nanoTime() - start);
+    }
+    return results;
+  }
+
+  /**
+   * Creates a pool of daemon threads for one call of
+   * {@link #read(Collection, DocumentHandler)}.
+   *
+   * @return the pool.
+   */
+  private ExecutorService createPool() {
+    final AtomicInteger count = new AtomicInteger();
+    return Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+      /* (non-Javadoc)
+       * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+       */
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "jsbml-corpus-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Logs totals and throughput of a run.
+   *
+   * @param results
+   * @param wallTime
+   *        in nanoseconds.
+   */
+  private void logSummary(List<FileStatistics> results, long wallTime) {
+    long bytes = 0L, readTime = 0L, validationTime = 0L, handlingTime = 0L;
+    int failures = 0;
+    FileStatistics slowest = null;
+    for (FileStatistics statistics : results) {
+      bytes += statistics.size;
+      readTime += statistics.readTime;
+      validationTime += statistics.validationTime;
+      handlingTime += statistics.handlingTime;
+      if (!statistics.isSuccessful()) {
+        failures++;
+      }
+      if ((slowest == null) || (statistics.readTime > slowest.readTime)) {
+        slowest = statistics;
+      }
+    }
+    double seconds = Math.max(wallTime, 1L) / 1e9d;
+    logger.info(MessageFormat.format(
+      "Processed {0} files ({1} failed, {2} MB) in {3} s: {4} files/s, {5} MB/s; total read {6} ms, validation {7} ms, handling {8} ms; slowest: {9}",
+      results.size(), failures, bytes / (1024L * 1024L), seconds,
+      results.size() / seconds, bytes / (1024d * 1024d) / seconds,
+      readTime / 1000000L, validationTime / 1000000L, handlingTime / 1000000L, slowest));
+  }
+
+  /**
+   * Sets the ratio between the memory needed by a document and the size of
+   * its uncompressed file, which is used to estimate how many documents can
+   * be processed at the same time within the heap budget.
+   *
+   * @param memoryFactor
+   *        a positive number, default {@link #DEFAULT_MEMORY_FACTOR}.
+   */
+  public void setMemoryFactor(int memoryFactor) {
+    if (memoryFactor < 1) {
+      throw new IllegalArgumentException("The memory factor must be positive.");
+    }
+    this.memoryFactor = memoryFactor;
+  }
+
+  /**
+   * @param progressListener
+   *        the listener that is notified about the number of files
+   *        processed, can be {@code null}. It is called from the worker
+   *        threads.
+   */
+  public void setProgressListener(ProgressListener progressListener) {
+    this.progressListener = progressListener;
+  }
+
+  /**
+   * @param validate
+   *        whether the documents should be validated with
+   *        {@link SBMLDocument#checkConsistencyOffline()} before they are
+   *        passed to the {@link DocumentHandler}.
+   */
+  public void setValidate(boolean validate) {
+    this.validate = validate;
+  }
+
+}
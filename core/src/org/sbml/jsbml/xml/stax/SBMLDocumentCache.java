@@ -0,0 +1,637 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.stax;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.log4j.Logger;
+import org.sbml.jsbml.JSBML;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.util.SimpleTreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeChangeListener;
+
+/**
+ * A content-addressed on-disk cache of parsed {@link SBMLDocument}s.
+ * <p>
+ * Each entry is keyed by a SHA-256 digest of the bytes of the SBML input,
+ * the version of JSBML and an optional string that describes the reader
+ * options. The parsed document is stored in its serialized form, which can be
+ * loaded much faster than the XML can be parsed again. Hence, reading an
+ * unchanged file a second time skips XML parsing entirely.
+ * <p>
+ * Every entry carries a digest of its payload, which is verified before the
+ * entry is used. Corrupted or truncated entries are discarded and the file is
+ * parsed again. As this digest does not protect against deliberately modified
+ * entries, only instances of the classes listed in
+ * {@link #isDeserializationAllowed(String)} are deserialized; entries that
+ * contain anything else are discarded as well. The total size of the cache directory is bounded: whenever a
+ * new entry is stored and the bound is exceeded, the least recently used
+ * entries are deleted.
+ * <p>
+ * Instances of this class can be shared between threads, and several
+ * processes may use the same cache directory, because entries are written to
+ * a temporary file first and moved to their final location afterwards.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentCache {
+
+  /**
+   * The default upper bound for the size of the cache directory in bytes (512
+   * MB).
+   */
+  public static final long DEFAULT_MAX_SIZE = 512L * 1024L * 1024L;
+
+  /**
+   * File name extension of all cache entries.
+   */
+  public static final String ENTRY_SUFFIX = ".jsbml";
+
+  /**
+   * Identifies the files written by this class.
+   */
+  private static final int MAGIC = 0x4A53424D;
+
+  /**
+   * Version of the format of the cache entries, entries in any other format
+   * are ignored.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * The digest algorithm used for the keys and the integrity checks.
+   */
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  /**
+   * A {@link Logger} for this class.
+   */
+  private static final transient Logger logger = Logger.getLogger(SBMLDocumentCache.class);
+
+  /**
+   * Packages whose classes may be deserialized from a cache entry, see
+   * {@link #isDeserializationAllowed(String)}.
+   */
+  private static final String[] ALLOWED_PACKAGES = {"org.sbml.jsbml.",
+    "org.biojava.nbio.ontology."};
+
+  /**
+   * Packages of the Java platform whose classes may be deserialized from a
+   * cache entry, sub-packages are not included.
+   */
+  private static final String[] ALLOWED_JDK_PACKAGES = {"java.lang",
+    "java.math", "java.util", "java.util.concurrent",
+    "java.util.concurrent.atomic"};
+
+  /**
+   * Single classes outside of {@link #ALLOWED_PACKAGES} and
+   * {@link #ALLOWED_JDK_PACKAGES} that may be deserialized from a cache entry.
+   */
+  private static final String[] ALLOWED_CLASSES = {"java.awt.Color"};
+
+  /**
+   * An {@link ObjectInputStream} that refuses to resolve any class that is not
+   * allowed by {@link SBMLDocumentCache#isDeserializationAllowed(String)}, so
+   * that no code of other classes is run while reading a cache entry.
+   */
+  private static class RestrictedObjectInputStream extends ObjectInputStream {
+
+    /**
+     * @param in
+     * @throws IOException
+     */
+    public RestrictedObjectInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.ObjectInputStream#resolveClass(java.io.ObjectStreamClass)
+     */
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException {
+      if (!isDeserializationAllowed(desc.getName())) {
+        throw new InvalidClassException(desc.getName(), "Class not allowed in a cache entry");
+      }
+      return super.resolveClass(desc);
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.ObjectInputStream#resolveProxyClass(java.lang.String[])
+     */
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces)
+        throws IOException, ClassNotFoundException {
+      throw new InvalidClassException("Proxy classes are not allowed in a cache entry");
+    }
+
+  }
+
+  /**
+   * Accepts all cache entries of a directory.
+   */
+  private static final FileFilter ENTRY_FILTER = new FileFilter() {
+    /* (non-Javadoc)
+     * @see java.io.FileFilter#accept(java.io.File)
+     */
+    @Override
+    public boolean accept(File file) {
+      return file.isFile() && file.getName().endsWith(ENTRY_SUFFIX);
+    }
+  };
+
+  /**
+   * The directory in which all entries are stored.
+   */
+  private final File directory;
+
+  /**
+   * Upper bound for the total size of all entries in bytes.
+   */
+  private final long maxSize;
+
+  /**
+   * Describes the reader options that influence the parsed result, it is
+   * part of every key.
+   */
+  private final String readerOptions;
+
+  /**
+   * Number of reads that could be served from the cache.
+   */
+  private final AtomicLong hitCount = new AtomicLong();
+
+  /**
+   * Number of reads that required parsing the XML.
+   */
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * Creates a new cache in the given directory, using the
+   * {@link #DEFAULT_MAX_SIZE}.
+   *
+   * @param directory
+   *        the directory in which the entries are stored. It is created if it
+   *        does not yet exist.
+   * @throws IOException
+   *         if the directory cannot be created.
+   */
+  public SBMLDocumentCache(File directory) throws IOException {
+    this(directory, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates a new cache in the given directory.
+   *
+   * @param directory
+   *        the directory in which the entries are stored. It is created if it
+   *        does not yet exist.
+   * @param maxSize
+   *        upper bound for the total size of all entries in bytes.
+   * @throws IOException
+   *         if the directory cannot be created.
+   */
+  public SBMLDocumentCache(File directory, long maxSize) throws IOException {
+    this(directory, maxSize, null);
+  }
+
+  /**
+   * Creates a new cache in the given directory.
+   *
+   * @param directory
+   *        the directory in which the entries are stored. It is created if it
+   *        does not yet exist.
+   * @param maxSize
+   *        upper bound for the total size of all entries in bytes.
+   * @param readerOptions
+   *        a description of any options that influence the result of reading
+   *        a file, can be {@code null}. Entries written with other options are
+   *        never returned.
+   * @throws IOException
+   *         if the directory cannot be created.
+   */
+  public SBMLDocumentCache(File directory, long maxSize, String readerOptions) throws IOException {
+    if (directory == null) {
+      throw new IllegalArgumentException("The cache directory must not be null.");
+    }
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "The maximal size of the cache must be positive, but was {0,number,#}.", maxSize));
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException(MessageFormat.format(
+        "Could not create the cache directory {0}.", directory.getAbsolutePath()));
+    }
+    this.directory = directory;
+    this.maxSize = maxSize;
+    this.readerOptions = readerOptions == null ? "" : readerOptions;
+  }
+
+  /**
+   * Deletes all entries of this cache.
+   */
+  public synchronized void clear() {
+    File[] entries = directory.listFiles(ENTRY_FILTER);
+    if (entries != null) {
+      for (File entry : entries) {
+        delete(entry);
+      }
+    }
+  }
+
+  /**
+   * Computes the key under which the document parsed from the given content
+   * is stored.
+   *
+   * @param content
+   *        the bytes of an SBML file.
+   * @return a hexadecimal representation of the key.
+   */
+  public String computeKey(byte[] content) {
+    MessageDigest digest = createDigest();
+    digest.update(content);
+    digest.update((byte) 0);
+    digest.update(JSBML.getJSBMLVersionString().getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(readerOptions.getBytes(StandardCharsets.UTF_8));
+    return toHex(digest.digest());
+  }
+
+  /**
+   * @return the directory in which all entries are stored.
+   */
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * @return the number of reads that could be served from this cache.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return the upper bound for the total size of all entries in bytes.
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the number of reads that required parsing the XML.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the reader options that are part of every key.
+   */
+  public String getReaderOptions() {
+    return readerOptions;
+  }
+
+  /**
+   * @return the current total size of all entries in bytes.
+   */
+  public long getSize() {
+    long size = 0L;
+    File[] entries = directory.listFiles(ENTRY_FILTER);
+    if (entries != null) {
+      for (File entry : entries) {
+        size += entry.length();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Reads an SBML document from the given {@link File}, using this cache if
+   * possible.
+   *
+   * @param file
+   *        the file to be read.
+   * @return an {@link SBMLDocument} created from the SBML content.
+   * @throws XMLStreamException
+   *         if any problems prevent to create a {@link SBMLDocument}
+   * @throws IOException
+   *         if the file does not exist or cannot be read.
+   * @see org.sbml.jsbml.SBMLReader#read(File)
+   */
+  public SBMLDocument read(File file) throws XMLStreamException, IOException {
+    return read(file, null);
+  }
+
+  /**
+   * Reads an SBML document from the given {@link File}, using this cache if
+   * possible. The document returned is always a new instance, independent of
+   * any document returned before, so that it can be modified freely.
+   *
+   * @param file
+   *        the file to be read.
+   * @param listener
+   *        the listener to be added to the document, if {@code null} a
+   *        {@link SimpleTreeNodeChangeListener} is used.
+   * @return an {@link SBMLDocument} created from the SBML content.
+   * @throws XMLStreamException
+   *         if any problems prevent to create a {@link SBMLDocument}
+   * @throws IOException
+   *         if the file does not exist or cannot be read.
+   * @see org.sbml.jsbml.SBMLReader#read(File, TreeNodeChangeListener)
+   */
+  public SBMLDocument read(File file, TreeNodeChangeListener listener)
+      throws XMLStreamException, IOException {
+    byte[] content = Files.readAllBytes(file.toPath());
+    String key = computeKey(content);
+    File entry = new File(directory, key + ENTRY_SUFFIX);
+    TreeNodeChangeListener docListener = listener == null ? new SimpleTreeNodeChangeListener() : listener;
+
+    SBMLDocument doc = load(entry);
+    if (doc != null) {
+      hitCount.incrementAndGet();
+      doc.addTreeNodeChangeListener(docListener);
+    } else {
+      missCount.incrementAndGet();
+      doc = new SBMLReader().readSBMLFromStream(new ByteArrayInputStream(content), docListener);
+      if (doc == null) {
+        throw new XMLStreamException(MessageFormat.format(
+          "JSBML could not properly read file {0}. Please check if it contains valid SBML.",
+          file.getAbsolutePath()));
+      }
+      store(entry, doc);
+    }
+    doc.setLocationURI(file.toURI().toString());
+
+    return doc;
+  }
+
+  /**
+   * Loads and verifies the given entry.
+   *
+   * @param entry
+   *        the file of a cache entry.
+   * @return the deserialized document or {@code null} if the entry does not
+   *         exist or is not valid.
+   */
+  private SBMLDocument load(File entry) {
+    if (!entry.isFile()) {
+      return null;
+    }
+    try {
+      byte[] payload;
+      byte[] expectedDigest = new byte[32];
+      DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)));
+      try {
+        if ((in.readInt() != MAGIC) || (in.readInt() != FORMAT_VERSION)) {
+          throw new IOException("Unknown format");
+        }
+        int length = in.readInt();
+        if ((length < 0) || (length != entry.length() - 44)) {
+          throw new IOException("Truncated entry");
+        }
+        in.readFully(expectedDigest);
+        payload = new byte[length];
+        in.readFully(payload);
+      } finally {
+        in.close();
+      }
+      if (!Arrays.equals(expectedDigest, createDigest().digest(payload))) {
+        throw new IOException("Checksum mismatch");
+      }
+      ObjectInputStream objectIn = new RestrictedObjectInputStream(new ByteArrayInputStream(payload));
+      try {
+        Object object = objectIn.readObject();
+        if (!(object instanceof SBMLDocument)) {
+          throw new IOException("Unexpected content");
+        }
+        // mark this entry as recently used
+        entry.setLastModified(System.currentTimeMillis());
+        return (SBMLDocument) object;
+      } finally {
+        objectIn.close();
+      }
+    } catch (IOException exc) {
+      logger.warn(MessageFormat.format("Discarding invalid cache entry {0}: {1}", entry.getName(), exc.getMessage()));
+    } catch (ClassNotFoundException exc) {
+      logger.warn(MessageFormat.format("Discarding invalid cache entry {0}: {1}", entry.getName(), exc.getMessage()));
+    }
+    delete(entry);
+
+    return null;
+  }
+
+  /**
+   * Writes the given document to the given entry and evicts the least
+   * recently used entries if the cache became too large. Problems are only
+   * logged because the document could be read anyway.
+   *
+   * @param entry
+   *        the file of a cache entry.
+   * @param doc
+   *        the document to be stored.
+   */
+  private void store(File entry, SBMLDocument doc) {
+    File tmp = null;
+    try {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      ObjectOutputStream objectOut = new ObjectOutputStream(buffer);
+      objectOut.writeObject(doc);
+      objectOut.close();
+      byte[] payload = buffer.toByteArray();
+
+      tmp = File.createTempFile("entry", ".tmp", directory);
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+      try {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(payload.length);
+        out.write(createDigest().digest(payload));
+        out.write(payload);
+      } finally {
+        out.close();
+      }
+      try {
+        Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException exc) {
+        Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      tmp = null;
+    } catch (IOException exc) {
+      // also covers NotSerializableException for unusual user objects
+      logger.warn(MessageFormat.format("Could not store cache entry {0}: {1}", entry.getName(), exc.getMessage()));
+    } finally {
+      if (tmp != null) {
+        delete(tmp);
+      }
+    }
+    evict();
+  }
+
+  /**
+   * Deletes the least recently used entries until the total size of all
+   * entries does not exceed {@link #maxSize} anymore.
+   */
+  private synchronized void evict() {
+    File[] entries = directory.listFiles(ENTRY_FILTER);
+    if (entries == null) {
+      return;
+    }
+    long size = 0L;
+    final long[] lastModified = new long[entries.length];
+    Integer[] order = new Integer[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      size += entries[i].length();
+      lastModified[i] = entries[i].lastModified();
+      order[i] = Integer.valueOf(i);
+    }
+    if (size <= maxSize) {
+      return;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      /* (non-Javadoc)
+       * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+       */
+      @Override
+      public int compare(Integer i1, Integer i2) {
+        return Long.compare(lastModified[i1.intValue()], lastModified[i2.intValue()]);
+      }
+    });
+    for (int i = 0; (i < order.length) && (size > maxSize); i++) {
+      File entry = entries[order[i].intValue()];
+      long length = entry.length();
+      if (delete(entry)) {
+        size -= length;
+      }
+    }
+  }
+
+  /**
+   * @param file
+   *        the file to be deleted.
+   * @return {@code true} if the file does not exist anymore.
+   */
+  private static boolean delete(File file) {
+    if (!file.delete() && file.exists()) {
+      logger.debug(MessageFormat.format("Could not delete {0}", file.getAbsolutePath()));
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Decides if instances of the given class may be deserialized from a cache
+   * entry. These are the classes of JSBML, including all extensions, the
+   * ontology classes of BioJava that JSBML keeps in its documents, the basic
+   * types, collections and numbers of the Java platform, arrays of all these
+   * and arrays of primitive types.
+   *
+   * @param className
+   *        the name of a class as given by {@link Class#getName()}.
+   * @return {@code true} if instances of the given class may be deserialized.
+   */
+  static boolean isDeserializationAllowed(String className) {
+    String name = className;
+    while (name.startsWith("[")) {
+      name = name.substring(1);
+    }
+    if (name.startsWith("L") && name.endsWith(";")) {
+      name = name.substring(1, name.length() - 1);
+    } else if (name.length() == 1) {
+      // an array of a primitive type
+      return name.length() < className.length();
+    }
+    for (String prefix : ALLOWED_PACKAGES) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    int index = name.lastIndexOf('.');
+    String packageName = index < 0 ? "" : name.substring(0, index);
+    for (String allowed : ALLOWED_JDK_PACKAGES) {
+      if (packageName.equals(allowed)) {
+        return true;
+      }
+    }
+    return Arrays.asList(ALLOWED_CLASSES).contains(name);
+  }
+
+  /**
+   * @return a new {@link MessageDigest} for {@link #DIGEST_ALGORITHM}.
+   */
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException exc) {
+      // every Java platform is required to support SHA-256
+      throw new IllegalStateException(exc);
+    }
+  }
+
+  /**
+   * @param bytes
+   * @return the lower case hexadecimal representation of the given bytes.
+   */
+  private static String toHex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+      sb.append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
+  /* (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return MessageFormat.format("{0} [directory={1}, maxSize={2,number,#}, hits={3,number,#}, misses={4,number,#}]",
+      getClass().getSimpleName(), directory.getAbsolutePath(), maxSize, hitCount.get(), missCount.get());
+  }
+
+}
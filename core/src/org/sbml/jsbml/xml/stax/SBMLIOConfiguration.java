@@ -0,0 +1,442 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.stax;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.log4j.Logger;
+import org.codehaus.stax2.XMLStreamWriter2;
+import org.codehaus.staxmate.SMOutputFactory;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLException;
+import org.sbml.jsbml.xml.parsers.ParserManager;
+import org.sbml.jsbml.xml.parsers.ReadingParser;
+import org.sbml.jsbml.xml.parsers.WritingParser;
+
+import com.ctc.wstx.api.WstxInputProperties;
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+
+/**
+ * An immutable configuration for reading and writing SBML that can be shared
+ * by any number of threads.
+ * <p>
+ * Creating the StAX factories and looking up the classes of all the
+ * {@link ReadingParser}s and {@link WritingParser}s is done only once, when
+ * the configuration is created. The factories are thread-safe once they are
+ * configured and are shared by all readers and writers created from this
+ * configuration; Woodstox also shares its symbol tables between the readers
+ * of one factory, which speeds up parsing many similar documents.
+ * <p>
+ * The parsers keep state while a document is processed, therefore each
+ * {@link SBMLReader} or {@link SBMLWriter} obtained by {@link #newReader()}
+ * or {@link #newWriter()} gets its own parser instances, created from the
+ * classes found before. These objects are cheap to create and should be
+ * used by one thread at a time, e.g., one per request. The convenience
+ * methods of this class, such as {@link #readSBML(File)}, do exactly this
+ * and can be called concurrently.
+ *
+ * @since 1.7
+ */
+public final class SBMLIOConfiguration {
+
+  /**
+   * The default maximal depth of nested XML elements.
+   */
+  public static final int DEFAULT_MAX_ELEMENT_DEPTH = 5000;
+
+  /**
+   * A {@link Logger} for this class.
+   */
+  private static final transient Logger logger = Logger.getLogger(SBMLIOConfiguration.class);
+
+  /**
+   * Lazily creates the default configuration.
+   */
+  private static class DefaultHolder {
+    /**
+     * The default configuration.
+     */
+    private static final SBMLIOConfiguration DEFAULT = new SBMLIOConfiguration();
+  }
+
+  /**
+   * Returns the configuration used by {@link SBMLReader}s and
+   * {@link SBMLWriter}s that were created without an explicit configuration.
+   *
+   * @return the default configuration.
+   */
+  public static SBMLIOConfiguration getDefault() {
+    return DefaultHolder.DEFAULT;
+  }
+
+  /**
+   * The symbol used to indent elements in the XML output.
+   */
+  private final char indentChar;
+
+  /**
+   * The number of indentation symbols.
+   */
+  private final short indentCount;
+
+  /**
+   * The shared, configured factory for all readers.
+   */
+  private final WstxInputFactory inputFactory;
+
+  /**
+   * The maximal depth of nested XML elements that is accepted.
+   */
+  private final int maxElementDepth;
+
+  /**
+   * The shared factory for all writers.
+   */
+  private final SMOutputFactory outputFactory;
+
+  /**
+   * The classes of all reading parsers, with the name spaces each of them is
+   * responsible for.
+   */
+  private final Map<Class<? extends ReadingParser>, List<String>> readingParserClasses;
+
+  /**
+   * The classes of all writing parsers, with the name spaces each of them is
+   * responsible for.
+   */
+  private final Map<Class<? extends WritingParser>, List<String>> writingParserClasses;
+
+  /**
+   * Creates a new configuration with the {@link #DEFAULT_MAX_ELEMENT_DEPTH}
+   * and the default indentation of {@link SBMLWriter}.
+   */
+  public SBMLIOConfiguration() {
+    this(DEFAULT_MAX_ELEMENT_DEPTH, SBMLWriter.getDefaultIndentChar(), SBMLWriter.getDefaultIndentCount());
+  }
+
+  /**
+   * Creates a new configuration.
+   *
+   * @param maxElementDepth
+   *        the maximal depth of nested XML elements that is accepted when
+   *        reading.
+   * @param indentChar
+   *        the symbol to be used to indent elements in the XML output, either
+   *        {@code ' '} or {@code '\t'}.
+   * @param indentCount
+   *        the number of these symbols per level of indentation.
+   */
+  public SBMLIOConfiguration(int maxElementDepth, char indentChar, short indentCount) {
+    if (maxElementDepth <= 0) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "The maximal element depth must be positive, but was {0,number,#}.", maxElementDepth));
+    }
+    if ((indentChar != ' ') && (indentChar != '\t')) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "Invalid argument \"{0}\". Only the blank symbols ''\\t'' and '' '' are allowed for indentation.",
+        indentChar));
+    }
+    if (indentCount < 0) {
+      throw new IllegalArgumentException(MessageFormat.format(
+        "Indent count must be non-negative. Invalid argument {0,number}.", indentCount));
+    }
+    this.maxElementDepth = maxElementDepth;
+    this.indentChar = indentChar;
+    this.indentCount = indentCount;
+
+    inputFactory = new WstxInputFactory();
+    try {
+      // see https://groups.google.com/d/msg/jsbml-development/cckEJPYNzQY/5ynmIbqNCAAJ for why we did set this value
+      inputFactory.setProperty(WstxInputProperties.P_MAX_ELEMENT_DEPTH, maxElementDepth);
+
+      // see https://github.com/OWASP/CheatSheetSeries/blob/master/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.md
+      inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      inputFactory.setProperty("javax.xml.stream.isSupportingExternalEntities", false);
+    } catch (IllegalArgumentException e) {
+      // do nothing - the XML libraries used do not support this property for some reason
+    }
+    // Explicitly creating WstxOutputFactory as it is needed by staxmate and it is then easier for
+    // OSGi to find the needed dependencies
+    outputFactory = new SMOutputFactory(new WstxOutputFactory());
+
+    readingParserClasses = collectClasses(ParserManager.getManager().getReadingParsers());
+    writingParserClasses = collectClasses(ParserManager.getManager().getWritingParsers());
+  }
+
+  /**
+   * Creates a new {@link XMLEventReader} from the shared input factory.
+   *
+   * @param stream
+   * @return a new {@link XMLEventReader} reading from the given stream.
+   * @throws XMLStreamException
+   */
+  public XMLEventReader createXMLEventReader(InputStream stream) throws XMLStreamException {
+    return inputFactory.createXMLEventReader(stream);
+  }
+
+  /**
+   * Creates a new {@link XMLStreamReader} from the shared input factory, which
+   * neither supports DTDs nor external entities.
+   *
+   * @param stream
+   * @return a new {@link XMLStreamReader} reading from the given stream.
+   * @throws XMLStreamException
+   */
+  public XMLStreamReader createXMLStreamReader(InputStream stream) throws XMLStreamException {
+    return inputFactory.createXMLStreamReader(stream);
+  }
+
+  /**
+   * Creates a new {@link XMLStreamWriter2} from the shared output factory.
+   *
+   * @param stream
+   * @return a new {@link XMLStreamWriter2} writing to the given stream.
+   * @throws XMLStreamException
+   */
+  public XMLStreamWriter2 createXMLStreamWriter(OutputStream stream) throws XMLStreamException {
+    return outputFactory.createStax2Writer(stream);
+  }
+
+  /**
+   * Creates a new {@link XMLStreamWriter2} from the shared output factory.
+   *
+   * @param writer
+   * @return a new {@link XMLStreamWriter2} writing to the given writer.
+   * @throws XMLStreamException
+   */
+  public XMLStreamWriter2 createXMLStreamWriter(Writer writer) throws XMLStreamException {
+    return outputFactory.createStax2Writer(writer);
+  }
+
+  /**
+   * Creates new instances of all the {@link ReadingParser}s.
+   *
+   * @return a new map from name space URI to the parser responsible for it.
+   */
+  public Map<String, ReadingParser> createReadingParsers() {
+    return instantiate(readingParserClasses);
+  }
+
+  /**
+   * Creates new instances of all the {@link WritingParser}s.
+   *
+   * @return a new map from name space URI to the parser responsible for it.
+   */
+  public Map<String, WritingParser> createWritingParsers() {
+    return instantiate(writingParserClasses);
+  }
+
+  /**
+   * @return the symbol used to indent elements in the XML output.
+   */
+  public char getIndentationChar() {
+    return indentChar;
+  }
+
+  /**
+   * @return the number of indentation symbols per level.
+   */
+  public short getIndentationCount() {
+    return indentCount;
+  }
+
+  /**
+   * @return the maximal depth of nested XML elements that is accepted.
+   */
+  public int getMaxElementDepth() {
+    return maxElementDepth;
+  }
+
+  /**
+   * Creates a new {@link SBMLReader} that uses this configuration. The reader
+   * must not be used by several threads at the same time.
+   *
+   * @return a new reader.
+   */
+  public SBMLReader newReader() {
+    return new SBMLReader(this);
+  }
+
+  /**
+   * Creates a new {@link SBMLWriter} that uses this configuration. The writer
+   * must not be used by several threads at the same time.
+   *
+   * @return a new writer.
+   */
+  public SBMLWriter newWriter() {
+    return new SBMLWriter(this);
+  }
+
+  /**
+   * Reads an SBML document from the given file. This method can be called
+   * by several threads at the same time.
+   *
+   * @param file
+   * @return the document read.
+   * @throws IOException
+   * @throws XMLStreamException
+   * @see SBMLReader#readSBML(File)
+   */
+  public SBMLDocument readSBML(File file) throws IOException, XMLStreamException {
+    return newReader().readSBML(file);
+  }
+
+  /**
+   * Reads an SBML document from the given stream. This method can be called
+   * by several threads at the same time.
+   *
+   * @param stream
+   * @return the document read.
+   * @throws XMLStreamException
+   * @see SBMLReader#readSBMLFromStream(InputStream)
+   */
+  public SBMLDocument readSBMLFromStream(InputStream stream) throws XMLStreamException {
+    return newReader().readSBMLFromStream(stream);
+  }
+
+  /**
+   * Reads an SBML document from the given XML {@link String}. This method can
+   * be called by several threads at the same time.
+   *
+   * @param xml
+   * @return the document read.
+   * @throws XMLStreamException
+   * @see SBMLReader#readSBMLFromString(String)
+   */
+  public SBMLDocument readSBMLFromString(String xml) throws XMLStreamException {
+    return newReader().readSBMLFromString(xml);
+  }
+
+  /**
+   * Writes the given document to the given stream. This method can be called
+   * by several threads at the same time, as long as they write different
+   * documents.
+   *
+   * @param doc
+   * @param stream
+   * @throws XMLStreamException
+   * @throws SBMLException
+   * @see SBMLWriter#write(SBMLDocument, OutputStream)
+   */
+  public void write(SBMLDocument doc, OutputStream stream) throws XMLStreamException, SBMLException {
+    newWriter().write(doc, stream);
+  }
+
+  /**
+   * Writes the given document to an XML {@link String}. This method can be
+   * called by several threads at the same time, as long as they write
+   * different documents.
+   *
+   * @param doc
+   * @return the XML representation of the document.
+   * @throws XMLStreamException
+   * @throws SBMLException
+   * @see SBMLWriter#writeSBMLToString(SBMLDocument)
+   */
+  public String writeSBMLToString(SBMLDocument doc) throws XMLStreamException, SBMLException {
+    return newWriter().writeSBMLToString(doc);
+  }
+
+  /* (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return MessageFormat.format("{0} [maxElementDepth={1,number,#}, indentChar=''{2}'', indentCount={3,number,#}]",
+      getClass().getSimpleName(), maxElementDepth, indentChar, indentCount);
+  }
+
+  /**
+   * Determines the class of each of the given parsers together with all the
+   * name spaces it is registered for.
+   *
+   * @param parsers
+   *        a map from name space URI to parser.
+   * @return an unmodifiable map from parser class to name spaces.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> Map<Class<? extends T>, List<String>> collectClasses(Map<String, T> parsers) {
+    Map<T, List<String>> namespacesOfParser = new IdentityHashMap<T, List<String>>();
+    Map<Class<? extends T>, List<String>> classes = new LinkedHashMap<Class<? extends T>, List<String>>();
+    for (Map.Entry<String, T> entry : parsers.entrySet()) {
+      T parser = entry.getValue();
+      if (parser == null) {
+        continue;
+      }
+      List<String> namespaces = namespacesOfParser.get(parser);
+      if (namespaces == null) {
+        namespaces = classes.get(parser.getClass());
+        if (namespaces == null) {
+          namespaces = new ArrayList<String>();
+          classes.put((Class<? extends T>) parser.getClass(), namespaces);
+        }
+        namespacesOfParser.put(parser, namespaces);
+      }
+      namespaces.add(entry.getKey());
+    }
+    for (Map.Entry<Class<? extends T>, List<String>> entry : classes.entrySet()) {
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(classes);
+  }
+
+  /**
+   * Creates one new instance of each of the given classes.
+   *
+   * @param classes
+   *        a map from parser class to name spaces.
+   * @return a new map from name space URI to a new parser instance.
+   */
+  private static <T> Map<String, T> instantiate(Map<Class<? extends T>, List<String>> classes) {
+    Map<String, T> parsers = new HashMap<String, T>();
+    for (Map.Entry<Class<? extends T>, List<String>> entry : classes.entrySet()) {
+      try {
+        T parser = entry.getKey().newInstance();
+        for (String namespace : entry.getValue()) {
+          parsers.put(namespace, parser);
+        }
+      } catch (InstantiationException exc) {
+        logger.debug(MessageFormat.format("problem creating an instance of ''{0}'': {1}", entry.getKey().getName(), exc.getMessage()));
+      } catch (IllegalAccessException exc) {
+        logger.debug(MessageFormat.format("problem creating an instance of ''{0}'': {1}", entry.getKey().getName(), exc.getMessage()));
+      }
+    }
+    return parsers;
+  }
+
+}
@@ -21,7 +21,6 @@ package org.sbml.jsbml.xml.stax;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -37,7 +36,6 @@ import java.util.Stack;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.Characters;
@@ -59,6 +57,8 @@ import org.sbml.jsbml.SBMLDocument;
 import org.sbml.jsbml.SBMLException;
 import org.sbml.jsbml.SBase;
 import org.sbml.jsbml.Species;
+import org.sbml.jsbml.util.CompressionTools;
+import org.sbml.jsbml.util.MappedFileInputStream;
 import org.sbml.jsbml.util.SimpleTreeNodeChangeListener;
 import org.sbml.jsbml.util.StringTools;
 import org.sbml.jsbml.util.TreeNodeChangeListener;
@@ -69,13 +69,10 @@ import org.sbml.jsbml.xml.XMLNode;
 import org.sbml.jsbml.xml.parsers.AbstractReaderWriter;
 import org.sbml.jsbml.xml.parsers.AnnotationReader;
 import org.sbml.jsbml.xml.parsers.MathMLStaxParser;
-import org.sbml.jsbml.xml.parsers.ParserManager;
 import org.sbml.jsbml.xml.parsers.ReadingParser;
 import org.sbml.jsbml.xml.parsers.SBMLCoreParser;
 import org.sbml.jsbml.xml.parsers.XMLNodeReader;
 
-import com.ctc.wstx.api.WstxInputProperties;
-import com.ctc.wstx.stax.WstxInputFactory;
 
 import static java.text.MessageFormat.format;
 
@@ -85,6 +82,9 @@ import static java.text.MessageFormat.format;
  * 
  * <p>Warning: This class is not thread safe, so if using several thread to process SBML files in parallel
  * you should make sure to use new instances of SBMLReader in each thread.</p> 
+ * 
+ * <p>New instances are cheap to create: the XML factory and the lookup of the parser classes are shared
+ * through an {@link SBMLIOConfiguration}, see {@link SBMLIOConfiguration#newReader()}.</p>
  *
  * @author Marine Dumousseau
  * @author Andreas Dr&auml;ger
@@ -115,6 +115,12 @@ public class SBMLReader {
   }
 
  
+ /**
+  * The configuration providing the XML factory and the parsers, if
+  * {@code null}, {@link SBMLIOConfiguration#getDefault()} is used.
+  */
+ private final SBMLIOConfiguration configuration;
+
  /**
   * Contains all the initialized parsers.
   */
@@ -143,6 +149,33 @@ public class SBMLReader {
    */
   private static final transient Logger logger = Logger.getLogger(SBMLReader.class);
 
+  /**
+   * Creates a new {@link SBMLReader} that uses the default
+   * {@link SBMLIOConfiguration}.
+   */
+  public SBMLReader() {
+    this(null);
+  }
+
+  /**
+   * Creates a new {@link SBMLReader} that uses the given configuration.
+   *
+   * @param configuration
+   *        the configuration providing the XML factory and the parsers, if
+   *        {@code null}, {@link SBMLIOConfiguration#getDefault()} is used.
+   */
+  public SBMLReader(SBMLIOConfiguration configuration) {
+    super();
+    this.configuration = configuration;
+  }
+
+  /**
+   * @return the configuration used by this reader.
+   */
+  public SBMLIOConfiguration getConfiguration() {
+    return configuration != null ? configuration : SBMLIOConfiguration.getDefault();
+  }
+
   /**
    * Creates the ReadingParser instances and stores them in a
    * HashMap.
@@ -157,7 +190,7 @@ public class SBMLReader {
     }
 
     if ((initializedParsers == null) || (initializedParsers.size() == 0)) {
-      initializedParsers = ParserManager.getManager().getReadingParsers();
+      initializedParsers = getConfiguration().createReadingParsers();
       initializeAnnotationParsers();
     }
 
@@ -292,7 +325,8 @@ public class SBMLReader {
   }
 
   /**
-   * Reads a SBML String from the given file.
+   * Reads a SBML String from the given file. Files compressed with gzip or
+   * zip are recognized by their first bytes and decompressed on the fly.
    *
    * @param file
    *            A file containing SBML content.
@@ -302,7 +336,47 @@ public class SBMLReader {
    * @throws XMLStreamException
    */
   public SBMLDocument readSBML(File file, TreeNodeChangeListener listener) throws IOException, XMLStreamException {
-    FileInputStream stream = new FileInputStream(file);
+    return readSBML(file, CompressionTools.openInputStream(file), listener);
+  }
+
+  /**
+   * Reads a SBML document from the given file through memory mapping, see
+   * {@link MappedFileInputStream}. This avoids copying the content of very
+   * large files through intermediate buffers before it reaches the XML
+   * parser. Files compressed with gzip or zip are decompressed on the fly.
+   *
+   * @param file
+   *            A file containing SBML content.
+   * @param listener
+   * @return the matching SBMLDocument instance.
+   * @throws IOException
+   * @throws XMLStreamException
+   * @see #readSBML(File, TreeNodeChangeListener)
+   */
+  public SBMLDocument readSBMLFromMappedFile(File file, TreeNodeChangeListener listener) throws IOException, XMLStreamException {
+    MappedFileInputStream mappedStream = new MappedFileInputStream(file);
+    InputStream stream;
+    try {
+      stream = CompressionTools.decompress(mappedStream);
+    } catch (IOException exc) {
+      mappedStream.close();
+      throw exc;
+    }
+    return readSBML(file, stream, listener);
+  }
+
+  /**
+   * Reads a SBML document from the given stream that has been opened for the
+   * given file and closes the stream.
+   *
+   * @param file
+   * @param stream
+   * @param listener
+   * @return the matching SBMLDocument instance.
+   * @throws IOException
+   * @throws XMLStreamException
+   */
+  private SBMLDocument readSBML(File file, InputStream stream, TreeNodeChangeListener listener) throws IOException, XMLStreamException {
     XMLStreamException exc1 = null;
     Object readObject = null;
     try {
@@ -540,7 +614,8 @@ public class SBMLReader {
   }
 
   /**
-   * Reads a SBML document from the given {@code stream}.
+   * Reads a SBML document from the given {@code stream}. If the content of
+   * the stream is compressed with gzip or zip, it is decompressed on the fly.
    *
    * @param stream
    * @param listener
@@ -549,11 +624,12 @@ public class SBMLReader {
    */
   public SBMLDocument readSBMLFromStream(InputStream stream, TreeNodeChangeListener listener)
       throws XMLStreamException {
-    WstxInputFactory inputFactory = new WstxInputFactory();
-    // see https://github.com/OWASP/CheatSheetSeries/blob/master/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.md
-    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-    inputFactory.setProperty("javax.xml.stream.isSupportingExternalEntities", false);
-    XMLEventReader xmlEventReader = inputFactory.createXMLEventReader(stream);
+    try {
+      stream = CompressionTools.decompress(stream);
+    } catch (IOException exc) {
+      throw new XMLStreamException(exc);
+    }
+    XMLEventReader xmlEventReader = getConfiguration().createXMLEventReader(stream);
     return (SBMLDocument) readXMLFromXMLEventReader(xmlEventReader, listener);
   }
 
@@ -578,20 +654,7 @@ public class SBMLReader {
    */
   private Object readXMLFromStream(InputStream stream, TreeNodeChangeListener listener)
       throws XMLStreamException {
-    WstxInputFactory inputFactory = new WstxInputFactory();
-
-    try {
-      // see https://groups.google.com/d/msg/jsbml-development/cckEJPYNzQY/5ynmIbqNCAAJ for why we did set this value
-      inputFactory.setProperty(WstxInputProperties.P_MAX_ELEMENT_DEPTH, 5000);
-
-      // see https://github.com/OWASP/CheatSheetSeries/blob/master/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.md
-      inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-      inputFactory.setProperty("javax.xml.stream.isSupportingExternalEntities", false);
-    } catch(IllegalArgumentException e) {
-      // do nothing - the XML libraries used do not support this property for some reason
-    }
-
-    XMLEventReader xmlEventReader = inputFactory.createXMLEventReader(stream);
+    XMLEventReader xmlEventReader = getConfiguration().createXMLEventReader(stream);
     return readXMLFromXMLEventReader(xmlEventReader, listener);
   }
 
@@ -19,11 +19,9 @@
  */
 package org.sbml.jsbml.xml.stax;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
@@ -63,15 +61,14 @@ import org.sbml.jsbml.SBMLDocument;
 import org.sbml.jsbml.SBMLException;
 import org.sbml.jsbml.SBase;
 import org.sbml.jsbml.UnitDefinition;
+import org.sbml.jsbml.util.CompressionTools;
 import org.sbml.jsbml.util.StringTools;
 import org.sbml.jsbml.util.compilers.MathMLXMLStreamCompiler;
 import org.sbml.jsbml.xml.XMLNode;
 import org.sbml.jsbml.xml.parsers.PackageUtil;
-import org.sbml.jsbml.xml.parsers.ParserManager;
 import org.sbml.jsbml.xml.parsers.WritingParser;
 import org.sbml.jsbml.xml.parsers.XMLNodeWriter;
 
-import com.ctc.wstx.stax.WstxOutputFactory;
 
 /**
  * A SBMLWriter provides the methods to write a SBML file.
@@ -246,6 +243,12 @@ public class SBMLWriter {
    */
   private short indentCount;
 
+  /**
+   * The configuration providing the XML factory and the parsers, if
+   * {@code null}, {@link SBMLIOConfiguration#getDefault()} is used.
+   */
+  private final SBMLIOConfiguration configuration;
+
   /**
    * contains the WritingParser instances of this class.
    */
@@ -283,6 +286,27 @@ public class SBMLWriter {
    * @param indentCount the number of these symbols to be concatenated
    */
   public SBMLWriter(char indentChar, short indentCount) {
+    this(null, indentChar, indentCount);
+  }
+
+  /**
+   * Creates a new {@link SBMLWriter} that uses the given configuration,
+   * including its indentation settings.
+   * 
+   * @param configuration the configuration providing the XML factory and the parsers.
+   */
+  public SBMLWriter(SBMLIOConfiguration configuration) {
+    this(configuration, configuration.getIndentationChar(), configuration.getIndentationCount());
+  }
+
+  /**
+   * @param configuration the configuration providing the XML factory and the parsers,
+   * if {@code null}, {@link SBMLIOConfiguration#getDefault()} is used.
+   * @param indentChar the symbol to be used to indent elements in the XML representation
+   * @param indentCount the number of these symbols to be concatenated
+   */
+  private SBMLWriter(SBMLIOConfiguration configuration, char indentChar, short indentCount) {
+    this.configuration = configuration;
     setIndentationChar(indentChar);
     setIndentationCount(indentCount);
   }
@@ -320,6 +344,13 @@ public class SBMLWriter {
     return StringTools.fill(indent, indentChar);
   }
 
+  /**
+   * @return the configuration used by this writer.
+   */
+  public SBMLIOConfiguration getConfiguration() {
+    return configuration != null ? configuration : SBMLIOConfiguration.getDefault();
+  }
+
   /**
    * Gives the symbol that is used to indent the SBML output for a better
    * structure and to improve human-readability.
@@ -400,7 +431,7 @@ public class SBMLWriter {
   private Map<String, WritingParser> initializePackageParsers()
   {
     if (instantiatedSBMLParsers == null || instantiatedSBMLParsers.size() == 0) {
-      instantiatedSBMLParsers = ParserManager.getManager().getWritingParsers();
+      instantiatedSBMLParsers = getConfiguration().createWritingParsers();
     }
 
     return instantiatedSBMLParsers;
@@ -464,7 +495,9 @@ public class SBMLWriter {
   }
 
   /**
-   * Writes the {@link SBMLDocument} into a {@link File}.
+   * Writes the {@link SBMLDocument} into a {@link File}. If the name of the
+   * file ends with {@code .gz} or {@code .zip}, the output is compressed
+   * accordingly, see {@link CompressionTools#openOutputStream(File)}.
    * 
    * @param document the {@link SBMLDocument} to write.
    * @param file the {@link File} to write to.
@@ -478,11 +511,10 @@ public class SBMLWriter {
    */
   public void write(SBMLDocument document, File file, String programName,
     String programVersion) throws XMLStreamException, SBMLException, IOException {
-    FileOutputStream stream = new FileOutputStream(file);
-    BufferedOutputStream buffer = new BufferedOutputStream(stream);
+    OutputStream stream = CompressionTools.openOutputStream(file);
     XMLStreamException exc1 = null;
     try {
-      write(document, buffer, programName, programVersion);
+      write(document, stream, programName, programVersion);
     } catch (XMLStreamException exc) {
       /*
        * Catching this exception makes sure that we have still the chance to
@@ -492,11 +524,7 @@ public class SBMLWriter {
       exc1 = exc;
     } finally {
       try {
-        try {
-          stream.close();
-        } finally {
-          buffer.close();
-        }
+        stream.close();
       } catch (IOException exc2) {
         // Ok, we lost. No chance to really close these streams. Heavy error.
         if (exc1 != null) {
@@ -555,11 +583,7 @@ public class SBMLWriter {
 
     initializePackageParsers();
 
-    // Explicitly creating WstxOutputFactory as it is needed by staxmate and it is then easier for
-    // OSGi to find the needed dependencies
-    WstxOutputFactory factory = new WstxOutputFactory();
-    SMOutputFactory smFactory = new SMOutputFactory(factory);
-    XMLStreamWriter2 streamWriter = smFactory.createStax2Writer(stream);
+    XMLStreamWriter2 streamWriter = getConfiguration().createXMLStreamWriter(stream);
 
     SMOutputDocument outputDocument = SMOutputFactory.createOutputDocument(
       streamWriter, "1.0", "UTF-8", false);
@@ -695,9 +719,7 @@ public class SBMLWriter {
     }
 
     StringWriter stream = new StringWriter();
-    WstxOutputFactory outputFactory = new WstxOutputFactory();
-    SMOutputFactory smFactory = new SMOutputFactory(outputFactory);
-    XMLStreamWriter2 writer = smFactory.createStax2Writer(stream);
+    XMLStreamWriter2 writer = getConfiguration().createXMLStreamWriter(stream);
 
     // Create an xml fragment to avoid having the xml declaration
     SMRootFragment outputDocument = SMOutputFactory.createOutputFragment(writer);
@@ -828,7 +850,12 @@ public class SBMLWriter {
         writer.writeCharacters("\n");
       }
 
-      compiler.compile(m.getMath());
+      if (astNode.isRenderingCacheEnabled() && (writer instanceof XMLStreamWriter2)) {
+        // reusing the MathML of the unchanged math
+        ((XMLStreamWriter2) writer).writeRaw(astNode.toMathMLContent(createIndentationString(indent + indentCount)));
+      } else {
+        compiler.compile(m.getMath());
+      }
 
       // writing the semantics annotation elements here to write them only for the top level element.
       if (astNode.isSemantics()) {
@@ -0,0 +1,151 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.math.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.text.parser.FormulaParserLL3;
+import org.sbml.jsbml.text.parser.IFormulaParser;
+import org.sbml.jsbml.text.parser.PrattFormulaParser;
+
+/**
+ * Tests that the {@link PrattFormulaParser} creates the same {@link ASTNode}s
+ * and reports the same errors as the {@link FormulaParserLL3}.
+ *
+ * @since 1.7
+ */
+public class PrattFormulaParserTest {
+
+  /**
+   * Formulas covering all tokens, precedence levels and special cases of
+   * the grammar, as well as syntax and lexical errors.
+   */
+  private static final String[] FORMULAS = {
+    "x", "-x", "--x", "+x", "!x", "NOT x", "Not x", "not(x)", "Notx",
+    "x + 1 && 2 || y * 2 ", "V0 > 3 && V1 > 3", "5 + 2 * 4 + 4 * 8 ", "x^y^z", "-2^2", "x^-1",
+    "x != y", "x == y", "x < y < z", "x <= y >= z", "x AND y", "x And y", "x and y", "x Xor y",
+    "x OR y", "x Or y", "x || y && z", "x ANDy", "AND",
+    "3/4", "-3/4", "3/-4", "3/(-4)", "1/2/3", "a / b / c", "a % b", "x % y % z",
+    "mod(a, b)", "modulo(a,b)", "mod(a, b, c)",
+    "1.5", "1e5", "1E-3", "1e+5", ".5e2", ".5", "1e", "1e+", "2147483647", "2147483648", "123456789012",
+    "log(x)", "log(2, x)", "ln(2, x)", "log10(x)", "log", "log[1]", "Cos(x)", "COS(x)", "sqr(x)",
+    "piecewise(1, x > 0, 2)", "Piecewise(1, x > 0, 2)", "lambda(x, x + 1)", "delay(x, 1)", "f(g(h(x)), k[2])",
+    "x[1]", "x[1][2]", "x[-y]", "x[(1)]", "x[{1}]", "x[log(2)]", "x[a[1]]", "x[a(1)]", "x[]", "x[1", "x[1 2]",
+    "{}", "{1, 2, 3}", "{1, 2}[0]", "{1}[0][1]", "{", "{,}",
+    "true", "True", "TRUE", "false", "pi", "Pi", "avogadro", "time", "Time", "exponentiale",
+    "inf", "infinity", "INF", "nan", "NaN", "notanumber", "-inf", "_x1 + x_2",
+    "", "   ", "(x", "(x   ", "x)", "x y", "1 2", "f()", "f(x,)", "f(,x)", "x = y", "a = = b",
+    "x & y", "x | y", "x && ", "&", "&x", ".", ".x", "1.", "1.e5", "$", "x$", "x $ y", "x\t+\t$", "x[1$",
+    "x\ny", "x\n$", "x\r\ny", "  x  "
+  };
+
+  /**
+   * @param formula
+   * @param parser
+   * @return the formula and MathML of the parsed formula or the error.
+   */
+  private static String parse(String formula, IFormulaParser parser) {
+    try {
+      ASTNode node = ASTNode.parseFormula(formula, parser);
+      return node.toFormula() + "\n" + node.toMathML();
+    } catch (Throwable e) {
+      Throwable cause = e.getCause() != null ? e.getCause() : e;
+      String message = String.valueOf(cause.getMessage());
+      int index = message.indexOf("Was expecting");
+      // the lists of expected tokens are not the same
+      return cause.getClass().getSimpleName() + ": " + (index > 0 ? message.substring(0, index) : message);
+    }
+  }
+
+  /**
+   * @param formula
+   * @param caseSensitive
+   */
+  private static void compare(String formula, boolean caseSensitive) {
+    FormulaParserLL3 expected = new FormulaParserLL3(new StringReader(""));
+    expected.setCaseSensitive(caseSensitive);
+    PrattFormulaParser actual = new PrattFormulaParser();
+    actual.setCaseSensitive(caseSensitive);
+    assertEquals(formula, parse(formula, expected), parse(formula, actual));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void sameAsLL3() throws Exception {
+    for (String formula : FORMULAS) {
+      compare(formula, true);
+      compare(formula, false);
+    }
+  }
+
+  /**
+   * Compares randomly generated valid and invalid formulas.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void randomFormulas() throws Exception {
+    String[] tokens = {"x", "y", "1", "2.5", "3e2", ".5", "log", "ln", "f", "sin", "Cos", "piecewise", "true",
+      "pi", "time", "AND", "&&", "||", "NOT", "!", "+", "-", "*", "/", "%", "^", "(", ")", "(", ")", ",",
+      "[", "]", "{", "}", "<", "<=", ">=", "==", "!=", "=", "&", " ", "\t", "$", "inf", "Xor", "_a1", "1."};
+    Random random = new Random(7);
+    for (int i = 0; i < 5000; i++) {
+      StringBuilder formula = new StringBuilder();
+      int n = 1 + random.nextInt(9);
+      for (int j = 0; j < n; j++) {
+        formula.append(tokens[random.nextInt(tokens.length)]);
+      }
+      compare(formula.toString(), true);
+    }
+  }
+
+  /**
+   * One instance parses many formulas, also after errors.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void reuse() throws Exception {
+    PrattFormulaParser parser = new PrattFormulaParser();
+    StringBuilder longFormula = new StringBuilder("x0");
+    for (int i = 1; i < 500; i++) {
+      longFormula.append(" + x").append(i);
+    }
+    assertEquals("x+1", ASTNode.parseFormula("x + 1", parser).toFormula());
+    assertTrue(parse("x +", parser).startsWith("ParseException"));
+    assertEquals(longFormula.toString().replace(" ", ""), ASTNode.parseFormula(longFormula.toString(), parser).toFormula());
+    assertEquals("y", ASTNode.parseFormula("y", parser).toFormula());
+
+    parser.setLevel(3);
+    parser.setVersion(2);
+    assertEquals("rem(a, b)", ASTNode.parseFormula("a % b", parser).toFormula());
+    parser.setLogBehavior(FormulaParserLL3.LOG_BEHAVIOR.LOG_IS_LOG10);
+    assertEquals("log10(x)", ASTNode.parseFormula("log(x)", parser).toFormula());
+  }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.beans.PropertyChangeEvent;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.LocalParameter;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.UniqueNamedSBase;
+import org.sbml.jsbml.util.TreeNodeAdapter;
+import org.sbml.jsbml.util.TreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeIterator;
+import org.sbml.jsbml.util.TreeNodeRemovedEvent;
+
+/**
+ * Tests that {@link SBase#clone()} creates independent copies whose
+ * identifiers and meta identifiers are registered to the copy.
+ *
+ * @since 1.7
+ */
+public class CloneTest {
+
+  /**
+   * Counts the events it receives.
+   */
+  private static class EventCounter implements TreeNodeChangeListener {
+
+    /**
+     * 
+     */
+    private int count;
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+      count++;
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      count++;
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      count++;
+    }
+  }
+
+  /**
+   * Checks that the copy has the same content as the original, that it does
+   * not share any element with it and that all identifiers and meta
+   * identifiers of the copy are registered to the elements of the copy.
+   *
+   * @param original
+   * @param copy
+   * @throws Exception
+   */
+  private static void assertCopy(SBase original, SBase copy) throws Exception {
+    assertEquals(original, copy);
+    assertEquals(original.hashCode(), copy.hashCode());
+    if (original instanceof SBMLDocument) {
+      SBMLWriter writer = new SBMLWriter();
+      assertEquals(writer.writeSBMLToString((SBMLDocument) original), writer.writeSBMLToString((SBMLDocument) copy));
+    }
+    TreeNodeIterator originalNodes = TreeNodeIterator.preOrder(original);
+    TreeNodeIterator copyNodes = TreeNodeIterator.preOrder(copy);
+    while (originalNodes.hasNext()) {
+      TreeNode originalNode = originalNodes.next();
+      TreeNode copyNode = copyNodes.next();
+      assertEquals(originalNode.getClass(), copyNode.getClass());
+      if (!(originalNode instanceof TreeNodeAdapter)) {
+        assertNotSame(originalNode, copyNode);
+      }
+      if (!(copyNode instanceof SBase)) {
+        continue;
+      }
+      SBase sbase = (SBase) copyNode;
+      if (sbase.isSetMetaId() && (sbase.getSBMLDocument() != null) && (sbase.getSBMLDocument() != sbase)) {
+        assertSame(sbase, sbase.getSBMLDocument().getElementByMetaId(sbase.getMetaId()));
+      }
+      if ((sbase instanceof UniqueNamedSBase) && sbase.isSetId() && (sbase.getModel() != null)
+          && (sbase.getModel() != sbase)) {
+        assertSame(sbase, sbase.getModel().findUniqueNamedSBase(sbase.getId()));
+      }
+      if (sbase instanceof LocalParameter) {
+        KineticLaw kineticLaw = (KineticLaw) sbase.getParentSBMLObject().getParentSBMLObject();
+        assertSame(sbase, kineticLaw.getLocalParameter(sbase.getId()));
+      }
+    }
+    assertEquals(originalNodes.hasNext(), copyNodes.hasNext());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void registrations() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+    assertCopy(doc, doc.clone());
+    Model model = doc.getModel();
+    assertCopy(model, model.clone());
+    assertCopy(model.getReaction(0), model.getReaction(0).clone());
+
+    // the meta identifiers of a model are registered once it is added to a document
+    SBMLDocument target = new SBMLDocument(doc.getLevel(), doc.getVersion());
+    Model copy = model.clone();
+    target.setModel(copy);
+    assertCopy(model, copy);
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(copy); iterator.hasNext();) {
+      TreeNode node = iterator.next();
+      if ((node instanceof SBase) && ((SBase) node).isSetMetaId()) {
+        assertSame(node, target.getElementByMetaId(((SBase) node).getMetaId()));
+      }
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void independence() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    Compartment compartment = model.createCompartment("c");
+    for (int i = 0; i < 200; i++) {
+      Species species = model.createSpecies("s" + i, compartment);
+      species.setMetaId("meta_s" + i);
+      species.setInitialAmount(i);
+    }
+    for (int i = 0; i + 1 < model.getSpeciesCount(); i += 2) {
+      Reaction reaction = model.createReaction("r" + i);
+      reaction.createReactant(model.getSpecies(i));
+      reaction.createProduct(model.getSpecies(i + 1));
+      KineticLaw kineticLaw = reaction.createKineticLaw();
+      kineticLaw.createLocalParameter("k").setValue(i);
+      kineticLaw.setMath(ASTNode.parseFormula("k * s" + i));
+    }
+    EventCounter originalCounter = new EventCounter();
+    doc.addTreeNodeChangeListener(originalCounter);
+    SBMLDocument copy = doc.clone();
+    assertCopy(doc, copy);
+    assertEquals(0, copy.getModel().getSpecies(0).getTreeNodeChangeListenerCount());
+
+    // changes of the copy only reach the listeners of the copy
+    EventCounter copyCounter = new EventCounter();
+    copy.addTreeNodeChangeListener(copyCounter);
+    copy.getModel().getSpecies(0).setInitialAmount(-1d);
+    copy.getModel().createSpecies("s_new", copy.getModel().getCompartment(0));
+    copy.getModel().getReaction(0).getKineticLaw().getLocalParameter("k").setValue(-1d);
+    assertTrue(copyCounter.count >= 3);
+    assertEquals(0, originalCounter.count);
+    assertEquals(0d, model.getSpecies(0).getInitialAmount(), 0d);
+    assertEquals(0d, model.getReaction(0).getKineticLaw().getLocalParameter("k").getValue(), 0d);
+    assertNull(model.getSpecies("s_new"));
+    assertSame(copy.getModel().getSpecies("s1"), copy.getElementByMetaId("meta_s1"));
+    assertSame(model.getSpecies("s1"), doc.getElementByMetaId("meta_s1"));
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.test;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.Unit;
+import org.sbml.jsbml.util.ASTNodeTraversal;
+import org.sbml.jsbml.util.ASTNodeTraversalTest;
+
+/**
+ * Measures the time of the algorithms on adversarial math: deep
+ * left-associative chains of binary sums, wide n-ary sums with many
+ * thousand terms and deeply nested piecewise functions. Before version 1.7,
+ * the recursive implementations failed on the deep trees with a
+ * {@link StackOverflowError}. The depth is limited to a few thousand
+ * elements by the XML parser when the model is read again.
+ *
+ * @since 1.7
+ */
+public class DeepMathPerformanceTest {
+
+  /**
+   * @param args
+   *        {@code [depth] [repetitions]}
+   * @throws Exception
+   */
+  public static void main(String[] args) throws Exception {
+    int depth = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    System.out.printf("Processing math of depth or width %d %d times\n", depth, repetitions);
+
+    for (int r = 0; r < repetitions; r++) {
+      run("deep sum", ASTNodeTraversalTest.createSumChain(depth));
+      run("wide sum", createWideSum(depth));
+      run("piecewise", ASTNodeTraversalTest.createNestedPiecewise(depth / 4));
+    }
+  }
+
+  /**
+   * @param width
+   * @return an n-ary sum of {@code width} terms {@code p * i}.
+   */
+  private static ASTNode createWideSum(int width) {
+    ASTNode sum = new ASTNode(Type.PLUS);
+    for (int i = 0; i < width; i++) {
+      ASTNode term = new ASTNode(Type.TIMES);
+      term.addChild(new ASTNode("p"));
+      term.addChild(new ASTNode(i));
+      sum.addChild(term);
+    }
+    return sum;
+  }
+
+  /**
+   * Reports the times of the operations on the given math in a model.
+   * 
+   * @param name
+   * @param math
+   * @throws Exception
+   */
+  private static void run(String name, ASTNode math) throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.createParameter("p").setUnits(Unit.Kind.SECOND.getName());
+    model.getParameter("p").setValue(1d);
+    model.getParameter("p").setConstant(true);
+    model.createParameter("x").setUnits(Unit.Kind.SECOND.getName());
+    model.getParameter("x").setConstant(false);
+    AssignmentRule rule = model.createAssignmentRule();
+    rule.setVariable("x");
+    rule.setMath(math);
+    System.out.printf("%s (height %d)\n", name, ASTNodeTraversal.getHeight(math));
+
+    long start = System.nanoTime();
+    String formula = math.toFormula();
+    report("toFormula", start);
+
+    start = System.nanoTime();
+    math.toLaTeX();
+    report("toLaTeX", start);
+
+    start = System.nanoTime();
+    math.deriveUnit();
+    report("deriveUnit", start);
+
+    start = System.nanoTime();
+    ASTNode copy = math.clone();
+    report("clone", start);
+
+    start = System.nanoTime();
+    if (!math.equals(copy) || (math.hashCode() != copy.hashCode())) {
+      throw new AssertionError(name);
+    }
+    report("equals", start);
+
+    start = System.nanoTime();
+    doc.checkConsistencyOffline();
+    report("validate", start);
+
+    start = System.nanoTime();
+    String xml = new SBMLWriter().writeSBMLToString(doc);
+    report("write", start);
+
+    start = System.nanoTime();
+    SBMLDocument read = SBMLReader.read(xml);
+    report("read", start);
+
+    if (!formula.equals(read.getModel().getRule(0).getMath().toFormula())) {
+      throw new AssertionError(name);
+    }
+  }
+
+  /**
+   * @param operation
+   * @param start
+   *        the start time in nanoseconds.
+   */
+  private static void report(String operation, long start) {
+    System.out.printf("  %-12s: %6d ms\n", operation, (System.nanoTime() - start) / 1000000);
+  }
+
+}
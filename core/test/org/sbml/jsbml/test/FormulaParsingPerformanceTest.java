@@ -0,0 +1,108 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.text.parser.FormulaParserLL3;
+import org.sbml.jsbml.text.parser.ParseException;
+import org.sbml.jsbml.text.parser.PrattFormulaParser;
+import org.sbml.jsbml.text.parser.ReusableFormulaParser;
+
+/**
+ * Compares the throughput of parsing formulas with a new
+ * {@link FormulaParserLL3} for each formula, as {@link ASTNode#parseFormula(String)}
+ * did before version 1.7, with the throughput of a
+ * {@link ReusableFormulaParser}, with the JavaCC generated parser and with
+ * the {@link PrattFormulaParser}.
+ *
+ * @since 1.7
+ */
+public class FormulaParsingPerformanceTest {
+
+  /**
+   * @param args
+   *        {@code [numberOfFormulas] [repetitions]}
+   * @throws ParseException
+   */
+  public static void main(String[] args) throws ParseException {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    List<String> formulas = new ArrayList<String>(n);
+    for (int i = 0; i < n; i++) {
+      switch (i % 4) {
+      case 0:
+        formulas.add("k" + i + " * S" + i + " / (Km + S" + i + ")");
+        break;
+      case 1:
+        formulas.add("Vmax * S" + i + "^h / (K^h + S" + i + "^h)");
+        break;
+      case 2:
+        formulas.add("piecewise(k1 * exp(-t / tau), t > " + i + ", 0)");
+        break;
+      default:
+        formulas.add("S" + i);
+        break;
+      }
+    }
+    System.out.printf("Parsing %d formulas %d times\n", n, repetitions);
+    ReusableFormulaParser pratt = new ReusableFormulaParser(new PrattFormulaParser());
+
+    // all modes keep the results, so that they cause the same garbage collection
+    for (int r = 0; r < repetitions; r++) {
+      List<ASTNode> results = new ArrayList<ASTNode>(n);
+      long start = System.nanoTime();
+      for (String formula : formulas) {
+        results.add(ASTNode.parseFormula(formula, new FormulaParserLL3(new StringReader(formula))));
+      }
+      report("new parser", n, System.nanoTime() - start);
+
+      results = new ArrayList<ASTNode>(n);
+      start = System.nanoTime();
+      for (String formula : formulas) {
+        results.add(ASTNode.parseFormula(formula));
+      }
+      report("thread-local", n, System.nanoTime() - start);
+
+      results = null;
+      start = System.nanoTime();
+      results = ReusableFormulaParser.get().parseAll(formulas);
+      report("batch", n, System.nanoTime() - start);
+
+      results = null;
+      start = System.nanoTime();
+      results = pratt.parseAll(formulas);
+      report("Pratt batch", n, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * @param mode
+   * @param n
+   * @param nanos
+   */
+  private static void report(String mode, int n, long nanos) {
+    System.out.printf("%-12s: %6d ms, %9.0f formulas/s\n", mode, nanos / 1000000, n * 1e9 / nanos);
+  }
+
+}
@@ -0,0 +1,336 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.CVTerm;
+import org.sbml.jsbml.CVTerm.Qualifier;
+import org.sbml.jsbml.Event;
+import org.sbml.jsbml.FunctionDefinition;
+import org.sbml.jsbml.InitialAssignment;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.SpeciesReference;
+import org.sbml.jsbml.UnitDefinition;
+import org.sbml.jsbml.util.InitialValueEvaluator;
+import org.sbml.jsbml.util.ModelDependencyGraph;
+import org.sbml.jsbml.util.SBMLDocumentFingerprints;
+import org.sbml.jsbml.util.SBMLDocumentIndex;
+import org.sbml.jsbml.util.TreeNodeIterator;
+import org.sbml.jsbml.util.TreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeRemovedEvent;
+import org.sbml.jsbml.util.converters.ExpandFunctionDefinitionConverter;
+
+/**
+ * Tests {@link SBMLDocument#freeze()}.
+ *
+ * @since 1.7
+ */
+public class FrozenDocumentTest {
+
+  /**
+   * @return a test model.
+   * @throws Exception
+   */
+  private SBMLDocument read() throws Exception {
+    return SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+  }
+
+  /**
+   * Reads many parts of the given document.
+   * 
+   * @param doc
+   * @return a description of what has been read.
+   * @throws Exception
+   */
+  private static String readAll(SBMLDocument doc) throws Exception {
+    StringBuilder sb = new StringBuilder();
+    sb.append(doc.hashCode()).append(doc.getFingerprint());
+    sb.append(SBMLDocumentIndex.get(doc).getElementsWithSBOTerm(0).size());
+    sb.append(SBMLDocumentIndex.get(doc).getElements(Species.class).size());
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(doc); iterator.hasNext();) {
+      TreeNode node = iterator.next();
+      if ((node instanceof ASTNode) && ((ASTNode) node).isVariable()) {
+        sb.append(((ASTNode) node).getVariable());
+      } else if ((node instanceof SBase) && ((SBase) node).isSetMetaId()) {
+        sb.append(doc.getElementByMetaId(((SBase) node).getMetaId()) == node);
+      }
+    }
+    Model model = doc.getModel();
+    for (Reaction reaction : model.getListOfReactions()) {
+      if (reaction.isSetKineticLaw()) {
+        sb.append(UnitDefinition.printUnits(reaction.getKineticLaw().getDerivedUnitDefinition()));
+      }
+    }
+    sb.append(new InitialValueEvaluator(model).evaluateAll());
+    sb.append(new SBMLWriter().writeSBMLToString(doc));
+    return sb.toString();
+  }
+
+  /**
+   * @return a document with a function definition and initial assignments.
+   * @throws Exception
+   */
+  private static SBMLDocument create() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.createCompartment("c").setSize(1d);
+    Species s = model.createSpecies("S", model.getCompartment("c"));
+    s.setInitialAmount(5d);
+    Parameter k = model.createParameter("k");
+    k.setValue(2d);
+    k.setUnits("second");
+    model.createParameter("p");
+    FunctionDefinition f = model.createFunctionDefinition("f");
+    f.setMath(ASTNode.parseFormula("lambda(x, y, x * y)"));
+    InitialAssignment assignment = model.createInitialAssignment();
+    assignment.setVariable("p");
+    assignment.setMath(ASTNode.parseFormula("f(k, S)"));
+    model.createReaction("r").createKineticLaw().setMath(ASTNode.parseFormula("f(k, S)"));
+    return doc;
+  }
+
+  /**
+   * Reads the parts of a frozen document that JSBML caches.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void cachedReads() throws Exception {
+    final SBMLDocument doc = create();
+    doc.freeze();
+    final Model model = doc.getModel();
+    Species species = model.getSpecies(0);
+    assertTrue(species.getCVTerms().isEmpty());
+    assertTrue(species.filterCVTerms(Qualifier.BQB_IS).isEmpty());
+    assertFalse(species.isSetAnnotation());
+    assertEquals(10d, new InitialValueEvaluator(model).evaluateAll().get("p"), 0d);
+    ASTNode math = model.getReaction(0).getKineticLaw().getMath();
+    assertEquals("k*S", ExpandFunctionDefinitionConverter.expandFunctionDefinition(model, math.clone()).toFormula());
+    // without a graph before freezing, each evaluator builds its own
+    assertNull(model.getUserObject(ModelDependencyGraph.USER_OBJECT_KEY));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 32; i++) {
+        results.add(executor.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            KineticLaw kineticLaw = model.getReaction(0).getKineticLaw();
+            return UnitDefinition.printUnits(kineticLaw.getDerivedUnitDefinition())
+                + new InitialValueEvaluator(model).evaluateAll();
+          }
+        }));
+      }
+      String expected = results.get(0).get();
+      for (Future<String> result : results) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void concurrentReads() throws Exception {
+    final SBMLDocument doc = read();
+    SBMLDocumentFingerprints.enable(doc);
+    SBMLDocumentIndex.enable(doc);
+    assertFalse(doc.isFrozen());
+    String written = new SBMLWriter().writeSBMLToString(doc);
+    doc.freeze();
+    assertTrue(doc.isFrozen());
+    String expected = readAll(doc);
+    assertTrue(expected.endsWith(written));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 32; i++) {
+        results.add(executor.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            return readAll(doc);
+          }
+        }));
+      }
+      for (Future<String> result : results) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void changes() throws Exception {
+    SBMLDocument doc = read();
+    doc.freeze();
+    Model model = doc.getModel();
+    Species species = model.getSpecies(0);
+    int count = model.getSpeciesCount();
+    try {
+      model.createSpecies("s_new", model.getCompartment(0));
+      fail();
+    } catch (IllegalStateException exc) {
+      assertEquals(count, model.getSpeciesCount());
+    }
+    try {
+      model.removeSpecies(species);
+      fail();
+    } catch (IllegalStateException exc) {
+      assertSame(species, model.getSpecies(0));
+    }
+    // missing lists and annotations are read as empty ones that reject changes
+    assertFalse(model.isSetListOfEvents());
+    assertTrue(model.getListOfEvents().isEmpty());
+    assertFalse(model.isSetListOfEvents());
+    try {
+      model.getListOfEvents().add(new Event(doc.getLevel(), doc.getVersion()));
+      fail();
+    } catch (IllegalStateException exc) {
+      assertFalse(model.isSetListOfEvents());
+    }
+    SBase unannotated = null;
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(model); unannotated == null;) {
+      TreeNode node = iterator.next();
+      if ((node instanceof SBase) && !((SBase) node).isSetAnnotation()) {
+        unannotated = (SBase) node;
+      }
+    }
+    assertTrue(unannotated.getAnnotation().isEmpty());
+    assertFalse(unannotated.getHistory().isSetCreatedDate());
+    try {
+      unannotated.getAnnotation().addCVTerm(new CVTerm(Qualifier.BQB_IS, "urn:miriam:obo.go:GO%3A0005623"));
+      fail();
+    } catch (IllegalStateException exc) {
+      assertFalse(unannotated.isSetAnnotation());
+    }
+    double value = species.getValue();
+    try {
+      species.setInitialConcentration(value + 1d);
+      fail();
+    } catch (IllegalStateException exc) {
+      assertEquals(value, species.getValue(), 0d);
+    }
+    String name = species.getName();
+    try {
+      species.setName("mutated");
+      fail();
+    } catch (IllegalStateException exc) {
+      assertEquals(name, species.getName());
+    }
+    SpeciesReference reactant = null;
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(model); reactant == null;) {
+      TreeNode node = iterator.next();
+      if (node instanceof SpeciesReference) {
+        reactant = (SpeciesReference) node;
+      }
+    }
+    double stoichiometry = reactant.getStoichiometry();
+    try {
+      reactant.setStoichiometry(stoichiometry + 1d);
+      fail();
+    } catch (IllegalStateException exc) {
+      assertEquals(stoichiometry, reactant.getStoichiometry(), 0d);
+    }
+    ASTNode variable = null;
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(model); variable == null;) {
+      TreeNode node = iterator.next();
+      if ((node instanceof ASTNode) && (((ASTNode) node).getType() == ASTNode.Type.NAME)) {
+        variable = (ASTNode) node;
+      }
+    }
+    name = variable.getName();
+    try {
+      variable.setName("mutated");
+      fail();
+    } catch (IllegalStateException exc) {
+      assertEquals(name, variable.getName());
+    }
+    int listeners = doc.getTreeNodeChangeListenerCount();
+    try {
+      doc.addTreeNodeChangeListener(new TreeNodeChangeListener() {
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+        }
+        @Override
+        public void nodeAdded(TreeNode node) {
+        }
+        @Override
+        public void nodeRemoved(TreeNodeRemovedEvent event) {
+        }
+      });
+      fail();
+    } catch (IllegalStateException exc) {
+      assertEquals(listeners, doc.getTreeNodeChangeListenerCount());
+    }
+    try {
+      species.putUserObject("key", "value");
+      fail();
+    } catch (IllegalStateException exc) {
+      assertNull(species.getUserObject("key"));
+    }
+
+    // copies can be changed as usual
+    SBMLDocument copy = doc.clone();
+    assertFalse(copy.isFrozen());
+    copy.getModel().getSpecies(0).setInitialConcentration(42d);
+    copy.getModel().createSpecies("s_new", copy.getModel().getCompartment(0));
+    assertEquals(count + 1, copy.getModel().getSpeciesCount());
+    Species unannotatedCopy = copy.getModel().getSpecies("s_new");
+    unannotatedCopy.getCVTerms().add(new CVTerm(Qualifier.BQB_IS, "urn:miriam:obo.go:GO%3A0005623"));
+    assertTrue(unannotatedCopy.isSetAnnotation());
+    assertEquals(1, unannotatedCopy.getCVTermCount());
+  }
+
+}
@@ -20,21 +20,31 @@
  */
 package org.sbml.jsbml.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import javax.xml.stream.XMLStreamException;
 
 import org.junit.Test;
 import org.sbml.jsbml.ASTNode;
 import org.sbml.jsbml.CVTerm;
 import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.KineticLaw;
 import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Reaction;
 import org.sbml.jsbml.Rule;
 import org.sbml.jsbml.SBMLDocument;
 import org.sbml.jsbml.SBMLException;
 import org.sbml.jsbml.SBMLWriter;
 import org.sbml.jsbml.Species;
 import org.sbml.jsbml.text.parser.ParseException;
+import org.sbml.jsbml.xml.XMLNode;
 
 /**
  * @author Andreas Dr&auml;ger
@@ -73,4 +83,113 @@ public class HashCodeTest {
     assertTrue(doc2.equals(doc1));
   }
 
+  /**
+   * Checks that the hash codes, which are kept for unchanged subtrees, follow
+   * all changes of the tree.
+   * 
+   * @throws ParseException
+   * @throws XMLStreamException
+   */
+  @Test public void cachedHashCode() throws ParseException, XMLStreamException {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("test_model");
+    Compartment c = model.createCompartment("c1");
+    Species s = model.createSpecies("s1", c);
+    Reaction reaction = model.createReaction("r1");
+    reaction.createReactant(s);
+    KineticLaw kineticLaw = reaction.createKineticLaw();
+    kineticLaw.setMath(ASTNode.parseFormula("k * s1"));
+    assertUpToDate(doc);
+    int hashCode = doc.hashCode();
+    assertEquals(hashCode, doc.hashCode());
+
+    s.setInitialAmount(2d);
+    assertUpToDate(doc);
+    assertTrue(hashCode != doc.hashCode());
+
+    Species added = model.createSpecies("s2", c);
+    assertUpToDate(doc);
+    model.removeSpecies(added);
+    assertUpToDate(doc);
+
+    s.addCVTerm(new CVTerm(CVTerm.Qualifier.BQB_IS, "http://identifiers.org/kegg.compound/C00001"));
+    assertUpToDate(doc);
+    s.getCVTerm(0).addResource("http://identifiers.org/kegg.compound/C00002");
+    assertUpToDate(doc);
+    s.getHistory();
+    assertUpToDate(doc);
+
+    kineticLaw.getMath().getChild(0).setName("v");
+    assertUpToDate(doc);
+    kineticLaw.getMath().addChild(new ASTNode(3, kineticLaw));
+    assertUpToDate(doc);
+
+    // changes of the list of children, which do not notify any listeners
+    kineticLaw.getMath().getChildren().remove(0);
+    assertUpToDate(doc);
+    assertEquals(kineticLaw.getMath().clone().hashCode(), kineticLaw.getMath().hashCode());
+    kineticLaw.getMath().getListOfNodes().add(new ASTNode(4, kineticLaw));
+    assertUpToDate(doc);
+    kineticLaw.getMath().getChildren().clear();
+    assertUpToDate(doc);
+    assertEquals(kineticLaw.getMath().clone().hashCode(), kineticLaw.getMath().hashCode());
+    kineticLaw.getMath().addChild(new ASTNode(1, kineticLaw));
+    kineticLaw.getMath().addChild(new ASTNode(2, kineticLaw));
+    assertUpToDate(doc);
+
+    // the math refers to the species, whose identifier is changed
+    hashCode = doc.hashCode();
+    s.setId("s3");
+    assertUpToDate(doc);
+    assertEquals(kineticLaw.getMath().clone().hashCode(), kineticLaw.getMath().hashCode());
+    assertTrue(hashCode != doc.hashCode());
+
+    // a change deep down in the math after the hash codes have been kept
+    ASTNode sum = new ASTNode(1);
+    for (int i = 0; i < 100; i++) {
+      sum = ASTNode.sum(sum, new ASTNode(i));
+    }
+    kineticLaw.setMath(sum);
+    assertUpToDate(doc);
+    ASTNode leaf = sum;
+    while (!leaf.isLeaf()) {
+      leaf = leaf.getChild(0);
+    }
+    leaf.setValue(5);
+    assertUpToDate(doc);
+
+    // the non-RDF annotation is not a child of its annotation
+    s.getAnnotation().appendNonRDFAnnotation(
+      "<myapp:data xmlns:myapp=\"http://myapp.org\"><myapp:value>1</myapp:value></myapp:data>");
+    // whose text is hashed by identity, so that it is the last check
+    hashCode = doc.hashCode();
+    XMLNode value = s.getAnnotation().getNonRDFannotation();
+    while (!value.isText()) {
+      value = value.getChildAt(value.getChildCount() - 1);
+    }
+    value.setCharacters("2");
+    assertTrue(hashCode != doc.hashCode());
+  }
+
+  /**
+   * Compares the hash code of the given document with the one of a serialized
+   * copy, which is computed from scratch.
+   * 
+   * @param doc
+   */
+  private static void assertUpToDate(SBMLDocument doc) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(bytes);
+      out.writeObject(doc);
+      out.close();
+      ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+      assertEquals(in.readObject().hashCode(), doc.hashCode());
+    } catch (IOException exc) {
+      throw new AssertionError(exc);
+    } catch (ClassNotFoundException exc) {
+      throw new AssertionError(exc);
+    }
+  }
+
 }
@@ -0,0 +1,136 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLException;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.Species;
+
+/**
+ * Compares the time needed to read an SBML file through a plain
+ * {@link FileInputStream} with the time needed to read it through memory
+ * mapping, see {@link SBMLReader#readSBMLFromMappedFile(File)}.
+ * <p>
+ * To measure the effect on files that are bigger than the page cache, either
+ * pass such a file or generate one with the {@code -generate} option, and
+ * make sure that the file is not cached before each run, e.g., by calling
+ * {@code sync; echo 3 > /proc/sys/vm/drop_caches} on Linux between the runs
+ * of the two modes.
+ *
+ * @since 1.7
+ */
+public class MappedFileReadingPerformanceTest {
+
+  /**
+   * @param args
+   *        either {@code sbmlFile [stream|mapped|both] [repetitions]} or
+   *        {@code -generate numberOfReactions outputFile}.
+   * @throws IOException
+   * @throws XMLStreamException
+   * @throws SBMLException
+   */
+  public static void main(String[] args) throws IOException, XMLStreamException, SBMLException {
+    if (args.length < 1) {
+      System.out.println("Usage: java org.sbml.jsbml.test.MappedFileReadingPerformanceTest sbmlFile [stream|mapped|both] [repetitions]");
+      System.out.println("       java org.sbml.jsbml.test.MappedFileReadingPerformanceTest -generate numberOfReactions outputFile");
+      System.exit(0);
+    }
+
+    if (args[0].equals("-generate")) {
+      int nbReactions = Integer.parseInt(args[1]);
+      File file = new File(args[2]);
+      long start = System.currentTimeMillis();
+      SBMLWriter.write(generate(nbReactions), file, ' ', (short) 2);
+      System.out.printf("Generated %s (size=%dMb) in %d ms\n", file.getAbsolutePath(),
+        file.length() / (1024 * 1024), System.currentTimeMillis() - start);
+      return;
+    }
+
+    File file = new File(args[0]);
+    String mode = args.length > 1 ? args[1] : "both";
+    int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+    System.out.printf("Reading %s (size=%dMb) %d times\n", file.getAbsolutePath(),
+      file.length() / (1024 * 1024), repetitions);
+
+    for (int i = 0; i < repetitions; i++) {
+      if (!mode.equals("mapped")) {
+        long start = System.currentTimeMillis();
+        InputStream stream = new FileInputStream(file);
+        try {
+          new SBMLReader().readSBMLFromStream(stream);
+        } finally {
+          stream.close();
+        }
+        System.out.printf("stream: %d ms\n", System.currentTimeMillis() - start);
+      }
+      if (!mode.equals("stream")) {
+        long start = System.currentTimeMillis();
+        new SBMLReader().readSBMLFromMappedFile(file);
+        System.out.printf("mapped: %d ms\n", System.currentTimeMillis() - start);
+      }
+    }
+  }
+
+  /**
+   * Creates a simple model with the given number of mass-action reactions.
+   *
+   * @param nbReactions
+   * @return
+   */
+  private static SBMLDocument generate(int nbReactions) {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("generated");
+    Compartment c = model.createCompartment("c");
+    c.setSize(1d);
+    c.setConstant(true);
+    for (int i = 0; i <= nbReactions; i++) {
+      Species s = model.createSpecies("s" + i, c);
+      s.setInitialConcentration(1d);
+      s.setHasOnlySubstanceUnits(false);
+      s.setBoundaryCondition(false);
+      s.setConstant(false);
+    }
+    for (int i = 0; i < nbReactions; i++) {
+      Reaction r = model.createReaction("r" + i);
+      r.setReversible(false);
+      r.createReactant(model.getSpecies(i)).setConstant(true);
+      r.createProduct(model.getSpecies(i + 1)).setConstant(true);
+      KineticLaw kl = r.createKineticLaw();
+      kl.createLocalParameter("k").setValue(0.1);
+      kl.setMath(ASTNode.times(new ASTNode("k"), new ASTNode(c), new ASTNode(model.getSpecies(i))));
+    }
+    return doc;
+  }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.FunctionDefinition;
+import org.sbml.jsbml.InitialAssignment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.util.InitialValueEvaluator;
+import org.sbml.jsbml.util.SBMLDocumentFingerprints;
+import org.sbml.jsbml.util.SBMLDocumentIndex;
+import org.sbml.jsbml.util.TreeNodeAddedEvent;
+import org.sbml.jsbml.util.TreeNodeChangeBatchEvent;
+import org.sbml.jsbml.util.TreeNodeChangeBatchListener;
+import org.sbml.jsbml.util.TreeNodeChangeEvent;
+import org.sbml.jsbml.util.TreeNodeChangeListener;
+import org.sbml.jsbml.util.TreeNodeRemovedEvent;
+import org.sbml.jsbml.util.converters.FunctionDefinitionCache;
+import org.sbml.jsbml.util.filters.SBOFilter;
+
+/**
+ * Tests {@link SBMLDocument#beginTransaction()} and
+ * {@link SBMLDocument#commitTransaction()}.
+ *
+ * @since 1.7
+ */
+public class TransactionTest {
+
+  /**
+   * Records the notifications it receives.
+   */
+  private static class Recorder implements TreeNodeChangeListener {
+
+    /**
+     * 
+     */
+    final List<EventObject> events = new ArrayList<EventObject>();
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+      events.add(new TreeNodeAddedEvent(node));
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+      events.add(event);
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      events.add(event);
+    }
+
+    /**
+     * @param source
+     * @param property
+     * @return the recorded changes of the given property of the given node.
+     */
+    List<PropertyChangeEvent> getChanges(Object source, String property) {
+      List<PropertyChangeEvent> changes = new ArrayList<PropertyChangeEvent>();
+      for (EventObject event : events) {
+        if ((event instanceof PropertyChangeEvent) && (event.getSource() == source)
+            && ((PropertyChangeEvent) event).getPropertyName().equals(property)) {
+          changes.add((PropertyChangeEvent) event);
+        }
+      }
+      return changes;
+    }
+
+  }
+
+  /**
+   * Records the compound notifications it receives.
+   */
+  private static class BatchRecorder extends Recorder implements TreeNodeChangeBatchListener {
+
+    /**
+     * 
+     */
+    final List<TreeNodeChangeBatchEvent> batches = new ArrayList<TreeNodeChangeBatchEvent>();
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeBatchListener#changesCommitted(org.sbml.jsbml.util.TreeNodeChangeBatchEvent)
+     */
+    @Override
+    public void changesCommitted(TreeNodeChangeBatchEvent event) {
+      batches.add(event);
+      events.addAll(event.getChanges());
+    }
+
+  }
+
+  /**
+   * @return a test model.
+   * @throws Exception
+   */
+  private SBMLDocument read() throws Exception {
+    return SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+  }
+
+  /**
+   * Changes of the same property of an element are merged.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void coalesced() throws Exception {
+    SBMLDocument doc = read();
+    Model model = doc.getModel();
+    Species first = model.getSpecies(0), second = model.getSpecies(1);
+    String name = first.getName(), otherName = second.getName();
+    Recorder recorder = new Recorder();
+    doc.addTreeNodeChangeListener(recorder, true);
+
+    doc.beginTransaction();
+    assertTrue(doc.isInTransaction());
+    first.setName("a");
+    first.setName("b");
+    first.setName("c");
+    second.setName("x");
+    second.setName(otherName);
+    Parameter p = model.createParameter("transactionTestParameter");
+    assertTrue(recorder.events.isEmpty());
+    doc.commitTransaction();
+    assertFalse(doc.isInTransaction());
+
+    List<PropertyChangeEvent> changes = recorder.getChanges(first, TreeNodeChangeEvent.name);
+    assertEquals(1, changes.size());
+    assertEquals(name, changes.get(0).getOldValue());
+    assertEquals("c", changes.get(0).getNewValue());
+    assertTrue(recorder.getChanges(second, TreeNodeChangeEvent.name).isEmpty());
+    boolean added = false;
+    for (EventObject event : recorder.events) {
+      added |= (event instanceof TreeNodeAddedEvent) && (event.getSource() == p);
+    }
+    assertTrue(added);
+
+    // outside of transactions, listeners are notified immediately
+    recorder.events.clear();
+    first.setName("d");
+    assertEquals(1, recorder.events.size());
+  }
+
+  /**
+   * A {@link TreeNodeChangeBatchListener} is notified once per transaction.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void batch() throws Exception {
+    SBMLDocument doc = read();
+    Model model = doc.getModel();
+    BatchRecorder recorder = new BatchRecorder();
+    doc.addTreeNodeChangeListener(recorder, true);
+
+    doc.beginTransaction();
+    doc.beginTransaction();
+    model.getSpecies(0).setName("a");
+    model.getSpecies(1).setName("b");
+    doc.commitTransaction();
+    assertTrue(recorder.batches.isEmpty());
+    Species removed = model.removeSpecies(2);
+    doc.commitTransaction();
+
+    assertEquals(1, recorder.batches.size());
+    assertSame(doc, recorder.batches.get(0).getSource());
+    assertEquals(1, recorder.getChanges(model.getSpecies(0), TreeNodeChangeEvent.name).size());
+    assertEquals(1, recorder.getChanges(model.getSpecies(1), TreeNodeChangeEvent.name).size());
+    boolean notified = false;
+    for (EventObject event : recorder.events) {
+      if ((event instanceof TreeNodeRemovedEvent) && (event.getSource() == removed)) {
+        notified = true;
+        assertSame(model.getListOfSpecies(), ((TreeNodeRemovedEvent) event).getPreviousParent());
+      }
+    }
+    assertTrue(notified);
+  }
+
+  /**
+   * The caches of the document are updated within a transaction.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void queries() throws Exception {
+    SBMLDocument doc = read();
+    SBMLDocumentIndex index = SBMLDocumentIndex.enable(doc);
+    SBMLDocumentFingerprints.enable(doc);
+    Model model = doc.getModel();
+    Species species = model.getSpecies(0);
+    FunctionDefinition f = model.createFunctionDefinition("transactionTestFunction");
+    f.setMath(ASTNode.parseFormula("lambda(x, 2 * x)"));
+    Parameter k = model.createParameter("transactionTestK");
+    k.setValue(10d);
+    k.setConstant(true);
+    Parameter p = model.createParameter("transactionTestP");
+    p.setConstant(true);
+    InitialAssignment assignment = model.createInitialAssignment();
+    assignment.setVariable(p.getId());
+    assignment.setMath(ASTNode.parseFormula(f.getId() + "(" + k.getId() + ")"));
+    ASTNode call = ASTNode.parseFormula(f.getId() + "(" + k.getId() + ")");
+    InitialValueEvaluator evaluator = new InitialValueEvaluator(model);
+    assertEquals(20d, evaluator.evaluateAll().get(p.getId()), 0d);
+    assertEquals(ASTNode.parseFormula("2 * " + k.getId()).toFormula(),
+      FunctionDefinitionCache.get(model).inline(call).toFormula());
+    String fingerprint = doc.getFingerprint(species);
+    Recorder recorder = new Recorder();
+    doc.addTreeNodeChangeListener(recorder, true);
+
+    doc.beginTransaction();
+    species.setSBOTerm(252);
+    species.setSBOTerm(247);
+    Species added = model.createSpecies("transactionTestSpecies");
+    added.setSBOTerm(252);
+    f.setMath(ASTNode.parseFormula("lambda(x, 3 * x)"));
+    assertTrue(index.getElementsWithSBOTerm(247).contains(species));
+    assertFalse(index.getElementsWithSBOTerm(252).contains(species));
+    assertTrue(index.getElementsWithSBOTerm(252).contains(added));
+    assertTrue(doc.filter(new SBOFilter(247)).contains(species));
+    assertEquals(ASTNode.parseFormula("3 * " + k.getId()).toFormula(),
+      FunctionDefinitionCache.get(model).inline(call).toFormula());
+    assertEquals(30d, evaluator.evaluateAll().get(p.getId()), 0d);
+    assertFalse(fingerprint.equals(doc.getFingerprint(species)));
+    // the other listeners are still waiting
+    assertTrue(recorder.events.isEmpty());
+    doc.commitTransaction();
+
+    assertEquals(1, recorder.getChanges(species, TreeNodeChangeEvent.sboTerm).size());
+    assertTrue(index.getElementsWithSBOTerm(247).contains(species));
+  }
+
+  /**
+   * Closing the handle of a transaction that is left by an exception
+   * delivers the changes made so far.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void closedByException() throws Exception {
+    SBMLDocument doc = read();
+    Species species = doc.getModel().getSpecies(0);
+    Recorder recorder = new Recorder();
+    doc.addTreeNodeChangeListener(recorder, true);
+
+    try (SBMLDocument.Transaction outer = doc.beginTransaction()) {
+      try (SBMLDocument.Transaction inner = doc.beginTransaction()) {
+        species.setName("a");
+        species.setName("b");
+        throw new IllegalArgumentException();
+      }
+    } catch (IllegalArgumentException exc) {
+      assertFalse(doc.isInTransaction());
+    }
+    List<PropertyChangeEvent> changes = recorder.getChanges(species, TreeNodeChangeEvent.name);
+    assertEquals(1, changes.size());
+    assertEquals("b", changes.get(0).getNewValue());
+
+    // closing a handle twice does not commit twice
+    SBMLDocument.Transaction outer = doc.beginTransaction();
+    SBMLDocument.Transaction inner = doc.beginTransaction();
+    inner.close();
+    inner.close();
+    assertTrue(doc.isInTransaction());
+    outer.close();
+    assertFalse(doc.isInTransaction());
+    recorder.events.clear();
+    species.setName("c");
+    assertEquals(1, recorder.events.size());
+  }
+
+  /**
+   * A transaction cannot be committed without being opened.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void notOpen() throws Exception {
+    SBMLDocument doc = read();
+    try {
+      doc.commitTransaction();
+      fail();
+    } catch (IllegalStateException exc) {
+      assertFalse(doc.isInTransaction());
+    }
+  }
+
+}
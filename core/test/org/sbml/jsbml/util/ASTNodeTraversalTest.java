@@ -0,0 +1,275 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.Unit;
+import org.sbml.jsbml.util.filters.Filter;
+
+/**
+ * Tests the {@link ASTNodeTraversal} and the algorithms on very deep
+ * {@link ASTNode}s that are based on explicit stacks. The deep trees are
+ * processed in a thread with a small stack, in which recursive algorithms
+ * would fail.
+ *
+ * @since 1.7
+ */
+public class ASTNodeTraversalTest {
+
+  /**
+   * The height of the deep trees.
+   */
+  private static final int DEPTH = 5000;
+
+  /**
+   * The stack size of the threads that process the deep trees.
+   */
+  private static final long STACK_SIZE = 512 * 1024;
+
+  /**
+   * Accepts the {@link ASTNode}s of type {@link Type#NAME}.
+   */
+  private static final Filter NAMES = new Filter() {
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.filters.Filter#accepts(java.lang.Object)
+     */
+    @Override
+    public boolean accepts(Object o) {
+      return ((ASTNode) o).isName();
+    }
+  };
+
+  /**
+   * @param depth
+   * @return a left-associative chain of sums {@code ((p + p) + p) + ...}
+   */
+  public static ASTNode createSumChain(int depth) {
+    ASTNode root = new ASTNode(Type.PLUS);
+    ASTNode node = root;
+    for (int i = 1; i < depth; i++) {
+      // top-down, so that every child is a single node when it is added
+      ASTNode sum = new ASTNode(Type.PLUS);
+      node.addChild(sum);
+      node.addChild(new ASTNode("p"));
+      node = sum;
+    }
+    node.addChild(new ASTNode("p"));
+    node.addChild(new ASTNode("p"));
+    return root;
+  }
+
+  /**
+   * @param depth
+   * @return nested piecewise functions
+   *         {@code piecewise(p, p > 0, piecewise(p, p > 1, ...))}
+   */
+  public static ASTNode createNestedPiecewise(int depth) {
+    ASTNode root = new ASTNode(Type.FUNCTION_PIECEWISE);
+    ASTNode node = root;
+    for (int i = 0; i < depth; i++) {
+      node.addChild(new ASTNode("p"));
+      ASTNode condition = new ASTNode(Type.RELATIONAL_GT);
+      node.addChild(condition);
+      condition.addChild(new ASTNode("p"));
+      condition.addChild(new ASTNode(i));
+      if (i < depth - 1) {
+        ASTNode piecewise = new ASTNode(Type.FUNCTION_PIECEWISE);
+        node.addChild(piecewise);
+        node = piecewise;
+      } else {
+        node.addChild(new ASTNode("p"));
+      }
+    }
+    return root;
+  }
+
+  /**
+   * Runs the given task in a thread with a stack of {@link #STACK_SIZE}.
+   * 
+   * @param task
+   * @throws Throwable
+   *         the exception or error thrown by the task.
+   */
+  private static void runWithSmallStack(final Runnable task) throws Throwable {
+    final Throwable[] failure = new Throwable[1];
+    Thread thread = new Thread(null, new Runnable() {
+
+      /* (non-Javadoc)
+       * @see java.lang.Runnable#run()
+       */
+      @Override
+      public void run() {
+        try {
+          task.run();
+        } catch (Throwable exc) {
+          failure[0] = exc;
+        }
+      }
+    }, "deep-math", STACK_SIZE);
+    thread.start();
+    thread.join();
+    if (failure[0] != null) {
+      throw failure[0];
+    }
+  }
+
+  /**
+   * @param nodes
+   * @return the names of the given nodes, or the formulas of unnamed nodes.
+   */
+  private static String toString(List<ASTNode> nodes) {
+    StringBuilder sb = new StringBuilder();
+    for (ASTNode node : nodes) {
+      if (sb.length() > 0) {
+        sb.append(", ");
+      }
+      sb.append(node.isSetName() ? node.getName() : node.toFormula());
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void orders() throws Exception {
+    ASTNode math = ASTNode.parseFormula("f(a + b, c) * 2");
+    assertEquals("f(a+b, c)*2, f, a+b, a, b, c, 2", toString(ASTNodeTraversal.preOrder(math)));
+    assertEquals("a, b, a+b, c, f, 2, f(a+b, c)*2", toString(ASTNodeTraversal.postOrder(math)));
+    assertEquals(4, ASTNodeTraversal.getHeight(math));
+    assertEquals(3, ASTNodeTraversal.postOrder(math, Type.FUNCTION).size());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void evaluate() throws Exception {
+    ASTNode math = ASTNode.parseFormula("(a + 1) * (b - 2) / c");
+    int size = ASTNodeTraversal.evaluate(math, new ASTNodeTraversal.Evaluator<Integer>() {
+
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.ASTNodeTraversal.Evaluator#evaluate(org.sbml.jsbml.ASTNode, java.util.List)
+       */
+      @Override
+      public Integer evaluate(ASTNode node, List<Integer> children) {
+        int size = 1;
+        for (Integer child : children) {
+          size += child;
+        }
+        return size;
+      }
+    });
+    assertEquals(ASTNodeTraversal.preOrder(math).size(), size);
+  }
+
+  /**
+   * The deep sum is compiled, compared, copied and written like a flat one.
+   * 
+   * @throws Throwable
+   */
+  @Test
+  public void deepSum() throws Throwable {
+    final ASTNode math = createSumChain(DEPTH);
+    runWithSmallStack(new Runnable() {
+
+      /* (non-Javadoc)
+       * @see java.lang.Runnable#run()
+       */
+      @Override
+      public void run() {
+        assertEquals(DEPTH + 1, ASTNodeTraversal.getHeight(math));
+        StringBuilder formula = new StringBuilder("p");
+        for (int i = 0; i < DEPTH; i++) {
+          formula.append("+p");
+        }
+        assertEquals(formula.toString(), math.toFormula());
+        ASTNode copy = math.clone();
+        assertNotSame(math.getLeftChild(), copy.getLeftChild());
+        assertEquals(math, copy);
+        assertEquals(math.hashCode(), copy.hashCode());
+        copy.getLeftChild().getLeftChild().getRightChild().setName("q");
+        assertTrue(!math.equals(copy));
+        assertEquals(DEPTH + 1, math.filter(NAMES).size());
+        // the sums on the path to the first name, followed by the name
+        assertEquals(DEPTH + 1, math.filter(NAMES, true, true).size());
+      }
+    });
+  }
+
+  /**
+   * A model with deep math is validated, written and read again.
+   * 
+   * @throws Throwable
+   */
+  @Test
+  public void deepModel() throws Throwable {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.createParameter("p").setUnits(Unit.Kind.SECOND.getName());
+    model.getParameter("p").setValue(1d);
+    model.getParameter("p").setConstant(true);
+    model.createParameter("x").setUnits(Unit.Kind.SECOND.getName());
+    model.getParameter("x").setConstant(false);
+    model.createParameter("y").setUnits(Unit.Kind.SECOND.getName());
+    model.getParameter("y").setConstant(false);
+    final AssignmentRule sum = model.createAssignmentRule();
+    sum.setVariable("x");
+    sum.setMath(createSumChain(DEPTH / 5));
+    final AssignmentRule piecewise = model.createAssignmentRule();
+    piecewise.setVariable("y");
+    piecewise.setMath(createNestedPiecewise(DEPTH / 5));
+    final SBMLDocument document = doc;
+    runWithSmallStack(new Runnable() {
+
+      /* (non-Javadoc)
+       * @see java.lang.Runnable#run()
+       */
+      @Override
+      public void run() {
+        try {
+          assertTrue(sum.getMath().deriveUnit().isVariantOfTime());
+          assertTrue(piecewise.getMath().toFormula().startsWith("piecewise(p, p > 0, piecewise(p, p > 1, "));
+          document.checkConsistencyOffline();
+          SBMLDocument read = SBMLReader.read(new SBMLWriter().writeSBMLToString(document));
+          assertEquals(sum.getMath(), read.getModel().getRule(0).getMath());
+          assertEquals(piecewise.getMath(), read.getModel().getRule(1).getMath());
+        } catch (Exception exc) {
+          throw new RuntimeException(exc);
+        }
+      }
+    });
+  }
+
+}
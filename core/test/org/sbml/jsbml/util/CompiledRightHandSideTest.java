@@ -0,0 +1,179 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.LocalParameter;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.RateRule;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+
+/**
+ * Tests the {@link CompiledRightHandSide}.
+ *
+ * @since 1.7
+ */
+public class CompiledRightHandSideTest {
+
+  /**
+   * @return a model with a reaction, an assignment rule and rate rules.
+   * @throws Exception
+   */
+  private Model createModel() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    Compartment c = model.createCompartment("c");
+    c.setSize(2d);
+    c.setConstant(true);
+    for (String id : new String[] {"A", "B"}) {
+      Species species = model.createSpecies(id, c);
+      species.setHasOnlySubstanceUnits(false);
+      species.setBoundaryCondition(false);
+      species.setConstant(false);
+      species.setInitialAmount("A".equals(id) ? 10d : 0d);
+    }
+    model.createParameter("k").setValue(0.1d);
+    for (String id : new String[] {"x", "q", "z"}) {
+      Parameter parameter = model.createParameter(id);
+      parameter.setValue(0d);
+      parameter.setConstant(false);
+    }
+    model.createFunctionDefinition("f").setMath(ASTNode.parseFormula("lambda(y, 2 * y)"));
+
+    Reaction r = model.createReaction("r");
+    r.createReactant(model.getSpecies("A")).setStoichiometry(1d);
+    r.createProduct(model.getSpecies("B")).setStoichiometry(2d);
+    KineticLaw law = r.createKineticLaw();
+    law.createLocalParameter("kl").setValue(2d);
+    law.setMath(ASTNode.parseFormula("f(kl) * k * A * c / 2"));
+
+    AssignmentRule x = model.createAssignmentRule();
+    x.setVariable("x");
+    x.setMath(ASTNode.parseFormula("A + B"));
+    RateRule q = model.createRateRule();
+    q.setVariable("q");
+    q.setMath(ASTNode.parseFormula("r + x"));
+    RateRule z = model.createRateRule();
+    z.setVariable("z");
+    z.setMath(ASTNode.parseFormula("piecewise(1, time > 1, -1)"));
+    return model;
+  }
+
+  /**
+   * @param ids
+   * @param id
+   * @return the index of the given id.
+   */
+  private static int indexOf(String[] ids, String id) {
+    return Arrays.asList(ids).indexOf(id);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void evaluate() throws Exception {
+    CompiledRightHandSide rhs = new CompiledRightHandSide(createModel());
+    String[] stateIds = rhs.getStateIds();
+    assertEquals(4, stateIds.length);
+    assertArrayEquals(new String[] {"x"}, rhs.getAssignedIds());
+    assertEquals(-1, indexOf(rhs.getParameterIds(), "x"));
+
+    double[] y = rhs.getInitialState();
+    double[] p = rhs.getInitialParameters();
+    assertEquals(10d, y[indexOf(stateIds, "A")], 0d);
+    assertEquals(2d, p[indexOf(rhs.getParameterIds(), "c")], 0d);
+    double[] dydt = new double[y.length];
+    rhs.evaluate(0d, y, p, dydt);
+    // rate = 2 * 2 * 0.1 * 5 * 2 / 2
+    assertEquals(-2d, dydt[indexOf(stateIds, "A")], 1e-12);
+    assertEquals(4d, dydt[indexOf(stateIds, "B")], 1e-12);
+    assertEquals(7d, dydt[indexOf(stateIds, "q")], 1e-12);
+    assertEquals(-1d, dydt[indexOf(stateIds, "z")], 0d);
+
+    // a copy computes the same values independently
+    CompiledRightHandSide copy = rhs.copy();
+    double[] other = new double[y.length];
+    y[indexOf(stateIds, "B")] = 4d;
+    copy.evaluate(2d, y, p, other);
+    double[] values = new double[1];
+    copy.getAssignedValues(values);
+    assertEquals(7d, values[0], 1e-12);
+    assertEquals(9d, other[indexOf(stateIds, "q")], 1e-12);
+    assertEquals(1d, other[indexOf(stateIds, "z")], 0d);
+    assertEquals(-1d, dydt[indexOf(stateIds, "z")], 0d);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void matchesInterpreter() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    Model model = doc.getModel();
+    CompiledRightHandSide rhs = new CompiledRightHandSide(model);
+    double[] y = rhs.getInitialState();
+    double[] p = rhs.getInitialParameters();
+    double[] dydt = new double[y.length];
+    rhs.evaluate(0d, y, p, dydt);
+    double[] rates = new double[rhs.getReactionIds().length];
+    rhs.getRates(rates);
+    assertTrue(rates.length > 0);
+
+    // the rates of the reactions agree with the initial values of a model
+    // in which they are assignment rules
+    for (int j = 0; j < rates.length; j++) {
+      Reaction reaction = model.getReaction(rhs.getReactionIds()[j]);
+      Parameter parameter = model.createParameter("rate_" + reaction.getId());
+      parameter.setConstant(false);
+      AssignmentRule rule = model.createAssignmentRule();
+      rule.setVariable(parameter.getId());
+      ASTNode math = reaction.getKineticLaw().getMath().clone();
+      for (ASTNode node : ASTNodeTraversal.preOrder(math)) {
+        LocalParameter local = node.isString() ? reaction.getKineticLaw().getLocalParameter(node.getName()) : null;
+        if (local != null) {
+          node.setValue(local.getValue());
+        }
+      }
+      rule.setMath(math);
+    }
+    Map<String, Double> values = new InitialValueEvaluator(model).evaluateAll();
+    for (int j = 0; j < rates.length; j++) {
+      assertEquals(values.get("rate_" + rhs.getReactionIds()[j]), rates[j],
+        1e-12 * Math.max(1d, Math.abs(rates[j])));
+    }
+  }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.util.CompressionTools.Format;
+
+/**
+ * Tests reading and writing compressed SBML through {@link CompressionTools}
+ * and the {@link ParallelGZIPOutputStream}.
+ *
+ * @since 1.7
+ */
+public class CompressionToolsTest {
+
+  /**
+   *
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   *
+   */
+  private SBMLDocument doc;
+
+  /**
+   * The document as read back from an uncompressed file.
+   */
+  private SBMLDocument expected;
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    File file = new File(folder.getRoot(), "model.xml");
+    SBMLWriter.write(doc, file, ' ', (short) 2);
+    assertEquals(Format.NONE, detect(file));
+    expected = SBMLReader.read(file);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void gzipRoundTrip() throws Exception {
+    File file = new File(folder.getRoot(), "model.xml.gz");
+    SBMLWriter.write(doc, file, ' ', (short) 2);
+    assertEquals(Format.GZIP, detect(file));
+    assertEquals(expected, SBMLReader.read(file));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void zipRoundTrip() throws Exception {
+    File file = new File(folder.getRoot(), "model.xml.zip");
+    SBMLWriter.write(doc, file, ' ', (short) 2);
+    assertEquals(Format.ZIP, detect(file));
+    assertEquals(expected, SBMLReader.read(file));
+    assertEquals(expected, SBMLReader.read(new FileInputStream(file)));
+  }
+
+  /**
+   * Checks that data cut into many blocks results in valid multi-member gzip.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void parallelGzipMembers() throws Exception {
+    byte[] data = new byte[100000];
+    Random random = new Random(42);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) ('a' + random.nextInt(4));
+    }
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(compressed, 1000, 6, null);
+    out.write(data, 0, 12345);
+    out.write(data[12345]);
+    out.write(data, 12346, data.length - 12346);
+    out.close();
+
+    InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()));
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+      result.write(buffer, 0, n);
+    }
+    in.close();
+    assertArrayEquals(data, result.toByteArray());
+  }
+
+  /**
+   * Checks that writing nothing results in a valid gzip file.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void parallelGzipEmpty() throws Exception {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    new ParallelGZIPOutputStream(compressed).close();
+    InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()));
+    assertEquals(-1, in.read());
+    in.close();
+  }
+
+  /**
+   * Reads the master SBML file of COMBINE archives, whether the manifest is
+   * the first entry or not.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void combineArchive() throws Exception {
+    SBMLDocument other = new SBMLDocument(3, 1);
+    other.createModel("other");
+    String manifest = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<omexManifest xmlns=\"http://identifiers.org/combine.specifications/omex-manifest\">\n"
+        + "  <content location=\".\" format=\"http://identifiers.org/combine.specifications/omex\"/>\n"
+        + "  <content location=\"./other.xml\" format=\"http://identifiers.org/combine.specifications/sbml\"/>\n"
+        + "  <content location=\"./model/model.xml\" format=\"http://identifiers.org/combine.specifications/sbml.level-2.version-1\" master=\"true\"/>\n"
+        + "</omexManifest>\n";
+    SBMLWriter writer = new SBMLWriter();
+
+    File first = new File(folder.getRoot(), "first.omex");
+    ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(first));
+    addEntry(zip, "manifest.xml", manifest);
+    addEntry(zip, "other.xml", writer.writeSBMLToString(other));
+    addEntry(zip, "model/model.xml", writer.writeSBMLToString(doc));
+    zip.close();
+    assertEquals(expected, SBMLReader.read(first));
+    assertEquals(expected, SBMLReader.read(new FileInputStream(first)));
+
+    File last = new File(folder.getRoot(), "last.omex");
+    zip = new ZipOutputStream(new FileOutputStream(last));
+    addEntry(zip, "other.xml", writer.writeSBMLToString(other));
+    addEntry(zip, "model/model.xml", writer.writeSBMLToString(doc));
+    addEntry(zip, "manifest.xml", manifest);
+    zip.close();
+    assertEquals(expected, SBMLReader.read(last));
+  }
+
+  /**
+   * @param zip
+   * @param name
+   * @param content
+   * @throws Exception
+   */
+  private static void addEntry(ZipOutputStream zip, String name, String content) throws Exception {
+    zip.putNextEntry(new ZipEntry(name));
+    zip.write(content.getBytes("UTF-8"));
+    zip.closeEntry();
+  }
+
+  /**
+   * @param file
+   * @return
+   * @throws Exception
+   */
+  private Format detect(File file) throws Exception {
+    InputStream in = new BufferedInputStream(new FileInputStream(file));
+    try {
+      return CompressionTools.detectFormat(in);
+    } finally {
+      in.close();
+    }
+  }
+
+}
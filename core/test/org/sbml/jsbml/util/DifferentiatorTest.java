@@ -0,0 +1,335 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.FunctionDefinition;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.LocalParameter;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+
+/**
+ * Tests the {@link Differentiator} and the {@link ModelJacobian}.
+ *
+ * @since 1.7
+ */
+public class DifferentiatorTest {
+
+  /**
+   * Evaluates simple expressions that only contain arithmetic, elementary
+   * functions and piecewise.
+   *
+   * @param math
+   * @param values
+   * @return the value of the expression.
+   */
+  private static double evaluate(ASTNode math, Map<String, Double> values) {
+    switch (math.getType()) {
+    case INTEGER:
+    case REAL:
+    case REAL_E:
+    case RATIONAL:
+      return math.getReal();
+    case NAME:
+      return values.get(math.getName());
+    case PLUS: {
+      double sum = 0d;
+      for (ASTNode child : math.getChildren()) {
+        sum += evaluate(child, values);
+      }
+      return sum;
+    }
+    case MINUS:
+      if (math.getChildCount() == 1) {
+        return -evaluate(math.getChild(0), values);
+      }
+      return evaluate(math.getChild(0), values) - evaluate(math.getChild(1), values);
+    case TIMES: {
+      double product = 1d;
+      for (ASTNode child : math.getChildren()) {
+        product *= evaluate(child, values);
+      }
+      return product;
+    }
+    case DIVIDE:
+      return evaluate(math.getChild(0), values) / evaluate(math.getChild(1), values);
+    case POWER:
+    case FUNCTION_POWER:
+      return Math.pow(evaluate(math.getChild(0), values), evaluate(math.getChild(1), values));
+    case FUNCTION_ROOT:
+      if (math.getChildCount() == 1) {
+        return Math.sqrt(evaluate(math.getChild(0), values));
+      }
+      return Math.pow(evaluate(math.getChild(1), values), 1d / evaluate(math.getChild(0), values));
+    case FUNCTION_EXP:
+      return Math.exp(evaluate(math.getChild(0), values));
+    case FUNCTION_LN:
+      return Math.log(evaluate(math.getChild(0), values));
+    case FUNCTION_LOG:
+      return Math.log10(evaluate(math.getChild(math.getChildCount() - 1), values));
+    case FUNCTION_SIN:
+      return Math.sin(evaluate(math.getChild(0), values));
+    case FUNCTION_COS:
+      return Math.cos(evaluate(math.getChild(0), values));
+    case FUNCTION_SEC:
+      return 1d / Math.cos(evaluate(math.getChild(0), values));
+    case FUNCTION_TAN:
+      return Math.tan(evaluate(math.getChild(0), values));
+    case FUNCTION_ARCTAN:
+      return Math.atan(evaluate(math.getChild(0), values));
+    case FUNCTION_TANH:
+      return Math.tanh(evaluate(math.getChild(0), values));
+    case FUNCTION_SECH:
+      return 1d / Math.cosh(evaluate(math.getChild(0), values));
+    case FUNCTION_ABS:
+      return Math.abs(evaluate(math.getChild(0), values));
+    case RELATIONAL_GEQ:
+      return evaluate(math.getChild(0), values) >= evaluate(math.getChild(1), values) ? 1d : 0d;
+    case RELATIONAL_LEQ:
+      return evaluate(math.getChild(0), values) <= evaluate(math.getChild(1), values) ? 1d : 0d;
+    case RELATIONAL_GT:
+      return evaluate(math.getChild(0), values) > evaluate(math.getChild(1), values) ? 1d : 0d;
+    case FUNCTION_MAX:
+      return Math.max(evaluate(math.getChild(0), values), evaluate(math.getChild(1), values));
+    case FUNCTION_PIECEWISE:
+      for (int i = 0; i + 1 < math.getChildCount(); i += 2) {
+        if (evaluate(math.getChild(i + 1), values) != 0d) {
+          return evaluate(math.getChild(i), values);
+        }
+      }
+      return evaluate(math.getChild(math.getChildCount() - 1), values);
+    default:
+      throw new IllegalArgumentException(math.getType().toString());
+    }
+  }
+
+  /**
+   * Compares the symbolic derivative with a central difference quotient.
+   *
+   * @param formula
+   * @param value
+   * @throws Exception
+   */
+  private static void checkNumerically(String formula, double value) throws Exception {
+    ASTNode math = ASTNode.parseFormula(formula);
+    String before = math.toFormula();
+    ASTNode derivative = new Differentiator().differentiate(math, "x");
+    assertEquals(before, math.toFormula());
+
+    Map<String, Double> values = new HashMap<String, Double>();
+    values.put("y", 0.7);
+    double h = 1e-6;
+    values.put("x", value + h);
+    double upper = evaluate(math, values);
+    values.put("x", value - h);
+    double lower = evaluate(math, values);
+    values.put("x", value);
+    double expected = (upper - lower) / (2 * h);
+    assertEquals(formula + " -> " + derivative.toFormula(), expected, evaluate(derivative, values),
+      1e-5 * Math.max(1d, Math.abs(expected)));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void simplification() throws Exception {
+    Differentiator differentiator = new Differentiator();
+    assertEquals("k", differentiator.differentiate(ASTNode.parseFormula("k * x"), "x").toFormula());
+    assertEquals("0", differentiator.differentiate(ASTNode.parseFormula("k * y + 3"), "x").toFormula());
+    assertEquals("2*x", differentiator.differentiate(ASTNode.parseFormula("x^2 + 1"), "x").toFormula());
+    assertEquals("1", differentiator.differentiate(ASTNode.parseFormula("x + y - 2"), "x").toFormula());
+    assertEquals("-1", differentiator.differentiate(ASTNode.parseFormula("y - x"), "x").toFormula());
+    assertEquals("cos(x)", differentiator.differentiate(ASTNode.parseFormula("sin(x)"), "x").toFormula());
+    assertEquals("0", differentiator.differentiate(ASTNode.parseFormula("floor(x) + (x > 1)"), "x").toFormula());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void derivatives() throws Exception {
+    String[] formulas = {
+      "x * y * x",
+      "(x + 1) / (x^2 + y)",
+      "y / x",
+      "x^y",
+      "y^x",
+      "x^x",
+      "pow(x, 3) - sqrt(x)",
+      "root(3, x^2 + 1)",
+      "exp(2 * x) * ln(x)",
+      "log(x)",
+      "sin(x^2) + cos(y * x) + tan(x) + sec(x)",
+      "arctan(x) + tanh(x) + sech(x)",
+      "abs(x - 1)",
+      "max(x^2, 1.5 * x)",
+      "piecewise(x^2, x > 1, -x)"
+    };
+    for (String formula : formulas) {
+      checkNumerically(formula, 1.3);
+      checkNumerically(formula, 0.4);
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void errors() throws Exception {
+    try {
+      new Differentiator().differentiate(ASTNode.parseFormula("f(x)"), "x");
+      assertTrue("IllegalArgumentException expected", false);
+    } catch (IllegalArgumentException exc) {
+      // expected
+    }
+    try {
+      new Differentiator().differentiate(ASTNode.parseFormula("factorial(x)"), "x");
+      assertTrue("IllegalArgumentException expected", false);
+    } catch (IllegalArgumentException exc) {
+      // expected
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void jacobian() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.createCompartment("c");
+    model.createSpecies("S1");
+    model.createSpecies("S2");
+    model.createSpecies("S3");
+    model.createParameter("k");
+    model.createParameter("K");
+    FunctionDefinition mm = model.createFunctionDefinition("mm");
+    mm.setMath(ASTNode.parseFormula("lambda(v, s, km, v * s / (km + s))"));
+    AssignmentRule rule = model.createAssignmentRule();
+    rule.setVariable("K");
+    rule.setMath(ASTNode.parseFormula("2 * S3"));
+
+    model.createReaction("r0").createKineticLaw().setMath(ASTNode.parseFormula("k * S1"));
+    model.createReaction("r1").createKineticLaw().setMath(ASTNode.parseFormula("mm(k, S2, K)"));
+    KineticLaw local = model.createReaction("r2").createKineticLaw();
+    local.createLocalParameter("k");
+    local.setMath(ASTNode.parseFormula("k * S1 * S2"));
+    model.createReaction("r3");
+
+    ModelJacobian jacobian = new ModelJacobian(model);
+    assertEquals(3, jacobian.getRowIds().size());
+    assertEquals(5, jacobian.getColumnIds().size());
+    // r0: S1, k; r1: S2, S3 (through K), k; r2: S1, S2
+    assertEquals(7, jacobian.getNonZeroCount());
+    int[] pointers = jacobian.getRowPointers();
+    assertEquals(0, pointers[0]);
+    assertEquals(2, pointers[1]);
+    assertEquals(5, pointers[2]);
+    assertEquals(7, pointers[3]);
+
+    assertEquals("k", jacobian.getDerivative("r0", "S1").toFormula());
+    assertEquals("S1", jacobian.getDerivative("r0", "k").toFormula());
+    assertNull(jacobian.getDerivative("r0", "S2"));
+    assertNotNull(jacobian.getDerivative("r1", "S3"));
+    assertNull(jacobian.getDerivative("r1", "K"));
+    assertNull(jacobian.getDerivative("r2", "k"));
+    assertEquals("k*S2", jacobian.getDerivative("r2", "S1").toFormula());
+
+    // the kinetic laws are unchanged
+    assertEquals("mm(k, S2, K)", model.getReaction(1).getKineticLaw().getMath().toFormula());
+  }
+
+  /**
+   * Function calls in substituted rules are expanded, and local parameters
+   * do not hide the global variables of substituted rules.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void jacobianRules() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.createCompartment("c");
+    model.createSpecies("S");
+    model.createParameter("k");
+    model.createParameter("v");
+    model.createParameter("w");
+    FunctionDefinition f = model.createFunctionDefinition("f");
+    f.setMath(ASTNode.parseFormula("lambda(x, 2 * x)"));
+    AssignmentRule rule = model.createAssignmentRule();
+    rule.setVariable("v");
+    rule.setMath(ASTNode.parseFormula("f(S)"));
+    rule = model.createAssignmentRule();
+    rule.setVariable("w");
+    rule.setMath(ASTNode.parseFormula("k * S"));
+
+    model.createReaction("r0").createKineticLaw().setMath(ASTNode.parseFormula("v * S"));
+    KineticLaw local = model.createReaction("r1").createKineticLaw();
+    LocalParameter k = local.createLocalParameter("k");
+    local.setMath(ASTNode.parseFormula("k * w"));
+
+    ModelJacobian jacobian = new ModelJacobian(model);
+    // d(2 * S * S)/dS
+    assertEquals("2*S+2*S", jacobian.getDerivative("r0", "S").toFormula());
+    assertNull(jacobian.getDerivative("r0", "v"));
+
+    // d(k_local * k * S)/dk and d(k_local * k * S)/dS
+    ASTNode derivative = jacobian.getDerivative("r1", "k");
+    assertNotNull(derivative);
+    assertEquals("S*k", derivative.toFormula());
+    assertSame(k, derivative.getRightChild().getVariable());
+    assertEquals("k*k", jacobian.getDerivative("r1", "S").toFormula());
+    assertNull(jacobian.getDerivative("r1", "w"));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void realModel() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    ModelJacobian jacobian = new ModelJacobian(doc.getModel());
+    int[] pointers = jacobian.getRowPointers();
+    int[] columns = jacobian.getColumnIndices();
+    assertEquals(jacobian.getRowIds().size() + 1, pointers.length);
+    assertEquals(jacobian.getNonZeroCount(), pointers[pointers.length - 1]);
+    assertTrue(jacobian.getNonZeroCount() > 0);
+    for (int i = 0; i < pointers.length - 1; i++) {
+      for (int k = pointers[i] + 1; k < pointers[i + 1]; k++) {
+        assertTrue(columns[k - 1] < columns[k]);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.util.ExpressionDAG.Node;
+import org.sbml.jsbml.util.ExpressionDAG.NodeVisitor;
+
+/**
+ * Tests the {@link ExpressionDAG}.
+ *
+ * @since 1.7
+ */
+public class ExpressionDAGTest {
+
+  /**
+   * @return a model whose reactions share sub-expressions.
+   * @throws Exception
+   */
+  private Model createModel() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.createCompartment("c");
+    model.createSpecies("S1");
+    model.createSpecies("S2");
+    model.createParameter("k");
+    for (int i = 0; i < 3; i++) {
+      KineticLaw kl = model.createReaction("r" + i).createKineticLaw();
+      kl.setMath(ASTNode.parseFormula("k * c * (S1 / (1 + S2)) + " + i));
+    }
+    // a local parameter hides the global one
+    KineticLaw local = model.createReaction("r3").createKineticLaw();
+    local.createLocalParameter("k");
+    local.setMath(ASTNode.parseFormula("k * c * (S1 / (1 + S2)) + 0"));
+    return model;
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void sharedSubexpressions() throws Exception {
+    Model model = createModel();
+    ExpressionDAG dag = ExpressionDAG.create(model);
+    assertEquals(4, dag.getRoots().size());
+
+    Node r0 = dag.getRoot(model.getReaction(0).getKineticLaw());
+    Node r1 = dag.getRoot(model.getReaction(1).getKineticLaw());
+    Node r3 = dag.getRoot(model.getReaction(3).getKineticLaw());
+    assertNotSame(r0, r1);
+    // the product is the same in all reactions but the last one
+    assertSame(r0.getChild(0), r1.getChild(0));
+    assertNotSame(r0.getChild(0), r3.getChild(0));
+    Node localK = r3.getChild(0).getChild(0).getChild(0);
+    assertEquals("k", localK.getName());
+    assertSame(model.getReaction(3).getKineticLaw(), localK.getScope());
+    assertNull(r0.getChild(0).getChild(0).getChild(0).getScope());
+    // ... and the quotient is the same in all of them
+    Node quotient = r0.getChild(0).getChild(1);
+    assertSame(quotient, r3.getChild(0).getChild(1));
+    assertEquals(2, dag.getUseCount(quotient));
+    assertEquals(3, dag.getUseCount(r0.getChild(0)));
+    assertEquals(1, dag.getUseCount(r0));
+
+    assertTrue(dag.getNodeCount() < dag.getTreeSize());
+    List<Node> nodes = dag.getNodes();
+    for (Node node : nodes) {
+      for (int i = 0; i < node.getChildCount(); i++) {
+        assertTrue(node.getChild(i).getIndex() < node.getIndex());
+      }
+    }
+
+    assertEquals(model.getReaction(2).getKineticLaw().getMath().toFormula(),
+      dag.getRoot(model.getReaction(2).getKineticLaw()).toASTNode().toFormula());
+  }
+
+  /**
+   * Every node is visited once.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void evaluate() throws Exception {
+    ExpressionDAG dag = new ExpressionDAG();
+    Node root = dag.add(ASTNode.parseFormula("(a + 1) * (a + 1) - 2 * (a + 1)"));
+    final AtomicInteger visits = new AtomicInteger();
+    List<Integer> sizes = dag.evaluate(new NodeVisitor<Integer>() {
+      @Override
+      public Integer visit(Node node, List<Integer> children) {
+        visits.incrementAndGet();
+        int size = 1;
+        for (Integer child : children) {
+          size += child;
+        }
+        return size;
+      }
+    });
+    assertEquals(dag.getNodeCount(), visits.get());
+    // the size of the tree, although each node was visited once
+    assertEquals(dag.getTreeSize(), sizes.get(root.getIndex()).longValue());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void realModel() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    ExpressionDAG dag = ExpressionDAG.create(doc.getModel());
+    for (Node root : dag.getRoots().values()) {
+      assertTrue(dag.getUseCount(root) > 0);
+    }
+    assertTrue(dag.getNodeCount() <= dag.getTreeSize());
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+
+/**
+ * Tests the {@link MappedFileInputStream}.
+ *
+ * @since 1.7
+ */
+public class MappedFileInputStreamTest {
+
+  /**
+   *
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Reads a file through windows that are much smaller than the file.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void readAcrossWindows() throws Exception {
+    byte[] data = new byte[10000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i * 31);
+    }
+    File file = folder.newFile("data.bin");
+    FileOutputStream out = new FileOutputStream(file);
+    out.write(data);
+    out.close();
+
+    MappedFileInputStream in = new MappedFileInputStream(file, 333);
+    try {
+      assertEquals(data.length, in.getSize());
+      assertEquals(data[0] & 0xff, in.read());
+      in.mark(0);
+      assertEquals(1000, in.skip(1000));
+      assertEquals(data[1001] & 0xff, in.read());
+      in.reset();
+      assertEquals(1, in.position());
+
+      ByteArrayOutputStream result = new ByteArrayOutputStream();
+      result.write(data[0]);
+      byte[] buffer = new byte[1000];
+      for (int n = in.read(buffer, 0, buffer.length); n >= 0; n = in.read(buffer, 0, buffer.length)) {
+        result.write(buffer, 0, n);
+      }
+      assertArrayEquals(data, result.toByteArray());
+      assertEquals(-1, in.read());
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void readMappedSBML() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    File file = new File(folder.getRoot(), "model.xml");
+    SBMLWriter.write(doc, file, ' ', (short) 2);
+    assertEquals(SBMLReader.read(file), new SBMLReader().readSBMLFromMappedFile(file));
+  }
+
+}
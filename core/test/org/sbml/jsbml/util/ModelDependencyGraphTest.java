@@ -0,0 +1,186 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.AssignmentRule;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.FunctionDefinition;
+import org.sbml.jsbml.InitialAssignment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+
+/**
+ * Tests the {@link ModelDependencyGraph} and the {@link InitialValueEvaluator}.
+ *
+ * @since 1.7
+ */
+public class ModelDependencyGraphTest {
+
+  /**
+   * @return a model whose initial values depend on each other.
+   * @throws Exception
+   */
+  private Model createModel() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    Compartment c = model.createCompartment("c");
+    c.setSize(2d);
+    Species s1 = model.createSpecies("S1", c);
+    s1.setInitialAmount(4d);
+    s1.setHasOnlySubstanceUnits(false);
+    Species s2 = model.createSpecies("S2", c);
+    s2.setInitialConcentration(3d);
+    s2.setHasOnlySubstanceUnits(true);
+    model.createParameter("k").setValue(5d);
+    model.createParameter("a");
+    model.createParameter("b");
+    FunctionDefinition f = model.createFunctionDefinition("f");
+    f.setMath(ASTNode.parseFormula("lambda(x, y, x * y)"));
+    // b is defined after a, but a uses b
+    InitialAssignment a = model.createInitialAssignment();
+    a.setVariable("a");
+    a.setMath(ASTNode.parseFormula("f(b, 2) + S1"));
+    AssignmentRule b = model.createAssignmentRule();
+    b.setVariable("b");
+    b.setMath(ASTNode.parseFormula("k + piecewise(1, S2 > 5, 0)"));
+    return model;
+  }
+
+  /**
+   * @param graph
+   * @param id
+   * @return the position of the variable with the given id in the order.
+   */
+  private static int position(ModelDependencyGraph graph, String id) {
+    int[] order = graph.getOrder();
+    for (int i = 0; i < order.length; i++) {
+      if (order[i] == graph.getIndex(id)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void order() throws Exception {
+    Model model = createModel();
+    ModelDependencyGraph graph = ModelDependencyGraph.get(model);
+    assertSame(graph, ModelDependencyGraph.get(model));
+    assertEquals(6, graph.getVariableCount());
+    assertFalse(graph.hasCycle());
+    assertEquals(0, graph.findCycle().length);
+    assertArrayEquals(new int[] {graph.getIndex("b"), graph.getIndex("S1")},
+      graph.getDependencies(graph.getIndex("a")));
+    assertArrayEquals(new int[] {graph.getIndex("c")}, graph.getDependencies(graph.getIndex("S1")));
+    assertSame(model.getRule(0), graph.getDefinition(graph.getIndex("b")));
+    assertSame(model.getParameter("k"), graph.getDefinition(graph.getIndex("k")));
+    assertTrue(position(graph, "b") < position(graph, "a"));
+    assertTrue(position(graph, "S2") < position(graph, "b"));
+    assertTrue(position(graph, "c") < position(graph, "S1"));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void evaluate() throws Exception {
+    Model model = createModel();
+    Map<String, Double> values = new InitialValueEvaluator(model).evaluateAll();
+    assertEquals(2d, values.get("c"), 0d);
+    assertEquals(2d, values.get("S1"), 0d);
+    assertEquals(6d, values.get("S2"), 0d);
+    assertEquals(6d, values.get("b"), 0d);
+    assertEquals(14d, values.get("a"), 0d);
+    // the math of the model is not modified
+    assertEquals("f(b, 2)+S1", model.getInitialAssignment(0).getMath().toFormula());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void updates() throws Exception {
+    Model model = createModel();
+    ModelDependencyGraph graph = ModelDependencyGraph.get(model);
+    InitialValueEvaluator evaluator = new InitialValueEvaluator(model);
+    assertFalse(graph.hasCycle());
+
+    // a change of the math
+    model.getRule(0).getMath().getLeftChild().setName("a");
+    assertTrue(graph.hasCycle());
+    int[] cycle = graph.findCycle();
+    assertEquals(2, cycle.length);
+    assertEquals(4, graph.getOrder().length);
+    assertTrue(Double.isNaN(evaluator.evaluateAll().get("a")));
+
+    // a replaced math
+    model.getRule(0).setMath(ASTNode.parseFormula("2 * k"));
+    assertFalse(graph.hasCycle());
+    assertEquals(22d, evaluator.evaluateAll().get("a"), 0d);
+
+    // a new variable and initial assignment
+    model.createParameter("d");
+    InitialAssignment d = model.createInitialAssignment();
+    d.setVariable("d");
+    d.setMath(ASTNode.parseFormula("a / 4"));
+    assertEquals(7, graph.getVariableCount());
+    assertTrue(position(graph, "a") < position(graph, "d"));
+    assertEquals(5.5d, evaluator.evaluateAll().get("d"), 0d);
+
+    // a species given as concentration no longer depends on its compartment
+    model.getSpecies("S1").setInitialConcentration(1d);
+    assertEquals(0, graph.getDependencies(graph.getIndex("S1")).length);
+    assertEquals(1d, evaluator.evaluateAll().get("S1"), 0d);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void realModel() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    Model model = doc.getModel();
+    ModelDependencyGraph graph = ModelDependencyGraph.get(model);
+    assertFalse(graph.hasCycle());
+    double[] values = new InitialValueEvaluator(model).evaluate();
+    for (int i = 0; i < model.getParameterCount(); i++) {
+      int index = graph.getIndex(model.getParameter(i).getId());
+      if (model.getParameter(i).isSetValue() && (graph.getMath(index) == null)) {
+        assertEquals(model.getParameter(i).getValue(), values[index], 0d);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.util.SBMLDocumentDiff.Difference;
+import org.sbml.jsbml.util.SBMLDocumentDiff.Kind;
+
+/**
+ * Tests the {@link SBMLDocumentDiff}.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentDiffTest {
+
+  /**
+   * @return a test model.
+   * @throws Exception
+   */
+  private SBMLDocument read() throws Exception {
+    return SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void differences() throws Exception {
+    SBMLDocument oldDoc = read();
+    SBMLDocument newDoc = read();
+    assertTrue(SBMLDocumentDiff.compare(oldDoc, newDoc).isEmpty());
+
+    Model model = newDoc.getModel();
+    Species changed = model.getSpecies(1);
+    changed.setInitialConcentration(changed.getInitialConcentration() + 1d);
+    Reaction removed = oldDoc.getModel().getReaction(2);
+    model.removeReaction(2);
+    Species added = model.createSpecies("s_new", model.getCompartment(0));
+    ASTNode math = model.getReaction(0).getKineticLaw().getMath();
+    math.addChild(new ASTNode(2));
+
+    List<Difference> differences = SBMLDocumentDiff.compare(oldDoc, newDoc).getDifferences();
+    assertEquals(4, differences.size());
+    Difference difference = differences.get(0);
+    assertEquals(Kind.ADDED, difference.getKind());
+    assertNull(difference.getOldNode());
+    assertSame(added, difference.getNewNode());
+    difference = differences.get(1);
+    assertEquals(Kind.CHANGED, difference.getKind());
+    assertSame(oldDoc.getModel().getSpecies(1), difference.getOldNode());
+    assertSame(changed, difference.getNewNode());
+    assertEquals("initialConcentration", difference.getAttribute());
+    assertEquals(changed.getInitialConcentration(), Double.parseDouble(difference.getNewValue()), 0d);
+    difference = differences.get(2);
+    assertEquals(Kind.REMOVED, difference.getKind());
+    assertSame(removed, difference.getOldNode());
+    assertNull(difference.getNewNode());
+    difference = differences.get(3);
+    assertEquals(Kind.CHANGED, difference.getKind());
+    assertEquals("math", difference.getAttribute());
+    assertSame(math, difference.getNewNode());
+    assertEquals(math.toFormula(), difference.getNewValue());
+
+    // metaids are ignored if the fingerprints of the old document ignore them
+    newDoc = read();
+    newDoc.getModel().getSpecies(0).setMetaId("other_metaid");
+    assertFalse(SBMLDocumentDiff.compare(oldDoc, newDoc).isEmpty());
+    oldDoc = read();
+    SBMLDocumentFingerprints.enable(oldDoc, false, false, "metaid");
+    assertTrue(SBMLDocumentDiff.compare(oldDoc, newDoc).isEmpty());
+  }
+
+  /**
+   * Compares two large models in which many elements differ, whose
+   * attributes are compared in parallel.
+   */
+  @Test
+  public void largeModels() {
+    SBMLDocument oldDoc = new SBMLDocument(3, 1);
+    Model model = oldDoc.createModel("m");
+    Compartment c = model.createCompartment("c");
+    for (int i = 0; i < 20000; i++) {
+      model.createSpecies("s" + i, c).setInitialAmount(i);
+    }
+    SBMLDocument newDoc = oldDoc.clone();
+    for (int i = 0; i < 20000; i += 20) {
+      newDoc.getModel().getSpecies(i).setInitialAmount(-i - 1);
+    }
+    newDoc.getModel().getListOfSpecies().remove(19999);
+
+    List<Difference> differences = SBMLDocumentDiff.compare(oldDoc, newDoc).getDifferences();
+    assertEquals(1001, differences.size());
+    // the removed child of the list precedes the changes of its other children
+    assertEquals(Kind.REMOVED, differences.get(0).getKind());
+    assertSame(model.getSpecies(19999), differences.get(0).getOldNode());
+    for (int i = 0; i < 1000; i++) {
+      Difference difference = differences.get(i + 1);
+      assertEquals(Kind.CHANGED, difference.getKind());
+      assertEquals("initialAmount", difference.getAttribute());
+      assertSame(model.getSpecies(20 * i), difference.getOldNode());
+    }
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.CVTerm;
+import org.sbml.jsbml.CVTerm.Qualifier;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+
+/**
+ * Tests the {@link SBMLDocumentFingerprints}.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentFingerprintsTest {
+
+  /**
+   * @return a test model.
+   * @throws Exception
+   */
+  private SBMLDocument read() throws Exception {
+    return SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+  }
+
+  /**
+   * Compares the kept fingerprint of the given document with one that is
+   * computed from scratch.
+   *
+   * @param doc
+   */
+  private static void assertUpToDate(SBMLDocument doc) {
+    String fingerprint = doc.getFingerprint();
+    SBMLDocumentFingerprints.disable(doc);
+    assertEquals(fingerprint, doc.getFingerprint());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void sameContent() throws Exception {
+    SBMLDocument doc1 = read();
+    SBMLDocument doc2 = read();
+    assertEquals(32, doc1.getFingerprint().length());
+    assertEquals(doc1.getFingerprint(), doc2.getFingerprint());
+
+    Model model = doc1.getModel();
+    Reaction reaction = model.getReaction(0);
+    assertEquals(doc1.getFingerprint(reaction), doc2.getFingerprint(doc2.getModel().getReaction(0)));
+    assertEquals(doc1.getFingerprint(reaction), doc1.getFingerprint(reaction.clone()));
+    assertFalse(doc1.getFingerprint(reaction).equals(doc1.getFingerprint(model.getReaction(1))));
+
+    Species species = model.getSpecies(0);
+    String fingerprint = doc1.getFingerprint(species);
+    String other = doc1.getFingerprint(model.getSpecies(1));
+    double initialValue = species.getInitialConcentration();
+    species.setInitialConcentration(initialValue + 1d);
+    assertFalse(fingerprint.equals(doc1.getFingerprint(species)));
+    assertFalse(doc1.getFingerprint().equals(doc2.getFingerprint()));
+    assertEquals(other, doc1.getFingerprint(model.getSpecies(1)));
+    species.setInitialConcentration(initialValue);
+    assertEquals(fingerprint, doc1.getFingerprint(species));
+    assertEquals(doc1.getFingerprint(), doc2.getFingerprint());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void ignored() throws Exception {
+    SBMLDocument doc1 = read();
+    SBMLDocument doc2 = read();
+    doc2.getModel().getSpecies(0).setMetaId("other_metaid");
+    doc2.getModel().getSpecies(1).appendNotes("<p xmlns=\"http://www.w3.org/1999/xhtml\">note</p>");
+    assertFalse(doc1.getFingerprint().equals(doc2.getFingerprint()));
+
+    SBMLDocumentFingerprints.enable(doc1, true, false, "metaid");
+    SBMLDocumentFingerprints.enable(doc2, true, false, "metaid");
+    assertTrue(SBMLDocumentFingerprints.get(doc2).getIgnoredAttributes().contains("metaid"));
+    assertEquals(doc1.getFingerprint(), doc2.getFingerprint());
+
+    SBMLDocumentFingerprints.enable(doc2, false, false, "metaid");
+    assertFalse(doc1.getFingerprint().equals(doc2.getFingerprint()));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void updates() throws Exception {
+    SBMLDocument doc = read();
+    Model model = doc.getModel();
+    assertUpToDate(doc);
+
+    model.getParameter(0).setValue(42d);
+    assertUpToDate(doc);
+    Species species = model.createSpecies("s_new", model.getCompartment(0));
+    assertUpToDate(doc);
+    species.addCVTerm(new CVTerm(Qualifier.BQB_IS, "urn:miriam:obo.chebi:CHEBI%3A15422"));
+    assertUpToDate(doc);
+    species.getCVTerm(0).addResource("urn:miriam:kegg.compound:C00002");
+    assertUpToDate(doc);
+    species.appendNotes("<p xmlns=\"http://www.w3.org/1999/xhtml\">note</p>");
+    assertUpToDate(doc);
+    model.removeSpecies(species);
+    assertUpToDate(doc);
+
+    ASTNode math = model.getReaction(0).getKineticLaw().getMath();
+    math.addChild(new ASTNode(2));
+    assertUpToDate(doc);
+    ASTNode leaf = math;
+    while (!leaf.isLeaf()) {
+      leaf = leaf.getChild(0);
+    }
+    leaf.setValue(3);
+    assertUpToDate(doc);
+
+    // the math refers to variables by their identifiers
+    ASTNode name = null;
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(math); (name == null) && iterator.hasNext();) {
+      ASTNode node = (ASTNode) iterator.next();
+      if (node.isName() && (node.getVariable() != null)) {
+        name = node;
+      }
+    }
+    String fingerprint = doc.getFingerprint(math);
+    name.getVariable().setId("renamed");
+    assertUpToDate(doc);
+    assertFalse(fingerprint.equals(doc.getFingerprint(math)));
+  }
+
+}
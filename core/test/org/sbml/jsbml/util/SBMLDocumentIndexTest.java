@@ -0,0 +1,137 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.CVTerm;
+import org.sbml.jsbml.CVTerm.Qualifier;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBase;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.util.filters.CVTermFilter;
+import org.sbml.jsbml.util.filters.Filter;
+import org.sbml.jsbml.util.filters.SBOFilter;
+
+/**
+ * Tests the {@link SBMLDocumentIndex}.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentIndexTest {
+
+  /**
+   * @param expected
+   * @param actual
+   */
+  private static void assertSameNodes(List<? extends TreeNode> expected, List<? extends TreeNode> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), actual.get(i));
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void sameResults() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+    Filter[] filters = new Filter[] {new SBOFilter(14), new SBOFilter(64, 244), new SBOFilter(0),
+      new CVTermFilter(Qualifier.BQB_IS_VERSION_OF), new CVTermFilter(null, "uniprot"),
+      new CVTermFilter(Qualifier.BQB_HAS_PART, "urn:miriam:.*go")};
+    TreeNode[] roots = new TreeNode[] {doc, doc.getModel(), doc.getModel().getListOfReactions()};
+    @SuppressWarnings("unchecked")
+    List<? extends TreeNode>[] expected = new List[filters.length * roots.length * 2];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = ((SBase) roots[(i / 2) % roots.length]).filter(filters[i / (2 * roots.length)], false, (i % 2) == 1);
+    }
+    assertTrue(expected[0].size() > 0);
+
+    assertNull(SBMLDocumentIndex.get(doc));
+    SBMLDocumentIndex index = SBMLDocumentIndex.enable(doc);
+    assertSame(index, SBMLDocumentIndex.get(doc));
+    for (int i = 0; i < expected.length; i++) {
+      Filter filter = filters[i / (2 * roots.length)];
+      TreeNode root = roots[(i / 2) % roots.length];
+      assertTrue(index.filter(root, filter, false) != null);
+      assertSameNodes(expected[i], ((SBase) root).filter(filter, false, (i % 2) == 1));
+    }
+    assertEquals(doc.getModel().getSpeciesCount(), index.getElements(Species.class).size());
+    assertSameNodes(doc.filter(new SBOFilter(14)), index.getElementsWithSBOTerm(14));
+
+    SBMLDocumentIndex.disable(doc);
+    assertNull(SBMLDocumentIndex.get(doc));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void updates() throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    Compartment c = model.createCompartment("c");
+    SBMLDocumentIndex index = SBMLDocumentIndex.enable(doc);
+
+    Species a = model.createSpecies("A", c);
+    a.setSBOTerm(247);
+    Species b = model.createSpecies("B", c);
+    assertSameNodes(Arrays.asList(a), index.getElementsWithSBOTerm(247));
+    assertSameNodes(Arrays.asList(a, b), index.getElements(Species.class));
+
+    // a change of the SBO term
+    b.setSBOTerm(247);
+    a.unsetSBOTerm();
+    assertSameNodes(Arrays.asList(b), model.filter(new SBOFilter(247)));
+
+    // new resources
+    String uri = "urn:miriam:obo.chebi:CHEBI%3A17234";
+    a.addCVTerm(new CVTerm(Qualifier.BQB_IS, uri));
+    assertSameNodes(Arrays.asList(a), index.getElementsWithResource(uri));
+    b.addCVTerm(new CVTerm(Qualifier.BQB_IS));
+    b.getCVTerm(0).addResource(uri);
+    assertSameNodes(Arrays.asList(a, b), index.getElementsWithResource(uri));
+    List<? extends TreeNode> found = doc.filter(new CVTermFilter(Qualifier.BQB_IS, "chebi"));
+    assertEquals(4, found.size());
+    assertSame(a, found.get(0));
+    assertSame(a.getCVTerm(0), found.get(1));
+
+    // a removed species
+    model.removeSpecies("A");
+    assertSameNodes(Arrays.asList(b), index.getElementsWithSBOTerm(247));
+    assertSameNodes(Arrays.asList(b), index.getElementsWithResource(uri));
+    assertSameNodes(Arrays.asList(b), index.getElements(Species.class));
+    assertEquals(1, index.getElements(Compartment.class).size());
+  }
+
+}
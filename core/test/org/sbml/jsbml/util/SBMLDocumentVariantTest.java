@@ -0,0 +1,142 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Parameter;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.util.SBMLDocumentDiff.Kind;
+
+/**
+ * Tests the {@link SBMLDocumentVariant}.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentVariantTest {
+
+  /**
+   * @return a test model.
+   * @throws Exception
+   */
+  private SBMLDocument read() throws Exception {
+    return SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void changes() throws Exception {
+    SBMLDocument base = read();
+    String fingerprint = base.getFingerprint();
+    Model model = base.getModel();
+    Species species = model.getSpecies(0);
+    Reaction removed = model.getReaction(1);
+    KineticLaw kineticLaw = model.getReaction(0).getKineticLaw();
+    ASTNode math = ASTNode.parseFormula("2 * " + kineticLaw.getMath().toFormula());
+
+    SBMLDocumentVariant variant = base.createVariant();
+    assertTrue(SBMLDocumentDiff.compare(base, variant.toDocument()).isEmpty());
+    variant.setAttribute(species, "initialConcentration", 42d)
+    .setMath(kineticLaw, math)
+    .remove(removed)
+    .add(model.getListOfParameters(), new Parameter("p_new"));
+    assertEquals(4, variant.getChangedElementCount());
+    assertEquals("42.0", variant.getAttribute(species, "initialConcentration"));
+    assertEquals(species.getId(), variant.getAttribute(species, "id"));
+    assertEquals(math, variant.getMath(kineticLaw));
+    assertTrue(variant.isRemoved(removed));
+    assertTrue(variant.isRemoved(removed.getListOfReactants()));
+    assertFalse(variant.isRemoved(species));
+
+    SBMLDocument doc = variant.toDocument();
+    assertEquals(fingerprint, base.getFingerprint());
+    Model copy = doc.getModel();
+    assertEquals(42d, copy.getSpecies(species.getId()).getInitialConcentration(), 0d);
+    assertEquals(math, copy.getReaction(0).getKineticLaw().getMath());
+    assertNull(copy.getReaction(removed.getId()));
+    assertEquals(model.getReactionCount() - 1, copy.getReactionCount());
+    assertEquals("p_new", copy.getParameter(copy.getParameterCount() - 1).getId());
+    assertEquals(4, SBMLDocumentDiff.compare(base, doc).getDifferences().size());
+    assertEquals(doc.getFingerprint(), variant.toDocument().getFingerprint());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void derived() throws Exception {
+    SBMLDocument base = read();
+    Model model = base.getModel();
+    Species species = model.getSpecies(0);
+    SBMLDocumentVariant variant = base.createVariant().setAttribute(species, "initialConcentration", 1d);
+    SBMLDocumentVariant derived = variant.derive().setAttribute(model.getSpecies(1), "initialConcentration", 2d);
+    variant.setAttribute(species, "name", "changed later");
+    derived.setAttribute(species, "initialConcentration", 3d);
+
+    assertEquals(2, derived.getChangedElementCount());
+    assertEquals("1.0", variant.getAttribute(species, "initialConcentration"));
+    assertEquals("3.0", derived.getAttribute(species, "initialConcentration"));
+    assertEquals("changed later", derived.getAttribute(species, "name"));
+    assertEquals(model.getSpecies(1).getInitialConcentration() + "",
+      variant.getAttribute(model.getSpecies(1), "initialConcentration"));
+
+    Model copy = derived.toDocument().getModel();
+    assertEquals(3d, copy.getSpecies(0).getInitialConcentration(), 0d);
+    assertEquals(2d, copy.getSpecies(1).getInitialConcentration(), 0d);
+    assertEquals("changed later", copy.getSpecies(0).getName());
+    assertEquals(Kind.CHANGED, SBMLDocumentDiff.compare(variant.toDocument(), derived.toDocument()).getDifferences().get(0).getKind());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void invalid() throws Exception {
+    SBMLDocument base = read();
+    SBMLDocumentVariant variant = base.createVariant();
+    try {
+      variant.remove(read().getModel().getSpecies(0));
+      fail();
+    } catch (IllegalArgumentException exc) {
+      // expected
+    }
+    variant.setAttribute(base.getModel().getSpecies(0), "unknown", 1);
+    try {
+      variant.toDocument();
+      fail();
+    } catch (IllegalArgumentException exc) {
+      // expected
+    }
+  }
+
+}
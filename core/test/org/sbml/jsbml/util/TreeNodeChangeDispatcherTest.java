@@ -0,0 +1,257 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.Species;
+
+/**
+ * Tests the {@link TreeNodeChangeDispatcher}.
+ *
+ * @since 1.7
+ */
+public class TreeNodeChangeDispatcherTest {
+
+  /**
+   * Records the new names of elements and the threads that notify it.
+   */
+  private static class NameRecorder implements TreeNodeChangeListener {
+
+    /**
+     * 
+     */
+    final List<Object> names = Collections.synchronizedList(new ArrayList<Object>());
+
+    /**
+     * 
+     */
+    volatile Thread thread;
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeAdded(javax.swing.tree.TreeNode)
+     */
+    @Override
+    public void nodeAdded(TreeNode node) {
+    }
+
+    /* (non-Javadoc)
+     * @see org.sbml.jsbml.util.TreeNodeChangeListener#nodeRemoved(org.sbml.jsbml.util.TreeNodeRemovedEvent)
+     */
+    @Override
+    public void nodeRemoved(TreeNodeRemovedEvent event) {
+    }
+
+    /* (non-Javadoc)
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+      thread = Thread.currentThread();
+      if (TreeNodeChangeEvent.name.equals(event.getPropertyName())) {
+        names.add(event.getNewValue());
+      }
+    }
+
+  }
+
+  /**
+   * @return a test model.
+   * @throws Exception
+   */
+  private SBMLDocument read() throws Exception {
+    return SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v4/BIOMD0000000229.xml"));
+  }
+
+  /**
+   * Notifications are delivered in order on another thread.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void ordered() throws Exception {
+    SBMLDocument doc = read();
+    TreeNodeChangeDispatcher dispatcher = TreeNodeChangeDispatcher.enable(doc, 4);
+    assertSame(dispatcher, TreeNodeChangeDispatcher.get(doc));
+    assertNull(TreeNodeChangeDispatcher.get(doc.clone()));
+    NameRecorder recorder = new NameRecorder();
+    dispatcher.addTreeNodeChangeListener(recorder);
+    List<Object> expected = new ArrayList<Object>();
+    for (int i = 0; i < 200; i++) {
+      Species species = doc.getModel().getSpecies(i % doc.getModel().getSpeciesCount());
+      species.setName("name" + i);
+      expected.add("name" + i);
+    }
+    dispatcher.flush();
+    assertEquals(expected, recorder.names);
+    assertEquals(0, dispatcher.getQueuedCount());
+    assertNotSame(Thread.currentThread(), recorder.thread);
+
+    // a transaction is delivered in one piece
+    doc.beginTransaction();
+    doc.getModel().getSpecies(0).setName("a");
+    doc.getModel().getSpecies(0).setName("b");
+    doc.commitTransaction();
+    dispatcher.flush();
+    assertEquals("b", recorder.names.get(recorder.names.size() - 1));
+    assertEquals(expected.size() + 1, recorder.names.size());
+
+    TreeNodeChangeDispatcher.disable(doc);
+    assertNull(TreeNodeChangeDispatcher.get(doc));
+    doc.getModel().getSpecies(0).setName("c");
+    Thread.sleep(50);
+    assertEquals(expected.size() + 1, recorder.names.size());
+  }
+
+  /**
+   * The documents that share an {@link ExecutorService} keep their order.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void executor() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SBMLDocument[] docs = new SBMLDocument[3];
+      NameRecorder[] recorders = new NameRecorder[docs.length];
+      for (int i = 0; i < docs.length; i++) {
+        docs[i] = read();
+        recorders[i] = new NameRecorder();
+        TreeNodeChangeDispatcher.enable(docs[i], 2, executor).addTreeNodeChangeListener(recorders[i]);
+      }
+      List<Object> expected = new ArrayList<Object>();
+      for (int i = 0; i < 100; i++) {
+        for (SBMLDocument doc : docs) {
+          doc.getModel().getSpecies(0).setName("name" + i);
+        }
+        expected.add("name" + i);
+      }
+      for (int i = 0; i < docs.length; i++) {
+        TreeNodeChangeDispatcher.get(docs[i]).flush();
+        assertEquals(expected, recorders[i].names);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Flushing waits for slow listeners, which may change the document
+   * themselves.
+   * 
+   * @throws Exception
+   */
+  @Test
+  public void flush() throws Exception {
+    final SBMLDocument doc = read();
+    TreeNodeChangeDispatcher dispatcher = TreeNodeChangeDispatcher.enable(doc, 1);
+    final CountDownLatch latch = new CountDownLatch(1);
+    final NameRecorder recorder = new NameRecorder() {
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.TreeNodeChangeDispatcherTest.NameRecorder#propertyChange(java.beans.PropertyChangeEvent)
+       */
+      @Override
+      public void propertyChange(PropertyChangeEvent event) {
+        try {
+          latch.await();
+        } catch (InterruptedException exc) {
+          Thread.currentThread().interrupt();
+        }
+        super.propertyChange(event);
+        if ("first".equals(event.getNewValue())) {
+          // queued while the buffer is full
+          doc.getModel().getSpecies(1).setName("second");
+          doc.getModel().getSpecies(1).setName("third");
+        }
+      }
+    };
+    dispatcher.addTreeNodeChangeListener(recorder);
+    doc.getModel().getSpecies(0).setName("first");
+    assertFalse(dispatcher.flush(20, TimeUnit.MILLISECONDS));
+    latch.countDown();
+    assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+    assertTrue(recorder.names.contains("second"));
+    assertTrue(recorder.names.contains("third"));
+    TreeNodeChangeDispatcher.disable(doc);
+  }
+
+  /**
+   * A listener of one document may change another document whose buffer is
+   * full, even if both share an executor with a single thread. The
+   * notification that does not fit anymore overtakes the queued one.
+   * 
+   * @throws Exception
+   */
+  @Test(timeout = 10000)
+  public void sharedExecutor() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      SBMLDocument docA = read();
+      final SBMLDocument docB = read();
+      TreeNodeChangeDispatcher dispatcherA = TreeNodeChangeDispatcher.enable(docA, 1, executor);
+      TreeNodeChangeDispatcher dispatcherB = TreeNodeChangeDispatcher.enable(docB, 1, executor);
+      dispatcherA.addTreeNodeChangeListener(new NameRecorder() {
+        /* (non-Javadoc)
+         * @see org.sbml.jsbml.util.TreeNodeChangeDispatcherTest.NameRecorder#propertyChange(java.beans.PropertyChangeEvent)
+         */
+        @Override
+        public void propertyChange(PropertyChangeEvent event) {
+          if (TreeNodeChangeEvent.name.equals(event.getPropertyName())) {
+            // the delivery of docB can only start after this one
+            docB.getModel().getSpecies(0).setName("queued");
+            docB.getModel().getSpecies(0).setName("direct");
+          }
+        }
+      });
+      NameRecorder recorder = new NameRecorder();
+      dispatcherB.addTreeNodeChangeListener(recorder);
+
+      docA.getModel().getSpecies(0).setName("a");
+      dispatcherA.flush();
+      dispatcherB.flush();
+      assertEquals(Arrays.<Object>asList("direct", "queued"), recorder.names);
+      TreeNodeChangeDispatcher.disable(docA);
+      TreeNodeChangeDispatcher.disable(docB);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
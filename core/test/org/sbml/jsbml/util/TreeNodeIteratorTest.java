@@ -0,0 +1,217 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.Compartment;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.Reaction;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.Species;
+import org.sbml.jsbml.util.filters.Filter;
+
+/**
+ * Tests the {@link TreeNodeIterator} and the {@link TreeNodeSpliterator}.
+ *
+ * @since 1.7
+ */
+public class TreeNodeIteratorTest {
+
+  /**
+   * @param n
+   *        the number of species and reactions.
+   * @return a document with lists of different sizes and math.
+   * @throws Exception
+   */
+  private SBMLDocument createDocument(int n) throws Exception {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    Model model = doc.createModel("m");
+    model.setNotes("<body xmlns=\"http://www.w3.org/1999/xhtml\"><p>test</p></body>");
+    Compartment c = model.createCompartment("c");
+    for (int i = 0; i < n; i++) {
+      Species species = model.createSpecies("S" + i, c);
+      if (i > 0) {
+        Reaction reaction = model.createReaction("r" + i);
+        reaction.createReactant(model.getSpecies("S" + (i - 1)));
+        reaction.createProduct(species);
+        reaction.createKineticLaw().setMath(ASTNode.parseFormula("k * S" + (i - 1)));
+      }
+    }
+    model.createParameter("k");
+    return doc;
+  }
+
+  /**
+   * @param node
+   * @param list
+   *        the nodes of the given tree in pre-order.
+   */
+  private static void preOrder(TreeNode node, List<TreeNode> list) {
+    list.add(node);
+    for (int i = 0; i < node.getChildCount(); i++) {
+      preOrder(node.getChildAt(i), list);
+    }
+  }
+
+  /**
+   * @param node
+   * @param list
+   *        the nodes of the given tree in post-order.
+   */
+  private static void postOrder(TreeNode node, List<TreeNode> list) {
+    for (int i = 0; i < node.getChildCount(); i++) {
+      postOrder(node.getChildAt(i), list);
+    }
+    list.add(node);
+  }
+
+  /**
+   * @param expected
+   * @param actual
+   */
+  private static void assertSameNodes(List<TreeNode> expected, List<? extends TreeNode> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), actual.get(i));
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void orders() throws Exception {
+    SBMLDocument doc = createDocument(50);
+    List<TreeNode> expected = new ArrayList<TreeNode>();
+    preOrder(doc, expected);
+    List<TreeNode> actual = new ArrayList<TreeNode>();
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(doc); iterator.hasNext();) {
+      actual.add(iterator.next());
+    }
+    assertSameNodes(expected, actual);
+    assertEquals(expected.size(), TreeNodeIterator.size(doc));
+
+    expected.clear();
+    postOrder(doc, expected);
+    actual.clear();
+    for (TreeNodeIterator iterator = TreeNodeIterator.postOrder(doc); iterator.hasNext();) {
+      actual.add(iterator.next());
+    }
+    assertSameNodes(expected, actual);
+
+    // a single node
+    TreeNodeIterator iterator = TreeNodeIterator.postOrder(doc.getModel().getParameter(0));
+    assertSame(doc.getModel().getParameter(0), iterator.next());
+    assertFalse(iterator.hasNext());
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void skipChildren() throws Exception {
+    SBMLDocument doc = createDocument(10);
+    int count = 0;
+    for (TreeNodeIterator iterator = TreeNodeIterator.preOrder(doc); iterator.hasNext();) {
+      TreeNode node = iterator.next();
+      assertFalse(node instanceof ASTNode);
+      if (node instanceof Reaction) {
+        assertEquals(3, iterator.getDepth());
+        iterator.skipChildren();
+        count++;
+      }
+    }
+    assertEquals(9, count);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void split() throws Exception {
+    SBMLDocument doc = createDocument(200);
+    List<TreeNode> expected = new ArrayList<TreeNode>();
+    preOrder(doc, expected);
+
+    // splitting repeatedly, the parts precede the remaining nodes
+    TreeNodeSpliterator spliterator = new TreeNodeSpliterator(doc);
+    List<TreeNodeSpliterator> parts = new ArrayList<TreeNodeSpliterator>();
+    TreeNodeSpliterator part;
+    while ((parts.size() < 20) && ((part = spliterator.trySplit()) != null)) {
+      parts.add(part);
+    }
+    assertTrue(parts.size() > 10);
+    parts.add(spliterator);
+    List<TreeNode> actual = new ArrayList<TreeNode>();
+    for (TreeNodeSpliterator p : parts) {
+      while (p.hasNext()) {
+        actual.add(p.next());
+      }
+    }
+    assertSameNodes(expected, actual);
+
+    // splitting after the traversal has started
+    spliterator = new TreeNodeSpliterator(doc);
+    actual.clear();
+    for (int i = 0; i < 10; i++) {
+      actual.add(spliterator.next());
+    }
+    part = spliterator.trySplit();
+    while (part.hasNext()) {
+      actual.add(part.next());
+    }
+    while (spliterator.hasNext()) {
+      actual.add(spliterator.next());
+    }
+    assertSameNodes(expected, actual);
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void parallelFilter() throws Exception {
+    SBMLDocument doc = createDocument(2000);
+    Filter filter = new Filter() {
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.filters.Filter#accepts(java.lang.Object)
+       */
+      @Override
+      public boolean accepts(Object o) {
+        return (o instanceof Species) || ((o instanceof ASTNode) && ((ASTNode) o).isName());
+      }
+    };
+    List<? extends TreeNode> expected = doc.filter(filter);
+    assertTrue(expected.size() > 2000);
+    assertSameNodes(new ArrayList<TreeNode>(expected), TreeNodeSpliterator.filter(doc, filter));
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.ASTNode.Type;
+import org.sbml.jsbml.xml.XMLNode;
+
+/**
+ * Tests that leaves and nodes without MathML attributes behave as before
+ * although they do not allocate the corresponding objects.
+ *
+ * @since 1.7
+ */
+public class ASTNodeLayoutTest {
+
+  /**
+   * The list of children of a leaf can be modified.
+   */
+  @Test
+  public void childrenOfLeaf() {
+    ASTNode plus = new ASTNode(Type.PLUS);
+    List<ASTNode> children = plus.getChildren();
+    assertTrue(children.isEmpty());
+    assertEquals(0, plus.getChildCount());
+    assertNull(plus.getRightChild());
+    assertFalse(plus.removeChild(0));
+
+    ASTNode one = new ASTNode(1);
+    children.add(one);
+    assertEquals(1, plus.getChildCount());
+    assertSame(one, plus.getChild(0));
+    assertSame(one, children.get(0));
+
+    plus.addChild(new ASTNode(2));
+    assertEquals(2, children.size());
+    children.clear();
+    assertEquals(0, plus.getChildCount());
+
+    try {
+      new ASTNode(3).getChild(0);
+      assertTrue("IndexOutOfBoundsException expected", false);
+    } catch (IndexOutOfBoundsException exc) {
+      // expected
+    }
+  }
+
+  /**
+   * Sets and unsets the rarely used attributes.
+   */
+  @Test
+  public void rareAttributes() {
+    ASTNode node = new ASTNode(1.5);
+    assertFalse(node.isSetId() || node.isSetStyle() || node.isSetClassName()
+      || node.isSetEncoding() || node.isSetDefinitionURL() || node.isSetUnits());
+    assertEquals(0, node.getExtensionCount());
+    assertFalse(node.isExtendedByOtherPackages());
+    assertTrue(node.getExtensionPackages().isEmpty());
+    // the map is live
+    assertSame(node.getExtensionPackages(), node.getExtensionPackages());
+    assertNull(node.getListOfSemanticsAnnotations());
+    assertNull(node.getSemanticsAnnotation(0));
+
+    node.setId("n1");
+    node.setStyle("bold");
+    node.setUnits("second");
+    assertEquals("n1", node.getId());
+    assertEquals("bold", node.getStyle());
+    assertEquals("second", node.getUnits());
+    assertNull(node.getClassName());
+
+    ASTNode clone = node.clone();
+    assertEquals(node, clone);
+    assertEquals("second", clone.getUnits());
+
+    node.setId(null);
+    node.setStyle(null);
+    node.unsetUnits();
+    assertFalse(node.isSetId() || node.isSetStyle() || node.isSetUnits());
+    assertFalse(node.equals(clone));
+
+    ASTNode time = new ASTNode(Type.NAME_TIME);
+    assertEquals(ASTNode.URI_TIME_DEFINITION, time.getDefinitionURL());
+    assertEquals("text", time.getEncoding());
+  }
+
+  /**
+   * The serialized form still contains all attributes.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void serialization() throws Exception {
+    ASTNode node = ASTNode.parseFormula("k * (S1 + 2) / time");
+    node.getChild(0).setId("k1");
+    node.setClassName("rate");
+    node.addSemanticsAnnotation(new XMLNode("annotation"));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(node);
+    out.close();
+    ASTNode read = (ASTNode) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+    assertEquals(node, read);
+    assertEquals("k1", read.getChild(0).getId());
+    assertEquals("rate", read.getClassName());
+    assertEquals(1, read.getNumSemanticsAnnotations());
+    assertEquals(node.toFormula(), read.toFormula());
+    assertSame(read, read.getChild(1).getParent());
+  }
+
+}
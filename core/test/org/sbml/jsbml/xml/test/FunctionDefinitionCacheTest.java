@@ -0,0 +1,136 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.KineticLaw;
+import org.sbml.jsbml.Model;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.text.parser.ParseException;
+import org.sbml.jsbml.util.converters.ExpandFunctionDefinitionConverter;
+import org.sbml.jsbml.util.converters.FunctionDefinitionCache;
+
+/**
+ * Tests the {@link FunctionDefinitionCache}.
+ *
+ * @since 1.7
+ */
+public class FunctionDefinitionCacheTest {
+
+  /**
+   *
+   */
+  private Model model;
+
+  /**
+   * @throws ParseException
+   */
+  @Before
+  public void setUp() throws ParseException {
+    SBMLDocument doc = new SBMLDocument(3, 1);
+    model = doc.createModel("m");
+    model.createFunctionDefinition("f").setMath(ASTNode.parseFormula("lambda(x, y, x * y)"));
+    model.createFunctionDefinition("g").setMath(ASTNode.parseFormula("lambda(a, f(a, a + 1))"));
+    model.createFunctionDefinition("id").setMath(ASTNode.parseFormula("lambda(x, x)"));
+    model.createFunctionDefinition("rec").setMath(ASTNode.parseFormula("lambda(x, rec(x) + 1)"));
+  }
+
+  /**
+   * @param formula
+   * @return the expanded formula.
+   * @throws ParseException
+   */
+  private String expand(String formula) throws ParseException {
+    return ExpandFunctionDefinitionConverter.expandFunctionDefinition(model, ASTNode.parseFormula(formula)).toFormula();
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void expand() throws Exception {
+    assertEquals("y*2", expand("f(y, 2)"));
+    assertEquals("y*x", expand("f(y, x)"));
+    assertEquals("k*(k+1)", expand("g(k)"));
+    assertEquals("a*b", expand("id(f(a, b))"));
+    assertEquals("3+c*(c+1)*(c*(c+1)+1)", expand("3 + g(g(c))"));
+    assertEquals("f(1)", expand("f(1)"));
+    assertEquals("h(2)", expand("h(2)"));
+    assertEquals("rec(z)+1", expand("rec(z)"));
+    assertEquals("sin(x*x)", expand("sin(f(x, x))"));
+  }
+
+  /**
+   * The prepared bodies are replaced after changes of the function
+   * definitions, clones of the model have their own instance.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void invalidation() throws Exception {
+    FunctionDefinitionCache cache = FunctionDefinitionCache.get(model);
+    assertSame(cache, FunctionDefinitionCache.get(model));
+    assertEquals("k*(k+1)", expand("g(k)"));
+
+    model.getFunctionDefinition("f").setMath(ASTNode.parseFormula("lambda(x, y, x + y)"));
+    assertEquals("k+k+1", expand("g(k)"));
+    model.getFunctionDefinition("f").getBody().setType(ASTNode.Type.MINUS);
+    assertEquals("k-(k+1)", expand("g(k)"));
+    model.createFunctionDefinition("h").setMath(ASTNode.parseFormula("lambda(x, 2 * x)"));
+    assertEquals("2*3", expand("h(3)"));
+    model.removeFunctionDefinition("h");
+    assertEquals("h(3)", expand("h(3)"));
+
+    Model clone = model.clone();
+    assertNotSame(cache, FunctionDefinitionCache.get(clone));
+    clone.getFunctionDefinition("f").setMath(ASTNode.parseFormula("lambda(x, y, x / y)"));
+    assertEquals("k/(k+1)", ExpandFunctionDefinitionConverter.expandFunctionDefinition(clone, ASTNode.parseFormula("g(k)")).toFormula());
+    assertSame(cache, FunctionDefinitionCache.get(model));
+    assertEquals("k-(k+1)", expand("g(k)"));
+  }
+
+  /**
+   * Deriving units does not modify the math.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void inline() throws Exception {
+    model.createParameter("k").setUnits("second");
+    KineticLaw kl = model.createReaction("r").createKineticLaw();
+    kl.setMath(ASTNode.parseFormula("id(k)"));
+    assertTrue(kl.getDerivedUnitDefinition().isVariantOfTime());
+    assertEquals("id(k)", kl.getMath().toFormula());
+
+    ASTNode math = ASTNode.parseFormula("sin(k)");
+    assertSame(math, FunctionDefinitionCache.get(model).inline(math));
+    math = ASTNode.parseFormula("k + f(k, 2)");
+    assertEquals("k+k*2", FunctionDefinitionCache.get(model).inline(math).toFormula());
+    assertEquals("k+f(k, 2)", math.toFormula());
+  }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.swing.tree.TreeNode;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.MathContainer;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.util.filters.Filter;
+
+/**
+ * Tests the rendering cache of {@link ASTNode}s.
+ *
+ * @since 1.7
+ */
+public class RenderingCacheTest {
+
+  /**
+   * The cached strings are reused until the node or one of its descendants
+   * changes.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void invalidation() throws Exception {
+    ASTNode math = ASTNode.parseFormula("k * S1 / (Km + S1)");
+    assertFalse(math.isRenderingCacheEnabled());
+    assertNotSame(math.toFormula(), math.toFormula());
+
+    math.setRenderingCacheEnabled(true);
+    assertTrue(math.isRenderingCacheEnabled());
+    String formula = math.toFormula();
+    String mathML = math.toMathML();
+    assertSame(formula, math.toFormula());
+    assertSame(mathML, math.toMathML());
+    assertSame(math.toMathMLContent("  "), math.toMathMLContent("  "));
+    assertTrue(math.toMathMLContent("  ").startsWith("  <apply>"));
+    assertTrue(math.toMathMLContent("    ").startsWith("    <apply>"));
+
+    // property change of a descendant
+    math.getRightChild().getLeftChild().setName("K");
+    assertEquals("k*S1/(K+S1)", math.toFormula());
+    assertTrue(math.toMathML().contains("<ci> K </ci>"));
+
+    // added and removed children
+    math.getLeftChild().addChild(new ASTNode("E"));
+    assertEquals("k*S1*E/(K+S1)", math.toFormula());
+    math.getLeftChild().removeChild(0);
+    assertEquals("S1*E/(K+S1)", math.toFormula());
+    math.getLeftChild().prependChild(new ASTNode(2));
+    assertEquals("2*S1*E/(K+S1)", math.toFormula());
+    math.replaceChild(1, new ASTNode("V"));
+    assertEquals("2*S1*E/V", math.toFormula());
+
+    math.setRenderingCacheEnabled(false);
+    assertFalse(math.isRenderingCacheEnabled());
+    assertEquals("2*S1*E/V", math.toFormula());
+    assertFalse(math.clone().isRenderingCacheEnabled());
+  }
+
+  /**
+   * Changes of the lists returned by {@link ASTNode#getChildren()} and
+   * {@link ASTNode#getListOfNodes()} invalidate the cached strings, too.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void childList() throws Exception {
+    ASTNode math = ASTNode.parseFormula("a + b + c");
+    math.setRenderingCacheEnabled(true);
+    String formula = math.toFormula();
+    math.getChildren().remove(0);
+    assertFalse(formula.equals(math.toFormula()));
+    assertEquals(math.clone().toFormula(), math.toFormula());
+    String mathML = math.toMathMLContent("");
+    math.getListOfNodes().add(new ASTNode("d"));
+    assertFalse(mathML.equals(math.toMathMLContent("")));
+    assertEquals(math.clone().toMathMLContent(""), math.toMathMLContent(""));
+
+    // the children of a descendant
+    ASTNode product = ASTNode.parseFormula("x * (y - z)");
+    product.setRenderingCacheEnabled(true);
+    assertEquals("x*(y-z)", product.toFormula());
+    product.getRightChild().getChildren().set(1, new ASTNode("w"));
+    assertEquals("x*(y-w)", product.toFormula());
+    product.getRightChild().getChildren().clear();
+    product.getRightChild().getChildren().add(new ASTNode("v"));
+    assertEquals("x*(-v)", product.toFormula());
+  }
+
+  /**
+   * Nested cached nodes are invalidated together, also if only some of them
+   * have been rendered since the last change.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void nested() throws Exception {
+    ASTNode math = ASTNode.parseFormula("a + (b * (c - d))");
+    ASTNode inner = math.getRightChild();
+    ASTNode leaf = inner.getRightChild().getLeftChild();
+    math.setRenderingCacheEnabled(true);
+    inner.setRenderingCacheEnabled(true);
+
+    assertEquals("b*(c-d)", inner.toFormula());
+    assertEquals("a+b*(c-d)", math.toFormula());
+    leaf.setName("x");
+    assertEquals("a+b*(x-d)", math.toFormula());
+    assertEquals("b*(x-d)", inner.toFormula());
+
+    // only the outer node has been rendered since the last change
+    inner.getLeftChild().setName("y");
+    assertEquals("a+y*(x-d)", math.toFormula());
+    leaf.setName("z");
+    assertEquals("y*(z-d)", inner.toFormula());
+    assertEquals("a+y*(z-d)", math.toFormula());
+
+    // a change outside of the inner node
+    math.getLeftChild().setName("w");
+    assertEquals("y*(z-d)", inner.toFormula());
+    leaf.setName("v");
+    assertEquals("w+y*(v-d)", math.toFormula());
+
+    // a new child is part of the renderings of its ancestors
+    ASTNode added = new ASTNode("e");
+    inner.getRightChild().addChild(added);
+    assertEquals("w+y*(v-d-e)", math.toFormula());
+    added.setName("f");
+    assertEquals("w+y*(v-d-f)", math.toFormula());
+    assertEquals("y*(v-d-f)", inner.toFormula());
+  }
+
+  /**
+   * The {@link SBMLWriter} writes the same document with and without the
+   * cache, also after changes of the math.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void writer() throws Exception {
+    SBMLDocument doc = new SBMLReader().readSBMLFromStream(RenderingCacheTest.class.getResourceAsStream(
+      "/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    String expected = new SBMLWriter().writeSBMLToString(doc);
+
+    int count = 0;
+    for (TreeNode node : doc.filter(new Filter() {
+      /* (non-Javadoc)
+       * @see org.sbml.jsbml.util.filters.Filter#accepts(java.lang.Object)
+       */
+      @Override
+      public boolean accepts(Object o) {
+        return (o instanceof MathContainer) && ((MathContainer) o).isSetMath();
+      }
+    })) {
+      ((MathContainer) node).getMath().setRenderingCacheEnabled(true);
+      count++;
+    }
+    assertTrue(count > 0);
+    assertEquals(expected, new SBMLWriter().writeSBMLToString(doc));
+    assertEquals(expected, new SBMLWriter().writeSBMLToString(doc));
+
+    ASTNode math = doc.getModel().getReaction(0).getKineticLaw().getMath();
+    ASTNode leaf = math;
+    while (!leaf.isLeaf()) {
+      leaf = leaf.getLeftChild();
+    }
+    String name = leaf.getName();
+    leaf.setName("renamed");
+    String changed = new SBMLWriter().writeSBMLToString(doc);
+    assertTrue(changed.contains("<ci> renamed </ci>"));
+
+    leaf.setName(name);
+    assertEquals(expected, new SBMLWriter().writeSBMLToString(doc));
+  }
+
+}
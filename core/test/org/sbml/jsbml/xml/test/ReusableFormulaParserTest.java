@@ -0,0 +1,107 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sbml.jsbml.ASTNode;
+import org.sbml.jsbml.text.parser.FormulaParserLL3;
+import org.sbml.jsbml.text.parser.ParseException;
+import org.sbml.jsbml.text.parser.ReusableFormulaParser;
+
+/**
+ * Tests the {@link ReusableFormulaParser}.
+ *
+ * @since 1.7
+ */
+public class ReusableFormulaParserTest {
+
+  /**
+   * The same results as with a new parser for each formula, also after
+   * formulas that cannot be parsed.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void reuse() throws Exception {
+    ReusableFormulaParser parser = ReusableFormulaParser.get();
+    assertSame(parser, ReusableFormulaParser.get());
+
+    String[] formulas = {"k * S1 / (Km + S1)", "piecewise(1, x > 2, 0)", "x &&", "exp(-t) + sin(pi)", "x $ 3", "2^3^4"};
+    for (String formula : formulas) {
+      ASTNode expected = null;
+      try {
+        expected = ASTNode.parseFormula(formula, new FormulaParserLL3(new StringReader("")));
+      } catch (ParseException e) {
+        // compared below
+      }
+      ASTNode actual = null;
+      try {
+        actual = parser.parse(new StringBuilder(formula));
+      } catch (ParseException e) {
+        // compared below
+      }
+      if (expected == null) {
+        assertNull(formula, actual);
+      } else {
+        assertEquals(formula, expected.toFormula(), actual.toFormula());
+        assertEquals(formula, expected.toFormula(), ASTNode.parseFormula(formula).toFormula());
+      }
+    }
+  }
+
+  /**
+   * @throws Exception
+   */
+  @Test
+  public void batch() throws Exception {
+    ReusableFormulaParser parser = new ReusableFormulaParser(new FormulaParserLL3(new StringReader("")));
+    List<String> formulas = Arrays.asList("a + b", "f(a, 2)", "(a", "3 * c");
+
+    List<ParseException> errors = new ArrayList<ParseException>();
+    List<ASTNode> results = parser.parseAll(formulas, errors);
+    assertEquals(4, results.size());
+    assertEquals(4, errors.size());
+    assertEquals("a+b", results.get(0).toFormula());
+    assertNull(results.get(2));
+    assertNotNull(errors.get(2));
+    assertNull(errors.get(3));
+    assertEquals("3*c", results.get(3).toFormula());
+
+    try {
+      parser.parseAll(formulas);
+      assertTrue("ParseException expected", false);
+    } catch (ParseException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("Could not parse formula 2 '(a'"));
+    }
+    assertEquals(2, parser.parseAll(formulas.subList(0, 2)).size());
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.xml.stax.SBMLCorpusReader;
+import org.sbml.jsbml.xml.stax.SBMLCorpusReader.DocumentHandler;
+import org.sbml.jsbml.xml.stax.SBMLCorpusReader.FileStatistics;
+import org.sbml.jsbml.xml.stax.SBMLIOConfiguration;
+
+/**
+ * Tests the {@link SBMLCorpusReader}.
+ *
+ * @since 1.7
+ */
+public class SBMLCorpusReaderTest {
+
+  /**
+   *
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Reads a small corpus that contains a broken file, with a heap budget
+   * that is smaller than a single document, so that the files are read one
+   * after the other.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void readCorpus() throws Exception {
+    SBMLDocument doc = SBMLReader.read(getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml"));
+    File directory = folder.newFolder("corpus");
+    for (int i = 0; i < 5; i++) {
+      SBMLWriter.write(doc, new File(directory, "model" + i + ".xml"), ' ', (short) 2);
+    }
+    SBMLWriter.write(doc, new File(directory, "model5.xml.gz"), ' ', (short) 2);
+    FileWriter writer = new FileWriter(new File(directory, "broken.xml"));
+    writer.write("<sbml><model>");
+    writer.close();
+    new File(directory, "notes.txt").createNewFile();
+
+    List<File> files = SBMLCorpusReader.findFiles(directory);
+    assertEquals(7, files.size());
+
+    final AtomicInteger handled = new AtomicInteger();
+    final AtomicInteger inProgress = new AtomicInteger();
+    final AtomicInteger maxInProgress = new AtomicInteger();
+    SBMLCorpusReader reader = new SBMLCorpusReader(new SBMLIOConfiguration(), 4, 1024L);
+    reader.setValidate(true);
+    List<FileStatistics> results = reader.read(files, new DocumentHandler() {
+      @Override
+      public void handle(File file, SBMLDocument doc, FileStatistics statistics) throws Exception {
+        int n = inProgress.incrementAndGet();
+        synchronized (maxInProgress) {
+          maxInProgress.set(Math.max(n, maxInProgress.get()));
+        }
+        assertTrue(doc.getModel().getNumReactions() > 0);
+        handled.incrementAndGet();
+        inProgress.decrementAndGet();
+        if (file.getName().equals("model4.xml")) {
+          throw new IllegalStateException("handler failure");
+        }
+      }
+    });
+
+    assertEquals(files.size(), results.size());
+    assertEquals(6, handled.get());
+    assertEquals(1, maxInProgress.get());
+    int successful = 0;
+    for (int i = 0; i < files.size(); i++) {
+      FileStatistics statistics = results.get(i);
+      assertEquals(files.get(i), statistics.getFile());
+      assertEquals(files.get(i).length(), statistics.getSize());
+      String name = statistics.getFile().getName();
+      if (name.equals("broken.xml")) {
+        assertFalse(statistics.isSuccessful());
+        assertEquals(-1, statistics.getNumValidationErrors());
+      } else if (name.equals("model4.xml")) {
+        assertTrue(statistics.getError() instanceof IllegalStateException);
+      } else {
+        assertTrue(statistics.toString(), statistics.isSuccessful());
+        assertTrue(statistics.getReadTime() > 0);
+        assertTrue(statistics.getNumValidationErrors() >= 0);
+        assertNotNull(statistics.getThreadName());
+        successful++;
+      }
+    }
+    assertEquals(5, successful);
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.xml.stax.SBMLDocumentCache;
+
+/**
+ * Tests the {@link SBMLDocumentCache}.
+ *
+ * @since 1.7
+ */
+public class SBMLDocumentCacheTest {
+
+  /**
+   *
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   *
+   */
+  private File modelFile;
+
+  /**
+   * @throws Exception
+   */
+  @Before
+  public void setUp() throws Exception {
+    modelFile = folder.newFile("BIOMD0000000025.xml");
+    InputStream in = getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml");
+    OutputStream out = new FileOutputStream(modelFile);
+    try {
+      byte[] buffer = new byte[8192];
+      for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+        out.write(buffer, 0, n);
+      }
+    } finally {
+      in.close();
+      out.close();
+    }
+  }
+
+  /**
+   * Checks that the second read of an unchanged file is served from the cache
+   * and gives a document equal to the one read directly.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void repeatedReadHitsCache() throws Exception {
+    SBMLDocumentCache cache = new SBMLDocumentCache(folder.newFolder("cache"));
+    SBMLDocument first = cache.read(modelFile);
+    SBMLDocument second = cache.read(modelFile);
+
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertNotSame(first, second);
+    assertEquals(SBMLReader.read(modelFile), second);
+    assertEquals(modelFile.toURI().toString(), second.getLocationURI());
+    assertTrue(second.getModel().getSpeciesCount() > 0);
+    assertTrue(second.getTreeNodeChangeListenerCount() > 0);
+  }
+
+  /**
+   * Checks that a corrupted entry is discarded and the file parsed again.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void corruptedEntryIsIgnored() throws Exception {
+    SBMLDocumentCache cache = new SBMLDocumentCache(folder.newFolder("cache"));
+    SBMLDocument expected = cache.read(modelFile);
+
+    File[] entries = cache.getDirectory().listFiles();
+    assertEquals(1, entries.length);
+    RandomAccessFile raf = new RandomAccessFile(entries[0], "rw");
+    try {
+      raf.seek(raf.length() - 10);
+      raf.write(new byte[] {1, 2, 3, 4, 5});
+    } finally {
+      raf.close();
+    }
+
+    SBMLDocument doc = cache.read(modelFile);
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getHitCount());
+    assertEquals(expected, doc);
+  }
+
+  /**
+   * Checks that an entry with a valid digest is still discarded if it
+   * contains instances of classes that are not allowed in a cache entry.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void foreignClassesAreRejected() throws Exception {
+    SBMLDocumentCache cache = new SBMLDocumentCache(folder.newFolder("cache"));
+    SBMLDocument doc = cache.read(modelFile);
+
+    // replace the payload, keeping the header of the entry
+    File entry = cache.getDirectory().listFiles()[0];
+    DataInputStream in = new DataInputStream(new FileInputStream(entry));
+    int magic, version;
+    try {
+      magic = in.readInt();
+      version = in.readInt();
+    } finally {
+      in.close();
+    }
+    doc.putUserObject("file", new File("foreign"));
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    ObjectOutputStream objectOut = new ObjectOutputStream(buffer);
+    objectOut.writeObject(doc);
+    objectOut.close();
+    byte[] payload = buffer.toByteArray();
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(entry));
+    try {
+      out.writeInt(magic);
+      out.writeInt(version);
+      out.writeInt(payload.length);
+      out.write(MessageDigest.getInstance("SHA-256").digest(payload));
+      out.write(payload);
+    } finally {
+      out.close();
+    }
+
+    SBMLDocument read = cache.read(modelFile);
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getHitCount());
+    assertNull(read.getUserObject("file"));
+
+    // the entry has been replaced by a valid one
+    cache.read(modelFile);
+    assertEquals(1, cache.getHitCount());
+  }
+
+  /**
+   * Checks that different reader options lead to different keys.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void readerOptionsArePartOfKey() throws Exception {
+    File dir = folder.newFolder("cache");
+    byte[] content = "<sbml/>".getBytes("UTF-8");
+    String key1 = new SBMLDocumentCache(dir, SBMLDocumentCache.DEFAULT_MAX_SIZE, "a").computeKey(content);
+    String key2 = new SBMLDocumentCache(dir, SBMLDocumentCache.DEFAULT_MAX_SIZE, "b").computeKey(content);
+    assertFalse(key1.equals(key2));
+  }
+
+  /**
+   * Checks that the least recently used entries are evicted.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void evictsWhenFull() throws Exception {
+    SBMLDocumentCache cache = new SBMLDocumentCache(folder.newFolder("cache"), 1L);
+    cache.read(modelFile);
+    assertEquals(0L, cache.getSize());
+    cache.read(modelFile);
+    assertEquals(2, cache.getMissCount());
+  }
+
+}
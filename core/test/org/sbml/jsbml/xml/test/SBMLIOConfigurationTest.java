@@ -0,0 +1,94 @@
+/*
+ * ----------------------------------------------------------------------------
+ * This file is part of JSBML. Please visit <http://sbml.org/Software/JSBML>
+ * for the latest version of JSBML and more information about SBML.
+ *
+ * Copyright (C) 2009-2022 jointly by the following organizations:
+ * 1. The University of Tuebingen, Germany
+ * 2. EMBL European Bioinformatics Institute (EBML-EBI), Hinxton, UK
+ * 3. The California Institute of Technology, Pasadena, CA, USA
+ * 4. The University of California, San Diego, La Jolla, CA, USA
+ * 5. The Babraham Institute, Cambridge, UK
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation. A copy of the license agreement is provided
+ * in the file named "LICENSE.txt" included with this software distribution
+ * and also available online as <http://sbml.org/Software/JSBML/License>.
+ * ----------------------------------------------------------------------------
+ */
+package org.sbml.jsbml.xml.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sbml.jsbml.SBMLDocument;
+import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.xml.parsers.ReadingParser;
+import org.sbml.jsbml.xml.stax.SBMLIOConfiguration;
+
+/**
+ * Tests sharing one {@link SBMLIOConfiguration} between threads.
+ *
+ * @since 1.7
+ */
+public class SBMLIOConfigurationTest {
+
+  /**
+   * Each reader must get its own parser instances.
+   */
+  @Test
+  public void parsersAreNotShared() {
+    SBMLIOConfiguration configuration = SBMLIOConfiguration.getDefault();
+    ReadingParser core1 = configuration.createReadingParsers().get("http://www.sbml.org/sbml/level3/version1/core");
+    ReadingParser core2 = configuration.createReadingParsers().get("http://www.sbml.org/sbml/level3/version1/core");
+    ReadingParser core3 = configuration.createReadingParsers().get("http://www.sbml.org/sbml/level3/version2/core");
+    assertNotNull(core3);
+    assertNotSame(core1, core2);
+    assertTrue(core1.getClass() == core2.getClass());
+    assertSame(SBMLIOConfiguration.getDefault(), new org.sbml.jsbml.xml.stax.SBMLReader().getConfiguration());
+  }
+
+  /**
+   * Reads the same model concurrently from several threads.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void concurrentReading() throws Exception {
+    final SBMLIOConfiguration configuration = new SBMLIOConfiguration();
+    final String xml = configuration.writeSBMLToString(SBMLReader.read(
+      getClass().getResourceAsStream("/org/sbml/jsbml/xml/test/data/l2v1/BIOMD0000000025.xml")));
+    SBMLDocument expected = configuration.readSBMLFromString(xml);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<SBMLDocument>> results = new ArrayList<Future<SBMLDocument>>();
+      for (int i = 0; i < 32; i++) {
+        results.add(executor.submit(new Callable<SBMLDocument>() {
+          @Override
+          public SBMLDocument call() throws Exception {
+            return configuration.readSBMLFromString(xml);
+          }
+        }));
+      }
+      for (Future<SBMLDocument> result : results) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
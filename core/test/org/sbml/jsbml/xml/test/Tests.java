@@ -24,9 +24,26 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 import org.sbml.jsbml.math.test.ASTNodeInfixParsingTest;
 import org.sbml.jsbml.math.test.ASTNodeTest;
+import org.sbml.jsbml.math.test.PrattFormulaParserTest;
 import org.sbml.jsbml.math.test.TestInfixOperatorPrecedence;
+import org.sbml.jsbml.test.CloneTest;
+import org.sbml.jsbml.test.FrozenDocumentTest;
+import org.sbml.jsbml.test.TransactionTest;
 import org.sbml.jsbml.test.IdRegistrationTest;
 import org.sbml.jsbml.test.RemoveFromParentTest;
+import org.sbml.jsbml.util.ASTNodeTraversalTest;
+import org.sbml.jsbml.util.CompiledRightHandSideTest;
+import org.sbml.jsbml.util.CompressionToolsTest;
+import org.sbml.jsbml.util.DifferentiatorTest;
+import org.sbml.jsbml.util.ExpressionDAGTest;
+import org.sbml.jsbml.util.MappedFileInputStreamTest;
+import org.sbml.jsbml.util.ModelDependencyGraphTest;
+import org.sbml.jsbml.util.SBMLDocumentDiffTest;
+import org.sbml.jsbml.util.SBMLDocumentFingerprintsTest;
+import org.sbml.jsbml.util.SBMLDocumentIndexTest;
+import org.sbml.jsbml.util.SBMLDocumentVariantTest;
+import org.sbml.jsbml.util.TreeNodeChangeDispatcherTest;
+import org.sbml.jsbml.util.TreeNodeIteratorTest;
 
 /**
  * JUnit suite of tests, including all test classes for SBML core.
@@ -38,7 +55,16 @@ import org.sbml.jsbml.test.RemoveFromParentTest;
 @SuiteClasses(value={SBML_L1VxTests.class, SBML_L2V1Test.class, GetNotesStringTests.class,
   UnregisterTests.class, RemoveFromParentTest.class, CVTermTests.class, RemoveFromParentTest.class, ASTNodeTest.class,
   ASTNodeInfixParsingTest.class, TestInfixOperatorPrecedence.class, IdRegistrationTest.class, XMLTokenTest.class,
-  CreatorTests.class, NestedCVTermTests.class, XXEInjectionTests.class, LibsbmlCompatibilityTests.class})
+  CreatorTests.class, NestedCVTermTests.class, XXEInjectionTests.class, LibsbmlCompatibilityTests.class,
+  SBMLDocumentCacheTest.class, CompressionToolsTest.class,
+  MappedFileInputStreamTest.class, SBMLIOConfigurationTest.class, SBMLCorpusReaderTest.class, ASTNodeLayoutTest.class, ExpressionDAGTest.class,
+  DifferentiatorTest.class, ReusableFormulaParserTest.class,
+  PrattFormulaParserTest.class, RenderingCacheTest.class,
+  FunctionDefinitionCacheTest.class, ASTNodeTraversalTest.class,
+  ModelDependencyGraphTest.class, CompiledRightHandSideTest.class,
+  TreeNodeIteratorTest.class, SBMLDocumentIndexTest.class, SBMLDocumentFingerprintsTest.class,
+  SBMLDocumentDiffTest.class, CloneTest.class, SBMLDocumentVariantTest.class,
+  FrozenDocumentTest.class, TransactionTest.class, TreeNodeChangeDispatcherTest.class})
 public class Tests {
 
 }
@@ -21,11 +21,22 @@ package org.sbml.jsbml.xml.test;
 
 import com.ctc.wstx.exc.WstxParsingException;
 import org.junit.Test;
+import org.sbml.jsbml.SBMLDocument;
 import org.sbml.jsbml.SBMLReader;
+import org.sbml.jsbml.SBMLWriter;
+import org.sbml.jsbml.util.CompressionTools;
 
 import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.junit.Assert.*;
 
@@ -64,4 +75,36 @@ public class XXEInjectionTests {
             }
         }
     }
+
+    @Test()
+    public void readingCombineManifestsContainingExternalEntitiesThrowsAnException() throws Exception {
+        // if the entity was resolved, the manifest would point to the model
+        File probe = File.createTempFile("xxe-probe", ".txt");
+        probe.deleteOnExit();
+        Writer probeWriter = new OutputStreamWriter(new FileOutputStream(probe), "UTF-8");
+        probeWriter.write("model.xml");
+        probeWriter.close();
+        String manifest = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE omexManifest [<!ENTITY xxe SYSTEM \"" + probe.toURI() + "\">]>\n"
+                + "<omexManifest xmlns=\"http://identifiers.org/combine.specifications/omex-manifest\">\n"
+                + "  <content location=\"&xxe;\" format=\"http://identifiers.org/combine.specifications/sbml\" master=\"true\"/>\n"
+                + "</omexManifest>\n";
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(archive);
+        zip.putNextEntry(new ZipEntry("manifest.xml"));
+        zip.write(manifest.getBytes("UTF-8"));
+        zip.closeEntry();
+        zip.putNextEntry(new ZipEntry("model.xml"));
+        zip.write(new SBMLWriter().writeSBMLToString(new SBMLDocument(3, 1)).getBytes("UTF-8"));
+        zip.closeEntry();
+        zip.close();
+
+        try {
+            CompressionTools.decompress(new ByteArrayInputStream(archive.toByteArray())).close();
+            fail("Manifest containing XXE injection did not throw an exception -- possible vulnerability detected!");
+        } catch (IOException expected) {
+            assertFalse("The path of the external entity is not reported",
+                    String.valueOf(expected.getMessage()).contains(probe.getName()));
+        }
+    }
 }
@@ -198,6 +198,7 @@ public class Dimension extends AbstractNamedSBase implements CallableSBase {
    * @param size the value of size
    */
   public void setSize(String size) {
+    checkNotFrozen();
     String oldSize = this.size;
     this.size = size;
     firePropertyChange(ArraysConstants.size, oldSize, this.size);
@@ -211,6 +212,7 @@ public class Dimension extends AbstractNamedSBase implements CallableSBase {
    *         otherwise {@code false}
    */
   public boolean unsetSize() {
+    checkNotFrozen();
     if (isSetSize()) {
       String oldSize = size;
       size = null;
@@ -252,6 +254,7 @@ public class Dimension extends AbstractNamedSBase implements CallableSBase {
    * @param arrayDimension the value of arrayDimension
    */
   public void setArrayDimension(int arrayDimension) {
+    checkNotFrozen();
     int oldArrayDimension = this.arrayDimension;
     this.arrayDimension = arrayDimension;
     isSetArrayDimension = true;
@@ -266,6 +269,7 @@ public class Dimension extends AbstractNamedSBase implements CallableSBase {
    *         otherwise {@code false}
    */
   public boolean unsetArrayDimension() {
+    checkNotFrozen();
     if (isSetArrayDimension()) {
       int oldArrayDimension = arrayDimension;
       arrayDimension = -1;
@@ -146,6 +146,7 @@ public class Index extends AbstractMathContainer {
    * @param referencedAttribute the value of referencedAttribute
    */
   public void setReferencedAttribute(String referencedAttribute) {
+    checkNotFrozen();
     String oldReferencedAttribute = this.referencedAttribute;
     this.referencedAttribute = referencedAttribute;
     firePropertyChange(ArraysConstants.referencedAttribute, oldReferencedAttribute, this.referencedAttribute);
@@ -159,6 +160,7 @@ public class Index extends AbstractMathContainer {
    *         otherwise {@code false}
    */
   public boolean unsetReferencedAttribute() {
+    checkNotFrozen();
     if (isSetReferencedAttribute()) {
       String oldReferencedAttribute = referencedAttribute;
       referencedAttribute = null;
@@ -200,6 +202,7 @@ public class Index extends AbstractMathContainer {
    * @param arrayDimension the value of arrayDimension
    */
   public void setArrayDimension(int arrayDimension) {
+    checkNotFrozen();
     int oldArrayDimension = this.arrayDimension;
     this.arrayDimension = arrayDimension;
     isSetArrayDimension = true;
@@ -214,6 +217,7 @@ public class Index extends AbstractMathContainer {
    *         otherwise {@code false}
    */
   public boolean unsetArrayDimension() {
+    checkNotFrozen();
     if (isSetArrayDimension()) {
       int oldArrayDimension = arrayDimension;
       arrayDimension = -1;
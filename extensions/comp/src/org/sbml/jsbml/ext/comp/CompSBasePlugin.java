@@ -245,6 +245,7 @@ public class CompSBasePlugin extends AbstractSBasePlugin {
    *
    */
   public void setReplacedBy(ReplacedBy replacedBy) {
+    checkNotFrozen();
     ReplacedBy oldReplacedBy = this.replacedBy;
     this.replacedBy = replacedBy;
     if (extendedSBase != null) {
@@ -270,6 +271,7 @@ public class CompSBasePlugin extends AbstractSBasePlugin {
    *         otherwise {@code false}
    */
   public boolean unsetReplacedBy() {
+    checkNotFrozen();
     if (isSetReplacedBy()) {
       ReplacedBy oldReplacedBy = replacedBy;
       replacedBy = null;
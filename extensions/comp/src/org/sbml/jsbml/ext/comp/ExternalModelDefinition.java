@@ -266,6 +266,7 @@ public class ExternalModelDefinition extends AbstractNamedSBase
    *        the value of the source
    */
   public void setSource(String source) {
+    checkNotFrozen();
     String oldSource = this.source;
     this.source = source;
     firePropertyChange(CompConstants.source, oldSource, this.source);
@@ -278,6 +279,7 @@ public class ExternalModelDefinition extends AbstractNamedSBase
    * @return {@code true }, if source was set before, otherwise {@code false}
    */
   public boolean unsetSource() {
+    checkNotFrozen();
     if (isSetSource()) {
       String oldSource = source;
       source = null;
@@ -338,6 +340,7 @@ public class ExternalModelDefinition extends AbstractNamedSBase
    *        the value of modelRef
    */
   public void setModelRef(String modelRef) {
+    checkNotFrozen();
     String oldModelRef = this.modelRef;
     if (modelRef != null && modelRef.trim().length() == 0) {
       modelRef = null;
@@ -353,6 +356,7 @@ public class ExternalModelDefinition extends AbstractNamedSBase
    * @return {@code true}, if modelRef was set before, otherwise {@code false}
    */
   public boolean unsetModelRef() {
+    checkNotFrozen();
     if (isSetModelRef()) {
       String oldModelRef = modelRef;
       modelRef = null;
@@ -402,6 +406,7 @@ public class ExternalModelDefinition extends AbstractNamedSBase
    *        the value of md5
    */
   public void setMd5(String md5) {
+    checkNotFrozen();
     String oldMd5 = this.md5;
     if (md5 != null && md5.trim().length() == 0) {
       md5 = null;
@@ -417,6 +422,7 @@ public class ExternalModelDefinition extends AbstractNamedSBase
    * @return {@code true}, if md5 was set before, otherwise {@code false}
    */
   public boolean unsetMd5() {
+    checkNotFrozen();
     if (isSetMd5()) {
       String oldMd5 = md5;
       md5 = null;
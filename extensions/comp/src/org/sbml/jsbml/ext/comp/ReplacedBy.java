@@ -168,6 +168,7 @@ public class ReplacedBy extends SBaseRef {
    * 
    */
   public void setSubmodelRef(String submodelRef) {
+    checkNotFrozen();
     String oldSubmodelRef = this.submodelRef;
     this.submodelRef = submodelRef;
     firePropertyChange(CompConstants.submodelRef, oldSubmodelRef, this.submodelRef);
@@ -179,6 +180,7 @@ public class ReplacedBy extends SBaseRef {
    *         otherwise {@code false}
    */
   public boolean unsetSubmodelRef() {
+    checkNotFrozen();
     if (isSetSubmodelRef()) {
       String oldSubmodelRef = submodelRef;
       submodelRef = null;
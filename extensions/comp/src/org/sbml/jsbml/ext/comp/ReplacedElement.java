@@ -206,6 +206,7 @@ public class ReplacedElement extends SBaseRef {
    * @param submodelRef the value of submodelRef
    */
   public void setSubmodelRef(String submodelRef) {
+    checkNotFrozen();
     String oldSubmodelRef = this.submodelRef;
     this.submodelRef = submodelRef;
     firePropertyChange(CompConstants.submodelRef, oldSubmodelRef, this.submodelRef);
@@ -218,6 +219,7 @@ public class ReplacedElement extends SBaseRef {
    *         otherwise {@code false}
    */
   public boolean unsetSubmodelRef() {
+    checkNotFrozen();
     if (isSetSubmodelRef()) {
       String oldSubmodelRef = submodelRef;
       submodelRef = null;
@@ -268,6 +270,7 @@ public class ReplacedElement extends SBaseRef {
    * @param deletion the value of deletion
    */
   public void setDeletion(String deletion) {
+    checkNotFrozen();
     String oldDeletion = this.deletion;
     this.deletion = deletion;
     firePropertyChange(CompConstants.deletion, oldDeletion, this.deletion);
@@ -280,6 +283,7 @@ public class ReplacedElement extends SBaseRef {
    *         otherwise {@code false}
    */
   public boolean unsetDeletion() {
+    checkNotFrozen();
     if (isSetDeletion()) {
       String oldDeletion = deletion;
       deletion = null;
@@ -327,6 +331,7 @@ public class ReplacedElement extends SBaseRef {
    * 
    */
   public void setConversionFactor(String conversionFactor) {
+    checkNotFrozen();
     String oldConversionFactor = this.conversionFactor;
     this.conversionFactor = conversionFactor;
     firePropertyChange(CompConstants.conversionFactor, oldConversionFactor, this.conversionFactor);
@@ -339,6 +344,7 @@ public class ReplacedElement extends SBaseRef {
    *         otherwise {@code false}
    */
   public boolean unsetConversionFactor() {
+    checkNotFrozen();
     if (isSetConversionFactor()) {
       String oldConversionFactor = conversionFactor;
       conversionFactor = null;
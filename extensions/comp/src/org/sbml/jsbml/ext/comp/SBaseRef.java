@@ -181,6 +181,7 @@ public class SBaseRef extends AbstractSBase {
    * 
    */
   public void setPortRef(String portRef) {
+    checkNotFrozen();
     
     if (portRef != null && portRef.trim().length() == 0) {
       portRef = null;
@@ -203,6 +204,7 @@ public class SBaseRef extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetPortRef() {
+    checkNotFrozen();
     if (isSetPortRef()) {
       String oldPortRef = portRef;
       portRef = null;
@@ -249,6 +251,7 @@ public class SBaseRef extends AbstractSBase {
    * 
    */
   public void setIdRef(String idRef) {
+    checkNotFrozen();
     
     if (idRef != null && idRef.trim().length() == 0) {
       idRef = null;
@@ -271,6 +274,7 @@ public class SBaseRef extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetIdRef() {
+    checkNotFrozen();
     if (isSetIdRef()) {
       String oldIdRef = idRef;
       idRef = null;
@@ -321,6 +325,7 @@ public class SBaseRef extends AbstractSBase {
    * 
    */
   public void setUnitRef(String unitRef) {
+    checkNotFrozen();
     String oldUnitRef = this.unitRef;
     this.unitRef = unitRef;
     firePropertyChange(CompConstants.unitRef, oldUnitRef, this.unitRef);
@@ -333,6 +338,7 @@ public class SBaseRef extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetUnitRef() {
+    checkNotFrozen();
     if (isSetUnitRef()) {
       String oldUnitRef = unitRef;
       unitRef = null;
@@ -380,6 +386,7 @@ public class SBaseRef extends AbstractSBase {
    * @param metaIdRef the value of metaIdRef
    */
   public void setMetaIdRef(String metaIdRef) {
+    checkNotFrozen();
     
     if (metaIdRef != null && metaIdRef.trim().length() == 0) {
       metaIdRef = null;
@@ -408,6 +415,7 @@ public class SBaseRef extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetMetaIdRef() {
+    checkNotFrozen();
     if (isSetMetaIdRef()) {
       String oldIdRef = metaIdRef;
       metaIdRef = null;
@@ -464,6 +472,7 @@ public class SBaseRef extends AbstractSBase {
    * 
    */
   public void setSBaseRef(SBaseRef sBaseRef) {
+    checkNotFrozen();
     SBaseRef oldSBaseRef = this.sBaseRef;
     this.sBaseRef = sBaseRef;
     firePropertyChange(CompConstants.sBaseRef, oldSBaseRef, this.sBaseRef);
@@ -478,6 +487,7 @@ public class SBaseRef extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetSBaseRef() {
+    checkNotFrozen();
     if (isSetSBaseRef()) {
       SBaseRef oldSBaseRef = sBaseRef;
       sBaseRef = null;
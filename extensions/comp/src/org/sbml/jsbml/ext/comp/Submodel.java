@@ -278,6 +278,7 @@ public class Submodel extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param modelRef the value of modelRef
    */
   public void setModelRef(String modelRef) {
+    checkNotFrozen();
     String oldModelRef = this.modelRef;
     this.modelRef = modelRef;
     firePropertyChange(CompConstants.modelRef, oldModelRef, this.modelRef);
@@ -290,6 +291,7 @@ public class Submodel extends AbstractNamedSBase implements UniqueNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetModelRef() {
+    checkNotFrozen();
     if (isSetModelRef()) {
       String oldModelRef = modelRef;
       modelRef = null;
@@ -336,6 +338,7 @@ public class Submodel extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param timeConversionFactor the value of timeConversionFactor
    */
   public void setTimeConversionFactor(String timeConversionFactor) {
+    checkNotFrozen();
     String oldTimeConversionFactor = this.timeConversionFactor;
     this.timeConversionFactor = timeConversionFactor;
     firePropertyChange(CompConstants.timeConversionFactor, oldTimeConversionFactor, this.timeConversionFactor);
@@ -348,6 +351,7 @@ public class Submodel extends AbstractNamedSBase implements UniqueNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetTimeConversionFactor() {
+    checkNotFrozen();
     if (isSetTimeConversionFactor()) {
       String oldTimeConversionFactor = timeConversionFactor;
       timeConversionFactor = null;
@@ -395,6 +399,7 @@ public class Submodel extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param extentConversionFactor the value of the optional extentConversionFactor
    */
   public void setExtentConversionFactor(String extentConversionFactor) {
+    checkNotFrozen();
     String oldExtentConversionFactor = this.extentConversionFactor;
     this.extentConversionFactor = extentConversionFactor;
     firePropertyChange(CompConstants.extentConversionFactor, oldExtentConversionFactor, this.extentConversionFactor);
@@ -407,6 +412,7 @@ public class Submodel extends AbstractNamedSBase implements UniqueNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetExtentConversionFactor() {
+    checkNotFrozen();
     if (isSetExtentConversionFactor()) {
       String oldExtentConversionFactor = extentConversionFactor;
       extentConversionFactor = null;
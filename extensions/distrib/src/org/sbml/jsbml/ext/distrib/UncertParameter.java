@@ -363,6 +363,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @param type the value of type to be set.
    */
   public void setType(Type type) {
+    checkNotFrozen();
     Type oldType = this.type;
     this.type = type;
     firePropertyChange(DistribConstants.type, oldType, this.type);
@@ -374,6 +375,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @return {@code true} if type was set before, otherwise {@code false}.
    */
   public boolean unsetType() {
+    checkNotFrozen();
     if (isSetType()) {
       Type oldType = this.type;
       this.type = null;
@@ -413,6 +415,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @param value the value of value to be set.
    */
   public void setValue(double value) {
+    checkNotFrozen();
     Double oldValue = this.value;
     this.value = value;
     firePropertyChange(DistribConstants.value, oldValue, this.value);
@@ -424,6 +427,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @return {@code true} if value was set before, otherwise {@code false}.
    */
   public boolean unsetValue() {
+    checkNotFrozen();
     if (isSetValue()) {
       Double oldValue = this.value;
       this.value = null;
@@ -462,6 +466,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @param var the value of var to be set.
    */
   public void setVar(String var) {
+    checkNotFrozen();
     String oldVar = this.var;
     this.var = var;
     firePropertyChange(DistribConstants.var, oldVar, this.var);
@@ -473,6 +478,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @return {@code true} if var was set before, otherwise {@code false}.
    */
   public boolean unsetVar() {
+    checkNotFrozen();
     if (isSetVar()) {
       String oldVar = this.var;
       this.var = null;
@@ -511,6 +517,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @param units the value of units to be set.
    */
   public void setUnits(String units) {
+    checkNotFrozen();
     String oldUnits = this.units;
     this.units = units;
     firePropertyChange(DistribConstants.units, oldUnits, this.units);
@@ -522,6 +529,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @return {@code true} if units was set before, otherwise {@code false}.
    */
   public boolean unsetUnits() {
+    checkNotFrozen();
     if (isSetUnits()) {
       String oldUnits = this.units;
       this.units = null;
@@ -560,6 +568,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @param definitionURL the value of definitionURL to be set.
    */
   public void setDefinitionURL(String definitionURL) {
+    checkNotFrozen();
     String oldDefinitionURL = this.definitionURL;
     this.definitionURL = definitionURL;
     firePropertyChange(DistribConstants.definitionURL, oldDefinitionURL, this.definitionURL);
@@ -571,6 +580,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    * @return {@code true} if definitionURL was set before, otherwise {@code false}.
    */
   public boolean unsetDefinitionURL() {
+    checkNotFrozen();
     if (isSetDefinitionURL()) {
       String oldDefinitionURL = this.definitionURL;
       this.definitionURL = null;
@@ -798,6 +808,7 @@ public class UncertParameter extends AbstractDistribSBase implements MathContain
    */
   @Override
   public void setMath(ASTNode math) {
+    checkNotFrozen();
     ASTNode oldMath = this.math;
     this.math = math;
     if (oldMath != null) {
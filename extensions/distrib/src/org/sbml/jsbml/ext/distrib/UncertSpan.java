@@ -185,6 +185,7 @@ public class UncertSpan extends UncertParameter {
    * @param valueLower the value of valueLower to be set.
    */
   public void setValueLower(double valueLower) {
+    checkNotFrozen();
     Double oldValueLower = this.valueLower;
     this.valueLower = valueLower;
     firePropertyChange(DistribConstants.valueLower, oldValueLower, this.valueLower);
@@ -196,6 +197,7 @@ public class UncertSpan extends UncertParameter {
    * @return {@code true} if valueLower was set before, otherwise {@code false}.
    */
   public boolean unsetValueLower() {
+    checkNotFrozen();
     if (isSetValueLower()) {
       Double oldValueLower = this.valueLower;
       this.valueLower = null;
@@ -234,6 +236,7 @@ public class UncertSpan extends UncertParameter {
    * @param valueUpper the value of valueUpper to be set.
    */
   public void setValueUpper(double valueUpper) {
+    checkNotFrozen();
     Double oldValueUpper = this.valueUpper;
     this.valueUpper = valueUpper;
     firePropertyChange(DistribConstants.valueUpper, oldValueUpper, this.valueUpper);
@@ -245,6 +248,7 @@ public class UncertSpan extends UncertParameter {
    * @return {@code true} if valueUpper was set before, otherwise {@code false}.
    */
   public boolean unsetValueUpper() {
+    checkNotFrozen();
     if (isSetValueUpper()) {
       Double oldValueUpper = this.valueUpper;
       this.valueUpper = null;
@@ -283,6 +287,7 @@ public class UncertSpan extends UncertParameter {
    * @param varLower the value of varLower to be set.
    */
   public void setVarLower(String varLower) {
+    checkNotFrozen();
     String oldVarLower = this.varLower;
     this.varLower = varLower;
     firePropertyChange(DistribConstants.varLower, oldVarLower, this.varLower);
@@ -294,6 +299,7 @@ public class UncertSpan extends UncertParameter {
    * @return {@code true} if varLower was set before, otherwise {@code false}.
    */
   public boolean unsetVarLower() {
+    checkNotFrozen();
     if (isSetVarLower()) {
       String oldVarLower = this.varLower;
       this.varLower = null;
@@ -332,6 +338,7 @@ public class UncertSpan extends UncertParameter {
    * @param varUpper the value of varUpper to be set.
    */
   public void setVarUpper(String varUpper) {
+    checkNotFrozen();
     String oldVarUpper = this.varUpper;
     this.varUpper = varUpper;
     firePropertyChange(DistribConstants.varUpper, oldVarUpper, this.varUpper);
@@ -343,6 +350,7 @@ public class UncertSpan extends UncertParameter {
    * @return {@code true} if varUpper was set before, otherwise {@code false}.
    */
   public boolean unsetVarUpper() {
+    checkNotFrozen();
     if (isSetVarUpper()) {
       String oldVarUpper = this.varUpper;
       this.varUpper = null;
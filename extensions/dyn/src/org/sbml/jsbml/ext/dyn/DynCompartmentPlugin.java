@@ -145,6 +145,7 @@ public class DynCompartmentPlugin extends DynSBasePlugin {
    *         otherwise {@code false}
    */
   public boolean unsetListOfSpatialComponents() {
+    checkNotFrozen();
     if (isSetListOfSpatialComponents()) {
       ListOf<SpatialComponent> oldListOfSpatialComponents = listOfSpatialComponents;
       listOfSpatialComponents = null;
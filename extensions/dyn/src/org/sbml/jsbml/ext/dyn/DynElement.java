@@ -141,6 +141,7 @@ public class DynElement extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param idRef
    */
   public void setIdRef(String idRef) {
+    checkNotFrozen();
     String oldIdRef = this.idRef;
     this.idRef = idRef;
     firePropertyChange(DynConstants.idRef, oldIdRef, this.idRef);
@@ -152,6 +153,7 @@ public class DynElement extends AbstractNamedSBase implements UniqueNamedSBase {
    * @return {@code true}, if idRef was set before, otherwise {@code false}
    */
   public boolean unsetIdRef() {
+    checkNotFrozen();
     if (isSetIdRef()) {
       String oldIdRef = idRef;
       idRef = null;
@@ -188,6 +190,7 @@ public class DynElement extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param metaIdRef
    */
   public void setMetaIdRef(String metaIdRef) {
+    checkNotFrozen();
     String oldMetaIdRef = this.metaIdRef;
     this.metaIdRef = metaIdRef;
     firePropertyChange(DynConstants.metaIdRef, oldMetaIdRef, this.metaIdRef);
@@ -200,6 +203,7 @@ public class DynElement extends AbstractNamedSBase implements UniqueNamedSBase {
    *         {@code false}
    */
   public boolean unsetMetaIdRef() {
+    checkNotFrozen();
     if (isSetMetaIdRef()) {
       String oldMetaIdRef = metaIdRef;
       metaIdRef = null;
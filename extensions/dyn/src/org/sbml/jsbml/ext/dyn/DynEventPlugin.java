@@ -125,6 +125,7 @@ public class DynEventPlugin extends DynSBasePlugin {
    * @param applyToAll
    */
   public void setApplyToAll(boolean applyToAll) {
+    checkNotFrozen();
     Boolean oldApplyToAll = this.applyToAll;
     this.applyToAll = applyToAll;
     firePropertyChange(DynConstants.applyToAll, oldApplyToAll,
@@ -138,6 +139,7 @@ public class DynEventPlugin extends DynSBasePlugin {
    *         {@code false}
    */
   public boolean unsetApplyToAll() {
+    checkNotFrozen();
     if (isSetApplyToAll()) {
       boolean oldApplyToAll = applyToAll;
       applyToAll = false;
@@ -207,6 +209,7 @@ public class DynEventPlugin extends DynSBasePlugin {
    *         {@code false}
    */
   public boolean unsetListOfDynElements() {
+    checkNotFrozen();
     if (listOfDynElements == null) {
       ListOf<DynElement> oldListOfDynElements = listOfDynElements;
       listOfDynElements = null;
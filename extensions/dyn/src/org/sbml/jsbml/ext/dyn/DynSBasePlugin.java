@@ -109,6 +109,7 @@ public class DynSBasePlugin extends AbstractSBasePlugin {
    * @param cboTerm
    */
   public void setCBOTerm(Term cboTerm) {
+    checkNotFrozen();
     Term oldCboTerm = this.cboTerm;
     this.cboTerm = cboTerm;
     firePropertyChange(DynConstants.cboTerm, oldCboTerm, this.cboTerm);
@@ -120,6 +121,7 @@ public class DynSBasePlugin extends AbstractSBasePlugin {
    * @return {@code true}, if cboTerm was set before, otherwise {@code false}
    */
   public boolean unsetCBOTerm() {
+    checkNotFrozen();
     if (isSetCBOTerm()) {
       Term oldCboTerm = cboTerm;
       cboTerm = null;
@@ -149,6 +149,7 @@ UniqueNamedSBase {
    * @param spatialIndex
    */
   public void setSpatialIndex(SpatialKind spatialIndex) {
+    checkNotFrozen();
     SpatialKind oldSpatialIndex = this.spatialIndex;
     this.spatialIndex = spatialIndex;
     firePropertyChange(DynConstants.spatialIndex, oldSpatialIndex,
@@ -162,6 +163,7 @@ UniqueNamedSBase {
    *         {@code false}
    */
   public boolean unsetSpatialIndex() {
+    checkNotFrozen();
     if (isSetSpatialIndex()) {
       SpatialKind oldSpatialIndex = spatialIndex;
       spatialIndex = null;
@@ -198,6 +200,7 @@ UniqueNamedSBase {
    * @param variable
    */
   public void setVariable(String variable) {
+    checkNotFrozen();
     String oldVariable = this.variable;
     this.variable = variable;
     firePropertyChange(DynConstants.variable, oldVariable, this.variable);
@@ -209,6 +212,7 @@ UniqueNamedSBase {
    * @return {@code true}, if variable was set before, otherwise {@code false}
    */
   public boolean unsetField() {
+    checkNotFrozen();
     if (isSetVariable()) {
       String oldVariable = variable;
       variable = null;
@@ -912,6 +912,7 @@ public class FBCModelPlugin extends AbstractFBCSBasePlugin {
    * @param strict the value of strict to be set.
    */
   public void setStrict(boolean strict) {
+    checkNotFrozen();
     Boolean oldStrict = this.strict;
     this.strict = strict;
     firePropertyChange(FBCConstants.strict, oldStrict, this.strict);
@@ -976,6 +977,7 @@ public class FBCModelPlugin extends AbstractFBCSBasePlugin {
    * @return {@code true} if strict was set before, otherwise {@code false}.
    */
   public boolean unsetStrict() {
+    checkNotFrozen();
     if (isSetStrict()) {
       boolean oldStrict = strict;
       strict = null;
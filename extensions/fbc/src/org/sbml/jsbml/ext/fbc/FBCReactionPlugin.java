@@ -342,6 +342,7 @@ public class FBCReactionPlugin extends AbstractFBCSBasePlugin {
    *        the value of {@link #geneProductAssociation} to be set.
    */
   public void setGeneProductAssociation(GeneProductAssociation geneProductAssociation) {
+    checkNotFrozen();
     GeneProductAssociation oldGeneProductAssociation = geneProductAssociation;
     this.geneProductAssociation = geneProductAssociation;
     if (isSetExtendedSBase()) {
@@ -366,6 +367,7 @@ public class FBCReactionPlugin extends AbstractFBCSBasePlugin {
    * @param lowerFluxBound
    */
   public void setLowerFluxBound(String lowerFluxBound) {
+    checkNotFrozen();
     String oldLowerFluxBound = this.lowerFluxBound;
     this.lowerFluxBound = lowerFluxBound;
     firePropertyChange(FBCConstants.lowerFluxBound, oldLowerFluxBound, this.lowerFluxBound);
@@ -387,6 +389,7 @@ public class FBCReactionPlugin extends AbstractFBCSBasePlugin {
    * @param upperFluxBound
    */
   public void setUpperFluxBound(String upperFluxBound) {
+    checkNotFrozen();
     String oldUpperFluxBound = this.upperFluxBound;
     this.upperFluxBound = upperFluxBound;
     firePropertyChange(FBCConstants.upperFluxBound, oldUpperFluxBound, this.upperFluxBound);
@@ -399,6 +402,7 @@ public class FBCReactionPlugin extends AbstractFBCSBasePlugin {
    *         otherwise {@code false}.
    */
   public boolean unsetGeneProductAssociation() {
+    checkNotFrozen();
     if (isSetGeneProductAssociation()) {
       GeneProductAssociation oldGeneProductAssociation = geneProductAssociation;
       geneProductAssociation = null;
@@ -415,6 +419,7 @@ public class FBCReactionPlugin extends AbstractFBCSBasePlugin {
    *         otherwise {@code false}.
    */
   public boolean unsetLowerFluxBound() {
+    checkNotFrozen();
     if (isSetLowerFluxBound()) {
       String oldLowerFluxBound = lowerFluxBound;
       lowerFluxBound = null;
@@ -431,6 +436,7 @@ public class FBCReactionPlugin extends AbstractFBCSBasePlugin {
    *         otherwise {@code false}.
    */
   public boolean unsetUpperFluxBound() {
+    checkNotFrozen();
     if (isSetUpperFluxBound()) {
       String oldUpperFluxBound = upperFluxBound;
       upperFluxBound = null;
@@ -241,6 +241,7 @@ public class FBCSpeciesPlugin extends AbstractFBCSBasePlugin {
    * @param charge the value of charge. 
    */
   public void setCharge(int charge) {
+    checkNotFrozen();
     int oldCharge = this.charge;
     this.charge = charge;
     isSetCharge = true;
@@ -260,6 +261,7 @@ public class FBCSpeciesPlugin extends AbstractFBCSBasePlugin {
    * @param chemicalFormula the chemical formula
    */
   public void setChemicalFormula(String chemicalFormula) {
+    checkNotFrozen();
     if ((chemicalFormula != null) && (!isReadingInProgress()) &&
         !SyntaxChecker.isValidChemicalFormula(chemicalFormula)) {
       throw new IllegalArgumentException(chemicalFormula);
@@ -276,6 +278,7 @@ public class FBCSpeciesPlugin extends AbstractFBCSBasePlugin {
    *         otherwise {@code false}
    */
   public boolean unsetCharge() {
+    checkNotFrozen();
     if (isSetCharge()) {
       int oldCharge = charge;
       charge = 0;
@@ -293,6 +296,7 @@ public class FBCSpeciesPlugin extends AbstractFBCSBasePlugin {
    *         otherwise {@code false}
    */
   public boolean unsetChemicalFormula() {
+    checkNotFrozen();
     if (isSetChemicalFormula()) {
       String oldChemicalFormula = chemicalFormula;
       chemicalFormula = null;
@@ -431,6 +431,7 @@ public class FluxBound extends AbstractNamedSBase implements UniqueNamedSBase {
    */
   @Deprecated
   public void setOperation(Operation operation) {
+    checkNotFrozen();
     Operation oldOperation = this.operation;
     this.operation = operation;
     firePropertyChange(FBCConstants.operation, oldOperation, operation);
@@ -454,6 +455,7 @@ public class FluxBound extends AbstractNamedSBase implements UniqueNamedSBase {
    */
   @Deprecated
   public void setReaction(String reaction) {
+    checkNotFrozen();
     String oldReaction = this.reaction;
     this.reaction = reaction;
     firePropertyChange(FBCConstants.reaction, oldReaction, reaction);
@@ -465,6 +467,7 @@ public class FluxBound extends AbstractNamedSBase implements UniqueNamedSBase {
    */
   @Deprecated
   public void setValue(double value) {
+    checkNotFrozen();
     Double oldValue = this.value;
     this.value = value;
     isSetValue = true;
@@ -480,6 +483,7 @@ public class FluxBound extends AbstractNamedSBase implements UniqueNamedSBase {
    */
   @Deprecated
   public boolean unsetOperation() {
+    checkNotFrozen();
     if (isSetOperation()) {
       Operation oldOperation = operation;
       operation = null;
@@ -498,6 +502,7 @@ public class FluxBound extends AbstractNamedSBase implements UniqueNamedSBase {
    */
   @Deprecated
   public boolean unsetReaction() {
+    checkNotFrozen();
     if (isSetReaction()) {
       String oldReaction = reaction;
       reaction = null;
@@ -516,6 +521,7 @@ public class FluxBound extends AbstractNamedSBase implements UniqueNamedSBase {
    */
   @Deprecated
   public boolean unsetValue() {
+    checkNotFrozen();
     if (isSetValue()) {
       double oldValue = value;
       value = null;
@@ -291,6 +291,7 @@ public class FluxObjective extends AbstractNamedSBase implements UniqueNamedSBas
    * @param coefficient the coefficient to set
    */
   public void setCoefficient(double coefficient) {
+    checkNotFrozen();
     double oldCoefficient = this.coefficient;
     this.coefficient = coefficient;
     isSetCoefficient = true;
@@ -314,6 +315,7 @@ public class FluxObjective extends AbstractNamedSBase implements UniqueNamedSBas
    * @param reaction the reaction to set
    */
   public void setReaction(String reaction) {
+    checkNotFrozen();
     String oldReaction = this.reaction;
     this.reaction = reaction;
     firePropertyChange(FBCConstants.reaction, oldReaction, reaction);
@@ -326,6 +328,7 @@ public class FluxObjective extends AbstractNamedSBase implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetCoefficient() {
+    checkNotFrozen();
     if (isSetCoefficient()) {
       double oldCoefficient = coefficient;
       coefficient = Double.NaN;
@@ -343,6 +346,7 @@ public class FluxObjective extends AbstractNamedSBase implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetReaction() {
+    checkNotFrozen();
     if (isSetReaction()) {
       String oldReaction = reaction;
       reaction = null;
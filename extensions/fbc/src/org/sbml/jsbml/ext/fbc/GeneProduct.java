@@ -82,6 +82,7 @@ public class GeneProduct extends AbstractNamedSBase implements UniqueNamedSBase
    * @param associatedSpecies the value of associatedSpecies to be set.
    */
   public void setAssociatedSpecies(String associatedSpecies) {
+    checkNotFrozen();
     String oldAssociatedSpecies = this.associatedSpecies;
     this.associatedSpecies = associatedSpecies;
     firePropertyChange(FBCConstants.associatedSpecies, oldAssociatedSpecies, this.associatedSpecies);
@@ -94,6 +95,7 @@ public class GeneProduct extends AbstractNamedSBase implements UniqueNamedSBase
    * @return {@code true} if associatedSpecies was set before, otherwise {@code false}.
    */
   public boolean unsetAssociatedSpecies() {
+    checkNotFrozen();
     if (isSetAssociatedSpecies()) {
       String oldAssociatedSpecies = associatedSpecies;
       associatedSpecies = null;
@@ -278,6 +280,7 @@ public class GeneProduct extends AbstractNamedSBase implements UniqueNamedSBase
    * @param label
    */
   public void setLabel(String label) {
+    checkNotFrozen();
     String oldLabel = this.label;
     this.label = label;
     firePropertyChange(FBCConstants.label, oldLabel, this.label);
@@ -290,6 +293,7 @@ public class GeneProduct extends AbstractNamedSBase implements UniqueNamedSBase
    *         otherwise {@code false}
    */
   public boolean unsetLabel() {
+    checkNotFrozen();
     if (isSetLabel()) {
       String oldLabel = label;
       label = null;
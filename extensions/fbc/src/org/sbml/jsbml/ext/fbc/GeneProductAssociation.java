@@ -207,6 +207,7 @@ public class GeneProductAssociation extends AbstractNamedSBase implements Unique
    * @param association the value of association to be set.
    */
   public void setAssociation(Association association) {
+    checkNotFrozen();
     Association oldAssociation = this.association;
     this.association = association;
     registerChild(association);
@@ -220,6 +221,7 @@ public class GeneProductAssociation extends AbstractNamedSBase implements Unique
    *         otherwise {@code false}.
    */
   public boolean unsetAssociation() {
+    checkNotFrozen();
     if (isSetAssociation()) {
       Association oldAssociation = association;
       association = null;
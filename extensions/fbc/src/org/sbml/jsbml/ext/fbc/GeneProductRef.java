@@ -230,6 +230,7 @@ public class GeneProductRef extends AbstractNamedSBase implements Association, U
    * @param geneProduct the {@link GeneProduct} id
    */
   public void setGeneProduct(String geneProduct) {
+    checkNotFrozen();
     String oldGeneProduct = this.geneProduct;
     this.geneProduct = geneProduct;
     firePropertyChange(FBCConstants.geneProduct, oldGeneProduct, this.geneProduct);
@@ -242,6 +243,7 @@ public class GeneProductRef extends AbstractNamedSBase implements Association, U
    *         otherwise {@code false}
    */
   public boolean unsetGeneProduct() {
+    checkNotFrozen();
     if (isSetGeneProduct()) {
       String oldGeneProduct = geneProduct;
       geneProduct = null;
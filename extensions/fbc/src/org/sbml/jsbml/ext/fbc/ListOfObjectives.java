@@ -172,6 +172,7 @@ public class ListOfObjectives extends ListOf<Objective> {
    * @param activeObjective the value of {@link #activeObjective}
    */
   public void setActiveObjective(String activeObjective) {
+    checkNotFrozen();
     String oldActiveObjective = this.activeObjective;
     this.activeObjective = activeObjective;
     firePropertyChange(FBCConstants.activeObjective, oldActiveObjective, this.activeObjective);
@@ -194,6 +195,7 @@ public class ListOfObjectives extends ListOf<Objective> {
    *         otherwise {@code false}
    */
   public boolean unsetActiveObjective() {
+    checkNotFrozen();
     if (isSetActiveObjective()) {
       String oldActiveObjective = activeObjective;
       activeObjective = null;
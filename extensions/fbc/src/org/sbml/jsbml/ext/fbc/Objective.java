@@ -546,6 +546,7 @@ public class Objective extends AbstractNamedSBase implements UniqueNamedSBase {
    * 
    */
   public void setType(Type type) {
+    checkNotFrozen();
     Type oldType = this.type;
     this.type = type;
     firePropertyChange(FBCConstants.type, oldType, this.type);
@@ -578,6 +579,7 @@ public class Objective extends AbstractNamedSBase implements UniqueNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetType() {
+    checkNotFrozen();
     if (isSetType()) {
       Type oldType = type;
       type = null;
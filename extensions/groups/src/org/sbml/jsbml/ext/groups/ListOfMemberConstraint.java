@@ -163,6 +163,7 @@ public class ListOfMemberConstraint extends ListOf<MemberConstraint> implements
    * @param membersShareType
    */
   public void setMembersShareType(boolean membersShareType) {
+    checkNotFrozen();
     boolean oldMembersShareType = this.membersShareType;
     this.membersShareType = membersShareType;
     isSetMembersShareType = true;
@@ -177,6 +178,7 @@ public class ListOfMemberConstraint extends ListOf<MemberConstraint> implements
    *         otherwise {@code false}
    */
   public boolean unsetMembersShareType() {
+    checkNotFrozen();
     if (isSetMembersShareType()) {
       boolean oldMembersShareType = membersShareType;
       membersShareType = false;
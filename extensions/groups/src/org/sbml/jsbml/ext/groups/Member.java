@@ -176,6 +176,7 @@ public class Member extends AbstractNamedSBase  implements UniqueNamedSBase {
    * @param idRef the value of idRef
    */
   public void setIdRef(String idRef) {
+    checkNotFrozen();
     
     if (idRef != null && idRef.trim().length() == 0) {
       idRef = null;
@@ -198,6 +199,7 @@ public class Member extends AbstractNamedSBase  implements UniqueNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetIdRef() {
+    checkNotFrozen();
     if (isSetIdRef()) {
       String oldIdRef = idRef;
       idRef = null;
@@ -235,6 +237,7 @@ public class Member extends AbstractNamedSBase  implements UniqueNamedSBase {
    * @param metaIdRef the value of metaIdRef
    */
   public void setMetaIdRef(String metaIdRef) {
+    checkNotFrozen();
     
     if (metaIdRef != null && metaIdRef.trim().length() == 0) {
       metaIdRef = null;
@@ -264,6 +267,7 @@ public class Member extends AbstractNamedSBase  implements UniqueNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetMetaIdRef() {
+    checkNotFrozen();
     if (isSetMetaIdRef()) {
       String oldMetaIdRef = metaIdRef;
       metaIdRef = null;
@@ -221,6 +221,7 @@ public class MemberConstraint extends AbstractNamedSBase  implements UniqueNamed
    * @param identicalAttribute the value of identicalAttribute
    */
   public void setIdenticalAttribute(String identicalAttribute) {
+    checkNotFrozen();
     String oldIdenticalAttribute = this.identicalAttribute;
     this.identicalAttribute = identicalAttribute;
     firePropertyChange(GroupsConstants.identicalAttribute, oldIdenticalAttribute, this.identicalAttribute);
@@ -233,6 +234,7 @@ public class MemberConstraint extends AbstractNamedSBase  implements UniqueNamed
    *         otherwise {@code false}
    */
   public boolean unsetIdenticalAttribute() {
+    checkNotFrozen();
     if (isSetIdenticalAttribute()) {
       String oldIdenticalAttribute = identicalAttribute;
       identicalAttribute = null;
@@ -270,6 +272,7 @@ public class MemberConstraint extends AbstractNamedSBase  implements UniqueNamed
    * @param distinctAttribute the value of distinctAttribute
    */
   public void setDistinctAttribute(String distinctAttribute) {
+    checkNotFrozen();
     String oldDistinctAttribute = this.distinctAttribute;
     this.distinctAttribute = distinctAttribute;
     firePropertyChange(GroupsConstants.distinctAttribute, oldDistinctAttribute, this.distinctAttribute);
@@ -282,6 +285,7 @@ public class MemberConstraint extends AbstractNamedSBase  implements UniqueNamed
    *         otherwise {@code false}
    */
   public boolean unsetDistinctAttribute() {
+    checkNotFrozen();
     if (isSetDistinctAttribute()) {
       String oldDistinctAttribute = distinctAttribute;
       distinctAttribute = null;
@@ -319,6 +319,7 @@ public class BoundingBox extends AbstractNamedSBase implements UniqueNamedSBase
    * @param dimensions
    */
   public void setDimensions(Dimensions dimensions) {
+    checkNotFrozen();
     if (this.dimensions != null) {
       Dimensions oldValue = this.dimensions;
       this.dimensions = null;
@@ -339,6 +340,7 @@ public class BoundingBox extends AbstractNamedSBase implements UniqueNamedSBase
    * @param point
    */
   public void setPosition(Point point) {
+    checkNotFrozen();
     Point oldValue = position;
     position = point;
     firePropertyChange(LayoutConstants.position, oldValue, dimensions);
@@ -258,6 +258,7 @@ public class CompartmentGlyph extends AbstractReferenceGlyph implements Compartm
    * @param order the oder
    */
   public void setOrder(double order) {
+    checkNotFrozen();
     Double oldOrder = this.order;
     this.order = order;
     firePropertyChange(LayoutConstants.order, oldOrder, this.order);
@@ -278,6 +279,7 @@ public class CompartmentGlyph extends AbstractReferenceGlyph implements Compartm
    *         otherwise {@code false}
    */
   public boolean unsetOrder() {
+    checkNotFrozen();
     if (isSetOrder()) {
       Double oldOrder = order;
       order = null;
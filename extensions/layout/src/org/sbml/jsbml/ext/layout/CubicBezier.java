@@ -307,6 +307,7 @@ public class CubicBezier extends LineSegment {
    * @param basePoint1
    */
   public void setBasePoint1(Point basePoint1) {
+    checkNotFrozen();
     Point oldValue = this.basePoint1;
     if (this.basePoint1 != null) {
       this.basePoint1 = null;
@@ -326,6 +327,7 @@ public class CubicBezier extends LineSegment {
    * @param basePoint2
    */
   public void setBasePoint2(Point basePoint2) {
+    checkNotFrozen();
     Point oldValue = this.basePoint2;
     if (this.basePoint2 != null) {
       this.basePoint2 = null;
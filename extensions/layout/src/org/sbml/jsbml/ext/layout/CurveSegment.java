@@ -373,6 +373,7 @@ public abstract class CurveSegment extends AbstractSBase {
    * Unsets the end-point of this CurveSegment
    */
   public void unsetEnd() {
+    checkNotFrozen();
     Point oldValue = getEnd();
     if(oldValue != null) {
       removeEnd();
@@ -384,6 +385,7 @@ public abstract class CurveSegment extends AbstractSBase {
    * Unsets the start-point of this CurveSegment
    */
   public void unsetStart() {
+    checkNotFrozen();
     Point oldValue = getStart();
     if(oldValue != null) {
       removeStart();
@@ -330,6 +330,7 @@ public class Dimensions extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param depth
    */
   public void setDepth(double depth) {
+    checkNotFrozen();
     Double oldDepth = this.depth;
     this.depth = depth;
     firePropertyChange(LayoutConstants.depth, oldDepth, this.depth);
@@ -341,6 +342,7 @@ public class Dimensions extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param height
    */
   public void setHeight(double height) {
+    checkNotFrozen();
     Double oldHeight = this.height;
     this.height = height;
     firePropertyChange(LayoutConstants.height, oldHeight, this.height);
@@ -352,6 +354,7 @@ public class Dimensions extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param width
    */
   public void setWidth(double width) {
+    checkNotFrozen();
     Double oldWidth = this.width;
     this.width = width;
     firePropertyChange(LayoutConstants.width, oldWidth, this.width);
@@ -363,6 +366,7 @@ public class Dimensions extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param depth
    */
   public void unsetDepth() {
+    checkNotFrozen();
     Double oldDepth = depth;
     depth = null;
     firePropertyChange(LayoutConstants.depth, oldDepth, depth);
@@ -374,6 +378,7 @@ public class Dimensions extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param height
    */
   public void unsetHeight() {
+    checkNotFrozen();
     Double oldHeight = height;
     height = null;
     firePropertyChange(LayoutConstants.height, oldHeight, height);
@@ -385,6 +390,7 @@ public class Dimensions extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param width
    */
   public void unsetWidth() {
+    checkNotFrozen();
     Double oldWidth = width;
     width = null;
     firePropertyChange(LayoutConstants.width, oldWidth, width);
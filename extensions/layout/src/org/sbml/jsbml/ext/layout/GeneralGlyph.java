@@ -731,6 +731,7 @@ public class GeneralGlyph extends AbstractReferenceGlyph {
    * Unsets the curve (and fires appropriate Event)
    */
   public void unsetCurve() {
+    checkNotFrozen();
     if (isSetCurve()) {
       Curve oldValue = curve;
       curve = null; 
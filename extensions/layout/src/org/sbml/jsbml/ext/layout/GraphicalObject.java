@@ -296,6 +296,7 @@ public class GraphicalObject extends AbstractNamedSBase implements UniqueNamedSB
    */
   @Override
   public void setBoundingBox(BoundingBox boundingBox) {
+    checkNotFrozen();
     BoundingBox oldValue = this.boundingBox;
     this.boundingBox = boundingBox;
     registerChild(this.boundingBox);
@@ -307,6 +308,7 @@ public class GraphicalObject extends AbstractNamedSBase implements UniqueNamedSB
    */
   @Override
   public void unsetBoundingBox() {
+    checkNotFrozen();
     if (isSetBoundingBox()) {
       BoundingBox oldValue = boundingBox;
       boundingBox = null;
@@ -371,6 +373,7 @@ public class GraphicalObject extends AbstractNamedSBase implements UniqueNamedSB
    * @param metaidRef
    */
   public void setMetaidRef(String metaidRef) {
+    checkNotFrozen();
     String oldMetaidRef = this.metaidRef;
     this.metaidRef = metaidRef;
     firePropertyChange(LayoutConstants.metaidRef, oldMetaidRef, this.metaidRef);
@@ -383,6 +386,7 @@ public class GraphicalObject extends AbstractNamedSBase implements UniqueNamedSB
    *         otherwise {@code false}
    */
   public boolean unsetMetaidRef() {
+    checkNotFrozen();
     if (isSetMetaidRef()) {
       String oldMetaidRef = metaidRef;
       metaidRef = null;
@@ -1446,6 +1446,7 @@ public class Layout extends AbstractNamedSBase implements UniqueNamedSBase {
    * Unsets the {@link #dimensions} (and fires appropriate event)
    */
   public void unsetDimensions() {
+    checkNotFrozen();
     if (isSetDimensions()) {
       Dimensions oldValue = dimensions;
       dimensions = null; 
@@ -288,6 +288,7 @@ public class LineSegment extends CurveSegment {
    */
   @Override
   public void setEnd(Point end) {
+    checkNotFrozen();
     Point old = this.end;
     if (this.end != null) {
       this.end.fireNodeRemovedEvent();
@@ -306,6 +307,7 @@ public class LineSegment extends CurveSegment {
    */
   @Override
   public void setStart(Point start) {
+    checkNotFrozen();
     Point old = this.start;
     if (this.start != null) {
       this.start.fireNodeRemovedEvent();
@@ -409,6 +409,7 @@ public class Point extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param x the x coordinate to be set.
    */
   public void setX(double x) {
+    checkNotFrozen();
     Double oldX = this.x;
     this.x = x;
     firePropertyChange(LayoutConstants.x, oldX, this.x);
@@ -423,6 +424,7 @@ public class Point extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param y the y coordinate to be set.
    */
   public void setY(double y) {
+    checkNotFrozen();
     Double oldY = this.y;
     this.y = y;
     firePropertyChange(LayoutConstants.y, oldY, this.y);
@@ -437,6 +439,7 @@ public class Point extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param z the z coordinate to be set.
    */
   public void setZ(double z) {
+    checkNotFrozen();
     Double oldZ = this.z;
     this.z = z;
     firePropertyChange(LayoutConstants.z, oldZ, this.z);
@@ -455,6 +458,7 @@ public class Point extends AbstractNamedSBase implements UniqueNamedSBase {
    * Unsets the required x coordinate.
    */
   public void unsetX() {
+    checkNotFrozen();
     Double oldX = x;
     x = null;
     firePropertyChange(LayoutConstants.x, oldX, x);
@@ -464,6 +468,7 @@ public class Point extends AbstractNamedSBase implements UniqueNamedSBase {
    * Unsets the required y coordinate.
    */
   public void unsetY() {
+    checkNotFrozen();
     Double oldY = y;
     y = null;
     firePropertyChange(LayoutConstants.y, oldY, y);
@@ -473,6 +478,7 @@ public class Point extends AbstractNamedSBase implements UniqueNamedSBase {
    * Unsets the optional z coordinate.
    */
   public void unsetZ() {
+    checkNotFrozen();
     Double oldZ = z;
     z = null;
     firePropertyChange(LayoutConstants.z, oldZ, z);
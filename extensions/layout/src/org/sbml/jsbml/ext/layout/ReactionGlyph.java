@@ -500,6 +500,7 @@ public class ReactionGlyph extends AbstractReferenceGlyph {
    * Unsets the curve (and fires appropriate Event)
    */
   public void unsetCurve() {
+    checkNotFrozen();
     if (isSetCurve()) {
       Curve oldValue = curve;
       curve = null; 
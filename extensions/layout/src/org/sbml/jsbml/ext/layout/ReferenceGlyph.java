@@ -323,6 +323,7 @@ public class ReferenceGlyph extends AbstractReferenceGlyph {
    * @param curve
    */
   public void setCurve(Curve curve) {
+    checkNotFrozen();
     Curve oldCurve = this.curve;
     this.curve = curve;
     firePropertyChange(LayoutConstants.curve, oldCurve, role);
@@ -336,6 +337,7 @@ public class ReferenceGlyph extends AbstractReferenceGlyph {
    * @param role
    */
   public void setRole(String role) {
+    checkNotFrozen();
     String oldRole = this.role;
     this.role = role;
     firePropertyChange(LayoutConstants.role, oldRole, this.role);
@@ -350,6 +352,7 @@ public class ReferenceGlyph extends AbstractReferenceGlyph {
    * @param glyph
    */
   public void setGlyph(String glyph) {
+    checkNotFrozen();
     String oldValue = this.glyph;
     this.glyph = glyph;
     firePropertyChange(LayoutConstants.speciesGlyph, oldValue, this.glyph);
@@ -384,6 +387,7 @@ public class ReferenceGlyph extends AbstractReferenceGlyph {
    * Unsets the {@link #glyph} attribute
    */
   public void unsetGlyph() {
+    checkNotFrozen();
     if (isSetGlyph()) {
       String oldValue = glyph;
       glyph = null;
@@ -395,6 +399,7 @@ public class ReferenceGlyph extends AbstractReferenceGlyph {
    * Unsets the {@link #role} attribute
    */
   public void unsetRole() {
+    checkNotFrozen();
     if (isSetRole()) {
       String oldValue = role;
       role = null;
@@ -378,6 +378,7 @@ public class SpeciesReferenceGlyph extends AbstractReferenceGlyph {
    * @param curve
    */
   public void setCurve(Curve curve) {
+    checkNotFrozen();
     Curve oldCurve = this.curve;
     this.curve = curve;
     firePropertyChange(LayoutConstants.curve, oldCurve, role);
@@ -397,6 +398,7 @@ public class SpeciesReferenceGlyph extends AbstractReferenceGlyph {
    * @param role
    */
   public void setRole(SpeciesReferenceRole role) {
+    checkNotFrozen();
     SpeciesReferenceRole oldRole = this.role;
     this.role = role;
     firePropertyChange(LayoutConstants.role, oldRole, role);
@@ -428,6 +430,7 @@ public class SpeciesReferenceGlyph extends AbstractReferenceGlyph {
    * @param speciesGlyph
    */
   public void setSpeciesGlyph(String speciesGlyph) {
+    checkNotFrozen();
     String oldValue = this.speciesGlyph;
     this.speciesGlyph = speciesGlyph;
     firePropertyChange(LayoutConstants.speciesGlyph, oldValue, this.speciesGlyph);
@@ -472,6 +475,7 @@ public class SpeciesReferenceGlyph extends AbstractReferenceGlyph {
    * @return whether the {@link #role} could indeed be unset
    */
   public boolean unsetRole() {
+    checkNotFrozen();
     if (isSetSpeciesReferenceRole()) {
       SpeciesReferenceRole oldValue = role;
       role = null; 
@@ -295,6 +295,7 @@ public class TextGlyph extends AbstractReferenceGlyph {
    * @param graphicalObject
    */
   public void setGraphicalObject(String graphicalObject) {
+    checkNotFrozen();
     String oldValue = this.graphicalObject;
     this.graphicalObject = graphicalObject;
     firePropertyChange(LayoutConstants.graphicalObject, oldValue, this.graphicalObject);
@@ -327,6 +328,7 @@ public class TextGlyph extends AbstractReferenceGlyph {
    * @param text
    */
   public void setText(String text) {
+    checkNotFrozen();
     String oldText = this.text;
     this.text = text;
     firePropertyChange(LayoutConstants.text, oldText, this.text);
@@ -231,6 +231,7 @@ public class CompartmentReference extends AbstractNamedSBase implements Compartm
    */
   @Override
   public boolean setCompartment(String compartment) {
+    checkNotFrozen();
     if (compartment != this.compartment) {
       String oldCompartment = this.compartment;
       this.compartment = compartment;
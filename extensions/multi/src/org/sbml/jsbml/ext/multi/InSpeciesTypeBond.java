@@ -225,6 +225,7 @@ public class InSpeciesTypeBond extends AbstractNamedSBase {
    * @param bindingSite1 the value of bindingSite1 to be set.
    */
   public void setBindingSite1(String bindingSite1) {
+    checkNotFrozen();
     String oldBindingSite1 = this.bindingSite1;
     this.bindingSite1 = bindingSite1;
     firePropertyChange(MultiConstants.bindingSite1, oldBindingSite1, this.bindingSite1);
@@ -237,6 +238,7 @@ public class InSpeciesTypeBond extends AbstractNamedSBase {
    * @return {@code true} if bindingSite1 was set before, otherwise {@code false}.
    */
   public boolean unsetBindingSite1() {
+    checkNotFrozen();
     if (isSetBindingSite1()) {
       String oldBindingSite1 = bindingSite1;
       bindingSite1 = null;
@@ -277,6 +279,7 @@ public class InSpeciesTypeBond extends AbstractNamedSBase {
    * @param bindingSite2 the value of bindingSite2 to be set.
    */
   public void setBindingSite2(String bindingSite2) {
+    checkNotFrozen();
     String oldBindingSite2 = this.bindingSite2;
     this.bindingSite2 = bindingSite2;
     firePropertyChange(MultiConstants.bindingSite2, oldBindingSite2, this.bindingSite2);
@@ -289,6 +292,7 @@ public class InSpeciesTypeBond extends AbstractNamedSBase {
    * @return {@code true} if bindingSite2 was set before, otherwise {@code false}.
    */
   public boolean unsetBindingSite2() {
+    checkNotFrozen();
     if (isSetBindingSite2()) {
       String oldBindingSite2 = bindingSite2;
       bindingSite2 = null;
@@ -102,6 +102,7 @@ public class MultiASTNodePlugin extends AbstractASTNodePlugin {
    * @param speciesReference the value of speciesReference to be set.
    */
   public void setSpeciesReference(String speciesReference) {
+    checkNotFrozen();
     String oldSpeciesReference = this.speciesReference;
     this.speciesReference = speciesReference;
     firePropertyChange(MultiConstants.speciesReference, oldSpeciesReference, this.speciesReference);
@@ -114,6 +115,7 @@ public class MultiASTNodePlugin extends AbstractASTNodePlugin {
    * @return {@code true} if speciesReference was set before, otherwise {@code false}.
    */
   public boolean unsetSpeciesReference() {
+    checkNotFrozen();
     if (isSetSpeciesReference()) {
       String oldSpeciesReference = speciesReference;
       speciesReference = null;
@@ -155,6 +157,7 @@ public class MultiASTNodePlugin extends AbstractASTNodePlugin {
    * @param representationType the value of representationType to be set.
    */
   public void setRepresentationType(RepresentationType representationType) {
+    checkNotFrozen();
     RepresentationType oldRepresentationType = this.representationType;
     this.representationType = representationType;
     firePropertyChange(MultiConstants.representationType, oldRepresentationType, this.representationType);
@@ -167,6 +170,7 @@ public class MultiASTNodePlugin extends AbstractASTNodePlugin {
    * @return {@code true} if representationType was set before, otherwise {@code false}.
    */
   public boolean unsetRepresentationType() {
+    checkNotFrozen();
     if (isSetRepresentationType()) {
       RepresentationType oldRepresentationType = representationType;
       representationType = null;
@@ -409,6 +409,7 @@ public class MultiCompartmentPlugin extends AbstractSBasePlugin  {
    * @param compartmentType the value of compartmentType to be set.
    */
   public void setCompartmentType(String compartmentType) {
+    checkNotFrozen();
     String oldCompartmentType = this.compartmentType;
     this.compartmentType = compartmentType;
     firePropertyChange(MultiConstants.compartmentType, oldCompartmentType, this.compartmentType);
@@ -421,6 +422,7 @@ public class MultiCompartmentPlugin extends AbstractSBasePlugin  {
    * @return {@code true} if compartmentType was set before, otherwise {@code false}.
    */
   public boolean unsetCompartmentType() {
+    checkNotFrozen();
     if (isSetCompartmentType()) {
       String oldCompartmentType = compartmentType;
       compartmentType = null;
@@ -474,6 +476,7 @@ public class MultiCompartmentPlugin extends AbstractSBasePlugin  {
    * @param isType the value of isType to be set.
    */
   public void setIsType(boolean isType) {
+    checkNotFrozen();
     Boolean oldIsType = this.isType;
     this.isType = isType;
     firePropertyChange(MultiConstants.isType, oldIsType, this.isType);
@@ -486,6 +489,7 @@ public class MultiCompartmentPlugin extends AbstractSBasePlugin  {
    * @return {@code true} if isType was set before, otherwise {@code false}.
    */
   public boolean unsetIsType() {
+    checkNotFrozen();
     if (isSetIsType()) {
       Boolean oldIsType = isType;
       isType = null;
@@ -187,6 +187,7 @@ public class MultiSimpleSpeciesReferencePlugin extends AbstractSBasePlugin {
    * @param compartmentReference the value of compartmentReference to be set.
    */
   public void setCompartmentReference(String compartmentReference) {
+    checkNotFrozen();
     String oldCompartmentReference = this.compartmentReference;
     this.compartmentReference = compartmentReference;
     firePropertyChange(MultiConstants.compartmentReference, oldCompartmentReference, this.compartmentReference);
@@ -199,6 +200,7 @@ public class MultiSimpleSpeciesReferencePlugin extends AbstractSBasePlugin {
    * @return {@code true} if compartmentReference was set before, otherwise {@code false}.
    */
   public boolean unsetCompartmentReference() {
+    checkNotFrozen();
     if (isSetCompartmentReference()) {
       String oldCompartmentReference = compartmentReference;
       compartmentReference = null;
@@ -791,6 +791,7 @@ public class MultiSpeciesPlugin extends AbstractSBasePlugin {
    * @param speciesType the value of speciesType to be set.
    */
   public void setSpeciesType(String speciesType) {
+    checkNotFrozen();
     String oldSpeciesType = this.speciesType;
     this.speciesType = speciesType;
     firePropertyChange(MultiConstants.speciesType, oldSpeciesType, this.speciesType);
@@ -803,6 +804,7 @@ public class MultiSpeciesPlugin extends AbstractSBasePlugin {
    * @return {@code true} if speciesType was set before, otherwise {@code false}.
    */
   public boolean unsetSpeciesType() {
+    checkNotFrozen();
     if (isSetSpeciesType()) {
       String oldSpeciesType = this.speciesType;
       this.speciesType = null;
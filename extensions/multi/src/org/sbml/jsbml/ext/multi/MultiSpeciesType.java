@@ -1192,6 +1192,7 @@ public class MultiSpeciesType extends org.sbml.jsbml.SpeciesType  implements Com
    */
   @Override
   public boolean setCompartment(String compartment) {
+    checkNotFrozen();
     if (compartment != this.compartment) {
       String oldCompartment = this.compartment;
       this.compartment = compartment;
@@ -181,6 +181,7 @@ public class OutwardBindingSite extends AbstractSBase {
    * @param bindingStatus the value of bindingStatus to be set.
    */
   public void setBindingStatus(BindingStatus bindingStatus) {
+    checkNotFrozen();
     BindingStatus oldBindingStatus = this.bindingStatus;
     this.bindingStatus = bindingStatus;
     firePropertyChange(MultiConstants.bindingStatus, oldBindingStatus, this.bindingStatus);
@@ -193,6 +194,7 @@ public class OutwardBindingSite extends AbstractSBase {
    * @return {@code true} if bindingStatus was set before, otherwise {@code false}.
    */
   public boolean unsetBindingStatus() {
+    checkNotFrozen();
     if (isSetBindingStatus()) {
       BindingStatus oldBindingStatus = bindingStatus;
       bindingStatus = null;
@@ -233,6 +235,7 @@ public class OutwardBindingSite extends AbstractSBase {
    * @param component the value of component to be set.
    */
   public void setComponent(String component) {
+    checkNotFrozen();
     String oldComponent = this.component;
     this.component = component;
     firePropertyChange(MultiConstants.component, oldComponent, this.component);
@@ -245,6 +248,7 @@ public class OutwardBindingSite extends AbstractSBase {
    * @return {@code true} if component was set before, otherwise {@code false}.
    */
   public boolean unsetComponent() {
+    checkNotFrozen();
     if (isSetComponent()) {
       String oldComponent = component;
       component = null;
@@ -216,6 +216,7 @@ public class PossibleSpeciesFeatureValue extends AbstractNamedSBase  implements
    * @param numericValue the value of numericValue to be set.
    */
   public void setNumericValue(String numericValue) {
+    checkNotFrozen();
     String oldNumericValue = this.numericValue;
     this.numericValue = numericValue;
     firePropertyChange(MultiConstants.numericValue, oldNumericValue, this.numericValue);
@@ -228,6 +229,7 @@ public class PossibleSpeciesFeatureValue extends AbstractNamedSBase  implements
    * @return {@code true} if numericValue was set before, otherwise {@code false}.
    */
   public boolean unsetNumericValue() {
+    checkNotFrozen();
     if (isSetNumericValue()) {
       String oldNumericValue = numericValue;
       numericValue = null;
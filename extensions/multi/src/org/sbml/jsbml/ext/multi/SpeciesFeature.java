@@ -445,6 +445,7 @@ public class SpeciesFeature extends AbstractNamedSBase implements ListOfSpeciesF
    * @param speciesFeatureType the value of speciesFeatureType to be set.
    */
   public void setSpeciesFeatureType(String speciesFeatureType) {
+    checkNotFrozen();
     String oldSpeciesFeatureType = this.speciesFeatureType;
     this.speciesFeatureType = speciesFeatureType;
     firePropertyChange(MultiConstants.speciesFeatureType, oldSpeciesFeatureType, this.speciesFeatureType);
@@ -457,6 +458,7 @@ public class SpeciesFeature extends AbstractNamedSBase implements ListOfSpeciesF
    * @return {@code true} if speciesFeatureType was set before, otherwise {@code false}.
    */
   public boolean unsetSpeciesFeatureType() {
+    checkNotFrozen();
     if (isSetSpeciesFeatureType()) {
       String oldSpeciesFeatureType = speciesFeatureType;
       speciesFeatureType = null;
@@ -497,6 +499,7 @@ public class SpeciesFeature extends AbstractNamedSBase implements ListOfSpeciesF
    * @param occur the value of occur to be set.
    */
   public void setOccur(int occur) {
+    checkNotFrozen();
     Integer oldOccur = this.occur;
     this.occur = occur;
     firePropertyChange(MultiConstants.occur, oldOccur, this.occur);
@@ -509,6 +512,7 @@ public class SpeciesFeature extends AbstractNamedSBase implements ListOfSpeciesF
    * @return {@code true} if occur was set before, otherwise {@code false}.
    */
   public boolean unsetOccur() {
+    checkNotFrozen();
     if (isSetOccur()) {
       Integer oldOccur = occur;
       occur = null;
@@ -549,6 +553,7 @@ public class SpeciesFeature extends AbstractNamedSBase implements ListOfSpeciesF
    * @param component the value of component to be set.
    */
   public void setComponent(String component) {
+    checkNotFrozen();
     String oldComponent = this.component;
     this.component = component;
     firePropertyChange(MultiConstants.component, oldComponent, this.component);
@@ -561,6 +566,7 @@ public class SpeciesFeature extends AbstractNamedSBase implements ListOfSpeciesF
    * @return {@code true} if component was set before, otherwise {@code false}.
    */
   public boolean unsetComponent() {
+    checkNotFrozen();
     if (isSetComponent()) {
       String oldComponent = component;
       component = null;
@@ -457,6 +457,7 @@ public class SpeciesFeatureType extends AbstractNamedSBase implements UniqueName
    * @param occur the value of occur to be set.
    */
   public void setOccur(int occur) {
+    checkNotFrozen();
     Integer oldOccur = this.occur;
     this.occur = occur;
     firePropertyChange(MultiConstants.occur, oldOccur, this.occur);
@@ -469,6 +470,7 @@ public class SpeciesFeatureType extends AbstractNamedSBase implements UniqueName
    * @return {@code true} if occur was set before, otherwise {@code false}.
    */
   public boolean unsetOccur() {
+    checkNotFrozen();
     if (isSetOccur()) {
       Integer oldOccur = occur;
       occur = null;
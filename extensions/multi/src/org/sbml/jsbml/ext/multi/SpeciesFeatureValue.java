@@ -161,6 +161,7 @@ public class SpeciesFeatureValue extends AbstractSBase {
    * @param value the value of value to be set.
    */
   public void setValue(String value) {
+    checkNotFrozen();
     String oldValue = this.value;
     this.value = value;
     firePropertyChange(MultiConstants.value, oldValue, this.value);
@@ -173,6 +174,7 @@ public class SpeciesFeatureValue extends AbstractSBase {
    * @return {@code true} if value was set before, otherwise {@code false}.
    */
   public boolean unsetValue() {
+    checkNotFrozen();
     if (isSetValue()) {
       String oldValue = value;
       value = null;
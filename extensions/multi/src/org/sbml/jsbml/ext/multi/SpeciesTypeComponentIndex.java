@@ -236,6 +236,7 @@ public class SpeciesTypeComponentIndex extends AbstractNamedSBase {
    * @param component the value of component to be set.
    */
   public void setComponent(String component) {
+    checkNotFrozen();
     String oldComponent = this.component;
     this.component = component;
     firePropertyChange(MultiConstants.component, oldComponent, this.component);
@@ -248,6 +249,7 @@ public class SpeciesTypeComponentIndex extends AbstractNamedSBase {
    * @return {@code true} if component was set before, otherwise {@code false}.
    */
   public boolean unsetComponent() {
+    checkNotFrozen();
     if (isSetComponent()) {
       String oldComponent = component;
       component = null;
@@ -288,6 +290,7 @@ public class SpeciesTypeComponentIndex extends AbstractNamedSBase {
    * @param identifyingParent the value of identifyingParent to be set.
    */
   public void setIndentifyingParent(String identifyingParent) {
+    checkNotFrozen();
     String oldIndentifyingParent = this.identifyingParent;
     this.identifyingParent = identifyingParent;
     firePropertyChange(MultiConstants.identifyingParent, oldIndentifyingParent, this.identifyingParent);
@@ -300,6 +303,7 @@ public class SpeciesTypeComponentIndex extends AbstractNamedSBase {
    * @return {@code true} if identifyingParent was set before, otherwise {@code false}.
    */
   public boolean unsetIndentifyingParent() {
+    checkNotFrozen();
     if (isSetIndentifyingParent()) {
       String oldIndentifyingParent = identifyingParent;
       identifyingParent = null;
@@ -198,6 +198,7 @@ public class SpeciesTypeComponentMapInProduct extends AbstractSBase {
    * @param reactant the value of reactant to be set.
    */
   public void setReactant(String reactant) {
+    checkNotFrozen();
     String oldReactant = this.reactant;
     this.reactant = reactant;
     firePropertyChange(MultiConstants.reactant, oldReactant, this.reactant);
@@ -210,6 +211,7 @@ public class SpeciesTypeComponentMapInProduct extends AbstractSBase {
    * @return {@code true} if reactant was set before, otherwise {@code false}.
    */
   public boolean unsetReactant() {
+    checkNotFrozen();
     if (isSetReactant()) {
       String oldReactant = reactant;
       reactant = null;
@@ -250,6 +252,7 @@ public class SpeciesTypeComponentMapInProduct extends AbstractSBase {
    * @param reactantComponent the value of reactantComponent to be set.
    */
   public void setReactantComponent(String reactantComponent) {
+    checkNotFrozen();
     String oldReactantComponent = this.reactantComponent;
     this.reactantComponent = reactantComponent;
     firePropertyChange(MultiConstants.reactantComponent, oldReactantComponent, this.reactantComponent);
@@ -262,6 +265,7 @@ public class SpeciesTypeComponentMapInProduct extends AbstractSBase {
    * @return {@code true} if reactantComponent was set before, otherwise {@code false}.
    */
   public boolean unsetReactantComponent() {
+    checkNotFrozen();
     if (isSetReactantComponent()) {
       String oldReactantComponent = reactantComponent;
       reactantComponent = null;
@@ -303,6 +307,7 @@ public class SpeciesTypeComponentMapInProduct extends AbstractSBase {
    * @param productComponent the value of productComponent to be set.
    */
   public void setProductComponent(String productComponent) {
+    checkNotFrozen();
     String oldProductComponent = this.productComponent;
     this.productComponent = productComponent;
     firePropertyChange(MultiConstants.productComponent, oldProductComponent, this.productComponent);
@@ -315,6 +320,7 @@ public class SpeciesTypeComponentMapInProduct extends AbstractSBase {
    * @return {@code true} if productComponent was set before, otherwise {@code false}.
    */
   public boolean unsetProductComponent() {
+    checkNotFrozen();
     if (isSetProductComponent()) {
       String oldProductComponent = productComponent;
       productComponent = null;
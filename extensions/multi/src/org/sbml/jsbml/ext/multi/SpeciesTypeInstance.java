@@ -191,6 +191,7 @@ public class SpeciesTypeInstance extends AbstractNamedSBase implements UniqueNam
    * @param speciesType the value of speciesType to be set.
    */
   public void setSpeciesType(String speciesType) {
+    checkNotFrozen();
     String oldSpeciesType = this.speciesType;
     this.speciesType = speciesType;
     firePropertyChange(MultiConstants.speciesType, oldSpeciesType, this.speciesType);
@@ -203,6 +204,7 @@ public class SpeciesTypeInstance extends AbstractNamedSBase implements UniqueNam
    * @return {@code true} if speciesType was set before, otherwise {@code false}.
    */
   public boolean unsetSpeciesType() {
+    checkNotFrozen();
     if (isSetSpeciesType()) {
       String oldSpeciesType = this.speciesType;
       this.speciesType = null;
@@ -243,6 +245,7 @@ public class SpeciesTypeInstance extends AbstractNamedSBase implements UniqueNam
    * @param compartmentReference the value of compartmentReference to be set.
    */
   public void setCompartmentReference(String compartmentReference) {
+    checkNotFrozen();
     String oldCompartmentReference = this.compartmentReference;
     this.compartmentReference = compartmentReference;
     firePropertyChange(MultiConstants.compartmentReference, oldCompartmentReference, this.compartmentReference);
@@ -255,6 +258,7 @@ public class SpeciesTypeInstance extends AbstractNamedSBase implements UniqueNam
    * @return {@code true} if compartmentReference was set before, otherwise {@code false}.
    */
   public boolean unsetCompartmentReference() {
+    checkNotFrozen();
     if (isSetCompartmentReference()) {
       String oldCompartmentReference = this.compartmentReference;
       this.compartmentReference = null;
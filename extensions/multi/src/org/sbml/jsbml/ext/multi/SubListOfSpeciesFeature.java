@@ -147,6 +147,7 @@ public class SubListOfSpeciesFeature extends ListOf<SpeciesFeature> implements U
    * @param relation the value of relation to be set.
    */
   public void setRelation(Relation relation) {
+    checkNotFrozen();
     Relation oldRelation = this.relation;
     this.relation = relation;
     firePropertyChange(MultiConstants.relation, oldRelation, this.relation);
@@ -158,6 +159,7 @@ public class SubListOfSpeciesFeature extends ListOf<SpeciesFeature> implements U
    * @return {@code true} if relation was set before, otherwise {@code false}.
    */
   public boolean unsetRelation() {
+    checkNotFrozen();
     if (isSetRelation()) {
       Relation oldRelation = this.relation;
       this.relation = null;
@@ -196,6 +198,7 @@ public class SubListOfSpeciesFeature extends ListOf<SpeciesFeature> implements U
    * @param component the value of component to be set.
    */
   public void setComponent(String component) {
+    checkNotFrozen();
     String oldComponent = this.component;
     this.component = component;
     firePropertyChange(MultiConstants.component, oldComponent, this.component);
@@ -207,6 +210,7 @@ public class SubListOfSpeciesFeature extends ListOf<SpeciesFeature> implements U
    * @return {@code true} if component was set before, otherwise {@code false}.
    */
   public boolean unsetComponent() {
+    checkNotFrozen();
     if (isSetComponent()) {
       String oldComponent = this.component;
       this.component = null;
@@ -158,6 +158,7 @@ public class FunctionTerm extends AbstractMathContainer {
    *        the resultLevel to set
    */
   public void setResultLevel(int resultLevel) {
+    checkNotFrozen();
     Integer oldResultLevel = this.resultLevel;
     this.resultLevel = resultLevel;
     firePropertyChange(QualConstants.resultLevel, oldResultLevel, this.resultLevel);
@@ -170,6 +171,7 @@ public class FunctionTerm extends AbstractMathContainer {
    * @return {@code true} is the resultLevel was set beforehand.
    */
   public boolean unsetResultLevel() {
+    checkNotFrozen();
     if (isSetResultLevel()) {
       Integer oldResultLevel = resultLevel;
       resultLevel = null;
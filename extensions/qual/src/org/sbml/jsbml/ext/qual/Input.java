@@ -192,6 +192,7 @@ public class Input extends AbstractNamedSBase implements UniqueNamedSBase, Calla
    *        the sign to set
    */
   public void setSign(Sign sign) {
+    checkNotFrozen();
     Sign oldSign = this.sign;
     this.sign = sign;
     firePropertyChange(QualConstants.sign, oldSign, this.sign);
@@ -290,6 +291,7 @@ public class Input extends AbstractNamedSBase implements UniqueNamedSBase, Calla
    *        the qualitativeSpecies to set
    */
   public void setQualitativeSpecies(String qualitativeSpecies) {
+    checkNotFrozen();
     String oldQualitativeSpecies = this.qualitativeSpecies;
     this.qualitativeSpecies = qualitativeSpecies;
     firePropertyChange(QualConstants.qualitativeSpecies,
@@ -349,6 +351,7 @@ public class Input extends AbstractNamedSBase implements UniqueNamedSBase, Calla
    *        the transitionEffect to set
    */
   public void setTransitionEffect(InputTransitionEffect transitionEffect) {
+    checkNotFrozen();
     InputTransitionEffect oldTransitionEffect = this.transitionEffect;
     this.transitionEffect = transitionEffect;
     firePropertyChange(QualConstants.transitionEffect, oldTransitionEffect,
@@ -422,6 +425,7 @@ public class Input extends AbstractNamedSBase implements UniqueNamedSBase, Calla
    *        the thresholdLevel to set
    */
   public void setThresholdLevel(int thresholdLevel) {
+    checkNotFrozen();
     Integer oldThresholdLevel = this.thresholdLevel;
     this.thresholdLevel = thresholdLevel;
     firePropertyChange(QualConstants.thresholdLevel, oldThresholdLevel,
@@ -433,6 +437,7 @@ public class Input extends AbstractNamedSBase implements UniqueNamedSBase, Calla
    * @return {@code true} if unset the threholdLevel attribute was successful
    */
   public boolean unsetThresholdLevel() {
+    checkNotFrozen();
     if (isSetThresholdLevel()) {
       Integer oldThresholdLevel = thresholdLevel;
       thresholdLevel = null;
@@ -243,6 +243,7 @@ public class Output extends AbstractNamedSBase implements UniqueNamedSBase, Call
    *        the qualitativeSpecies to set
    */
   public void setQualitativeSpecies(String qualitativeSpecies) {
+    checkNotFrozen();
     String oldQualitativeSpecies = this.qualitativeSpecies;
     this.qualitativeSpecies = qualitativeSpecies;
     firePropertyChange(QualConstants.qualitativeSpecies,
@@ -307,6 +308,7 @@ public class Output extends AbstractNamedSBase implements UniqueNamedSBase, Call
    *        the transitionEffect to set
    */
   public void setTransitionEffect(OutputTransitionEffect transitionEffect) {
+    checkNotFrozen();
     OutputTransitionEffect oldTransitionEffect = this.transitionEffect;
     this.transitionEffect = transitionEffect;
     firePropertyChange(QualConstants.transitionEffect, oldTransitionEffect,
@@ -380,6 +382,7 @@ public class Output extends AbstractNamedSBase implements UniqueNamedSBase, Call
    *        the level to set
    */
   public void setOutputLevel(int level) {
+    checkNotFrozen();
     Integer oldLevel = outputLevel;
     outputLevel = level;
     firePropertyChange(QualConstants.outputLevel, oldLevel, outputLevel);
@@ -391,6 +394,7 @@ public class Output extends AbstractNamedSBase implements UniqueNamedSBase, Call
    * @return
    */
   public boolean unsetOutputLevel() {
+    checkNotFrozen();
     if (isSetOutputLevel()) {
       Integer oldLevel = outputLevel;
       outputLevel = null;
@@ -155,6 +155,7 @@ public abstract class AbstractRenderPlugin extends AbstractSBasePlugin {
    */
   @Deprecated
   public void setRenderInformation(GlobalRenderInformation renderInformation) {
+    checkNotFrozen();
     GlobalRenderInformation oldRenderInformation = this.renderInformation;
     this.renderInformation = renderInformation;
     firePropertyChange(RenderConstants.renderInformation, oldRenderInformation, this.renderInformation);
@@ -174,6 +175,7 @@ public abstract class AbstractRenderPlugin extends AbstractSBasePlugin {
    */
   @Deprecated
   public boolean unsetRenderInformation() {
+    checkNotFrozen();
     if (isSetRenderInformation()) {
       GlobalRenderInformation oldRenderInformation = renderInformation;
       renderInformation = null;
@@ -210,6 +210,7 @@ public class ColorDefinition extends AbstractNamedSBase {
    * @param value
    */
   public void setValue(Color value) {
+    checkNotFrozen();
     Color oldValue = this.value;
     this.value = value;
     firePropertyChange(RenderConstants.value, oldValue, this.value);
@@ -221,6 +222,7 @@ public class ColorDefinition extends AbstractNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetValue() {
+    checkNotFrozen();
     if (isSetValue()) {
       Color oldValue = value;
       value = null;
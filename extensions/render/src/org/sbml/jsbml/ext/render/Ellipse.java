@@ -213,6 +213,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @param cx
    */
   public void setCx(RelAbsVector cx) {
+    checkNotFrozen();
     RelAbsVector oldCx = this.cx;
     this.cx = cx;
     firePropertyChange(RenderConstants.cx, oldCx, this.cx);
@@ -224,6 +225,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    *         otherwise {@code false}
    */
   public boolean unsetCx() {
+    checkNotFrozen();
     if (isSetCx()) {
       RelAbsVector oldCx = cx;
       cx = null;
@@ -256,6 +258,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @param cy
    */
   public void setCy(RelAbsVector cy) {
+    checkNotFrozen();
     RelAbsVector oldCy = this.cy;
     this.cy = cy;
     firePropertyChange(RenderConstants.cy, oldCy, this.cy);
@@ -267,6 +270,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    *         otherwise {@code false}
    */
   public boolean unsetCy() {
+    checkNotFrozen();
     if (isSetCy()) {
       RelAbsVector oldCy = cy;
       
@@ -300,6 +304,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @param cz
    */
   public void setCz(RelAbsVector cz) {
+    checkNotFrozen();
     RelAbsVector oldCz = this.cz;
     this.cz = cz;
     firePropertyChange(RenderConstants.cz, oldCz, this.cz);
@@ -311,6 +316,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    *         otherwise {@code false}
    */
   public boolean unsetCz() {
+    checkNotFrozen();
     if (isSetCz()) {
       RelAbsVector oldCz = cz;
 
@@ -340,6 +346,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @param newRatio the new value to be taken
    */
   public void setRatio(Double newRatio) {
+    checkNotFrozen();
     Double oldCz = this.ratio;
     this.ratio = newRatio;
     firePropertyChange(RenderConstants.ratio, oldCz, this.cz);
@@ -350,6 +357,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @return Whether the ratio could actually be unset
    */
   public boolean unsetRatio() {
+    checkNotFrozen();
     if (isSetRatio()) {
       Double old = ratio;
       ratio = null;
@@ -382,6 +390,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @param rx
    */
   public void setRx(RelAbsVector rx) {
+    checkNotFrozen();
     RelAbsVector oldRx = this.rx;
     this.rx = rx;
     firePropertyChange(RenderConstants.rx, oldRx, this.rx);
@@ -393,6 +402,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    *         otherwise {@code false}
    */
   public boolean unsetRx() {
+    checkNotFrozen();
     if (isSetRx()) {
       RelAbsVector oldRx = rx;
       rx = null;
@@ -425,6 +435,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    * @param ry
    */
   public void setRy(RelAbsVector ry) {
+    checkNotFrozen();
     RelAbsVector oldRy = this.ry;
     this.ry = ry;
     firePropertyChange(RenderConstants.ry, oldRy, this.ry);
@@ -436,6 +447,7 @@ public class Ellipse extends GraphicalPrimitive2D {
    *         otherwise {@code false}
    */
   public boolean unsetRy() {
+    checkNotFrozen();
     if (isSetRy()) {
       RelAbsVector oldRy = ry;
       ry = null;
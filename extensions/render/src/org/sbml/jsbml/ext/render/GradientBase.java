@@ -261,6 +261,7 @@ public class GradientBase extends AbstractNamedSBase implements UniqueNamedSBase
    * @param spreadMethod
    */
   public void setSpreadMethod(Spread spreadMethod) {
+    checkNotFrozen();
     Spread oldSpreadMethod = this.spreadMethod;
     this.spreadMethod = spreadMethod;
     firePropertyChange(RenderConstants.spreadMethod, oldSpreadMethod, this.spreadMethod);
@@ -272,6 +273,7 @@ public class GradientBase extends AbstractNamedSBase implements UniqueNamedSBase
    *         otherwise {@code false}
    */
   public boolean unsetSpreadMethod() {
+    checkNotFrozen();
     if (isSetSpreadMethod()) {
       Spread oldSpreadMethod = spreadMethod;
       spreadMethod = null;
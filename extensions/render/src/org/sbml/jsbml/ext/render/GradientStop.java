@@ -255,6 +255,7 @@ public class GradientStop extends AbstractSBase {
    * @param offset
    */
   public void setOffset(RelAbsVector offset) {
+    checkNotFrozen();
     RelAbsVector oldOffset = this.offset;
     this.offset = offset;
     firePropertyChange(RenderConstants.offset, oldOffset, this.offset);
@@ -265,6 +266,7 @@ public class GradientStop extends AbstractSBase {
    * @param stopColor
    */
   public void setStopColor(String stopColor) {
+    checkNotFrozen();
     String oldStopColor = this.stopColor;
     this.stopColor = stopColor;
     firePropertyChange(RenderConstants.stopColor, oldStopColor, this.stopColor);
@@ -276,6 +278,7 @@ public class GradientStop extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetOffset() {
+    checkNotFrozen();
     if (isSetOffset()) {
       RelAbsVector oldOffset = offset;
       offset = null;
@@ -291,6 +294,7 @@ public class GradientStop extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetStopColor() {
+    checkNotFrozen();
     if (isSetStopColor()) {
       String oldStopColor = stopColor;
       stopColor = null;
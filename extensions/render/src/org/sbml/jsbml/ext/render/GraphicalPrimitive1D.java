@@ -85,6 +85,7 @@ public class GraphicalPrimitive1D extends Transformation2D {
    * @param strokeDashArray
    */
   public boolean setStrokeDashArray(List<Short> strokeDashArray) {
+    checkNotFrozen();
     List<Short> oldStrokeDashArray = this.strokeDashArray;
     this.strokeDashArray = strokeDashArray;
     firePropertyChange(RenderConstants.strokeDashArray, oldStrokeDashArray, this.strokeDashArray);
@@ -269,6 +270,7 @@ public class GraphicalPrimitive1D extends Transformation2D {
    * @param stroke
    */
   public void setStroke(String stroke) {
+    checkNotFrozen();
     String oldStroke = this.stroke;
     this.stroke = stroke;
     firePropertyChange(RenderConstants.stroke, oldStroke, this.stroke);
@@ -279,6 +281,7 @@ public class GraphicalPrimitive1D extends Transformation2D {
    * @param strokeWidth
    */
   public void setStrokeWidth(double strokeWidth) {
+    checkNotFrozen();
     Double oldStrokeWidth = this.strokeWidth;
     this.strokeWidth = strokeWidth;
     firePropertyChange(RenderConstants.strokeWidth, oldStrokeWidth, this.strokeWidth);
@@ -290,6 +293,7 @@ public class GraphicalPrimitive1D extends Transformation2D {
    *         otherwise {@code false}
    */
   public boolean unsetStroke() {
+    checkNotFrozen();
     if (isSetStroke()) {
       String oldStroke = stroke;
       stroke = null;
@@ -305,6 +309,7 @@ public class GraphicalPrimitive1D extends Transformation2D {
    *         otherwise {@code false}
    */
   public boolean unsetStrokeWidth() {
+    checkNotFrozen();
     if (isSetStrokeWidth()) {
       Double oldStrokeWidth = strokeWidth;
       strokeWidth = null;
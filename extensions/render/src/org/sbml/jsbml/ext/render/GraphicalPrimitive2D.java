@@ -186,6 +186,7 @@ public class GraphicalPrimitive2D extends GraphicalPrimitive1D {
    * @param fill
    */
   public void setFill(String fill) {
+    checkNotFrozen();
     String oldFill = this.fill;
     this.fill = fill;
     firePropertyChange(RenderConstants.fill, oldFill, this.fill);
@@ -197,6 +198,7 @@ public class GraphicalPrimitive2D extends GraphicalPrimitive1D {
    *         otherwise {@code false}
    */
   public boolean unsetFill() {
+    checkNotFrozen();
     if (isSetFill()) {
       String oldFill = fill;
       fill = null;
@@ -229,6 +231,7 @@ public class GraphicalPrimitive2D extends GraphicalPrimitive1D {
    * @param fillRule
    */
   public void setFillRule(FillRule fillRule) {
+    checkNotFrozen();
     FillRule oldFillRule = this.fillRule;
     this.fillRule = fillRule;
     firePropertyChange(RenderConstants.fillRule, oldFillRule, this.fillRule);
@@ -240,6 +243,7 @@ public class GraphicalPrimitive2D extends GraphicalPrimitive1D {
    *         otherwise {@code false}
    */
   public boolean unsetFillRule() {
+    checkNotFrozen();
     if (isSetFillRule()) {
       FillRule oldFillRule = fillRule;
       fillRule = null;
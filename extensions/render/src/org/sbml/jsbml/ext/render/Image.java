@@ -249,6 +249,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    * @param height
    */
   public void setHeight(RelAbsVector height) {
+    checkNotFrozen();
     RelAbsVector oldHeight = this.height;
     this.height = height;
     firePropertyChange(RenderConstants.height, oldHeight, this.height);
@@ -260,6 +261,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    *         otherwise {@code false}
    */
   public boolean unsetHeight() {
+    checkNotFrozen();
     if (isSetHeight()) {
       RelAbsVector oldHeight = height;
       height = null;
@@ -292,6 +294,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    * @param href
    */
   public void setHref(String href) {
+    checkNotFrozen();
     String oldHref = this.href;
     this.href = href;
     firePropertyChange(RenderConstants.href, oldHref, this.href);
@@ -303,6 +306,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    *         otherwise {@code false}
    */
   public boolean unsetHref() {
+    checkNotFrozen();
     if (isSetHref()) {
       String oldHref = href;
       href = null;
@@ -335,6 +339,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    * @param width
    */
   public void setWidth(RelAbsVector width) {
+    checkNotFrozen();
     RelAbsVector oldWidth = this.width;
     this.width = width;
     firePropertyChange(RenderConstants.width, oldWidth, this.width);
@@ -346,6 +351,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    *         otherwise {@code false}
    */
   public boolean unsetWidth() {
+    checkNotFrozen();
     if (isSetWidth()) {
       RelAbsVector oldWidth = width;
       width = null;
@@ -378,6 +384,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    * @param x
    */
   public void setX(RelAbsVector x) {
+    checkNotFrozen();
     RelAbsVector oldX = this.x;
     this.x = x;
     firePropertyChange(RenderConstants.x, oldX, this.x);
@@ -389,6 +396,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    *         otherwise {@code false}
    */
   public boolean unsetX() {
+    checkNotFrozen();
     if (isSetX()) {
       RelAbsVector oldX = x;
       x = null;
@@ -421,6 +429,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    * @param y
    */
   public void setY(RelAbsVector y) {
+    checkNotFrozen();
     RelAbsVector oldY = this.y;
     this.y = y;
     firePropertyChange(RenderConstants.y, oldY, this.y);
@@ -432,6 +441,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    *         otherwise {@code false}
    */
   public boolean unsetY() {
+    checkNotFrozen();
     if (isSetY()) {
       RelAbsVector oldY = y;
       y = null;
@@ -464,6 +474,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    * @param z
    */
   public void setZ(RelAbsVector z) {
+    checkNotFrozen();
     RelAbsVector oldZ = this.z;
     this.z = z;
     firePropertyChange(RenderConstants.z, oldZ, this.z);
@@ -475,6 +486,7 @@ public class Image extends Transformation2D { // TODO - need to extends UniqueNa
    *         otherwise {@code false}
    */
   public boolean unsetZ() {
+    checkNotFrozen();
     if (isSetZ()) {
       RelAbsVector oldZ = z;
       z = null;
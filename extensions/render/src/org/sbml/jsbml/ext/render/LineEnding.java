@@ -177,6 +177,7 @@ public class LineEnding extends GraphicalPrimitive2D implements IBoundingBox {
    * @param boundingBox the value of boundingBox
    */
   public void setBoundingBox(BoundingBox boundingBox) {
+    checkNotFrozen();
     BoundingBox oldBoundingBox = this.boundingBox;
     this.boundingBox = boundingBox;
     firePropertyChange(RenderConstants.boundingBox, oldBoundingBox, this.boundingBox);
@@ -187,6 +188,7 @@ public class LineEnding extends GraphicalPrimitive2D implements IBoundingBox {
    * Unsets the variable boundingBox
    */
   public void unsetBoundingBox() {
+    checkNotFrozen();
     if (isSetBoundingBox()) {
       BoundingBox oldBoundingBox = boundingBox;
       boundingBox = null;
@@ -218,6 +220,7 @@ public class LineEnding extends GraphicalPrimitive2D implements IBoundingBox {
    * @param group the value of group
    */
   public void setGroup(RenderGroup group) {
+    checkNotFrozen();
     RenderGroup oldGroup = this.group;
     this.group = group;
     firePropertyChange(RenderConstants.group, oldGroup, this.group);
@@ -230,6 +233,7 @@ public class LineEnding extends GraphicalPrimitive2D implements IBoundingBox {
    *         otherwise {@code false}
    */
   public boolean unsetGroup() {
+    checkNotFrozen();
     if (isSetGroup()) {
       RenderGroup oldGroup = group;
       group = null;
@@ -263,6 +267,7 @@ public class LineEnding extends GraphicalPrimitive2D implements IBoundingBox {
    * @param enableRotationMapping the value of enableRotationMapping
    */
   public void setEnableRotationMapping(Boolean enableRotationMapping) {
+    checkNotFrozen();
     Boolean oldEnableRotationMapping = this.enableRotationMapping;
     this.enableRotationMapping = enableRotationMapping;
     firePropertyChange(RenderConstants.enableRotationMapping, oldEnableRotationMapping, this.enableRotationMapping);
@@ -274,6 +279,7 @@ public class LineEnding extends GraphicalPrimitive2D implements IBoundingBox {
    *         otherwise {@code false}
    */
   public boolean unsetEnableRotationMapping() {
+    checkNotFrozen();
     if (isSetEnableRotationMapping()) {
       Boolean oldEnableRotationMapping = enableRotationMapping;
       enableRotationMapping = null;
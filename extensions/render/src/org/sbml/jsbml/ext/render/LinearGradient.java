@@ -207,6 +207,7 @@ public class LinearGradient extends GradientBase {
    * @param x1
    */
   public void setX1(RelAbsVector x1) {
+    checkNotFrozen();
     RelAbsVector oldX1 = this.x1;
     this.x1 = x1;
     firePropertyChange(RenderConstants.x1, oldX1, this.x1);
@@ -218,6 +219,7 @@ public class LinearGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetX1() {
+    checkNotFrozen();
     if (isSetX1()) {
       RelAbsVector oldX1 = x1;
       x1 = null;
@@ -250,6 +252,7 @@ public class LinearGradient extends GradientBase {
    * @param x2
    */
   public void setX2(RelAbsVector x2) {
+    checkNotFrozen();
     RelAbsVector oldX2 = this.x2;
     this.x2 = x2;
     firePropertyChange(RenderConstants.x2, oldX2, this.x2);
@@ -261,6 +264,7 @@ public class LinearGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetX2() {
+    checkNotFrozen();
     if (isSetX2()) {
       RelAbsVector oldX2 = x2;
       x2 = null;
@@ -293,6 +297,7 @@ public class LinearGradient extends GradientBase {
    * @param y1
    */
   public void setY1(RelAbsVector y1) {
+    checkNotFrozen();
     RelAbsVector oldY1 = this.y1;
     this.y1 = y1;
     firePropertyChange(RenderConstants.y1, oldY1, this.y1);
@@ -304,6 +309,7 @@ public class LinearGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetY1() {
+    checkNotFrozen();
     if (isSetY1()) {
       RelAbsVector oldY1 = y1;
       y1 = null;
@@ -336,6 +342,7 @@ public class LinearGradient extends GradientBase {
    * @param y2
    */
   public void setY2(RelAbsVector y2) {
+    checkNotFrozen();
     RelAbsVector oldY2 = this.y2;
     this.y2 = y2;
     firePropertyChange(RenderConstants.y2, oldY2, this.y2);
@@ -347,6 +354,7 @@ public class LinearGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetY2() {
+    checkNotFrozen();
     if (isSetY2()) {
       RelAbsVector oldY2 = y2;
       y2 = null;
@@ -379,6 +387,7 @@ public class LinearGradient extends GradientBase {
    * @param z1
    */
   public void setZ1(RelAbsVector z1) {
+    checkNotFrozen();
     RelAbsVector oldZ1 = this.z1;
     this.z1 = z1;
     firePropertyChange(RenderConstants.z1, oldZ1, this.z1);
@@ -390,6 +399,7 @@ public class LinearGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetZ1() {
+    checkNotFrozen();
     if (isSetZ1()) {
       RelAbsVector oldZ1 = z1;
       z1 = null;
@@ -422,6 +432,7 @@ public class LinearGradient extends GradientBase {
    * @param z2
    */
   public void setZ2(RelAbsVector z2) {
+    checkNotFrozen();
     RelAbsVector oldZ2 = this.z2;
     this.z2 = z2;
     firePropertyChange(RenderConstants.z2, oldZ2, this.z2);
@@ -433,6 +444,7 @@ public class LinearGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetZ2() {
+    checkNotFrozen();
     if (isSetZ2()) {
       RelAbsVector oldZ2 = z2;
       z2 = null;
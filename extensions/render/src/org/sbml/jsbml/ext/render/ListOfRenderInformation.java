@@ -177,6 +177,7 @@ public abstract class ListOfRenderInformation<T extends RenderInformationBase> e
    * @param versionMinor the value of versionMinor
    */
   public void setVersionMinor(short versionMinor) {
+    checkNotFrozen();
     Short oldVersionMinor = this.versionMinor;
     this.versionMinor = versionMinor;
     firePropertyChange(RenderConstants.versionMinor, oldVersionMinor, this.versionMinor);
@@ -189,6 +190,7 @@ public abstract class ListOfRenderInformation<T extends RenderInformationBase> e
    *         otherwise {@code false}
    */
   public boolean unsetVersionMinor() {
+    checkNotFrozen();
     if (isSetVersionMinor()) {
       Short oldVersionMinor = versionMinor;
       versionMinor = null;
@@ -227,6 +229,7 @@ public abstract class ListOfRenderInformation<T extends RenderInformationBase> e
    * @param versionMajor the value of versionMajor
    */
   public void setVersionMajor(short versionMajor) {
+    checkNotFrozen();
     Short oldVersionMajor = this.versionMajor;
     this.versionMajor = versionMajor;
     firePropertyChange(RenderConstants.versionMajor, oldVersionMajor, this.versionMajor);
@@ -255,6 +258,7 @@ public abstract class ListOfRenderInformation<T extends RenderInformationBase> e
    *         otherwise {@code false}
    */
   public boolean unsetVersionMajor() {
+    checkNotFrozen();
     if (isSetVersionMajor()) {
       Short oldVersionMajor = versionMajor;
       versionMajor = null;
@@ -293,6 +297,7 @@ public abstract class ListOfRenderInformation<T extends RenderInformationBase> e
    * @param defaultValues the value of defaultValues to be set.
    */
   public void setDefaultValues(DefaultValues defaultValues) {
+    checkNotFrozen();
     DefaultValues oldDefaultValues = this.defaultValues;
     this.defaultValues = defaultValues;
     firePropertyChange(RenderConstants.defaultValues, oldDefaultValues, this.defaultValues);
@@ -304,6 +309,7 @@ public abstract class ListOfRenderInformation<T extends RenderInformationBase> e
    * @return {@code true} if defaultValues was set before, otherwise {@code false}.
    */
   public boolean unsetDefaultValues() {
+    checkNotFrozen();
     if (isSetDefaultValues()) {
       DefaultValues oldDefaultValues = this.defaultValues;
       this.defaultValues = null;
@@ -169,6 +169,7 @@ public class LocalStyle extends Style {
    * @param idList the id lists
    */
   public void setIDList(List<String> idList) {
+    checkNotFrozen();
     List<String> oldIDList = this.idList;
     this.idList = idList;
     firePropertyChange(RenderConstants.idList, oldIDList, this.idList);
@@ -180,6 +181,7 @@ public class LocalStyle extends Style {
    *         otherwise {@code false}
    */
   public boolean unsetIDList() {
+    checkNotFrozen();
     if (isSetIDList()) {
       List<String> oldIDList = idList;
       idList = null;
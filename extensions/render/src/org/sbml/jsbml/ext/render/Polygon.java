@@ -227,6 +227,7 @@ public class Polygon extends GraphicalPrimitive2D implements ICurve {
    *         otherwise {@code false}
    */
   public boolean unsetListOfElements() {
+    checkNotFrozen();
     if (isSetListOfElements()) {
       ListOf<RenderPoint> oldListOfElements = listOfElements;
       unregisterChild(listOfElements);
@@ -229,6 +229,7 @@ public class RadialGradient extends GradientBase {
    * @param cx
    */
   public void setCx(RelAbsVector cx) {
+    checkNotFrozen();
     RelAbsVector oldCx = this.cx;
     this.cx = cx;
     firePropertyChange(RenderConstants.cx, oldCx, this.cx);
@@ -239,6 +240,7 @@ public class RadialGradient extends GradientBase {
    * @param cy
    */
   public void setCy(RelAbsVector cy) {
+    checkNotFrozen();
     RelAbsVector oldCy = this.cy;
     this.cy = cy;
     firePropertyChange(RenderConstants.cy, oldCy, this.cy);
@@ -249,6 +251,7 @@ public class RadialGradient extends GradientBase {
    * @param cz
    */
   public void setCz(RelAbsVector cz) {
+    checkNotFrozen();
     RelAbsVector oldCz = this.cz;
     this.cz = cz;
     firePropertyChange(RenderConstants.cz, oldCz, this.cz);
@@ -259,6 +262,7 @@ public class RadialGradient extends GradientBase {
    * @param fx
    */
   public void setFx(RelAbsVector fx) {
+    checkNotFrozen();
     RelAbsVector oldFx = this.fx;
     this.fx = fx;
     firePropertyChange(RenderConstants.fx, oldFx, this.fx);
@@ -269,6 +273,7 @@ public class RadialGradient extends GradientBase {
    * @param fy
    */
   public void setFy(RelAbsVector fy) {
+    checkNotFrozen();
     RelAbsVector oldFy = this.fy;
     this.fy = fy;
     firePropertyChange(RenderConstants.fy, oldFy, this.fy);
@@ -279,6 +284,7 @@ public class RadialGradient extends GradientBase {
    * @param fz
    */
   public void setFz(RelAbsVector fz) {
+    checkNotFrozen();
     RelAbsVector oldFz = this.fz;
     this.fz = fz;
     firePropertyChange(RenderConstants.fz, oldFz, this.fz);
@@ -289,6 +295,7 @@ public class RadialGradient extends GradientBase {
    * @param r
    */
   public void setR(RelAbsVector r) {
+    checkNotFrozen();
     RelAbsVector oldR = this.r;
     this.r = r;
     firePropertyChange(RenderConstants.r, oldR, this.r);
@@ -300,6 +307,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetCx() {
+    checkNotFrozen();
     if (isSetCx()) {
       RelAbsVector oldCx = cx;
       cx = null;
@@ -315,6 +323,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetCy() {
+    checkNotFrozen();
     if (isSetCy()) {
       RelAbsVector oldCy = cy;
       cy = null;
@@ -330,6 +339,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetCz() {
+    checkNotFrozen();
     if (isSetCz()) {
       RelAbsVector oldCz = cz;
       cz = null;
@@ -345,6 +355,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetFx() {
+    checkNotFrozen();
     if (isSetFx()) {
       RelAbsVector oldFx = fx;
       fx = null;
@@ -360,6 +371,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetFy() {
+    checkNotFrozen();
     if (isSetFy()) {
       RelAbsVector oldFy = fy;
       fy = null;
@@ -375,6 +387,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetFz() {
+    checkNotFrozen();
     if (isSetFz()) {
       RelAbsVector oldFz = fz;
       fz = null;
@@ -390,6 +403,7 @@ public class RadialGradient extends GradientBase {
    *         otherwise {@code false}
    */
   public boolean unsetR() {
+    checkNotFrozen();
     if (isSetR()) {
       RelAbsVector oldR = r;
       r = null;
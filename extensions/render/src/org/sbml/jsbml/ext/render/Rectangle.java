@@ -81,6 +81,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    * @param rx
    */
   public void setRx(RelAbsVector rx) {
+    checkNotFrozen();
     RelAbsVector oldRx = this.rx;
     this.rx = rx;
     firePropertyChange(RenderConstants.rx, oldRx, this.rx);
@@ -92,6 +93,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    *         otherwise {@code false}
    */
   public boolean unsetRx() {
+    checkNotFrozen();
     if (isSetRx()) {
       RelAbsVector oldRx = rx;
       rx = null;
@@ -124,6 +126,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    * @param ry
    */
   public void setRy(RelAbsVector ry) {
+    checkNotFrozen();
     RelAbsVector oldRy = this.ry;
     this.ry = ry;
     firePropertyChange(RenderConstants.ry, oldRy, this.ry);
@@ -135,6 +138,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    *         otherwise {@code false}
    */
   public boolean unsetRy() {
+    checkNotFrozen();
     if (isSetRy()) {
       RelAbsVector oldRy = ry;
       ry = null;
@@ -169,6 +173,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    */
   @Override
   public void setX(RelAbsVector x) {
+    checkNotFrozen();
     RelAbsVector oldX = this.x;
     this.x = x;
     firePropertyChange(RenderConstants.x, oldX, this.x);
@@ -181,6 +186,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    */
   @Override
   public boolean unsetX() {
+    checkNotFrozen();
     if (isSetX()) {
       RelAbsVector oldX = x;
       x = null;
@@ -215,6 +221,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    */
   @Override
   public void setY(RelAbsVector y) {
+    checkNotFrozen();
     RelAbsVector oldY = this.y;
     this.y = y;
     firePropertyChange(RenderConstants.y, oldY, this.y);
@@ -227,6 +234,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    */
   @Override
   public boolean unsetY() {
+    checkNotFrozen();
     if (isSetY()) {
       RelAbsVector oldY = y;
       y = null;
@@ -261,6 +269,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    */
   @Override
   public void setZ(RelAbsVector z) {
+    checkNotFrozen();
     RelAbsVector oldZ = this.z;
     this.z = z;
     firePropertyChange(RenderConstants.z, oldZ, this.z);
@@ -273,6 +282,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    */
   @Override
   public boolean unsetZ() {
+    checkNotFrozen();
     if (isSetZ()) {
       RelAbsVector oldZ = z;
       z = null;
@@ -305,6 +315,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    * @param height
    */
   public void setHeight(RelAbsVector height) {
+    checkNotFrozen();
     RelAbsVector oldHeight = this.height;
     this.height = height;
     firePropertyChange(RenderConstants.height, oldHeight, this.height);
@@ -316,6 +327,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    *         otherwise {@code false}
    */
   public boolean unsetHeight() {
+    checkNotFrozen();
     if (isSetHeight()) {
       RelAbsVector oldHeight = height;
       height = null;
@@ -348,6 +360,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    * @param width
    */
   public void setWidth(RelAbsVector width) {
+    checkNotFrozen();
     RelAbsVector oldWidth = this.width;
     this.width = width;
     firePropertyChange(RenderConstants.width, oldWidth, this.width);
@@ -359,6 +372,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    *         otherwise {@code false}
    */
   public boolean unsetWidth() {
+    checkNotFrozen();
     if (isSetWidth()) {
       RelAbsVector oldWidth = width;
       width = null;
@@ -388,6 +402,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    * @param ratio of width/height
    */
   public void setRatio(double ratio) {
+    checkNotFrozen();
     Double old = this.ratio;
     this.ratio = ratio;
     firePropertyChange(RenderConstants.ratio, old, ratio);
@@ -397,6 +412,7 @@ public class Rectangle extends GraphicalPrimitive2D implements Point3D {
    * @return whether the ratio of width/height could be unset
    */
   public boolean unsetRatio() {
+    checkNotFrozen();
     if(isSetRatio()) {
       Double old = ratio;
       ratio = null;
@@ -157,6 +157,7 @@ public class RelAbsVector extends AbstractTreeNode {
    * @param absolute the new absolute value to be taken
    */
   public void setAbsoluteValue(double absolute) {
+    checkNotFrozen();
     Double old = this.absolute;
     this.absolute = absolute;
     firePropertyChange(RenderConstants.absoluteValue, old, absolute);
@@ -169,6 +170,7 @@ public class RelAbsVector extends AbstractTreeNode {
    *        means 100%)
    */
   public void setRelativeValue(double relative) {
+    checkNotFrozen();
     Double old = this.relative;
     this.relative = relative;
     firePropertyChange(RenderConstants.relativeValue, old, relative);
@@ -195,6 +197,7 @@ public class RelAbsVector extends AbstractTreeNode {
    * @return whether the absolute value could indeed be unset
    */
   public boolean unsetAbsoluteValue() {
+    checkNotFrozen();
     if(isSetAbsoluteValue()) {
       Double old = absolute;
       absolute = null;
@@ -209,6 +212,7 @@ public class RelAbsVector extends AbstractTreeNode {
    * @return whether the relative value could indeed be unset
    */
   public boolean unsetRelativeValue() {
+    checkNotFrozen();
     if(isSetRelativeValue()) {
       Double old = relative;
       relative = null;
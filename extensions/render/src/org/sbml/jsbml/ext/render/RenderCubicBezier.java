@@ -198,6 +198,7 @@ public class RenderCubicBezier extends RenderPoint {
    * @param x1
    */
   public void setX1(RelAbsVector x1) {
+    checkNotFrozen();
     RelAbsVector oldX1 = this.x1;
     this.x1 = x1;
     firePropertyChange(RenderConstants.basepoint1_x, oldX1, this.x1);
@@ -208,6 +209,7 @@ public class RenderCubicBezier extends RenderPoint {
    * @param x2
    */
   public void setX2(RelAbsVector x2) {
+    checkNotFrozen();
     RelAbsVector oldX2 = this.x2;
     this.x2 = x2;
     firePropertyChange(RenderConstants.basepoint2_x, oldX2, this.x2);
@@ -218,6 +220,7 @@ public class RenderCubicBezier extends RenderPoint {
    * @param y1
    */
   public void setY1(RelAbsVector y1) {
+    checkNotFrozen();
     RelAbsVector oldY1 = this.y1;
     this.y1 = y1;
     firePropertyChange(RenderConstants.basepoint1_y, oldY1, this.y1);
@@ -228,6 +231,7 @@ public class RenderCubicBezier extends RenderPoint {
    * @param y2
    */
   public void setY2(RelAbsVector y2) {
+    checkNotFrozen();
     RelAbsVector oldY2 = this.y2;
     this.y2 = y2;
     firePropertyChange(RenderConstants.basepoint2_y, oldY2, this.y2);
@@ -238,6 +242,7 @@ public class RenderCubicBezier extends RenderPoint {
    * @param z1
    */
   public void setZ1(RelAbsVector z1) {
+    checkNotFrozen();
     RelAbsVector oldZ1 = this.z1;
     this.z1 = z1;
     firePropertyChange(RenderConstants.basepoint1_z, oldZ1, this.z1);
@@ -248,6 +253,7 @@ public class RenderCubicBezier extends RenderPoint {
    * @param z2
    */
   public void setZ2(RelAbsVector z2) {
+    checkNotFrozen();
     RelAbsVector oldZ2 = this.z2;
     this.z2 = z2;
     firePropertyChange(RenderConstants.basepoint2_z, oldZ2, this.z2);
@@ -259,6 +265,7 @@ public class RenderCubicBezier extends RenderPoint {
    *         otherwise {@code false}
    */
   public boolean unsetX1() {
+    checkNotFrozen();
     if (isSetX1()) {
       RelAbsVector oldX1 = x1;
       x1 = null;
@@ -274,6 +281,7 @@ public class RenderCubicBezier extends RenderPoint {
    *         otherwise {@code false}
    */
   public boolean unsetX2() {
+    checkNotFrozen();
     if (isSetX2()) {
       RelAbsVector oldX2 = x2;
       x2 = null;
@@ -289,6 +297,7 @@ public class RenderCubicBezier extends RenderPoint {
    *         otherwise {@code false}
    */
   public boolean unsetY1() {
+    checkNotFrozen();
     if (isSetY1()) {
       RelAbsVector oldY1 = y1;
       y1 = null;
@@ -304,6 +313,7 @@ public class RenderCubicBezier extends RenderPoint {
    *         otherwise {@code false}
    */
   public boolean unsetY2() {
+    checkNotFrozen();
     if (isSetY2()) {
       RelAbsVector oldY2 = y2;
       y2 = null;
@@ -319,6 +329,7 @@ public class RenderCubicBezier extends RenderPoint {
    *         otherwise {@code false}
    */
   public boolean unsetZ1() {
+    checkNotFrozen();
     if (isSetZ1()) {
       RelAbsVector oldZ1 = z1;
       z1 = null;
@@ -334,6 +345,7 @@ public class RenderCubicBezier extends RenderPoint {
    *         otherwise {@code false}
    */
   public boolean unsetZ2() {
+    checkNotFrozen();
     if (isSetZ2()) {
       RelAbsVector oldZ2 = z2;
       z2 = null;
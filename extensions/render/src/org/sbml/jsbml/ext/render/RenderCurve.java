@@ -232,6 +232,7 @@ public class RenderCurve extends GraphicalPrimitive1D implements ICurve {
    * @param startHead the start head
    */
   public void setStartHead(String startHead) {
+    checkNotFrozen();
     String oldStartHead = this.startHead;
     this.startHead = startHead;
     firePropertyChange(RenderConstants.startHead, oldStartHead, this.startHead);
@@ -244,6 +245,7 @@ public class RenderCurve extends GraphicalPrimitive1D implements ICurve {
    *         otherwise {@code false}
    */
   public boolean unsetStartHead() {
+    checkNotFrozen();
     if (isSetStartHead()) {
       String oldStartHead = startHead;
       startHead = null;
@@ -282,6 +284,7 @@ public class RenderCurve extends GraphicalPrimitive1D implements ICurve {
    * @param endHead the end head
    */
   public void setEndHead(String endHead) {
+    checkNotFrozen();
     String oldEndHead = this.endHead;
     this.endHead = endHead;
     firePropertyChange(RenderConstants.endHead, oldEndHead, this.endHead);
@@ -294,6 +297,7 @@ public class RenderCurve extends GraphicalPrimitive1D implements ICurve {
    *         otherwise {@code false}
    */
   public boolean unsetEndHead() {
+    checkNotFrozen();
     if (isSetEndHead()) {
       String oldEndHead = endHead;
       endHead = null;
@@ -149,6 +149,7 @@ public class RenderGraphicalObjectPlugin extends AbstractRenderPlugin {
    * @param objectRole the value of objectRole to be set.
    */
   public void setObjectRole(String objectRole) {
+    checkNotFrozen();
     String oldObjectRole = this.objectRole;
     this.objectRole = objectRole;
     firePropertyChange(RenderConstants.objectRole, oldObjectRole, this.objectRole);
@@ -160,6 +161,7 @@ public class RenderGraphicalObjectPlugin extends AbstractRenderPlugin {
    * @return {@code true} if objectRole was set before, otherwise {@code false}.
    */
   public boolean unsetObjectRole() {
+    checkNotFrozen();
     if (isSetObjectRole()) {
       String oldObjectRole = this.objectRole;
       this.objectRole = null;
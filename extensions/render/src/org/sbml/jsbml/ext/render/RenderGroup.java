@@ -398,6 +398,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param fontFamily
    */
   public void setFontFamily(String fontFamily) {
+    checkNotFrozen();
     String oldFontFamily = this.fontFamily;
     this.fontFamily = fontFamily;
     firePropertyChange(RenderConstants.fontFamily, oldFontFamily, this.fontFamily);
@@ -409,6 +410,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetFontFamily() {
+    checkNotFrozen();
     if (isSetFontFamily()) {
       String oldFontFamily = fontFamily;
       fontFamily = null;
@@ -441,6 +443,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param fontSize
    */
   public void setFontSize(Short fontSize) {
+    checkNotFrozen();
     Short oldFontSize = this.fontSize;
     this.fontSize = fontSize;
     firePropertyChange(RenderConstants.fontSize, oldFontSize, this.fontSize);
@@ -452,6 +455,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetFontSize() {
+    checkNotFrozen();
     if (isSetFontSize()) {
       short oldFontSize = fontSize;
       fontSize = null;
@@ -495,6 +499,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param fontWeightBold
    */
   public void setFontWeightBold(Boolean fontWeightBold) {
+    checkNotFrozen();
     Boolean oldFontWeightBold = this.fontWeightBold;
     this.fontWeightBold = fontWeightBold;
     firePropertyChange(RenderConstants.fontWeightBold, oldFontWeightBold, this.fontWeightBold);
@@ -506,6 +511,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetFontWeightBold() {
+    checkNotFrozen();
     if (isSetFontWeightBold()) {
       Boolean oldFontWeightBold = fontWeightBold;
       fontWeightBold = null;
@@ -551,6 +557,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param fontStyleItalic
    */
   public void setFontStyleItalic(Boolean fontStyleItalic) {
+    checkNotFrozen();
     Boolean oldFontStyleItalic = this.fontStyleItalic;
     this.fontStyleItalic = fontStyleItalic;
     firePropertyChange(RenderConstants.fontStyleItalic, oldFontStyleItalic, this.fontStyleItalic);
@@ -562,6 +569,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetFontStyleItalic() {
+    checkNotFrozen();
     if (isSetFontStyleItalic()) {
       Boolean oldFontStyleItalic = fontStyleItalic;
       fontStyleItalic = null;
@@ -594,6 +602,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param startHead
    */
   public void setStartHead(String startHead) {
+    checkNotFrozen();
     String oldStartHead = this.startHead;
     this.startHead = startHead;
     firePropertyChange(RenderConstants.startHead, oldStartHead, this.startHead);
@@ -605,6 +614,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetStartHead() {
+    checkNotFrozen();
     if (isSetStartHead()) {
       String oldStartHead = startHead;
       startHead = null;
@@ -637,6 +647,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param endHead
    */
   public void setEndHead(String endHead) {
+    checkNotFrozen();
     String oldEndHead = this.endHead;
     this.endHead = endHead;
     firePropertyChange(RenderConstants.endHead, oldEndHead, this.endHead);
@@ -648,6 +659,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetEndHead() {
+    checkNotFrozen();
     if (isSetEndHead()) {
       String oldEndHead = endHead;
       endHead = null;
@@ -680,6 +692,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param textAnchor
    */
   public void setTextAnchor(HTextAnchor textAnchor) {
+    checkNotFrozen();
     HTextAnchor oldTextAnchor = this.textAnchor;
     this.textAnchor = textAnchor;
     firePropertyChange(RenderConstants.textAnchor, oldTextAnchor, this.textAnchor);
@@ -691,6 +704,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetTextAnchor() {
+    checkNotFrozen();
     if (isSetTextAnchor()) {
       HTextAnchor oldTextAnchor = textAnchor;
       textAnchor = null;
@@ -723,6 +737,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    * @param vTextAnchor
    */
   public void setVTextAnchor(VTextAnchor vTextAnchor) {
+    checkNotFrozen();
     VTextAnchor oldVTextAnchor = this.vTextAnchor;
     this.vTextAnchor = vTextAnchor;
     firePropertyChange(RenderConstants.vTextAnchor, oldVTextAnchor, this.vTextAnchor);
@@ -734,6 +749,7 @@ public class RenderGroup extends GraphicalPrimitive2D implements UniqueNamedSBas
    *         otherwise {@code false}
    */
   public boolean unsetVTextAnchor() {
+    checkNotFrozen();
     if (isSetVTextAnchor()) {
       VTextAnchor oldVTextAnchor = vTextAnchor;
       vTextAnchor = null;
@@ -300,6 +300,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    * @param programName
    */
   public void setProgramName(String programName) {
+    checkNotFrozen();
     String oldProgramName = this.programName;
     this.programName = programName;
     firePropertyChange(RenderConstants.programName, oldProgramName, this.programName);
@@ -311,6 +312,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    *         otherwise {@code false}
    */
   public boolean unsetProgramName() {
+    checkNotFrozen();
     if (isSetProgramName()) {
       String oldProgramName = programName;
       programName = null;
@@ -343,6 +345,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    * @param programVersion
    */
   public void setProgramVersion(String programVersion) {
+    checkNotFrozen();
     String oldProgramVersion = this.programVersion;
     this.programVersion = programVersion;
     firePropertyChange(RenderConstants.programVersion, oldProgramVersion, this.programVersion);
@@ -354,6 +357,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    *         otherwise {@code false}
    */
   public boolean unsetProgramVersion() {
+    checkNotFrozen();
     if (isSetProgramVersion()) {
       String oldProgramVersion = programVersion;
       programVersion = null;
@@ -386,6 +390,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    * @param referenceRenderInformation
    */
   public void setReferenceRenderInformation(String referenceRenderInformation) {
+    checkNotFrozen();
     String oldReferenceRenderInformation = this.referenceRenderInformation;
     this.referenceRenderInformation = referenceRenderInformation;
     firePropertyChange(RenderConstants.referenceRenderInformation, oldReferenceRenderInformation, this.referenceRenderInformation);
@@ -397,6 +402,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    *         otherwise {@code false}
    */
   public boolean unsetReferenceRenderInformation() {
+    checkNotFrozen();
     if (isSetReferenceRenderInformation()) {
       String oldReferenceRenderInformation = referenceRenderInformation;
       referenceRenderInformation = null;
@@ -429,6 +435,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    * @param backgroundColor
    */
   public void setBackgroundColor(Color backgroundColor) {
+    checkNotFrozen();
     Color oldBackgroundColor = this.backgroundColor;
     this.backgroundColor = backgroundColor;
     firePropertyChange(RenderConstants.backgroundColor, oldBackgroundColor, this.backgroundColor);
@@ -440,6 +447,7 @@ public class RenderInformationBase extends AbstractNamedSBase implements UniqueN
    *         otherwise {@code false}
    */
   public boolean unsetBackgroundColor() {
+    checkNotFrozen();
     if (isSetBackgroundColor()) {
       Color oldBackgroundColor = backgroundColor;
       backgroundColor = null;
@@ -154,6 +154,7 @@ public class RenderPoint extends RenderCurveSegment {
    */
   @Override
   public void setX(RelAbsVector x) {
+    checkNotFrozen();
     RelAbsVector oldX = this.x;
     this.x = x;
     firePropertyChange(RenderConstants.x, oldX, this.x);
@@ -164,6 +165,7 @@ public class RenderPoint extends RenderCurveSegment {
    */
   @Override
   public void setY(RelAbsVector y) {
+    checkNotFrozen();
     RelAbsVector oldY = this.y;
     this.y = y;
     firePropertyChange(RenderConstants.y, oldY, this.y);
@@ -174,6 +176,7 @@ public class RenderPoint extends RenderCurveSegment {
    */
   @Override
   public void setZ(RelAbsVector z) {
+    checkNotFrozen();
     RelAbsVector oldZ = this.z;
     this.z = z;
     firePropertyChange(RenderConstants.z, oldZ, this.z);
@@ -184,6 +187,7 @@ public class RenderPoint extends RenderCurveSegment {
    */
   @Override
   public boolean unsetX() {
+    checkNotFrozen();
     if (isSetX()) {
       RelAbsVector oldX = x;
       x = null;
@@ -198,6 +202,7 @@ public class RenderPoint extends RenderCurveSegment {
    */
   @Override
   public boolean unsetY() {
+    checkNotFrozen();
     if (isSetY()) {
       RelAbsVector oldY = y;
       y = null;
@@ -212,6 +217,7 @@ public class RenderPoint extends RenderCurveSegment {
    */
   @Override
   public boolean unsetZ() {
+    checkNotFrozen();
     if (isSetZ()) {
       RelAbsVector oldZ = z;
       z = null;
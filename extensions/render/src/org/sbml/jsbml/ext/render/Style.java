@@ -394,6 +394,7 @@ public class Style extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param roleList
    */
   public boolean setRoleList(List<String> roleList) {
+    checkNotFrozen();
     List<String> oldRoleList = this.roleList;
     this.roleList = roleList;
     firePropertyChange(RenderConstants.roleList, oldRoleList, this.roleList);
@@ -425,6 +426,7 @@ public class Style extends AbstractNamedSBase implements UniqueNamedSBase {
    * @param typeList
    */
   public boolean setTypeList(List<Type> typeList) {
+    checkNotFrozen();
     List<Type> oldTypeList = this.typeList;
     this.typeList = typeList;
     firePropertyChange(RenderConstants.typeList, oldTypeList, this.typeList);
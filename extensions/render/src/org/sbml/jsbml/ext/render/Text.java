@@ -321,6 +321,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setFontFamily(String fontFamily) {
+    checkNotFrozen();
     String oldFontFamily = this.fontFamily;
     this.fontFamily = fontFamily;
     firePropertyChange(RenderConstants.fontFamily, oldFontFamily, this.fontFamily);
@@ -338,6 +339,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setFontSize(RelAbsVector fontSize) {
+    checkNotFrozen();
     RelAbsVector oldFontSize = this.fontSize;
     this.fontSize = fontSize;
     firePropertyChange(RenderConstants.fontSize, oldFontSize, this.fontSize);
@@ -348,6 +350,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setFontStyleItalic(boolean fontStyleItalic) {
+    checkNotFrozen();
     Boolean oldFontStyleItalic = this.fontStyleItalic;
     this.fontStyleItalic = fontStyleItalic;
     firePropertyChange(RenderConstants.fontStyleItalic, oldFontStyleItalic, this.fontStyleItalic);
@@ -358,6 +361,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setFontWeightBold(boolean fontWeightBold) {
+    checkNotFrozen();
     Boolean oldFontWeightBold = this.fontWeightBold;
     this.fontWeightBold = fontWeightBold;
     firePropertyChange(RenderConstants.fontWeightBold, oldFontWeightBold, this.fontWeightBold);
@@ -368,6 +372,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    * @param text the new text
    */
   public void setText(String text) {
+    checkNotFrozen();
     String oldText = this.text;
     this.text = text;
     firePropertyChange(RenderConstants.text, oldText, this.text);
@@ -378,6 +383,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setTextAnchor(HTextAnchor textAnchor) {
+    checkNotFrozen();
     HTextAnchor oldTextAnchor = this.textAnchor;
     this.textAnchor = textAnchor;
     firePropertyChange(RenderConstants.textAnchor, oldTextAnchor, this.textAnchor);
@@ -388,6 +394,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setVTextAnchor(VTextAnchor vTextAnchor) {
+    checkNotFrozen();
     VTextAnchor oldVTextAnchor = this.vTextAnchor;
     this.vTextAnchor = vTextAnchor;
     firePropertyChange(RenderConstants.vTextAnchor, oldVTextAnchor, this.vTextAnchor);
@@ -398,6 +405,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setX(RelAbsVector x) {
+    checkNotFrozen();
     RelAbsVector oldX = this.x;
     this.x = x;
     firePropertyChange(RenderConstants.x, oldX, this.x);
@@ -408,6 +416,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setY(RelAbsVector y) {
+    checkNotFrozen();
     RelAbsVector oldY = this.y;
     this.y = y;
     firePropertyChange(RenderConstants.y, oldY, this.y);
@@ -418,6 +427,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public void setZ(RelAbsVector z) {
+    checkNotFrozen();
     RelAbsVector oldZ = this.z;
     this.z = z;
     firePropertyChange(RenderConstants.z, oldZ, this.z);
@@ -428,6 +438,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetFontFamily() {
+    checkNotFrozen();
     if (isSetFontFamily()) {
       String oldFontFamily = fontFamily;
       fontFamily = null;
@@ -442,6 +453,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetFontSize() {
+    checkNotFrozen();
     if (isSetFontSize()) {
       RelAbsVector oldFontSize = fontSize;
       fontSize = null;
@@ -456,6 +468,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetFontStyleItalic() {
+    checkNotFrozen();
     if (isSetFontStyleItalic()) {
       Boolean oldFontStyleItalic = fontStyleItalic;
       fontStyleItalic = null;
@@ -470,6 +483,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetFontWeightBold() {
+    checkNotFrozen();
     if (isSetFontWeightBold()) {
       Boolean oldFontWeightBold = fontWeightBold;
       fontWeightBold = null;
@@ -485,6 +499,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    * @return whether the text could be unset
    */
   public boolean unsetText() {
+    checkNotFrozen();
     if(isSetText()) {
       String oldText = text;
       text = null;
@@ -499,6 +514,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetTextAnchor() {
+    checkNotFrozen();
     if (isSetTextAnchor()) {
       HTextAnchor oldTextAnchor = textAnchor;
       textAnchor = null;
@@ -513,6 +529,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetVTextAnchor() {
+    checkNotFrozen();
     if (isSetVTextAnchor()) {
       VTextAnchor oldVTextAnchor = vTextAnchor;
       vTextAnchor = null;
@@ -527,6 +544,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetX() {
+    checkNotFrozen();
     if (isSetX()) {
       RelAbsVector oldX = x;
       x = null;
@@ -541,6 +559,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetY() {
+    checkNotFrozen();
     if (isSetY()) {
       RelAbsVector oldY = y;
       y = null;
@@ -555,6 +574,7 @@ public class Text extends GraphicalPrimitive1D implements FontRenderStyle, Point
    */
   @Override
   public boolean unsetZ() {
+    checkNotFrozen();
     if (isSetZ()) {
       RelAbsVector oldZ = z;
       z = null;
@@ -175,6 +175,7 @@ public class Transformation extends AbstractSBase {
    * @param transform
    */
   public boolean setTransform(Double[] transform) {
+    checkNotFrozen();
     Double[] oldTransform = this.transform;
     this.transform = transform;
     firePropertyChange(RenderConstants.transform, oldTransform, this.transform);
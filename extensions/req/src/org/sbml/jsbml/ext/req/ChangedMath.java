@@ -215,6 +215,7 @@ public class ChangedMath extends AbstractNamedSBase {
    * @param changedBy
    */
   public void setChangedBy(String changedBy) {
+    checkNotFrozen();
     String oldChangedBy = this.changedBy;
     this.changedBy = changedBy;
     firePropertyChange(ReqConstants.changedBy, oldChangedBy, this.changedBy);
@@ -227,6 +228,7 @@ public class ChangedMath extends AbstractNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetChangedBy() {
+    checkNotFrozen();
     if (isSetChangedBy()) {
       String oldChangedBy = changedBy;
       changedBy = null;
@@ -277,6 +279,7 @@ public class ChangedMath extends AbstractNamedSBase {
    * @param viableWithoutChange
    */
   public void setViableWithoutChange(boolean viableWithoutChange) {
+    checkNotFrozen();
     Boolean oldViableWithoutChange = this.viableWithoutChange;
     this.viableWithoutChange = viableWithoutChange;
     firePropertyChange(ReqConstants.viableWithoutChange, oldViableWithoutChange, this.viableWithoutChange);
@@ -289,6 +292,7 @@ public class ChangedMath extends AbstractNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetViableWithoutChange() {
+    checkNotFrozen();
     if (isSetViableWithoutChange()) {
       Boolean oldViableWithoutChange = viableWithoutChange;
       viableWithoutChange = null;
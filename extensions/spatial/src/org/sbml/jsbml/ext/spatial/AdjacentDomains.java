@@ -151,6 +151,7 @@ public class AdjacentDomains extends AbstractSpatialNamedSBase {
    * @param domain1
    */
   public void setDomain1(String domain1) {
+    checkNotFrozen();
     String oldDomain1 = this.domain1;
     this.domain1 = domain1;
     firePropertyChange(SpatialConstants.domain1, oldDomain1, this.domain1);
@@ -164,6 +165,7 @@ public class AdjacentDomains extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomain1() {
+    checkNotFrozen();
     if (isSetDomain1()) {
       String oldDomain1 = domain1;
       domain1 = null;
@@ -201,6 +203,7 @@ public class AdjacentDomains extends AbstractSpatialNamedSBase {
    * @param domain2
    */
   public void setDomain2(String domain2) {
+    checkNotFrozen();
     String oldDomain2 = this.domain2;
     this.domain2 = domain2;
     firePropertyChange(SpatialConstants.domain2, oldDomain2, this.domain2);
@@ -213,6 +216,7 @@ public class AdjacentDomains extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomain2() {
+    checkNotFrozen();
     if (isSetDomain2()) {
       String oldDomain2 = domain2;
       domain2 = null;
@@ -127,6 +127,7 @@ public class AdvectionCoefficient extends ParameterType {
    * @param coordinate
    */
   public void setCoordinate(CoordinateKind coordinate) {
+    checkNotFrozen();
     CoordinateKind oldCoordinate = this.coordinate;
     this.coordinate = coordinate;
     firePropertyChange(SpatialConstants.coordinate, oldCoordinate, this.coordinate);
@@ -140,6 +141,7 @@ public class AdvectionCoefficient extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetCoordinate() {
+    checkNotFrozen();
     if (isSetCoordinate()) {
       CoordinateKind oldCoordinate = coordinate;
       coordinate = null;
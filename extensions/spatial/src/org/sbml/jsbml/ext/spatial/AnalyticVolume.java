@@ -177,6 +177,7 @@ public class AnalyticVolume extends AbstractMathContainer implements NamedSBase,
    * @param functionType the function type
    */
   public void setFunctionType(FunctionKind functionType) {
+    checkNotFrozen();
     FunctionKind oldFunctionType = this.functionType;
     this.functionType = functionType;
     firePropertyChange(SpatialConstants.functionType, oldFunctionType, this.functionType);
@@ -190,6 +191,7 @@ public class AnalyticVolume extends AbstractMathContainer implements NamedSBase,
    *         otherwise {@code false}
    */
   public boolean unsetFunctionType() {
+    checkNotFrozen();
     if (isSetFunctionType()) {
       FunctionKind oldFunctionType = functionType;
       functionType = null;
@@ -230,6 +232,7 @@ public class AnalyticVolume extends AbstractMathContainer implements NamedSBase,
    * @param domainType the domain type
    */
   public void setDomainType(String domainType) {
+    checkNotFrozen();
     String oldDomainType = this.domainType;
     this.domainType = domainType;
     firePropertyChange(SpatialConstants.domainType, oldDomainType, this.domainType);
@@ -243,6 +246,7 @@ public class AnalyticVolume extends AbstractMathContainer implements NamedSBase,
    *         otherwise {@code false}
    */
   public boolean unsetDomainType() {
+    checkNotFrozen();
     if (isSetDomainType()) {
       String oldDomainType = domainType;
       domainType = null;
@@ -280,6 +284,7 @@ public class AnalyticVolume extends AbstractMathContainer implements NamedSBase,
    * @param ordinal the ordinal
    */
   public void setOrdinal(int ordinal) {
+    checkNotFrozen();
     Integer oldOrdinal = this.ordinal;
     this.ordinal = ordinal;
     firePropertyChange(SpatialConstants.ordinal, oldOrdinal, this.ordinal);
@@ -292,6 +297,7 @@ public class AnalyticVolume extends AbstractMathContainer implements NamedSBase,
    *         otherwise {@code false}
    */
   public boolean unsetOrdinal() {
+    checkNotFrozen();
     if (isSetOrdinal()) {
       Integer oldOrdinal = ordinal;
       ordinal = null;
@@ -130,6 +130,7 @@ public class Boundary extends AbstractSpatialNamedSBase {
    * @param value the value
    */
   public void setValue(double value) {
+    checkNotFrozen();
     Double oldValue = this.value;
     this.value = value;
     firePropertyChange(SpatialConstants.value, oldValue, this.value);
@@ -143,6 +144,7 @@ public class Boundary extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetValue() {
+    checkNotFrozen();
     if (isSetValue()) {
       Double oldValue = value;
       value = null;
@@ -182,6 +184,7 @@ public class Boundary extends AbstractSpatialNamedSBase {
    * @param elementName the value of elementName to be set.
    */
   public void setElementName(String elementName) {
+    checkNotFrozen();
     String oldElementName = this.elementName;
     this.elementName = elementName;
     firePropertyChange("elementName", oldElementName, this.elementName);
@@ -193,6 +196,7 @@ public class Boundary extends AbstractSpatialNamedSBase {
    * @return {@code true} if elementName was set before, otherwise {@code false}.
    */
   public boolean unsetElementName() {
+    checkNotFrozen();
     if (isSetElementName()) {
       String oldElementName = this.elementName;
       this.elementName = null;
@@ -166,6 +166,7 @@ public class BoundaryCondition extends ParameterType {
    * @param type
    */
   public void setType(BoundaryConditionKind type) {
+    checkNotFrozen();
     BoundaryConditionKind oldType = this.type;
     this.type = type;
     firePropertyChange(SpatialConstants.type, oldType, this.type);
@@ -185,6 +186,7 @@ public class BoundaryCondition extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetType() {
+    checkNotFrozen();
     if (isSetType()) {
       BoundaryConditionKind oldType = type;
       type = null;
@@ -224,6 +226,7 @@ public class BoundaryCondition extends ParameterType {
    * @param coordinateBoundary
    */
   public void setCoordinateBoundary(String coordinateBoundary) {
+    checkNotFrozen();
     String oldCoordinateBoundary = this.coordinateBoundary;
     this.coordinateBoundary = coordinateBoundary;
     firePropertyChange(SpatialConstants.coordinateBoundary, oldCoordinateBoundary, this.coordinateBoundary);
@@ -237,6 +240,7 @@ public class BoundaryCondition extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetCoordinateBoundary() {
+    checkNotFrozen();
     if (isSetCoordinateBoundary()) {
       String oldCoordinateBoundary = coordinateBoundary;
       coordinateBoundary = null;
@@ -276,6 +280,7 @@ public class BoundaryCondition extends ParameterType {
    * @param boundaryDomainType
    */
   public void setBoundaryDomainType(String boundaryDomainType) {
+    checkNotFrozen();
     String oldBoundaryDomainType = this.boundaryDomainType;
     this.boundaryDomainType = boundaryDomainType;
     firePropertyChange(SpatialConstants.boundaryDomainType, oldBoundaryDomainType, this.boundaryDomainType);
@@ -289,6 +294,7 @@ public class BoundaryCondition extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetBoundaryDomainType() {
+    checkNotFrozen();
     if (isSetBoundaryDomainType()) {
       String oldBoundaryDomainType = boundaryDomainType;
       boundaryDomainType = null;
@@ -164,6 +164,7 @@ public class CSGHomogeneousTransformation extends CSGTransformation {
    * @param forwardTransformation
    */
   public void setForwardTransformation(TransformationComponent forwardTransformation) {
+    checkNotFrozen();
     TransformationComponent oldForwardTransformation = this.forwardTransformation;
     this.forwardTransformation = forwardTransformation;
     registerChild(forwardTransformation);
@@ -178,6 +179,7 @@ public class CSGHomogeneousTransformation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetForwardTransformation() {
+    checkNotFrozen();
     if (isSetForwardTransformation()) {
       TransformationComponent oldForwardTransformation = forwardTransformation;
       forwardTransformation = null;
@@ -217,6 +219,7 @@ public class CSGHomogeneousTransformation extends CSGTransformation {
    * @param reverseTransformation
    */
   public void setReverseTransformation(TransformationComponent reverseTransformation) {
+    checkNotFrozen();
     TransformationComponent oldReverseTransformation = this.reverseTransformation;
     this.reverseTransformation = reverseTransformation;
     registerChild(reverseTransformation);
@@ -231,6 +234,7 @@ public class CSGHomogeneousTransformation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetReverseTransformation() {
+    checkNotFrozen();
     if (isSetReverseTransformation()) {
       TransformationComponent oldReverseTransformation = reverseTransformation;
       reverseTransformation = null;
@@ -170,6 +170,7 @@ public class CSGObject extends AbstractSpatialNamedSBase {
    * @param domainType
    */
   public void setDomainType(String domainType) {
+    checkNotFrozen();
     String oldDomainType = this.domainType;
     this.domainType = domainType;
     firePropertyChange(SpatialConstants.domainType, oldDomainType, this.domainType);
@@ -183,6 +184,7 @@ public class CSGObject extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomainType() {
+    checkNotFrozen();
     if (isSetDomainType()) {
       String oldDomainType = domainType;
       domainType = null;
@@ -222,6 +224,7 @@ public class CSGObject extends AbstractSpatialNamedSBase {
    * @param ordinal
    */
   public void setOrdinal(int ordinal) {
+    checkNotFrozen();
     Integer oldOrdinal = this.ordinal;
     this.ordinal = ordinal;
     firePropertyChange(SpatialConstants.ordinal, oldOrdinal, this.ordinal);
@@ -235,6 +238,7 @@ public class CSGObject extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetOrdinal() {
+    checkNotFrozen();
     if (isSetOrdinal()) {
       Integer oldOrdinal = ordinal;
       ordinal = null;
@@ -272,6 +276,7 @@ public class CSGObject extends AbstractSpatialNamedSBase {
    * @param csgNode
    */
   public void setCSGNode(CSGNode csgNode) {
+    checkNotFrozen();
     CSGNode oldCSGNode = this.csgNode;
     this.csgNode = csgNode;
     registerChild(csgNode);
@@ -286,6 +291,7 @@ public class CSGObject extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetCSGNode() {
+    checkNotFrozen();
     if (isSetCSGNode()) {
       CSGNode oldCSGNode = csgNode;
       csgNode = null;
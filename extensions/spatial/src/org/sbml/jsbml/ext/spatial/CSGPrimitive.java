@@ -145,6 +145,7 @@ public class CSGPrimitive extends CSGNode{
    * @param primitiveType
    */
   public void setPrimitiveType(PrimitiveKind primitiveType) {
+    checkNotFrozen();
     PrimitiveKind oldPrimitiveType = this.primitiveType;
     this.primitiveType = primitiveType;
     firePropertyChange(SpatialConstants.primitiveType, oldPrimitiveType, this.primitiveType);
@@ -157,6 +158,7 @@ public class CSGPrimitive extends CSGNode{
    *         otherwise {@code false}
    */
   public boolean unsetPrimitiveType() {
+    checkNotFrozen();
     if (isSetPrimitiveType()) {
       PrimitiveKind oldPrimitiveType = primitiveType;
       primitiveType = null;
@@ -135,6 +135,7 @@ public class CSGPseudoPrimitive extends CSGNode{
    * @param csgObjectRef
    */
   public void setCsgObjectRef(String csgObjectRef) {
+    checkNotFrozen();
     String oldCsgObjectRef = this.csgObjectRef;
     this.csgObjectRef = csgObjectRef;
     firePropertyChange(SpatialConstants.primitiveType, oldCsgObjectRef, this.csgObjectRef);
@@ -148,6 +149,7 @@ public class CSGPseudoPrimitive extends CSGNode{
    *         otherwise {@code false}
    */
   public boolean unsetCsgObjectRef() {
+    checkNotFrozen();
     if (isSetCsgObjectRef()) {
       String oldCsgObjectRef = csgObjectRef;
       csgObjectRef = null;
@@ -172,6 +172,7 @@ public class CSGRotation extends CSGTransformation {
    * @param rotateAxisX
    */
   public void setRotateX(double rotateAxisX) {
+    checkNotFrozen();
     Double oldRotateAxisX = this.rotateAxisX;
     this.rotateAxisX = rotateAxisX;
     firePropertyChange(SpatialConstants.rotateX, oldRotateAxisX, this.rotateAxisX);
@@ -185,6 +186,7 @@ public class CSGRotation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetRotateX() {
+    checkNotFrozen();
     if (isSetRotateX()) {
       Double oldRotateAxisX = rotateAxisX;
       rotateAxisX = null;
@@ -224,6 +226,7 @@ public class CSGRotation extends CSGTransformation {
    * @param rotateAxisY
    */
   public void setRotateY(double rotateAxisY) {
+    checkNotFrozen();
     Double oldRotateAxisY = this.rotateAxisY;
     this.rotateAxisY = rotateAxisY;
     firePropertyChange(SpatialConstants.rotateY, oldRotateAxisY, this.rotateAxisY);
@@ -237,6 +240,7 @@ public class CSGRotation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetRotateY() {
+    checkNotFrozen();
     if (isSetRotateY()) {
       Double oldRotateAxisY = rotateAxisY;
       rotateAxisY = null;
@@ -276,6 +280,7 @@ public class CSGRotation extends CSGTransformation {
    * @param rotateAxisZ
    */
   public void setRotateZ(double rotateAxisZ) {
+    checkNotFrozen();
     Double oldRotateAxisZ = this.rotateAxisZ;
     this.rotateAxisZ = rotateAxisZ;
     firePropertyChange(SpatialConstants.rotateZ, oldRotateAxisZ, this.rotateAxisZ);
@@ -289,6 +294,7 @@ public class CSGRotation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetRotateZ() {
+    checkNotFrozen();
     if (isSetRotateZ()) {
       Double oldRotateAxisZ = rotateAxisZ;
       rotateAxisZ = null;
@@ -328,6 +334,7 @@ public class CSGRotation extends CSGTransformation {
    * @param rotateAngleInRadians
    */
   public void setRotateAngleInRadians(double rotateAngleInRadians) {
+    checkNotFrozen();
     Double oldRotateAngleInRadians = this.rotateAngleInRadians;
     this.rotateAngleInRadians = rotateAngleInRadians;
     firePropertyChange(SpatialConstants.rotateAngleInRadians, oldRotateAngleInRadians, this.rotateAngleInRadians);
@@ -341,6 +348,7 @@ public class CSGRotation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetRotateAngleInRadians() {
+    checkNotFrozen();
     if (isSetRotateAngleInRadians()) {
       Double oldRotateAngleInRadians = rotateAngleInRadians;
       rotateAngleInRadians = null;
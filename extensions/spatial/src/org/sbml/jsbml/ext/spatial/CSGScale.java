@@ -164,6 +164,7 @@ public class CSGScale extends CSGTransformation {
    * @param scaleX
    */
   public void setScaleX(double scaleX) {
+    checkNotFrozen();
     Double oldScaleX = this.scaleX;
     this.scaleX = scaleX;
     firePropertyChange(SpatialConstants.scaleX, oldScaleX, this.scaleX);
@@ -177,6 +178,7 @@ public class CSGScale extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetScaleX() {
+    checkNotFrozen();
     if (isSetScaleX()) {
       Double oldScaleX = scaleX;
       scaleX = null;
@@ -216,6 +218,7 @@ public class CSGScale extends CSGTransformation {
    * @param scaleY
    */
   public void setScaleY(double scaleY) {
+    checkNotFrozen();
     Double oldScaleY = this.scaleY;
     this.scaleY = scaleY;
     firePropertyChange(SpatialConstants.scaleY, oldScaleY, this.scaleY);
@@ -229,6 +232,7 @@ public class CSGScale extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetScaleY() {
+    checkNotFrozen();
     if (isSetScaleY()) {
       Double oldScaleY = scaleY;
       scaleY = null;
@@ -268,6 +272,7 @@ public class CSGScale extends CSGTransformation {
    * @param scaleZ
    */
   public void setScaleZ(double scaleZ) {
+    checkNotFrozen();
     Double oldScaleZ = this.scaleZ;
     this.scaleZ = scaleZ;
     firePropertyChange(SpatialConstants.scaleZ, oldScaleZ, this.scaleZ);
@@ -281,6 +286,7 @@ public class CSGScale extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetScaleZ() {
+    checkNotFrozen();
     if (isSetScaleZ()) {
       Double oldScaleZ = scaleZ;
       scaleZ = null;
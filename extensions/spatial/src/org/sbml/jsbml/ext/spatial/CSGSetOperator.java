@@ -183,6 +183,7 @@ public class CSGSetOperator extends CSGNode {
    * @param complementA
    */
   public void setComplementA(String complementA) {
+    checkNotFrozen();
     String oldComplementA = this.complementA;
     this.complementA = complementA;
     firePropertyChange(SpatialConstants.complementA, oldComplementA, this.complementA);
@@ -196,6 +197,7 @@ public class CSGSetOperator extends CSGNode {
    *         otherwise {@code false}
    */
   public boolean unsetComplementA() {
+    checkNotFrozen();
     if (isSetComplementA()) {
       String oldComplementA = complementA;
       complementA = null;
@@ -235,6 +237,7 @@ public class CSGSetOperator extends CSGNode {
    * @param complementB
    */
   public void setComplementB(String complementB) {
+    checkNotFrozen();
     String oldComplementB = this.complementB;
     this.complementB = complementB;
     firePropertyChange(SpatialConstants.complementB, oldComplementB, this.complementB);
@@ -248,6 +251,7 @@ public class CSGSetOperator extends CSGNode {
    *         otherwise {@code false}
    */
   public boolean unsetComplementB() {
+    checkNotFrozen();
     if (isSetComplementB()) {
       String oldComplementB = complementB;
       complementB = null;
@@ -287,6 +291,7 @@ public class CSGSetOperator extends CSGNode {
    * @param operationType
    */
   public void setOperationType(SetOperation operationType) {
+    checkNotFrozen();
     SetOperation oldOperationType = this.operationType;
     this.operationType = operationType;
     firePropertyChange(SpatialConstants.operationType, oldOperationType, this.operationType);
@@ -300,6 +305,7 @@ public class CSGSetOperator extends CSGNode {
    *         otherwise {@code false}
    */
   public boolean unsetOperationType() {
+    checkNotFrozen();
     if (isSetOperationType()) {
       SetOperation oldOperationType = operationType;
       operationType = null;
@@ -125,6 +125,7 @@ public abstract class CSGTransformation extends CSGNode {
    * @param csgNode
    */
   public void setCSGNode(CSGNode csgNode) {
+    checkNotFrozen();
     CSGNode oldCSGNode = this.csgNode;
     this.csgNode = csgNode;
     registerChild(csgNode);
@@ -139,6 +140,7 @@ public abstract class CSGTransformation extends CSGNode {
    *         otherwise {@code false}
    */
   public boolean unsetCSGNode() {
+    checkNotFrozen();
     if (isSetCSGNode()) {
       CSGNode oldCSGNode = csgNode;
       csgNode = null;
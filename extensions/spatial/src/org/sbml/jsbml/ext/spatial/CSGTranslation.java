@@ -162,6 +162,7 @@ public class CSGTranslation extends CSGTransformation {
    * @param translateX
    */
   public void setTranslateX(double translateX) {
+    checkNotFrozen();
     Double oldTranslateX = this.translateX;
     this.translateX = translateX;
     firePropertyChange(SpatialConstants.translateX, oldTranslateX, this.translateX);
@@ -175,6 +176,7 @@ public class CSGTranslation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetTranslateX() {
+    checkNotFrozen();
     if (isSetTranslateX()) {
       Double oldTranslateX = translateX;
       translateX = null;
@@ -214,6 +216,7 @@ public class CSGTranslation extends CSGTransformation {
    * @param translateY
    */
   public void setTranslateY(double translateY) {
+    checkNotFrozen();
     Double oldTranslateY = this.translateY;
     this.translateY = translateY;
     firePropertyChange(SpatialConstants.translateY, oldTranslateY, this.translateY);
@@ -227,6 +230,7 @@ public class CSGTranslation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetTranslateY() {
+    checkNotFrozen();
     if (isSetTranslateY()) {
       Double oldTranslateY = translateY;
       translateY = null;
@@ -266,6 +270,7 @@ public class CSGTranslation extends CSGTransformation {
    * @param translateZ
    */
   public void setTranslateZ(double translateZ) {
+    checkNotFrozen();
     Double oldTranslateZ = this.translateZ;
     this.translateZ = translateZ;
     firePropertyChange(SpatialConstants.translateZ, oldTranslateZ, this.translateZ);
@@ -279,6 +284,7 @@ public class CSGTranslation extends CSGTransformation {
    *         otherwise {@code false}
    */
   public boolean unsetTranslateZ() {
+    checkNotFrozen();
     if (isSetTranslateZ()) {
       Double oldTranslateZ = translateZ;
       translateZ = null;
@@ -155,6 +155,7 @@ public class CompartmentMapping extends AbstractSpatialNamedSBase {
    * @param domainType
    */
   public void setDomainType(String domainType) {
+    checkNotFrozen();
     String oldDomainType = this.domainType;
     this.domainType = domainType;
     firePropertyChange(SpatialConstants.domainType, oldDomainType, this.domainType);
@@ -167,6 +168,7 @@ public class CompartmentMapping extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomainType() {
+    checkNotFrozen();
     if (isSetDomainType()) {
       String oldDomainType = domainType;
       domainType = null;
@@ -206,6 +208,7 @@ public class CompartmentMapping extends AbstractSpatialNamedSBase {
    * @param unitSize
    */
   public void setUnitSize(double unitSize) {
+    checkNotFrozen();
     Double oldUnitSize = this.unitSize;
     this.unitSize = unitSize;
     firePropertyChange(SpatialConstants.unitSize, oldUnitSize, this.unitSize);
@@ -219,6 +222,7 @@ public class CompartmentMapping extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetUnitSize() {
+    checkNotFrozen();
     if (isSetUnitSize()) {
       Double oldUnitSize = unitSize;
       unitSize = null;
@@ -161,6 +161,7 @@ SBaseWithUnit {
    * @param boundaryMinimum the minimum boundary
    */
   public void setBoundaryMinimum(Boundary boundaryMinimum) {
+    checkNotFrozen();
     Boundary oldMinimum = this.boundaryMinimum;
     this.boundaryMinimum = boundaryMinimum;
     this.boundaryMinimum.setElementName(SpatialConstants.boundaryMinimum);
@@ -176,6 +177,7 @@ SBaseWithUnit {
    *         otherwise {@code false}
    */
   public boolean unsetBoundaryMinimum() {
+    checkNotFrozen();
     if (isSetBoundaryMinimum()) {
       Boundary oldMinimum = boundaryMinimum;
       boundaryMinimum = null;
@@ -215,6 +217,7 @@ SBaseWithUnit {
    * @param boundaryMaximum the maximum boundary
    */
   public void setBoundaryMaximum(Boundary boundaryMaximum) {
+    checkNotFrozen();
     Boundary oldMaximum = boundaryMaximum;
     this.boundaryMaximum = boundaryMaximum;
     this.boundaryMaximum.setElementName(SpatialConstants.boundaryMaximum);
@@ -230,6 +233,7 @@ SBaseWithUnit {
    *         otherwise {@code false}
    */
   public boolean unsetBoundaryMaximum() {
+    checkNotFrozen();
     if (isSetBoundaryMaximum()) {
       Boundary oldMaximum = boundaryMaximum;
       boundaryMaximum = null;
@@ -271,6 +275,7 @@ SBaseWithUnit {
    * @param type the type
    */
   public void setType(CoordinateKind type) {
+    checkNotFrozen();
     CoordinateKind oldType = this.type;
     this.type = type;
     firePropertyChange(SpatialConstants.type, oldType, this.type);
@@ -284,6 +289,7 @@ SBaseWithUnit {
    *         otherwise {@code false}
    */
   public boolean unsetType() {
+    checkNotFrozen();
     if (isSetType()) {
       CoordinateKind oldType = type;
       type = null;
@@ -405,6 +411,7 @@ SBaseWithUnit {
    */
   @Override
   public void setUnits(String unit) {
+    checkNotFrozen();
     String oldUnits = this.unit;
     this.unit = unit;
     firePropertyChange(SpatialConstants.unit, oldUnits, this.unit);
@@ -415,6 +422,7 @@ SBaseWithUnit {
    */
   @Override
   public void unsetUnits() {
+    checkNotFrozen();
     if (isSetUnits()) {
       String oldUnits = unit;
       unit = null;
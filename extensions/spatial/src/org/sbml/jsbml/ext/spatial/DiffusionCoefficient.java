@@ -168,6 +168,7 @@ public class DiffusionCoefficient extends ParameterType {
    * @param coordinateReference1
    */
   public void setCoordinateReference1(CoordinateKind coordinateReference1) {
+    checkNotFrozen();
     CoordinateKind oldCoordinateReference1 = this.coordinateReference1;
     this.coordinateReference1 = coordinateReference1;
     firePropertyChange(SpatialConstants.coordinateReference1, oldCoordinateReference1, this.coordinateReference1);
@@ -181,6 +182,7 @@ public class DiffusionCoefficient extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetCoordinateReference1() {
+    checkNotFrozen();
     if (isSetCoordinateReference1()) {
       CoordinateKind oldCoordinateReference1 = coordinateReference1;
       coordinateReference1 = null;
@@ -220,6 +222,7 @@ public class DiffusionCoefficient extends ParameterType {
    * @param coordinateReference2
    */
   public void setCoordinateReference2(CoordinateKind coordinateReference2) {
+    checkNotFrozen();
     CoordinateKind oldCoordinateReference2 = this.coordinateReference2;
     this.coordinateReference2 = coordinateReference2;
     firePropertyChange(SpatialConstants.coordinateReference2, oldCoordinateReference2, this.coordinateReference2);
@@ -233,6 +236,7 @@ public class DiffusionCoefficient extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetCoordinateReference2() {
+    checkNotFrozen();
     if (isSetCoordinateReference2()) {
       CoordinateKind oldCoordinateReference2 = coordinateReference2;
       coordinateReference2 = null;
@@ -272,6 +276,7 @@ public class DiffusionCoefficient extends ParameterType {
    * @param diffusionKind
    */
   public void setType(DiffusionKind diffusionKind) {
+    checkNotFrozen();
     DiffusionKind oldDiffusionKind = this.diffusionKind;
     this.diffusionKind = diffusionKind;
     firePropertyChange(SpatialConstants.diffusionKind, oldDiffusionKind, this.diffusionKind);
@@ -285,6 +290,7 @@ public class DiffusionCoefficient extends ParameterType {
    *         otherwise {@code false}
    */
   public boolean unsetType() {
+    checkNotFrozen();
     if (isSetType()) {
       DiffusionKind oldDiffusionKind = diffusionKind;
       diffusionKind = null;
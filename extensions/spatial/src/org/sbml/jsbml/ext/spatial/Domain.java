@@ -136,6 +136,7 @@ public class Domain extends AbstractSpatialNamedSBase {
    * @param domainType
    */
   public void setDomainType(String domainType) {
+    checkNotFrozen();
     String oldDomainType = this.domainType;
     this.domainType = domainType;
     firePropertyChange(SpatialConstants.domainType, oldDomainType, this.domainType);
@@ -149,6 +150,7 @@ public class Domain extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomainType() {
+    checkNotFrozen();
     if (isSetDomainType()) {
       String oldDomainType = domainType;
       domainType = null;
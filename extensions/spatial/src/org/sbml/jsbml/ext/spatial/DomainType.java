@@ -143,6 +143,7 @@ public class DomainType extends AbstractSpatialNamedSBase {
    * @param spatialDimension
    */
   public void setSpatialDimensions(int spatialDimension) {
+    checkNotFrozen();
     Integer oldSpatialDimension = spatialDimensions;
     if (!((spatialDimension >= 0) && (spatialDimension <= 3))) {
       throw new SBMLException("Not a valid spatial dimension. Must be 0, 1, 2, or 3.");
@@ -159,6 +160,7 @@ public class DomainType extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetSpatialDimension() {
+    checkNotFrozen();
     if (isSetSpatialDimensions()) {
       int oldSpatialDimension = spatialDimensions;
       spatialDimensions = null;
@@ -216,6 +216,7 @@ public class Geometry extends AbstractSpatialNamedSBase {
    * @param coordinateSystem
    */
   public void setCoordinateSystem(GeometryKind coordinateSystem) {
+    checkNotFrozen();
     GeometryKind oldCoordinateSystem = this.coordinateSystem;
     this.coordinateSystem = coordinateSystem;
     firePropertyChange(SpatialConstants.coordinateSystem, oldCoordinateSystem, this.coordinateSystem);
@@ -229,6 +230,7 @@ public class Geometry extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetCoordinateSystem() {
+    checkNotFrozen();
     if (isSetCoordinateSystem()) {
       GeometryKind oldCoordinateSystem = coordinateSystem;
       coordinateSystem = null;
@@ -137,6 +137,7 @@ public abstract class GeometryDefinition extends AbstractSpatialNamedSBase {
    * @param isActive
    */
   public void setIsActive(boolean isActive) {
+    checkNotFrozen();
     Boolean oldIsActive = this.isActive;
     this.isActive = isActive;
     firePropertyChange(SpatialConstants.isActive, oldIsActive, this.isActive);
@@ -149,6 +150,7 @@ public abstract class GeometryDefinition extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetIsActive() {
+    checkNotFrozen();
     if (isSetIsActive()) {
       Boolean oldIsActive = isActive;
       isActive = null;
@@ -194,6 +194,7 @@ public class InteriorPoint extends AbstractSBase {
    * @param coord1
    */
   public void setCoord1(double coord1) {
+    checkNotFrozen();
     Double oldCoord1 = this.coord1;
     this.coord1 = coord1;
     firePropertyChange(SpatialConstants.coord1, oldCoord1, this.coord1);
@@ -207,6 +208,7 @@ public class InteriorPoint extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetCoord1() {
+    checkNotFrozen();
     if (isSetCoord1()) {
       Double oldCoord1 = coord1;
       coord1 = null;
@@ -244,6 +246,7 @@ public class InteriorPoint extends AbstractSBase {
    * @param coord2
    */
   public void setCoord2(double coord2) {
+    checkNotFrozen();
     Double oldCoord2 = this.coord2;
     this.coord2 = coord2;
     firePropertyChange(SpatialConstants.coord2, oldCoord2, this.coord2);
@@ -257,6 +260,7 @@ public class InteriorPoint extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetCoord2() {
+    checkNotFrozen();
     if (isSetCoord2()) {
       Double oldCoord2 = coord2;
       coord2 = null;
@@ -295,6 +299,7 @@ public class InteriorPoint extends AbstractSBase {
    * @param coord3
    */
   public void setCoord3(double coord3) {
+    checkNotFrozen();
     Double oldCoord3 = coord1;
     this.coord3 = coord3;
     firePropertyChange(SpatialConstants.coord3, oldCoord3, this.coord3);
@@ -308,6 +313,7 @@ public class InteriorPoint extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetCoord3() {
+    checkNotFrozen();
     if (isSetCoord3()) {
       Double oldCoord3 = coord3;
       coord3 = null;
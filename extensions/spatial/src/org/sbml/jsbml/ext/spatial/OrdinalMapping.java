@@ -157,6 +157,7 @@ public class OrdinalMapping extends AbstractSBase {
    * @param ordinal
    */
   public void setOrdinal(int ordinal) {
+    checkNotFrozen();
     Integer oldOrdinal = this.ordinal;
     this.ordinal = ordinal;
     firePropertyChange(SpatialConstants.ordinal, oldOrdinal, this.ordinal);
@@ -170,6 +171,7 @@ public class OrdinalMapping extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetOrdinal() {
+    checkNotFrozen();
     if (isSetOrdinal()) {
       Integer oldOrdinal = ordinal;
       ordinal = null;
@@ -206,6 +208,7 @@ public class OrdinalMapping extends AbstractSBase {
    * @param geometryDefinition
    */
   public void setGeometryDefinition(String geometryDefinition) {
+    checkNotFrozen();
     String oldGeometryDefinition = this.geometryDefinition;
     this.geometryDefinition = geometryDefinition;
     firePropertyChange(SpatialConstants.geometryDefinition, oldGeometryDefinition, this.geometryDefinition);
@@ -218,6 +221,7 @@ public class OrdinalMapping extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetGeometryDefinition() {
+    checkNotFrozen();
     if (isSetGeometryDefinition()) {
       String oldGeometryDefinition = geometryDefinition;
       geometryDefinition = null;
@@ -183,6 +183,7 @@ public class ParameterType extends AbstractSBase {
    * @param spatialRef the spatialRef to set
    */
   public void setSpatialRef(String spatialRef) {
+    checkNotFrozen();
     String oldSpatialRef= this.spatialRef;
     this.spatialRef = spatialRef;
     firePropertyChange(SpatialConstants.spatialRef, oldSpatialRef, this.spatialRef);
@@ -289,6 +290,7 @@ public class ParameterType extends AbstractSBase {
    * @param variable the value of variable to be set.
    */
   public void setVariable(String variable) {
+    checkNotFrozen();
     String oldVariable = this.variable;
     this.variable = variable;
     firePropertyChange(SpatialConstants.variable, oldVariable, this.variable);
@@ -300,6 +302,7 @@ public class ParameterType extends AbstractSBase {
    * @return {@code true} if spatialRef was set before, otherwise {@code false}.
    */
   public boolean unsetSpatialRef() {
+    checkNotFrozen();
     if (isSetSpatialRef()) {
       String oldSpatialRef = this.spatialRef;
       this.spatialRef = null;
@@ -315,6 +318,7 @@ public class ParameterType extends AbstractSBase {
    * @return {@code true} if variable was set before, otherwise {@code false}.
    */
   public boolean unsetVariable() {
+    checkNotFrozen();
     if (isSetVariable()) {
       String oldVariable = this.variable;
       this.variable = null;
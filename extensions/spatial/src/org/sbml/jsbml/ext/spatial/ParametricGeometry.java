@@ -291,6 +291,7 @@ public class ParametricGeometry extends GeometryDefinition {
    * @param spatialPoints the value of spatialPoints to be set.
    */
   public void setSpatialPoints(SpatialPoints spatialPoints) {
+    checkNotFrozen();
     SpatialPoints oldSpatialPoints = this.spatialPoints;
     this.spatialPoints = spatialPoints;
     registerChild(spatialPoints);
@@ -304,6 +305,7 @@ public class ParametricGeometry extends GeometryDefinition {
    * @return {@code true} if spatialPoints was set before, otherwise {@code false}.
    */
   public boolean unsetSpatialPoints() {
+    checkNotFrozen();
     if (isSetSpatialPoints()) {
       SpatialPoints oldSpatialPoints = spatialPoints;
       spatialPoints = null;
@@ -203,6 +203,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @param polygonType
    */
   public void setPolygonType(PolygonKind polygonType) {
+    checkNotFrozen();
     PolygonKind oldPolygonType = this.polygonType;
     this.polygonType = polygonType;
     firePropertyChange(SpatialConstants.polygonType, oldPolygonType, this.polygonType);
@@ -216,6 +217,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetPolygonType() {
+    checkNotFrozen();
     if (isSetPolygonType()) {
       PolygonKind oldPolygonType = polygonType;
       polygonType = null;
@@ -254,6 +256,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @param domain
    */
   public void setDomainType(String domain) {
+    checkNotFrozen();
     String oldDomain = domainType;
     domainType = domain;
     firePropertyChange(SpatialConstants.domain, oldDomain, domainType);
@@ -267,6 +270,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomain() {
+    checkNotFrozen();
     if (isSetDomainType()) {
       String oldDomain = domainType;
       domainType = null;
@@ -315,6 +319,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @param compression the value of compression to be set.
    */
   public void setCompression(CompressionKind compression) {
+    checkNotFrozen();
     CompressionKind oldCompression = this.compression;
     this.compression = compression;
     firePropertyChange(SpatialConstants.compression, oldCompression, this.compression);
@@ -327,6 +332,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @return {@code true} if compression was set before, otherwise {@code false}.
    */
   public boolean unsetCompression() {
+    checkNotFrozen();
     if (isSetCompression()) {
       CompressionKind oldCompression = compression;
       compression = null;
@@ -367,6 +373,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @param pointIndex the value of pointIndex to be set.
    */
   public void setPointIndex(String pointIndex) {
+    checkNotFrozen();
     String oldPointIndex = this.pointIndex;
     this.pointIndex = pointIndex;
     firePropertyChange(SpatialConstants.pointIndex, oldPointIndex, this.pointIndex);
@@ -379,6 +386,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @return {@code true} if pointIndex was set before, otherwise {@code false}.
    */
   public boolean unsetPointIndex() {
+    checkNotFrozen();
     if (isSetPointIndex()) {
       String oldPointIndex = pointIndex;
       pointIndex = null;
@@ -435,6 +443,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @param pointIndexLength the value of pointIndexLength to be set.
    */
   public void setPointIndexLength(int pointIndexLength) {
+    checkNotFrozen();
     Integer oldPointIndexLength = this.pointIndexLength;
     this.pointIndexLength = pointIndexLength;
     firePropertyChange(SpatialConstants.pointIndexLength, oldPointIndexLength, this.pointIndexLength);
@@ -447,6 +456,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @return {@code true} if pointIndexLength was set before, otherwise {@code false}.
    */
   public boolean unsetPointIndexLength() {
+    checkNotFrozen();
     if (isSetPointIndexLength()) {
       Integer oldPointIndexLength = pointIndexLength;
       pointIndexLength = null;
@@ -494,6 +504,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @param dataType the value of dataType to be set.
    */
   public void setDataType(DataKind dataType) {
+    checkNotFrozen();
     DataKind oldDataType = this.dataType;
     this.dataType = dataType;
     firePropertyChange(SpatialConstants.dataType, oldDataType, this.dataType);
@@ -506,6 +517,7 @@ public class ParametricObject extends AbstractSpatialNamedSBase {
    * @return {@code true} if dataType was set before, otherwise {@code false}.
    */
   public boolean unsetDataType() {
+    checkNotFrozen();
     if (isSetDataType()) {
       DataKind oldDataType = dataType;
       dataType = null;
@@ -132,6 +132,7 @@ public class PolygonObject extends AbstractSBase {
    * @param pointIndex
    */
   public void setPointIndex(Integer... pointIndex) {
+    checkNotFrozen();
     Integer[] oldPointIndex = this.pointIndex;
     this.pointIndex = pointIndex;
     firePropertyChange(SpatialConstants.pointIndex, oldPointIndex, this.pointIndex);
@@ -144,6 +145,7 @@ public class PolygonObject extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetPointIndex() {
+    checkNotFrozen();
     if (isSetPointIndex()) {
       Integer[] oldPointIndex = pointIndex;
       pointIndex = null;
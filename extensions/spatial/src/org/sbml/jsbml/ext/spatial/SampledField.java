@@ -225,6 +225,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param numSamples1
    */
   public void setNumSamples1(int numSamples1) {
+    checkNotFrozen();
     Integer oldNumSamples1 = this.numSamples1;
     this.numSamples1 = numSamples1;
     firePropertyChange(SpatialConstants.numSamples1, oldNumSamples1, this.numSamples1);
@@ -238,6 +239,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetNumSamples1() {
+    checkNotFrozen();
     if (isSetNumSamples1()) {
       Integer oldNumSamples1 = numSamples1;
       numSamples1 = null;
@@ -277,6 +279,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param numSamples2
    */
   public void setNumSamples2(int numSamples2) {
+    checkNotFrozen();
     Integer oldNumSamples2 = this.numSamples2;
     this.numSamples2 = numSamples2;
     firePropertyChange(SpatialConstants.numSamples2, oldNumSamples2, this.numSamples2);
@@ -290,6 +293,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetNumSamples2() {
+    checkNotFrozen();
     if (isSetNumSamples2()) {
       Integer oldNumSamples2 = numSamples2;
       numSamples2 = null;
@@ -330,6 +334,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param numSamples3
    */
   public void setNumSamples3(int numSamples3) {
+    checkNotFrozen();
     Integer oldNumSamples3 = this.numSamples3;
     this.numSamples3 = numSamples3;
     firePropertyChange(SpatialConstants.numSamples3, oldNumSamples3, this.numSamples3);
@@ -343,6 +348,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetNumSamples3() {
+    checkNotFrozen();
     if (isSetNumSamples3()) {
       Integer oldNumSamples3 = numSamples3;
       numSamples3 = null;
@@ -380,6 +386,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param dataType
    */
   public void setDataType(DataKind dataType) {
+    checkNotFrozen();
     DataKind oldDataType = this.dataType;
     this.dataType = dataType;
     firePropertyChange(SpatialConstants.dataType, oldDataType, this.dataType);
@@ -393,6 +400,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDataType() {
+    checkNotFrozen();
     if (isSetDataType()) {
       DataKind oldDataType = dataType;
       dataType = null;
@@ -432,6 +440,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param compression
    */
   public void setCompression(CompressionKind compression) {
+    checkNotFrozen();
     CompressionKind oldCompression = this.compression;
     this.compression = compression;
     firePropertyChange(SpatialConstants.compression, oldCompression, this.compression);
@@ -445,6 +454,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetCompression() {
+    checkNotFrozen();
     if (isSetCompression()) {
       CompressionKind oldCompression = compression;
       compression = null;
@@ -514,6 +524,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param interpolation the value of interpolation type
    */
   public void setInterpolationType(InterpolationKind interpolation) {
+    checkNotFrozen();
     InterpolationKind oldInterpolation = this.interpolation;
     this.interpolation = interpolation;
     firePropertyChange(SpatialConstants.interpolationType, oldInterpolation, this.interpolation);
@@ -538,6 +549,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetInterpolationType() {
+    checkNotFrozen();
     if (isSetInterpolation()) {
       InterpolationKind oldInterpolation = interpolation;
       interpolation = null;
@@ -577,6 +589,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param samples the value of samples to be set.
    */
   public void setSamples(String samples) {
+    checkNotFrozen();
     String oldSamples = this.samples;
     this.samples = samples;
     firePropertyChange(SpatialConstants.samples, oldSamples, this.samples);
@@ -589,6 +602,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @return {@code true} if samples was set before, otherwise {@code false}.
    */
   public boolean unsetSamples() {
+    checkNotFrozen();
     if (isSetSamples()) {
       String oldSamples = samples;
       samples = null;
@@ -644,6 +658,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param samplesLength the value of samplesLength to be set.
    */
   public void setSamplesLength(String samplesLength) {
+    checkNotFrozen();
     Integer oldSamplesLength = this.samplesLength;
     this.samplesLength = StringTools.parseSBMLInt(samplesLength);
     firePropertyChange(SpatialConstants.samplesLength, oldSamplesLength, this.samplesLength);
@@ -655,6 +670,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param samplesLength the value of samplesLength to be set.
    */
   public void setSamplesLength(int samplesLength) {
+    checkNotFrozen();
     Integer oldSamplesLength = this.samplesLength;
     this.samplesLength = samplesLength;
     firePropertyChange(SpatialConstants.samplesLength, oldSamplesLength, this.samplesLength);
@@ -667,6 +683,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @return {@code true} if samplesLength was set before, otherwise {@code false}.
    */
   public boolean unsetSamplesLength() {
+    checkNotFrozen();
     if (isSetSamplesLength()) {
       Integer oldSamplesLength = samplesLength;
       samplesLength = null;
@@ -727,6 +744,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    * @param data
    */
   public void setData(XMLNode data) {
+    checkNotFrozen();
     XMLNode oldData = this.data;
     this.data = data;
     firePropertyChange(SpatialConstants.data, oldData, this.data);
@@ -739,6 +757,7 @@ public class SampledField extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetData() {
+    checkNotFrozen();
     if (isSetData()) {
       XMLNode oldData = data;
       data = null;
@@ -155,6 +155,7 @@ public class SampledFieldGeometry extends GeometryDefinition {
    * @param sampledField the sampledField value to set
    */
   public void setSampledField(String sampledField) {
+    checkNotFrozen();
     String oldSampledField = this.sampledField;
     this.sampledField = sampledField;
     firePropertyChange(SpatialConstants.sampledField, oldSampledField, this.sampledField);
@@ -168,6 +169,7 @@ public class SampledFieldGeometry extends GeometryDefinition {
    *         otherwise {@code false}
    */
   public boolean unsetSampledField() {
+    checkNotFrozen();
     if (isSetSampledField()) {
       String oldSampledField = sampledField;
       sampledField = null;
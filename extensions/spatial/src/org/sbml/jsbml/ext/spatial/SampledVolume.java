@@ -162,6 +162,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    * @param domainType
    */
   public void setDomainType(String domainType) {
+    checkNotFrozen();
     String oldDomainType = this.domainType;
     this.domainType = domainType;
     firePropertyChange(SpatialConstants.domainType, oldDomainType, this.domainType);
@@ -175,6 +176,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetDomainType() {
+    checkNotFrozen();
     if (isSetDomainType()) {
       String oldDomainType = domainType;
       domainType = null;
@@ -212,6 +214,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    * @param sampledValue
    */
   public void setSampledValue(double sampledValue) {
+    checkNotFrozen();
     Double oldSampledValue = this.sampledValue;
     this.sampledValue = sampledValue;
     firePropertyChange(SpatialConstants.sampledValue, oldSampledValue, this.sampledValue);
@@ -225,6 +228,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetSampledValue() {
+    checkNotFrozen();
     if (isSetSampledValue()) {
       Double oldSampledValue = sampledValue;
       sampledValue = null;
@@ -263,6 +267,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    * @param minValue
    */
   public void setMinValue(double minValue) {
+    checkNotFrozen();
     Double oldMinValue = this.minValue;
     this.minValue = minValue;
     firePropertyChange(SpatialConstants.minValue, oldMinValue, this.minValue);
@@ -275,6 +280,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetMinValue() {
+    checkNotFrozen();
     if (isSetMinValue()) {
       Double oldMinValue = minValue;
       minValue = null;
@@ -313,6 +319,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    * @param maxValue
    */
   public void setMaxValue(double maxValue) {
+    checkNotFrozen();
     Double oldMaxValue = this.maxValue;
     this.maxValue = maxValue;
     firePropertyChange(SpatialConstants.maxValue, oldMaxValue, this.maxValue);
@@ -326,6 +333,7 @@ public class SampledVolume extends AbstractSpatialNamedSBase {
    *         otherwise {@code false}
    */
   public boolean unsetMaxValue() {
+    checkNotFrozen();
     if (isSetMaxValue()) {
       Double oldMaxValue = maxValue;
       maxValue = null;
@@ -137,6 +137,7 @@ public class SpatialCompartmentPlugin extends AbstractSpatialSBasePlugin {
    * @param compartmentMapping
    */
   public void setCompartmentMapping(CompartmentMapping compartmentMapping) {
+    checkNotFrozen();
     CompartmentMapping oldCompartmentMapping = this.compartmentMapping;
     this.compartmentMapping = compartmentMapping;
     if (isSetExtendedSBase()) {
@@ -152,6 +153,7 @@ public class SpatialCompartmentPlugin extends AbstractSpatialSBasePlugin {
    *         otherwise {@code false}
    */
   public boolean unsetCompartmentMapping() {
+    checkNotFrozen();
     if (isSetCompartmentMapping()) {
       CompartmentMapping oldCompartmentMapping = compartmentMapping;
       compartmentMapping = null;
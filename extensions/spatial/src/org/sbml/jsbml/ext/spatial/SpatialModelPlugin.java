@@ -98,6 +98,7 @@ public class SpatialModelPlugin extends AbstractSpatialSBasePlugin implements Id
    * @param geometry
    */
   public void setGeometry(Geometry geometry) {
+    checkNotFrozen();
     Geometry oldGeometry = this.geometry;
     this.geometry = geometry;
 
@@ -115,6 +116,7 @@ public class SpatialModelPlugin extends AbstractSpatialSBasePlugin implements Id
    *         otherwise {@code false}
    */
   public boolean unsetGeometry() {
+    checkNotFrozen();
     if (isSetGeometry()) {
       Geometry oldGeometry = geometry;
       geometry = null;
@@ -184,6 +184,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @param compression the value of compression to be set.
    */
   public void setCompression(CompressionKind compression) {
+    checkNotFrozen();
     CompressionKind oldCompression = this.compression;
     this.compression = compression;
     firePropertyChange(SpatialConstants.compression, oldCompression, this.compression);
@@ -196,6 +197,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @return {@code true} if compression was set before, otherwise {@code false}.
    */
   public boolean unsetCompression() {
+    checkNotFrozen();
     if (isSetCompression()) {
       CompressionKind oldCompression = compression;
       compression = null;
@@ -236,6 +238,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @param arrayData the value of arrayData to be set.
    */
   public void setArrayData(String arrayData) {
+    checkNotFrozen();
     String oldArrayData = this.arrayData;
     this.arrayData = arrayData;
     firePropertyChange(SpatialConstants.arrayData, oldArrayData, this.arrayData);
@@ -248,6 +251,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @return {@code true} if arrayData was set before, otherwise {@code false}.
    */
   public boolean unsetArrayData() {
+    checkNotFrozen();
     if (isSetArrayData()) {
       String oldArrayData = arrayData;
       arrayData = null;
@@ -304,6 +308,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @param arrayDataLength the value of arrayDataLength to be set.
    */
   public void setArrayDataLength(int arrayDataLength) {
+    checkNotFrozen();
     Integer oldArrayDataLength = this.arrayDataLength;
     this.arrayDataLength = arrayDataLength;
     firePropertyChange(SpatialConstants.arrayDataLength, oldArrayDataLength, this.arrayDataLength);
@@ -316,6 +321,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @return {@code true} if arrayDataLength was set before, otherwise {@code false}.
    */
   public boolean unsetArrayDataLength() {
+    checkNotFrozen();
     if (isSetArrayDataLength()) {
       Integer oldArrayDataLength = arrayDataLength;
       arrayDataLength = null;
@@ -363,6 +369,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @param dataType the value of dataType to be set.
    */
   public void setDataType(DataKind dataType) {
+    checkNotFrozen();
     DataKind oldDataType = this.dataType;
     this.dataType = dataType;
     firePropertyChange(SpatialConstants.dataType, oldDataType, this.dataType);
@@ -375,6 +382,7 @@ public class SpatialPoints extends AbstractSpatialNamedSBase {
    * @return {@code true} if dataType was set before, otherwise {@code false}.
    */
   public boolean unsetDataType() {
+    checkNotFrozen();
     if (isSetDataType()) {
       DataKind oldDataType = dataType;
       dataType = null;
@@ -157,6 +157,7 @@ public class SpatialReactionPlugin extends AbstractSpatialSBasePlugin {
    * @param isLocal
    */
   public void setIsLocal(boolean isLocal) {
+    checkNotFrozen();
     Boolean oldIsLocal = this.isLocal;
     this.isLocal = isLocal;
     firePropertyChange(SpatialConstants.isLocal, oldIsLocal, this.isLocal);
@@ -170,6 +171,7 @@ public class SpatialReactionPlugin extends AbstractSpatialSBasePlugin {
    *         otherwise {@code false}
    */
   public boolean unsetIsLocal() {
+    checkNotFrozen();
     if (isSetIsLocal()) {
       Boolean oldIsLocal = isLocal;
       isLocal = null;
@@ -152,6 +152,7 @@ public class TransformationComponent extends AbstractSBase {
    * @param components
    */
   public void setComponents(Double... components) {
+    checkNotFrozen();
     Double[] oldComponents = this.components;
     this.components = components;
     firePropertyChange(SpatialConstants.components, oldComponents, this.components);
@@ -165,6 +166,7 @@ public class TransformationComponent extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetComponents() {
+    checkNotFrozen();
     if (isSetComponents()) {
       Double[] oldComponents = components;
       components = null;
@@ -204,6 +206,7 @@ public class TransformationComponent extends AbstractSBase {
    * @param componentsLength
    */
   public void setComponentsLength(int componentsLength) {
+    checkNotFrozen();
     Integer oldComponentsLength = this.componentsLength;
     this.componentsLength = componentsLength;
     firePropertyChange(SpatialConstants.componentsLength, oldComponentsLength, this.componentsLength);
@@ -217,6 +220,7 @@ public class TransformationComponent extends AbstractSBase {
    *         otherwise {@code false}
    */
   public boolean unsetComponentsLength() {
+    checkNotFrozen();
     if (isSetComponentsLength()) {
       Integer oldComponentsLength = componentsLength;
       componentsLength = null;